@@ -28,10 +28,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
-import java.util.function.Predicate;
-import java.util.stream.Stream;
 
-import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.synyx.urlaubsverwaltung.absence.DayAbsenceDto.Type.SICK_NOTE;
@@ -101,19 +98,25 @@ public class AbsenceApiController {
     }
 
     private List<DayAbsenceDto> getAbsences(LocalDate start, LocalDate end, Person person, DayAbsenceDto.Type type) {
-        final Predicate<DayAbsenceDto> vacationAsked = dto -> type == null || type.equals(VACATION);
-        final Predicate<DayAbsenceDto> sickAsked = dto -> type == null || type.equals(SICK_NOTE);
-        final Predicate<DayAbsenceDto> isVacation = dto -> dto.getType().equals(VACATION.name());
-        final Predicate<DayAbsenceDto> isSick = dto -> dto.getType().equals(SICK_NOTE.name());
+        final boolean vacationAsked = type == null || type.equals(VACATION);
+        final boolean sickAsked = type == null || type.equals(SICK_NOTE);
 
         final Map<LocalDate, PublicHoliday> holidaysByDate = holidaysByDate(start, end);
 
-        return absenceService.getOpenAbsences(person, start, end)
-            .stream()
-            .flatMap(absencePeriod -> this.toDayAbsenceDto(absencePeriod, holidaysByDate))
-            // TODO do we have to generate the dtos even they are not asked? or is the performance impact insignificantly?
-            .filter(vacationAsked.and(isVacation).or(sickAsked.and(isSick)))
-            .collect(toList());
+        final List<DayAbsenceDto> dayAbsences = new ArrayList<>();
+        for (AbsencePeriod absencePeriod : absenceService.getOpenAbsences(person, start, end)) {
+            absencePeriod.forEachDay((absentPerson, date, morning, noon) -> {
+                final PublicHoliday publicHoliday = holidaysByDate.get(date);
+                if (sickAsked) {
+                    sickToDayAbsenceDto(date, morning, noon, publicHoliday).ifPresent(dayAbsences::add);
+                }
+                if (vacationAsked) {
+                    vacationToDayAbsenceDto(date, morning, noon, publicHoliday).ifPresent(dayAbsences::add);
+                }
+            });
+        }
+
+        return dayAbsences;
     }
 
     private Map<LocalDate, PublicHoliday> holidaysByDate(LocalDate start, LocalDate end) {
@@ -128,30 +131,11 @@ public class AbsenceApiController {
             );
     }
 
-    private Stream<DayAbsenceDto> toDayAbsenceDto(AbsencePeriod absence, Map<LocalDate, PublicHoliday> holidaysByDate) {
-        return absence.getAbsenceRecords()
-            .stream()
-            .map(day -> this.toDayAbsenceDto(day, holidaysByDate.get(day.getDate())))
-            .flatMap(List::stream);
-    }
-
-    private List<DayAbsenceDto> toDayAbsenceDto(AbsencePeriod.Record absenceRecord, PublicHoliday publicHoliday) {
-        final List<DayAbsenceDto> result = new ArrayList<>(2);
-
-        sickToDayAbsenceDto(absenceRecord, publicHoliday)
-            .ifPresent(result::add);
-
-        vacationToDayAbsenceDto(absenceRecord, publicHoliday)
-            .ifPresent(result::add);
-
-        return result;
-    }
-
-    private Optional<DayAbsenceDto> sickToDayAbsenceDto(AbsencePeriod.Record absenceRecord, PublicHoliday publicHoliday) {
-        final LocalDate date = absenceRecord.getDate();
+    private Optional<DayAbsenceDto> sickToDayAbsenceDto(LocalDate date, AbsencePeriod.RecordMorning morningRecord,
+                                                        AbsencePeriod.RecordNoon noonRecord, PublicHoliday publicHoliday) {
 
-        final Optional<AbsencePeriod.RecordInfo> morning = absenceRecord.getMorning();
-        final Optional<AbsencePeriod.RecordInfo> noon = absenceRecord.getNoon();
+        final Optional<AbsencePeriod.RecordInfo> morning = Optional.ofNullable(morningRecord);
+        final Optional<AbsencePeriod.RecordInfo> noon = Optional.ofNullable(noonRecord);
         final Optional<AbsencePeriod.AbsenceType> morningType = morning.map(AbsencePeriod.RecordInfo::getType);
         final Optional<AbsencePeriod.AbsenceType> noonType = noon.map(AbsencePeriod.RecordInfo::getType);
 
@@ -162,23 +146,23 @@ public class AbsenceApiController {
         final boolean sickFull = sickMorning && sickNoon;
 
         if (sickFull || (sickMorning && publicHolidayNoon) || (sickNoon && publicHolidayMorning)) {
-            return morning.or(absenceRecord::getNoon).map(morningOrNoon -> toDayAbsenceDto(date, DayLength.FULL, morningOrNoon));
+            return morning.or(() -> noon).map(morningOrNoon -> toDayAbsenceDto(date, DayLength.FULL, morningOrNoon));
         }
         if (sickMorning) {
-            return morning.map(morningRecord -> toDayAbsenceDto(date, DayLength.MORNING, morningRecord));
+            return morning.map(morningInfo -> toDayAbsenceDto(date, DayLength.MORNING, morningInfo));
         }
         if (sickNoon) {
-            return noon.map(noonRecord -> toDayAbsenceDto(date, DayLength.NOON, noonRecord));
+            return noon.map(noonInfo -> toDayAbsenceDto(date, DayLength.NOON, noonInfo));
         }
 
         return Optional.empty();
     }
 
-    private Optional<DayAbsenceDto> vacationToDayAbsenceDto(AbsencePeriod.Record absenceRecord, PublicHoliday publicHoliday) {
-        final LocalDate date = absenceRecord.getDate();
+    private Optional<DayAbsenceDto> vacationToDayAbsenceDto(LocalDate date, AbsencePeriod.RecordMorning morningRecord,
+                                                            AbsencePeriod.RecordNoon noonRecord, PublicHoliday publicHoliday) {
 
-        final Optional<AbsencePeriod.RecordInfo> morning = absenceRecord.getMorning();
-        final Optional<AbsencePeriod.RecordInfo> noon = absenceRecord.getNoon();
+        final Optional<AbsencePeriod.RecordInfo> morning = Optional.ofNullable(morningRecord);
+        final Optional<AbsencePeriod.RecordInfo> noon = Optional.ofNullable(noonRecord);
         final Optional<AbsencePeriod.AbsenceType> morningType = morning.map(AbsencePeriod.RecordInfo::getType);
         final Optional<AbsencePeriod.AbsenceType> noonType = noon.map(AbsencePeriod.RecordInfo::getType);
 
@@ -189,13 +173,13 @@ public class AbsenceApiController {
         final boolean vacationFull = vacationMorning && vacationNoon;
 
         if (vacationFull || (vacationMorning && publicHolidayNoon) || (vacationNoon && publicHolidayMorning)) {
-            return morning.or(absenceRecord::getNoon).map(morningOrNoon -> toDayAbsenceDto(date, DayLength.FULL, morningOrNoon));
+            return morning.or(() -> noon).map(morningOrNoon -> toDayAbsenceDto(date, DayLength.FULL, morningOrNoon));
         }
         if (vacationMorning) {
-            return morning.map(morningRecord -> toDayAbsenceDto(date, DayLength.MORNING, morningRecord));
+            return morning.map(morningInfo -> toDayAbsenceDto(date, DayLength.MORNING, morningInfo));
         }
         if (vacationNoon) {
-            return noon.map(noonRecord -> toDayAbsenceDto(date, DayLength.NOON, noonRecord));
+            return noon.map(noonInfo -> toDayAbsenceDto(date, DayLength.NOON, noonInfo));
         }
 
         return Optional.empty();
@@ -1,10 +1,39 @@
 package org.synyx.urlaubsverwaltung.absence;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 interface AbsenceMappingRepository extends CrudRepository<AbsenceMapping, Integer> {
 
+    String JOIN_ABSENCES = "LEFT JOIN Application application " +
+        "ON mapping.absenceMappingType = org.synyx.urlaubsverwaltung.absence.AbsenceMappingType.VACATION AND application.id = mapping.absenceId " +
+        "LEFT JOIN SickNote sickNote " +
+        "ON mapping.absenceMappingType = org.synyx.urlaubsverwaltung.absence.AbsenceMappingType.SICKNOTE AND sickNote.id = mapping.absenceId ";
+
+    String START_DATE = "COALESCE(application.startDate, sickNote.startDate)";
+
     Optional<AbsenceMapping> findAbsenceMappingByAbsenceIdAndAbsenceMappingType(Integer id, AbsenceMappingType absenceType);
+
+    @Query("SELECT new org.synyx.urlaubsverwaltung.absence.DatedAbsenceMapping(mapping, " + START_DATE + ") " +
+        "FROM AbsenceMapping mapping " + JOIN_ABSENCES +
+        "WHERE " + START_DATE + " IS NOT NULL " +
+        "ORDER BY " + START_DATE + ", mapping.id")
+    List<DatedAbsenceMapping> findOrderedByStartDate(Pageable pageable);
+
+    @Query("SELECT new org.synyx.urlaubsverwaltung.absence.DatedAbsenceMapping(mapping, " + START_DATE + ") " +
+        "FROM AbsenceMapping mapping " + JOIN_ABSENCES +
+        "WHERE " + START_DATE + " > :startDate OR (" + START_DATE + " = :startDate AND mapping.id > :id) " +
+        "ORDER BY " + START_DATE + ", mapping.id")
+    List<DatedAbsenceMapping> findOrderedByStartDateAfter(@Param("startDate") LocalDate startDate, @Param("id") Integer id, Pageable pageable);
+
+    @Query("SELECT mapping FROM AbsenceMapping mapping " + JOIN_ABSENCES +
+        "WHERE application.id IS NULL AND sickNote.id IS NULL AND mapping.id > :id " +
+        "ORDER BY mapping.id")
+    List<AbsenceMapping> findWithoutAbsenceAfter(@Param("id") Integer id, Pageable pageable);
 }
@@ -1,5 +1,7 @@
 package org.synyx.urlaubsverwaltung.absence;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 
@@ -33,4 +35,24 @@ public interface AbsenceMappingService {
      * @return mapping between absence and event
      */
     Optional<AbsenceMapping> getAbsenceByIdAndType(Integer id, AbsenceMappingType absenceMappingType);
+
+    /**
+     * Returns the absence mappings of existing absences ordered by the start date of the absence and by id, so that
+     * all of them can be paged through date by date.
+     *
+     * @param startDate of the absence of the absence mapping to start after, {@code null} to start with the first one
+     * @param id        of the absence mapping to start after, only used together with the start date
+     * @param limit     maximum number of returned absence mappings
+     * @return the absence mappings following the given one together with the start dates of their absences
+     */
+    List<DatedAbsenceMapping> getAbsenceMappingsByStartDate(LocalDate startDate, Integer id, int limit);
+
+    /**
+     * Returns the absence mappings whose application for leave or sick note does not exist anymore, ordered by id.
+     *
+     * @param id    of the absence mapping to start after, {@code 0} to start with the first one
+     * @param limit maximum number of returned absence mappings
+     * @return the absence mappings without absence with an id greater than the given one
+     */
+    List<AbsenceMapping> getAbsenceMappingsWithoutAbsence(Integer id, int limit);
 }
@@ -1,8 +1,11 @@
 package org.synyx.urlaubsverwaltung.absence;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -30,4 +33,16 @@ public class AbsenceMappingServiceImpl implements AbsenceMappingService {
     public Optional<AbsenceMapping> getAbsenceByIdAndType(Integer id, AbsenceMappingType absenceMappingType) {
         return absenceMappingRepository.findAbsenceMappingByAbsenceIdAndAbsenceMappingType(id, absenceMappingType);
     }
+
+    @Override
+    public List<DatedAbsenceMapping> getAbsenceMappingsByStartDate(LocalDate startDate, Integer id, int limit) {
+        return startDate == null
+            ? absenceMappingRepository.findOrderedByStartDate(PageRequest.of(0, limit))
+            : absenceMappingRepository.findOrderedByStartDateAfter(startDate, id, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public List<AbsenceMapping> getAbsenceMappingsWithoutAbsence(Integer id, int limit) {
+        return absenceMappingRepository.findWithoutAbsenceAfter(id, PageRequest.of(0, limit));
+    }
 }
@@ -3,6 +3,7 @@ package org.synyx.urlaubsverwaltung.absence;
 import org.synyx.urlaubsverwaltung.person.Person;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -18,6 +19,11 @@ import java.util.Optional;
  *     <li>9.June 2021 (vacation noon)</li>
  *     <li>26.August 2021 to 27.August 2021 (sick full day)</li>
  * </ul>
+ *
+ * <p>An absence period of a single application for leave or sick note can be stored compactly: one byte per day
+ * tells whether the morning and/or the noon is absent, the information about the absence is shared by all days.
+ * The {@link Record}s are only created when they are requested, read-only consumers that are only interested in the
+ * absent days should use {@link #forEachDay(DayConsumer)} instead.</p>
  */
 public class AbsencePeriod {
 
@@ -36,36 +42,118 @@ public class AbsencePeriod {
         ACTIVE,
     }
 
-    private final List<AbsencePeriod.Record> absenceRecords;
+    static final byte MORNING = 1;
+    static final byte NOON = 2;
+    static final byte FULL = MORNING | NOON;
+
+    private List<AbsencePeriod.Record> absenceRecords;
+
+    private final Person person;
+    private final long startDay;
+    private final byte[] days;
+    private final RecordMorning morning;
+    private final RecordNoon noon;
 
     public AbsencePeriod(List<Record> absenceRecords) {
         this.absenceRecords = absenceRecords;
+        this.person = null;
+        this.startDay = 0;
+        this.days = null;
+        this.morning = null;
+        this.noon = null;
+    }
+
+    private AbsencePeriod(Person person, LocalDate startDate, byte[] days, RecordMorning morning, RecordNoon noon) {
+        this.absenceRecords = null;
+        this.person = person;
+        this.startDay = startDate.toEpochDay();
+        this.days = days;
+        this.morning = morning;
+        this.noon = noon;
+    }
+
+    /**
+     * Creates the compact absence period of a single application for leave or sick note.
+     *
+     * @param person    that is absent
+     * @param startDate of the first day in the given days
+     * @param days      one entry per day starting with the given start date: {@link #MORNING}, {@link #NOON},
+     *                  {@link #FULL} or {@code 0} if the person is not absent on this day
+     * @param morning   information about the absence on the mornings
+     * @param noon      information about the absence on the noons
+     * @return the absence period
+     */
+    static AbsencePeriod ofDays(Person person, LocalDate startDate, byte[] days, RecordMorning morning, RecordNoon noon) {
+        return new AbsencePeriod(person, startDate, days, morning, noon);
     }
 
     public List<AbsencePeriod.Record> getAbsenceRecords() {
+        if (absenceRecords == null) {
+            final List<AbsencePeriod.Record> records = new ArrayList<>();
+            forEachDay((personOfDay, date, morningOfDay, noonOfDay) -> records.add(new Record(date, personOfDay, morningOfDay, noonOfDay)));
+            absenceRecords = records;
+        }
         return Collections.unmodifiableList(absenceRecords);
     }
 
+    /**
+     * Hands every absent day of this period over to the given consumer, in the order of the days, without creating
+     * {@link Record}s for compact absence periods.
+     *
+     * @param consumer of the absent days
+     */
+    public void forEachDay(DayConsumer consumer) {
+        if (days == null) {
+            for (Record absenceRecord : absenceRecords) {
+                consumer.accept(absenceRecord.person, absenceRecord.date, absenceRecord.morning, absenceRecord.noon);
+            }
+            return;
+        }
+
+        for (int i = 0; i < days.length; i++) {
+            if (days[i] != 0) {
+                consumer.accept(person, LocalDate.ofEpochDay(startDay + i),
+                    (days[i] & MORNING) == 0 ? null : morning,
+                    (days[i] & NOON) == 0 ? null : noon);
+            }
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         AbsencePeriod that = (AbsencePeriod) o;
-        return Objects.equals(absenceRecords, that.absenceRecords);
+        return Objects.equals(getAbsenceRecords(), that.getAbsenceRecords());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(absenceRecords);
+        return Objects.hash(getAbsenceRecords());
     }
 
     @Override
     public String toString() {
         return "AbsencePeriod{" +
-            "absenceRecords=" + absenceRecords +
+            "absenceRecords=" + getAbsenceRecords() +
             '}';
     }
 
+    /**
+     * Consumes the absence of a single day.
+     */
+    @FunctionalInterface
+    public interface DayConsumer {
+
+        /**
+         * @param person  that is absent
+         * @param date    of the absence
+         * @param morning absence on the morning or {@code null} if the person is not absent in the morning
+         * @param noon    absence on the noon or {@code null} if the person is not absent in the noon
+         */
+        void accept(Person person, LocalDate date, RecordMorning morning, RecordNoon noon);
+    }
+
     /**
      * Specifies an absence for one date. The absence consists of `morning` and `evening`.
      * You may have to handle information yourself for "full absence vacation". In This case morning and evening are
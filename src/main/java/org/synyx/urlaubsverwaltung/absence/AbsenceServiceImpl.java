@@ -16,14 +16,17 @@ import org.synyx.urlaubsverwaltung.sicknote.SickNoteStatus;
 import org.synyx.urlaubsverwaltung.workingtime.FederalState;
 import org.synyx.urlaubsverwaltung.workingtime.WorkingTime;
 import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeService;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeTimeline;
 
 import java.time.LocalDate;
+import java.util.EnumMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
-import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.collectingAndThen;
+import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toList;
 import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.ALLOWED;
 import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.ALLOWED_CANCELLATION_REQUESTED;
@@ -64,14 +67,16 @@ public class AbsenceServiceImpl implements AbsenceService {
     @Override
     public List<AbsencePeriod> getOpenAbsences(List<Person> persons, LocalDate start, LocalDate end) {
         final DateRange askedDateRange = new DateRange(start, end);
-        final List<WorkingTime> workingTimeList = workingTimeService.getByPersons(persons);
+        final Map<Person, WorkingTimeTimeline> timelinesByPerson = workingTimeService.getByPersons(persons).stream()
+            .collect(groupingBy(WorkingTime::getPerson, collectingAndThen(toList(), WorkingTimeTimeline::of)));
         final FederalState systemDefaultFederalState = workingTimeService.getSystemDefaultFederalState();
+        final PublicHolidayDayLengths publicHolidayDayLengths = new PublicHolidayDayLengths(askedDateRange);
 
         final List<Application> openApplications = applicationService.getForStatesAndPerson(APPLICATION_STATUSES, persons, start, end);
-        final List<AbsencePeriod> applicationAbsences = generateAbsencePeriodFromApplication(openApplications, askedDateRange, workingTimeList, systemDefaultFederalState);
+        final List<AbsencePeriod> applicationAbsences = generateAbsencePeriodFromApplication(openApplications, askedDateRange, timelinesByPerson, systemDefaultFederalState, publicHolidayDayLengths);
 
         final List<SickNote> openSickNotes = sickNoteService.getForStatesAndPerson(SICK_NOTE_STATUSES, persons, start, end);
-        final List<AbsencePeriod> sickNoteAbsences = generateAbsencePeriodFromSickNotes(openSickNotes, askedDateRange, workingTimeList, systemDefaultFederalState);
+        final List<AbsencePeriod> sickNoteAbsences = generateAbsencePeriodFromSickNotes(openSickNotes, askedDateRange, timelinesByPerson, systemDefaultFederalState, publicHolidayDayLengths);
 
         return Stream.concat(applicationAbsences.stream(), sickNoteAbsences.stream()).collect(toList());
     }
@@ -92,7 +97,7 @@ public class AbsenceServiceImpl implements AbsenceService {
         final List<Application> openApplications = applicationService.getForStatesSince(APPLICATION_STATUSES, since);
         final List<Absence> applicationAbsences = generateAbsencesFromApplication(openApplications);
 
-        final List<SickNote> openSickNotes = sickNoteService.getForStates(SICK_NOTE_STATUSES);
+        final List<SickNote> openSickNotes = sickNoteService.getForStatesSince(SICK_NOTE_STATUSES, since);
         final List<Absence> sickNoteAbsences = generateAbsencesFromSickNotes(openSickNotes);
 
         return ListUtils.union(applicationAbsences, sickNoteAbsences);
@@ -107,10 +112,12 @@ public class AbsenceServiceImpl implements AbsenceService {
 
     private List<AbsencePeriod> generateAbsencePeriodFromApplication(List<Application> applications,
                                                                      DateRange askedDateRange,
-                                                                     List<WorkingTime> workingTimeList,
-                                                                     FederalState systemDefaultFederalState) {
+                                                                     Map<Person, WorkingTimeTimeline> timelinesByPerson,
+                                                                     FederalState systemDefaultFederalState,
+                                                                     PublicHolidayDayLengths publicHolidayDayLengths) {
         return applications.stream()
-            .map(application -> toAbsencePeriod(application, askedDateRange, workingTimeList, systemDefaultFederalState))
+            .map(application -> toAbsencePeriod(application, askedDateRange, timelineOf(application.getPerson(), timelinesByPerson),
+                systemDefaultFederalState, publicHolidayDayLengths))
             .collect(toList());
     }
 
@@ -123,16 +130,29 @@ public class AbsenceServiceImpl implements AbsenceService {
 
     private List<AbsencePeriod> generateAbsencePeriodFromSickNotes(List<SickNote> sickNotes,
                                                                    DateRange askedDateRange,
-                                                                   List<WorkingTime> workingTimeList,
-                                                                   FederalState systemDefaultFederalState) {
+                                                                   Map<Person, WorkingTimeTimeline> timelinesByPerson,
+                                                                   FederalState systemDefaultFederalState,
+                                                                   PublicHolidayDayLengths publicHolidayDayLengths) {
         return sickNotes.stream()
-            .map(sickNote ->  toAbsencePeriod(sickNote, askedDateRange, workingTimeList, systemDefaultFederalState))
+            .map(sickNote -> toAbsencePeriod(sickNote, askedDateRange, timelineOf(sickNote.getPerson(), timelinesByPerson),
+                systemDefaultFederalState, publicHolidayDayLengths))
             .collect(toList());
     }
 
-    private AbsencePeriod toAbsencePeriod(Application application, DateRange askedDateRange, List<WorkingTime> workingTimeList,
-                                          FederalState systemDefaultFederalState) {
-        return new AbsencePeriod(days(application, askedDateRange, workingTimeList, systemDefaultFederalState));
+    private AbsencePeriod toAbsencePeriod(Application application, DateRange askedDateRange, WorkingTimeTimeline timeline,
+                                          FederalState systemDefaultFederalState, PublicHolidayDayLengths publicHolidayDayLengths) {
+
+        final AbsencePeriod.AbsenceStatus status = toAbsenceStatus(application.getStatus());
+
+        final LocalDate start = maxDate(application.getStartDate(), askedDateRange.getStartDate());
+        final LocalDate end = minDate(application.getEndDate(), askedDateRange.getEndDate());
+
+        final byte[] days = days(start, end, application.getDayLength(), timeline, systemDefaultFederalState, publicHolidayDayLengths,
+            date -> isWorkday(date, timeline));
+
+        return AbsencePeriod.ofDays(application.getPerson(), start, days,
+            new AbsencePeriod.RecordMorningVacation(application.getId(), status),
+            new AbsencePeriod.RecordNoonVacation(application.getId(), status));
     }
 
     private AbsencePeriod.AbsenceStatus toAbsenceStatus(ApplicationStatus applicationStatus) {
@@ -150,156 +170,80 @@ public class AbsenceServiceImpl implements AbsenceService {
         }
     }
 
-    private List<AbsencePeriod.Record> days(Application application, DateRange askedDateRange, List<WorkingTime> workingTimeList,
-                                            FederalState systemDefaultFederalState) {
-
-        final LocalDate start = maxDate(application.getStartDate(), askedDateRange.getStartDate());
-        final LocalDate end = minDate(application.getEndDate(), askedDateRange.getEndDate());
-
-        final Person person = application.getPerson();
-        final List<WorkingTime> personWorkingTimeList = workingTimeList
-            .stream()
-            .filter(workingTime -> workingTime.getPerson().equals(person))
-            .sorted(comparing(WorkingTime::getValidFrom).reversed())
-            .collect(toList());
-
-        return new DateRange(start, end).stream()
-            .map(date -> new DateDayLengthTuple(date, publicHolidayAbsence(date, workingTimeList, systemDefaultFederalState)))
-            // ignore full public holiday since it is no "absence".
-            // it could still be an official workday with an application for leave.
-            .filter(tuple -> !tuple.publicHolidayDayLength.equals(DayLength.FULL))
-            .filter(tuple -> isWorkday(tuple.date, personWorkingTimeList))
-            .map(tuple -> toVacationAbsencePeriodRecord(tuple, application))
-            .collect(toList());
-    }
-
-    private boolean isWorkday(LocalDate date, List<WorkingTime> workingTimeList) {
-        return workingTimeList
-            .stream()
-            .filter(w -> w.getValidFrom().isBefore(date) || w.getValidFrom().isEqual(date))
-            .findFirst()
-            .map(w -> w.isWorkingDay(date.getDayOfWeek()))
+    private static boolean isWorkday(LocalDate date, WorkingTimeTimeline timeline) {
+        return timeline.getWorkingTime(date)
+            .map(workingTime -> workingTime.isWorkingDay(date.getDayOfWeek()))
             .orElse(false);
     }
 
-    private AbsencePeriod.Record toVacationAbsencePeriodRecord(DateDayLengthTuple tuple, Application application) {
-
-        final Person person = application.getPerson();
-        final AbsencePeriod.AbsenceStatus status = toAbsenceStatus(application.getStatus());
-
-        if (tuple.publicHolidayDayLength.isHalfDay()) {
-            final AbsencePeriod.RecordMorning morning;
-            final AbsencePeriod.RecordNoon noon;
-            if (tuple.publicHolidayDayLength.equals(DayLength.MORNING)) {
-                morning = null;
-                noon = new AbsencePeriod.RecordNoonVacation(application.getId(), status);
-            } else if (tuple.publicHolidayDayLength.equals(DayLength.NOON)) {
-                morning = new AbsencePeriod.RecordMorningVacation(application.getId(), status);
-                noon = null;
-            } else {
-                morning = new AbsencePeriod.RecordMorningVacation(application.getId(), status);
-                noon = new AbsencePeriod.RecordNoonVacation(application.getId(), status);
-            }
-            return new AbsencePeriod.Record(tuple.date, person, morning, noon);
-        }
+    private AbsencePeriod toAbsencePeriod(SickNote sickNote, DateRange askedDateRange, WorkingTimeTimeline timeline,
+                                          FederalState systemDefaultFederalState, PublicHolidayDayLengths publicHolidayDayLengths) {
 
-        final AbsencePeriod.RecordMorningVacation morning;
-        final AbsencePeriod.RecordNoonVacation noon;
+        final LocalDate start = maxDate(sickNote.getStartDate(), askedDateRange.getStartDate());
+        final LocalDate end = minDate(sickNote.getEndDate(), askedDateRange.getEndDate());
 
-        if (DayLength.MORNING.equals(application.getDayLength())) {
-            morning = new AbsencePeriod.RecordMorningVacation(application.getId(), status);
-            noon = null;
-        }
-        else if (DayLength.NOON.equals(application.getDayLength())) {
-            morning = null;
-            noon = new AbsencePeriod.RecordNoonVacation(application.getId(), status);
-        }
-        else {
-            morning = new AbsencePeriod.RecordMorningVacation(application.getId(), status);
-            noon = new AbsencePeriod.RecordNoonVacation(application.getId(), status);
-        }
+        // a sick note is also an absence on days that are no workdays
+        final byte[] days = days(start, end, sickNote.getDayLength(), timeline, systemDefaultFederalState, publicHolidayDayLengths,
+            date -> true);
 
-        return new AbsencePeriod.Record(tuple.date, person, morning, noon);
+        return AbsencePeriod.ofDays(sickNote.getPerson(), start, days,
+            new AbsencePeriod.RecordMorningSick(sickNote.getId()),
+            new AbsencePeriod.RecordNoonSick(sickNote.getId()));
     }
 
-    private AbsencePeriod toAbsencePeriod(SickNote sickNote, DateRange askedDateRange, List<WorkingTime> workingTimeList,
-                                          FederalState systemDefaultFederalState) {
-        return new AbsencePeriod(days(sickNote, askedDateRange, workingTimeList, systemDefaultFederalState));
-    }
+    /**
+     * @return for every day from start to end whether the person is absent in the morning and/or the noon,
+     * see {@link AbsencePeriod#ofDays}
+     */
+    private byte[] days(LocalDate start, LocalDate end, DayLength dayLength, WorkingTimeTimeline timeline,
+                        FederalState systemDefaultFederalState, PublicHolidayDayLengths publicHolidayDayLengths,
+                        Predicate<LocalDate> isAbsenceDay) {
 
-    private List<AbsencePeriod.Record> days(SickNote sickNote, DateRange askedDateRange, List<WorkingTime> workingTimeList,
-                                            FederalState systemDefaultFederalState) {
+        final byte[] days = new byte[(int) Math.max(0, end.toEpochDay() - start.toEpochDay() + 1)];
 
-        final LocalDate start = maxDate(sickNote.getStartDate(), askedDateRange.getStartDate());
-        final LocalDate end = minDate(sickNote.getEndDate(), askedDateRange.getEndDate());
+        for (int i = 0; i < days.length; i++) {
+            final LocalDate date = start.plusDays(i);
+            final FederalState federalState = federalState(date, timeline, systemDefaultFederalState);
+            final DayLength publicHolidayDayLength = publicHolidayDayLengths.get(date, federalState);
 
-        return new DateRange(start, end).stream()
-            .map(date -> new DateDayLengthTuple(date, publicHolidayAbsence(date, workingTimeList, systemDefaultFederalState)))
             // ignore full public holiday since it is no "absence".
-            // it could still be an official workday with a sick note.
-            .filter(tuple -> !tuple.publicHolidayDayLength.equals(DayLength.FULL))
-            .map(tuple -> toSickAbsencePeriodRecord(tuple, sickNote))
-            .collect(toList());
-    }
-
-    private AbsencePeriod.Record toSickAbsencePeriodRecord(DateDayLengthTuple tuple, SickNote sickNote) {
-
-        final Person person = sickNote.getPerson();
+            // it could still be an official workday with an application for leave or a sick note.
+            if (publicHolidayDayLength.equals(DayLength.FULL) || !isAbsenceDay.test(date)) {
+                continue;
+            }
 
-        if (tuple.publicHolidayDayLength.isHalfDay()) {
-            final AbsencePeriod.RecordMorning morning;
-            final AbsencePeriod.RecordNoon noon;
-            if (tuple.publicHolidayDayLength.equals(DayLength.MORNING)) {
-                morning = null;
-                noon = new AbsencePeriod.RecordNoonSick(sickNote.getId());
-            } else if (tuple.publicHolidayDayLength.equals(DayLength.NOON)) {
-                morning = new AbsencePeriod.RecordMorningSick(sickNote.getId());
-                noon = null;
+            if (publicHolidayDayLength.equals(DayLength.MORNING)) {
+                days[i] = AbsencePeriod.NOON;
+            } else if (publicHolidayDayLength.equals(DayLength.NOON)) {
+                days[i] = AbsencePeriod.MORNING;
+            } else if (DayLength.MORNING.equals(dayLength)) {
+                days[i] = AbsencePeriod.MORNING;
+            } else if (DayLength.NOON.equals(dayLength)) {
+                days[i] = AbsencePeriod.NOON;
             } else {
-                morning = new AbsencePeriod.RecordMorningSick(sickNote.getId());
-                noon = new AbsencePeriod.RecordNoonSick(sickNote.getId());
+                days[i] = AbsencePeriod.FULL;
             }
-            return new AbsencePeriod.Record(tuple.date, person, morning, noon);
         }
 
-        final AbsencePeriod.RecordMorningSick morning;
-        final AbsencePeriod.RecordNoonSick noon;
+        return days;
+    }
 
-        if (DayLength.MORNING.equals(sickNote.getDayLength())) {
-            morning = new AbsencePeriod.RecordMorningSick(sickNote.getId());
-            noon = null;
-        }
-        else if (DayLength.NOON.equals(sickNote.getDayLength())) {
-            morning = null;
-            noon = new AbsencePeriod.RecordNoonSick(sickNote.getId());
-        }
-        else {
-            morning = new AbsencePeriod.RecordMorningSick(sickNote.getId());
-            noon = new AbsencePeriod.RecordNoonSick(sickNote.getId());
+    /**
+     * @return the federal state of the working time valid at the given date, the federal state of the first working
+     * time for dates before it or the system default federal state if the person has no working time at all
+     */
+    private static FederalState federalState(LocalDate date, WorkingTimeTimeline timeline, FederalState systemDefaultFederalState) {
+        if (timeline.isEmpty()) {
+            return systemDefaultFederalState;
         }
 
-        return new AbsencePeriod.Record(tuple.date, person, morning, noon);
-    }
-    private DayLength publicHolidayAbsence(LocalDate date, List<WorkingTime> workingTimeList,
-                                           FederalState federalStateDefault) {
-
-        final FederalState federalState = workingTime(date, workingTimeList)
-            .or(() -> workingTimeList.isEmpty()
-                ? Optional.empty()
-                : Optional.of(workingTimeList.get(0))
-            )
-            .map(WorkingTime::getFederalState)
-            .orElse(federalStateDefault);
-
-        return publicHolidaysService.getAbsenceTypeOfDate(date, federalState);
+        return timeline.getWorkingTime(date)
+            .orElseGet(() -> timeline.getWorkingTimes().get(0))
+            .getFederalState();
     }
 
-    private static Optional<WorkingTime> workingTime(LocalDate validFrom, List<WorkingTime> workingTimeList) {
-        final Predicate<LocalDate> isEqual = validFrom::isEqual;
-        final Predicate<LocalDate> isAfter = validFrom::isAfter;
-        return workingTimeList.stream()
-            .filter(workingTime -> isEqual.or(isAfter).test(workingTime.getValidFrom()))
-            .findFirst();
+    private static WorkingTimeTimeline timelineOf(Person person, Map<Person, WorkingTimeTimeline> timelinesByPerson) {
+        return timelinesByPerson.getOrDefault(person, WorkingTimeTimeline.empty());
     }
 
     private AbsenceTimeConfiguration getAbsenceTimeConfiguration() {
@@ -315,13 +259,30 @@ public class AbsenceServiceImpl implements AbsenceService {
         return date.isBefore(date2) ? date : date2;
     }
 
-    private static class DateDayLengthTuple {
-        final LocalDate date;
-        final DayLength publicHolidayDayLength;
+    /**
+     * Memoizes the public holiday day length of every federal state and date of the asked date range, so the public
+     * holidays are looked up only once per federal state and date, no matter how many absences there are on a date.
+     */
+    private final class PublicHolidayDayLengths {
+
+        private final long startDay;
+        private final int numberOfDays;
+        private final Map<FederalState, DayLength[]> dayLengthsByFederalState = new EnumMap<>(FederalState.class);
+
+        private PublicHolidayDayLengths(DateRange dateRange) {
+            this.startDay = dateRange.getStartDate().toEpochDay();
+            this.numberOfDays = (int) Math.max(0, dateRange.getEndDate().toEpochDay() - startDay + 1);
+        }
+
+        private DayLength get(LocalDate date, FederalState federalState) {
+            final DayLength[] dayLengths = dayLengthsByFederalState.computeIfAbsent(federalState, state -> new DayLength[numberOfDays]);
+
+            final int day = (int) (date.toEpochDay() - startDay);
+            if (dayLengths[day] == null) {
+                dayLengths[day] = publicHolidaysService.getAbsenceTypeOfDate(date, federalState);
+            }
 
-        private DateDayLengthTuple(LocalDate date, DayLength publicHolidayDayLength) {
-            this.date = date;
-            this.publicHolidayDayLength = publicHolidayDayLength;
+            return dayLengths[day];
         }
     }
 }
@@ -0,0 +1,33 @@
+package org.synyx.urlaubsverwaltung.absence;
+
+import java.time.LocalDate;
+
+/**
+ * An {@link AbsenceMapping} together with the start date of its absence.
+ */
+public final class DatedAbsenceMapping {
+
+    private final AbsenceMapping absenceMapping;
+    private final LocalDate startDate;
+
+    public DatedAbsenceMapping(AbsenceMapping absenceMapping, LocalDate startDate) {
+        this.absenceMapping = absenceMapping;
+        this.startDate = startDate;
+    }
+
+    public AbsenceMapping getAbsenceMapping() {
+        return absenceMapping;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    @Override
+    public String toString() {
+        return "DatedAbsenceMapping{" +
+            "absenceMappingId=" + absenceMapping.getId() +
+            ", startDate=" + startDate +
+            '}';
+    }
+}
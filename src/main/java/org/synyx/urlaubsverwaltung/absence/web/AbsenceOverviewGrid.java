@@ -0,0 +1,79 @@
+package org.synyx.urlaubsverwaltung.absence.web;
+
+import org.synyx.urlaubsverwaltung.absence.AbsencePeriod;
+import org.synyx.urlaubsverwaltung.absence.DateRange;
+import org.synyx.urlaubsverwaltung.person.Person;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The absence records of the persons of the absence overview, indexed by person and day.
+ *
+ * <p>The records are put into a dense person × day list once, so the overview can look up the records of every
+ * person and day directly instead of searching all records of the person for every day. Only the records of the days
+ * within the grid are created.</p>
+ */
+final class AbsenceOverviewGrid {
+
+    private final long startDay;
+    private final int numberOfDays;
+    private final List<List<AbsencePeriod.Record>> cells;
+
+    private AbsenceOverviewGrid(long startDay, int numberOfDays, List<List<AbsencePeriod.Record>> cells) {
+        this.startDay = startDay;
+        this.numberOfDays = numberOfDays;
+        this.cells = cells;
+    }
+
+    /**
+     * @param dateRange of the overview
+     * @param persons   of the overview, the index of a person in this list is the row of the person in the grid
+     * @param absences  of the persons, records of other persons or outside of the date range are ignored
+     * @return the grid of the absence records
+     */
+    static AbsenceOverviewGrid of(DateRange dateRange, List<Person> persons, List<AbsencePeriod> absences) {
+
+        final long startDay = dateRange.getStartDate().toEpochDay();
+        final int numberOfDays = Math.toIntExact(dateRange.getEndDate().toEpochDay() - startDay + 1);
+
+        final Map<Person, Integer> rowByPerson = new HashMap<>();
+        for (int row = 0; row < persons.size(); row++) {
+            rowByPerson.putIfAbsent(persons.get(row), row);
+        }
+
+        final List<List<AbsencePeriod.Record>> cells = new ArrayList<>(Collections.nCopies(persons.size() * numberOfDays, null));
+
+        for (AbsencePeriod absence : absences) {
+            absence.forEachDay((person, date, morning, noon) -> {
+                final Integer row = rowByPerson.get(person);
+                final long day = date.toEpochDay() - startDay;
+                if (row == null || day < 0 || day >= numberOfDays) {
+                    return;
+                }
+
+                final int cell = row * numberOfDays + (int) day;
+                if (cells.get(cell) == null) {
+                    cells.set(cell, new ArrayList<>(2));
+                }
+                cells.get(cell).add(new AbsencePeriod.Record(date, person, morning, noon));
+            });
+        }
+
+        return new AbsenceOverviewGrid(startDay, numberOfDays, cells);
+    }
+
+    /**
+     * @param row  of the person, i.e. the index of the person in the persons the grid was created with
+     * @param date within the date range of the grid
+     * @return the absence records of the person on the given date, may be empty but never {@code null}
+     */
+    List<AbsencePeriod.Record> getRecords(int row, LocalDate date) {
+        final List<AbsencePeriod.Record> records = cells.get(row * numberOfDays + (int) (date.toEpochDay() - startDay));
+        return records == null ? List.of() : records;
+    }
+}
@@ -28,7 +28,6 @@ import java.time.Year;
 import java.time.temporal.TemporalAdjuster;
 import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -40,10 +39,8 @@ import static java.lang.Integer.parseInt;
 import static java.time.DayOfWeek.SATURDAY;
 import static java.time.DayOfWeek.SUNDAY;
 import static java.util.Comparator.comparing;
-import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
-import static java.util.stream.Collectors.toUnmodifiableList;
 import static org.springframework.util.StringUtils.hasText;
 import static org.synyx.urlaubsverwaltung.person.Role.BOSS;
 import static org.synyx.urlaubsverwaltung.person.Role.OFFICE;
@@ -142,13 +139,9 @@ public class AbsenceOverviewViewController {
 
         final List<AbsencePeriod> openAbsences = absenceService.getOpenAbsences(personList, dateRange.getStartDate(), dateRange.getEndDate());
 
-        final HashMap<Integer, AbsenceOverviewMonthDto> monthsByNr = new HashMap<>();
         final FederalState defaultFederalState = settingsService.getSettings().getWorkingTimeSettings().getFederalState();
 
-        final Map<Person, List<AbsencePeriod.Record>> absencePeriodRecordsByPerson = openAbsences.stream()
-            .map(AbsencePeriod::getAbsenceRecords)
-            .flatMap(List::stream)
-            .collect(groupingBy(AbsencePeriod.Record::getPerson));
+        final AbsenceOverviewGrid absenceOverviewGrid = AbsenceOverviewGrid.of(dateRange, personList, openAbsences);
 
         final Map<LocalDate, PublicHoliday> holidaysByDate =
             publicHolidaysService.getPublicHolidays(dateRange.getStartDate(), dateRange.getEndDate(), defaultFederalState)
@@ -160,46 +153,37 @@ public class AbsenceOverviewViewController {
                     )
                 );
 
+        final List<AbsenceOverviewMonthDto> months = new ArrayList<>();
+        AbsenceOverviewMonthDto monthView = null;
+
         for (LocalDate date : dateRange) {
-            final AbsenceOverviewMonthDto monthView = monthsByNr.computeIfAbsent(date.getMonthValue(),
-                monthValue -> this.initializeAbsenceOverviewMonthDto(date, personList, locale));
+            if (monthView == null || date.getDayOfMonth() == 1) {
+                monthView = initializeAbsenceOverviewMonthDto(date, personList, locale);
+                months.add(monthView);
+            }
 
             final AbsenceOverviewMonthDayDto tableHeadDay = tableHeadDay(date, defaultFederalState, today);
             monthView.getDays().add(tableHeadDay);
 
-            final Map<AbsenceOverviewMonthPersonDto, Person> personByView = personList.stream()
-                .collect(
-                    toMap(person -> monthView.getPersons().stream()
-                        .filter(view -> view.getEmail().equals(person.getEmail()) &&
-                            view.getFirstName().equals(person.getFirstName()) &&
-                            view.getLastName().equals(person.getLastName())
-                        )
-                        .findFirst()
-                        .orElse(null),Function.identity()
-                    )
-                );
-
-            // create an absence day dto for every person of the department
-            for (AbsenceOverviewMonthPersonDto personView : monthView.getPersons()) {
+            final Optional<PublicHoliday> publicHolidayOfDate = Optional.ofNullable(holidaysByDate.get(date));
+            final boolean isWeekend = isWeekend(date);
 
-                final Person person = personByView.get(personView);
+            // create an absence day dto for every person of the department, the month view persons are in the order of the person list
+            final List<AbsenceOverviewMonthPersonDto> personViews = monthView.getPersons();
+            for (int row = 0; row < personViews.size(); row++) {
 
-                final List<AbsencePeriod.Record> personAbsenceRecordsForDate = Optional.ofNullable(absencePeriodRecordsByPerson.get(person))
-                    .stream()
-                    .flatMap(List::stream)
-                    .filter(absenceRecord -> absenceRecord.getDate().isEqual(date))
-                    .collect(toUnmodifiableList());
+                final List<AbsencePeriod.Record> personAbsenceRecordsForDate = absenceOverviewGrid.getRecords(row, date);
 
-                final AbsenceOverviewDayType personViewDayType = Optional.ofNullable(holidaysByDate.get(date))
+                final AbsenceOverviewDayType personViewDayType = publicHolidayOfDate
                     .map(publicHoliday -> getAbsenceOverviewDayType(personAbsenceRecordsForDate, isPrivilegedUser, publicHoliday))
                     .orElseGet(() -> getAbsenceOverviewDayType(personAbsenceRecordsForDate, isPrivilegedUser))
                     .build();
 
-                personView.getDays().add(new AbsenceOverviewPersonDayDto(personViewDayType, isWeekend(date)));
+                personViews.get(row).getDays().add(new AbsenceOverviewPersonDayDto(personViewDayType, isWeekend));
             }
         }
 
-        return new ArrayList<>(monthsByNr.values());
+        return months;
     }
 
     private AbsenceOverviewMonthDto initializeAbsenceOverviewMonthDto(LocalDate date, List<Person> personList, Locale locale) {
@@ -4,6 +4,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.synyx.urlaubsverwaltung.person.Person;
 
+import java.util.List;
+
 
 /**
  * Repository for {@link Account} entities.
@@ -12,4 +14,7 @@ public interface AccountRepository extends CrudRepository<Account, Integer> {
 
     @Query("select x from Account x where YEAR(x.validFrom) = ?1 and x.person = ?2")
     Account getHolidaysAccountByYearAndPerson(int year, Person person);
+
+    @Query("select x from Account x where YEAR(x.validFrom) = ?1 and x.person in ?2")
+    List<Account> getHolidaysAccountsByYearAndPersons(int year, List<Person> persons);
 }
@@ -2,6 +2,7 @@ package org.synyx.urlaubsverwaltung.account;
 
 import org.synyx.urlaubsverwaltung.person.Person;
 
+import java.util.List;
 import java.util.Optional;
 
 
@@ -20,6 +21,15 @@ public interface AccountService {
      */
     Optional<Account> getHolidaysAccount(int year, Person person);
 
+    /**
+     * Gets the {@link Account}s for the given year of all given persons.
+     *
+     * @param year    to get the holidays accounts for
+     * @param persons to get the holidays accounts for
+     * @return the {@link Account}s of the given persons that have one for the given year
+     */
+    List<Account> getHolidaysAccounts(int year, List<Person> persons);
+
 
     /**
      * Saves the given {@link Account}.
@@ -4,6 +4,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.synyx.urlaubsverwaltung.person.Person;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -24,6 +25,15 @@ public class AccountServiceImpl implements AccountService {
         return Optional.ofNullable(accountRepository.getHolidaysAccountByYearAndPerson(year, person));
     }
 
+    @Override
+    public List<Account> getHolidaysAccounts(int year, List<Person> persons) {
+        if (persons.isEmpty()) {
+            return List.of();
+        }
+
+        return accountRepository.getHolidaysAccountsByYearAndPersons(year, persons);
+    }
+
     @Override
     public Account save(Account account) {
         return accountRepository.save(account);
@@ -3,20 +3,29 @@ package org.synyx.urlaubsverwaltung.account;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.synyx.urlaubsverwaltung.application.domain.Application;
+import org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus;
 import org.synyx.urlaubsverwaltung.application.service.ApplicationService;
+import org.synyx.urlaubsverwaltung.period.DayLength;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.workingtime.WorkDaysCountService;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeService;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeTimeline;
 
 import java.math.BigDecimal;
 import java.time.Clock;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static java.time.Month.APRIL;
 import static java.time.Month.DECEMBER;
 import static java.time.Month.JANUARY;
 import static java.time.Month.MARCH;
+import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toList;
 import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.ALLOWED;
 import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.ALLOWED_CANCELLATION_REQUESTED;
@@ -33,13 +42,19 @@ import static org.synyx.urlaubsverwaltung.util.DateUtil.isBeforeApril;
 @Service
 public class VacationDaysService {
 
+    // TODO and what is with the TEMPORARY_ALLOWED?
+    private static final List<ApplicationStatus> RELEVANT_STATUSES = List.of(WAITING, ALLOWED, ALLOWED_CANCELLATION_REQUESTED);
+
     private final WorkDaysCountService workDaysCountService;
+    private final WorkingTimeService workingTimeService;
     private final ApplicationService applicationService;
     private final Clock clock;
 
     @Autowired
-    public VacationDaysService(WorkDaysCountService workDaysCountService, ApplicationService applicationService, Clock clock) {
+    public VacationDaysService(WorkDaysCountService workDaysCountService, WorkingTimeService workingTimeService,
+                               ApplicationService applicationService, Clock clock) {
         this.workDaysCountService = workDaysCountService;
+        this.workingTimeService = workingTimeService;
         this.applicationService = applicationService;
         this.clock = clock;
     }
@@ -57,9 +72,30 @@ public class VacationDaysService {
     public BigDecimal calculateTotalLeftVacationDays(Account account) {
 
         final VacationDaysLeft vacationDaysLeft = getVacationDaysLeft(account, Optional.empty());
+        return getTotalLeftVacationDays(account, vacationDaysLeft, LocalDate.now(clock));
+    }
+
+    /**
+     * Calculates the total number of days that are left to be used for applying for leave of many accounts at once,
+     * see {@link #calculateTotalLeftVacationDays(Account)}.
+     *
+     * @param accounts the accounts to calculate the total number of left vacation days for
+     * @return total number of left vacation days by given account
+     */
+    public Map<Account, BigDecimal> calculateTotalLeftVacationDaysOfAccounts(Collection<Account> accounts) {
 
-        // it's before April - the left remaining vacation days must be used
         final LocalDate now = LocalDate.now(clock);
+
+        final Map<Account, BigDecimal> totalLeftVacationDaysByAccount = new HashMap<>();
+        getVacationDaysLeftOfAccounts(accounts, Map.of())
+            .forEach((account, vacationDaysLeft) -> totalLeftVacationDaysByAccount.put(account, getTotalLeftVacationDays(account, vacationDaysLeft, now)));
+
+        return totalLeftVacationDaysByAccount;
+    }
+
+    private static BigDecimal getTotalLeftVacationDays(Account account, VacationDaysLeft vacationDaysLeft, LocalDate now) {
+
+        // it's before April - the left remaining vacation days must be used
         if (now.getYear() == account.getYear() && isBeforeApril(now, account.getYear())) {
             return vacationDaysLeft.getVacationDays().add(vacationDaysLeft.getRemainingVacationDays());
         } else {
@@ -79,22 +115,61 @@ public class VacationDaysService {
      */
     public VacationDaysLeft getVacationDaysLeft(Account account, Optional<Account> nextYear) {
 
-        final BigDecimal vacationDays = account.getVacationDays();
-        final BigDecimal remainingVacationDays = account.getRemainingVacationDays();
-        final BigDecimal remainingVacationDaysNotExpiring = account.getRemainingVacationDaysNotExpiring();
-
         final BigDecimal daysBeforeApril = getUsedDaysBeforeApril(account);
         final BigDecimal daysAfterApril = getUsedDaysAfterApril(account);
         final BigDecimal daysUsedNextYear = getRemainingVacationDaysAlreadyUsed(nextYear);
 
-        return VacationDaysLeft.builder()
-            .withAnnualVacation(vacationDays)
-            .withRemainingVacation(remainingVacationDays)
-            .notExpiring(remainingVacationDaysNotExpiring)
-            .forUsedDaysBeforeApril(daysBeforeApril)
-            .forUsedDaysAfterApril(daysAfterApril)
-            .withVacationDaysUsedNextYear(daysUsedNextYear)
-            .build();
+        return buildVacationDaysLeft(account, daysBeforeApril, daysAfterApril, daysUsedNextYear);
+    }
+
+    /**
+     * Calculates the vacation days left of many accounts at once. In contrast to calling
+     * {@link #getVacationDaysLeft(Account, Optional)} for every account, all relevant applications for leave of all
+     * persons and their working times are loaded at once.
+     *
+     * @param accounts         the accounts to calculate the vacation days left for
+     * @param nextYearAccounts the accounts of the following year by person, if available
+     * @return information about the vacation days left by given account
+     */
+    public Map<Account, VacationDaysLeft> getVacationDaysLeftOfAccounts(Collection<Account> accounts, Map<Person, Account> nextYearAccounts) {
+
+        if (accounts.isEmpty()) {
+            return Map.of();
+        }
+
+        final List<Account> allAccounts = new ArrayList<>(accounts);
+        allAccounts.addAll(nextYearAccounts.values());
+
+        final List<Person> persons = allAccounts.stream().map(Account::getPerson).distinct().collect(toList());
+        final int firstYear = allAccounts.stream().mapToInt(Account::getYear).min().orElseThrow();
+        final int lastYear = allAccounts.stream().mapToInt(Account::getYear).max().orElseThrow();
+        final LocalDate start = getFirstDayOfMonth(firstYear, JANUARY.getValue());
+        final LocalDate end = getLastDayOfMonth(lastYear, DECEMBER.getValue());
+
+        final Map<Person, List<Application>> applicationsByPerson = applicationService.getForStatesAndPerson(RELEVANT_STATUSES, persons, start, end).stream()
+            .filter(application -> HOLIDAY.equals(application.getVacationType().getCategory()))
+            .collect(groupingBy(Application::getPerson));
+
+        final Map<Person, WorkingTimeTimeline> timelines = workingTimeService.getTimelinesByPersons(List.copyOf(applicationsByPerson.keySet()));
+
+        final Map<Account, VacationDaysLeft> vacationDaysLeftByAccount = new HashMap<>();
+        for (Account account : accounts) {
+            final Person person = account.getPerson();
+            final List<Application> applications = applicationsByPerson.getOrDefault(person, List.of());
+            final WorkingTimeTimeline timeline = timelines.get(person);
+
+            final BigDecimal daysUsedNextYear = Optional.ofNullable(nextYearAccounts.get(person))
+                .map(nextYear -> getRemainingVacationDaysAlreadyUsed(nextYear,
+                    getUsedDaysBeforeApril(nextYear, applications, timeline), getUsedDaysAfterApril(nextYear, applications, timeline)))
+                .orElse(BigDecimal.ZERO);
+
+            final VacationDaysLeft vacationDaysLeft = buildVacationDaysLeft(account,
+                getUsedDaysBeforeApril(account, applications, timeline), getUsedDaysAfterApril(account, applications, timeline), daysUsedNextYear);
+
+            vacationDaysLeftByAccount.put(account, vacationDaysLeft);
+        }
+
+        return vacationDaysLeftByAccount;
     }
 
     /**
@@ -105,23 +180,42 @@ public class VacationDaysService {
      */
     public BigDecimal getRemainingVacationDaysAlreadyUsed(Optional<Account> account) {
         if (account.isPresent() && account.get().getRemainingVacationDays().signum() > 0) {
+            return getRemainingVacationDaysAlreadyUsed(account.get(), getUsedDaysBeforeApril(account.get()), getUsedDaysAfterApril(account.get()));
+        }
+        return BigDecimal.ZERO;
+    }
 
-            final VacationDaysLeft left = getVacationDaysLeft(account.get(), Optional.empty());
+    private static BigDecimal getRemainingVacationDaysAlreadyUsed(Account account, BigDecimal daysBeforeApril, BigDecimal daysAfterApril) {
+        if (account.getRemainingVacationDays().signum() <= 0) {
+            return BigDecimal.ZERO;
+        }
 
-            final BigDecimal totalUsed = account.get().getVacationDays()
-                .add(account.get().getRemainingVacationDays())
-                .subtract(left.getVacationDays())
-                .subtract(left.getRemainingVacationDays());
+        final VacationDaysLeft left = buildVacationDaysLeft(account, daysBeforeApril, daysAfterApril, BigDecimal.ZERO);
 
-            final BigDecimal remainingUsed = totalUsed.subtract(account.get().getVacationDays());
+        final BigDecimal totalUsed = account.getVacationDays()
+            .add(account.getRemainingVacationDays())
+            .subtract(left.getVacationDays())
+            .subtract(left.getRemainingVacationDays());
 
-            if (remainingUsed.signum() > 0) {
-                return remainingUsed;
-            }
+        final BigDecimal remainingUsed = totalUsed.subtract(account.getVacationDays());
+
+        if (remainingUsed.signum() > 0) {
+            return remainingUsed;
         }
         return BigDecimal.ZERO;
     }
 
+    private static VacationDaysLeft buildVacationDaysLeft(Account account, BigDecimal daysBeforeApril, BigDecimal daysAfterApril, BigDecimal daysUsedNextYear) {
+        return VacationDaysLeft.builder()
+            .withAnnualVacation(account.getVacationDays())
+            .withRemainingVacation(account.getRemainingVacationDays())
+            .notExpiring(account.getRemainingVacationDaysNotExpiring())
+            .forUsedDaysBeforeApril(daysBeforeApril)
+            .forUsedDaysAfterApril(daysAfterApril)
+            .withVacationDaysUsedNextYear(daysUsedNextYear)
+            .build();
+    }
+
     BigDecimal getUsedDaysBeforeApril(Account account) {
         final LocalDate firstOfJanuary = getFirstDayOfMonth(account.getYear(), JANUARY.getValue());
         final LocalDate lastOfMarch = getLastDayOfMonth(account.getYear(), MARCH.getValue());
@@ -142,9 +236,42 @@ public class VacationDaysService {
         // filter them since only WAITING, ALLOWED and ALLOWED_CANCELLATION_REQUESTED applications for leave of type holiday are relevant
         final List<Application> applicationsForLeave = allApplicationsForLeave.stream()
             .filter(application -> HOLIDAY.equals(application.getVacationType().getCategory()) &&
-                // TODO and what is with the TEMPORARY_ALLOWED?
-                (application.hasStatus(WAITING) || application.hasStatus(ALLOWED) || application.hasStatus(ALLOWED_CANCELLATION_REQUESTED)))
+                RELEVANT_STATUSES.contains(application.getStatus()))
+            .collect(toList());
+
+        if (applicationsForLeave.isEmpty()) {
+            return BigDecimal.ZERO;
+        }
+
+        return sumUsedDays(applicationsForLeave, firstMilestone, lastMilestone,
+            (dayLength, startDate, endDate) -> workDaysCountService.getWorkDaysCount(dayLength, startDate, endDate, person));
+    }
+
+    private BigDecimal getUsedDaysBeforeApril(Account account, List<Application> applicationsOfPerson, WorkingTimeTimeline timeline) {
+        final LocalDate firstOfJanuary = getFirstDayOfMonth(account.getYear(), JANUARY.getValue());
+        final LocalDate lastOfMarch = getLastDayOfMonth(account.getYear(), MARCH.getValue());
+        return sumUsedDays(getApplicationsBetweenTwoMilestones(applicationsOfPerson, firstOfJanuary, lastOfMarch), firstOfJanuary, lastOfMarch,
+            (dayLength, startDate, endDate) -> workDaysCountService.getWorkDaysCount(dayLength, startDate, endDate, account.getPerson(), timeline));
+    }
+
+    private BigDecimal getUsedDaysAfterApril(Account account, List<Application> applicationsOfPerson, WorkingTimeTimeline timeline) {
+        final LocalDate firstOfApril = getFirstDayOfMonth(account.getYear(), APRIL.getValue());
+        final LocalDate lastOfDecember = getLastDayOfMonth(account.getYear(), DECEMBER.getValue());
+        return sumUsedDays(getApplicationsBetweenTwoMilestones(applicationsOfPerson, firstOfApril, lastOfDecember), firstOfApril, lastOfDecember,
+            (dayLength, startDate, endDate) -> workDaysCountService.getWorkDaysCount(dayLength, startDate, endDate, account.getPerson(), timeline));
+    }
+
+    private static List<Application> getApplicationsBetweenTwoMilestones(List<Application> applications, LocalDate firstMilestone, LocalDate lastMilestone) {
+        return applications.stream()
+            .filter(application -> !application.getEndDate().isBefore(firstMilestone) && !application.getStartDate().isAfter(lastMilestone))
             .collect(toList());
+    }
+
+    /**
+     * Sums up the work days of the given applications for leave, cut to the period between the two milestones.
+     */
+    private static BigDecimal sumUsedDays(List<Application> applicationsForLeave, LocalDate firstMilestone, LocalDate lastMilestone,
+                                          WorkDaysCountFunction workDaysCountFunction) {
 
         BigDecimal usedDays = BigDecimal.ZERO;
         for (Application applicationForLeave : applicationsForLeave) {
@@ -159,9 +286,14 @@ public class VacationDaysService {
                 endDate = lastMilestone;
             }
 
-            usedDays = usedDays.add(workDaysCountService.getWorkDaysCount(applicationForLeave.getDayLength(), startDate, endDate, person));
+            usedDays = usedDays.add(workDaysCountFunction.getWorkDaysCount(applicationForLeave.getDayLength(), startDate, endDate));
         }
 
         return usedDays;
     }
+
+    @FunctionalInterface
+    private interface WorkDaysCountFunction {
+        BigDecimal getWorkDaysCount(DayLength dayLength, LocalDate startDate, LocalDate endDate);
+    }
 }
@@ -6,6 +6,7 @@ import org.springframework.validation.annotation.Validated;
 import org.synyx.urlaubsverwaltung.validation.CronExpression;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Min;
 
 @Component
 @ConfigurationProperties("uv.application")
@@ -24,6 +25,12 @@ public class ApplicationProperties {
     @Valid
     private ReminderNotification reminderNotification = new ReminderNotification();
 
+    /**
+     * Building of the statistics of the applications for leave
+     */
+    @Valid
+    private Statistics statistics = new Statistics();
+
     public ReminderNotification getUpcomingNotification() {
         return upcomingNotification;
     }
@@ -40,6 +47,14 @@ public class ApplicationProperties {
         this.reminderNotification = reminderNotification;
     }
 
+    public Statistics getStatistics() {
+        return statistics;
+    }
+
+    public void setStatistics(Statistics statistics) {
+        this.statistics = statistics;
+    }
+
     public static class ReminderNotification {
 
         @CronExpression
@@ -53,5 +68,21 @@ public class ApplicationProperties {
             this.cron = cron;
         }
     }
-}
 
+    public static class Statistics {
+
+        /**
+         * Number of threads to build the statistics of all persons in parallel
+         */
+        @Min(1)
+        private int threads = 4;
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+    }
+}
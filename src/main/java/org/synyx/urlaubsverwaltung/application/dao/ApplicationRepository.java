@@ -9,6 +9,7 @@ import org.synyx.urlaubsverwaltung.person.Person;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 
@@ -61,5 +62,57 @@ public interface ApplicationRepository extends CrudRepository<Application, Integ
     )
     BigDecimal calculateTotalOvertimeReductionOfPerson(@Param("person") Person person);
 
+    @Query(
+        "SELECT application.person.id AS personId, SUM(application.hours) AS hoursSum FROM Application application "
+            + "WHERE application.person IN :persons "
+            + "AND application.vacationType.category = 'OVERTIME' "
+            + "AND (application.status = 'WAITING' OR application.status = 'ALLOWED') "
+            + "GROUP BY application.person.id"
+    )
+    List<OvertimeReductionSum> calculateTotalOvertimeReductionOfPersons(@Param("persons") List<Person> persons);
+
+    @Query(
+        "SELECT application.id AS id, person.id AS personId, person.email AS personEmail, person.firstName AS personFirstName, "
+            + "person.lastName AS personLastName, application.startDate AS startDate, application.endDate AS endDate, "
+            + "application.dayLength AS dayLength, vacationType.category AS vacationCategory, application.status AS status "
+            + "FROM Application application JOIN application.person person JOIN application.vacationType vacationType "
+            + "WHERE application.status IN :statuses "
+            + "AND application.startDate <= :endDate AND application.endDate >= :startDate "
+            + "AND person IN (SELECT departmentMember.person FROM department memberDepartment "
+            + "JOIN memberDepartment.members departmentMember WHERE memberDepartment.id IN :departmentIds) "
+            + "ORDER BY person.id, application.startDate"
+    )
+    List<ApplicationSummary> findDepartmentMemberApplications(@Param("departmentIds") Collection<Integer> departmentIds,
+                                                              @Param("statuses") List<ApplicationStatus> statuses,
+                                                              @Param("startDate") LocalDate startDate,
+                                                              @Param("endDate") LocalDate endDate);
+
+    @Query(
+        "SELECT application.id AS id, person.id AS personId, person.email AS personEmail, person.firstName AS personFirstName, "
+            + "person.lastName AS personLastName, application.startDate AS startDate, application.endDate AS endDate, "
+            + "application.dayLength AS dayLength, vacationType.category AS vacationCategory, application.status AS status "
+            + "FROM Application application JOIN application.person person JOIN application.vacationType vacationType "
+            + "WHERE application.status IN :statuses "
+            + "AND application.startDate <= :endDate AND application.endDate >= :startDate "
+            + "ORDER BY application.startDate"
+    )
+    List<ApplicationSummary> findSummariesByStatusInAndPeriod(@Param("statuses") List<ApplicationStatus> statuses,
+                                                              @Param("startDate") LocalDate startDate,
+                                                              @Param("endDate") LocalDate endDate);
+
+    @Query(
+        "SELECT application.id AS id, person.id AS personId, person.email AS personEmail, person.firstName AS personFirstName, "
+            + "person.lastName AS personLastName, application.startDate AS startDate, application.endDate AS endDate, "
+            + "application.dayLength AS dayLength, vacationType.category AS vacationCategory, application.status AS status "
+            + "FROM Application application JOIN application.person person JOIN application.vacationType vacationType "
+            + "WHERE person = :person AND application.status IN :statuses "
+            + "AND application.startDate <= :endDate AND application.endDate >= :startDate "
+            + "ORDER BY application.startDate"
+    )
+    List<ApplicationSummary> findSummariesByPersonAndStatusInAndPeriod(@Param("person") Person person,
+                                                                       @Param("statuses") List<ApplicationStatus> statuses,
+                                                                       @Param("startDate") LocalDate startDate,
+                                                                       @Param("endDate") LocalDate endDate);
+
     List<Application> findByHolidayReplacements_PersonAndEndDateIsGreaterThanEqualAndStatusIn(Person person, LocalDate date, List<ApplicationStatus> status);
 }
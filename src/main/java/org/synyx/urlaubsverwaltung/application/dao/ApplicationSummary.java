@@ -0,0 +1,34 @@
+package org.synyx.urlaubsverwaltung.application.dao;
+
+import org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus;
+import org.synyx.urlaubsverwaltung.application.domain.VacationCategory;
+import org.synyx.urlaubsverwaltung.period.DayLength;
+
+import java.time.LocalDate;
+
+/**
+ * The parts of an application for leave returned by the vacations API, read without loading the persons, the vacation
+ * type and the holiday replacements of the application.
+ */
+public interface ApplicationSummary {
+
+    Integer getId();
+
+    Integer getPersonId();
+
+    String getPersonEmail();
+
+    String getPersonFirstName();
+
+    String getPersonLastName();
+
+    LocalDate getStartDate();
+
+    LocalDate getEndDate();
+
+    DayLength getDayLength();
+
+    VacationCategory getVacationCategory();
+
+    ApplicationStatus getStatus();
+}
@@ -0,0 +1,13 @@
+package org.synyx.urlaubsverwaltung.application.dao;
+
+import java.math.BigDecimal;
+
+/**
+ * Total overtime reduction of all waiting and allowed applications for leave of a person in hours.
+ */
+public interface OvertimeReductionSum {
+
+    Integer getPersonId();
+
+    BigDecimal getHoursSum();
+}
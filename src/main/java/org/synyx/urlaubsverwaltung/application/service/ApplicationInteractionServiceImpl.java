@@ -4,11 +4,6 @@ import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.synyx.urlaubsverwaltung.absence.Absence;
-import org.synyx.urlaubsverwaltung.absence.AbsenceMapping;
-import org.synyx.urlaubsverwaltung.absence.AbsenceMappingService;
-import org.synyx.urlaubsverwaltung.absence.AbsenceTimeConfiguration;
-import org.synyx.urlaubsverwaltung.absence.TimeSettings;
 import org.synyx.urlaubsverwaltung.account.AccountInteractionService;
 import org.synyx.urlaubsverwaltung.application.domain.Application;
 import org.synyx.urlaubsverwaltung.application.domain.ApplicationComment;
@@ -19,7 +14,6 @@ import org.synyx.urlaubsverwaltung.department.Department;
 import org.synyx.urlaubsverwaltung.department.DepartmentService;
 import org.synyx.urlaubsverwaltung.application.dao.HolidayReplacementEntity;
 import org.synyx.urlaubsverwaltung.person.Person;
-import org.synyx.urlaubsverwaltung.settings.SettingsService;
 
 import java.time.Clock;
 import java.time.LocalDate;
@@ -62,8 +56,6 @@ public class ApplicationInteractionServiceImpl implements ApplicationInteraction
     private final ApplicationCommentService commentService;
     private final ApplicationMailService applicationMailService;
     private final CalendarSyncService calendarSyncService;
-    private final AbsenceMappingService absenceMappingService;
-    private final TimeSettings timeSettings;
     private final DepartmentService departmentService;
     private final Clock clock;
 
@@ -73,8 +65,6 @@ public class ApplicationInteractionServiceImpl implements ApplicationInteraction
                                              AccountInteractionService accountInteractionService,
                                              ApplicationMailService applicationMailService,
                                              CalendarSyncService calendarSyncService,
-                                             AbsenceMappingService absenceMappingService,
-                                             SettingsService settingsService,
                                              DepartmentService departmentService, Clock clock) {
 
         this.applicationService = applicationService;
@@ -82,8 +72,6 @@ public class ApplicationInteractionServiceImpl implements ApplicationInteraction
         this.accountInteractionService = accountInteractionService;
         this.applicationMailService = applicationMailService;
         this.calendarSyncService = calendarSyncService;
-        this.absenceMappingService = absenceMappingService;
-        this.timeSettings = settingsService.getSettings().getTimeSettings();
         this.departmentService = departmentService;
         this.clock = clock;
     }
@@ -131,9 +119,7 @@ public class ApplicationInteractionServiceImpl implements ApplicationInteraction
         // update remaining vacation days (if there is already a holidays account for next year)
         accountInteractionService.updateRemainingVacationDays(savedApplication.getStartDate().getYear(), person);
 
-        final Optional<String> eventId = calendarSyncService.addAbsence(new Absence(savedApplication.getPerson(),
-            savedApplication.getPeriod(), new AbsenceTimeConfiguration(timeSettings)));
-        eventId.ifPresent(s -> absenceMappingService.create(savedApplication.getId(), VACATION, s));
+        calendarSyncService.syncAbsence(savedApplication.getId(), VACATION, savedApplication.getPerson(), savedApplication.getPeriod());
 
         return savedApplication;
     }
@@ -248,11 +234,7 @@ public class ApplicationInteractionServiceImpl implements ApplicationInteraction
             applicationMailService.notifyHolidayReplacementAboutCancellation(holidayReplacement, savedApplication);
         }
 
-        final Optional<AbsenceMapping> absenceMapping = absenceMappingService.getAbsenceByIdAndType(savedApplication.getId(), VACATION);
-        if (absenceMapping.isPresent()) {
-            calendarSyncService.deleteAbsence(absenceMapping.get().getEventId());
-            absenceMappingService.delete(absenceMapping.get());
-        }
+        calendarSyncService.deleteAbsence(savedApplication.getId(), VACATION);
 
         return application;
     }
@@ -274,11 +256,7 @@ public class ApplicationInteractionServiceImpl implements ApplicationInteraction
 
         accountInteractionService.updateRemainingVacationDays(application.getStartDate().getYear(), person);
 
-        final Optional<AbsenceMapping> absenceMapping = absenceMappingService.getAbsenceByIdAndType(application.getId(), VACATION);
-        if (absenceMapping.isPresent()) {
-            calendarSyncService.deleteAbsence(absenceMapping.get().getEventId());
-            absenceMappingService.delete(absenceMapping.get());
-        }
+        calendarSyncService.deleteAbsence(application.getId(), VACATION);
 
         return application;
     }
@@ -1,12 +1,15 @@
 package org.synyx.urlaubsverwaltung.application.service;
 
+import org.synyx.urlaubsverwaltung.application.dao.ApplicationSummary;
 import org.synyx.urlaubsverwaltung.application.domain.Application;
 import org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus;
 import org.synyx.urlaubsverwaltung.person.Person;
 
 import java.time.Duration;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 
@@ -25,6 +28,14 @@ public interface ApplicationService {
      */
     Optional<Application> getApplicationById(Integer id);
 
+    /**
+     * Gets the {@link Application}s with the given primary keys.
+     *
+     * @param ids to get the {@link Application}s by
+     * @return the {@link Application}s for the given ids, ids without an {@link Application} are left out
+     */
+    List<Application> getApplicationsByIds(Collection<Integer> ids);
+
     /**
      * Saves a new {@link Application}.
      *
@@ -55,6 +66,45 @@ public interface ApplicationService {
     List<Application> getApplicationsForACertainPeriodAndState(LocalDate startDate, LocalDate endDate,
                                                                ApplicationStatus status);
 
+    /**
+     * Gets the applications for leave of all members of the given departments with one of the given states and
+     * vacation time between startDate x and endDate y, reduced to the parts shown to the colleagues of the members.
+     *
+     * @param departmentIds ids of the departments whose members applications for leave are fetched
+     * @param statuses      {@link ApplicationStatus}es of the applications for leave
+     * @param startDate     {@link LocalDate}
+     * @param endDate       {@link LocalDate}
+     * @return the applications for leave of the department members grouped by person and ordered by start date
+     */
+    List<ApplicationSummary> getApplicationsForACertainPeriodAndStateOfDepartmentMembers(Collection<Integer> departmentIds,
+                                                                                         List<ApplicationStatus> statuses,
+                                                                                         LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Gets the applications for leave with one of the given states and vacation time between startDate x and endDate y,
+     * reduced to the parts returned by the vacations API.
+     *
+     * @param startDate {@link LocalDate}
+     * @param endDate   {@link LocalDate}
+     * @param statuses  {@link ApplicationStatus}es of the applications for leave
+     * @return the applications for leave ordered by start date
+     */
+    List<ApplicationSummary> getSummariesForACertainPeriodAndState(LocalDate startDate, LocalDate endDate,
+                                                                   List<ApplicationStatus> statuses);
+
+    /**
+     * Gets the applications for leave of the given person with one of the given states and vacation time between
+     * startDate x and endDate y, reduced to the parts returned by the vacations API.
+     *
+     * @param startDate {@link LocalDate}
+     * @param endDate   {@link LocalDate}
+     * @param person    {@link Person}
+     * @param statuses  {@link ApplicationStatus}es of the applications for leave
+     * @return the applications for leave of the given person ordered by start date
+     */
+    List<ApplicationSummary> getSummariesForACertainPeriodAndPersonAndState(LocalDate startDate, LocalDate endDate,
+                                                                            Person person, List<ApplicationStatus> statuses);
+
     /**
      * Gets all {@link Application}s that have the given start date and the given state.
      *
@@ -125,6 +175,14 @@ public interface ApplicationService {
      */
     Duration getTotalOvertimeReductionOfPerson(Person person);
 
+    /**
+     * Get the total hours of overtime reduction for many persons with a single query.
+     *
+     * @param persons to get the total hours of overtime reduction for
+     * @return the total overtime reduction by person, contains every given person
+     */
+    Map<Person, Duration> getTotalOvertimeReductionOfPersons(List<Person> persons);
+
     /**
      * Get a list of all active holiday replacements of the given person and that are active at the given date
      * <p>
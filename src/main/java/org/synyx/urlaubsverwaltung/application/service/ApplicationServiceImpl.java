@@ -1,8 +1,11 @@
 package org.synyx.urlaubsverwaltung.application.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.synyx.urlaubsverwaltung.application.dao.ApplicationRepository;
+import org.synyx.urlaubsverwaltung.application.dao.ApplicationSummary;
+import org.synyx.urlaubsverwaltung.application.dao.OvertimeReductionSum;
 import org.synyx.urlaubsverwaltung.application.domain.Application;
 import org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus;
 import org.synyx.urlaubsverwaltung.person.Person;
@@ -10,9 +13,14 @@ import org.synyx.urlaubsverwaltung.person.Person;
 import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import static java.util.stream.Collectors.toMap;
 import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.ALLOWED;
 import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.ALLOWED_CANCELLATION_REQUESTED;
 import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.TEMPORARY_ALLOWED;
@@ -25,10 +33,12 @@ import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.W
 class ApplicationServiceImpl implements ApplicationService {
 
     private final ApplicationRepository applicationRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     @Autowired
-    ApplicationServiceImpl(ApplicationRepository applicationRepository) {
+    ApplicationServiceImpl(ApplicationRepository applicationRepository, ApplicationEventPublisher applicationEventPublisher) {
         this.applicationRepository = applicationRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
     }
 
     @Override
@@ -36,9 +46,18 @@ class ApplicationServiceImpl implements ApplicationService {
         return applicationRepository.findById(id);
     }
 
+    @Override
+    public List<Application> getApplicationsByIds(Collection<Integer> ids) {
+        final List<Application> applications = new ArrayList<>();
+        applicationRepository.findAllById(ids).forEach(applications::add);
+        return applications;
+    }
+
     @Override
     public Application save(Application application) {
-        return applicationRepository.save(application);
+        final Application savedApplication = applicationRepository.save(application);
+        applicationEventPublisher.publishEvent(new ApplicationUpdatedEvent(this, savedApplication));
+        return savedApplication;
     }
 
     @Override
@@ -52,6 +71,25 @@ class ApplicationServiceImpl implements ApplicationService {
         return applicationRepository.getApplicationsForACertainTimeAndState(startDate, endDate, status);
     }
 
+    @Override
+    public List<ApplicationSummary> getApplicationsForACertainPeriodAndStateOfDepartmentMembers(Collection<Integer> departmentIds,
+                                                                                                List<ApplicationStatus> statuses,
+                                                                                                LocalDate startDate, LocalDate endDate) {
+        return applicationRepository.findDepartmentMemberApplications(departmentIds, statuses, startDate, endDate);
+    }
+
+    @Override
+    public List<ApplicationSummary> getSummariesForACertainPeriodAndState(LocalDate startDate, LocalDate endDate,
+                                                                          List<ApplicationStatus> statuses) {
+        return applicationRepository.findSummariesByStatusInAndPeriod(statuses, startDate, endDate);
+    }
+
+    @Override
+    public List<ApplicationSummary> getSummariesForACertainPeriodAndPersonAndState(LocalDate startDate, LocalDate endDate,
+                                                                                   Person person, List<ApplicationStatus> statuses) {
+        return applicationRepository.findSummariesByPersonAndStatusInAndPeriod(person, statuses, startDate, endDate);
+    }
+
     @Override
     public List<Application> getApplicationsWithStartDateAndState(LocalDate startDate, List<ApplicationStatus> statuses) {
         return applicationRepository.findByStatusInAndStartDate(statuses, startDate);
@@ -90,7 +128,26 @@ class ApplicationServiceImpl implements ApplicationService {
     @Override
     public Duration getTotalOvertimeReductionOfPerson(Person person) {
         final BigDecimal overtimeReduction = Optional.ofNullable(applicationRepository.calculateTotalOvertimeReductionOfPerson(person)).orElse(BigDecimal.ZERO);
-        return Duration.ofMinutes(overtimeReduction.multiply(BigDecimal.valueOf(60)).longValue());
+        return toDuration(overtimeReduction);
+    }
+
+    @Override
+    public Map<Person, Duration> getTotalOvertimeReductionOfPersons(List<Person> persons) {
+
+        if (persons.isEmpty()) {
+            return Map.of();
+        }
+
+        final Map<Integer, BigDecimal> overtimeReductionByPersonId = applicationRepository.calculateTotalOvertimeReductionOfPersons(persons).stream()
+            .filter(overtimeReductionSum -> overtimeReductionSum.getHoursSum() != null)
+            .collect(toMap(OvertimeReductionSum::getPersonId, OvertimeReductionSum::getHoursSum));
+
+        final Map<Person, Duration> overtimeReductionByPerson = new HashMap<>();
+        for (Person person : persons) {
+            overtimeReductionByPerson.put(person, toDuration(overtimeReductionByPersonId.getOrDefault(person.getId(), BigDecimal.ZERO)));
+        }
+
+        return overtimeReductionByPerson;
     }
 
     @Override
@@ -98,4 +155,8 @@ class ApplicationServiceImpl implements ApplicationService {
         final List<ApplicationStatus> status = List.of(WAITING, TEMPORARY_ALLOWED, ALLOWED, ALLOWED_CANCELLATION_REQUESTED);
         return applicationRepository.findByHolidayReplacements_PersonAndEndDateIsGreaterThanEqualAndStatusIn(holidayReplacement, date, status);
     }
+
+    private static Duration toDuration(BigDecimal hours) {
+        return Duration.ofMinutes(hours.multiply(BigDecimal.valueOf(60)).longValue());
+    }
 }
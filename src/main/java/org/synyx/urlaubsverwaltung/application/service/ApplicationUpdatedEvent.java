@@ -0,0 +1,22 @@
+package org.synyx.urlaubsverwaltung.application.service;
+
+import org.springframework.context.ApplicationEvent;
+import org.synyx.urlaubsverwaltung.application.domain.Application;
+
+/**
+ * Published by {@link ApplicationService#save(Application)} for every saved application for leave, e.g. when it is
+ * applied for, allowed, rejected or cancelled. Carries the saved application, its status is the new one.
+ */
+public class ApplicationUpdatedEvent extends ApplicationEvent {
+
+    private final transient Application application;
+
+    public ApplicationUpdatedEvent(Object source, Application application) {
+        super(source);
+        this.application = application;
+    }
+
+    public Application getApplication() {
+        return application;
+    }
+}
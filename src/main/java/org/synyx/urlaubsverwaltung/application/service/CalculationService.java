@@ -1,7 +1,5 @@
 package org.synyx.urlaubsverwaltung.application.service;
 
-import org.joda.time.DateTime;
-import org.joda.time.Interval;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -11,6 +9,7 @@ import org.synyx.urlaubsverwaltung.account.AccountService;
 import org.synyx.urlaubsverwaltung.account.VacationDaysLeft;
 import org.synyx.urlaubsverwaltung.account.VacationDaysService;
 import org.synyx.urlaubsverwaltung.application.domain.Application;
+import org.synyx.urlaubsverwaltung.overlap.HalfDayInterval;
 import org.synyx.urlaubsverwaltung.overlap.OverlapService;
 import org.synyx.urlaubsverwaltung.period.DayLength;
 import org.synyx.urlaubsverwaltung.person.Person;
@@ -140,7 +139,7 @@ public class CalculationService {
     }
 
     private BigDecimal getWorkdaysBeforeApril(int year, Application application) {
-        final List<Interval> beforeApril = overlapService.getListOfOverlaps(
+        final List<HalfDayInterval> beforeApril = overlapService.getListOfOverlaps(
             getFirstDayOfYear(year),
             getLastDayOfMonth(year, MARCH.getValue()),
             List.of(application),
@@ -150,13 +149,11 @@ public class CalculationService {
         return beforeApril.isEmpty() ? ZERO : calculateWorkDaysBeforeApril(application, beforeApril);
     }
 
-    private BigDecimal calculateWorkDaysBeforeApril(Application application, List<Interval> beforeApril) {
-        final DateTime start = beforeApril.get(0).getStart();
-        final DateTime end = beforeApril.get(0).getEnd();
+    private BigDecimal calculateWorkDaysBeforeApril(Application application, List<HalfDayInterval> beforeApril) {
         return workDaysCountService.getWorkDaysCount(
             application.getDayLength(),
-            LocalDate.of(start.getYear(), start.getMonthOfYear(), start.getDayOfMonth()),
-            LocalDate.of(end.getYear(), end.getMonthOfYear(), end.getDayOfMonth()),
+            beforeApril.get(0).getStartDate(),
+            beforeApril.get(0).getEndDate(),
             application.getPerson());
     }
 
@@ -7,6 +7,7 @@ import org.synyx.urlaubsverwaltung.person.Person;
 import java.math.BigDecimal;
 import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static java.math.BigDecimal.ZERO;
@@ -26,9 +27,13 @@ public class ApplicationForLeaveStatistics {
     private Duration leftOvertime = Duration.ZERO;
 
     public ApplicationForLeaveStatistics(Person person, VacationTypeService vacationTypeService) {
+        this(person, vacationTypeService.getVacationTypes());
+    }
+
+    public ApplicationForLeaveStatistics(Person person, List<VacationType> vacationTypes) {
         this.person = person;
 
-        for (VacationType vacationType : vacationTypeService.getVacationTypes()) {
+        for (VacationType vacationType : vacationTypes) {
             waitingVacationDays.put(vacationType, ZERO);
             allowedVacationDays.put(vacationType, ZERO);
         }
@@ -1,23 +1,49 @@
 package org.synyx.urlaubsverwaltung.application.statistics;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 import org.synyx.urlaubsverwaltung.account.AccountService;
 import org.synyx.urlaubsverwaltung.account.VacationDaysService;
+import org.synyx.urlaubsverwaltung.application.ApplicationProperties;
 import org.synyx.urlaubsverwaltung.application.domain.Application;
+import org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus;
+import org.synyx.urlaubsverwaltung.application.domain.VacationType;
 import org.synyx.urlaubsverwaltung.application.service.ApplicationService;
 import org.synyx.urlaubsverwaltung.application.service.VacationTypeService;
 import org.synyx.urlaubsverwaltung.overtime.OvertimeService;
 import org.synyx.urlaubsverwaltung.period.DayLength;
 import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.publicholiday.PublicHoliday;
+import org.synyx.urlaubsverwaltung.publicholiday.PublicHolidaysService;
+import org.synyx.urlaubsverwaltung.workingtime.FederalState;
 import org.synyx.urlaubsverwaltung.workingtime.WorkDaysCountService;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTime;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeService;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeTimeline;
 
+import javax.annotation.PreDestroy;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 
 import static java.math.BigDecimal.ZERO;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.mapping;
+import static java.util.stream.Collectors.toList;
 import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.ALLOWED;
 import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.ALLOWED_CANCELLATION_REQUESTED;
 import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.TEMPORARY_ALLOWED;
@@ -25,23 +51,41 @@ import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.W
 
 
 /**
- * Builds a {@link ApplicationForLeaveStatistics} for the given
- * {@link org.synyx.urlaubsverwaltung.person.Person} and period.
+ * Builds {@link ApplicationForLeaveStatistics} for the given
+ * {@link org.synyx.urlaubsverwaltung.person.Person}s and period.
+ *
+ * <p>All data that is needed for the statistics is loaded for all persons at once, afterwards the statistics of the
+ * single persons are computed in parallel. The duration of both phases is recorded as metric.</p>
+ *
+ * <p>The computing threads have neither a persistence context nor a transaction, therefore the loaded data is handed
+ * over to them as plain values, including the public holidays of the period, and they do not look up any further
+ * data.</p>
  */
 @Component
 public class ApplicationForLeaveStatisticsBuilder {
 
+    private static final String METRIC_STATISTICS_BUILD = "statistics.applications.build";
+    private static final int COMPUTE_CHUNK_SIZE = 100;
+    private static final List<ApplicationStatus> RELEVANT_STATUSES = List.of(WAITING, TEMPORARY_ALLOWED, ALLOWED, ALLOWED_CANCELLATION_REQUESTED);
+
     private final AccountService accountService;
     private final ApplicationService applicationService;
     private final WorkDaysCountService workDaysCountService;
     private final VacationDaysService vacationDaysService;
     private final OvertimeService overtimeService;
     private final VacationTypeService vacationTypeService;
+    private final WorkingTimeService workingTimeService;
+    private final PublicHolidaysService publicHolidaysService;
+    private final ExecutorService executorService;
+    private final Timer prefetchTimer;
+    private final Timer computeTimer;
 
     @Autowired
     public ApplicationForLeaveStatisticsBuilder(AccountService accountService, ApplicationService applicationService,
                                                 WorkDaysCountService workDaysCountService, VacationDaysService vacationDaysService, OvertimeService overtimeService,
-                                                VacationTypeService vacationTypeService) {
+                                                VacationTypeService vacationTypeService, WorkingTimeService workingTimeService,
+                                                PublicHolidaysService publicHolidaysService, ApplicationProperties applicationProperties,
+                                                MeterRegistry meterRegistry) {
 
         this.accountService = accountService;
         this.applicationService = applicationService;
@@ -49,41 +93,177 @@ public class ApplicationForLeaveStatisticsBuilder {
         this.vacationDaysService = vacationDaysService;
         this.overtimeService = overtimeService;
         this.vacationTypeService = vacationTypeService;
+        this.workingTimeService = workingTimeService;
+        this.publicHolidaysService = publicHolidaysService;
+
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("statistics-");
+        threadFactory.setDaemon(true);
+        this.executorService = Executors.newFixedThreadPool(applicationProperties.getStatistics().getThreads(), threadFactory);
+
+        this.prefetchTimer = Timer.builder(METRIC_STATISTICS_BUILD).tag("phase", "prefetch").register(meterRegistry);
+        this.computeTimer = Timer.builder(METRIC_STATISTICS_BUILD).tag("phase", "compute").register(meterRegistry);
     }
 
     public ApplicationForLeaveStatistics build(Person person, LocalDate from, LocalDate to) {
+        return build(List.of(person), from, to).get(0);
+    }
+
+    public List<ApplicationForLeaveStatistics> build(List<Person> persons, LocalDate from, LocalDate to) {
+        final List<ApplicationForLeaveStatistics> statistics = new ArrayList<>(persons.size());
+        build(persons, from, to, statistics::add);
+        return statistics;
+    }
+
+    /**
+     * Builds the statistics of the given persons and hands them over to the given consumer in the order of the persons
+     * as soon as they are computed, so that e.g. an export does not have to wait for the statistics of all persons.
+     *
+     * @param persons  to build the statistics for
+     * @param from     start of the period
+     * @param to       end of the period, must be in the same year as the start
+     * @param consumer of the statistics, called in the thread of the caller
+     */
+    public void build(List<Person> persons, LocalDate from, LocalDate to, Consumer<ApplicationForLeaveStatistics> consumer) {
         Assert.isTrue(from.getYear() == to.getYear(), "From and to must be in the same year");
 
-        final ApplicationForLeaveStatistics statistics = new ApplicationForLeaveStatistics(person, vacationTypeService);
-        statistics.setLeftVacationDays(calculateLeftVacationDays(person, from));
-        statistics.setLeftOvertime(overtimeService.getLeftOvertimeForPerson(person));
+        if (persons.isEmpty()) {
+            return;
+        }
+
+        final StatisticsData statisticsData = prefetchTimer.record(() -> prefetch(persons, from, to));
+        computeTimer.record(() -> compute(persons, statisticsData, consumer));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executorService.shutdownNow();
+    }
+
+    private StatisticsData prefetch(List<Person> persons, LocalDate from, LocalDate to) {
+
+        final List<VacationType> vacationTypes = vacationTypeService.getVacationTypes();
+
+        final Map<Person, BigDecimal> leftVacationDays = new HashMap<>();
+        vacationDaysService.calculateTotalLeftVacationDaysOfAccounts(accountService.getHolidaysAccounts(from.getYear(), persons))
+            .forEach((account, days) -> leftVacationDays.put(account.getPerson(), days));
+
+        final Map<Person, Duration> leftOvertime = overtimeService.getLeftOvertimeForPersons(persons);
 
-        final List<Application> applications = applicationService.getApplicationsForACertainPeriodAndPerson(from, to, person);
-        for (Application application : applications) {
-            if (application.hasStatus(WAITING) || application.hasStatus(TEMPORARY_ALLOWED)) {
-                statistics.addWaitingVacationDays(application.getVacationType(), getVacationDaysFor(application, from, to));
-            } else if (application.hasStatus(ALLOWED) || application.hasStatus(ALLOWED_CANCELLATION_REQUESTED)) {
-                statistics.addAllowedVacationDays(application.getVacationType(), getVacationDaysFor(application, from, to));
+        final Map<Person, List<StatisticsApplication>> applications = applicationService.getForStatesAndPerson(RELEVANT_STATUSES, persons, from, to).stream()
+            .collect(groupingBy(Application::getPerson, mapping(application -> StatisticsApplication.of(application, from, to), toList())));
+
+        final Map<Person, WorkingTimeTimeline> timelines = workingTimeService.getTimelinesByPersons(List.copyOf(applications.keySet()));
+
+        final Map<FederalState, List<PublicHoliday>> publicHolidays = new EnumMap<>(FederalState.class);
+        for (WorkingTimeTimeline timeline : timelines.values()) {
+            for (WorkingTime workingTime : timeline.getWorkingTimes()) {
+                publicHolidays.computeIfAbsent(workingTime.getFederalState(),
+                    federalState -> publicHolidaysService.getPublicHolidays(from, to, federalState));
+            }
+        }
+
+        return new StatisticsData(vacationTypes, leftVacationDays, leftOvertime, applications, timelines, publicHolidays);
+    }
+
+    private void compute(List<Person> persons, StatisticsData statisticsData,
+                         Consumer<ApplicationForLeaveStatistics> consumer) {
+
+        // persons are computed in chunks so that only the statistics of a chunk have to be kept in memory at once
+        for (int chunkStart = 0; chunkStart < persons.size(); chunkStart += COMPUTE_CHUNK_SIZE) {
+            final List<Person> chunk = persons.subList(chunkStart, Math.min(chunkStart + COMPUTE_CHUNK_SIZE, persons.size()));
+
+            final List<CompletableFuture<ApplicationForLeaveStatistics>> statistics = chunk.stream()
+                .map(person -> CompletableFuture.supplyAsync(() -> build(person, statisticsData), executorService))
+                .collect(toList());
+
+            statistics.stream()
+                .map(ApplicationForLeaveStatisticsBuilder::join)
+                .forEach(consumer);
+        }
+    }
+
+    /**
+     * Runs in a computing thread, therefore only uses the given prefetched data.
+     */
+    private ApplicationForLeaveStatistics build(Person person, StatisticsData statisticsData) {
+
+        final ApplicationForLeaveStatistics statistics = new ApplicationForLeaveStatistics(person, statisticsData.vacationTypes);
+        statistics.setLeftVacationDays(statisticsData.leftVacationDays.getOrDefault(person, ZERO));
+        statistics.setLeftOvertime(statisticsData.leftOvertime.getOrDefault(person, Duration.ZERO));
+
+        final WorkingTimeTimeline timeline = statisticsData.timelines.get(person);
+        for (StatisticsApplication application : statisticsData.applications.getOrDefault(person, List.of())) {
+            if (application.status == WAITING || application.status == TEMPORARY_ALLOWED) {
+                statistics.addWaitingVacationDays(application.vacationType, getVacationDaysFor(application, person, timeline, statisticsData));
+            } else if (application.status == ALLOWED || application.status == ALLOWED_CANCELLATION_REQUESTED) {
+                statistics.addAllowedVacationDays(application.vacationType, getVacationDaysFor(application, person, timeline, statisticsData));
             }
         }
 
         return statistics;
     }
 
-    private BigDecimal getVacationDaysFor(Application application, LocalDate from, LocalDate to) {
+    private BigDecimal getVacationDaysFor(StatisticsApplication application, Person person, WorkingTimeTimeline timeline, StatisticsData statisticsData) {
+        return workDaysCountService.getWorkDaysCount(application.dayLength, application.startDate, application.endDate, person, timeline,
+            statisticsData.publicHolidays);
+    }
 
-        final DayLength dayLength = application.getDayLength();
-        final Person person = application.getPerson();
+    private static ApplicationForLeaveStatistics join(CompletableFuture<ApplicationForLeaveStatistics> statistics) {
+        try {
+            return statistics.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
 
-        final LocalDate startDate = application.getStartDate().isBefore(from) ? from : application.getStartDate();
-        final LocalDate endDate = application.getEndDate().isAfter(to) ? to : application.getEndDate();
+    private static final class StatisticsData {
 
-        return workDaysCountService.getWorkDaysCount(dayLength, startDate, endDate, person);
+        private final List<VacationType> vacationTypes;
+        private final Map<Person, BigDecimal> leftVacationDays;
+        private final Map<Person, Duration> leftOvertime;
+        private final Map<Person, List<StatisticsApplication>> applications;
+        private final Map<Person, WorkingTimeTimeline> timelines;
+        private final Map<FederalState, List<PublicHoliday>> publicHolidays;
+
+        private StatisticsData(List<VacationType> vacationTypes, Map<Person, BigDecimal> leftVacationDays, Map<Person, Duration> leftOvertime,
+                               Map<Person, List<StatisticsApplication>> applications, Map<Person, WorkingTimeTimeline> timelines,
+                               Map<FederalState, List<PublicHoliday>> publicHolidays) {
+            this.vacationTypes = vacationTypes;
+            this.leftVacationDays = leftVacationDays;
+            this.leftOvertime = leftOvertime;
+            this.applications = applications;
+            this.timelines = timelines;
+            this.publicHolidays = publicHolidays;
+        }
     }
 
-    private BigDecimal calculateLeftVacationDays(Person person, LocalDate from) {
-        return accountService.getHolidaysAccount(from.getYear(), person)
-            .map(vacationDaysService::calculateTotalLeftVacationDays).
-            orElse(ZERO);
+    /**
+     * The values of an application for leave needed for the statistics, with the period cut to the period of the
+     * statistics.
+     */
+    private static final class StatisticsApplication {
+
+        private final VacationType vacationType;
+        private final ApplicationStatus status;
+        private final DayLength dayLength;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+
+        private StatisticsApplication(VacationType vacationType, ApplicationStatus status, DayLength dayLength, LocalDate startDate, LocalDate endDate) {
+            this.vacationType = vacationType;
+            this.status = status;
+            this.dayLength = dayLength;
+            this.startDate = startDate;
+            this.endDate = endDate;
+        }
+
+        private static StatisticsApplication of(Application application, LocalDate from, LocalDate to) {
+            final LocalDate startDate = application.getStartDate().isBefore(from) ? from : application.getStartDate();
+            final LocalDate endDate = application.getEndDate().isAfter(to) ? to : application.getEndDate();
+            return new StatisticsApplication(application.getVacationType(), application.getStatus(), application.getDayLength(), startDate, endDate);
+        }
     }
 }
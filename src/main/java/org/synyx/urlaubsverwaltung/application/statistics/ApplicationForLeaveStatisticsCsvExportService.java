@@ -14,8 +14,11 @@ import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 import java.text.NumberFormat;
 import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
 
 @Service
 class ApplicationForLeaveStatisticsCsvExportService {
@@ -35,6 +38,18 @@ class ApplicationForLeaveStatisticsCsvExportService {
     }
 
     void writeStatistics(FilterPeriod period, List<ApplicationForLeaveStatistics> statistics, CSVWriter csvWriter) {
+        statistics.forEach(writeHeader(period, csvWriter));
+    }
+
+    /**
+     * Writes the header of the statistics export and returns a consumer that writes the rows of one person, so that the
+     * rows can be written as soon as the statistics of a person are available.
+     *
+     * @param period     of the statistics
+     * @param csvWriter  to write the export to
+     * @return consumer writing the rows of the statistics of one person
+     */
+    Consumer<ApplicationForLeaveStatistics> writeHeader(FilterPeriod period, CSVWriter csvWriter) {
         final String[] csvHeader = {getTranslation("person.data.firstName", "Vorname"),
             getTranslation("person.data.lastName", "Nachname"), "",
             getTranslation("applications.statistics.allowed", "genehmigt"),
@@ -50,21 +65,19 @@ class ApplicationForLeaveStatisticsCsvExportService {
         final String headerNote = getTranslation("absence.period", "Zeitraum")
             + ": " + startDateString + " - " + endDateString;
 
-        final DecimalFormatSymbols newSymbols = new DecimalFormatSymbols(LOCALE);
-        newSymbols.setDecimalSeparator(',');
-        newSymbols.setGroupingSeparator('.');
-
-        final DecimalFormat decimalFormat = (DecimalFormat) NumberFormat.getInstance(LOCALE);
-        decimalFormat.setDecimalFormatSymbols(newSymbols);
-
         csvWriter.writeNext(new String[]{headerNote});
         csvWriter.writeNext(csvHeader);
         csvWriter.writeNext(csvSubHeader);
 
+        final DecimalFormat decimalFormat = createDecimalFormat();
         final String translatedTextTotal = getTranslation("applications.statistics.total", "gesamt");
 
-        for (ApplicationForLeaveStatistics applicationForLeaveStatistics : statistics) {
+        final Map<VacationType, String> translatedVacationTypes = new LinkedHashMap<>();
+        for (VacationType type : vacationTypeService.getVacationTypes()) {
+            translatedVacationTypes.put(type, getTranslation(type.getMessageKey()));
+        }
 
+        return applicationForLeaveStatistics -> {
             final String[] csvRow = new String[csvHeader.length];
             csvRow[0] = applicationForLeaveStatistics.getPerson().getFirstName();
             csvRow[1] = applicationForLeaveStatistics.getPerson().getLastName();
@@ -75,15 +88,14 @@ class ApplicationForLeaveStatisticsCsvExportService {
             csvRow[6] = decimalFormat.format(BigDecimal.valueOf((double) applicationForLeaveStatistics.getLeftOvertime().toMinutes() / 60));
             csvWriter.writeNext(csvRow);
 
-            for (VacationType type : vacationTypeService.getVacationTypes()) {
-
+            translatedVacationTypes.forEach((type, translatedType) -> {
                 final String[] csvRowVacationTypes = new String[csvHeader.length];
-                csvRowVacationTypes[2] = getTranslation(type.getMessageKey());
+                csvRowVacationTypes[2] = translatedType;
                 csvRowVacationTypes[3] = decimalFormat.format(applicationForLeaveStatistics.getAllowedVacationDays().get(type));
                 csvRowVacationTypes[4] = decimalFormat.format(applicationForLeaveStatistics.getWaitingVacationDays().get(type));
                 csvWriter.writeNext(csvRowVacationTypes);
-            }
-        }
+            });
+        };
     }
 
     String getFileName(FilterPeriod period) {
@@ -93,6 +105,16 @@ class ApplicationForLeaveStatisticsCsvExportService {
             period.getEndDate().format(DateTimeFormatter.ofPattern(DATE_FORMAT)));
     }
 
+    private static DecimalFormat createDecimalFormat() {
+        final DecimalFormatSymbols newSymbols = new DecimalFormatSymbols(LOCALE);
+        newSymbols.setDecimalSeparator(',');
+        newSymbols.setGroupingSeparator('.');
+
+        final DecimalFormat decimalFormat = (DecimalFormat) NumberFormat.getInstance(LOCALE);
+        decimalFormat.setDecimalFormatSymbols(newSymbols);
+        return decimalFormat;
+    }
+
     private String getTranslation(String key, Object... args) {
         return messageSource.getMessage(key, args, LOCALE);
     }
@@ -8,8 +8,8 @@ import org.synyx.urlaubsverwaltung.person.PersonService;
 import org.synyx.urlaubsverwaltung.web.FilterPeriod;
 
 import java.util.List;
+import java.util.function.Consumer;
 
-import static java.util.stream.Collectors.toList;
 import static org.synyx.urlaubsverwaltung.person.Role.DEPARTMENT_HEAD;
 
 @Service
@@ -28,9 +28,11 @@ class ApplicationForLeaveStatisticsService {
     }
 
     List<ApplicationForLeaveStatistics> getStatistics(FilterPeriod period) {
-        return getRelevantPersons().stream()
-            .map(person -> applicationForLeaveStatisticsBuilder.build(person, period.getStartDate(), period.getEndDate()))
-            .collect(toList());
+        return applicationForLeaveStatisticsBuilder.build(getRelevantPersons(), period.getStartDate(), period.getEndDate());
+    }
+
+    void getStatistics(FilterPeriod period, Consumer<ApplicationForLeaveStatistics> consumer) {
+        applicationForLeaveStatisticsBuilder.build(getRelevantPersons(), period.getStartDate(), period.getEndDate(), consumer);
     }
 
     private List<Person> getRelevantPersons() {
@@ -21,6 +21,7 @@ import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.synyx.urlaubsverwaltung.security.SecurityRules.IS_PRIVILEGED_USER;
 
@@ -111,16 +112,18 @@ public class ApplicationForLeaveStatisticsViewController {
             return "application/app_statistics";
         }
 
-        final List<ApplicationForLeaveStatistics> statistics = applicationForLeaveStatisticsService.getStatistics(period);
-
         final String fileName = applicationForLeaveStatisticsCsvExportService.getFileName(period);
         response.setContentType("text/csv");
         response.setCharacterEncoding("utf-8");
         response.setHeader("Content-disposition", "attachment;filename=" + fileName);
 
-        try (CSVWriter csvWriter = new CSVWriter(response.getWriter())) {
-            applicationForLeaveStatisticsCsvExportService.writeStatistics(period, statistics, csvWriter);
-        }
+        // the rows are streamed to the client while the statistics of the persons are computed. The header stays in the
+        // response buffer until the first rows are written and the writer is only flushed after all rows are written,
+        // so that a failure before the first rows still results in an error response instead of a truncated export.
+        final CSVWriter csvWriter = new CSVWriter(response.getWriter());
+        final Consumer<ApplicationForLeaveStatistics> rowWriter = applicationForLeaveStatisticsCsvExportService.writeHeader(period, csvWriter);
+        applicationForLeaveStatisticsService.getStatistics(period, rowWriter);
+        csvWriter.flush();
 
         model.addAttribute("period", period);
 
@@ -4,8 +4,12 @@ import org.synyx.urlaubsverwaltung.person.Person;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 import static java.math.BigDecimal.ZERO;
+import static java.util.stream.Collectors.toList;
 
 /**
  * This class is used to build a chain of responsibility (https://en.wikipedia.org/wiki/Chain-of-responsibility_pattern)
@@ -43,11 +47,64 @@ abstract class AbstractTimedAbsenceProvider {
         }
     }
 
+    /**
+     * Checks for absences for the given person on every day of the given period. Every provider of the chain loads
+     * the absences of the whole period at once, afterwards the days are checked with the same priorities as in
+     * {@link #checkForAbsence(Person, LocalDate)}.
+     *
+     * @return the absences of every day of the period, ordered by date
+     */
+    List<TimedAbsenceSpans> checkForAbsences(Person person, LocalDate startDate, LocalDate endDate) {
+
+        final List<PeriodAbsences> absencesByPriority = new ArrayList<>();
+        for (AbstractTimedAbsenceProvider provider : getProvidersByPriority()) {
+            absencesByPriority.add(provider.loadAbsences(person, startDate, endDate));
+        }
+
+        return checkForAbsencesOfDays(absencesByPriority, startDate, endDate);
+    }
+
+    /**
+     * Checks for absences for all given persons on every day of the given period. Every provider of the chain loads
+     * the absences of all persons for the whole period at once, afterwards the absences of a single person are checked
+     * like in {@link #checkForAbsences(Person, LocalDate, LocalDate)} when the returned function is applied.
+     *
+     * @return function returning the absences of every day of the period for one of the given persons
+     */
+    Function<Person, List<TimedAbsenceSpans>> checkForAbsences(List<Person> persons, LocalDate startDate, LocalDate endDate) {
+
+        final List<Map<Person, PeriodAbsences>> absencesByPriority = new ArrayList<>();
+        for (AbstractTimedAbsenceProvider provider : getProvidersByPriority()) {
+            absencesByPriority.add(provider.loadAbsences(persons, startDate, endDate));
+        }
+
+        final PeriodAbsences noAbsences = new PeriodAbsences(startDate, endDate);
+
+        return person -> {
+            final List<PeriodAbsences> absencesOfPersonByPriority = absencesByPriority.stream()
+                .map(absencesByPerson -> absencesByPerson.getOrDefault(person, noAbsences))
+                .collect(toList());
+
+            return checkForAbsencesOfDays(absencesOfPersonByPriority, startDate, endDate);
+        };
+    }
+
     /**
      * Each provider implements his own logic to retrieve absences via this method.
      */
     abstract TimedAbsenceSpans addAbsence(TimedAbsenceSpans knownAbsences, Person person, LocalDate date);
 
+    /**
+     * Each provider implements his own logic to retrieve the absences of a whole period via this method.
+     */
+    abstract PeriodAbsences loadAbsences(Person person, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Each provider implements his own logic to retrieve the absences of many persons for a whole period via this
+     * method.
+     */
+    abstract Map<Person, PeriodAbsences> loadAbsences(List<Person> persons, LocalDate startDate, LocalDate endDate);
+
     /**
      * This method is used to check if the provider has a follow up provider to call.
      *
@@ -55,6 +112,40 @@ abstract class AbstractTimedAbsenceProvider {
      */
     abstract boolean isLastPriorityProvider();
 
+    private List<AbstractTimedAbsenceProvider> getProvidersByPriority() {
+
+        final List<AbstractTimedAbsenceProvider> providers = new ArrayList<>();
+
+        AbstractTimedAbsenceProvider provider = this;
+        providers.add(provider);
+        while (!provider.isLastPriorityProvider()) {
+            provider = provider.nextPriorityAbsenceProvider;
+            providers.add(provider);
+        }
+
+        return providers;
+    }
+
+    private List<TimedAbsenceSpans> checkForAbsencesOfDays(List<PeriodAbsences> absencesByPriority, LocalDate startDate, LocalDate endDate) {
+
+        final List<TimedAbsenceSpans> absences = new ArrayList<>();
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+
+            final TimedAbsenceSpans absencesOfDay = new TimedAbsenceSpans(new ArrayList<>());
+            for (PeriodAbsences periodAbsences : absencesByPriority) {
+                absencesOfDay.getAbsencesList().addAll(periodAbsences.getAbsences(date));
+
+                if (isPersonAbsentForWholeDay(absencesOfDay)) {
+                    break;
+                }
+            }
+
+            absences.add(absencesOfDay);
+        }
+
+        return absences;
+    }
+
     private boolean isPersonAbsentForWholeDay(TimedAbsenceSpans timedAbsenceSpans) {
         return ZERO.compareTo(timedAbsenceSpans.calculatePresenceRatio()) == 0;
     }
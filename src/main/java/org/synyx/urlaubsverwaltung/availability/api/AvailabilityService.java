@@ -9,6 +9,7 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 
 
 /**
@@ -18,6 +19,8 @@ import java.util.List;
 @Service
 public class AvailabilityService {
 
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
     private final FreeTimeAbsenceProvider freeTimeAbsenceProvider;
 
     @Autowired
@@ -36,15 +39,49 @@ public class AvailabilityService {
      */
     AvailabilityListDto getPersonsAvailabilities(LocalDate startDate, LocalDate endDate, Person person) {
 
-        List<DayAvailability> availabilities = new ArrayList<>();
+        final List<TimedAbsenceSpans> absencesOfDays = freeTimeAbsenceProvider.checkForAbsences(person, startDate, endDate);
+        return toAvailabilityList(person, startDate, absencesOfDays);
+    }
+
+    /**
+     * Fetch an {@link AvailabilityListDto} for every given person on all days in the given period of time. The
+     * absences of all persons are loaded at once. The availability list of a person without a working time in the
+     * given period is empty.
+     *
+     * @param startDate start date of the of the requested availability duration
+     * @param endDate   end date of the of the requested availability duration
+     * @param persons   to receive the availability information
+     * @return the {@link AvailabilityListDto availability lists} of the requested persons in the order of the persons
+     */
+    List<AvailabilityListDto> getAvailabilitiesOfPersons(LocalDate startDate, LocalDate endDate, List<Person> persons) {
+
+        final Function<Person, List<TimedAbsenceSpans>> absencesOfPerson = freeTimeAbsenceProvider.checkForAbsences(persons, startDate, endDate);
+
+        final List<AvailabilityListDto> availabilityLists = new ArrayList<>(persons.size());
+        for (Person person : persons) {
+            List<TimedAbsenceSpans> absencesOfDays;
+            try {
+                absencesOfDays = absencesOfPerson.apply(person);
+            } catch (FreeTimeAbsenceException e) {
+                absencesOfDays = List.of();
+            }
+
+            availabilityLists.add(toAvailabilityList(person, startDate, absencesOfDays));
+        }
+
+        return availabilityLists;
+    }
+
+    private static AvailabilityListDto toAvailabilityList(Person person, LocalDate startDate, List<TimedAbsenceSpans> absencesOfDays) {
+
+        List<DayAvailability> availabilities = new ArrayList<>(absencesOfDays.size());
 
         LocalDate currentDay = startDate;
 
-        while (!currentDay.isAfter(endDate)) {
-            TimedAbsenceSpans absences = freeTimeAbsenceProvider.checkForAbsence(person, currentDay);
+        for (TimedAbsenceSpans absences : absencesOfDays) {
             BigDecimal presenceRatio = absences.calculatePresenceRatio();
 
-            availabilities.add(new DayAvailability(presenceRatio, currentDay.format(DateTimeFormatter.ofPattern("yyyy-MM-dd")), absences));
+            availabilities.add(new DayAvailability(presenceRatio, currentDay.format(DATE_FORMATTER), absences));
 
             currentDay = currentDay.plusDays(1);
         }
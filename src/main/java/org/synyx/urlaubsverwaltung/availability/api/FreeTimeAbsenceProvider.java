@@ -6,10 +6,13 @@ import org.synyx.urlaubsverwaltung.period.DayLength;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.workingtime.WorkingTime;
 import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeService;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeTimeline;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Deprecated(forRemoval = true, since = "4.4.0")
@@ -42,6 +45,44 @@ class FreeTimeAbsenceProvider extends AbstractTimedAbsenceProvider {
     }
 
 
+    @Override
+    PeriodAbsences loadAbsences(Person person, LocalDate startDate, LocalDate endDate) {
+        return loadAbsences(person, workingTimeService.getTimelineByPerson(person), startDate, endDate);
+    }
+
+    @Override
+    Map<Person, PeriodAbsences> loadAbsences(List<Person> persons, LocalDate startDate, LocalDate endDate) {
+
+        final Map<Person, PeriodAbsences> freeTimeAbsencesByPerson = new HashMap<>();
+        workingTimeService.getTimelinesByPersons(persons).forEach((person, workingTimeTimeline) -> {
+            try {
+                freeTimeAbsencesByPerson.put(person, loadAbsences(person, workingTimeTimeline, startDate, endDate));
+            } catch (FreeTimeAbsenceException e) {
+                // the other persons of the request can be checked anyway
+                freeTimeAbsencesByPerson.put(person, PeriodAbsences.failed(startDate, endDate, e));
+            }
+        });
+
+        return freeTimeAbsencesByPerson;
+    }
+
+    private PeriodAbsences loadAbsences(Person person, WorkingTimeTimeline workingTimeTimeline, LocalDate startDate, LocalDate endDate) {
+
+        final PeriodAbsences freeTimeAbsences = new PeriodAbsences(startDate, endDate);
+
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            final WorkingTime workingTime = workingTimeTimeline.getWorkingTime(date)
+                .orElseThrow(() -> noWorkingTimeConfigured(person));
+
+            final Optional<TimedAbsence> freeTimeAbsence = checkForFreeTime(workingTime.getDayLengthForWeekDay(date.getDayOfWeek()));
+            if (freeTimeAbsence.isPresent()) {
+                freeTimeAbsences.addAbsence(date, freeTimeAbsence.get());
+            }
+        }
+
+        return freeTimeAbsences;
+    }
+
     @Override
     boolean isLastPriorityProvider() {
 
@@ -50,8 +91,11 @@ class FreeTimeAbsenceProvider extends AbstractTimedAbsenceProvider {
 
 
     private Optional<TimedAbsence> checkForFreeTime(LocalDate currentDay, Person person) {
+        return checkForFreeTime(getExpectedWorkTimeFor(person, currentDay));
+    }
+
+    private Optional<TimedAbsence> checkForFreeTime(DayLength expectedWorkTime) {
 
-        DayLength expectedWorkTime = getExpectedWorkTimeFor(person, currentDay);
         BigDecimal expectedWorkTimeDuration = expectedWorkTime.getDuration();
 
         boolean expectedWorkTimeIsLessThanFullDay = expectedWorkTimeDuration.compareTo(BigDecimal.ONE) < 0;
@@ -70,11 +114,15 @@ class FreeTimeAbsenceProvider extends AbstractTimedAbsenceProvider {
             currentDay);
 
         if (workingTimeOrNot.isEmpty()) {
-            throw new FreeTimeAbsenceException("Person " + person + " does not have workingTime configured");
+            throw noWorkingTimeConfigured(person);
         }
 
         WorkingTime workingTime = workingTimeOrNot.get();
 
         return workingTime.getDayLengthForWeekDay(currentDay.getDayOfWeek());
     }
+
+    private static FreeTimeAbsenceException noWorkingTimeConfigured(Person person) {
+        return new FreeTimeAbsenceException("Person " + person + " does not have workingTime configured");
+    }
 }
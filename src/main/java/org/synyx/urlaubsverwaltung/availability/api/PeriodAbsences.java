@@ -0,0 +1,68 @@
+package org.synyx.urlaubsverwaltung.availability.api;
+
+import org.synyx.urlaubsverwaltung.period.DayLength;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * The absences one {@link AbstractTimedAbsenceProvider} found on the days of a period, loaded at once for the whole
+ * period.
+ */
+@Deprecated(forRemoval = true, since = "4.4.0")
+class PeriodAbsences {
+
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final Map<LocalDate, List<TimedAbsence>> absencesByDate = new HashMap<>();
+    private final FreeTimeAbsenceException failure;
+
+    PeriodAbsences(LocalDate startDate, LocalDate endDate) {
+        this(startDate, endDate, null);
+    }
+
+    private PeriodAbsences(LocalDate startDate, LocalDate endDate, FreeTimeAbsenceException failure) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.failure = failure;
+    }
+
+    /**
+     * Absences that could not be loaded for one of many persons, so that only the absences of this person fail when
+     * they are checked.
+     *
+     * @param failure thrown on every {@link #getAbsences(LocalDate)}
+     */
+    static PeriodAbsences failed(LocalDate startDate, LocalDate endDate, FreeTimeAbsenceException failure) {
+        return new PeriodAbsences(startDate, endDate, failure);
+    }
+
+    /**
+     * Adds an absence of the given day length on every day of the given absence that lies within the period.
+     */
+    void addAbsence(LocalDate absenceStartDate, LocalDate absenceEndDate, DayLength dayLength) {
+
+        final LocalDate firstDate = absenceStartDate.isBefore(startDate) ? startDate : absenceStartDate;
+        final LocalDate lastDate = absenceEndDate.isAfter(endDate) ? endDate : absenceEndDate;
+
+        for (LocalDate date = firstDate; !date.isAfter(lastDate); date = date.plusDays(1)) {
+            addAbsence(date, new TimedAbsence(dayLength));
+        }
+    }
+
+    void addAbsence(LocalDate date, TimedAbsence absence) {
+        absencesByDate.computeIfAbsent(date, key -> new ArrayList<>()).add(absence);
+    }
+
+    List<TimedAbsence> getAbsences(LocalDate date) {
+        if (failure != null) {
+            throw failure;
+        }
+
+        return absencesByDate.getOrDefault(date, List.of());
+    }
+}
@@ -0,0 +1,117 @@
+package org.synyx.urlaubsverwaltung.availability.api;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.synyx.urlaubsverwaltung.api.RestControllerAdviceMarker;
+import org.synyx.urlaubsverwaltung.department.Department;
+import org.synyx.urlaubsverwaltung.department.DepartmentService;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.person.PersonService;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.synyx.urlaubsverwaltung.security.SecurityRules.IS_OFFICE;
+
+@RestControllerAdviceMarker
+@Tag(name = "availabilities", description = "Availabilities: Get all availabilities for a certain person and period")
+@RestController
+@RequestMapping("/api")
+@Deprecated(forRemoval = true, since = "4.4.0")
+public class PersonsAvailabilitiesApiController {
+
+    public static final String AVAILABILITIES = "availabilities";
+
+    private final PersonService personService;
+    private final DepartmentService departmentService;
+    private final AvailabilityService availabilityService;
+
+    @Autowired
+    PersonsAvailabilitiesApiController(AvailabilityService availabilityService, PersonService personService,
+                                       DepartmentService departmentService) {
+        this.availabilityService = availabilityService;
+        this.personService = personService;
+        this.departmentService = departmentService;
+    }
+
+    @Operation(
+        deprecated = true,
+        summary = "Get all availabilities for a certain period and many persons",
+        description = "Get all availabilities for a certain period of all members of a department or of the given persons. "
+            + "Either a department or persons must be given. Maximum allowed period per request is one month. "
+            + "The availabilities of a person without a working time in the period are empty."
+    )
+    @GetMapping(AVAILABILITIES)
+    @PreAuthorize(IS_OFFICE)
+    public PersonsAvailabilitiesDto personsAvailabilities(
+        @Parameter(description = "id of the department to get the availabilities of its members")
+        @RequestParam(value = "departmentId", required = false)
+            Integer departmentId,
+        @Parameter(description = "ids of the persons to get the availabilities for")
+        @RequestParam(value = "personIds", required = false)
+            List<Integer> personIds,
+        @Parameter(description = "start of interval to get availabilities from (inclusive)")
+        @RequestParam("from")
+        @DateTimeFormat(iso = ISO.DATE)
+            LocalDate startDate,
+        @Parameter(description = "end of interval to get availabilities from (inclusive)")
+        @RequestParam("to")
+        @DateTimeFormat(iso = ISO.DATE)
+            LocalDate endDate) {
+
+        if (startDate.isAfter(endDate)) {
+            throw new ResponseStatusException(BAD_REQUEST, "Start date " + startDate + " must not be after end date " + endDate);
+        }
+
+        if (endDate.isAfter(startDate.plusMonths(1))) {
+            throw new ResponseStatusException(BAD_REQUEST, "Period from " + startDate + " to " + endDate + " must not be longer than one month");
+        }
+
+        final List<Person> persons = getPersons(departmentId, personIds);
+
+        // computed completely before anything is written, so that a failure results in an error response
+        return new PersonsAvailabilitiesDto(availabilityService.getAvailabilitiesOfPersons(startDate, endDate, persons));
+    }
+
+    private List<Person> getPersons(Integer departmentId, List<Integer> personIds) {
+
+        if ((departmentId == null) == (personIds == null)) {
+            throw new ResponseStatusException(BAD_REQUEST, "Either a department id or person ids must be given");
+        }
+
+        if (departmentId != null) {
+            return departmentService.getDepartmentById(departmentId)
+                .map(Department::getMembers)
+                .orElseThrow(() -> new ResponseStatusException(BAD_REQUEST, "No department found for id = " + departmentId));
+        }
+
+        final Map<Integer, Person> personsById = personService.getPersonsByIds(personIds).stream()
+            .collect(toMap(Person::getId, identity()));
+
+        for (Integer personId : personIds) {
+            if (!personsById.containsKey(personId)) {
+                throw new ResponseStatusException(BAD_REQUEST, "No person found for id = " + personId);
+            }
+        }
+
+        return personIds.stream()
+            .distinct()
+            .map(personsById::get)
+            .collect(toList());
+    }
+}
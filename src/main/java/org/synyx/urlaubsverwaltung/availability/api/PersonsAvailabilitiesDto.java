@@ -0,0 +1,17 @@
+package org.synyx.urlaubsverwaltung.availability.api;
+
+import java.util.List;
+
+@Deprecated(forRemoval = true, since = "4.4.0")
+class PersonsAvailabilitiesDto {
+
+    private final List<AvailabilityListDto> personsAvailabilities;
+
+    PersonsAvailabilitiesDto(List<AvailabilityListDto> personsAvailabilities) {
+        this.personsAvailabilities = personsAvailabilities;
+    }
+
+    public List<AvailabilityListDto> getPersonsAvailabilities() {
+        return personsAvailabilities;
+    }
+}
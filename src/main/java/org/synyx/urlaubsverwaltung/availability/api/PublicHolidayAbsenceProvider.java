@@ -5,11 +5,15 @@ import org.springframework.stereotype.Service;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.publicholiday.PublicHolidaysService;
 import org.synyx.urlaubsverwaltung.workingtime.FederalState;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTime;
 import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeService;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeTimeline;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.synyx.urlaubsverwaltung.period.DayLength.FULL;
@@ -48,6 +52,39 @@ class PublicHolidayAbsenceProvider extends AbstractTimedAbsenceProvider {
         return knownAbsences;
     }
 
+    @Override
+    PeriodAbsences loadAbsences(Person person, LocalDate startDate, LocalDate endDate) {
+        return loadAbsences(workingTimeService.getTimelineByPerson(person), startDate, endDate);
+    }
+
+    @Override
+    Map<Person, PeriodAbsences> loadAbsences(List<Person> persons, LocalDate startDate, LocalDate endDate) {
+
+        final Map<Person, PeriodAbsences> holidayAbsencesByPerson = new HashMap<>();
+        workingTimeService.getTimelinesByPersons(persons).forEach((person, workingTimeTimeline) ->
+            holidayAbsencesByPerson.put(person, loadAbsences(workingTimeTimeline, startDate, endDate)));
+
+        return holidayAbsencesByPerson;
+    }
+
+    private PeriodAbsences loadAbsences(WorkingTimeTimeline workingTimeTimeline, LocalDate startDate, LocalDate endDate) {
+
+        final PeriodAbsences holidayAbsences = new PeriodAbsences(startDate, endDate);
+
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            final FederalState federalState = workingTimeTimeline.getWorkingTime(date)
+                .map(WorkingTime::getFederalState)
+                .orElseGet(workingTimeService::getSystemDefaultFederalState);
+
+            final Optional<TimedAbsence> holidayAbsence = checkForHolidays(date, federalState);
+            if (holidayAbsence.isPresent()) {
+                holidayAbsences.addAbsence(date, holidayAbsence.get());
+            }
+        }
+
+        return holidayAbsences;
+    }
+
     @Override
     boolean isLastPriorityProvider() {
 
@@ -55,9 +92,12 @@ class PublicHolidayAbsenceProvider extends AbstractTimedAbsenceProvider {
     }
 
     private Optional<TimedAbsence> checkForHolidays(LocalDate currentDay, Person person) {
+        return checkForHolidays(currentDay, getFederalState(currentDay, person));
+    }
+
+    private Optional<TimedAbsence> checkForHolidays(LocalDate currentDay, FederalState federalState) {
 
-        BigDecimal expectedWorkingDuration = publicHolidaysService.getWorkingDurationOfDate(currentDay,
-            getFederalState(currentDay, person));
+        BigDecimal expectedWorkingDuration = publicHolidaysService.getWorkingDurationOfDate(currentDay, federalState);
 
         boolean fullDayPublicHoliday = expectedWorkingDuration.compareTo(ZERO.getDuration()) == 0;
         boolean halfDayPublicHoliday = expectedWorkingDuration.compareTo(NOON.getDuration()) == 0;
@@ -8,9 +8,15 @@ import org.synyx.urlaubsverwaltung.sicknote.SickNoteService;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.toList;
+import static org.synyx.urlaubsverwaltung.sicknote.SickNoteStatus.ACTIVE;
+
 @Deprecated(forRemoval = true, since = "4.4.0")
 @Service
 class SickDayAbsenceProvider extends AbstractTimedAbsenceProvider {
@@ -41,6 +47,39 @@ class SickDayAbsenceProvider extends AbstractTimedAbsenceProvider {
         return new TimedAbsenceSpans(knownAbsencesList);
     }
 
+    @Override
+    PeriodAbsences loadAbsences(Person person, LocalDate startDate, LocalDate endDate) {
+
+        final PeriodAbsences sickDayAbsences = new PeriodAbsences(startDate, endDate);
+
+        for (SickNote sickNote : sickNoteService.getByPersonAndPeriod(person, startDate, endDate)) {
+            if (sickNote != null && sickNote.isActive()) {
+                sickDayAbsences.addAbsence(sickNote.getStartDate(), sickNote.getEndDate(), sickNote.getDayLength());
+            }
+        }
+
+        return sickDayAbsences;
+    }
+
+    @Override
+    Map<Person, PeriodAbsences> loadAbsences(List<Person> persons, LocalDate startDate, LocalDate endDate) {
+
+        final Map<Person, PeriodAbsences> sickDayAbsencesByPerson = new HashMap<>();
+
+        // sorted like the sick notes of a single person, so that the absences of a day are in the same order
+        final List<SickNote> sickNotes = sickNoteService.getForStatesAndPerson(List.of(ACTIVE), persons, startDate, endDate)
+            .stream()
+            .sorted(comparing(SickNote::getStartDate))
+            .collect(toList());
+
+        for (SickNote sickNote : sickNotes) {
+            sickDayAbsencesByPerson.computeIfAbsent(sickNote.getPerson(), person -> new PeriodAbsences(startDate, endDate))
+                .addAbsence(sickNote.getStartDate(), sickNote.getEndDate(), sickNote.getDayLength());
+        }
+
+        return sickDayAbsencesByPerson;
+    }
+
     @Override
     boolean isLastPriorityProvider() {
 
@@ -3,14 +3,18 @@ package org.synyx.urlaubsverwaltung.availability.api;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.synyx.urlaubsverwaltung.application.domain.Application;
+import org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus;
 import org.synyx.urlaubsverwaltung.application.service.ApplicationService;
 import org.synyx.urlaubsverwaltung.person.Person;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import static java.util.Comparator.comparing;
 import static java.util.stream.Collectors.toList;
 import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.ALLOWED;
 import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.ALLOWED_CANCELLATION_REQUESTED;
@@ -22,6 +26,8 @@ import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.W
 @Service
 class VacationAbsenceProvider extends AbstractTimedAbsenceProvider {
 
+    private static final List<ApplicationStatus> RELEVANT_STATUSES = List.of(WAITING, TEMPORARY_ALLOWED, ALLOWED, ALLOWED_CANCELLATION_REQUESTED);
+
     private final ApplicationService applicationService;
 
     @Autowired
@@ -47,6 +53,37 @@ class VacationAbsenceProvider extends AbstractTimedAbsenceProvider {
         return new TimedAbsenceSpans(knownAbsencesList);
     }
 
+    @Override
+    PeriodAbsences loadAbsences(Person person, LocalDate startDate, LocalDate endDate) {
+
+        final PeriodAbsences vacationAbsences = new PeriodAbsences(startDate, endDate);
+
+        for (Application application : getRelevantApplications(startDate, endDate, person)) {
+            vacationAbsences.addAbsence(application.getStartDate(), application.getEndDate(), application.getDayLength());
+        }
+
+        return vacationAbsences;
+    }
+
+    @Override
+    Map<Person, PeriodAbsences> loadAbsences(List<Person> persons, LocalDate startDate, LocalDate endDate) {
+
+        final Map<Person, PeriodAbsences> vacationAbsencesByPerson = new HashMap<>();
+
+        // sorted like the applications of a single person, so that the absences of a day are in the same order
+        final List<Application> applications = applicationService.getForStatesAndPerson(RELEVANT_STATUSES, persons, startDate, endDate)
+            .stream()
+            .sorted(comparing(Application::getStartDate))
+            .collect(toList());
+
+        for (Application application : applications) {
+            vacationAbsencesByPerson.computeIfAbsent(application.getPerson(), person -> new PeriodAbsences(startDate, endDate))
+                .addAbsence(application.getStartDate(), application.getEndDate(), application.getDayLength());
+        }
+
+        return vacationAbsencesByPerson;
+    }
+
     @Override
     boolean isLastPriorityProvider() {
         return true;
@@ -54,13 +91,7 @@ class VacationAbsenceProvider extends AbstractTimedAbsenceProvider {
 
     private List<Optional<TimedAbsence>> checkForVacation(LocalDate date, Person person) {
 
-        final List<Application> applications = applicationService.getApplicationsForACertainPeriodAndPerson(date, date, person)
-            .stream()
-            .filter(application -> application.hasStatus(WAITING)
-                || application.hasStatus(TEMPORARY_ALLOWED)
-                || application.hasStatus(ALLOWED)
-                || application.hasStatus(ALLOWED_CANCELLATION_REQUESTED))
-            .collect(toList());
+        final List<Application> applications = getRelevantApplications(date, date, person);
 
         if (applications.isEmpty()) {
             return List.of();
@@ -73,4 +104,11 @@ class VacationAbsenceProvider extends AbstractTimedAbsenceProvider {
 
         return vacationTimeAbsence;
     }
+
+    private List<Application> getRelevantApplications(LocalDate startDate, LocalDate endDate, Person person) {
+        return applicationService.getApplicationsForACertainPeriodAndPerson(startDate, endDate, person)
+            .stream()
+            .filter(application -> RELEVANT_STATUSES.contains(application.getStatus()))
+            .collect(toList());
+    }
 }
@@ -0,0 +1,295 @@
+package org.synyx.urlaubsverwaltung.calendar;
+
+import net.fortuna.ical4j.model.component.VEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.synyx.urlaubsverwaltung.absence.Absence;
+import org.synyx.urlaubsverwaltung.absence.AbsenceTimeConfiguration;
+import org.synyx.urlaubsverwaltung.application.domain.Application;
+import org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus;
+import org.synyx.urlaubsverwaltung.application.service.ApplicationService;
+import org.synyx.urlaubsverwaltung.application.service.ApplicationUpdatedEvent;
+import org.synyx.urlaubsverwaltung.period.Period;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.person.PersonUpdatedEvent;
+import org.synyx.urlaubsverwaltung.settings.SettingsService;
+import org.synyx.urlaubsverwaltung.settings.SettingsUpdatedEvent;
+import org.synyx.urlaubsverwaltung.sicknote.SickNote;
+import org.synyx.urlaubsverwaltung.sicknote.SickNoteService;
+import org.synyx.urlaubsverwaltung.sicknote.SickNoteStatus;
+import org.synyx.urlaubsverwaltung.sicknote.SickNoteUpdatedEvent;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import static org.springframework.transaction.support.TransactionSynchronizationManager.isSynchronizationActive;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.registerSynchronization;
+import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.ALLOWED;
+import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.ALLOWED_CANCELLATION_REQUESTED;
+import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.TEMPORARY_ALLOWED;
+import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.WAITING;
+import static org.synyx.urlaubsverwaltung.sicknote.SickNoteStatus.ACTIVE;
+
+/**
+ * The events of the company calendar, i.e. of all open applications for leave and active sick notes.
+ *
+ * <p>The events are loaded once a day and kept up to date with the single application for leave or sick note that
+ * changed in between, so serving the company calendar does not load all absences of the company on every request. The
+ * name and the email address of a person are part of the events, therefore all events are dropped as soon as one of
+ * them changes for a person with an event.</p>
+ *
+ * <p>The events are held in memory of each application instance and are only updated with the changes made through
+ * this instance. Running several instances, the company calendars of an instance miss the absences changed through
+ * another instance until the daily reload, which also drops the events that ended before the longest period of all
+ * company calendars.</p>
+ */
+@Component
+class CompanyCalendarEvents {
+
+    private static final List<ApplicationStatus> APPLICATION_STATUSES = List.of(ALLOWED, WAITING, TEMPORARY_ALLOWED, ALLOWED_CANCELLATION_REQUESTED);
+    private static final List<SickNoteStatus> SICK_NOTE_STATUSES = List.of(ACTIVE);
+
+    private final ApplicationService applicationService;
+    private final SickNoteService sickNoteService;
+    private final SettingsService settingsService;
+    private final CompanyCalendarRepository companyCalendarRepository;
+    private final ICalService iCalService;
+    private final Clock clock;
+
+    private final Map<Integer, Event> applicationEvents = new TreeMap<>();
+    private final Map<Integer, Event> sickNoteEvents = new TreeMap<>();
+
+    /**
+     * The events ending at or after this date are loaded, {@code null} as long as no events are loaded.
+     */
+    private LocalDate loadedSince;
+    private LocalDate loadedAt;
+
+    @Autowired
+    CompanyCalendarEvents(ApplicationService applicationService, SickNoteService sickNoteService, SettingsService settingsService,
+                          CompanyCalendarRepository companyCalendarRepository, ICalService iCalService, Clock clock) {
+        this.applicationService = applicationService;
+        this.sickNoteService = sickNoteService;
+        this.settingsService = settingsService;
+        this.companyCalendarRepository = companyCalendarRepository;
+        this.iCalService = iCalService;
+        this.clock = clock;
+    }
+
+    /**
+     * @param since the date the company calendar starts at
+     * @return the events of all open absences ending at or after the given date
+     */
+    synchronized List<VEvent> getEventsSince(LocalDate since) {
+
+        if (loadedSince != null && !LocalDate.now(clock).equals(loadedAt)) {
+            drop();
+        }
+
+        if (loadedSince == null || since.isBefore(loadedSince)) {
+            load(since);
+        }
+
+        final List<VEvent> events = new ArrayList<>();
+        addEventsSince(applicationEvents, since, events);
+        addEventsSince(sickNoteEvents, since, events);
+
+        return events;
+    }
+
+    @EventListener
+    public void handleApplicationUpdated(ApplicationUpdatedEvent event) {
+        final Application application = event.getApplication();
+        final boolean open = APPLICATION_STATUSES.contains(application.getStatus());
+        afterCommit(() -> update(applicationEvents, application.getId(), open, application.getPerson(), application.getPeriod()));
+    }
+
+    @EventListener
+    public void handleSickNoteUpdated(SickNoteUpdatedEvent event) {
+        final SickNote sickNote = event.getSickNote();
+        final boolean open = SICK_NOTE_STATUSES.contains(sickNote.getStatus());
+        afterCommit(() -> update(sickNoteEvents, sickNote.getId(), open, sickNote.getPerson(), sickNote.getPeriod()));
+    }
+
+    @EventListener
+    public void handlePersonUpdated(PersonUpdatedEvent event) {
+        final Person person = event.getPerson();
+        final Integer personId = person.getId();
+        final String niceName = person.getNiceName();
+        final String email = person.getEmail();
+        afterCommit(() -> dropIfPersonChanged(personId, niceName, email));
+    }
+
+    /**
+     * The times of the events are part of the settings, therefore all events are dropped on a settings update and
+     * loaded again on the next request.
+     *
+     * @param event the settings update
+     */
+    @EventListener
+    public synchronized void handleSettingsUpdated(SettingsUpdatedEvent event) {
+        drop();
+    }
+
+    private synchronized void dropIfPersonChanged(Integer personId, String niceName, String email) {
+
+        if (loadedSince == null || personId == null) {
+            return;
+        }
+
+        if (hasChangedPerson(applicationEvents, personId, niceName, email) || hasChangedPerson(sickNoteEvents, personId, niceName, email)) {
+            drop();
+        }
+    }
+
+    private void drop() {
+        applicationEvents.clear();
+        sickNoteEvents.clear();
+        loadedSince = null;
+    }
+
+    private synchronized void update(Map<Integer, Event> events, Integer id, boolean open, Person person, Period period) {
+
+        if (loadedSince == null || id == null) {
+            return;
+        }
+
+        final Optional<Event> event = open && !period.getEndDate().isBefore(loadedSince)
+            ? toEvent(person, period, absenceTimeConfiguration())
+            : Optional.empty();
+
+        if (event.isPresent()) {
+            events.put(id, event.get());
+        } else {
+            events.remove(id);
+        }
+    }
+
+    private void load(LocalDate since) {
+
+        final LocalDate today = LocalDate.now(clock);
+        final LocalDate startOfLongestCalendarPeriod = startOfLongestCalendarPeriod(today);
+        final LocalDate loadSince = since.isBefore(startOfLongestCalendarPeriod) ? since : startOfLongestCalendarPeriod;
+        final AbsenceTimeConfiguration absenceTimeConfiguration = absenceTimeConfiguration();
+
+        applicationEvents.clear();
+        for (Application application : applicationService.getForStatesSince(APPLICATION_STATUSES, loadSince)) {
+            toEvent(application.getPerson(), application.getPeriod(), absenceTimeConfiguration)
+                .ifPresent(event -> applicationEvents.put(application.getId(), event));
+        }
+
+        sickNoteEvents.clear();
+        for (SickNote sickNote : sickNoteService.getForStatesSince(SICK_NOTE_STATUSES, loadSince)) {
+            toEvent(sickNote.getPerson(), sickNote.getPeriod(), absenceTimeConfiguration)
+                .ifPresent(event -> sickNoteEvents.put(sickNote.getId(), event));
+        }
+
+        loadedSince = loadSince;
+        loadedAt = today;
+    }
+
+    /**
+     * @return the date the company calendar with the longest period starts at, today if there is no company calendar
+     */
+    private LocalDate startOfLongestCalendarPeriod(LocalDate today) {
+
+        LocalDate start = today;
+        for (CompanyCalendar companyCalendar : companyCalendarRepository.findAll()) {
+            final LocalDate calendarStart = today.minus(companyCalendar.getCalendarPeriod());
+            if (calendarStart.isBefore(start)) {
+                start = calendarStart;
+            }
+        }
+
+        return start;
+    }
+
+    private Optional<Event> toEvent(Person person, Period period, AbsenceTimeConfiguration absenceTimeConfiguration) {
+        final Absence absence = new Absence(person, period, absenceTimeConfiguration);
+        return iCalService.getPublishedEvent(absence).map(vEvent -> new Event(person, period.getEndDate(), vEvent));
+    }
+
+    private AbsenceTimeConfiguration absenceTimeConfiguration() {
+        return new AbsenceTimeConfiguration(settingsService.getSettings().getTimeSettings());
+    }
+
+    private static boolean hasChangedPerson(Map<Integer, Event> events, Integer personId, String niceName, String email) {
+        for (Event event : events.values()) {
+            if (personId.equals(event.getPersonId()) && !(Objects.equals(niceName, event.getNiceName()) && Objects.equals(email, event.getEmail()))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static void addEventsSince(Map<Integer, Event> events, LocalDate since, List<VEvent> eventsSince) {
+        for (Event event : events.values()) {
+            if (!event.getEndDate().isBefore(since)) {
+                eventsSince.add(event.getVEvent());
+            }
+        }
+    }
+
+    /**
+     * Runs the given update after the surrounding transaction committed, so that a rolled back change is not
+     * published. Without a transaction the update is run immediately.
+     */
+    private static void afterCommit(Runnable update) {
+        if (isSynchronizationActive()) {
+            registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    private static final class Event {
+
+        private final Integer personId;
+        private final String niceName;
+        private final String email;
+        private final LocalDate endDate;
+        private final VEvent vEvent;
+
+        private Event(Person person, LocalDate endDate, VEvent vEvent) {
+            this.personId = person.getId();
+            this.niceName = person.getNiceName();
+            this.email = person.getEmail();
+            this.endDate = endDate;
+            this.vEvent = vEvent;
+        }
+
+        Integer getPersonId() {
+            return personId;
+        }
+
+        String getNiceName() {
+            return niceName;
+        }
+
+        String getEmail() {
+            return email;
+        }
+
+        LocalDate getEndDate() {
+            return endDate;
+        }
+
+        VEvent getVEvent() {
+            return vEvent;
+        }
+    }
+}
@@ -1,17 +1,15 @@
 package org.synyx.urlaubsverwaltung.calendar;
 
+import net.fortuna.ical4j.model.component.VEvent;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.synyx.urlaubsverwaltung.absence.Absence;
-import org.synyx.urlaubsverwaltung.absence.AbsenceService;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonService;
 import org.synyx.urlaubsverwaltung.person.Role;
 
-import java.io.File;
 import java.time.Clock;
 import java.time.LocalDate;
 import java.time.Period;
@@ -24,18 +22,21 @@ import java.util.Optional;
 @Service
 class CompanyCalendarService {
 
-    private final AbsenceService absenceService;
+    private final CompanyCalendarEvents companyCalendarEvents;
     private final CompanyCalendarRepository companyCalendarRepository;
     private final ICalService iCalService;
+    private final ICalFeedCache iCalFeedCache;
     private final PersonService personService;
     private final MessageSource messageSource;
     private final Clock clock;
 
     @Autowired
-    CompanyCalendarService(AbsenceService absenceService, CompanyCalendarRepository companyCalendarRepository, ICalService iCalService, PersonService personService, MessageSource messageSource, Clock clock) {
-        this.absenceService = absenceService;
+    CompanyCalendarService(CompanyCalendarEvents companyCalendarEvents, CompanyCalendarRepository companyCalendarRepository, ICalService iCalService,
+                           ICalFeedCache iCalFeedCache, PersonService personService, MessageSource messageSource, Clock clock) {
+        this.companyCalendarEvents = companyCalendarEvents;
         this.companyCalendarRepository = companyCalendarRepository;
         this.iCalService = iCalService;
+        this.iCalFeedCache = iCalFeedCache;
         this.personService = personService;
         this.messageSource = messageSource;
         this.clock = clock;
@@ -61,7 +62,7 @@ class CompanyCalendarService {
         return companyCalendarRepository.findByPerson(person);
     }
 
-    File getCalendarForAll(Integer personId, String secret, Locale locale) {
+    ICalFeed getCalendarForAll(Integer personId, String secret, Locale locale) {
 
         if (StringUtils.isBlank(secret)) {
             throw new IllegalArgumentException("secret must not be empty.");
@@ -77,9 +78,11 @@ class CompanyCalendarService {
 
         final CompanyCalendar companyCalendar = maybeCompanyCalendar.get();
         final LocalDate sinceDate = LocalDate.now(clock).minus(companyCalendar.getCalendarPeriod());
-        final List<Absence> absences = absenceService.getOpenAbsencesSince(sinceDate);
 
-        return iCalService.getCalendar(title, absences);
+        return iCalFeedCache.get("company", List.of(), title, sinceDate, () -> {
+            final List<VEvent> events = companyCalendarEvents.getEventsSince(sinceDate);
+            return iCalService.getCalendarFeedOfEvents(title, events);
+        });
     }
 
     @Transactional
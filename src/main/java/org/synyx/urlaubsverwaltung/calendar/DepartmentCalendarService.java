@@ -12,10 +12,10 @@ import org.synyx.urlaubsverwaltung.department.DepartmentService;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonService;
 
-import java.io.File;
 import java.time.Clock;
 import java.time.LocalDate;
 import java.time.Period;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
@@ -29,18 +29,21 @@ class DepartmentCalendarService {
     private final PersonService personService;
     private final DepartmentCalendarRepository departmentCalendarRepository;
     private final ICalService iCalService;
+    private final ICalFeedCache iCalFeedCache;
     private final MessageSource messageSource;
     private final Clock clock;
 
     @Autowired
     public DepartmentCalendarService(AbsenceService absenceService, DepartmentService departmentService,
-                                     PersonService personService, DepartmentCalendarRepository departmentCalendarRepository, ICalService iCalService, MessageSource messageSource, Clock clock) {
+                                     PersonService personService, DepartmentCalendarRepository departmentCalendarRepository, ICalService iCalService,
+                                     ICalFeedCache iCalFeedCache, MessageSource messageSource, Clock clock) {
 
         this.absenceService = absenceService;
         this.departmentService = departmentService;
         this.personService = personService;
         this.departmentCalendarRepository = departmentCalendarRepository;
         this.iCalService = iCalService;
+        this.iCalFeedCache = iCalFeedCache;
         this.messageSource = messageSource;
         this.clock = clock;
     }
@@ -78,7 +81,7 @@ class DepartmentCalendarService {
         return departmentCalendarRepository.findByDepartmentIdAndPerson(departmentId, person);
     }
 
-    File getCalendarForDepartment(Integer departmentId, Integer personId, String secret, Locale locale) {
+    ICalFeed getCalendarForDepartment(Integer departmentId, Integer personId, String secret, Locale locale) {
 
         if (StringUtils.isBlank(secret)) {
             throw new IllegalArgumentException("secret must not be empty.");
@@ -99,9 +102,16 @@ class DepartmentCalendarService {
         final String title = messageSource.getMessage("calendar.department.title", List.of(department.getName()).toArray(), locale);
 
         final LocalDate sinceDate = LocalDate.now(clock).minus(departmentCalendar.getCalendarPeriod());
-        final List<Absence> absences = absenceService.getOpenAbsencesSince(department.getMembers(), sinceDate);
 
-        return iCalService.getCalendar(title, absences);
+        // the members are part of the scope, so that the feed is rendered again when the members change
+        final List<Integer> scope = new ArrayList<>();
+        scope.add(departmentId);
+        department.getMembers().forEach(member -> scope.add(member.getId()));
+
+        return iCalFeedCache.get("department", scope, title, sinceDate, () -> {
+            final List<Absence> absences = absenceService.getOpenAbsencesSince(department.getMembers(), sinceDate);
+            return iCalService.getCalendarFeed(title, absences);
+        });
     }
 
     @Transactional
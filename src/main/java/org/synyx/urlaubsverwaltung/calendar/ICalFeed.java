@@ -0,0 +1,35 @@
+package org.synyx.urlaubsverwaltung.calendar;
+
+import org.apache.commons.codec.digest.DigestUtils;
+
+/**
+ * A rendered iCal calendar feed together with the entity tag of its content.
+ */
+final class ICalFeed {
+
+    private final byte[] content;
+    private final String eTag;
+
+    private ICalFeed(byte[] content, String eTag) {
+        this.content = content;
+        this.eTag = eTag;
+    }
+
+    static ICalFeed of(byte[] content) {
+        return new ICalFeed(content, '"' + DigestUtils.md5Hex(content) + '"');
+    }
+
+    /**
+     * @return the UTF-8 encoded calendar, must not be modified
+     */
+    byte[] getContent() {
+        return content;
+    }
+
+    /**
+     * @return the quoted strong entity tag of the content
+     */
+    String getETag() {
+        return eTag;
+    }
+}
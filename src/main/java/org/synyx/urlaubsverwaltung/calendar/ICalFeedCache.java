@@ -0,0 +1,144 @@
+package org.synyx.urlaubsverwaltung.calendar;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.synyx.urlaubsverwaltung.application.service.ApplicationUpdatedEvent;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.person.PersonUpdatedEvent;
+import org.synyx.urlaubsverwaltung.settings.SettingsUpdatedEvent;
+import org.synyx.urlaubsverwaltung.sicknote.SickNoteUpdatedEvent;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.springframework.transaction.support.TransactionSynchronizationManager.isSynchronizationActive;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.registerSynchronization;
+
+/**
+ * Rendered {@link ICalFeed}s, so that polling calendar clients get the same feed without loading the absences and
+ * rendering the calendar again.
+ *
+ * <p>All feeds are dropped as soon as an application for leave or a sick note changes. A feed is cached per calendar,
+ * scope, title and the date the feed starts at, therefore a feed is rendered again when the title of the calendar
+ * changes (e.g. another locale or a renamed person) and at the latest on the next day. The events of a feed contain
+ * the names and email addresses of the persons, therefore all feeds are dropped as well when the name or the email
+ * address of a person differs from the one known from the last update of the person. As the previous name is not
+ * known for a person that has not been updated since the start of the application, the first update of every person
+ * drops all feeds, too.</p>
+ *
+ * <p>The feeds are held in memory of each application instance and are only dropped on the changes made through this
+ * instance. Running several instances, an instance serves outdated feeds until one of its own changes or the next
+ * day.</p>
+ */
+@Component
+class ICalFeedCache {
+
+    /**
+     * Upper bound of cached {@link ICalFeed}s, every subscription of a person or department calendar has its own feed.
+     */
+    private static final int MAX_CACHED_FEEDS = 1024;
+
+    private final Map<List<Object>, ICalFeed> feeds = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * The nice name and the email address of every person by id as of the last update of the person.
+     */
+    private final Map<Integer, List<String>> personDetails = new ConcurrentHashMap<>();
+
+    /**
+     * @param calendar the kind of the calendar, e.g. person, department or company
+     * @param scope    the ids the absences of the calendar are selected by, e.g. the members of a department
+     * @param title    of the calendar
+     * @param since    the date the calendar starts at
+     * @param renderer renders the feed if there is no cached one
+     * @return the cached or the newly rendered feed
+     */
+    ICalFeed get(String calendar, List<Integer> scope, String title, LocalDate since, Supplier<ICalFeed> renderer) {
+
+        final List<Object> key = List.of(calendar, scope, title, since);
+
+        final ICalFeed cachedFeed = feeds.get(key);
+        if (cachedFeed != null) {
+            return cachedFeed;
+        }
+
+        final long renderedGeneration = generation.get();
+        final ICalFeed feed = renderer.get();
+
+        if (feeds.size() >= MAX_CACHED_FEEDS) {
+            feeds.clear();
+        }
+
+        feeds.put(key, feed);
+
+        // the feed may have been rendered from absences that changed meanwhile
+        if (generation.get() != renderedGeneration) {
+            feeds.remove(key, feed);
+        }
+
+        return feed;
+    }
+
+    @EventListener
+    public void handleApplicationUpdated(ApplicationUpdatedEvent event) {
+        invalidate();
+    }
+
+    @EventListener
+    public void handleSickNoteUpdated(SickNoteUpdatedEvent event) {
+        invalidate();
+    }
+
+    @EventListener
+    public void handlePersonUpdated(PersonUpdatedEvent event) {
+
+        final Person person = event.getPerson();
+        if (person.getId() == null) {
+            return;
+        }
+
+        final List<String> details = Arrays.asList(person.getNiceName(), person.getEmail());
+        if (!details.equals(personDetails.put(person.getId(), details))) {
+            invalidate();
+        }
+    }
+
+    /**
+     * The times of the absences are part of the settings, therefore all feeds are dropped on a settings update.
+     *
+     * @param event the settings update
+     */
+    @EventListener
+    public void handleSettingsUpdated(SettingsUpdatedEvent event) {
+        invalidate();
+    }
+
+    /**
+     * Drops all feeds immediately and again after the surrounding transaction completed, so that a feed rendered
+     * concurrently from the not yet committed state is not kept.
+     */
+    private void invalidate() {
+        clear();
+
+        if (isSynchronizationActive()) {
+            registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    clear();
+                }
+            });
+        }
+    }
+
+    private void clear() {
+        generation.incrementAndGet();
+        feeds.clear();
+    }
+}
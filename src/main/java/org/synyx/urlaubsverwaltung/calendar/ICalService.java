@@ -21,9 +21,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.synyx.urlaubsverwaltung.absence.Absence;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.net.URI;
 import java.text.ParseException;
 import java.time.ZonedDateTime;
@@ -32,6 +35,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static java.lang.invoke.MethodHandles.lookup;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Date.from;
 import static java.util.stream.Collectors.toList;
 import static net.fortuna.ical4j.model.parameter.Role.REQ_PARTICIPANT;
@@ -56,19 +60,59 @@ public class ICalService {
         this.calendarProperties = calendarProperties;
     }
 
-    public File getCalendar(String title, List<Absence> absences) {
-        return getCalendar(title, absences, PUBLISHED);
+    /**
+     * Renders the published calendar of the given absences in memory, e.g. to serve it as a feed.
+     *
+     * @param title    of the calendar
+     * @param absences to publish
+     * @return the rendered calendar
+     */
+    ICalFeed getCalendarFeed(String title, List<Absence> absences) {
+        return getCalendarFeedOfEvents(title, toVEvents(absences, PUBLISHED));
+    }
+
+    /**
+     * Renders the published calendar of the given events in memory, e.g. to serve events that have been created
+     * with {@link #getPublishedEvent(Absence)} before.
+     *
+     * @param title  of the calendar
+     * @param events to publish
+     * @return the rendered calendar
+     */
+    ICalFeed getCalendarFeedOfEvents(String title, List<VEvent> events) {
+
+        final Calendar calendar = generateCalendar(title, PUBLISHED);
+        calendar.getComponents().addAll(events);
+
+        final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        try (final Writer calendarWriter = new OutputStreamWriter(content, UTF_8)) {
+            final CalendarOutputter calendarOutputter = new CalendarOutputter();
+            calendarOutputter.output(calendar, calendarWriter);
+        } catch (ValidationException | IOException e) {
+            throw new CalendarException("iCal calendar could not be rendered", e);
+        }
+
+        return ICalFeed.of(content.toByteArray());
+    }
+
+    /**
+     * @param absence to publish
+     * @return the event of the absence for a published calendar, empty if no event could be created for the absence
+     */
+    Optional<VEvent> getPublishedEvent(Absence absence) {
+        return toVEvent(absence, PUBLISHED);
     }
 
     public File getCalendar(String title, List<Absence> absences, ICalType method) {
 
         final File file = generateCalenderFile(title);
-        final Calendar calendar = generateCalendar(title, absences, method);
+        final Calendar calendar = generateCalendar(title, method);
+        calendar.getComponents().addAll(toVEvents(absences, method));
 
         return writeCalenderIntoFile(calendar, file);
     }
 
-    private Calendar generateCalendar(String title, List<Absence> absences, ICalType method) {
+    private Calendar generateCalendar(String title, ICalType method) {
         final Calendar calendar = new Calendar();
         calendar.getProperties().add(VERSION_2_0);
         calendar.getProperties().add(new ProdId("-//Urlaubsverwaltung//iCal4j 1.0//DE"));
@@ -81,14 +125,15 @@ public class ICalService {
             calendar.getProperties().add(CANCEL);
         }
 
-        final List<VEvent> absencesVEvents = absences.stream()
+        return calendar;
+    }
+
+    private List<VEvent> toVEvents(List<Absence> absences, ICalType method) {
+        return absences.stream()
             .map(absence -> this.toVEvent(absence, method))
             .filter(Optional::isPresent)
             .map(Optional::get)
             .collect(toList());
-        calendar.getComponents().addAll(absencesVEvents);
-
-        return calendar;
     }
 
     private Optional<VEvent> toVEvent(Absence absence, ICalType method) {
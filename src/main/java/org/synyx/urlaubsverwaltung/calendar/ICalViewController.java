@@ -7,13 +7,11 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
 import javax.servlet.http.HttpServletResponse;
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
 import java.util.Locale;
 
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
@@ -38,10 +36,9 @@ public class ICalViewController {
     }
 
     @GetMapping("/persons/{personId}/calendar")
-    @ResponseBody
-    public String getCalendarForPerson(Locale locale, HttpServletResponse response, @PathVariable Integer personId, @RequestParam String secret) {
+    public void getCalendarForPerson(Locale locale, WebRequest request, HttpServletResponse response, @PathVariable Integer personId, @RequestParam String secret) throws IOException {
 
-        final File iCal;
+        final ICalFeed iCal;
         try {
             iCal = personCalendarService.getCalendarForPerson(personId, secret, locale);
         } catch (IllegalArgumentException e) {
@@ -50,16 +47,13 @@ public class ICalViewController {
             throw new ResponseStatusException(NO_CONTENT);
         }
 
-        setContentTypeAndHeaders(response);
-
-        return fileToString(iCal);
+        writeCalendar(iCal, request, response);
     }
 
     @GetMapping("/departments/{departmentId}/persons/{personId}/calendar")
-    @ResponseBody
-    public String getCalendarForDepartment(Locale locale, HttpServletResponse response, @PathVariable Integer departmentId, @PathVariable Integer personId, @RequestParam String secret) {
+    public void getCalendarForDepartment(Locale locale, WebRequest request, HttpServletResponse response, @PathVariable Integer departmentId, @PathVariable Integer personId, @RequestParam String secret) throws IOException {
 
-        final File iCal;
+        final ICalFeed iCal;
         try {
             iCal = departmentCalendarService.getCalendarForDepartment(departmentId, personId, secret, locale);
         } catch (IllegalArgumentException e) {
@@ -68,16 +62,13 @@ public class ICalViewController {
             throw new ResponseStatusException(NO_CONTENT);
         }
 
-        setContentTypeAndHeaders(response);
-
-        return fileToString(iCal);
+        writeCalendar(iCal, request, response);
     }
 
     @GetMapping("/company/persons/{personId}/calendar")
-    @ResponseBody
-    public String getCalendarForCompany(Locale locale, HttpServletResponse response, @PathVariable Integer personId, @RequestParam String secret) {
+    public void getCalendarForCompany(Locale locale, WebRequest request, HttpServletResponse response, @PathVariable Integer personId, @RequestParam String secret) throws IOException {
 
-        final File iCal;
+        final ICalFeed iCal;
         try {
             iCal = companyCalendarService.getCalendarForAll(personId, secret, locale);
         } catch (IllegalArgumentException e) {
@@ -86,17 +77,21 @@ public class ICalViewController {
             throw new ResponseStatusException(NO_CONTENT);
         }
 
-        setContentTypeAndHeaders(response);
-
-        return fileToString(iCal);
+        writeCalendar(iCal, request, response);
     }
 
-    private String fileToString(File file) {
-        try {
-            return Files.readString(file.toPath());
-        } catch (IOException e) {
-            throw new ResponseStatusException(NO_CONTENT);
+    /**
+     * Writes the calendar to the response, or only answers with 304 if the client already has the current calendar.
+     */
+    private void writeCalendar(ICalFeed iCal, WebRequest request, HttpServletResponse response) throws IOException {
+
+        if (request.checkNotModified(iCal.getETag())) {
+            return;
         }
+
+        setContentTypeAndHeaders(response);
+        response.setContentLength(iCal.getContent().length);
+        response.getOutputStream().write(iCal.getContent());
     }
 
     private void setContentTypeAndHeaders(HttpServletResponse response) {
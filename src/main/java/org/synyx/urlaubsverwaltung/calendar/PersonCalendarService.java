@@ -10,7 +10,6 @@ import org.synyx.urlaubsverwaltung.absence.AbsenceService;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonService;
 
-import java.io.File;
 import java.time.Clock;
 import java.time.LocalDate;
 import java.time.Period;
@@ -26,17 +25,20 @@ class PersonCalendarService {
     private final PersonService personService;
     private final PersonCalendarRepository personCalendarRepository;
     private final ICalService iCalService;
+    private final ICalFeedCache iCalFeedCache;
     private final MessageSource messageSource;
     private final Clock clock;
 
     @Autowired
     PersonCalendarService(AbsenceService absenceService, PersonService personService,
-                          PersonCalendarRepository personCalendarRepository, ICalService iCalService, MessageSource messageSource, Clock clock) {
+                          PersonCalendarRepository personCalendarRepository, ICalService iCalService, ICalFeedCache iCalFeedCache,
+                          MessageSource messageSource, Clock clock) {
 
         this.absenceService = absenceService;
         this.personService = personService;
         this.personCalendarRepository = personCalendarRepository;
         this.iCalService = iCalService;
+        this.iCalFeedCache = iCalFeedCache;
         this.messageSource = messageSource;
         this.clock = clock;
     }
@@ -61,7 +63,7 @@ class PersonCalendarService {
         return personCalendarRepository.findByPerson(person);
     }
 
-    File getCalendarForPerson(Integer personId, String secret, Locale locale) {
+    ICalFeed getCalendarForPerson(Integer personId, String secret, Locale locale) {
 
         if (StringUtils.isBlank(secret)) {
             throw new IllegalArgumentException("secret must not be empty.");
@@ -81,9 +83,11 @@ class PersonCalendarService {
         final String title = messageSource.getMessage("calendar.person.title", List.of(person.getNiceName()).toArray(), locale);
 
         final LocalDate sinceDate = LocalDate.now(clock).minus(personCalendar.getCalendarPeriod());
-        final List<Absence> absences = absenceService.getOpenAbsencesSince(List.of(person), sinceDate);
 
-        return iCalService.getCalendar(title, absences);
+        return iCalFeedCache.get("person", List.of(personId), title, sinceDate, () -> {
+            final List<Absence> absences = absenceService.getOpenAbsencesSince(List.of(person), sinceDate);
+            return iCalService.getCalendarFeed(title, absences);
+        });
     }
 
     @Transactional
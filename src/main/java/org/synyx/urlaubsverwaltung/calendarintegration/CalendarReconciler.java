@@ -0,0 +1,615 @@
+package org.synyx.urlaubsverwaltung.calendarintegration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.synyx.urlaubsverwaltung.absence.Absence;
+import org.synyx.urlaubsverwaltung.absence.AbsenceMapping;
+import org.synyx.urlaubsverwaltung.absence.AbsenceMappingService;
+import org.synyx.urlaubsverwaltung.absence.AbsenceTimeConfiguration;
+import org.synyx.urlaubsverwaltung.absence.DatedAbsenceMapping;
+import org.synyx.urlaubsverwaltung.application.domain.Application;
+import org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus;
+import org.synyx.urlaubsverwaltung.application.service.ApplicationService;
+import org.synyx.urlaubsverwaltung.calendarintegration.CalendarReconciliationReport.Difference;
+import org.synyx.urlaubsverwaltung.calendarintegration.CalendarReconciliationReport.DifferenceType;
+import org.synyx.urlaubsverwaltung.calendarintegration.providers.CalendarEvent;
+import org.synyx.urlaubsverwaltung.calendarintegration.providers.CalendarProvider;
+import org.synyx.urlaubsverwaltung.calendarintegration.providers.noop.NoopCalendarSyncProvider;
+import org.synyx.urlaubsverwaltung.settings.Settings;
+import org.synyx.urlaubsverwaltung.settings.SettingsService;
+import org.synyx.urlaubsverwaltung.sicknote.SickNote;
+import org.synyx.urlaubsverwaltung.sicknote.SickNoteService;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.synyx.urlaubsverwaltung.absence.AbsenceMappingType.SICKNOTE;
+import static org.synyx.urlaubsverwaltung.absence.AbsenceMappingType.VACATION;
+import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.ALLOWED;
+import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.ALLOWED_CANCELLATION_REQUESTED;
+import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.TEMPORARY_ALLOWED;
+import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.WAITING;
+import static org.synyx.urlaubsverwaltung.calendarintegration.CalendarReconciliationReport.DifferenceType.CHANGED;
+import static org.synyx.urlaubsverwaltung.calendarintegration.CalendarReconciliationReport.DifferenceType.MISSING;
+import static org.synyx.urlaubsverwaltung.calendarintegration.CalendarReconciliationReport.DifferenceType.OBSOLETE;
+import static org.synyx.urlaubsverwaltung.calendarintegration.CalendarReconciliationReport.DifferenceType.STALE_MAPPING;
+
+/**
+ * Reconciles the events of the calendar with the absences they are mapped to.
+ *
+ * <p>The absence mappings are paged through in the order of the start dates of their absences. Every page is cut into
+ * time windows of at most the configured span, the events of a time window are listed with one request and compared
+ * with the absences: missing events are added again, changed events are updated and events of absences that are no
+ * longer active are deleted, each kind of repair with one batch request. So the number of listed events depends on
+ * the span and the page size, not on the time between the first and the last absence of a page. A bounded number of
+ * time windows is reconciled in parallel, the absence mappings are only read and written in the calling thread.
+ * Absence mappings whose application for leave or sick note does not exist anymore are paged through by id before,
+ * their events are deleted without listing them.</p>
+ *
+ * <p>The start date and the id of the last reconciled absence mapping are saved after every round of pages, so that an
+ * interrupted reconciliation resumes with the next page. Absences with a pending {@link CalendarSyncOperation} are
+ * skipped, the operation will sync them anyway. Events of the calendar without an absence mapping are left alone.</p>
+ *
+ * <p>Only one instance of the application reconciles the calendar at a time: the reconciliation is claimed for the
+ * configured claim duration, which is renewed after every round of pages. A reconciliation of an instance that stops
+ * is resumed by the next instance after its claim expired. Dry runs are not claimed.</p>
+ */
+@Component
+public class CalendarReconciler implements DisposableBean {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    private static final String METRIC_RECONCILIATION = "calendar.sync.reconciliation";
+    private static final String METRIC_RECONCILIATION_DIFFERENCES = "calendar.sync.reconciliation.differences";
+
+    private static final List<ApplicationStatus> ACTIVE_APPLICATION_STATUSES = List.of(WAITING, TEMPORARY_ALLOWED, ALLOWED, ALLOWED_CANCELLATION_REQUESTED);
+
+    private final AbsenceMappingService absenceMappingService;
+    private final ApplicationService applicationService;
+    private final SickNoteService sickNoteService;
+    private final CalendarSyncOperationRepository calendarSyncOperationRepository;
+    private final CalendarReconciliationRepository calendarReconciliationRepository;
+    private final CalendarService calendarService;
+    private final SettingsService settingsService;
+    private final CalendarSyncProperties.Reconciliation reconciliationProperties;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private final ExecutorService workers;
+
+    private final Timer reconciliationTimer;
+
+    @Autowired
+    CalendarReconciler(AbsenceMappingService absenceMappingService, ApplicationService applicationService, SickNoteService sickNoteService,
+                       CalendarSyncOperationRepository calendarSyncOperationRepository,
+                       CalendarReconciliationRepository calendarReconciliationRepository, CalendarService calendarService,
+                       SettingsService settingsService, CalendarSyncProperties calendarSyncProperties, MeterRegistry meterRegistry,
+                       Clock clock) {
+        this.absenceMappingService = absenceMappingService;
+        this.applicationService = applicationService;
+        this.sickNoteService = sickNoteService;
+        this.calendarSyncOperationRepository = calendarSyncOperationRepository;
+        this.calendarReconciliationRepository = calendarReconciliationRepository;
+        this.calendarService = calendarService;
+        this.settingsService = settingsService;
+        this.reconciliationProperties = calendarSyncProperties.getReconciliation();
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("calendar-reconciliation-");
+        threadFactory.setDaemon(true);
+        this.workers = Executors.newFixedThreadPool(reconciliationProperties.getWorkers(), threadFactory);
+
+        this.reconciliationTimer = Timer.builder(METRIC_RECONCILIATION).register(meterRegistry);
+    }
+
+    /**
+     * Reconciles the calendar with all absence mappings, resuming an interrupted reconciliation. A dry run reconciles
+     * all absence mappings without repairing differences and without touching the state of an interrupted
+     * reconciliation.
+     *
+     * @param dryRun {@code true} to only report the differences
+     * @return the differences found
+     */
+    public synchronized CalendarReconciliationReport reconcile(boolean dryRun) {
+        return reconciliationTimer.record(() -> doReconcile(dryRun));
+    }
+
+    private CalendarReconciliationReport doReconcile(boolean dryRun) {
+
+        final CalendarReconciliationReport report = new CalendarReconciliationReport(dryRun);
+
+        final CalendarProvider calendarProvider = calendarService.getCalendarProvider();
+        if (calendarProvider instanceof NoopCalendarSyncProvider) {
+            LOG.info("No calendar provider configured, skipping calendar reconciliation");
+            return report;
+        }
+
+        final CalendarReconciliation reconciliation;
+        LocalDate lastStartDate = null;
+        Integer lastAbsenceMappingId = null;
+        if (dryRun) {
+            LOG.info("Starting dry run of calendar reconciliation");
+            reconciliation = null;
+        } else {
+            final Optional<CalendarReconciliation> claimedReconciliation = claim();
+            if (claimedReconciliation.isEmpty()) {
+                LOG.info("Calendar reconciliation is claimed by another instance, skipping calendar reconciliation");
+                return report;
+            }
+
+            reconciliation = claimedReconciliation.get();
+            if (reconciliation.getLastAbsenceMappingId() == null) {
+                LOG.info("Starting calendar reconciliation");
+                reconciliation.setStartedAt(Instant.now(clock));
+                reconciliation.setFinishedAt(null);
+            } else {
+                lastStartDate = reconciliation.getLastStartDate();
+                lastAbsenceMappingId = reconciliation.getLastAbsenceMappingId();
+                LOG.info("Resuming calendar reconciliation after absence mapping {} starting at {}", lastAbsenceMappingId, lastStartDate);
+            }
+        }
+
+        final Settings settings = settingsService.getSettings();
+        final CalendarSettings calendarSettings = settings.getCalendarSettings();
+        final AbsenceTimeConfiguration absenceTimeConfiguration = new AbsenceTimeConfiguration(settings.getTimeSettings());
+
+        final int pageSize = reconciliationProperties.getPageSize();
+
+        Integer lastAbsenceMappingIdWithoutAbsence = 0;
+        boolean morePages = true;
+        while (morePages) {
+            final List<AbsenceMapping> absenceMappings = absenceMappingService.getAbsenceMappingsWithoutAbsence(lastAbsenceMappingIdWithoutAbsence, pageSize);
+            if (!absenceMappings.isEmpty()) {
+                reconcile(windows(absenceMappings, absenceTimeConfiguration, report), calendarProvider, calendarSettings, dryRun, report);
+                lastAbsenceMappingIdWithoutAbsence = absenceMappings.get(absenceMappings.size() - 1).getId();
+            }
+            morePages = absenceMappings.size() == pageSize;
+        }
+
+        morePages = true;
+        while (morePages) {
+            final List<Window> windows = new ArrayList<>();
+            for (int page = 0; page < reconciliationProperties.getWorkers() && morePages; page++) {
+                final List<DatedAbsenceMapping> absenceMappings = absenceMappingService.getAbsenceMappingsByStartDate(lastStartDate, lastAbsenceMappingId, pageSize);
+                if (!absenceMappings.isEmpty()) {
+                    windows.addAll(windows(absenceMappings.stream().map(DatedAbsenceMapping::getAbsenceMapping).collect(toList()), absenceTimeConfiguration, report));
+                    final DatedAbsenceMapping lastAbsenceMapping = absenceMappings.get(absenceMappings.size() - 1);
+                    lastStartDate = lastAbsenceMapping.getStartDate();
+                    lastAbsenceMappingId = lastAbsenceMapping.getAbsenceMapping().getId();
+                }
+                morePages = absenceMappings.size() == pageSize;
+            }
+
+            reconcile(windows, calendarProvider, calendarSettings, dryRun, report);
+
+            if (!dryRun) {
+                reconciliation.setLastStartDate(lastStartDate);
+                reconciliation.setLastAbsenceMappingId(lastAbsenceMappingId);
+                reconciliation.setClaimedUntil(Instant.now(clock).plus(reconciliationProperties.getClaimDuration()));
+                calendarReconciliationRepository.save(reconciliation);
+            }
+        }
+
+        if (!dryRun) {
+            reconciliation.setLastStartDate(null);
+            reconciliation.setLastAbsenceMappingId(null);
+            reconciliation.setClaimedUntil(null);
+            reconciliation.setFinishedAt(Instant.now(clock));
+            calendarReconciliationRepository.save(reconciliation);
+        }
+
+        LOG.info("Finished calendar reconciliation: {}", report);
+        return report;
+    }
+
+    /**
+     * Claims the reconciliation for this instance.
+     *
+     * @return the state of the claimed reconciliation, empty if another instance is reconciling the calendar
+     */
+    private Optional<CalendarReconciliation> claim() {
+
+        if (!calendarReconciliationRepository.existsById(CalendarReconciliation.ID)) {
+            try {
+                calendarReconciliationRepository.save(new CalendarReconciliation());
+            } catch (DataIntegrityViolationException e) {
+                LOG.debug("Calendar reconciliation has been created by another instance meanwhile");
+            }
+        }
+
+        final Instant now = Instant.now(clock);
+        if (calendarReconciliationRepository.claim(CalendarReconciliation.ID, now, now.plus(reconciliationProperties.getClaimDuration())) == 0) {
+            return Optional.empty();
+        }
+
+        return calendarReconciliationRepository.findById(CalendarReconciliation.ID);
+    }
+
+    /**
+     * Reconciles the given windows in parallel and applies the results.
+     */
+    private void reconcile(List<Window> windows, CalendarProvider calendarProvider, CalendarSettings calendarSettings, boolean dryRun,
+                           CalendarReconciliationReport report) {
+
+        final List<CompletableFuture<Void>> reconciliations = windows.stream()
+            .map(window -> CompletableFuture.runAsync(() -> reconcile(window, calendarProvider, calendarSettings, dryRun), workers))
+            .collect(toList());
+        reconciliations.forEach(CompletableFuture::join);
+
+        final List<String> duplicateEventIds = new ArrayList<>();
+        windows.forEach(window -> apply(window, dryRun, report, duplicateEventIds));
+        if (!duplicateEventIds.isEmpty()) {
+            CompletableFuture.runAsync(() -> deleteDuplicateEvents(duplicateEventIds, calendarProvider, calendarSettings), workers).join();
+        }
+    }
+
+    /**
+     * Loads the absences of the given mappings, ordered by the start dates of their absences, and cuts them into time
+     * windows whose start dates are at most the configured span apart.
+     */
+    private List<Window> windows(List<AbsenceMapping> absenceMappings, AbsenceTimeConfiguration absenceTimeConfiguration,
+                                 CalendarReconciliationReport report) {
+
+        final long windowSpanDays = reconciliationProperties.getWindowSpan().toDays();
+
+        final List<Window> windows = new ArrayList<>();
+        List<Item> windowItems = new ArrayList<>();
+        LocalDate windowEnd = null;
+        for (Item item : items(absenceMappings, absenceTimeConfiguration, report)) {
+            final Absence absence = item.getAbsence();
+            if (absence != null) {
+                final LocalDate startDate = absence.getStartDate().toLocalDate();
+                if (windowEnd != null && !startDate.isBefore(windowEnd)) {
+                    windows.add(new Window(windowItems));
+                    windowItems = new ArrayList<>();
+                    windowEnd = null;
+                }
+                if (windowEnd == null) {
+                    windowEnd = startDate.plusDays(windowSpanDays);
+                }
+            }
+            windowItems.add(item);
+        }
+        if (!windowItems.isEmpty()) {
+            windows.add(new Window(windowItems));
+        }
+
+        return windows;
+    }
+
+    /**
+     * Loads the absences of the given mappings, skipping the absences with a pending {@link CalendarSyncOperation}.
+     */
+    private List<Item> items(List<AbsenceMapping> absenceMappings, AbsenceTimeConfiguration absenceTimeConfiguration,
+                             CalendarReconciliationReport report) {
+
+        final Set<Integer> applicationIds = new HashSet<>();
+        final Set<Integer> sickNoteIds = new HashSet<>();
+        for (AbsenceMapping absenceMapping : absenceMappings) {
+            (absenceMapping.getAbsenceMappingType() == VACATION ? applicationIds : sickNoteIds).add(absenceMapping.getAbsenceId());
+        }
+
+        final Map<Integer, Application> applications = applicationIds.isEmpty() ? Map.of()
+            : applicationService.getApplicationsByIds(applicationIds).stream().collect(toMap(Application::getId, Function.identity()));
+        final Map<Integer, SickNote> sickNotes = sickNoteIds.isEmpty() ? Map.of()
+            : sickNoteService.getByIds(sickNoteIds).stream().collect(toMap(SickNote::getId, Function.identity()));
+
+        final Set<Integer> absenceIds = new HashSet<>(applicationIds);
+        absenceIds.addAll(sickNoteIds);
+        final Set<String> pendingAbsences = calendarSyncOperationRepository.findByAbsenceIdIn(absenceIds).stream()
+            .map(operation -> operation.getAbsenceMappingType() + "-" + operation.getAbsenceId())
+            .collect(toSet());
+
+        final List<Item> items = new ArrayList<>();
+        for (AbsenceMapping absenceMapping : absenceMappings) {
+            if (pendingAbsences.contains(absenceMapping.getAbsenceMappingType() + "-" + absenceMapping.getAbsenceId())) {
+                report.addSkipped();
+                continue;
+            }
+
+            if (absenceMapping.getAbsenceMappingType() == VACATION) {
+                final Application application = applications.get(absenceMapping.getAbsenceId());
+                items.add(application == null
+                    ? new Item(absenceMapping, null, false)
+                    : new Item(absenceMapping, new Absence(application.getPerson(), application.getPeriod(), absenceTimeConfiguration),
+                    ACTIVE_APPLICATION_STATUSES.contains(application.getStatus())));
+            } else if (absenceMapping.getAbsenceMappingType() == SICKNOTE) {
+                final SickNote sickNote = sickNotes.get(absenceMapping.getAbsenceId());
+                items.add(sickNote == null
+                    ? new Item(absenceMapping, null, false)
+                    : new Item(absenceMapping, new Absence(sickNote.getPerson(), sickNote.getPeriod(), absenceTimeConfiguration), sickNote.isActive()));
+            }
+        }
+
+        return items;
+    }
+
+    /**
+     * Lists the events of the given window, compares them with the absences and repairs the differences with one
+     * batch request per kind of repair unless this is a dry run.
+     */
+    private static void reconcile(Window window, CalendarProvider calendarProvider, CalendarSettings calendarSettings, boolean dryRun) {
+
+        final Map<String, CalendarEvent> eventsById = new HashMap<>();
+        if (window.getFrom() != null) {
+            final Optional<List<CalendarEvent>> events = calendarProvider.listEvents(window.getFrom(), window.getTo(), calendarSettings);
+            if (events.isEmpty()) {
+                LOG.warn("Could not list events between {} and {}, skipping {} absence mapping(s)", window.getFrom(), window.getTo(), window.getItems().size());
+                window.unlisted();
+                return;
+            }
+            events.get().forEach(event -> eventsById.put(event.getId(), event));
+        }
+
+        final List<Item> additions = new ArrayList<>();
+        final Map<String, Item> updates = new LinkedHashMap<>();
+        final Map<String, Item> deletions = new LinkedHashMap<>();
+
+        for (Item item : window.getItems()) {
+            final String eventId = item.getAbsenceMapping().getEventId();
+            final CalendarEvent event = eventsById.get(eventId);
+
+            if (item.getAbsence() == null) {
+                // the absence is gone and so is its time window, the event may still be there
+                item.differs(OBSOLETE);
+                deletions.put(eventId, item);
+            } else if (item.isActive()) {
+                if (event == null) {
+                    item.differs(MISSING);
+                    additions.add(item);
+                } else if (!event.isAt(item.getAbsence())) {
+                    item.differs(CHANGED);
+                    updates.put(eventId, item);
+                }
+            } else if (event != null) {
+                item.differs(OBSOLETE);
+                deletions.put(eventId, item);
+            } else {
+                item.differs(STALE_MAPPING);
+            }
+        }
+
+        if (dryRun) {
+            return;
+        }
+
+        try {
+            if (!additions.isEmpty()) {
+                final List<Absence> absences = additions.stream().map(Item::getAbsence).collect(toList());
+                final List<Optional<String>> eventIds = calendarProvider.addAll(absences, calendarSettings);
+                for (int index = 0; index < additions.size(); index++) {
+                    final Item item = additions.get(index);
+                    eventIds.get(index).ifPresent(item::repaired);
+                }
+            }
+
+            if (!updates.isEmpty()) {
+                final Map<String, Absence> absencesByEventId = new HashMap<>();
+                updates.forEach((eventId, item) -> absencesByEventId.put(eventId, item.getAbsence()));
+                final Set<String> failedEventIds = calendarProvider.updateAll(absencesByEventId, calendarSettings);
+                updates.forEach((eventId, item) -> {
+                    if (!failedEventIds.contains(eventId)) {
+                        item.repaired(null);
+                    }
+                });
+            }
+
+            if (!deletions.isEmpty()) {
+                final Set<String> failedEventIds = calendarProvider.deleteAll(new ArrayList<>(deletions.keySet()), calendarSettings);
+                deletions.forEach((eventId, item) -> {
+                    // the event of a vanished absence can not be checked, its mapping is removed anyway
+                    if (!failedEventIds.contains(eventId) || item.getAbsence() == null) {
+                        item.repaired(null);
+                    }
+                });
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("Could not repair the events between {} and {}", window.getFrom(), window.getTo(), e);
+        }
+    }
+
+    /**
+     * Updates the absence mappings of the repaired events and records the results of the given window. Events added
+     * again for absences that have been mapped to another event in the meantime are collected as duplicates.
+     */
+    private void apply(Window window, boolean dryRun, CalendarReconciliationReport report, List<String> duplicateEventIds) {
+
+        if (window.isUnlisted()) {
+            report.addUnlisted(window.getItems().size());
+            return;
+        }
+
+        for (Item item : window.getItems()) {
+            final DifferenceType differenceType = item.getDifferenceType();
+            if (differenceType == null) {
+                report.addUnchanged();
+                continue;
+            }
+
+            final AbsenceMapping absenceMapping = item.getAbsenceMapping();
+            final boolean repaired = !dryRun && (item.isRepaired() || differenceType == STALE_MAPPING);
+            if (repaired && differenceType == MISSING) {
+                absenceMappingService.delete(absenceMapping);
+                try {
+                    absenceMappingService.create(absenceMapping.getAbsenceId(), absenceMapping.getAbsenceMappingType(), item.getAddedEventId());
+                } catch (DataIntegrityViolationException e) {
+                    LOG.info("Absence has been mapped to another event while adding the event {} again: {}", item.getAddedEventId(), absenceMapping.getAbsenceId());
+                    duplicateEventIds.add(item.getAddedEventId());
+                }
+            } else if (repaired && differenceType != CHANGED) {
+                absenceMappingService.delete(absenceMapping);
+            }
+
+            final Difference difference = new Difference(absenceMapping.getAbsenceId(), absenceMapping.getAbsenceMappingType(),
+                absenceMapping.getEventId(), differenceType, repaired);
+            if (dryRun) {
+                LOG.info("Found difference between calendar and absence mappings: {}", difference);
+            } else if (!repaired) {
+                LOG.warn("Could not repair difference between calendar and absence mappings: {}", difference);
+            }
+            report.addDifference(difference);
+
+            Counter.builder(METRIC_RECONCILIATION_DIFFERENCES)
+                .tag("type", differenceType.name().toLowerCase())
+                .tag("result", dryRun ? "reported" : repaired ? "repaired" : "failed")
+                .register(meterRegistry)
+                .increment();
+        }
+    }
+
+    private static void deleteDuplicateEvents(List<String> eventIds, CalendarProvider calendarProvider, CalendarSettings calendarSettings) {
+        try {
+            final Set<String> failedEventIds = calendarProvider.deleteAll(eventIds, calendarSettings);
+            if (!failedEventIds.isEmpty()) {
+                LOG.warn("Could not delete the duplicate events {}", failedEventIds);
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("Could not delete the duplicate events {}", eventIds, e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        workers.shutdown();
+    }
+
+    /**
+     * Absence mappings with close start dates together with the time window their events are listed with.
+     */
+    private static final class Window {
+
+        private final List<Item> items;
+        private final ZonedDateTime from;
+        private final ZonedDateTime to;
+
+        private boolean unlisted;
+
+        private Window(List<Item> items) {
+            this.items = items;
+
+            ZonedDateTime firstStart = null;
+            ZonedDateTime lastStart = null;
+            for (Item item : items) {
+                final Absence absence = item.getAbsence();
+                if (absence != null) {
+                    firstStart = firstStart == null || absence.getStartDate().isBefore(firstStart) ? absence.getStartDate() : firstStart;
+                    lastStart = lastStart == null || absence.getStartDate().isAfter(lastStart) ? absence.getStartDate() : lastStart;
+                }
+            }
+            // every event overlapping the start of its absence is listed, however long the absence lasts
+            this.from = firstStart;
+            this.to = lastStart == null ? null : lastStart.plusDays(1);
+        }
+
+        List<Item> getItems() {
+            return items;
+        }
+
+        /**
+         * @return the start of the time window, {@code null} if none of the absences exists anymore
+         */
+        ZonedDateTime getFrom() {
+            return from;
+        }
+
+        ZonedDateTime getTo() {
+            return to;
+        }
+
+        boolean isUnlisted() {
+            return unlisted;
+        }
+
+        void unlisted() {
+            this.unlisted = true;
+        }
+    }
+
+    /**
+     * An absence mapping together with its absence and the result of its reconciliation.
+     */
+    private static final class Item {
+
+        private final AbsenceMapping absenceMapping;
+        private final Absence absence;
+        private final boolean active;
+
+        private DifferenceType differenceType;
+        private boolean repaired;
+        private String addedEventId;
+
+        private Item(AbsenceMapping absenceMapping, Absence absence, boolean active) {
+            this.absenceMapping = absenceMapping;
+            this.absence = absence;
+            this.active = active;
+        }
+
+        AbsenceMapping getAbsenceMapping() {
+            return absenceMapping;
+        }
+
+        /**
+         * @return the absence of the mapping, {@code null} if the application for leave or sick note does not exist
+         */
+        Absence getAbsence() {
+            return absence;
+        }
+
+        /**
+         * @return {@code true} if the calendar should contain an event of the absence
+         */
+        boolean isActive() {
+            return active;
+        }
+
+        /**
+         * @return the difference found, {@code null} if the event matches the absence
+         */
+        DifferenceType getDifferenceType() {
+            return differenceType;
+        }
+
+        boolean isRepaired() {
+            return repaired;
+        }
+
+        String getAddedEventId() {
+            return addedEventId;
+        }
+
+        void differs(DifferenceType differenceType) {
+            this.differenceType = differenceType;
+        }
+
+        void repaired(String addedEventId) {
+            this.repaired = true;
+            this.addedEventId = addedEventId;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package org.synyx.urlaubsverwaltung.calendarintegration;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * The state of the reconciliation of the calendar with the absence mappings, there is only one.
+ */
+@Entity
+class CalendarReconciliation {
+
+    static final long ID = 1;
+
+    @Id
+    private Long id = ID;
+
+    /**
+     * The start date of the absence of the last absence mapping of the running reconciliation, {@code null} if no
+     * reconciliation is running.
+     */
+    private LocalDate lastStartDate;
+
+    /**
+     * The id of the last absence mapping of the running reconciliation, {@code null} if no reconciliation is running.
+     */
+    private Integer lastAbsenceMappingId;
+
+    /**
+     * No other instance starts a reconciliation before this point in time.
+     */
+    private Instant claimedUntil;
+
+    private Instant startedAt;
+
+    private Instant finishedAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getLastStartDate() {
+        return lastStartDate;
+    }
+
+    public void setLastStartDate(LocalDate lastStartDate) {
+        this.lastStartDate = lastStartDate;
+    }
+
+    public Integer getLastAbsenceMappingId() {
+        return lastAbsenceMappingId;
+    }
+
+    public void setLastAbsenceMappingId(Integer lastAbsenceMappingId) {
+        this.lastAbsenceMappingId = lastAbsenceMappingId;
+    }
+
+    public Instant getClaimedUntil() {
+        return claimedUntil;
+    }
+
+    public void setClaimedUntil(Instant claimedUntil) {
+        this.claimedUntil = claimedUntil;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "CalendarReconciliation{" +
+            "lastStartDate=" + lastStartDate +
+            ", lastAbsenceMappingId=" + lastAbsenceMappingId +
+            ", claimedUntil=" + claimedUntil +
+            ", startedAt=" + startedAt +
+            ", finishedAt=" + finishedAt +
+            '}';
+    }
+}
@@ -0,0 +1,171 @@
+package org.synyx.urlaubsverwaltung.calendarintegration;
+
+import org.synyx.urlaubsverwaltung.absence.AbsenceMappingType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The differences between the calendar and the absence mappings found by one reconciliation.
+ */
+public class CalendarReconciliationReport {
+
+    /**
+     * Kinds of differences between the calendar and the absence mappings.
+     */
+    public enum DifferenceType {
+
+        /**
+         * The event of an active absence is missing in the calendar.
+         */
+        MISSING,
+
+        /**
+         * The event of an active absence does not start or end at the same time as the absence.
+         */
+        CHANGED,
+
+        /**
+         * The calendar contains an event of an absence that has been cancelled, rejected or deleted.
+         */
+        OBSOLETE,
+
+        /**
+         * Neither the absence is active nor the calendar contains its event, but the mapping is still there.
+         */
+        STALE_MAPPING
+    }
+
+    private final boolean dryRun;
+    private final List<Difference> differences = new ArrayList<>();
+    private int unchanged;
+    private int skipped;
+    private int unlisted;
+
+    CalendarReconciliationReport(boolean dryRun) {
+        this.dryRun = dryRun;
+    }
+
+    /**
+     * @return {@code true} if the differences have only been reported but not repaired
+     */
+    public boolean isDryRun() {
+        return dryRun;
+    }
+
+    public List<Difference> getDifferences() {
+        return Collections.unmodifiableList(differences);
+    }
+
+    /**
+     * @return the number of absence mappings whose event matches the absence
+     */
+    public int getUnchanged() {
+        return unchanged;
+    }
+
+    /**
+     * @return the number of absence mappings skipped because of a pending calendar sync operation of their absence
+     */
+    public int getSkipped() {
+        return skipped;
+    }
+
+    /**
+     * @return the number of absence mappings not reconciled because the events of their time window could not be
+     * listed
+     */
+    public int getUnlisted() {
+        return unlisted;
+    }
+
+    /**
+     * @return the number of differences that could not be repaired, always {@code 0} for a dry run
+     */
+    public long getFailed() {
+        return dryRun ? 0 : differences.stream().filter(difference -> !difference.isRepaired()).count();
+    }
+
+    void addDifference(Difference difference) {
+        differences.add(difference);
+    }
+
+    void addUnchanged() {
+        unchanged++;
+    }
+
+    void addSkipped() {
+        skipped++;
+    }
+
+    void addUnlisted(int numberOfAbsenceMappings) {
+        unlisted += numberOfAbsenceMappings;
+    }
+
+    @Override
+    public String toString() {
+        return "CalendarReconciliationReport{" +
+            "dryRun=" + dryRun +
+            ", differences=" + differences.size() +
+            ", failed=" + getFailed() +
+            ", unchanged=" + unchanged +
+            ", skipped=" + skipped +
+            ", unlisted=" + unlisted +
+            '}';
+    }
+
+    /**
+     * A difference between the calendar and the absence mapping of one absence.
+     */
+    public static final class Difference {
+
+        private final Integer absenceId;
+        private final AbsenceMappingType absenceMappingType;
+        private final String eventId;
+        private final DifferenceType type;
+        private final boolean repaired;
+
+        Difference(Integer absenceId, AbsenceMappingType absenceMappingType, String eventId, DifferenceType type, boolean repaired) {
+            this.absenceId = absenceId;
+            this.absenceMappingType = absenceMappingType;
+            this.eventId = eventId;
+            this.type = type;
+            this.repaired = repaired;
+        }
+
+        public Integer getAbsenceId() {
+            return absenceId;
+        }
+
+        public AbsenceMappingType getAbsenceMappingType() {
+            return absenceMappingType;
+        }
+
+        /**
+         * @return the id of the event the absence is mapped to
+         */
+        public String getEventId() {
+            return eventId;
+        }
+
+        public DifferenceType getType() {
+            return type;
+        }
+
+        public boolean isRepaired() {
+            return repaired;
+        }
+
+        @Override
+        public String toString() {
+            return "Difference{" +
+                "absenceId=" + absenceId +
+                ", absenceMappingType=" + absenceMappingType +
+                ", eventId='" + eventId + '\'' +
+                ", type=" + type +
+                ", repaired=" + repaired +
+                '}';
+        }
+    }
+}
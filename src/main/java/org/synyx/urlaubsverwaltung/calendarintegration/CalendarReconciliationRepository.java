@@ -0,0 +1,27 @@
+package org.synyx.urlaubsverwaltung.calendarintegration;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+interface CalendarReconciliationRepository extends CrudRepository<CalendarReconciliation, Long> {
+
+    /**
+     * Claims the reconciliation for the calling instance, unless another instance claimed it and its claim has not
+     * expired yet.
+     *
+     * @param id           of the reconciliation
+     * @param now          the current point in time
+     * @param claimedUntil the end of the claim
+     * @return {@code 1} if the reconciliation has been claimed, {@code 0} otherwise
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE CalendarReconciliation reconciliation SET reconciliation.claimedUntil = :claimedUntil " +
+        "WHERE reconciliation.id = :id AND (reconciliation.claimedUntil IS NULL OR reconciliation.claimedUntil < :now)")
+    int claim(@Param("id") Long id, @Param("now") Instant now, @Param("claimedUntil") Instant claimedUntil);
+}
@@ -0,0 +1,17 @@
+package org.synyx.urlaubsverwaltung.calendarintegration;
+
+/**
+ * Describes what a {@link CalendarSyncOperation} does with the event of an absence.
+ */
+enum CalendarSyncAction {
+
+    /**
+     * Adds the event of the absence or updates it if it has been added before
+     */
+    SYNC,
+
+    /**
+     * Deletes the event of the absence if it has been added before
+     */
+    DELETE
+}
@@ -0,0 +1,30 @@
+package org.synyx.urlaubsverwaltung.calendarintegration;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+@Configuration
+public class CalendarSyncConfiguration implements SchedulingConfigurer {
+
+    private final CalendarSyncProperties calendarSyncProperties;
+    private final CalendarSyncDispatcher calendarSyncDispatcher;
+    private final CalendarReconciler calendarReconciler;
+
+    @Autowired
+    public CalendarSyncConfiguration(CalendarSyncProperties calendarSyncProperties, CalendarSyncDispatcher calendarSyncDispatcher,
+                                     CalendarReconciler calendarReconciler) {
+        this.calendarSyncProperties = calendarSyncProperties;
+        this.calendarSyncDispatcher = calendarSyncDispatcher;
+        this.calendarReconciler = calendarReconciler;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar scheduledTaskRegistrar) {
+        scheduledTaskRegistrar.addFixedDelayTask(calendarSyncDispatcher::dispatch, calendarSyncProperties.getQueue().getDispatchDelay().toMillis());
+
+        final CalendarSyncProperties.Reconciliation reconciliation = calendarSyncProperties.getReconciliation();
+        scheduledTaskRegistrar.addCronTask(() -> calendarReconciler.reconcile(reconciliation.isDryRun()), reconciliation.getCron());
+    }
+}
@@ -0,0 +1,375 @@
+package org.synyx.urlaubsverwaltung.calendarintegration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.synyx.urlaubsverwaltung.absence.Absence;
+import org.synyx.urlaubsverwaltung.absence.AbsenceMapping;
+import org.synyx.urlaubsverwaltung.absence.AbsenceMappingService;
+import org.synyx.urlaubsverwaltung.absence.AbsenceTimeConfiguration;
+import org.synyx.urlaubsverwaltung.calendarintegration.providers.CalendarProvider;
+import org.synyx.urlaubsverwaltung.calendarintegration.providers.noop.NoopCalendarSyncProvider;
+import org.synyx.urlaubsverwaltung.settings.Settings;
+import org.synyx.urlaubsverwaltung.settings.SettingsService;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.synyx.urlaubsverwaltung.calendarintegration.CalendarSyncAction.DELETE;
+import static org.synyx.urlaubsverwaltung.calendarintegration.CalendarSyncAction.SYNC;
+
+/**
+ * Executes the pending {@link CalendarSyncOperation}s.
+ *
+ * <p>The due operations are loaded in batches and every batch is split among a bounded number of workers. Each worker
+ * sends its additions, updates and deletions with one batch request each to the calendar provider. Executed
+ * operations are removed from the queue, failed operations are retried with an exponential backoff until the maximum
+ * number of attempts is reached.</p>
+ *
+ * <p>All reads and writes of the queue and the absence mappings happen in the calling thread, only the calendar
+ * provider is talked to by the workers. An operation replaced while being executed is kept in the queue, the mapping
+ * of an added event is saved anyway so that the replacing operation updates or deletes that event.</p>
+ *
+ * <p>Several instances of the application may dispatch the same queue: every loaded operation is claimed first by
+ * postponing its next attempt for the configured claim duration, and only the instance that claimed an operation
+ * executes it. An operation replaced while being executed can be claimed by another instance, so two instances may
+ * add an event for the same absence. The absence mappings are unique per absence, the instance that can not save its
+ * mapping deletes the event it added and retries its operation as an update of the mapped event.</p>
+ */
+@Component
+public class CalendarSyncDispatcher implements DisposableBean {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    private static final String METRIC_QUEUE_SIZE = "calendar.sync.queue.size";
+    private static final String METRIC_QUEUE_SYNC = "calendar.sync.queue.sync";
+    private static final String METRIC_QUEUE_FAILURES = "calendar.sync.queue.failures";
+
+    private final CalendarSyncOperationRepository calendarSyncOperationRepository;
+    private final AbsenceMappingService absenceMappingService;
+    private final CalendarService calendarService;
+    private final SettingsService settingsService;
+    private final CalendarSyncProperties.Queue queueProperties;
+    private final Clock clock;
+    private final ExecutorService workers;
+
+    private final Timer syncTimer;
+    private final Counter retriedOperationsCounter;
+    private final Counter droppedOperationsCounter;
+
+    @Autowired
+    CalendarSyncDispatcher(CalendarSyncOperationRepository calendarSyncOperationRepository, AbsenceMappingService absenceMappingService,
+                           CalendarService calendarService, SettingsService settingsService, CalendarSyncProperties calendarSyncProperties,
+                           MeterRegistry meterRegistry, Clock clock) {
+        this.calendarSyncOperationRepository = calendarSyncOperationRepository;
+        this.absenceMappingService = absenceMappingService;
+        this.calendarService = calendarService;
+        this.settingsService = settingsService;
+        this.queueProperties = calendarSyncProperties.getQueue();
+        this.clock = clock;
+
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("calendar-sync-");
+        threadFactory.setDaemon(true);
+        this.workers = Executors.newFixedThreadPool(queueProperties.getWorkers(), threadFactory);
+
+        Gauge.builder(METRIC_QUEUE_SIZE, calendarSyncOperationRepository::count).register(meterRegistry);
+        this.syncTimer = Timer.builder(METRIC_QUEUE_SYNC).register(meterRegistry);
+        this.retriedOperationsCounter = Counter.builder(METRIC_QUEUE_FAILURES).tag("result", "retried").register(meterRegistry);
+        this.droppedOperationsCounter = Counter.builder(METRIC_QUEUE_FAILURES).tag("result", "dropped").register(meterRegistry);
+    }
+
+    /**
+     * Executes all pending operations that are due.
+     */
+    public void dispatch() {
+
+        final int batchSize = queueProperties.getBatchSize();
+
+        List<CalendarSyncOperation> batch;
+        do {
+            batch = calendarSyncOperationRepository.findByNextAttemptAtLessThanEqualOrderById(Instant.now(clock), PageRequest.of(0, batchSize));
+            final List<CalendarSyncOperation> claimedOperations = claim(batch);
+            if (!claimedOperations.isEmpty()) {
+                dispatch(claimedOperations);
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    private List<CalendarSyncOperation> claim(List<CalendarSyncOperation> batch) {
+
+        final Instant claimedUntil = Instant.now(clock).plus(queueProperties.getClaimDuration());
+
+        final List<CalendarSyncOperation> claimedOperations = new ArrayList<>();
+        for (CalendarSyncOperation operation : batch) {
+            if (calendarSyncOperationRepository.claim(operation.getId(), operation.getNextAttemptAt(), claimedUntil) == 1) {
+                claimedOperations.add(operation);
+            } else {
+                LOG.debug("Skipping calendar sync operation claimed by another instance: {}", operation);
+            }
+        }
+
+        return claimedOperations;
+    }
+
+    private void dispatch(List<CalendarSyncOperation> batch) {
+
+        final CalendarProvider calendarProvider = calendarService.getCalendarProvider();
+        if (calendarProvider instanceof NoopCalendarSyncProvider) {
+            LOG.info("No calendar provider configured, dropping {} calendar sync operation(s)", batch.size());
+            batch.forEach(this::remove);
+            return;
+        }
+
+        final Settings settings = settingsService.getSettings();
+        final CalendarSettings calendarSettings = settings.getCalendarSettings();
+        final AbsenceTimeConfiguration absenceTimeConfiguration = new AbsenceTimeConfiguration(settings.getTimeSettings());
+
+        final List<Task> tasks = new ArrayList<>();
+        for (CalendarSyncOperation operation : batch) {
+            final AbsenceMapping absenceMapping = absenceMappingService.getAbsenceByIdAndType(operation.getAbsenceId(), operation.getAbsenceMappingType())
+                .orElse(null);
+            final Absence absence = operation.getAction() == SYNC
+                ? new Absence(operation.getPerson(), operation.getPeriod(), absenceTimeConfiguration)
+                : null;
+            tasks.add(new Task(operation, absenceMapping, absence));
+        }
+
+        final int numberOfWorkers = Math.min(queueProperties.getWorkers(), tasks.size());
+        final int tasksPerWorker = (tasks.size() + numberOfWorkers - 1) / numberOfWorkers;
+
+        final List<CompletableFuture<Void>> syncs = new ArrayList<>();
+        for (int from = 0; from < tasks.size(); from += tasksPerWorker) {
+            final List<Task> chunk = tasks.subList(from, Math.min(from + tasksPerWorker, tasks.size()));
+            syncs.add(CompletableFuture.runAsync(() -> syncTimer.record(() -> sync(chunk, calendarProvider, calendarSettings)), workers));
+        }
+        syncs.forEach(CompletableFuture::join);
+
+        final List<String> duplicateEventIds = new ArrayList<>();
+        for (Task task : tasks) {
+            if (task.getAddedEventId() != null && !createAbsenceMapping(task.getOperation(), task.getAddedEventId())) {
+                duplicateEventIds.add(task.getAddedEventId());
+                task.failed();
+            }
+        }
+        if (!duplicateEventIds.isEmpty()) {
+            CompletableFuture.runAsync(() -> deleteDuplicateEvents(duplicateEventIds, calendarProvider, calendarSettings), workers).join();
+        }
+
+        int retriedOperations = 0;
+        int droppedOperations = 0;
+        for (Task task : tasks) {
+            final CalendarSyncOperation operation = task.getOperation();
+            if (task.isSucceeded()) {
+                if (operation.getAction() == DELETE && task.getAbsenceMapping() != null) {
+                    absenceMappingService.delete(task.getAbsenceMapping());
+                }
+                remove(operation);
+            } else if (operation.getAttempts() + 1 >= queueProperties.getMaxAttempts()) {
+                LOG.error("Dropping calendar sync operation after {} failed attempts: {}", queueProperties.getMaxAttempts(), operation);
+                remove(operation);
+                droppedOperations++;
+            } else {
+                operation.failedAttempt(Instant.now(clock).plus(retryDelay(operation.getAttempts())));
+                retry(operation);
+                retriedOperations++;
+            }
+        }
+
+        retriedOperationsCounter.increment(retriedOperations);
+        droppedOperationsCounter.increment(droppedOperations);
+    }
+
+    /**
+     * Sends the additions, updates and deletions of the given tasks with one batch request each to the calendar
+     * provider and records the results in the tasks.
+     */
+    private static void sync(List<Task> tasks, CalendarProvider calendarProvider, CalendarSettings calendarSettings) {
+
+        final List<Task> additions = new ArrayList<>();
+        final Map<String, Task> updates = new LinkedHashMap<>();
+        final Map<String, Task> deletions = new LinkedHashMap<>();
+
+        for (Task task : tasks) {
+            final AbsenceMapping absenceMapping = task.getAbsenceMapping();
+            if (task.getOperation().getAction() == SYNC) {
+                if (absenceMapping == null) {
+                    additions.add(task);
+                } else {
+                    updates.put(absenceMapping.getEventId(), task);
+                }
+            } else if (absenceMapping == null) {
+                task.succeeded(null);
+            } else {
+                deletions.put(absenceMapping.getEventId(), task);
+            }
+        }
+
+        try {
+            if (!additions.isEmpty()) {
+                final List<Absence> absences = new ArrayList<>();
+                additions.forEach(task -> absences.add(task.getAbsence()));
+                final List<Optional<String>> eventIds = calendarProvider.addAll(absences, calendarSettings);
+                for (int index = 0; index < additions.size(); index++) {
+                    final Task task = additions.get(index);
+                    eventIds.get(index).ifPresent(task::succeeded);
+                }
+            }
+
+            if (!updates.isEmpty()) {
+                final Map<String, Absence> absencesByEventId = new HashMap<>();
+                updates.forEach((eventId, task) -> absencesByEventId.put(eventId, task.getAbsence()));
+                final Set<String> failedEventIds = calendarProvider.updateAll(absencesByEventId, calendarSettings);
+                updates.forEach((eventId, task) -> {
+                    if (!failedEventIds.contains(eventId)) {
+                        task.succeeded(null);
+                    }
+                });
+            }
+
+            if (!deletions.isEmpty()) {
+                final Set<String> failedEventIds = calendarProvider.deleteAll(new ArrayList<>(deletions.keySet()), calendarSettings);
+                deletions.forEach((eventId, task) -> {
+                    if (!failedEventIds.contains(eventId)) {
+                        task.succeeded(null);
+                    }
+                });
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("Could not sync {} calendar sync operation(s) with the calendar provider", tasks.size(), e);
+        }
+    }
+
+    /**
+     * @return {@code false} if the absence has been mapped to another event in the meantime
+     */
+    private boolean createAbsenceMapping(CalendarSyncOperation operation, String eventId) {
+        try {
+            absenceMappingService.create(operation.getAbsenceId(), operation.getAbsenceMappingType(), eventId);
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            LOG.info("Absence has been mapped to another event while adding the event {}: {}", eventId, operation);
+            return false;
+        }
+    }
+
+    private static void deleteDuplicateEvents(List<String> eventIds, CalendarProvider calendarProvider, CalendarSettings calendarSettings) {
+        try {
+            final Set<String> failedEventIds = calendarProvider.deleteAll(eventIds, calendarSettings);
+            if (!failedEventIds.isEmpty()) {
+                LOG.warn("Could not delete the duplicate events {}", failedEventIds);
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("Could not delete the duplicate events {}", eventIds, e);
+        }
+    }
+
+    private void remove(CalendarSyncOperation operation) {
+        try {
+            calendarSyncOperationRepository.delete(operation);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            LOG.debug("Calendar sync operation has been replaced while being executed: {}", operation);
+        }
+    }
+
+    private void retry(CalendarSyncOperation operation) {
+        try {
+            calendarSyncOperationRepository.save(operation);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            LOG.debug("Calendar sync operation has been replaced while being executed: {}", operation);
+        }
+    }
+
+    /**
+     * @param failedAttempts the number of failed attempts before the current one
+     * @return the delay before the next attempt, doubled with every failed attempt up to the maximum delay
+     */
+    private Duration retryDelay(int failedAttempts) {
+        final Duration maxRetryDelay = queueProperties.getMaxRetryDelay();
+        final Duration retryDelay = queueProperties.getRetryDelay().multipliedBy(1L << Math.min(failedAttempts, 30));
+        return retryDelay.compareTo(maxRetryDelay) > 0 ? maxRetryDelay : retryDelay;
+    }
+
+    @Override
+    public void destroy() {
+        workers.shutdown();
+    }
+
+    /**
+     * An operation together with everything the workers need to execute it and the result of the execution.
+     */
+    private static final class Task {
+
+        private final CalendarSyncOperation operation;
+        private final AbsenceMapping absenceMapping;
+        private final Absence absence;
+
+        private boolean succeeded;
+        private String addedEventId;
+
+        private Task(CalendarSyncOperation operation, AbsenceMapping absenceMapping, Absence absence) {
+            this.operation = operation;
+            this.absenceMapping = absenceMapping;
+            this.absence = absence;
+        }
+
+        CalendarSyncOperation getOperation() {
+            return operation;
+        }
+
+        /**
+         * @return the mapping to the event of the absence, {@code null} if no event has been added yet
+         */
+        AbsenceMapping getAbsenceMapping() {
+            return absenceMapping;
+        }
+
+        /**
+         * @return the absence to be synced, {@code null} for {@link CalendarSyncAction#DELETE}
+         */
+        Absence getAbsence() {
+            return absence;
+        }
+
+        boolean isSucceeded() {
+            return succeeded;
+        }
+
+        /**
+         * @return the id of the event added by this task, {@code null} if no event has been added
+         */
+        String getAddedEventId() {
+            return addedEventId;
+        }
+
+        void succeeded(String addedEventId) {
+            this.succeeded = true;
+            this.addedEventId = addedEventId;
+        }
+
+        void failed() {
+            this.succeeded = false;
+        }
+    }
+}
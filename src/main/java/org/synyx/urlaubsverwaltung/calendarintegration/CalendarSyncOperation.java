@@ -0,0 +1,168 @@
+package org.synyx.urlaubsverwaltung.calendarintegration;
+
+import org.synyx.urlaubsverwaltung.absence.AbsenceMappingType;
+import org.synyx.urlaubsverwaltung.period.DayLength;
+import org.synyx.urlaubsverwaltung.period.Period;
+import org.synyx.urlaubsverwaltung.person.Person;
+
+import javax.persistence.Entity;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.Version;
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static javax.persistence.EnumType.STRING;
+
+/**
+ * A pending sync of the calendar event of an absence, written within the business transaction and executed later on
+ * by the {@link CalendarSyncDispatcher}.
+ *
+ * <p>There is at most one operation per absence, a newer operation replaces the pending one. The version detects
+ * operations that have been replaced while being executed.</p>
+ */
+@Entity
+class CalendarSyncOperation {
+
+    @Id
+    @GeneratedValue
+    private Long id;
+
+    @Version
+    private Long version;
+
+    private Integer absenceId;
+
+    @Enumerated(STRING)
+    private AbsenceMappingType absenceMappingType;
+
+    @Enumerated(STRING)
+    private CalendarSyncAction action;
+
+    /**
+     * The absent person, only set for {@link CalendarSyncAction#SYNC}
+     */
+    @ManyToOne
+    private Person person;
+
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    @Enumerated(STRING)
+    private DayLength dayLength;
+
+    /**
+     * Number of failed attempts to execute this operation.
+     */
+    private int attempts;
+
+    /**
+     * The operation is not executed before this point in time.
+     */
+    private Instant nextAttemptAt;
+
+    protected CalendarSyncOperation() {
+        // for hibernate - do not use this
+    }
+
+    CalendarSyncOperation(Integer absenceId, AbsenceMappingType absenceMappingType) {
+        this.absenceId = absenceId;
+        this.absenceMappingType = absenceMappingType;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Integer getAbsenceId() {
+        return absenceId;
+    }
+
+    public AbsenceMappingType getAbsenceMappingType() {
+        return absenceMappingType;
+    }
+
+    public CalendarSyncAction getAction() {
+        return action;
+    }
+
+    public Person getPerson() {
+        return person;
+    }
+
+    /**
+     * @return the period of the absence, {@code null} for {@link CalendarSyncAction#DELETE}
+     */
+    public Period getPeriod() {
+        return action == CalendarSyncAction.SYNC ? new Period(startDate, endDate, dayLength) : null;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public Instant getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    /**
+     * Replaces the pending action with adding or updating the event for the given absence.
+     *
+     * @param person        the absent person
+     * @param period        of the absence
+     * @param nextAttemptAt the operation is not executed before
+     */
+    void sync(Person person, Period period, Instant nextAttemptAt) {
+        this.action = CalendarSyncAction.SYNC;
+        this.person = person;
+        this.startDate = period.getStartDate();
+        this.endDate = period.getEndDate();
+        this.dayLength = period.getDayLength();
+        this.attempts = 0;
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    /**
+     * Replaces the pending action with deleting the event.
+     *
+     * @param nextAttemptAt the operation is not executed before
+     */
+    void delete(Instant nextAttemptAt) {
+        this.action = CalendarSyncAction.DELETE;
+        this.person = null;
+        this.startDate = null;
+        this.endDate = null;
+        this.dayLength = null;
+        this.attempts = 0;
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    /**
+     * Records a failed attempt to execute this operation.
+     *
+     * @param nextAttemptAt the operation is not executed again before
+     */
+    void failedAttempt(Instant nextAttemptAt) {
+        this.attempts++;
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    @Override
+    public String toString() {
+        return "CalendarSyncOperation{" +
+            "id=" + id +
+            ", absenceId=" + absenceId +
+            ", absenceMappingType=" + absenceMappingType +
+            ", action=" + action +
+            ", attempts=" + attempts +
+            ", nextAttemptAt=" + nextAttemptAt +
+            '}';
+    }
+}
@@ -0,0 +1,39 @@
+package org.synyx.urlaubsverwaltung.calendarintegration;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import org.synyx.urlaubsverwaltung.absence.AbsenceMappingType;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+interface CalendarSyncOperationRepository extends CrudRepository<CalendarSyncOperation, Long> {
+
+    Optional<CalendarSyncOperation> findByAbsenceIdAndAbsenceMappingType(Integer absenceId, AbsenceMappingType absenceMappingType);
+
+    List<CalendarSyncOperation> findByNextAttemptAtLessThanEqualOrderById(Instant now, Pageable pageable);
+
+    List<CalendarSyncOperation> findByAbsenceIdIn(Collection<Integer> absenceIds);
+
+    /**
+     * Claims the given operation by postponing its next attempt, unless the operation has been claimed, executed,
+     * retried or replaced since it was loaded. The version is left alone, so that an operation replaced while being
+     * executed is still detected.
+     *
+     * @param id            of the operation to claim
+     * @param nextAttemptAt the next attempt of the operation as loaded
+     * @param claimedUntil  the next attempt of the operation if it is not executed or retried until then
+     * @return {@code 1} if the operation has been claimed, {@code 0} otherwise
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE CalendarSyncOperation operation SET operation.nextAttemptAt = :claimedUntil " +
+        "WHERE operation.id = :id AND operation.nextAttemptAt = :nextAttemptAt")
+    int claim(@Param("id") Long id, @Param("nextAttemptAt") Instant nextAttemptAt, @Param("claimedUntil") Instant claimedUntil);
+}
@@ -0,0 +1,227 @@
+package org.synyx.urlaubsverwaltung.calendarintegration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties("uv.calendar-sync")
+@Validated
+public class CalendarSyncProperties {
+
+    @Valid
+    private Queue queue = new Queue();
+
+    @Valid
+    private Reconciliation reconciliation = new Reconciliation();
+
+    public Queue getQueue() {
+        return queue;
+    }
+
+    public void setQueue(Queue queue) {
+        this.queue = queue;
+    }
+
+    public Reconciliation getReconciliation() {
+        return reconciliation;
+    }
+
+    public void setReconciliation(Reconciliation reconciliation) {
+        this.reconciliation = reconciliation;
+    }
+
+    public static class Queue {
+
+        /**
+         * Delay between two runs of executing the pending calendar sync operations
+         */
+        @NotNull
+        private Duration dispatchDelay = Duration.ofSeconds(10);
+
+        /**
+         * Maximum number of operations sent to the calendar provider with one batch request
+         */
+        @Min(1)
+        private int batchSize = 50;
+
+        /**
+         * Maximum number of batch requests sent to the calendar provider in parallel
+         */
+        @Min(1)
+        private int workers = 2;
+
+        /**
+         * Number of attempts to execute an operation before it is dropped
+         */
+        @Min(1)
+        private int maxAttempts = 10;
+
+        /**
+         * Delay before the first retry of a failed operation, doubled with every further attempt
+         */
+        @NotNull
+        private Duration retryDelay = Duration.ofMinutes(1);
+
+        /**
+         * Maximum delay between two attempts to execute a failed operation
+         */
+        @NotNull
+        private Duration maxRetryDelay = Duration.ofHours(1);
+
+        /**
+         * Time an instance has to execute the operations it claimed from the queue, afterwards the operations are
+         * executed again by any instance. Has to be longer than executing one batch of operations.
+         */
+        @NotNull
+        private Duration claimDuration = Duration.ofMinutes(10);
+
+        public Duration getDispatchDelay() {
+            return dispatchDelay;
+        }
+
+        public void setDispatchDelay(Duration dispatchDelay) {
+            this.dispatchDelay = dispatchDelay;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getWorkers() {
+            return workers;
+        }
+
+        public void setWorkers(int workers) {
+            this.workers = workers;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public Duration getRetryDelay() {
+            return retryDelay;
+        }
+
+        public void setRetryDelay(Duration retryDelay) {
+            this.retryDelay = retryDelay;
+        }
+
+        public Duration getMaxRetryDelay() {
+            return maxRetryDelay;
+        }
+
+        public void setMaxRetryDelay(Duration maxRetryDelay) {
+            this.maxRetryDelay = maxRetryDelay;
+        }
+
+        public Duration getClaimDuration() {
+            return claimDuration;
+        }
+
+        public void setClaimDuration(Duration claimDuration) {
+            this.claimDuration = claimDuration;
+        }
+    }
+
+    public static class Reconciliation {
+
+        /**
+         * Cron expression of the reconciliation of the calendar with the absence mappings, disabled by default
+         */
+        @NotNull
+        private String cron = "-";
+
+        /**
+         * Only reports the differences between the calendar and the absence mappings instead of repairing them
+         */
+        private boolean dryRun = false;
+
+        /**
+         * Maximum number of absence mappings whose events are listed with one time window
+         */
+        @Min(1)
+        private int pageSize = 100;
+
+        /**
+         * Maximum time between the start dates of the first and the last absence of one time window
+         */
+        @NotNull
+        private Duration windowSpan = Duration.ofDays(31);
+
+        /**
+         * Maximum number of time windows reconciled in parallel
+         */
+        @Min(1)
+        private int workers = 2;
+
+        /**
+         * Time an instance has to reconcile one round of time windows, afterwards the reconciliation may be taken
+         * over by any instance
+         */
+        @NotNull
+        private Duration claimDuration = Duration.ofMinutes(30);
+
+        public String getCron() {
+            return cron;
+        }
+
+        public void setCron(String cron) {
+            this.cron = cron;
+        }
+
+        public boolean isDryRun() {
+            return dryRun;
+        }
+
+        public void setDryRun(boolean dryRun) {
+            this.dryRun = dryRun;
+        }
+
+        public int getPageSize() {
+            return pageSize;
+        }
+
+        public void setPageSize(int pageSize) {
+            this.pageSize = pageSize;
+        }
+
+        public Duration getWindowSpan() {
+            return windowSpan;
+        }
+
+        public void setWindowSpan(Duration windowSpan) {
+            this.windowSpan = windowSpan;
+        }
+
+        public int getWorkers() {
+            return workers;
+        }
+
+        public void setWorkers(int workers) {
+            this.workers = workers;
+        }
+
+        public Duration getClaimDuration() {
+            return claimDuration;
+        }
+
+        public void setClaimDuration(Duration claimDuration) {
+            this.claimDuration = claimDuration;
+        }
+    }
+}
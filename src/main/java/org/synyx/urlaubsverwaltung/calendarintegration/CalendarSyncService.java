@@ -1,40 +1,37 @@
 package org.synyx.urlaubsverwaltung.calendarintegration;
 
-import org.synyx.urlaubsverwaltung.absence.Absence;
-
-import java.util.Optional;
+import org.synyx.urlaubsverwaltung.absence.AbsenceMappingType;
+import org.synyx.urlaubsverwaltung.period.Period;
+import org.synyx.urlaubsverwaltung.person.Person;
 
 
 /**
  * Sync absences with all activated and configured calendar providers.
+ *
+ * <p>Changes of absences are queued within the current transaction and synced with the calendar later on, so the
+ * caller does not wait for the calendar provider. A change replaces a pending change of the same absence.</p>
  */
 @Deprecated(since = "4.0.0", forRemoval = true)
 public interface CalendarSyncService {
 
     /**
-     * Add a person's absence to calendar.
-     *
-     * @param absence represents the absence of a person
-     * @return id of added absence event, may be empty if an error occurred during the calendar sync
-     */
-    Optional<String> addAbsence(Absence absence);
-
-
-    /**
-     * Updates a given event with absence content.
+     * Queues adding a person's absence to calendar, or updating its event if it has already been added.
      *
-     * @param absence represents the updated absence
-     * @param eventId id of event to be updated
+     * @param absenceId          id of the application for leave or the sick note
+     * @param absenceMappingType describes the reason of the absence, either vacation or sick day
+     * @param person             the absent person
+     * @param period             of the absence
      */
-    void update(Absence absence, String eventId);
+    void syncAbsence(Integer absenceId, AbsenceMappingType absenceMappingType, Person person, Period period);
 
 
     /**
-     * Deletes a person's absence in calendar.
+     * Queues deleting a person's absence in calendar, if it has been added.
      *
-     * @param eventId id of absence event, which should be deleted.
+     * @param absenceId          id of the application for leave or the sick note
+     * @param absenceMappingType describes the reason of the absence, either vacation or sick day
      */
-    void deleteAbsence(String eventId);
+    void deleteAbsence(Integer absenceId, AbsenceMappingType absenceMappingType);
 
 
     /**
@@ -3,17 +3,20 @@ package org.synyx.urlaubsverwaltung.calendarintegration;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.synyx.urlaubsverwaltung.absence.Absence;
+import org.synyx.urlaubsverwaltung.absence.AbsenceMappingType;
+import org.synyx.urlaubsverwaltung.period.Period;
+import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.settings.SettingsService;
 
-import java.util.Optional;
+import java.time.Clock;
+import java.time.Instant;
 
 import static java.lang.invoke.MethodHandles.lookup;
 import static org.slf4j.LoggerFactory.getLogger;
 
 
 /**
- * Implementation of {@link CalendarSyncService}.
+ * Implementation of {@link CalendarSyncService}, queueing the changes as {@link CalendarSyncOperation}s.
  */
 @Deprecated(since = "4.0.0", forRemoval = true)
 @Service
@@ -23,28 +26,32 @@ public class CalendarSyncServiceImpl implements CalendarSyncService {
 
     private final SettingsService settingsService;
     private final CalendarService calendarService;
+    private final CalendarSyncOperationRepository calendarSyncOperationRepository;
+    private final Clock clock;
 
     @Autowired
-    public CalendarSyncServiceImpl(SettingsService settingsService, CalendarService calendarService) {
+    public CalendarSyncServiceImpl(SettingsService settingsService, CalendarService calendarService,
+                                   CalendarSyncOperationRepository calendarSyncOperationRepository, Clock clock) {
         this.settingsService = settingsService;
         this.calendarService = calendarService;
+        this.calendarSyncOperationRepository = calendarSyncOperationRepository;
+        this.clock = clock;
 
         LOG.info("The following calendar provider is configured: {}", calendarService.getCalendarProvider().getClass());
     }
 
     @Override
-    public Optional<String> addAbsence(Absence absence) {
-        return calendarService.getCalendarProvider().add(absence, getCalendarSettings());
+    public void syncAbsence(Integer absenceId, AbsenceMappingType absenceMappingType, Person person, Period period) {
+        final CalendarSyncOperation operation = getOperation(absenceId, absenceMappingType);
+        operation.sync(person, period, Instant.now(clock));
+        calendarSyncOperationRepository.save(operation);
     }
 
     @Override
-    public void update(Absence absence, String eventId) {
-        calendarService.getCalendarProvider().update(absence, eventId, getCalendarSettings());
-    }
-
-    @Override
-    public void deleteAbsence(String eventId) {
-        calendarService.getCalendarProvider().delete(eventId, getCalendarSettings());
+    public void deleteAbsence(Integer absenceId, AbsenceMappingType absenceMappingType) {
+        final CalendarSyncOperation operation = getOperation(absenceId, absenceMappingType);
+        operation.delete(Instant.now(clock));
+        calendarSyncOperationRepository.save(operation);
     }
 
     @Override
@@ -52,6 +59,11 @@ public class CalendarSyncServiceImpl implements CalendarSyncService {
         calendarService.getCalendarProvider().checkCalendarSyncSettings(getCalendarSettings());
     }
 
+    private CalendarSyncOperation getOperation(Integer absenceId, AbsenceMappingType absenceMappingType) {
+        return calendarSyncOperationRepository.findByAbsenceIdAndAbsenceMappingType(absenceId, absenceMappingType)
+            .orElseGet(() -> new CalendarSyncOperation(absenceId, absenceMappingType));
+    }
+
     private CalendarSettings getCalendarSettings() {
         return this.settingsService.getSettings().getCalendarSettings();
     }
@@ -0,0 +1,68 @@
+package org.synyx.urlaubsverwaltung.calendarintegration.providers;
+
+import org.synyx.urlaubsverwaltung.absence.Absence;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * An event as listed by a {@link CalendarProvider}.
+ */
+public final class CalendarEvent {
+
+    private final String id;
+    private final Instant start;
+    private final Instant end;
+
+    public CalendarEvent(String id, Instant start, Instant end) {
+        this.id = id;
+        this.start = start;
+        this.end = end;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Instant getStart() {
+        return start;
+    }
+
+    public Instant getEnd() {
+        return end;
+    }
+
+    /**
+     * @param absence to compare this event with
+     * @return {@code true} if this event starts and ends at the same time as the given absence
+     */
+    public boolean isAt(Absence absence) {
+        return start.equals(absence.getStartDate().toInstant()) && end.equals(absence.getEndDate().toInstant());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final CalendarEvent that = (CalendarEvent) o;
+        return Objects.equals(id, that.id) && Objects.equals(start, that.start) && Objects.equals(end, that.end);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, start, end);
+    }
+
+    @Override
+    public String toString() {
+        return "CalendarEvent{" +
+            "id='" + id + '\'' +
+            ", start=" + start +
+            ", end=" + end +
+            '}';
+    }
+}
@@ -3,7 +3,13 @@ package org.synyx.urlaubsverwaltung.calendarintegration.providers;
 import org.synyx.urlaubsverwaltung.absence.Absence;
 import org.synyx.urlaubsverwaltung.calendarintegration.CalendarSettings;
 
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+
+import static java.util.stream.Collectors.toList;
 
 
 /**
@@ -41,6 +47,64 @@ public interface CalendarProvider {
     void delete(String eventId, CalendarSettings calendarSettings);
 
 
+    /**
+     * Adds the absences of persons to calendar with as few requests as the calendar supports. The default
+     * implementation adds one absence after the other.
+     *
+     * @param absences         represent the absences of persons
+     * @param calendarSettings contains configuration for calendar provider
+     * @return ids of the added absence events in the order of the given absences, empty for absences that could not
+     * be added
+     */
+    default List<Optional<String>> addAll(List<Absence> absences, CalendarSettings calendarSettings) {
+        return absences.stream()
+            .map(absence -> add(absence, calendarSettings))
+            .collect(toList());
+    }
+
+
+    /**
+     * Updates the given events with absence content with as few requests as the calendar supports. The default
+     * implementation updates one event after the other and can not detect failed updates.
+     *
+     * @param absencesByEventId the updated absences by the id of the event to be updated
+     * @param calendarSettings  contains configuration for calendar provider
+     * @return ids of the events that could not be updated
+     */
+    default Set<String> updateAll(Map<String, Absence> absencesByEventId, CalendarSettings calendarSettings) {
+        absencesByEventId.forEach((eventId, absence) -> update(absence, eventId, calendarSettings));
+        return Set.of();
+    }
+
+
+    /**
+     * Deletes absence events in calendar with as few requests as the calendar supports. The default implementation
+     * deletes one event after the other and can not detect failed deletions.
+     *
+     * @param eventIds         ids of the absence events, which should be deleted
+     * @param calendarSettings contains configuration for calendar provider
+     * @return ids of the events that could not be deleted
+     */
+    default Set<String> deleteAll(List<String> eventIds, CalendarSettings calendarSettings) {
+        eventIds.forEach(eventId -> delete(eventId, calendarSettings));
+        return Set.of();
+    }
+
+
+    /**
+     * Lists the events of the calendar overlapping the given time window with as few requests as the calendar
+     * supports. The default implementation can not list events.
+     *
+     * @param from             start of the time window, its time zone is used for all-day events
+     * @param to               end of the time window
+     * @param calendarSettings contains configuration for calendar provider
+     * @return the events overlapping the time window, empty if the events could not be listed
+     */
+    default Optional<List<CalendarEvent>> listEvents(ZonedDateTime from, ZonedDateTime to, CalendarSettings calendarSettings) {
+        return Optional.empty();
+    }
+
+
     /**
      * Check the settings for calendar sync.
      *
@@ -2,16 +2,26 @@ package org.synyx.urlaubsverwaltung.calendarintegration.providers.exchange;
 
 import microsoft.exchange.webservices.data.autodiscover.IAutodiscoverRedirectionUrl;
 import microsoft.exchange.webservices.data.core.ExchangeService;
+import microsoft.exchange.webservices.data.core.PropertySet;
+import microsoft.exchange.webservices.data.core.enumeration.service.ServiceResult;
 import microsoft.exchange.webservices.data.core.enumeration.service.SendCancellationsMode;
 import microsoft.exchange.webservices.data.core.enumeration.service.SendInvitationsMode;
 import microsoft.exchange.webservices.data.core.enumeration.service.SendInvitationsOrCancellationsMode;
 import microsoft.exchange.webservices.data.core.service.folder.CalendarFolder;
 import microsoft.exchange.webservices.data.core.service.folder.Folder;
+import microsoft.exchange.webservices.data.core.response.GetItemResponse;
+import microsoft.exchange.webservices.data.core.response.ServiceResponse;
+import microsoft.exchange.webservices.data.core.response.ServiceResponseCollection;
+import microsoft.exchange.webservices.data.core.response.UpdateItemResponse;
 import microsoft.exchange.webservices.data.core.service.item.Appointment;
+import microsoft.exchange.webservices.data.core.service.item.Item;
 import microsoft.exchange.webservices.data.credential.WebCredentials;
+import microsoft.exchange.webservices.data.property.complex.FolderId;
 import microsoft.exchange.webservices.data.property.complex.ItemId;
 import microsoft.exchange.webservices.data.property.complex.time.OlsonTimeZoneDefinition;
+import microsoft.exchange.webservices.data.search.CalendarView;
 import microsoft.exchange.webservices.data.search.FindFoldersResults;
+import microsoft.exchange.webservices.data.search.FindItemsResults;
 import microsoft.exchange.webservices.data.search.FolderView;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,19 +31,28 @@ import org.synyx.urlaubsverwaltung.calendarintegration.CalendarMailService;
 import org.synyx.urlaubsverwaltung.calendarintegration.CalendarNotCreatedException;
 import org.synyx.urlaubsverwaltung.calendarintegration.CalendarSettings;
 import org.synyx.urlaubsverwaltung.calendarintegration.ExchangeCalendarSettings;
+import org.synyx.urlaubsverwaltung.calendarintegration.providers.CalendarEvent;
 import org.synyx.urlaubsverwaltung.calendarintegration.providers.CalendarProvider;
 import org.synyx.urlaubsverwaltung.person.Person;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.net.URI;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static java.lang.Integer.MAX_VALUE;
 import static java.lang.String.format;
 import static java.lang.invoke.MethodHandles.lookup;
 import static java.util.Date.from;
 import static java.util.TimeZone.getTimeZone;
+import static microsoft.exchange.webservices.data.core.enumeration.misc.error.ServiceError.ErrorItemNotFound;
 import static microsoft.exchange.webservices.data.core.enumeration.property.WellKnownFolderName.Calendar;
 import static microsoft.exchange.webservices.data.core.enumeration.service.ConflictResolutionMode.AutoResolve;
 import static microsoft.exchange.webservices.data.core.enumeration.service.DeleteMode.HardDelete;
@@ -50,6 +69,11 @@ public class ExchangeCalendarProvider implements CalendarProvider {
 
     private static final Logger LOG = getLogger(lookup().lookupClass());
 
+    /**
+     * Maximum number of appointments listed with one calendar view.
+     */
+    private static final int MAX_LISTED_APPOINTMENTS = 1000;
+
     private final ExchangeService exchangeService;
     private final ExchangeFactory exchangeFactory;
     private final CalendarMailService calendarMailService;
@@ -103,7 +127,7 @@ public class ExchangeCalendarProvider implements CalendarProvider {
         return Optional.empty();
     }
 
-    private void connectToExchange(ExchangeCalendarSettings settings) {
+    private synchronized void connectToExchange(ExchangeCalendarSettings settings) {
 
         final String email = settings.getEmail();
         final String password = settings.getPassword();
@@ -260,6 +284,201 @@ public class ExchangeCalendarProvider implements CalendarProvider {
         }
     }
 
+    @Override
+    public List<Optional<String>> addAll(List<Absence> absences, CalendarSettings calendarSettings) {
+
+        final List<Optional<String>> eventIds = new ArrayList<>(Collections.nCopies(absences.size(), Optional.empty()));
+
+        final ExchangeCalendarSettings exchangeCalendarSettings = calendarSettings.getExchangeCalendarSettings();
+        final String calendarName = exchangeCalendarSettings.getCalendar();
+        connectToExchange(exchangeCalendarSettings);
+
+        try {
+            final List<Item> appointments = new ArrayList<>();
+            for (Absence absence : absences) {
+                final Appointment appointment = exchangeFactory.getNewAppointment(exchangeService);
+                fillAppointment(absence, appointment, exchangeCalendarSettings.getTimeZoneId());
+                appointments.add(appointment);
+            }
+
+            SendInvitationsMode invitationsMode = SendToNone;
+            if (exchangeCalendarSettings.isSendInvitationActive()) {
+                invitationsMode = SendToAllAndSaveCopy;
+            }
+
+            final FolderId calendarFolderId = calendarName.isEmpty() ? null : findOrCreateCalendar(calendarName).getId();
+            final ServiceResponseCollection<ServiceResponse> responses =
+                exchangeService.createItems(appointments, calendarFolderId, null, invitationsMode);
+
+            for (int index = 0; index < absences.size(); index++) {
+                final Absence absence = absences.get(index);
+                final ServiceResponse response = responses.getResponseAtIndex(index);
+                if (response.getResult() == ServiceResult.Error) {
+                    LOG.warn("An error occurred while trying to add appointment to Exchange calendar: {}", response.getErrorMessage());
+                    calendarMailService.sendCalendarSyncErrorNotification(calendarName, absence, response.getErrorMessage());
+                } else {
+                    final ItemId appointmentId = appointments.get(index).getId();
+                    LOG.info("Appointment {} for '{}' added to exchange calendar '{}'.", appointmentId,
+                        absence.getPerson().getId(), calendarName);
+                    eventIds.set(index, Optional.ofNullable(appointmentId.getUniqueId()));
+                }
+            }
+        } catch (Exception ex) { // NOSONAR - EWS Java API throws Exception, that's life
+            LOG.warn("An error occurred while trying to add appointments to Exchange calendar");
+            for (int index = 0; index < absences.size(); index++) {
+                if (eventIds.get(index).isEmpty()) {
+                    calendarMailService.sendCalendarSyncErrorNotification(calendarName, absences.get(index), getStackTrace(ex));
+                }
+            }
+        }
+
+        return eventIds;
+    }
+
+    @Override
+    public Set<String> updateAll(Map<String, Absence> absencesByEventId, CalendarSettings calendarSettings) {
+
+        final List<String> eventIds = new ArrayList<>(absencesByEventId.keySet());
+        final Set<String> failedEventIds = new HashSet<>(eventIds);
+
+        final ExchangeCalendarSettings exchangeCalendarSettings = calendarSettings.getExchangeCalendarSettings();
+        final String calendarName = exchangeCalendarSettings.getCalendar();
+        connectToExchange(exchangeCalendarSettings);
+
+        try {
+            final ServiceResponseCollection<GetItemResponse> bindResponses =
+                exchangeService.bindToItems(toItemIds(eventIds), PropertySet.getFirstClassProperties());
+
+            final List<Item> appointments = new ArrayList<>();
+            final List<String> boundEventIds = new ArrayList<>();
+            for (int index = 0; index < eventIds.size(); index++) {
+                final String eventId = eventIds.get(index);
+                final GetItemResponse bindResponse = bindResponses.getResponseAtIndex(index);
+                if (bindResponse.getResult() == ServiceResult.Error) {
+                    LOG.warn("Could not update appointment {} in exchange calendar '{}': {}", eventId, calendarName, bindResponse.getErrorMessage());
+                    calendarMailService.sendCalendarUpdateErrorNotification(calendarName, absencesByEventId.get(eventId), eventId, bindResponse.getErrorMessage());
+                } else {
+                    final Appointment appointment = (Appointment) bindResponse.getItem();
+                    fillAppointment(absencesByEventId.get(eventId), appointment, exchangeCalendarSettings.getTimeZoneId());
+                    appointments.add(appointment);
+                    boundEventIds.add(eventId);
+                }
+            }
+
+            if (!appointments.isEmpty()) {
+                SendInvitationsOrCancellationsMode notificationMode = SendInvitationsOrCancellationsMode.SendToNone;
+                if (exchangeCalendarSettings.isSendInvitationActive()) {
+                    notificationMode = SendInvitationsOrCancellationsMode.SendToAllAndSaveCopy;
+                }
+
+                final ServiceResponseCollection<UpdateItemResponse> updateResponses =
+                    exchangeService.updateItems(appointments, null, AutoResolve, null, notificationMode);
+
+                for (int index = 0; index < boundEventIds.size(); index++) {
+                    final String eventId = boundEventIds.get(index);
+                    final UpdateItemResponse updateResponse = updateResponses.getResponseAtIndex(index);
+                    if (updateResponse.getResult() == ServiceResult.Error) {
+                        LOG.warn("Could not update appointment {} in exchange calendar '{}': {}", eventId, calendarName, updateResponse.getErrorMessage());
+                        calendarMailService.sendCalendarUpdateErrorNotification(calendarName, absencesByEventId.get(eventId), eventId, updateResponse.getErrorMessage());
+                    } else {
+                        LOG.info("Appointment {} has been updated in exchange calendar '{}'.", eventId, calendarName);
+                        failedEventIds.remove(eventId);
+                    }
+                }
+            }
+        } catch (Exception ex) { // NOSONAR - EWS Java API throws Exception, that's life
+            LOG.warn("Could not update appointments {} in exchange calendar '{}'", failedEventIds, calendarName);
+            for (String eventId : failedEventIds) {
+                calendarMailService.sendCalendarUpdateErrorNotification(calendarName, absencesByEventId.get(eventId), eventId, getStackTrace(ex));
+            }
+        }
+
+        return failedEventIds;
+    }
+
+    /**
+     * Appointments that do not exist (anymore) count as deleted, so that a repeated deletion succeeds.
+     */
+    @Override
+    public Set<String> deleteAll(List<String> eventIds, CalendarSettings calendarSettings) {
+
+        final Set<String> failedEventIds = new HashSet<>(eventIds);
+
+        final ExchangeCalendarSettings exchangeCalendarSettings = calendarSettings.getExchangeCalendarSettings();
+        final String calendarName = exchangeCalendarSettings.getCalendar();
+        connectToExchange(exchangeCalendarSettings);
+
+        try {
+            SendCancellationsMode notificationMode = SendCancellationsMode.SendToNone;
+            if (exchangeCalendarSettings.isSendInvitationActive()) {
+                notificationMode = SendCancellationsMode.SendToAllAndSaveCopy;
+            }
+
+            final ServiceResponseCollection<ServiceResponse> responses =
+                exchangeService.deleteItems(toItemIds(eventIds), HardDelete, notificationMode, null);
+
+            for (int index = 0; index < eventIds.size(); index++) {
+                final String eventId = eventIds.get(index);
+                final ServiceResponse response = responses.getResponseAtIndex(index);
+                if (response.getResult() == ServiceResult.Error && response.getErrorCode() != ErrorItemNotFound) {
+                    LOG.warn("Could not delete appointment {} in exchange calendar '{}': {}", eventId, calendarName, response.getErrorMessage());
+                    calendarMailService.sendCalendarDeleteErrorNotification(calendarName, eventId, response.getErrorMessage());
+                } else {
+                    LOG.info("Appointment {} has been deleted in exchange calendar '{}'.", eventId, calendarName);
+                    failedEventIds.remove(eventId);
+                }
+            }
+        } catch (Exception ex) { // NOSONAR - EWS Java API throws Exception, that's life
+            LOG.warn("Could not delete appointments {} in exchange calendar '{}'", failedEventIds, calendarName);
+            for (String eventId : failedEventIds) {
+                calendarMailService.sendCalendarDeleteErrorNotification(calendarName, eventId, getStackTrace(ex));
+            }
+        }
+
+        return failedEventIds;
+    }
+
+    private static List<ItemId> toItemIds(List<String> eventIds) throws Exception { // NOSONAR - EWS Java API throws Exception, that's life
+        final List<ItemId> itemIds = new ArrayList<>();
+        for (String eventId : eventIds) {
+            itemIds.add(new ItemId(eventId));
+        }
+        return itemIds;
+    }
+
+    /**
+     * Lists the appointments with one calendar view, which can not be paged. The listing fails if the time window
+     * contains more than {@value #MAX_LISTED_APPOINTMENTS} appointments.
+     */
+    @Override
+    public Optional<List<CalendarEvent>> listEvents(ZonedDateTime from, ZonedDateTime to, CalendarSettings calendarSettings) {
+
+        final ExchangeCalendarSettings exchangeCalendarSettings = calendarSettings.getExchangeCalendarSettings();
+        final String calendarName = exchangeCalendarSettings.getCalendar();
+        connectToExchange(exchangeCalendarSettings);
+
+        try {
+            final FolderId calendarFolderId = calendarName.isEmpty() ? new FolderId(Calendar) : findOrCreateCalendar(calendarName).getId();
+            final CalendarView calendarView = new CalendarView(from(from.toInstant()), from(to.toInstant()), MAX_LISTED_APPOINTMENTS);
+            final FindItemsResults<Appointment> appointments = exchangeService.findAppointments(calendarFolderId, calendarView);
+
+            if (appointments.isMoreAvailable()) {
+                LOG.warn("More than {} appointments between {} and {} in exchange calendar '{}', could not list them",
+                    MAX_LISTED_APPOINTMENTS, from, to, calendarName);
+                return Optional.empty();
+            }
+
+            final List<CalendarEvent> events = new ArrayList<>();
+            for (Appointment appointment : appointments) {
+                events.add(new CalendarEvent(appointment.getId().getUniqueId(), appointment.getStart().toInstant(), appointment.getEnd().toInstant()));
+            }
+            return Optional.of(events);
+        } catch (Exception ex) { // NOSONAR - EWS Java API throws Exception, that's life
+            LOG.warn("Could not list appointments between {} and {} in exchange calendar '{}'", from, to, calendarName, ex);
+            return Optional.empty();
+        }
+    }
+
     @Override
     public void checkCalendarSyncSettings(CalendarSettings calendarSettings) {
         connectToExchange(calendarSettings.getExchangeCalendarSettings());
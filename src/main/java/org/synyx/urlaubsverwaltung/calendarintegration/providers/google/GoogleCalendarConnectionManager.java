@@ -0,0 +1,201 @@
+package org.synyx.urlaubsverwaltung.calendarintegration.providers.google;
+
+import com.google.api.client.auth.oauth2.BearerToken;
+import com.google.api.client.auth.oauth2.Credential;
+import com.google.api.client.auth.oauth2.TokenResponse;
+import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
+import com.google.api.client.http.BasicAuthentication;
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.json.jackson2.JacksonFactory;
+import com.google.api.services.calendar.Calendar;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.synyx.urlaubsverwaltung.calendarintegration.GoogleCalendarSettings;
+import org.synyx.urlaubsverwaltung.settings.SettingsService;
+import org.synyx.urlaubsverwaltung.settings.SettingsUpdatedEvent;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.Optional;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Keeps one authenticated Google calendar client, so that the HTTP transport and the credential are not built again
+ * for every request to the calendar.
+ *
+ * <p>The access token is refreshed shortly before it expires, so that concurrent requests do not have to wait for a
+ * refresh within a request. The client is only built again after the {@link GoogleCalendarSettings} changed.</p>
+ */
+@Component
+public class GoogleCalendarConnectionManager {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    private static final String METRIC_TOKEN_REFRESHES = "calendar.google.token.refreshes";
+
+    private static final JsonFactory JSON_FACTORY = JacksonFactory.getDefaultInstance();
+    private static final String APPLICATION_NAME = "Urlaubsverwaltung";
+    private static final String GOOGLEAPIS_OAUTH2_V4_TOKEN = "https://www.googleapis.com/oauth2/v4/token";
+
+    /**
+     * Access tokens expiring within this number of seconds are refreshed before the connection is handed out.
+     */
+    static final long TOKEN_REFRESH_AHEAD_SECONDS = 300;
+
+    private final SettingsService settingsService;
+    private final Counter refreshedTokens;
+    private final Counter failedTokenRefreshes;
+
+    private HttpTransport httpTransport;
+    private Connection connection;
+
+    @Autowired
+    public GoogleCalendarConnectionManager(SettingsService settingsService, MeterRegistry meterRegistry) {
+        this(settingsService, meterRegistry, null);
+    }
+
+    GoogleCalendarConnectionManager(SettingsService settingsService, MeterRegistry meterRegistry, HttpTransport httpTransport) {
+        this.settingsService = settingsService;
+        this.httpTransport = httpTransport;
+        this.refreshedTokens = Counter.builder(METRIC_TOKEN_REFRESHES).tag("result", "success").register(meterRegistry);
+        this.failedTokenRefreshes = Counter.builder(METRIC_TOKEN_REFRESHES).tag("result", "failure").register(meterRegistry);
+    }
+
+    /**
+     * Returns the connection to the configured Google calendar, building it on first use. The access token of the
+     * connection is refreshed if it expires soon.
+     *
+     * @return the connection or an empty optional if it cannot be built, e.g. because there is no refresh token yet
+     */
+    public synchronized Optional<Connection> getConnection() {
+
+        if (connection == null) {
+            connection = createConnection();
+            if (connection == null) {
+                return Optional.empty();
+            }
+        }
+
+        refreshTokenIfExpiring(connection.getCredential());
+
+        return Optional.of(connection);
+    }
+
+    @EventListener
+    public synchronized void handleSettingsUpdated(SettingsUpdatedEvent event) {
+
+        final GoogleCalendarSettings googleCalendarSettings = event.getSettings().getCalendarSettings().getGoogleCalendarSettings();
+        if (connection != null && !connection.isBuiltFrom(googleCalendarSettings)) {
+            LOG.info("Google calendar settings changed, dropping google calendar client");
+            connection = null;
+        }
+    }
+
+    private Connection createConnection() {
+
+        final GoogleCalendarSettings googleCalendarSettings = copyOf(settingsService.getSettings().getCalendarSettings().getGoogleCalendarSettings());
+        if (googleCalendarSettings.getRefreshToken() == null) {
+            LOG.warn("No refresh token for google calendar '{}' configured", googleCalendarSettings.getCalendarId());
+            return null;
+        }
+
+        if (httpTransport == null) {
+            try {
+                httpTransport = GoogleNetHttpTransport.newTrustedTransport();
+            } catch (GeneralSecurityException | IOException e) {
+                LOG.error("Could not create http transport for google calendar", e);
+                return null;
+            }
+        }
+
+        LOG.info("create new googleCalendarClient");
+
+        final TokenResponse tokenResponse = new TokenResponse();
+        tokenResponse.setRefreshToken(googleCalendarSettings.getRefreshToken());
+
+        final Credential credential = new Credential.Builder(BearerToken.authorizationHeaderAccessMethod())
+            .setTransport(httpTransport)
+            .setJsonFactory(JSON_FACTORY)
+            .setTokenServerUrl(new GenericUrl(GOOGLEAPIS_OAUTH2_V4_TOKEN))
+            .setClientAuthentication(new BasicAuthentication(googleCalendarSettings.getClientId(), googleCalendarSettings.getClientSecret()))
+            .build()
+            .setFromTokenResponse(tokenResponse);
+
+        final Calendar client = new Calendar.Builder(httpTransport, JSON_FACTORY, credential)
+            .setApplicationName(APPLICATION_NAME)
+            .build();
+
+        return new Connection(client, credential, googleCalendarSettings);
+    }
+
+    private void refreshTokenIfExpiring(Credential credential) {
+
+        final Long expiresInSeconds = credential.getExpiresInSeconds();
+        if (credential.getAccessToken() != null && (expiresInSeconds == null || expiresInSeconds > TOKEN_REFRESH_AHEAD_SECONDS)) {
+            return;
+        }
+
+        try {
+            if (credential.refreshToken()) {
+                LOG.debug("Refreshed access token of google calendar client");
+                refreshedTokens.increment();
+                return;
+            }
+            LOG.warn("Could not refresh access token of google calendar client");
+        } catch (IOException e) {
+            LOG.warn("Could not refresh access token of google calendar client", e);
+        }
+
+        // the credential tries again with the next request
+        failedTokenRefreshes.increment();
+    }
+
+    private static GoogleCalendarSettings copyOf(GoogleCalendarSettings googleCalendarSettings) {
+        final GoogleCalendarSettings copy = new GoogleCalendarSettings();
+        copy.setClientId(googleCalendarSettings.getClientId());
+        copy.setClientSecret(googleCalendarSettings.getClientSecret());
+        copy.setCalendarId(googleCalendarSettings.getCalendarId());
+        copy.setRefreshToken(googleCalendarSettings.getRefreshToken());
+        return copy;
+    }
+
+    /**
+     * An authenticated client for the Google calendar it was built for.
+     */
+    public static final class Connection {
+
+        private final Calendar client;
+        private final Credential credential;
+        private final GoogleCalendarSettings googleCalendarSettings;
+
+        private Connection(Calendar client, Credential credential, GoogleCalendarSettings googleCalendarSettings) {
+            this.client = client;
+            this.credential = credential;
+            this.googleCalendarSettings = googleCalendarSettings;
+        }
+
+        public Calendar getClient() {
+            return client;
+        }
+
+        public String getCalendarId() {
+            return googleCalendarSettings.getCalendarId();
+        }
+
+        Credential getCredential() {
+            return credential;
+        }
+
+        boolean isBuiltFrom(GoogleCalendarSettings googleCalendarSettings) {
+            return this.googleCalendarSettings.equals(googleCalendarSettings);
+        }
+    }
+}
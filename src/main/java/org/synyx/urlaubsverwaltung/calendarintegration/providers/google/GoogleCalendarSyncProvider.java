@@ -1,37 +1,42 @@
 package org.synyx.urlaubsverwaltung.calendarintegration.providers.google;
 
-import com.google.api.client.auth.oauth2.BearerToken;
-import com.google.api.client.auth.oauth2.Credential;
-import com.google.api.client.auth.oauth2.TokenResponse;
-import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
-import com.google.api.client.http.BasicAuthentication;
-import com.google.api.client.http.GenericUrl;
+import com.google.api.client.googleapis.batch.BatchRequest;
+import com.google.api.client.googleapis.batch.json.JsonBatchCallback;
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.http.HttpHeaders;
 import com.google.api.client.http.HttpResponse;
-import com.google.api.client.http.HttpTransport;
-import com.google.api.client.http.javanet.NetHttpTransport;
-import com.google.api.client.json.JsonFactory;
-import com.google.api.client.json.jackson2.JacksonFactory;
 import com.google.api.client.util.DateTime;
 import com.google.api.services.calendar.Calendar;
 import com.google.api.services.calendar.model.Event;
 import com.google.api.services.calendar.model.EventAttendee;
 import com.google.api.services.calendar.model.EventDateTime;
+import com.google.api.services.calendar.model.Events;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.synyx.urlaubsverwaltung.absence.Absence;
 import org.synyx.urlaubsverwaltung.calendarintegration.CalendarMailService;
 import org.synyx.urlaubsverwaltung.calendarintegration.CalendarSettings;
-import org.synyx.urlaubsverwaltung.calendarintegration.GoogleCalendarSettings;
+import org.synyx.urlaubsverwaltung.calendarintegration.providers.CalendarEvent;
 import org.synyx.urlaubsverwaltung.calendarintegration.providers.CalendarProvider;
-import org.synyx.urlaubsverwaltung.settings.SettingsService;
 
 import java.io.IOException;
-import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static java.lang.invoke.MethodHandles.lookup;
 import static org.apache.http.HttpStatus.SC_OK;
@@ -42,80 +47,44 @@ import static org.slf4j.LoggerFactory.getLogger;
 public class GoogleCalendarSyncProvider implements CalendarProvider {
 
     private static final String DATE_PATTERN_YYYY_MM_DD = "yyyy-MM-dd";
-    /**
-     * Global instance of the JSON factory.
-     */
-    private static final JsonFactory JSON_FACTORY = JacksonFactory.getDefaultInstance();
     private static final Logger LOG = getLogger(lookup().lookupClass());
 
-    private static final String APPLICATION_NAME = "Urlaubsverwaltung";
-    private static final String GOOGLEAPIS_OAUTH2_V4_TOKEN = "https://www.googleapis.com/oauth2/v4/token";
-    private final CalendarMailService calendarMailService;
-    private final SettingsService settingsService;
-    private Calendar googleCalendarClient;
-    private int refreshTokenHashCode;
-
-    @Autowired
-    public GoogleCalendarSyncProvider(CalendarMailService calendarMailService, SettingsService settingsService) {
-        this.calendarMailService = calendarMailService;
-
-        this.settingsService = settingsService;
-    }
+    private static final String METRIC_REQUESTS = "calendar.google.requests";
+    private static final String METRIC_ERRORS = "calendar.google.errors";
 
     /**
-     * Build and return an authorized google calendar client.
-     *
-     * @return an authorized calendar client service
+     * Maximum number of requests in one batch request as recommended by Google.
      */
-    private com.google.api.services.calendar.Calendar getOrCreateGoogleCalendarClient() {
-
-        String refreshToken =
-            settingsService.getSettings().getCalendarSettings().getGoogleCalendarSettings().getRefreshToken();
-
-        if (googleCalendarClient != null &&
-            refreshToken != null &&
-            refreshTokenHashCode == refreshToken.hashCode()) {
-            LOG.debug("use cached googleCalendarClient");
-            return googleCalendarClient;
-        }
-        try {
-            LOG.info("create new googleCalendarClient");
-
-            if (refreshToken != null) {
-                refreshTokenHashCode = refreshToken.hashCode();
-            }
-
-            NetHttpTransport httpTransport = GoogleNetHttpTransport.newTrustedTransport();
-            TokenResponse tokenResponse = new TokenResponse();
-            tokenResponse.setRefreshToken(refreshToken);
-
-            Credential credential = createCredentialWithRefreshToken(httpTransport, JSON_FACTORY, tokenResponse);
-
-            return new com.google.api.services.calendar.Calendar.Builder(
-                httpTransport, JSON_FACTORY, credential).setApplicationName(APPLICATION_NAME).build();
-
-        } catch (GeneralSecurityException | IOException e) {
-            LOG.error("Something went wrong!", e);
-        }
+    private static final int MAX_BATCH_SIZE = 50;
+    /**
+     * Maximum number of events listed with one request as allowed by Google.
+     */
+    private static final int MAX_LIST_RESULTS = 2500;
+    private final CalendarMailService calendarMailService;
+    private final GoogleCalendarConnectionManager connectionManager;
+    private final MeterRegistry meterRegistry;
 
-        return null;
+    @Autowired
+    public GoogleCalendarSyncProvider(CalendarMailService calendarMailService, GoogleCalendarConnectionManager connectionManager,
+                                      MeterRegistry meterRegistry) {
+        this.calendarMailService = calendarMailService;
+        this.connectionManager = connectionManager;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
     public Optional<String> add(Absence absence, CalendarSettings calendarSettings) {
 
-        googleCalendarClient = getOrCreateGoogleCalendarClient();
-
-        if (googleCalendarClient != null) {
-            GoogleCalendarSettings googleCalendarSettings =
-                settingsService.getSettings().getCalendarSettings().getGoogleCalendarSettings();
-            String calendarId = googleCalendarSettings.getCalendarId();
+        final Optional<GoogleCalendarConnectionManager.Connection> connection = connectionManager.getConnection();
+        if (connection.isPresent()) {
+            final Calendar client = connection.get().getClient();
+            final String calendarId = connection.get().getCalendarId();
 
             try {
                 Event eventToCommit = new Event();
                 fillEvent(absence, eventToCommit);
 
-                Event eventInCalendar = googleCalendarClient.events().insert(calendarId, eventToCommit).execute();
+                Event eventInCalendar = execute("insert", client.events().insert(calendarId, eventToCommit)::execute);
 
                 LOG.info("Event {} for '{}' added to google calendar '{}'.", eventInCalendar.getId(),
                     absence.getPerson().getId(), calendarId);
@@ -124,6 +93,7 @@ public class GoogleCalendarSyncProvider implements CalendarProvider {
 
             } catch (IOException ex) {
                 LOG.warn("An error occurred while trying to add appointment to calendar {}", calendarId, ex);
+                failed("insert");
                 calendarMailService.sendCalendarSyncErrorNotification(calendarId, absence, ex.toString());
             }
         }
@@ -133,26 +103,25 @@ public class GoogleCalendarSyncProvider implements CalendarProvider {
     @Override
     public void update(Absence absence, String eventId, CalendarSettings calendarSettings) {
 
-        googleCalendarClient = getOrCreateGoogleCalendarClient();
-
-        if (googleCalendarClient != null) {
-
-            String calendarId =
-                settingsService.getSettings().getCalendarSettings().getGoogleCalendarSettings().getCalendarId();
+        final Optional<GoogleCalendarConnectionManager.Connection> connection = connectionManager.getConnection();
+        if (connection.isPresent()) {
+            final Calendar client = connection.get().getClient();
+            final String calendarId = connection.get().getCalendarId();
 
             try {
                 // gather exiting event
-                Event event = googleCalendarClient.events().get(calendarId, eventId).execute();
+                Event event = execute("get", client.events().get(calendarId, eventId)::execute);
 
                 // update event with absence
                 fillEvent(absence, event);
 
                 // sync event to calendar
-                googleCalendarClient.events().patch(calendarId, eventId, event).execute();
+                execute("patch", client.events().patch(calendarId, eventId, event)::execute);
 
                 LOG.info("Event {} has been updated in calendar '{}'.", eventId, calendarId);
             } catch (IOException ex) {
                 LOG.warn("Could not update event {} in calendar '{}'.", eventId, calendarId, ex);
+                failed("patch");
                 calendarMailService.sendCalendarUpdateErrorNotification(calendarId, absence, eventId, ex.getMessage());
             }
         }
@@ -161,34 +130,203 @@ public class GoogleCalendarSyncProvider implements CalendarProvider {
     @Override
     public void delete(String eventId, CalendarSettings calendarSettings) {
 
-        googleCalendarClient = getOrCreateGoogleCalendarClient();
-
-        if (googleCalendarClient != null) {
-
-            String calendarId =
-                settingsService.getSettings().getCalendarSettings().getGoogleCalendarSettings().getCalendarId();
+        final Optional<GoogleCalendarConnectionManager.Connection> connection = connectionManager.getConnection();
+        if (connection.isPresent()) {
+            final Calendar client = connection.get().getClient();
+            final String calendarId = connection.get().getCalendarId();
 
             try {
-                googleCalendarClient.events().delete(calendarId, eventId).execute();
+                execute("delete", client.events().delete(calendarId, eventId)::execute);
 
                 LOG.info("Event {} has been deleted in calendar '{}'.", eventId, calendarId);
             } catch (IOException ex) {
                 LOG.warn("Could not delete event {} in calendar '{}'", eventId, calendarId, ex);
+                failed("delete");
                 calendarMailService.sendCalendarDeleteErrorNotification(calendarId, eventId, ex.getMessage());
             }
         }
     }
 
+    @Override
+    public List<Optional<String>> addAll(List<Absence> absences, CalendarSettings calendarSettings) {
+
+        final List<Optional<String>> eventIds = new ArrayList<>(Collections.nCopies(absences.size(), Optional.empty()));
+
+        final Optional<GoogleCalendarConnectionManager.Connection> connection = connectionManager.getConnection();
+        if (connection.isPresent()) {
+            final Calendar client = connection.get().getClient();
+            final String calendarId = connection.get().getCalendarId();
+
+            executeInBatches(client, absences.size(), (batch, index) -> {
+                final Absence absence = absences.get(index);
+                final Event eventToCommit = new Event();
+                fillEvent(absence, eventToCommit);
+
+                client.events().insert(calendarId, eventToCommit).queue(batch, new JsonBatchCallback<>() {
+                    @Override
+                    public void onSuccess(Event eventInCalendar, HttpHeaders responseHeaders) {
+                        LOG.info("Event {} for '{}' added to google calendar '{}'.", eventInCalendar.getId(),
+                            absence.getPerson().getId(), calendarId);
+                        eventIds.set(index, Optional.of(eventInCalendar.getId()));
+                    }
+
+                    @Override
+                    public void onFailure(GoogleJsonError error, HttpHeaders responseHeaders) {
+                        LOG.warn("An error occurred while trying to add appointment to calendar {}: {}", calendarId, error.getMessage());
+                        failed("insert");
+                        calendarMailService.sendCalendarSyncErrorNotification(calendarId, absence, error.getMessage());
+                    }
+                });
+            }, (index, ex) -> {
+                if (eventIds.get(index).isEmpty()) {
+                    LOG.warn("An error occurred while trying to add appointment to calendar {}", calendarId, ex);
+                    failed("insert");
+                    calendarMailService.sendCalendarSyncErrorNotification(calendarId, absences.get(index), ex.toString());
+                }
+            });
+        }
+
+        return eventIds;
+    }
+
+    /**
+     * Patches the events with the absence content instead of reading them first as {@link #update} does, so that
+     * every event is updated with a single request.
+     */
+    @Override
+    public Set<String> updateAll(Map<String, Absence> absencesByEventId, CalendarSettings calendarSettings) {
+
+        final List<String> eventIds = new ArrayList<>(absencesByEventId.keySet());
+        final Set<String> failedEventIds = new HashSet<>(eventIds);
+
+        final Optional<GoogleCalendarConnectionManager.Connection> connection = connectionManager.getConnection();
+        if (connection.isPresent()) {
+            final Calendar client = connection.get().getClient();
+            final String calendarId = connection.get().getCalendarId();
+
+            executeInBatches(client, eventIds.size(), (batch, index) -> {
+                final String eventId = eventIds.get(index);
+                final Absence absence = absencesByEventId.get(eventId);
+                final Event event = new Event();
+                fillEvent(absence, event);
+
+                client.events().patch(calendarId, eventId, event).queue(batch, new JsonBatchCallback<>() {
+                    @Override
+                    public void onSuccess(Event eventInCalendar, HttpHeaders responseHeaders) {
+                        LOG.info("Event {} has been updated in calendar '{}'.", eventId, calendarId);
+                        failedEventIds.remove(eventId);
+                    }
+
+                    @Override
+                    public void onFailure(GoogleJsonError error, HttpHeaders responseHeaders) {
+                        LOG.warn("Could not update event {} in calendar '{}': {}", eventId, calendarId, error.getMessage());
+                        failed("patch");
+                        calendarMailService.sendCalendarUpdateErrorNotification(calendarId, absence, eventId, error.getMessage());
+                    }
+                });
+            }, (index, ex) -> {
+                final String eventId = eventIds.get(index);
+                if (failedEventIds.contains(eventId)) {
+                    LOG.warn("Could not update event {} in calendar '{}'.", eventId, calendarId, ex);
+                    failed("patch");
+                    calendarMailService.sendCalendarUpdateErrorNotification(calendarId, absencesByEventId.get(eventId), eventId, ex.getMessage());
+                }
+            });
+        }
+
+        return failedEventIds;
+    }
+
+    @Override
+    public Set<String> deleteAll(List<String> eventIds, CalendarSettings calendarSettings) {
+
+        final Set<String> failedEventIds = new HashSet<>(eventIds);
+
+        final Optional<GoogleCalendarConnectionManager.Connection> connection = connectionManager.getConnection();
+        if (connection.isPresent()) {
+            final Calendar client = connection.get().getClient();
+            final String calendarId = connection.get().getCalendarId();
+
+            executeInBatches(client, eventIds.size(), (batch, index) -> {
+                final String eventId = eventIds.get(index);
+
+                client.events().delete(calendarId, eventId).queue(batch, new JsonBatchCallback<>() {
+                    @Override
+                    public void onSuccess(Void content, HttpHeaders responseHeaders) {
+                        LOG.info("Event {} has been deleted in calendar '{}'.", eventId, calendarId);
+                        failedEventIds.remove(eventId);
+                    }
+
+                    @Override
+                    public void onFailure(GoogleJsonError error, HttpHeaders responseHeaders) {
+                        LOG.warn("Could not delete event {} in calendar '{}': {}", eventId, calendarId, error.getMessage());
+                        failed("delete");
+                        calendarMailService.sendCalendarDeleteErrorNotification(calendarId, eventId, error.getMessage());
+                    }
+                });
+            }, (index, ex) -> {
+                final String eventId = eventIds.get(index);
+                if (failedEventIds.contains(eventId)) {
+                    LOG.warn("Could not delete event {} in calendar '{}'", eventId, calendarId, ex);
+                    failed("delete");
+                    calendarMailService.sendCalendarDeleteErrorNotification(calendarId, eventId, ex.getMessage());
+                }
+            });
+        }
+
+        return failedEventIds;
+    }
+
+    /**
+     * Lists the events page by page with at most {@value #MAX_LIST_RESULTS} events per request. Recurring events are
+     * expanded into single events.
+     */
+    @Override
+    public Optional<List<CalendarEvent>> listEvents(ZonedDateTime from, ZonedDateTime to, CalendarSettings calendarSettings) {
+
+        final Optional<GoogleCalendarConnectionManager.Connection> connection = connectionManager.getConnection();
+        if (connection.isEmpty()) {
+            return Optional.empty();
+        }
+
+        final Calendar client = connection.get().getClient();
+        final String calendarId = connection.get().getCalendarId();
+
+        final List<CalendarEvent> events = new ArrayList<>();
+        try {
+            String pageToken = null;
+            do {
+                final Calendar.Events.List request = client.events().list(calendarId)
+                    .setTimeMin(new DateTime(from.toInstant().toEpochMilli()))
+                    .setTimeMax(new DateTime(to.toInstant().toEpochMilli()))
+                    .setSingleEvents(true)
+                    .setMaxResults(MAX_LIST_RESULTS)
+                    .setPageToken(pageToken);
+                final Events page = execute("list", request::execute);
+
+                for (Event event : page.getItems()) {
+                    events.add(new CalendarEvent(event.getId(), toInstant(event.getStart(), from.getZone()), toInstant(event.getEnd(), from.getZone())));
+                }
+                pageToken = page.getNextPageToken();
+            } while (pageToken != null);
+        } catch (IOException ex) {
+            LOG.warn("Could not list events between {} and {} in calendar '{}'", from, to, calendarId, ex);
+            return Optional.empty();
+        }
+
+        return Optional.of(events);
+    }
+
     @Override
     public void checkCalendarSyncSettings(CalendarSettings calendarSettings) {
 
-        googleCalendarClient = getOrCreateGoogleCalendarClient();
+        final Optional<GoogleCalendarConnectionManager.Connection> connection = connectionManager.getConnection();
+        if (connection.isPresent()) {
+            final Calendar client = connection.get().getClient();
+            final String calendarId = connection.get().getCalendarId();
 
-        if (googleCalendarClient != null) {
-            String calendarId =
-                settingsService.getSettings().getCalendarSettings().getGoogleCalendarSettings().getCalendarId();
             try {
-                HttpResponse httpResponse = googleCalendarClient.calendarList().get(calendarId).executeUsingHead();
+                HttpResponse httpResponse = execute("check", client.calendarList().get(calendarId)::executeUsingHead);
                 if (httpResponse.getStatusCode() == SC_OK) {
                     LOG.info("Calendar sync successfully activated!");
                 } else {
@@ -200,26 +338,93 @@ public class GoogleCalendarSyncProvider implements CalendarProvider {
         }
     }
 
-    private Credential createCredentialWithRefreshToken(
-        HttpTransport transport,
-        JsonFactory jsonFactory,
-        TokenResponse tokenResponse) {
-
-        String clientId =
-            settingsService.getSettings().getCalendarSettings().getGoogleCalendarSettings().getClientId();
-        String clientSecret =
-            settingsService.getSettings().getCalendarSettings().getGoogleCalendarSettings().getClientSecret();
-
-        return new Credential.Builder(BearerToken.authorizationHeaderAccessMethod()).setTransport(
-            transport)
-            .setJsonFactory(jsonFactory)
-            .setTokenServerUrl(
-                new GenericUrl(GOOGLEAPIS_OAUTH2_V4_TOKEN))
-            .setClientAuthentication(new BasicAuthentication(
-                clientId,
-                clientSecret))
-            .build()
-            .setFromTokenResponse(tokenResponse);
+    /**
+     * Executes the given request and records its latency and result.
+     *
+     * @param operation the value of the {@code operation} tag
+     * @param request   to execute
+     * @return the response of the request
+     * @throws IOException if the request failed
+     */
+    private <T> T execute(String operation, GoogleRequest<T> request) throws IOException {
+
+        final Timer.Sample sample = Timer.start(meterRegistry);
+        String result = "failure";
+        try {
+            final T response = request.execute();
+            result = "success";
+            return response;
+        } finally {
+            sample.stop(Timer.builder(METRIC_REQUESTS).tag("operation", operation).tag("result", result).register(meterRegistry));
+        }
+    }
+
+    /**
+     * Counts a failed change of an event, either of a single request or of a request within a batch request.
+     *
+     * @param operation the value of the {@code operation} tag
+     */
+    private void failed(String operation) {
+        Counter.builder(METRIC_ERRORS).tag("operation", operation).register(meterRegistry).increment();
+    }
+
+    /**
+     * Queues the requests for the given number of items into batch requests of at most {@value #MAX_BATCH_SIZE}
+     * requests and executes them one after the other.
+     *
+     * @param client         to create the batch requests with
+     * @param numberOfItems  the number of items to queue a request for
+     * @param requestQueuer  queues the request of the item with the given index into the given batch request
+     * @param failureHandler handles the items of a batch request that could not be executed as a whole, including
+     *                       items whose callback has already been called
+     */
+    private void executeInBatches(Calendar client, int numberOfItems, BatchRequestQueuer requestQueuer,
+                                  BatchFailureHandler failureHandler) {
+
+        for (int from = 0; from < numberOfItems; from += MAX_BATCH_SIZE) {
+            final int to = Math.min(from + MAX_BATCH_SIZE, numberOfItems);
+            try {
+                final BatchRequest batch = client.batch();
+                for (int index = from; index < to; index++) {
+                    requestQueuer.queue(batch, index);
+                }
+                execute("batch", () -> {
+                    batch.execute();
+                    return null;
+                });
+            } catch (IOException ex) {
+                for (int index = from; index < to; index++) {
+                    failureHandler.failed(index, ex);
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface GoogleRequest<T> {
+        T execute() throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface BatchRequestQueuer {
+        void queue(BatchRequest batch, int index) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface BatchFailureHandler {
+        void failed(int index, IOException ex);
+    }
+
+    /**
+     * @param eventDateTime of an event, either with a date for all-day events or with a date and time
+     * @param zone          to determine the start of the day of all-day events
+     * @return the instant of the given event date time
+     */
+    private static Instant toInstant(EventDateTime eventDateTime, ZoneId zone) {
+        if (eventDateTime.getDateTime() != null) {
+            return Instant.ofEpochMilli(eventDateTime.getDateTime().getValue());
+        }
+        return LocalDate.parse(eventDateTime.getDate().toStringRfc3339()).atStartOfDay(zone).toInstant();
     }
 
     private static void fillEvent(Absence absence, Event event) {
@@ -1,5 +1,6 @@
 package org.synyx.urlaubsverwaltung.department;
 
+import org.synyx.urlaubsverwaltung.application.dao.ApplicationSummary;
 import org.synyx.urlaubsverwaltung.application.domain.Application;
 import org.synyx.urlaubsverwaltung.person.Person;
 
@@ -90,6 +91,19 @@ public interface DepartmentService {
      */
     List<Application> getApplicationsForLeaveOfMembersInDepartmentsOfPerson(Person member, LocalDate startDate, LocalDate endDate);
 
+    /**
+     * Get the active (waiting or allowed) applications for leave of the colleagues of the given person in the given
+     * departments for the provided period, fetched with a single query. The result may be up to half a minute old.
+     *
+     * @param member      whose colleagues are fetched, the applications for leave of the member are left out
+     * @param departments the given person is assigned to
+     * @param startDate   of the period
+     * @param endDate     of the period
+     * @return waiting or allowed applications for leave of the colleagues grouped by person and ordered by start date
+     */
+    List<ApplicationSummary> getApplicationsForLeaveOfColleaguesInDepartments(Person member, List<Department> departments,
+                                                                              LocalDate startDate, LocalDate endDate);
+
     /**
      * Get all members (including the given person) of the departments where the given person is the department head.
      *
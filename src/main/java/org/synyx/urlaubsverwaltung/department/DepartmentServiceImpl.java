@@ -1,13 +1,23 @@
 package org.synyx.urlaubsverwaltung.department;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.synyx.urlaubsverwaltung.application.dao.ApplicationSummary;
 import org.synyx.urlaubsverwaltung.application.domain.Application;
+import org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus;
 import org.synyx.urlaubsverwaltung.application.service.ApplicationService;
+import org.synyx.urlaubsverwaltung.application.service.ApplicationUpdatedEvent;
 import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.person.PersonDisabledEvent;
+import org.synyx.urlaubsverwaltung.person.Role;
+import org.synyx.urlaubsverwaltung.util.ExpiringLruCache;
 
 import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -15,12 +25,15 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 import static java.lang.invoke.MethodHandles.lookup;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
 import static org.slf4j.LoggerFactory.getLogger;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.isSynchronizationActive;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.registerSynchronization;
 import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.ALLOWED;
 import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.ALLOWED_CANCELLATION_REQUESTED;
 import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.TEMPORARY_ALLOWED;
@@ -32,21 +45,41 @@ import static org.synyx.urlaubsverwaltung.person.Role.SECOND_STAGE_AUTHORITY;
 
 /**
  * Implementation for {@link DepartmentService}.
+ *
+ * <p>The ids of the members managed by a department head or second stage authority are cached, as they are checked on
+ * nearly every request. The applications for leave of the colleagues are cached briefly, as they are fetched on every
+ * load of the calendar of a person. The caches are dropped on every change of a department and on a disabled person,
+ * the cached applications for leave of the colleagues also on every change of an application for leave.</p>
  */
 @Service
 class DepartmentServiceImpl implements DepartmentService {
 
     private static final Logger LOG = getLogger(lookup().lookupClass());
 
+    private static final int MAX_CACHED_MANAGERS = 1024;
+    private static final Duration MANAGED_MEMBERS_TIME_TO_LIVE = Duration.ofMinutes(5);
+    private static final int MAX_CACHED_COLLEAGUE_APPLICATIONS = 256;
+    private static final Duration COLLEAGUE_APPLICATIONS_TIME_TO_LIVE = Duration.ofSeconds(30);
+    private static final List<ApplicationStatus> ACTIVE_APPLICATION_STATUSES = List.of(WAITING, TEMPORARY_ALLOWED, ALLOWED, ALLOWED_CANCELLATION_REQUESTED);
+
     private final DepartmentRepository departmentRepository;
     private final ApplicationService applicationService;
     private final Clock clock;
+    private final ExpiringLruCache<List<Object>, Set<Integer>> managedMemberIds;
+    private final ExpiringLruCache<List<Object>, List<ApplicationSummary>> colleagueApplications;
 
     @Autowired
-    DepartmentServiceImpl(DepartmentRepository departmentRepository, ApplicationService applicationService, Clock clock) {
+    DepartmentServiceImpl(DepartmentRepository departmentRepository, ApplicationService applicationService,
+                          MeterRegistry meterRegistry, Clock clock) {
         this.departmentRepository = departmentRepository;
         this.applicationService = applicationService;
         this.clock = clock;
+
+        this.managedMemberIds = new ExpiringLruCache<>(MAX_CACHED_MANAGERS, MANAGED_MEMBERS_TIME_TO_LIVE, clock);
+        this.managedMemberIds.bindTo(meterRegistry, "managedMemberIds");
+
+        this.colleagueApplications = new ExpiringLruCache<>(MAX_CACHED_COLLEAGUE_APPLICATIONS, COLLEAGUE_APPLICATIONS_TIME_TO_LIVE, clock);
+        this.colleagueApplications.bindTo(meterRegistry, "colleagueApplications");
     }
 
     @Override
@@ -78,6 +111,7 @@ class DepartmentServiceImpl implements DepartmentService {
         departmentEntity.setMembers(departmentMembers);
 
         final DepartmentEntity createdDepartmentEntity = departmentRepository.save(departmentEntity);
+        invalidateCaches();
         final Department createdDepartment = mapToDepartment(createdDepartmentEntity);
 
         LOG.info("Created department: {}", createdDepartment);
@@ -100,6 +134,7 @@ class DepartmentServiceImpl implements DepartmentService {
         departmentEntity.setMembers(departmentMembers);
 
         final DepartmentEntity updatedDepartmentEntity = departmentRepository.save(departmentEntity);
+        invalidateCaches();
         final Department updatedDepartment = mapToDepartment(updatedDepartmentEntity);
 
         LOG.info("Updated department: {}", updatedDepartment);
@@ -112,6 +147,7 @@ class DepartmentServiceImpl implements DepartmentService {
 
         if (this.departmentExists(departmentId)) {
             departmentRepository.deleteById(departmentId);
+            invalidateCaches();
         } else {
             LOG.info("No department found for ID = {}, deletion is not necessary.", departmentId);
         }
@@ -166,6 +202,27 @@ class DepartmentServiceImpl implements DepartmentService {
         return departmentApplications;
     }
 
+    @Override
+    public List<ApplicationSummary> getApplicationsForLeaveOfColleaguesInDepartments(Person member, List<Department> departments,
+                                                                                     LocalDate startDate, LocalDate endDate) {
+        if (departments.isEmpty()) {
+            return List.of();
+        }
+
+        final List<Integer> departmentIds = departments.stream()
+            .map(Department::getId)
+            .distinct()
+            .sorted()
+            .collect(toList());
+
+        final List<ApplicationSummary> departmentApplications = colleagueApplications.get(List.of(departmentIds, startDate, endDate),
+            () -> applicationService.getApplicationsForACertainPeriodAndStateOfDepartmentMembers(departmentIds, ACTIVE_APPLICATION_STATUSES, startDate, endDate));
+
+        return departmentApplications.stream()
+            .filter(application -> !application.getPersonId().equals(member.getId()))
+            .collect(toList());
+    }
+
     private List<Person> getMembersOfAssignedDepartments(Person member) {
 
         final Set<Person> relevantPersons = new HashSet<>();
@@ -208,7 +265,7 @@ class DepartmentServiceImpl implements DepartmentService {
     @Override
     public boolean isDepartmentHeadOfPerson(Person departmentHead, Person person) {
         if (departmentHead.hasRole(DEPARTMENT_HEAD)) {
-            return getManagedMembersOfDepartmentHead(departmentHead).contains(person);
+            return isManagedMember(departmentHead, DEPARTMENT_HEAD, person, this::getManagedMembersOfDepartmentHead);
         }
 
         return false;
@@ -217,7 +274,7 @@ class DepartmentServiceImpl implements DepartmentService {
     @Override
     public boolean isSecondStageAuthorityOfPerson(Person secondStageAuthority, Person person) {
         if (secondStageAuthority.hasRole(SECOND_STAGE_AUTHORITY)) {
-            return getManagedMembersForSecondStageAuthority(secondStageAuthority).contains(person);
+            return isManagedMember(secondStageAuthority, SECOND_STAGE_AUTHORITY, person, this::getManagedMembersForSecondStageAuthority);
         }
 
         return false;
@@ -255,6 +312,55 @@ class DepartmentServiceImpl implements DepartmentService {
         return departmentRepository.count();
     }
 
+    @EventListener
+    public void handlePersonDisabled(PersonDisabledEvent event) {
+        invalidateCaches();
+    }
+
+    @EventListener
+    public void handleApplicationUpdated(ApplicationUpdatedEvent event) {
+        invalidateNowAndAfterCompletion(colleagueApplications::invalidateAll);
+    }
+
+    /**
+     * Persons that are not persisted yet are compared by identity, therefore their managed members are not cached.
+     */
+    private boolean isManagedMember(Person manager, Role role, Person person, Function<Person, List<Person>> managedMembers) {
+
+        if (manager.getId() == null || person.getId() == null) {
+            return managedMembers.apply(manager).contains(person);
+        }
+
+        return managedMemberIds.get(List.of(manager.getId(), role), () -> managedMembers.apply(manager).stream()
+            .map(Person::getId)
+            .collect(toSet()))
+            .contains(person.getId());
+    }
+
+    /**
+     * Drops the cached managed members and applications for leave of colleagues immediately and again after the surrounding transaction completed, so that
+     * members loaded concurrently from the not yet committed state are not kept.
+     */
+    private void invalidateCaches() {
+        invalidateNowAndAfterCompletion(() -> {
+            managedMemberIds.invalidateAll();
+            colleagueApplications.invalidateAll();
+        });
+    }
+
+    private static void invalidateNowAndAfterCompletion(Runnable invalidation) {
+        invalidation.run();
+
+        if (isSynchronizationActive()) {
+            registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+
     private Predicate<Person> isNotSecondStageIn(Department department) {
         return person -> !department.getSecondStageAuthorities().contains(person);
     }
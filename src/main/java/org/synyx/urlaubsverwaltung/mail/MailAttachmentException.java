@@ -0,0 +1,8 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+public class MailAttachmentException extends RuntimeException {
+
+    MailAttachmentException(String message, Exception e) {
+        super(message, e);
+    }
+}
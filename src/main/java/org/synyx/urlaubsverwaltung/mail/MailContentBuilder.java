@@ -1,49 +1,206 @@
 package org.synyx.urlaubsverwaltung.mail;
 
+import freemarker.cache.TemplateLoader;
 import freemarker.template.Configuration;
 import freemarker.template.Template;
 import freemarker.template.TemplateException;
+import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.freemarker.FreeMarkerProperties;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
 import org.springframework.stereotype.Service;
 import org.springframework.ui.freemarker.FreeMarkerTemplateUtils;
+import org.springframework.util.FileCopyUtils;
+import org.synyx.urlaubsverwaltung.person.Person;
 
 import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
 
 
 /**
  * Builds mail content by filling templates with data.
+ *
+ * <p>The templates are split after the last line referring to the recipient, usually the salutation. The rest is the
+ * same for all recipients of a mail and therefore rendered only once per mail. Templates using directives before that
+ * line are rendered as a whole for every recipient. The split templates are kept for the lifetime of the
+ * application.</p>
  */
 @Service
 class MailContentBuilder {
 
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    /**
+     * Name of the model entry holding the recipient of a mail
+     */
+    static final String RECIPIENT = "recipient";
+
     private static final String FILE_EXTENSION = ".ftl";
+    private static final Pattern RECIPIENT_REFERENCE = Pattern.compile("\\b" + RECIPIENT + "\\b");
+    private static final Pattern DIRECTIVE = Pattern.compile("</?[#@]");
 
     private final Configuration freemarkerConfiguration;
+    private final FreeMarkerProperties freeMarkerProperties;
+
+    private final Map<List<Object>, MailTemplate> mailTemplates = new ConcurrentHashMap<>();
 
     @Autowired
-    MailContentBuilder(Configuration freemarkerConfiguration) {
+    MailContentBuilder(Configuration freemarkerConfiguration, FreeMarkerProperties freeMarkerProperties) {
         this.freemarkerConfiguration = freemarkerConfiguration;
+        this.freeMarkerProperties = freeMarkerProperties;
     }
 
     /**
-     * Build text that can be set as mail body using the given model to fill the template with the given name.
+     * Build the texts that can be set as mail body for each of the given recipients using the given model to fill the
+     * template with the given name. The recipient is put into the model as {@value #RECIPIENT}.
      *
      * @param templateName of the template to be used
      * @param model        to fill the template
+     * @param recipients   of the mail
      * @param locale       the locale used for the email template
-     * @return the text representation of the filled template
+     * @return the text representations of the filled template in the order of the given recipients
      */
-    String buildMailBody(String templateName, Map<String, Object> model, Locale locale) {
+    List<String> buildMailBodies(String templateName, Map<String, Object> model, List<Person> recipients, Locale locale) {
 
-        final String templateFilename = templateName + FILE_EXTENSION;
+        if (recipients.isEmpty()) {
+            return List.of();
+        }
+
+        final MailTemplate mailTemplate = mailTemplates.computeIfAbsent(List.of(templateName, locale), key -> loadMailTemplate(templateName, locale));
 
+        final List<String> bodies = new ArrayList<>(recipients.size());
         try {
-            final Template template = freemarkerConfiguration.getTemplate(templateFilename, locale);
-            return FreeMarkerTemplateUtils.processTemplateIntoString(template, model);
+            if (mailTemplate.getSharedPart() == null) {
+                for (Person recipient : recipients) {
+                    model.put(RECIPIENT, recipient);
+                    bodies.add(FreeMarkerTemplateUtils.processTemplateIntoString(mailTemplate.getRecipientPart(), model));
+                }
+            } else {
+                final String sharedPart = FreeMarkerTemplateUtils.processTemplateIntoString(mailTemplate.getSharedPart(), model);
+                for (Person recipient : recipients) {
+                    model.put(RECIPIENT, recipient);
+                    final String recipientPart = mailTemplate.getRecipientPart() == null
+                        ? ""
+                        : FreeMarkerTemplateUtils.processTemplateIntoString(mailTemplate.getRecipientPart(), model);
+                    bodies.add(recipientPart + sharedPart);
+                }
+            }
         } catch (TemplateException | IOException e) {
             throw new MailContentBuilderException("Something went wrong processing email template=" + templateName, e);
         }
+
+        return bodies;
+    }
+
+    /**
+     * Loads and splits all templates of the template loader path, so that they are ready for the first mail.
+     *
+     * @param locale the locale used for the email templates
+     */
+    void preloadTemplates(Locale locale) {
+
+        final ResourcePatternResolver resourcePatternResolver = new PathMatchingResourcePatternResolver();
+        for (String templateLoaderPath : freeMarkerProperties.getTemplateLoaderPath()) {
+            final String path = templateLoaderPath.endsWith("/") ? templateLoaderPath : templateLoaderPath + "/";
+            try {
+                for (Resource resource : resourcePatternResolver.getResources(path + "*" + FILE_EXTENSION)) {
+                    final String filename = resource.getFilename();
+                    if (filename != null) {
+                        final String templateName = filename.substring(0, filename.length() - FILE_EXTENSION.length());
+                        mailTemplates.computeIfAbsent(List.of(templateName, locale), key -> loadMailTemplate(templateName, locale));
+                    }
+                }
+            } catch (IOException | MailContentBuilderException e) {
+                LOG.warn("Could not preload email templates of {}", templateLoaderPath, e);
+            }
+        }
+
+        LOG.info("Preloaded {} email templates", mailTemplates.size());
+    }
+
+    private MailTemplate loadMailTemplate(String templateName, Locale locale) {
+
+        try {
+            final Template template = freemarkerConfiguration.getTemplate(templateName + FILE_EXTENSION, locale);
+            final String source = readSource(template);
+
+            final List<String> lines = List.of(source.split("(?<=\n)"));
+            int recipientLines = 0;
+            for (int line = 0; line < lines.size(); line++) {
+                if (RECIPIENT_REFERENCE.matcher(lines.get(line)).find()) {
+                    recipientLines = line + 1;
+                }
+            }
+
+            final String recipientSource = String.join("", lines.subList(0, recipientLines));
+            if (DIRECTIVE.matcher(recipientSource).find()) {
+                return new MailTemplate(template, null);
+            }
+
+            final String sharedSource = String.join("", lines.subList(recipientLines, lines.size()));
+            final Template recipientPart = recipientLines == 0 ? null : partOf(template, "recipient", recipientSource);
+            return new MailTemplate(recipientPart, partOf(template, "shared", sharedSource));
+        } catch (IOException e) {
+            throw new MailContentBuilderException("Something went wrong loading email template=" + templateName, e);
+        }
+    }
+
+    private String readSource(Template template) throws IOException {
+
+        final TemplateLoader templateLoader = freemarkerConfiguration.getTemplateLoader();
+        final Object templateSource = templateLoader.findTemplateSource(template.getSourceName());
+        if (templateSource == null) {
+            throw new IOException("Could not find source of email template=" + template.getSourceName());
+        }
+
+        try (Reader reader = templateLoader.getReader(templateSource, template.getEncoding())) {
+            return FileCopyUtils.copyToString(reader);
+        } finally {
+            templateLoader.closeTemplateSource(templateSource);
+        }
+    }
+
+    private Template partOf(Template template, String part, String source) throws IOException {
+        final Template templatePart = new Template(template.getName() + "[" + part + "]", source, freemarkerConfiguration);
+        templatePart.setLocale(template.getLocale());
+        return templatePart;
+    }
+
+    /**
+     * A template split into the part referring to the recipient and the part shared by all recipients.
+     */
+    private static final class MailTemplate {
+
+        private final Template recipientPart;
+        private final Template sharedPart;
+
+        /**
+         * @param recipientPart rendered for every recipient, {@code null} if the template does not refer to the recipient
+         * @param sharedPart    rendered once for all recipients and appended to the recipient part, {@code null} if
+         *                      the template could not be split and the recipient part is the whole template
+         */
+        private MailTemplate(Template recipientPart, Template sharedPart) {
+            this.recipientPart = recipientPart;
+            this.sharedPart = sharedPart;
+        }
+
+        Template getRecipientPart() {
+            return recipientPart;
+        }
+
+        Template getSharedPart() {
+            return sharedPart;
+        }
     }
 }
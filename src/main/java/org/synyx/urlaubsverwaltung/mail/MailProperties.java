@@ -4,8 +4,12 @@ import org.hibernate.validator.constraints.URL;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
+import javax.validation.Valid;
 import javax.validation.constraints.Email;
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import java.time.Duration;
 
 @Validated
 @ConfigurationProperties(prefix = "uv.mail")
@@ -22,6 +26,9 @@ public class MailProperties {
     @URL
     private String applicationUrl;
 
+    @Valid
+    private Outbox outbox = new Outbox();
+
     public String getSender() {
         return sender;
     }
@@ -45,4 +52,114 @@ public class MailProperties {
     public void setApplicationUrl(String applicationUrl) {
         this.applicationUrl = applicationUrl;
     }
+
+    public Outbox getOutbox() {
+        return outbox;
+    }
+
+    public void setOutbox(Outbox outbox) {
+        this.outbox = outbox;
+    }
+
+    public static class Outbox {
+
+        /**
+         * Delay between two runs of sending the mails of the outbox
+         */
+        @NotNull
+        private Duration dispatchDelay = Duration.ofSeconds(10);
+
+        /**
+         * Maximum number of mails sent over one connection to the mail server
+         */
+        @Min(1)
+        private int batchSize = 50;
+
+        /**
+         * Maximum number of connections to the mail server used in parallel
+         */
+        @Min(1)
+        private int workers = 2;
+
+        /**
+         * Number of attempts to send a mail before it is dropped
+         */
+        @Min(1)
+        private int maxAttempts = 10;
+
+        /**
+         * Delay before the first retry of a failed mail, doubled with every further attempt
+         */
+        @NotNull
+        private Duration retryDelay = Duration.ofMinutes(1);
+
+        /**
+         * Maximum delay between two attempts to send a failed mail
+         */
+        @NotNull
+        private Duration maxRetryDelay = Duration.ofHours(1);
+
+        /**
+         * Time an instance has to send the mails it claimed from the outbox, afterwards the mails are sent again by
+         * any instance. Has to be longer than sending one batch of mails.
+         */
+        @NotNull
+        private Duration claimDuration = Duration.ofMinutes(10);
+
+        public Duration getDispatchDelay() {
+            return dispatchDelay;
+        }
+
+        public void setDispatchDelay(Duration dispatchDelay) {
+            this.dispatchDelay = dispatchDelay;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getWorkers() {
+            return workers;
+        }
+
+        public void setWorkers(int workers) {
+            this.workers = workers;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public Duration getRetryDelay() {
+            return retryDelay;
+        }
+
+        public void setRetryDelay(Duration retryDelay) {
+            this.retryDelay = retryDelay;
+        }
+
+        public Duration getMaxRetryDelay() {
+            return maxRetryDelay;
+        }
+
+        public void setMaxRetryDelay(Duration maxRetryDelay) {
+            this.maxRetryDelay = maxRetryDelay;
+        }
+
+        public Duration getClaimDuration() {
+            return claimDuration;
+        }
+
+        public void setClaimDuration(Duration claimDuration) {
+            this.claimDuration = claimDuration;
+        }
+    }
 }
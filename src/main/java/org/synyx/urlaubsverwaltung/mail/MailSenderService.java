@@ -2,16 +2,18 @@ package org.synyx.urlaubsverwaltung.mail;
 
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.MailException;
-import org.springframework.mail.SimpleMailMessage;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
 import javax.mail.MessagingException;
 import javax.mail.internet.MimeMessage;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static java.lang.invoke.MethodHandles.lookup;
 import static org.slf4j.LoggerFactory.getLogger;
@@ -29,73 +31,80 @@ class MailSenderService {
     }
 
     /**
-     * Send a mail with the given subject and text to the given recipients.
+     * Sends the given mails over a single connection to the mail server. Any failure is returned as failed mail
+     * instead of being thrown.
      *
-     * @param from       mail address from where the mail is sent
-     * @param recipients mail addresses where the mail should be sent to
-     * @param subject    mail subject
-     * @param text       mail body
+     * @param mails mails of the outbox to send
+     * @return the mails that could not be sent, may be empty but never {@code null}
      */
-    void sendEmail(String from, List<String> recipients, String subject, String text) {
+    List<OutboxMail> sendEmails(List<OutboxMail> mails) {
+
+        final List<OutboxMail> failedMails = new ArrayList<>();
+
+        final Map<MimeMessage, OutboxMail> mailsByMessage = new IdentityHashMap<>();
+        final List<MimeMessage> messages = new ArrayList<>();
+        for (OutboxMail mail : mails) {
+            try {
+                final MimeMessage message = createMimeMessage(mail);
+                mailsByMessage.put(message, mail);
+                messages.add(message);
+            } catch (MessagingException | RuntimeException e) {
+                LOG.error("Creating email to {} failed", mail.getRecipient(), e);
+                failedMails.add(mail);
+            }
+        }
 
-        if (recipients == null || recipients.isEmpty()) {
-            LOG.warn("Could not send email to empty recipients!");
-            return;
+        if (messages.isEmpty()) {
+            return failedMails;
         }
 
-        final SimpleMailMessage mailMessage = new SimpleMailMessage();
-        mailMessage.setFrom(from);
-        mailMessage.setTo(recipients.toArray(new String[0]));
-        mailMessage.setSubject(subject);
-        mailMessage.setText(text);
+        try {
+            mailSender.send(messages.toArray(new MimeMessage[0]));
+            if (LOG.isDebugEnabled()) {
+                for (MimeMessage message : messages) {
+                    final OutboxMail mail = mailsByMessage.get(message);
+                    LOG.debug("Sent email to {} with subject={}", mail.getRecipient(), mail.getSubject());
+                }
+            }
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                failedAll(messages, mailsByMessage, e, failedMails);
+            } else {
+                e.getFailedMessages().forEach((message, exception) -> {
+                    final OutboxMail mail = mailsByMessage.get(message);
+                    LOG.error("Sending email to {} failed", mail.getRecipient(), exception);
+                    failedMails.add(mail);
+                });
+            }
+        } catch (RuntimeException e) {
+            failedAll(messages, mailsByMessage, e, failedMails);
+        }
 
-        send(mailMessage);
+        return failedMails;
     }
 
-    /**
-     * Send a mail with the given subject and text to the given recipients.
-     *
-     * @param from            mail address from where the mail is sent
-     * @param recipients      mail addresses where the mail should be sent to
-     * @param subject         mail subject
-     * @param text            mail body
-     * @param mailAttachments List of attachments to add to the mail
-     */
-    void sendEmail(String from, List<String> recipients, String subject, String text, List<MailAttachment> mailAttachments) {
+    private MimeMessage createMimeMessage(OutboxMail mail) throws MessagingException {
 
         final MimeMessage mimeMessage = mailSender.createMimeMessage();
-        try {
-            final MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true);
-            helper.setTo(recipients.toArray(new String[]{}));
-            helper.setFrom(from);
-            helper.setSubject(subject);
-            helper.setText(text);
-
-            for (MailAttachment mailAttachment : mailAttachments) {
-                helper.addAttachment(mailAttachment.getName(), mailAttachment.getFile());
-            }
-        } catch (MessagingException e) {
-            LOG.error("Sending email to {} failed", recipients, e);
+        final MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, !mail.getAttachments().isEmpty());
+        helper.setTo(mail.getRecipient());
+        helper.setFrom(mail.getSender());
+        helper.setSubject(mail.getSubject());
+        helper.setText(mail.getBody());
+
+        for (OutboxMailAttachment attachment : mail.getAttachments()) {
+            helper.addAttachment(attachment.getName(), new ByteArrayResource(attachment.getContent()));
         }
-        mailSender.send(mimeMessage);
-    }
-
-    private void send(SimpleMailMessage message) {
-        try {
 
-            mailSender.send(message);
+        return mimeMessage;
+    }
 
-            if (LOG.isDebugEnabled()) {
-                for (String recipient : message.getTo()) {
-                    LOG.debug("Sent email to {}", recipient);
-                }
-                LOG.debug("To={}\n\nSubject={}\n\nText={}",
-                    Arrays.toString(message.getTo()), message.getSubject(), message.getText());
-            }
-        } catch (MailException ex) {
-            for (String recipient : message.getTo()) {
-                LOG.error("Sending email to {} failed", recipient, ex);
-            }
+    private static void failedAll(List<MimeMessage> messages, Map<MimeMessage, OutboxMail> mailsByMessage, RuntimeException exception,
+                                  List<OutboxMail> failedMails) {
+        for (MimeMessage message : messages) {
+            final OutboxMail mail = mailsByMessage.get(message);
+            LOG.error("Sending email to {} failed", mail.getRecipient(), exception);
+            failedMails.add(mail);
         }
     }
 }
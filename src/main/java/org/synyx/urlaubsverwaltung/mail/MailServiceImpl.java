@@ -1,5 +1,6 @@
 package org.synyx.urlaubsverwaltung.mail;
 
+import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.MessageSource;
@@ -7,35 +8,57 @@ import org.springframework.stereotype.Service;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonService;
 
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Clock;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.util.stream.Collectors.toList;
+import static org.slf4j.LoggerFactory.getLogger;
+
 /**
  * Implementation of interface {@link MailService}.
+ *
+ * <p>The mails are not sent directly but written to the outbox, one mail per recipient, within the surrounding
+ * transaction. They are sent later on by the {@link OutboxMailDispatcher}. Recipients without an email address are
+ * skipped, so that a person without an email address never rolls back the surrounding transaction.</p>
  */
 @Service("mailService")
 @EnableConfigurationProperties(MailProperties.class)
 class MailServiceImpl implements MailService {
 
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
     private static final Locale LOCALE = Locale.GERMAN;
 
     private final MessageSource messageSource;
     private final MailContentBuilder mailContentBuilder;
-    private final MailSenderService mailSenderService;
+    private final OutboxMailRepository outboxMailRepository;
     private final MailProperties mailProperties;
     private final PersonService personService;
+    private final Clock clock;
 
     @Autowired
-    MailServiceImpl(MessageSource messageSource, MailContentBuilder mailContentBuilder, MailSenderService mailSenderService,
-                    MailProperties mailProperties, PersonService personService) {
+    MailServiceImpl(MessageSource messageSource, MailContentBuilder mailContentBuilder, OutboxMailRepository outboxMailRepository,
+                    MailProperties mailProperties, PersonService personService, Clock clock) {
 
         this.messageSource = messageSource;
         this.mailContentBuilder = mailContentBuilder;
         this.mailProperties = mailProperties;
-        this.mailSenderService = mailSenderService;
+        this.outboxMailRepository = outboxMailRepository;
         this.personService = personService;
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    void preloadTemplates() {
+        mailContentBuilder.preloadTemplates(LOCALE);
     }
 
     @Override
@@ -46,16 +69,32 @@ class MailServiceImpl implements MailService {
 
         final String subject = getTranslation(mail.getSubjectMessageKey(), mail.getSubjectMessageArguments());
         final String sender = mailProperties.getSender();
+        final List<OutboxMailAttachment> attachments = mail.getMailAttachments().map(MailServiceImpl::readAttachments).orElseGet(List::of);
+        final Instant now = Instant.now(clock);
+
+        final List<Person> recipients = getRecipients(mail);
+        final List<String> bodies = mailContentBuilder.buildMailBodies(mail.getTemplateName(), model, recipients, LOCALE);
+
+        final List<OutboxMail> outboxMails = new ArrayList<>();
+        for (int i = 0; i < recipients.size(); i++) {
+            outboxMails.add(new OutboxMail(sender, recipients.get(i).getEmail(), subject, bodies.get(i), attachments, now));
+        }
+
+        outboxMailRepository.saveAll(outboxMails);
+    }
+
+    private static List<OutboxMailAttachment> readAttachments(List<MailAttachment> mailAttachments) {
 
-        getRecipients(mail).forEach(recipient -> {
-            model.put("recipient", recipient);
-            final String body = mailContentBuilder.buildMailBody(mail.getTemplateName(), model, LOCALE);
+        final List<OutboxMailAttachment> attachments = new ArrayList<>();
+        for (MailAttachment mailAttachment : mailAttachments) {
+            try {
+                attachments.add(new OutboxMailAttachment(mailAttachment.getName(), Files.readAllBytes(mailAttachment.getFile().toPath())));
+            } catch (IOException e) {
+                throw new MailAttachmentException("Could not read email attachment=" + mailAttachment.getName(), e);
+            }
+        }
 
-            mail.getMailAttachments().ifPresentOrElse(
-                mailAttachments -> mailSenderService.sendEmail(sender, List.of(recipient.getEmail()), subject, body, mailAttachments),
-                () -> mailSenderService.sendEmail(sender, List.of(recipient.getEmail()), subject, body)
-            );
-        });
+        return attachments;
     }
 
     private List<Person> getRecipients(Mail mail) {
@@ -68,7 +107,20 @@ class MailServiceImpl implements MailService {
             recipients.add(new Person(null, null, "Administrator", mailProperties.getAdministrator()));
         }
 
-        return recipients;
+        return recipients.stream()
+            .filter(MailServiceImpl::hasEmail)
+            .collect(toList());
+    }
+
+    private static boolean hasEmail(Person recipient) {
+
+        final String email = recipient.getEmail();
+        if (email == null || email.isBlank()) {
+            LOG.warn("Could not send mail to person with id={} because the person has no email address", recipient.getId());
+            return false;
+        }
+
+        return true;
     }
 
     private String getTranslation(String key, Object... args) {
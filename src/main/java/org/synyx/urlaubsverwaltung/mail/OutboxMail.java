@@ -0,0 +1,117 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import javax.persistence.CollectionTable;
+import javax.persistence.ElementCollection;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.Lob;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A mail to a single recipient that is written to the outbox within the business transaction and sent later on by
+ * the {@link OutboxMailDispatcher}.
+ */
+@Entity
+class OutboxMail {
+
+    @Id
+    @GeneratedValue
+    private Long id;
+
+    private String sender;
+
+    private String recipient;
+
+    private String subject;
+
+    @Lob
+    private String body;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "outbox_mail_attachment", joinColumns = @JoinColumn(name = "outbox_mail_id"))
+    private List<OutboxMailAttachment> attachments = new ArrayList<>();
+
+    /**
+     * Number of failed attempts to send this mail.
+     */
+    private int attempts;
+
+    /**
+     * The mail is not sent before this point in time.
+     */
+    private Instant nextAttemptAt;
+
+    protected OutboxMail() {
+        // for hibernate - do not use this
+    }
+
+    OutboxMail(String sender, String recipient, String subject, String body, List<OutboxMailAttachment> attachments, Instant nextAttemptAt) {
+        this.sender = sender;
+        this.recipient = recipient;
+        this.subject = subject;
+        this.body = body;
+        attachments.forEach(attachment -> this.attachments.add(new OutboxMailAttachment(attachment.getName(), attachment.getContent())));
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getSender() {
+        return sender;
+    }
+
+    public String getRecipient() {
+        return recipient;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public List<OutboxMailAttachment> getAttachments() {
+        return attachments;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public Instant getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    /**
+     * Records a failed attempt to send this mail.
+     *
+     * @param nextAttemptAt the point in time of the next attempt
+     */
+    void failedAttempt(Instant nextAttemptAt) {
+        this.attempts++;
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    @Override
+    public String toString() {
+        return "OutboxMail{" +
+            "id=" + id +
+            ", subject='" + subject + '\'' +
+            ", attempts=" + attempts +
+            ", nextAttemptAt=" + nextAttemptAt +
+            '}';
+    }
+}
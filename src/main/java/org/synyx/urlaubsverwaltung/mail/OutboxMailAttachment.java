@@ -0,0 +1,30 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import javax.persistence.Embeddable;
+import javax.persistence.Lob;
+
+@Embeddable
+class OutboxMailAttachment {
+
+    private String name;
+
+    @Lob
+    private byte[] content;
+
+    protected OutboxMailAttachment() {
+        // for hibernate - do not use this
+    }
+
+    OutboxMailAttachment(String name, byte[] content) {
+        this.name = name;
+        this.content = content;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public byte[] getContent() {
+        return content;
+    }
+}
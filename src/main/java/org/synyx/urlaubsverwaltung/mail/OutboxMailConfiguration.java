@@ -0,0 +1,24 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+@Configuration
+public class OutboxMailConfiguration implements SchedulingConfigurer {
+
+    private final MailProperties mailProperties;
+    private final OutboxMailDispatcher outboxMailDispatcher;
+
+    @Autowired
+    public OutboxMailConfiguration(MailProperties mailProperties, OutboxMailDispatcher outboxMailDispatcher) {
+        this.mailProperties = mailProperties;
+        this.outboxMailDispatcher = outboxMailDispatcher;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar scheduledTaskRegistrar) {
+        scheduledTaskRegistrar.addFixedDelayTask(outboxMailDispatcher::dispatch, mailProperties.getOutbox().getDispatchDelay().toMillis());
+    }
+}
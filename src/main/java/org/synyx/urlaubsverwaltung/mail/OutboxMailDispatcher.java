@@ -0,0 +1,174 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Sends the mails of the outbox.
+ *
+ * <p>The due mails are loaded in batches and every batch is split among a bounded number of workers, each of them
+ * sending its mails over a single connection to the mail server. Sent mails are removed from the outbox, failed mails
+ * are retried with an exponential backoff until the maximum number of attempts is reached.</p>
+ *
+ * <p>All reads and writes of the outbox happen in the calling thread, only the mail server is talked to by the
+ * workers.</p>
+ *
+ * <p>Several instances of the application may dispatch the same outbox: every loaded mail is claimed first by
+ * postponing its next attempt for the configured claim duration, and only the instance that claimed a mail sends it.
+ * A mail claimed by an instance that stops before sending it is sent again after the claim duration.</p>
+ */
+@Component
+public class OutboxMailDispatcher implements DisposableBean {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    private static final String METRIC_OUTBOX_SIZE = "mail.outbox.size";
+    private static final String METRIC_OUTBOX_SEND = "mail.outbox.send";
+    private static final String METRIC_OUTBOX_FAILURES = "mail.outbox.failures";
+
+    private final OutboxMailRepository outboxMailRepository;
+    private final MailSenderService mailSenderService;
+    private final MailProperties.Outbox outboxProperties;
+    private final Clock clock;
+    private final ExecutorService workers;
+
+    private final Timer sendTimer;
+    private final Counter retriedMailsCounter;
+    private final Counter droppedMailsCounter;
+
+    @Autowired
+    OutboxMailDispatcher(OutboxMailRepository outboxMailRepository, MailSenderService mailSenderService, MailProperties mailProperties,
+                         MeterRegistry meterRegistry, Clock clock) {
+        this.outboxMailRepository = outboxMailRepository;
+        this.mailSenderService = mailSenderService;
+        this.outboxProperties = mailProperties.getOutbox();
+        this.clock = clock;
+
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("mail-outbox-");
+        threadFactory.setDaemon(true);
+        this.workers = Executors.newFixedThreadPool(outboxProperties.getWorkers(), threadFactory);
+
+        Gauge.builder(METRIC_OUTBOX_SIZE, outboxMailRepository::count).register(meterRegistry);
+        this.sendTimer = Timer.builder(METRIC_OUTBOX_SEND).register(meterRegistry);
+        this.retriedMailsCounter = Counter.builder(METRIC_OUTBOX_FAILURES).tag("result", "retried").register(meterRegistry);
+        this.droppedMailsCounter = Counter.builder(METRIC_OUTBOX_FAILURES).tag("result", "dropped").register(meterRegistry);
+    }
+
+    /**
+     * Sends all mails of the outbox that are due.
+     */
+    public void dispatch() {
+
+        final int batchSize = outboxProperties.getBatchSize();
+
+        List<OutboxMail> batch;
+        do {
+            batch = outboxMailRepository.findByNextAttemptAtLessThanEqualOrderById(Instant.now(clock), PageRequest.of(0, batchSize));
+            final List<OutboxMail> claimedMails = claim(batch);
+            if (!claimedMails.isEmpty()) {
+                dispatch(claimedMails);
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    private List<OutboxMail> claim(List<OutboxMail> batch) {
+
+        final Instant claimedUntil = Instant.now(clock).plus(outboxProperties.getClaimDuration());
+
+        final List<OutboxMail> claimedMails = new ArrayList<>();
+        for (OutboxMail mail : batch) {
+            if (outboxMailRepository.claim(mail.getId(), mail.getNextAttemptAt(), claimedUntil) == 1) {
+                claimedMails.add(mail);
+            } else {
+                LOG.debug("Skipping email with id={} claimed by another instance", mail.getId());
+            }
+        }
+
+        return claimedMails;
+    }
+
+    private void dispatch(List<OutboxMail> batch) {
+
+        final int numberOfWorkers = Math.min(outboxProperties.getWorkers(), batch.size());
+        final int mailsPerWorker = (batch.size() + numberOfWorkers - 1) / numberOfWorkers;
+
+        final List<CompletableFuture<List<OutboxMail>>> sendings = new ArrayList<>();
+        for (int from = 0; from < batch.size(); from += mailsPerWorker) {
+            final List<OutboxMail> mails = batch.subList(from, Math.min(from + mailsPerWorker, batch.size()));
+            sendings.add(CompletableFuture.supplyAsync(() -> sendTimer.record(() -> sendEmails(mails)), workers));
+        }
+
+        final List<OutboxMail> failedMails = new ArrayList<>();
+        for (CompletableFuture<List<OutboxMail>> sending : sendings) {
+            failedMails.addAll(sending.join());
+        }
+
+        final List<OutboxMail> retriedMails = new ArrayList<>();
+        int droppedMails = 0;
+        for (OutboxMail failedMail : failedMails) {
+            if (failedMail.getAttempts() + 1 >= outboxProperties.getMaxAttempts()) {
+                LOG.error("Dropping email to {} after {} failed attempts: {}", failedMail.getRecipient(), outboxProperties.getMaxAttempts(), failedMail);
+                droppedMails++;
+            } else {
+                failedMail.failedAttempt(Instant.now(clock).plus(retryDelay(failedMail.getAttempts())));
+                retriedMails.add(failedMail);
+            }
+        }
+
+        final List<OutboxMail> sentOrDroppedMails = new ArrayList<>(batch);
+        sentOrDroppedMails.removeAll(retriedMails);
+        outboxMailRepository.deleteAll(sentOrDroppedMails);
+        outboxMailRepository.saveAll(retriedMails);
+
+        retriedMailsCounter.increment(retriedMails.size());
+        droppedMailsCounter.increment(droppedMails);
+    }
+
+    /**
+     * @return the mails that could not be sent, all given mails if sending failed unexpectedly, so that a single failure
+     * does not abort the dispatch of the other workers
+     */
+    private List<OutboxMail> sendEmails(List<OutboxMail> mails) {
+        try {
+            return mailSenderService.sendEmails(mails);
+        } catch (RuntimeException e) {
+            LOG.error("Sending {} emails failed", mails.size(), e);
+            return mails;
+        }
+    }
+
+    /**
+     * @param failedAttempts the number of failed attempts before the current one
+     * @return the delay before the next attempt, doubled with every failed attempt up to the maximum delay
+     */
+    private Duration retryDelay(int failedAttempts) {
+        final Duration maxRetryDelay = outboxProperties.getMaxRetryDelay();
+        final Duration retryDelay = outboxProperties.getRetryDelay().multipliedBy(1L << Math.min(failedAttempts, 30));
+        return retryDelay.compareTo(maxRetryDelay) > 0 ? maxRetryDelay : retryDelay;
+    }
+
+    @Override
+    public void destroy() {
+        workers.shutdown();
+    }
+}
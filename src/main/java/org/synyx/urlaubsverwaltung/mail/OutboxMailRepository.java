@@ -0,0 +1,30 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+interface OutboxMailRepository extends CrudRepository<OutboxMail, Long> {
+
+    List<OutboxMail> findByNextAttemptAtLessThanEqualOrderById(Instant now, Pageable pageable);
+
+    /**
+     * Claims the given mail by postponing its next attempt, unless the mail has been claimed, sent or retried since
+     * it was loaded.
+     *
+     * @param id            of the mail to claim
+     * @param nextAttemptAt the next attempt of the mail as loaded
+     * @param claimedUntil  the next attempt of the mail if it is not sent or retried until then
+     * @return {@code 1} if the mail has been claimed, {@code 0} otherwise
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboxMail mail SET mail.nextAttemptAt = :claimedUntil WHERE mail.id = :id AND mail.nextAttemptAt = :nextAttemptAt")
+    int claim(@Param("id") Long id, @Param("nextAttemptAt") Instant nextAttemptAt, @Param("claimedUntil") Instant claimedUntil);
+}
@@ -0,0 +1,110 @@
+package org.synyx.urlaubsverwaltung.overlap;
+
+import org.synyx.urlaubsverwaltung.period.DayLength;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+import static org.synyx.urlaubsverwaltung.period.DayLength.MORNING;
+import static org.synyx.urlaubsverwaltung.period.DayLength.NOON;
+
+/**
+ * Closed interval of half days.
+ *
+ * <p>Every half day is represented by an {@code int}: the morning of a day is twice its epoch day, the noon of a day is
+ * twice its epoch day plus one. So the half days of consecutive intervals are consecutive numbers too, which makes it
+ * cheap to sort, merge and intersect intervals.</p>
+ */
+public final class HalfDayInterval {
+
+    private final int start;
+    private final int end;
+
+    HalfDayInterval(int start, int end) {
+        if (start > end) {
+            throw new IllegalArgumentException("Start must not be after end");
+        }
+
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Creates the interval of an absence. A half day length only restricts the interval to the morning or noon, if the
+     * absence starts and ends on the same day, absences of several days always cover these days completely.
+     *
+     * @param startDate first day of the absence
+     * @param endDate   last day of the absence
+     * @param dayLength of the absence
+     * @return the half days covered by the absence
+     */
+    public static HalfDayInterval of(LocalDate startDate, LocalDate endDate, DayLength dayLength) {
+
+        final int startDay = Math.toIntExact(startDate.toEpochDay());
+        final int endDay = Math.toIntExact(endDate.toEpochDay());
+
+        if (startDay == endDay && dayLength == MORNING) {
+            return new HalfDayInterval(morningOf(startDay), morningOf(startDay));
+        }
+        if (startDay == endDay && dayLength == NOON) {
+            return new HalfDayInterval(noonOf(startDay), noonOf(startDay));
+        }
+
+        return new HalfDayInterval(morningOf(startDay), noonOf(endDay));
+    }
+
+    int getStart() {
+        return start;
+    }
+
+    int getEnd() {
+        return end;
+    }
+
+    int size() {
+        return end - start + 1;
+    }
+
+    public LocalDate getStartDate() {
+        return LocalDate.ofEpochDay(Math.floorDiv(start, 2));
+    }
+
+    public LocalDate getEndDate() {
+        return LocalDate.ofEpochDay(Math.floorDiv(end, 2));
+    }
+
+    private static int morningOf(int epochDay) {
+        return epochDay * 2;
+    }
+
+    private static int noonOf(int epochDay) {
+        return epochDay * 2 + 1;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final HalfDayInterval that = (HalfDayInterval) o;
+        return start == that.start && end == that.end;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return "HalfDayInterval{" +
+            "startDate=" + getStartDate() +
+            ", endDate=" + getEndDate() +
+            ", start=" + start +
+            ", end=" + end +
+            '}';
+    }
+}
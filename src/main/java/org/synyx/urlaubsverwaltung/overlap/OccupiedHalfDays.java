@@ -0,0 +1,106 @@
+package org.synyx.urlaubsverwaltung.overlap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.synyx.urlaubsverwaltung.overlap.OverlapCase.FULLY_OVERLAPPING;
+import static org.synyx.urlaubsverwaltung.overlap.OverlapCase.NO_OVERLAPPING;
+import static org.synyx.urlaubsverwaltung.overlap.OverlapCase.PARTLY_OVERLAPPING;
+
+/**
+ * The half days that are already occupied by absences.
+ *
+ * <p>The intervals of the absences are sorted once and swept into disjoint intervals, so the overlap of a period with
+ * all absences can be looked up with a binary search instead of comparing the period with every single absence.</p>
+ */
+final class OccupiedHalfDays {
+
+    private final int[] starts;
+    private final int[] ends;
+
+    private OccupiedHalfDays(int[] starts, int[] ends) {
+        this.starts = starts;
+        this.ends = ends;
+    }
+
+    static OccupiedHalfDays of(List<HalfDayInterval> intervals) {
+
+        // start in the upper and end in the lower bits, so sorting the longs sorts the intervals by their start
+        final long[] sortedIntervals = new long[intervals.size()];
+        for (int i = 0; i < intervals.size(); i++) {
+            final HalfDayInterval interval = intervals.get(i);
+            sortedIntervals[i] = ((long) interval.getStart() << 32) | (interval.getEnd() & 0xFFFFFFFFL);
+        }
+        Arrays.sort(sortedIntervals);
+
+        final int[] starts = new int[sortedIntervals.length];
+        final int[] ends = new int[sortedIntervals.length];
+        int size = 0;
+
+        for (long sortedInterval : sortedIntervals) {
+            final int start = (int) (sortedInterval >> 32);
+            final int end = (int) sortedInterval;
+
+            // overlapping or abutting intervals are merged into one
+            if (size > 0 && start <= ends[size - 1] + 1) {
+                ends[size - 1] = Math.max(ends[size - 1], end);
+            } else {
+                starts[size] = start;
+                ends[size] = end;
+                size++;
+            }
+        }
+
+        return new OccupiedHalfDays(Arrays.copyOf(starts, size), Arrays.copyOf(ends, size));
+    }
+
+    /**
+     * @param interval to check
+     * @return {@link OverlapCase} - none, partly, fully
+     */
+    OverlapCase getOverlapCase(HalfDayInterval interval) {
+
+        int occupied = 0;
+        for (int i = firstEndingAtOrAfter(interval.getStart()); i < starts.length && starts[i] <= interval.getEnd(); i++) {
+            occupied += Math.min(ends[i], interval.getEnd()) - Math.max(starts[i], interval.getStart()) + 1;
+        }
+
+        if (occupied == 0) {
+            return NO_OVERLAPPING;
+        }
+
+        return occupied == interval.size() ? FULLY_OVERLAPPING : PARTLY_OVERLAPPING;
+    }
+
+    /**
+     * @param interval to get the overlaps for
+     * @return the disjoint overlaps of the occupied half days with the given interval, sorted by their start
+     */
+    List<HalfDayInterval> getOverlaps(HalfDayInterval interval) {
+
+        final List<HalfDayInterval> overlaps = new ArrayList<>();
+        for (int i = firstEndingAtOrAfter(interval.getStart()); i < starts.length && starts[i] <= interval.getEnd(); i++) {
+            overlaps.add(new HalfDayInterval(Math.max(starts[i], interval.getStart()), Math.min(ends[i], interval.getEnd())));
+        }
+
+        return overlaps;
+    }
+
+    private int firstEndingAtOrAfter(int halfDay) {
+
+        // the disjoint intervals are sorted by their ends too
+        int low = 0;
+        int high = ends.length;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (ends[middle] < halfDay) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+}
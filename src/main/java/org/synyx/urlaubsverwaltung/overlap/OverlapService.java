@@ -1,51 +1,43 @@
 package org.synyx.urlaubsverwaltung.overlap;
 
-import org.joda.time.Interval;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.synyx.urlaubsverwaltung.application.dao.ApplicationRepository;
 import org.synyx.urlaubsverwaltung.application.domain.Application;
-import org.synyx.urlaubsverwaltung.period.DayLength;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.sicknote.SickNote;
 import org.synyx.urlaubsverwaltung.sicknote.SickNoteService;
 
-import java.time.Clock;
 import java.time.LocalDate;
-import java.time.OffsetDateTime;
-import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Predicate;
 
-import static java.time.Instant.ofEpochMilli;
 import static java.util.stream.Collectors.toList;
 import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.ALLOWED;
 import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.ALLOWED_CANCELLATION_REQUESTED;
 import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.TEMPORARY_ALLOWED;
 import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.WAITING;
-import static org.synyx.urlaubsverwaltung.overlap.OverlapCase.FULLY_OVERLAPPING;
-import static org.synyx.urlaubsverwaltung.overlap.OverlapCase.NO_OVERLAPPING;
-import static org.synyx.urlaubsverwaltung.overlap.OverlapCase.PARTLY_OVERLAPPING;
 import static org.synyx.urlaubsverwaltung.period.DayLength.FULL;
 
 
 /**
  * This service handles the validation of {@link Application} for leave concerning overlapping, i.e. if there is already
  * an existent {@link Application} for leave in the same period, the user may not apply for leave in this period.
+ *
+ * <p>Overlaps are determined with half day resolution, i.e. an application for the morning does not overlap with a
+ * sick note for the noon of the same day.</p>
  */
 @Service
 public class OverlapService {
 
     private final ApplicationRepository applicationRepository;
     private final SickNoteService sickNoteService;
-    private final Clock clock;
 
     @Autowired
-    public OverlapService(ApplicationRepository applicationRepository, SickNoteService sickNoteService, Clock clock) {
+    public OverlapService(ApplicationRepository applicationRepository, SickNoteService sickNoteService) {
         this.applicationRepository = applicationRepository;
         this.sickNoteService = sickNoteService;
-        this.clock = clock;
     }
 
     /**
@@ -60,7 +52,7 @@ public class OverlapService {
         final LocalDate startDate = application.getStartDate();
         final LocalDate endDate = application.getEndDate();
 
-        List<Application> applications = getRelevantApplicationsForLeave(person, startDate, endDate, application.getDayLength());
+        List<Application> applications = getRelevantApplicationsForLeave(person, startDate, endDate);
         if (application.getId() != null) {
             applications = applications.stream()
                 .filter(input -> input.getId() != null && !input.getId().equals(application.getId()))
@@ -69,7 +61,8 @@ public class OverlapService {
 
         final List<SickNote> sickNotes = getRelevantSickNotes(person, startDate, endDate);
 
-        return getOverlapCase(startDate, endDate, applications, sickNotes);
+        return occupiedBy(applications, sickNotes)
+            .getOverlapCase(HalfDayInterval.of(startDate, endDate, application.getDayLength()));
     }
 
     /**
@@ -84,7 +77,7 @@ public class OverlapService {
         final LocalDate startDate = sickNote.getStartDate();
         final LocalDate endDate = sickNote.getEndDate();
 
-        final List<Application> applications = getRelevantApplicationsForLeave(person, startDate, endDate, sickNote.getDayLength());
+        final List<Application> applications = getRelevantApplicationsForLeave(person, startDate, endDate);
 
         List<SickNote> sickNotes = getRelevantSickNotes(person, startDate, endDate);
         if (sickNote.getId() != null) {
@@ -93,99 +86,34 @@ public class OverlapService {
                 .collect(toList());
         }
 
-        return getOverlapCase(startDate, endDate, applications, sickNotes);
+        return occupiedBy(applications, sickNotes)
+            .getOverlapCase(HalfDayInterval.of(startDate, endDate, sickNote.getDayLength()));
     }
 
     /**
-     * Get a list of intervals that overlap with the period of the given {@link Application} for leave.
+     * Get a list of intervals that overlap with the given period.
      *
      * @param startDate            defines the start of the period
      * @param endDate              defines the end of the period
-     * @param applicationsForLeave overlapping the reference application for leave
-     * @param sickNotes            overlapping the reference application for leave
-     * @return {@link List} of overlap intervals
+     * @param applicationsForLeave overlapping the period
+     * @param sickNotes            overlapping the period
+     * @return disjoint overlap intervals, sorted by their start
      */
-    public List<Interval> getListOfOverlaps(LocalDate startDate, LocalDate endDate, List<Application> applicationsForLeave, List<SickNote> sickNotes) {
-
-        final long startInstant = startDate.atStartOfDay(clock.getZone()).toInstant().toEpochMilli();
-        final long endInstant = endDate.atStartOfDay(clock.getZone()).toInstant().toEpochMilli();
-        final Interval interval = new Interval(startInstant, endInstant);
-
-        final List<Interval> overlappingIntervals = new ArrayList<>();
-        for (Application application : applicationsForLeave) {
-            overlappingIntervals.add(new Interval(application.getStartDate().atStartOfDay(clock.getZone()).toInstant().toEpochMilli(),
-                application.getEndDate().atStartOfDay(clock.getZone()).toInstant().toEpochMilli()));
-        }
-        for (SickNote sickNote : sickNotes) {
-            overlappingIntervals.add(new Interval(sickNote.getStartDate().atStartOfDay(clock.getZone()).toInstant().toEpochMilli(),
-                sickNote.getEndDate().atStartOfDay(clock.getZone()).toInstant().toEpochMilli()));
-        }
-
-        final List<Interval> listOfOverlaps = new ArrayList<>();
-
-        for (Interval overlappingInterval : overlappingIntervals) {
-            Interval overlap = overlappingInterval.overlap(interval);
-
-            // because intervals are inclusive of the start instant, but exclusive of the end instant
-            // you have to check if end of interval a is start of interval b
-
-            if (overlappingInterval.getEnd().equals(interval.getStart())) {
-                overlap = new Interval(interval.getStart(), interval.getStart());
-            }
-
-            if (overlappingInterval.getStart().equals(interval.getEnd())) {
-                overlap = new Interval(interval.getEnd(), interval.getEnd());
-            }
-
-            // check if they really overlap, else value of overlap would be null
-            if (overlap != null) {
-                listOfOverlaps.add(overlap);
-            }
-        }
-
-        return listOfOverlaps;
+    public List<HalfDayInterval> getListOfOverlaps(LocalDate startDate, LocalDate endDate, List<Application> applicationsForLeave, List<SickNote> sickNotes) {
+        return occupiedBy(applicationsForLeave, sickNotes).getOverlaps(HalfDayInterval.of(startDate, endDate, FULL));
     }
 
-    /**
-     * Determine the case of overlap for the given period and overlapping applications for leave and sick notes.
-     *
-     * @param startDate    defines the start of the period to be checked
-     * @param endDate      defines the end of the period to be checked
-     * @param applications for leave that are overlapping in the given period
-     * @param sickNotes    that are overlapping in the given period
-     * @return {@link OverlapCase} - none, partly, fully
-     */
-    private OverlapCase getOverlapCase(LocalDate startDate, LocalDate endDate, List<Application> applications, List<SickNote> sickNotes) {
+    private static OccupiedHalfDays occupiedBy(List<Application> applications, List<SickNote> sickNotes) {
 
-        // case (1): no overlap at all
-        if (applications.isEmpty() && sickNotes.isEmpty()) {
-            return NO_OVERLAPPING;
+        final List<HalfDayInterval> intervals = new ArrayList<>(applications.size() + sickNotes.size());
+        for (Application application : applications) {
+            intervals.add(HalfDayInterval.of(application.getStartDate(), application.getEndDate(), application.getDayLength()));
         }
-
-        // case (2) or (3): overlap
-
-        final List<Interval> listOfOverlaps = getListOfOverlaps(startDate, endDate, applications, sickNotes);
-        final List<Interval> listOfGaps = getListOfGaps(startDate, endDate, listOfOverlaps);
-
-        // gaps between the intervals mean that you can apply vacation for this periods
-        // this is case (3)
-        if (!listOfGaps.isEmpty()) {
-            /* (3) The period of the new application is part
-             * of an existent application's period, but for a part of it you could apply new vacation; i.e. user
-             * must be asked if he wants to apply for leave for the not overlapping period of the new
-             * application.
-             */
-            return PARTLY_OVERLAPPING;
+        for (SickNote sickNote : sickNotes) {
+            intervals.add(HalfDayInterval.of(sickNote.getStartDate(), sickNote.getEndDate(), sickNote.getDayLength()));
         }
-        // no gaps mean that period of application is element of other periods of applications
-        // i.e. you have no free periods to apply vacation for
-        // this is case (2)
 
-        /* (2) The period of
-         * the new application is element of an existent application's period; i.e. the new application is not
-         * necessary because there is already an existent application for this period.
-         */
-        return FULLY_OVERLAPPING;
+        return OccupiedHalfDays.of(intervals);
     }
 
     /**
@@ -194,24 +122,19 @@ public class OverlapService {
      * @param person    to get overlapping applications for leave for
      * @param startDate defines the start of the period
      * @param endDate   defines the end of the period
-     * @param dayLength defines the time of day of the period
      * @return {@link List} of {@link Application}s overlapping with the period
      */
-    private List<Application> getRelevantApplicationsForLeave(Person person, LocalDate startDate, LocalDate endDate, DayLength dayLength) {
+    private List<Application> getRelevantApplicationsForLeave(Person person, LocalDate startDate, LocalDate endDate) {
 
         // get all applications for leave
         final List<Application> applicationsForLeave = applicationRepository.getApplicationsForACertainTimeAndPerson(startDate, endDate, person);
 
         // remove the non-relevant ones
         return applicationsForLeave.stream()
-            .filter(withConflictingStatus().and(withOverlappingDayLength(dayLength)))
+            .filter(withConflictingStatus())
             .collect(toList());
     }
 
-    private Predicate<Application> withOverlappingDayLength(DayLength dayLength) {
-        return application -> application.getDayLength().equals(FULL) || dayLength.equals(FULL) || application.getDayLength().equals(dayLength);
-    }
-
     private Predicate<Application> withConflictingStatus() {
         return application -> application.hasStatus(WAITING) || application.hasStatus(ALLOWED) || application.hasStatus(ALLOWED_CANCELLATION_REQUESTED) || application.hasStatus(TEMPORARY_ALLOWED);
     }
@@ -231,71 +154,4 @@ public class OverlapService {
             .filter(SickNote::isActive)
             .collect(toList());
     }
-
-    /**
-     * Get a list of gaps within the given intervals.
-     *
-     * @param startDate      defines the start of the period
-     * @param endDate        defines the end of the period
-     * @param listOfOverlaps list of overlaps
-     * @return {@link List} of gaps
-     */
-    private List<Interval> getListOfGaps(LocalDate startDate, LocalDate endDate, List<Interval> listOfOverlaps) {
-
-        final List<Interval> listOfGaps = new ArrayList<>();
-
-        // check start and end points
-        if (listOfOverlaps.isEmpty()) {
-            return listOfGaps;
-        }
-
-        final OffsetDateTime firstOverlapStart = ofEpochMilli(listOfOverlaps.get(0).getStartMillis()).atOffset(ZoneOffset.of(clock.getZone().getId()));
-        final OffsetDateTime lastOverlapEnd = ofEpochMilli(listOfOverlaps.get(listOfOverlaps.size() - 1).getEndMillis()).atOffset(ZoneOffset.of(clock.getZone().getId()));
-
-        if (startDate.isBefore(firstOverlapStart.toLocalDate())) {
-            final Interval gapStart = new Interval(startDate.atStartOfDay(clock.getZone()).toInstant().toEpochMilli(), firstOverlapStart.toInstant().toEpochMilli());
-            listOfGaps.add(gapStart);
-        }
-
-        if (endDate.isAfter(lastOverlapEnd.toLocalDate())) {
-            final Interval gapEnd = new Interval(lastOverlapEnd.toInstant().toEpochMilli(), endDate.atStartOfDay(clock.getZone()).toInstant().toEpochMilli());
-            listOfGaps.add(gapEnd);
-        }
-
-        // check if intervals abut or gap
-        for (int i = 0; (i + 1) < listOfOverlaps.size(); i++) {
-            // if they don't abut, you can calculate the gap
-            // test if end of interval is equals resp. one day plus of start of other interval
-            // e.g. if period 1: 16.-18. and period 2: 19.-20 --> they abut
-            // e.g. if period 1: 16.-18. and period 2: 20.-22 --> they have a gap
-            if (intervalsHaveGap(listOfOverlaps.get(i), listOfOverlaps.get(i + 1))) {
-                final Interval gap = listOfOverlaps.get(i).gap(listOfOverlaps.get(i + 1));
-                listOfGaps.add(gap);
-            }
-        }
-
-        return listOfGaps;
-    }
-
-    /**
-     * Check if the two given intervals have a gap or if they abut.
-     *
-     * <p>Some examples:</p>
-     *
-     * <p>(1) period 16.-18. and period 19.-20. --> they abut</p>
-     *
-     * <p>(2) period 16.-18. and period 20.-22. --> they have a gap</p>
-     *
-     * @param firstInterval
-     * @param secondInterval
-     * @return {@code true} if they have a gap between or {@code false} if they have no gap
-     */
-    private boolean intervalsHaveGap(Interval firstInterval, Interval secondInterval) {
-
-        // test if end of interval is equals resp. one day plus of start of other interval
-        final LocalDate endOfFirstInterval = LocalDate.ofInstant(ofEpochMilli(firstInterval.getEndMillis()), clock.getZone());
-        final LocalDate startOfSecondInterval = LocalDate.ofInstant(ofEpochMilli(secondInterval.getStartMillis()), clock.getZone());
-
-        return !(endOfFirstInterval.equals(startOfSecondInterval) || endOfFirstInterval.plusDays(1).equals(startOfSecondInterval));
-    }
 }
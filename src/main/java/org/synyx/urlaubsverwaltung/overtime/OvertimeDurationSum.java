@@ -0,0 +1,11 @@
+package org.synyx.urlaubsverwaltung.overtime;
+
+/**
+ * Total duration of all overtime records of a person in hours.
+ */
+interface OvertimeDurationSum {
+
+    Integer getPersonId();
+
+    Double getDurationSum();
+}
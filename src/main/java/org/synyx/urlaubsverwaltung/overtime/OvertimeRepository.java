@@ -20,6 +20,12 @@ interface OvertimeRepository extends CrudRepository<Overtime, Integer> {
     @Query("SELECT SUM(overtime.duration) FROM Overtime overtime WHERE overtime.person = :person")
     Double calculateTotalHoursForPerson(@Param("person") Person person);
 
+    @Query(
+        "SELECT overtime.person.id AS personId, SUM(overtime.duration) AS durationSum FROM Overtime overtime "
+            + "WHERE overtime.person IN :persons GROUP BY overtime.person.id"
+    )
+    List<OvertimeDurationSum> calculateTotalHoursForPersons(@Param("persons") List<Person> persons);
+
     @Query(
         "SELECT overtime FROM Overtime overtime WHERE overtime.person = :person "
             + "AND ((overtime.startDate BETWEEN :start AND :end) "
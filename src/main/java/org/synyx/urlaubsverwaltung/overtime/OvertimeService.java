@@ -4,6 +4,7 @@ import org.synyx.urlaubsverwaltung.person.Person;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 
@@ -77,6 +78,14 @@ public interface OvertimeService {
      */
     Duration getLeftOvertimeForPerson(Person person);
 
+    /**
+     * Get the left overtime hours of many persons with a handful of queries, see {@link #getLeftOvertimeForPerson(Person)}.
+     *
+     * @param persons to get the left overtime for
+     * @return the left overtime by person, contains every given person
+     */
+    Map<Person, Duration> getLeftOvertimeForPersons(List<Person> persons);
+
     /**
      * Is signedInUser allowed to write (create or update) overtime records of given personOfOvertime.
      * @param signedInUser person which writes overtime record
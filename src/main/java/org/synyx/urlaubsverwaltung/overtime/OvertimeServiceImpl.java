@@ -13,11 +13,14 @@ import javax.transaction.Transactional;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static java.lang.invoke.MethodHandles.lookup;
 import static java.time.Duration.ZERO;
+import static java.util.stream.Collectors.toMap;
 import static org.slf4j.LoggerFactory.getLogger;
 import static org.synyx.urlaubsverwaltung.overtime.OvertimeCommentAction.CREATED;
 import static org.synyx.urlaubsverwaltung.overtime.OvertimeCommentAction.EDITED;
@@ -117,6 +120,28 @@ class OvertimeServiceImpl implements OvertimeService {
         return totalOvertime.minus(overtimeReduction);
     }
 
+    @Override
+    public Map<Person, Duration> getLeftOvertimeForPersons(List<Person> persons) {
+
+        if (persons.isEmpty()) {
+            return Map.of();
+        }
+
+        final Map<Integer, Double> totalOvertimeByPersonId = overtimeRepository.calculateTotalHoursForPersons(persons).stream()
+            .filter(overtimeDurationSum -> overtimeDurationSum.getDurationSum() != null)
+            .collect(toMap(OvertimeDurationSum::getPersonId, OvertimeDurationSum::getDurationSum));
+        final Map<Person, Duration> overtimeReductionByPerson = applicationService.getTotalOvertimeReductionOfPersons(persons);
+
+        final Map<Person, Duration> leftOvertimeByPerson = new HashMap<>();
+        for (Person person : persons) {
+            final Duration totalOvertime = toDuration(totalOvertimeByPersonId.get(person.getId()));
+            final Duration overtimeReduction = overtimeReductionByPerson.getOrDefault(person, ZERO);
+            leftOvertimeByPerson.put(person, totalOvertime.minus(overtimeReduction));
+        }
+
+        return leftOvertimeByPerson;
+    }
+
     /**
      * Is signedInUser person allowed to write (edit or update) the overtime record of personOfOvertime.
      *
@@ -142,10 +167,13 @@ class OvertimeServiceImpl implements OvertimeService {
 
     private Duration getTotalOvertimeForPerson(Person person) {
 
-        final Long totalOvertime = Optional.ofNullable(overtimeRepository.calculateTotalHoursForPerson(person))
+        return toDuration(overtimeRepository.calculateTotalHoursForPerson(person));
+    }
+
+    private static Duration toDuration(Double hours) {
+        final Long totalOvertime = Optional.ofNullable(hours)
             .map(aDouble -> Math.round(aDouble * 60))
             .orElse(0L);
         return Duration.of(totalOvertime, ChronoUnit.MINUTES);
-
     }
 }
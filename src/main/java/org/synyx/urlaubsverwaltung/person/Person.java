@@ -1,5 +1,6 @@
 package org.synyx.urlaubsverwaltung.person;
 
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.LazyCollection;
 
 import javax.persistence.ElementCollection;
@@ -35,11 +36,13 @@ public class Person {
 
     @ElementCollection
     @LazyCollection(FALSE)
+    @BatchSize(size = 100)
     @Enumerated(STRING)
     private Collection<Role> permissions;
 
     @ElementCollection
     @LazyCollection(FALSE)
+    @BatchSize(size = 100)
     @Enumerated(STRING)
     private Collection<MailNotification> notifications;
 
@@ -142,14 +145,23 @@ public class Person {
     }
 
     public String getNiceName() {
+        return niceNameOf(firstName, lastName);
+    }
+
+    /**
+     * @param firstName of a person, may be empty
+     * @param lastName  of a person, may be empty
+     * @return the name of a person as shown to the users
+     */
+    public static String niceNameOf(String firstName, String lastName) {
 
         final StringBuilder builder = new StringBuilder();
-        if (hasText(this.firstName)) {
-            builder.append(this.firstName);
+        if (hasText(firstName)) {
+            builder.append(firstName);
             builder.append(" ");
         }
-        if (hasText(this.lastName)) {
-            builder.append(this.lastName);
+        if (hasText(lastName)) {
+            builder.append(lastName);
         }
 
         final String niceName = builder.toString().trim();
@@ -1,7 +1,10 @@
 package org.synyx.urlaubsverwaltung.person;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -12,4 +15,10 @@ interface PersonRepository extends JpaRepository<Person, Integer> {
     Optional<Person> findByUsername(String username);
 
     int countByPermissionsNotContaining(Role permission);
+
+    @Query(
+        "SELECT person.id AS id, person.email AS email, person.firstName AS firstName, person.lastName AS lastName "
+            + "FROM Person person WHERE :permission NOT MEMBER OF person.permissions"
+    )
+    List<PersonSummary> findSummariesByPermissionsNotContaining(@Param("permission") Role permission);
 }
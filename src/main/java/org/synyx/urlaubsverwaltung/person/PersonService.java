@@ -70,6 +70,14 @@ public interface PersonService {
      */
     Optional<Person> getPersonByID(Integer id);
 
+    /**
+     * finds all {@link Person}s in the database by their primary keys.
+     *
+     * @param ids of the persons
+     * @return all persons with one of the given ids, unknown ids are ignored
+     */
+    List<Person> getPersonsByIds(List<Integer> ids);
+
     /**
      * finds a {@link Person} in the database by username.
      *
@@ -101,6 +109,13 @@ public interface PersonService {
      */
     List<Person> getActivePersons();
 
+    /**
+     * returns the name and email address of all active persons ordered like {@link #getActivePersons()}.
+     *
+     * @return returns all active persons without their permissions and notifications
+     */
+    List<PersonSummary> getActivePersonSummaries();
+
     /**
      * returns all inactive persons ordered by first name.
      *
@@ -108,6 +123,13 @@ public interface PersonService {
      */
     List<Person> getInactivePersons();
 
+    /**
+     * returns all persons, active and inactive ones, in no particular order.
+     *
+     * @return returns all persons
+     */
+    List<Person> getAllPersons();
+
     /**
      * This method allows to get the signed in user.
      *
@@ -1,14 +1,19 @@
 package org.synyx.urlaubsverwaltung.person;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
 import org.synyx.urlaubsverwaltung.account.AccountInteractionService;
+import org.synyx.urlaubsverwaltung.util.ExpiringLruCache;
 import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeWriteService;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
@@ -17,31 +22,44 @@ import java.util.Optional;
 import static java.lang.invoke.MethodHandles.lookup;
 import static java.util.stream.Collectors.toList;
 import static org.slf4j.LoggerFactory.getLogger;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.isSynchronizationActive;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.registerSynchronization;
 import static org.synyx.urlaubsverwaltung.person.Role.INACTIVE;
 import static org.synyx.urlaubsverwaltung.person.Role.OFFICE;
 
 
 /**
  * Implementation for {@link PersonService}.
+ *
+ * <p>The signed in users are cached by username, as they are resolved on every request. The cache is dropped on every
+ * saved person, since a person may be renamed or get other roles.</p>
  */
 @Service("personService")
 class PersonServiceImpl implements PersonService {
 
     private static final Logger LOG = getLogger(lookup().lookupClass());
 
+    private static final int MAX_CACHED_SIGNED_IN_USERS = 1024;
+    private static final Duration SIGNED_IN_USER_TIME_TO_LIVE = Duration.ofMinutes(5);
+
     private final PersonRepository personRepository;
     private final AccountInteractionService accountInteractionService;
     private final WorkingTimeWriteService workingTimeWriteService;
     private final ApplicationEventPublisher applicationEventPublisher;
+    private final ExpiringLruCache<String, Person> signedInUsers;
 
     @Autowired
     PersonServiceImpl(PersonRepository personRepository, AccountInteractionService accountInteractionService,
-                      WorkingTimeWriteService workingTimeWriteService, ApplicationEventPublisher applicationEventPublisher) {
+                      WorkingTimeWriteService workingTimeWriteService, ApplicationEventPublisher applicationEventPublisher,
+                      MeterRegistry meterRegistry, Clock clock) {
 
         this.personRepository = personRepository;
         this.accountInteractionService = accountInteractionService;
         this.workingTimeWriteService = workingTimeWriteService;
         this.applicationEventPublisher = applicationEventPublisher;
+
+        this.signedInUsers = new ExpiringLruCache<>(MAX_CACHED_SIGNED_IN_USERS, SIGNED_IN_USER_TIME_TO_LIVE, clock);
+        this.signedInUsers.bindTo(meterRegistry, "signedInUsers");
     }
 
     @Override
@@ -102,6 +120,9 @@ class PersonServiceImpl implements PersonService {
     public Person save(Person person) {
 
         final Person persistedPerson = personRepository.save(person);
+        invalidateSignedInUsers();
+
+        applicationEventPublisher.publishEvent(new PersonUpdatedEvent(this, persistedPerson));
 
         final boolean isInactive = persistedPerson.getPermissions().contains(INACTIVE);
         if (isInactive) {
@@ -116,6 +137,11 @@ class PersonServiceImpl implements PersonService {
         return personRepository.findById(id);
     }
 
+    @Override
+    public List<Person> getPersonsByIds(List<Integer> ids) {
+        return personRepository.findAllById(ids);
+    }
+
     @Override
     public Optional<Person> getPersonByUsername(String username) {
         return personRepository.findByUsername(username);
@@ -130,6 +156,14 @@ class PersonServiceImpl implements PersonService {
             .collect(toList());
     }
 
+    @Override
+    public List<PersonSummary> getActivePersonSummaries() {
+        return personRepository.findSummariesByPermissionsNotContaining(INACTIVE)
+            .stream()
+            .sorted(Comparator.comparing(person -> Person.niceNameOf(person.getFirstName(), person.getLastName()).toLowerCase()))
+            .collect(toList());
+    }
+
     @Override
     public List<Person> getInactivePersons() {
         return personRepository.findAll()
@@ -139,6 +173,11 @@ class PersonServiceImpl implements PersonService {
             .collect(toList());
     }
 
+    @Override
+    public List<Person> getAllPersons() {
+        return personRepository.findAll();
+    }
+
     @Override
     public List<Person> getActivePersonsByRole(final Role role) {
         return getActivePersons().stream()
@@ -162,12 +201,10 @@ class PersonServiceImpl implements PersonService {
         }
 
         final String username = authentication.getName();
-        final Optional<Person> person = getPersonByUsername(username);
-        if (person.isEmpty()) {
-            throw new IllegalStateException("Can not get the person for the signed in user with username = " + username);
-        }
+        final Person person = signedInUsers.get(username, () -> getPersonByUsername(username)
+            .orElseThrow(() -> new IllegalStateException("Can not get the person for the signed in user with username = " + username)));
 
-        return person.get();
+        return copyOf(person);
     }
 
     /**
@@ -202,6 +239,35 @@ class PersonServiceImpl implements PersonService {
         return personRepository.countByPermissionsNotContaining(INACTIVE);
     }
 
+    /**
+     * Drops the cached signed in users immediately and again after the surrounding transaction completed, so that a
+     * person loaded concurrently from the not yet committed state is not kept.
+     */
+    private void invalidateSignedInUsers() {
+        signedInUsers.invalidateAll();
+
+        if (isSynchronizationActive()) {
+            registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    signedInUsers.invalidateAll();
+                }
+            });
+        }
+    }
+
+    /**
+     * The cached person is shared by all requests of the signed in user, therefore every caller gets its own copy.
+     */
+    private static Person copyOf(Person person) {
+        final Person copy = new Person(person.getUsername(), person.getLastName(), person.getFirstName(), person.getEmail());
+        copy.setId(person.getId());
+        copy.setPassword(person.getPassword());
+        copy.setPermissions(new ArrayList<>(person.getPermissions()));
+        copy.setNotifications(new ArrayList<>(person.getNotifications()));
+        return copy;
+    }
+
     private Comparator<Person> personComparator() {
         return Comparator.comparing(p -> p.getNiceName().toLowerCase());
     }
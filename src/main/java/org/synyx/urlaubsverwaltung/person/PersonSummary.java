@@ -0,0 +1,15 @@
+package org.synyx.urlaubsverwaltung.person;
+
+/**
+ * The name and email address of a person, read without loading the permissions and notifications of the person.
+ */
+public interface PersonSummary {
+
+    Integer getId();
+
+    String getEmail();
+
+    String getFirstName();
+
+    String getLastName();
+}
@@ -0,0 +1,22 @@
+package org.synyx.urlaubsverwaltung.person;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published by {@link PersonService#save(Person)}, which is used for creating and updating persons as well as for
+ * the synchronisation with the directory service on login. Carries the saved person with its current name, email
+ * address and permissions; a person becoming inactive additionally publishes a {@link PersonDisabledEvent}.
+ */
+public class PersonUpdatedEvent extends ApplicationEvent {
+
+    private final transient Person person;
+
+    public PersonUpdatedEvent(Object source, Person person) {
+        super(source);
+        this.person = person;
+    }
+
+    public Person getPerson() {
+        return person;
+    }
+}
@@ -12,7 +12,6 @@ import org.springframework.web.bind.annotation.RestController;
 import org.synyx.urlaubsverwaltung.absence.AbsenceApiController;
 import org.synyx.urlaubsverwaltung.api.RestControllerAdviceMarker;
 import org.synyx.urlaubsverwaltung.availability.api.AvailabilityApiController;
-import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonService;
 import org.synyx.urlaubsverwaltung.sicknote.api.SickNoteApiController;
 import org.synyx.urlaubsverwaltung.vacations.VacationApiController;
@@ -56,8 +55,8 @@ public class PersonApiController {
     @PreAuthorize(IS_OFFICE)
     public ResponseEntity<List<PersonDto>> persons() {
 
-        List<PersonDto> persons = personService.getActivePersons().stream()
-            .map(this::createPersonResponse)
+        List<PersonDto> persons = personService.getActivePersonSummaries().stream()
+            .map(person -> createPersonResponse(PersonMapper.mapToDto(person), person.getId()))
             .collect(toList());
 
         return new ResponseEntity<>(persons, OK);
@@ -69,18 +68,17 @@ public class PersonApiController {
     public ResponseEntity<PersonDto> getPerson(@PathVariable Integer id) {
 
         return personService.getPersonByID(id)
-            .map(value -> new ResponseEntity<>(createPersonResponse(value), OK))
+            .map(value -> new ResponseEntity<>(createPersonResponse(PersonMapper.mapToDto(value), value.getId()), OK))
             .orElseGet(() -> new ResponseEntity<>(NOT_FOUND));
     }
 
-    private PersonDto createPersonResponse(Person person) {
-        final PersonDto personDto = PersonMapper.mapToDto(person);
-        personDto.add(linkTo(methodOn(PersonApiController.class).getPerson(person.getId())).withSelfRel());
-        personDto.add(linkTo(methodOn(AbsenceApiController.class).personsAbsences(person.getId(), null, null, null)).withRel(ABSENCES));
-        personDto.add(linkTo(methodOn(AvailabilityApiController.class).personsAvailabilities(person.getId(), null, null)).withRel(AVAILABILITIES));
-        personDto.add(linkTo(methodOn(SickNoteApiController.class).personsSickNotes(person.getId(), null, null)).withRel(SICKNOTES));
-        personDto.add(linkTo(methodOn(VacationApiController.class).getVacations(person.getId(), null, null)).withRel(VACATIONS));
-        personDto.add(linkTo(methodOn(WorkDaysCountApiController.class).personsWorkDays(person.getId(), null, null, null)).withRel(WORKDAYS));
+    private PersonDto createPersonResponse(PersonDto personDto, Integer personId) {
+        personDto.add(linkTo(methodOn(PersonApiController.class).getPerson(personId)).withSelfRel());
+        personDto.add(linkTo(methodOn(AbsenceApiController.class).personsAbsences(personId, null, null, null)).withRel(ABSENCES));
+        personDto.add(linkTo(methodOn(AvailabilityApiController.class).personsAvailabilities(personId, null, null)).withRel(AVAILABILITIES));
+        personDto.add(linkTo(methodOn(SickNoteApiController.class).personsSickNotes(personId, null, null)).withRel(SICKNOTES));
+        personDto.add(linkTo(methodOn(VacationApiController.class).getVacations(personId, null, null)).withRel(VACATIONS));
+        personDto.add(linkTo(methodOn(WorkDaysCountApiController.class).personsWorkDays(personId, null, null, null)).withRel(WORKDAYS));
         return personDto;
     }
 }
@@ -1,6 +1,7 @@
 package org.synyx.urlaubsverwaltung.person.api;
 
 import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.person.PersonSummary;
 
 public final class PersonMapper {
 
@@ -11,4 +12,12 @@ public final class PersonMapper {
     public static PersonDto mapToDto(Person person) {
         return new PersonDto(person.getEmail(), person.getFirstName(), person.getLastName(), person.getNiceName());
     }
+
+    public static PersonDto mapToDto(PersonSummary person) {
+        return mapToDto(person.getEmail(), person.getFirstName(), person.getLastName());
+    }
+
+    public static PersonDto mapToDto(String email, String firstName, String lastName) {
+        return new PersonDto(email, firstName, lastName, Person.niceNameOf(firstName, lastName));
+    }
 }
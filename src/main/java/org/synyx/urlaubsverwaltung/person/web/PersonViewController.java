@@ -37,7 +37,9 @@ import java.util.Map;
 import java.util.Optional;
 
 import static java.lang.String.format;
+import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
 import static org.synyx.urlaubsverwaltung.person.Role.BOSS;
 import static org.synyx.urlaubsverwaltung.person.Role.DEPARTMENT_HEAD;
 import static org.synyx.urlaubsverwaltung.person.Role.INACTIVE;
@@ -221,19 +223,14 @@ public class PersonViewController {
 
     private void preparePersonView(Person signedInUser, List<Person> persons, int year, Model model) {
 
-        final Map<Person, Account> accounts = new HashMap<>();
-        final Map<Person, VacationDaysLeft> vacationDaysLeftMap = new HashMap<>();
-
-        for (Person person : persons) {
-            // get person's account
-            final Optional<Account> account = accountService.getHolidaysAccount(year, person);
+        final Map<Person, Account> accounts = accountService.getHolidaysAccounts(year, persons).stream()
+            .collect(toMap(Account::getPerson, identity(), (account, duplicate) -> account));
+        final Map<Person, Account> nextYearAccounts = accountService.getHolidaysAccounts(year + 1, persons).stream()
+            .collect(toMap(Account::getPerson, identity(), (account, duplicate) -> account));
 
-            if (account.isPresent()) {
-                final Account holidaysAccount = account.get();
-                accounts.put(person, holidaysAccount);
-                vacationDaysLeftMap.put(person, vacationDaysService.getVacationDaysLeft(holidaysAccount, accountService.getHolidaysAccount(year + 1, person)));
-            }
-        }
+        final Map<Person, VacationDaysLeft> vacationDaysLeftMap = new HashMap<>();
+        vacationDaysService.getVacationDaysLeftOfAccounts(accounts.values(), nextYearAccounts)
+            .forEach((account, vacationDaysLeft) -> vacationDaysLeftMap.put(account.getPerson(), vacationDaysLeft));
 
         final LocalDate now = LocalDate.now(clock);
 
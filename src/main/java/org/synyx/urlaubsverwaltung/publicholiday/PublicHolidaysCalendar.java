@@ -0,0 +1,117 @@
+package org.synyx.urlaubsverwaltung.publicholiday;
+
+import de.jollyday.Holiday;
+import org.synyx.urlaubsverwaltung.period.DayLength;
+import org.synyx.urlaubsverwaltung.workingtime.FederalState;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeSettings;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.toUnmodifiableList;
+import static org.synyx.urlaubsverwaltung.period.DayLength.FULL;
+import static org.synyx.urlaubsverwaltung.period.DayLength.ZERO;
+import static org.synyx.urlaubsverwaltung.util.DateUtil.isChristmasEve;
+import static org.synyx.urlaubsverwaltung.util.DateUtil.isNewYearsEve;
+
+/**
+ * Immutable index of the public holidays of one year and one {@link FederalState}.
+ *
+ * <p>The public holidays are stored as a bitset over the days of the year. Public holidays with a configured working
+ * duration (Christmas Eve and New Year's Eve) are kept in a separate map, so every lookup is answered in constant time
+ * without asking the {@link de.jollyday.HolidayManager}.</p>
+ */
+final class PublicHolidaysCalendar {
+
+    private static final int MAX_DAYS_OF_YEAR = 366;
+
+    private final int year;
+    private final long[] publicHolidays;
+    private final Map<Integer, DayLength> configuredAbsenceTypes;
+    private final List<Holiday> holidays;
+
+    private PublicHolidaysCalendar(int year, long[] publicHolidays, Map<Integer, DayLength> configuredAbsenceTypes, List<Holiday> holidays) {
+        this.year = year;
+        this.publicHolidays = publicHolidays;
+        this.configuredAbsenceTypes = configuredAbsenceTypes;
+        this.holidays = holidays;
+    }
+
+    /**
+     * Builds the index for the given year.
+     *
+     * @param year                of the given holidays
+     * @param holidays            all holidays of the year
+     * @param workingTimeSettings to get the working duration of Christmas Eve and New Year's Eve from
+     * @return the public holiday index of the given year
+     */
+    static PublicHolidaysCalendar of(int year, Collection<Holiday> holidays, WorkingTimeSettings workingTimeSettings) {
+
+        final long[] publicHolidays = new long[(MAX_DAYS_OF_YEAR + Long.SIZE - 1) / Long.SIZE];
+        final Map<Integer, DayLength> configuredAbsenceTypes = new HashMap<>();
+
+        for (Holiday holiday : holidays) {
+            final LocalDate date = holiday.getDate();
+            if (date.getYear() != year) {
+                continue;
+            }
+
+            final int index = date.getDayOfYear() - 1;
+            publicHolidays[index / Long.SIZE] |= 1L << (index % Long.SIZE);
+
+            if (isChristmasEve(date)) {
+                configuredAbsenceTypes.put(date.getDayOfYear(), workingTimeSettings.getWorkingDurationForChristmasEve().getInverse());
+            } else if (isNewYearsEve(date)) {
+                configuredAbsenceTypes.put(date.getDayOfYear(), workingTimeSettings.getWorkingDurationForNewYearsEve().getInverse());
+            }
+        }
+
+        final List<Holiday> sortedHolidays = holidays.stream()
+            .filter(holiday -> holiday.getDate().getYear() == year)
+            .sorted(comparing(Holiday::getDate))
+            .collect(toUnmodifiableList());
+
+        return new PublicHolidaysCalendar(year, publicHolidays, Map.copyOf(configuredAbsenceTypes), sortedHolidays);
+    }
+
+    int getYear() {
+        return year;
+    }
+
+    boolean isPublicHoliday(LocalDate date) {
+        final int index = dayOfYearIndex(date);
+        return (publicHolidays[index / Long.SIZE] & (1L << (index % Long.SIZE))) != 0;
+    }
+
+    /**
+     * @param date to get the absence type of
+     * @return {@link DayLength#ZERO} for a date that is no public holiday, {@link DayLength#FULL} for a public holiday
+     * or the configured absence type of Christmas Eve or New Year's Eve
+     */
+    DayLength getAbsenceTypeOfDate(LocalDate date) {
+        if (!isPublicHoliday(date)) {
+            return ZERO;
+        }
+
+        return configuredAbsenceTypes.getOrDefault(date.getDayOfYear(), FULL);
+    }
+
+    /**
+     * @return all holidays of the year ordered by date
+     */
+    List<Holiday> getHolidays() {
+        return holidays;
+    }
+
+    private int dayOfYearIndex(LocalDate date) {
+        if (date.getYear() != year) {
+            throw new IllegalArgumentException("Date " + date + " is not in year " + year);
+        }
+
+        return date.getDayOfYear() - 1;
+    }
+}
@@ -3,28 +3,34 @@ package org.synyx.urlaubsverwaltung.publicholiday;
 import de.jollyday.Holiday;
 import de.jollyday.HolidayManager;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 import org.synyx.urlaubsverwaltung.period.DayLength;
-import org.synyx.urlaubsverwaltung.settings.Settings;
 import org.synyx.urlaubsverwaltung.settings.SettingsService;
+import org.synyx.urlaubsverwaltung.settings.SettingsUpdatedEvent;
 import org.synyx.urlaubsverwaltung.workingtime.FederalState;
-import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeSettings;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.util.stream.Collectors.toUnmodifiableList;
-import static org.synyx.urlaubsverwaltung.period.DayLength.FULL;
-import static org.synyx.urlaubsverwaltung.period.DayLength.ZERO;
-import static org.synyx.urlaubsverwaltung.util.DateUtil.isChristmasEve;
-import static org.synyx.urlaubsverwaltung.util.DateUtil.isNewYearsEve;
 
 @Component
 public class PublicHolidaysService {
 
+    /**
+     * Upper bound of cached {@link PublicHolidaysCalendar}s, enough for every federal state over several decades.
+     */
+    private static final int MAX_CACHED_CALENDARS = 1024;
+
     private final HolidayManager manager;
     private final SettingsService settingsService;
+    private final Map<Long, PublicHolidaysCalendar> calendars = new ConcurrentHashMap<>();
 
     @Autowired
     public PublicHolidaysService(SettingsService settingsService, HolidayManager holidayManager) {
@@ -46,42 +52,57 @@ public class PublicHolidaysService {
     }
 
     public DayLength getAbsenceTypeOfDate(LocalDate date, FederalState federalState) {
-
-        final Settings settings = settingsService.getSettings();
-        final WorkingTimeSettings workingTimeSettings = settings.getWorkingTimeSettings();
-
-        return getHolidayDayLength(workingTimeSettings, date, federalState);
+        return getCalendar(date.getYear(), federalState).getAbsenceTypeOfDate(date);
     }
 
     public List<Holiday> getHolidays(final LocalDate from, final LocalDate to, FederalState federalState) {
-        return List.copyOf(manager.getHolidays(from, to, federalState.getCodes()));
+        final List<Holiday> holidays = new ArrayList<>();
+        for (int year = from.getYear(); year <= to.getYear(); year++) {
+            for (Holiday holiday : getCalendar(year, federalState).getHolidays()) {
+                final LocalDate date = holiday.getDate();
+                if (!date.isBefore(from) && !date.isAfter(to)) {
+                    holidays.add(holiday);
+                }
+            }
+        }
+
+        return List.copyOf(holidays);
     }
 
     public List<PublicHoliday> getPublicHolidays(LocalDate from, LocalDate to, FederalState federalState) {
-        final Settings settings = settingsService.getSettings();
-        final WorkingTimeSettings workingTimeSettings = settings.getWorkingTimeSettings();
-
         return getHolidays(from, to, federalState).stream()
-            .map(holiday -> new PublicHoliday(holiday.getDate(), getHolidayDayLength(workingTimeSettings, holiday.getDate(), federalState)))
+            .map(holiday -> new PublicHoliday(holiday.getDate(), getAbsenceTypeOfDate(holiday.getDate(), federalState)))
             .collect(toUnmodifiableList());
     }
 
-    private DayLength getHolidayDayLength(WorkingTimeSettings workingTimeSettings, LocalDate date, FederalState federalState) {
-        DayLength workingTime = FULL;
-        if (isPublicHoliday(date, federalState)) {
-            if (isChristmasEve(date)) {
-                workingTime = workingTimeSettings.getWorkingDurationForChristmasEve();
-            } else if (isNewYearsEve(date)) {
-                workingTime = workingTimeSettings.getWorkingDurationForNewYearsEve();
-            } else {
-                workingTime = ZERO;
-            }
+    /**
+     * The working duration of Christmas Eve and New Year's Eve is part of the settings,
+     * therefore all cached public holiday calendars are dropped on a settings update.
+     *
+     * @param event the settings update
+     */
+    @EventListener
+    public void handleSettingsUpdated(SettingsUpdatedEvent event) {
+        calendars.clear();
+    }
+
+    private PublicHolidaysCalendar getCalendar(int year, FederalState federalState) {
+        final long key = ((long) year << 8) | federalState.ordinal();
+
+        final PublicHolidaysCalendar calendar = calendars.get(key);
+        if (calendar != null) {
+            return calendar;
+        }
+
+        if (calendars.size() >= MAX_CACHED_CALENDARS) {
+            calendars.clear();
         }
 
-        return workingTime.getInverse();
+        return calendars.computeIfAbsent(key, k -> buildCalendar(year, federalState));
     }
 
-    private boolean isPublicHoliday(LocalDate date, FederalState federalState) {
-        return manager.isHoliday(date, federalState.getCodes());
+    private PublicHolidaysCalendar buildCalendar(int year, FederalState federalState) {
+        final Set<Holiday> holidays = manager.getHolidays(year, federalState.getCodes());
+        return PublicHolidaysCalendar.of(year, holidays, settingsService.getSettings().getWorkingTimeSettings());
     }
 }
@@ -1,5 +1,6 @@
 package org.synyx.urlaubsverwaltung.security.ldap;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -11,6 +12,8 @@ import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.ldap.authentication.ad.ActiveDirectoryLdapAuthenticationProvider;
 import org.synyx.urlaubsverwaltung.person.PersonService;
 
+import java.time.Clock;
+
 import static org.springframework.util.StringUtils.hasText;
 
 @Configuration
@@ -69,13 +72,21 @@ public class ActiveDirectorySecurityConfiguration {
         }
 
         @Bean
-        public LdapUserDataImportConfiguration ldapUserDataImportConfiguration(LdapUserDataImporter ldapUserDataImporter) {
-            return new LdapUserDataImportConfiguration(directoryServiceSecurityProperties, ldapUserDataImporter);
+        public LdapUserDataImportConfiguration ldapUserDataImportConfiguration(LdapUserDataImporter ldapUserDataImporter,
+                                                                               DirectoryServiceSyncHealthIndicator directoryServiceSyncHealthIndicator) {
+            return new LdapUserDataImportConfiguration(directoryServiceSecurityProperties, ldapUserDataImporter, directoryServiceSyncHealthIndicator);
+        }
+
+        @Bean
+        public LdapUserDataImporter ldapUserDataImporter(LdapUserService ldapUserService, PersonService personService,
+                                                         DirectoryServiceSyncRepository directoryServiceSyncRepository,
+                                                         MeterRegistry meterRegistry, Clock clock) {
+            return new LdapUserDataImporter(ldapUserService, personService, directoryServiceSyncRepository, meterRegistry, clock);
         }
 
         @Bean
-        public LdapUserDataImporter ldapUserDataImporter(LdapUserService ldapUserService, PersonService personService) {
-            return new LdapUserDataImporter(ldapUserService, personService);
+        public DirectoryServiceSyncHealthIndicator directoryServiceSyncHealthIndicator(Clock clock) {
+            return new DirectoryServiceSyncHealthIndicator(clock);
         }
 
         @Bean
@@ -6,6 +6,9 @@ import org.springframework.validation.annotation.Validated;
 import org.synyx.urlaubsverwaltung.validation.CronExpression;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
 
 @Component
 @ConfigurationProperties("uv.security.directory-service")
@@ -100,6 +103,34 @@ public class DirectoryServiceSecurityProperties {
         @CronExpression
         private String cron = "0 0 1 * * ?";
 
+        /**
+         * Additionally syncs all directory services entries by default every sunday at 02:00 am, `-` disables it.
+         * Changes of the group memberships do not update the {@link #modifiedAttribute} of the members in an Active
+         * Directory, so new members of the groups are only imported by a full sync.
+         */
+        @NotNull
+        private String fullCron = "0 0 2 * * SUN";
+
+        /**
+         * Number of directory service entries fetched with one paged search request
+         */
+        @Min(1)
+        private int pageSize = 500;
+
+        /**
+         * Only the entries modified since the last sync are fetched by default. {@code full} fetches all entries on
+         * every sync. Entries whose group memberships changed are only fetched by the sync with {@link #fullCron}.
+         */
+        @NotNull
+        private DirectoryServiceSyncMode mode = DirectoryServiceSyncMode.INCREMENTAL;
+
+        /**
+         * Attribute of the directory service entries holding the time or sequence number of the last modification,
+         * e.g. `whenChanged` or `uSNChanged` for an Active Directory
+         */
+        @NotBlank
+        private String modifiedAttribute = "modifyTimestamp";
+
         public String getCron() {
             return cron;
         }
@@ -107,6 +138,38 @@ public class DirectoryServiceSecurityProperties {
         public void setCron(String cron) {
             this.cron = cron;
         }
+
+        public String getFullCron() {
+            return fullCron;
+        }
+
+        public void setFullCron(String fullCron) {
+            this.fullCron = fullCron;
+        }
+
+        public int getPageSize() {
+            return pageSize;
+        }
+
+        public void setPageSize(int pageSize) {
+            this.pageSize = pageSize;
+        }
+
+        public DirectoryServiceSyncMode getMode() {
+            return mode;
+        }
+
+        public void setMode(DirectoryServiceSyncMode mode) {
+            this.mode = mode;
+        }
+
+        public String getModifiedAttribute() {
+            return modifiedAttribute;
+        }
+
+        public void setModifiedAttribute(String modifiedAttribute) {
+            this.modifiedAttribute = modifiedAttribute;
+        }
     }
 }
 
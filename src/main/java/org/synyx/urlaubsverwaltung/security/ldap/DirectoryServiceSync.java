@@ -0,0 +1,57 @@
+package org.synyx.urlaubsverwaltung.security.ldap;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import java.time.Instant;
+
+/**
+ * The state of the sync with the directory service, there is only one.
+ */
+@Entity
+class DirectoryServiceSync {
+
+    static final long ID = 1;
+
+    @Id
+    private Long id = ID;
+
+    /**
+     * The highest value of the modified attribute of all fetched entries, {@code null} as long as no entry with a
+     * modified attribute was fetched.
+     */
+    private String modifiedSince;
+
+    private Instant lastSync;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getModifiedSince() {
+        return modifiedSince;
+    }
+
+    public void setModifiedSince(String modifiedSince) {
+        this.modifiedSince = modifiedSince;
+    }
+
+    public Instant getLastSync() {
+        return lastSync;
+    }
+
+    public void setLastSync(Instant lastSync) {
+        this.lastSync = lastSync;
+    }
+
+    @Override
+    public String toString() {
+        return "DirectoryServiceSync{" +
+            "modifiedSince='" + modifiedSince + '\'' +
+            ", lastSync=" + lastSync +
+            '}';
+    }
+}
@@ -0,0 +1,58 @@
+package org.synyx.urlaubsverwaltung.security.ldap;
+
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+
+import java.time.Clock;
+import java.time.Instant;
+
+/**
+ * Reports the state of the sync with the directory service in the details of the health endpoint. The indicator is
+ * always up, because the application serves the already synced persons while the sync is running or failing, so the
+ * state of the sync must not take the whole application out of service.
+ */
+class DirectoryServiceSyncHealthIndicator extends AbstractHealthIndicator {
+
+    private final Clock clock;
+
+    private volatile boolean running;
+    private volatile Instant lastSuccessfulSync;
+    private volatile Instant lastFailedSync;
+    private volatile String lastFailure;
+
+    DirectoryServiceSyncHealthIndicator(Clock clock) {
+        super("Directory service sync health check failed");
+        this.clock = clock;
+    }
+
+    void syncStarted() {
+        running = true;
+    }
+
+    void syncSucceeded() {
+        running = false;
+        lastSuccessfulSync = Instant.now(clock);
+    }
+
+    void syncFailed(Exception exception) {
+        running = false;
+        lastFailedSync = Instant.now(clock);
+        lastFailure = exception.getMessage();
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+
+        builder.up()
+            .withDetail("synced", lastSuccessfulSync != null)
+            .withDetail("running", running);
+
+        if (lastSuccessfulSync != null) {
+            builder.withDetail("lastSuccessfulSync", lastSuccessfulSync);
+        }
+        if (lastFailedSync != null) {
+            builder.withDetail("lastFailedSync", lastFailedSync)
+                .withDetail("lastFailure", String.valueOf(lastFailure));
+        }
+    }
+}
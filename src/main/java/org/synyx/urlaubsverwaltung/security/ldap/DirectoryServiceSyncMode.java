@@ -0,0 +1,17 @@
+package org.synyx.urlaubsverwaltung.security.ldap;
+
+/**
+ * Describes which entries of the directory service are fetched by a sync.
+ */
+public enum DirectoryServiceSyncMode {
+
+    /**
+     * Fetches only the entries modified since the last successful sync, all entries if there was none yet
+     */
+    INCREMENTAL,
+
+    /**
+     * Fetches all entries
+     */
+    FULL
+}
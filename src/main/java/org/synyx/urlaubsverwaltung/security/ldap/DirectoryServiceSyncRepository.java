@@ -0,0 +1,6 @@
+package org.synyx.urlaubsverwaltung.security.ldap;
+
+import org.springframework.data.repository.CrudRepository;
+
+interface DirectoryServiceSyncRepository extends CrudRepository<DirectoryServiceSync, Long> {
+}
@@ -1,5 +1,6 @@
 package org.synyx.urlaubsverwaltung.security.ldap;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -16,6 +17,8 @@ import org.springframework.security.ldap.userdetails.DefaultLdapAuthoritiesPopul
 import org.springframework.security.ldap.userdetails.LdapAuthoritiesPopulator;
 import org.synyx.urlaubsverwaltung.person.PersonService;
 
+import java.time.Clock;
+
 @Configuration
 public class LdapSecurityConfiguration {
 
@@ -97,13 +100,21 @@ public class LdapSecurityConfiguration {
         }
 
         @Bean
-        public LdapUserDataImportConfiguration ldapUserDataImportConfiguration(LdapUserDataImporter ldapUserDataImporter) {
-            return new LdapUserDataImportConfiguration(directoryServiceSecurityProperties, ldapUserDataImporter);
+        public LdapUserDataImportConfiguration ldapUserDataImportConfiguration(LdapUserDataImporter ldapUserDataImporter,
+                                                                               DirectoryServiceSyncHealthIndicator directoryServiceSyncHealthIndicator) {
+            return new LdapUserDataImportConfiguration(directoryServiceSecurityProperties, ldapUserDataImporter, directoryServiceSyncHealthIndicator);
+        }
+
+        @Bean
+        public LdapUserDataImporter ldapUserDataImporter(LdapUserService ldapUserService, PersonService personService,
+                                                         DirectoryServiceSyncRepository directoryServiceSyncRepository,
+                                                         MeterRegistry meterRegistry, Clock clock) {
+            return new LdapUserDataImporter(ldapUserService, personService, directoryServiceSyncRepository, meterRegistry, clock);
         }
 
         @Bean
-        public LdapUserDataImporter ldapUserDataImporter(LdapUserService ldapUserService, PersonService personService) {
-            return new LdapUserDataImporter(ldapUserService, personService);
+        public DirectoryServiceSyncHealthIndicator directoryServiceSyncHealthIndicator(Clock clock) {
+            return new DirectoryServiceSyncHealthIndicator(clock);
         }
 
         @Bean
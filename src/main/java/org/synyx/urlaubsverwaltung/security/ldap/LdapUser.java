@@ -16,8 +16,16 @@ final class LdapUser {
     private final String lastName;
     private final String email;
     private final List<String> memberOf;
+    private final String modified;
 
     LdapUser(String username, String firstName, String lastName, String email, List<String> memberOf) {
+        this(username, firstName, lastName, email, memberOf, null);
+    }
+
+    /**
+     * @param modified the time or sequence number of the last modification of the entry in the directory service
+     */
+    LdapUser(String username, String firstName, String lastName, String email, List<String> memberOf, String modified) {
 
         if (!StringUtils.hasText(username)) {
             throw new IllegalArgumentException("Username must be given.");
@@ -28,6 +36,7 @@ final class LdapUser {
         this.lastName = lastName;
         this.email = email;
         this.memberOf = memberOf;
+        this.modified = modified;
     }
 
     String getUsername() {
@@ -57,4 +66,8 @@ final class LdapUser {
     List<String> getMemberOf() {
         return List.copyOf(memberOf);
     }
+
+    Optional<String> getModified() {
+        return Optional.ofNullable(modified);
+    }
 }
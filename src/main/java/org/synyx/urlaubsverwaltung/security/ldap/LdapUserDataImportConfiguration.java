@@ -1,21 +1,72 @@
 package org.synyx.urlaubsverwaltung.security.ldap;
 
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.Trigger;
 import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 
-class LdapUserDataImportConfiguration implements SchedulingConfigurer {
+import java.util.Date;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.synyx.urlaubsverwaltung.security.ldap.DirectoryServiceSyncMode.FULL;
+
+/**
+ * Schedules the sync with the directory service once right after the start of the application, then with the
+ * configured cron expression and additionally as full sync with the configured full sync cron expression.
+ * <p>
+ * The sync after the start runs on its own thread, so that neither the start nor the other scheduled tasks have to
+ * wait for it.
+ */
+class LdapUserDataImportConfiguration implements SchedulingConfigurer, DisposableBean {
+
+    private static final Trigger ONCE = triggerContext -> triggerContext.lastScheduledExecutionTime() == null ? new Date() : null;
 
     private final DirectoryServiceSecurityProperties directoryServiceSecurityProperties;
     private final LdapUserDataImporter ldapUserDataImporter;
+    private final DirectoryServiceSyncHealthIndicator directoryServiceSyncHealthIndicator;
+    private final ExecutorService startupSyncExecutor;
 
-    LdapUserDataImportConfiguration(DirectoryServiceSecurityProperties directoryServiceSecurityProperties, LdapUserDataImporter ldapUserDataImporter) {
+    LdapUserDataImportConfiguration(DirectoryServiceSecurityProperties directoryServiceSecurityProperties, LdapUserDataImporter ldapUserDataImporter,
+                                    DirectoryServiceSyncHealthIndicator directoryServiceSyncHealthIndicator) {
+        this(directoryServiceSecurityProperties, ldapUserDataImporter, directoryServiceSyncHealthIndicator,
+            Executors.newSingleThreadExecutor(new CustomizableThreadFactory("directory-service-sync-")));
+    }
+
+    LdapUserDataImportConfiguration(DirectoryServiceSecurityProperties directoryServiceSecurityProperties, LdapUserDataImporter ldapUserDataImporter,
+                                    DirectoryServiceSyncHealthIndicator directoryServiceSyncHealthIndicator, ExecutorService startupSyncExecutor) {
 
         this.directoryServiceSecurityProperties = directoryServiceSecurityProperties;
         this.ldapUserDataImporter = ldapUserDataImporter;
+        this.directoryServiceSyncHealthIndicator = directoryServiceSyncHealthIndicator;
+        this.startupSyncExecutor = startupSyncExecutor;
     }
 
     @Override
     public void configureTasks(ScheduledTaskRegistrar scheduledTaskRegistrar) {
-        scheduledTaskRegistrar.addCronTask(ldapUserDataImporter::sync, directoryServiceSecurityProperties.getSync().getCron());
+
+        final DirectoryServiceSecurityProperties.SecuritySync syncProperties = directoryServiceSecurityProperties.getSync();
+
+        scheduledTaskRegistrar.addTriggerTask(() -> startupSyncExecutor.execute(() -> sync(syncProperties.getMode())), ONCE);
+        scheduledTaskRegistrar.addCronTask(() -> sync(syncProperties.getMode()), syncProperties.getCron());
+        scheduledTaskRegistrar.addCronTask(() -> sync(FULL), syncProperties.getFullCron());
+    }
+
+    private synchronized void sync(DirectoryServiceSyncMode mode) {
+
+        directoryServiceSyncHealthIndicator.syncStarted();
+        try {
+            ldapUserDataImporter.sync(mode);
+            directoryServiceSyncHealthIndicator.syncSucceeded();
+        } catch (RuntimeException e) {
+            directoryServiceSyncHealthIndicator.syncFailed(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        startupSyncExecutor.shutdown();
     }
 }
@@ -1,70 +1,172 @@
 package org.synyx.urlaubsverwaltung.security.ldap;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.springframework.transaction.annotation.Transactional;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonService;
 
-import javax.annotation.PostConstruct;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static java.lang.invoke.MethodHandles.lookup;
 import static java.util.Collections.singletonList;
 import static org.slf4j.LoggerFactory.getLogger;
 import static org.synyx.urlaubsverwaltung.person.MailNotification.NOTIFICATION_USER;
 import static org.synyx.urlaubsverwaltung.person.Role.USER;
+import static org.synyx.urlaubsverwaltung.security.ldap.DirectoryServiceSyncMode.INCREMENTAL;
 
 
 /**
  * Import person data from configured LDAP or Active Directory.
+ *
+ * <p>All persons are loaded once and compared field by field with the users of the directory service, so only
+ * persons that are new or changed in the directory service are written.</p>
+ *
+ * <p>An incremental sync fetches only the users modified since the last sync. The highest value of the configured
+ * modified attribute is persisted with the synced persons as watermark for the next sync. Users are fetched at or
+ * after the watermark, so users modified within the same second as the last sync are not missed.</p>
  */
 @Transactional
 public class LdapUserDataImporter {
 
     private static final Logger LOG = getLogger(lookup().lookupClass());
 
+    private static final String METRIC_SYNC = "directory.sync";
+    private static final String METRIC_SYNC_PERSONS = "directory.sync.persons";
+
+    private static final Comparator<String> MODIFIED_ORDER = Comparator.comparingInt(String::length).thenComparing(Comparator.naturalOrder());
+
     private final LdapUserService ldapUserService;
     private final PersonService personService;
+    private final DirectoryServiceSyncRepository directoryServiceSyncRepository;
+    private final Clock clock;
+
+    private final Timer syncTimer;
+    private final Counter createdPersons;
+    private final Counter updatedPersons;
+    private final Counter unchangedPersons;
 
-    LdapUserDataImporter(LdapUserService ldapUserService, PersonService personService) {
+    LdapUserDataImporter(LdapUserService ldapUserService, PersonService personService,
+                         DirectoryServiceSyncRepository directoryServiceSyncRepository, MeterRegistry meterRegistry, Clock clock) {
 
         this.ldapUserService = ldapUserService;
         this.personService = personService;
+        this.directoryServiceSyncRepository = directoryServiceSyncRepository;
+        this.clock = clock;
+
+        this.syncTimer = Timer.builder(METRIC_SYNC).register(meterRegistry);
+        this.createdPersons = Counter.builder(METRIC_SYNC_PERSONS).tag("result", "created").register(meterRegistry);
+        this.updatedPersons = Counter.builder(METRIC_SYNC_PERSONS).tag("result", "updated").register(meterRegistry);
+        this.unchangedPersons = Counter.builder(METRIC_SYNC_PERSONS).tag("result", "unchanged").register(meterRegistry);
+    }
+
+    /**
+     * Syncs the persons with the users of the directory service. An incremental sync without a previous sync fetches
+     * all users.
+     *
+     * @param mode of the sync
+     */
+    public void sync(DirectoryServiceSyncMode mode) {
+        syncTimer.record(() -> doSync(mode));
     }
 
-    @PostConstruct
-    void sync() {
+    private void doSync(DirectoryServiceSyncMode mode) {
 
         LOG.info("STARTING DIRECTORY SERVICE SYNC --------------------------------------------------------------------------------");
 
-        final List<LdapUser> users = ldapUserService.getLdapUsers();
+        final DirectoryServiceSync directoryServiceSync = directoryServiceSyncRepository.findById(DirectoryServiceSync.ID)
+            .orElseGet(DirectoryServiceSync::new);
+
+        final String modifiedSince = directoryServiceSync.getModifiedSince();
+        final List<LdapUser> users;
+        if (mode == INCREMENTAL && modifiedSince != null) {
+            LOG.info("Fetching users modified since {}", modifiedSince);
+            users = ldapUserService.getLdapUsersModifiedSince(modifiedSince);
+        } else {
+            LOG.info("Fetching all users");
+            users = ldapUserService.getLdapUsers();
+        }
 
         LOG.info("Found {} user(s)", users.size());
 
+        final Map<String, Person> personsByUsername = new HashMap<>();
+        for (Person person : personService.getAllPersons()) {
+            personsByUsername.put(person.getUsername(), person);
+        }
+
+        int created = 0;
+        int updated = 0;
+        int unchanged = 0;
+
         for (LdapUser user : users) {
             final String username = user.getUsername();
             final Optional<String> firstName = user.getFirstName();
             final Optional<String> lastName = user.getLastName();
             final Optional<String> email = user.getEmail();
 
-            final Optional<Person> optionalPerson = personService.getPersonByUsername(username);
-
-            if (optionalPerson.isPresent()) {
+            final Person person = personsByUsername.get(username);
 
-                Person person = optionalPerson.get();
-
-                firstName.ifPresent(person::setFirstName);
-                lastName.ifPresent(person::setLastName);
-                email.ifPresent(person::setEmail);
-
-                personService.save(person);
-            } else {
-                personService.create(username, lastName.orElse(null), firstName.orElse(null),
+            if (person == null) {
+                final Person createdPerson = personService.create(username, lastName.orElse(null), firstName.orElse(null),
                     email.orElse(null), singletonList(NOTIFICATION_USER), singletonList(USER));
+                personsByUsername.put(username, createdPerson);
+                created++;
+            } else {
+                final List<String> changedFields = new ArrayList<>();
+                firstName.ifPresent(value -> update("firstName", person.getFirstName(), value, person::setFirstName, changedFields));
+                lastName.ifPresent(value -> update("lastName", person.getLastName(), value, person::setLastName, changedFields));
+                email.ifPresent(value -> update("email", person.getEmail(), value, person::setEmail, changedFields));
+
+                if (changedFields.isEmpty()) {
+                    unchanged++;
+                } else {
+                    LOG.debug("Updating {} of person with username {}", changedFields, username);
+                    personService.update(person);
+                    updated++;
+                }
             }
         }
 
+        directoryServiceSync.setModifiedSince(lastModified(users, modifiedSince));
+        directoryServiceSync.setLastSync(Instant.now(clock));
+        directoryServiceSyncRepository.save(directoryServiceSync);
+
+        createdPersons.increment(created);
+        updatedPersons.increment(updated);
+        unchangedPersons.increment(unchanged);
+
+        LOG.info("Created {}, updated {} and left {} person(s) unchanged", created, updated, unchanged);
         LOG.info("DONE DIRECTORY SERVICE SYNC ------------------------------------------------------------------------------------");
     }
+
+    /**
+     * Values of the modified attribute are either generalized times with the same format or sequence numbers, both
+     * are ordered by length first.
+     */
+    private static String lastModified(List<LdapUser> users, String modifiedSince) {
+        return users.stream()
+            .map(LdapUser::getModified)
+            .flatMap(Optional::stream)
+            .max(MODIFIED_ORDER)
+            .filter(lastModified -> modifiedSince == null || MODIFIED_ORDER.compare(lastModified, modifiedSince) > 0)
+            .orElse(modifiedSince);
+    }
+
+    private static void update(String field, String currentValue, String value, Consumer<String> setter, List<String> changedFields) {
+        if (!Objects.equals(currentValue, value)) {
+            setter.accept(value);
+            changedFields.add(field);
+        }
+    }
 }
@@ -46,8 +46,9 @@ public class LdapUserMapper implements AttributesMapper<LdapUser> {
         final String firstName = getAttributeValue(attributes, directoryServiceSecurityProperties.getFirstName());
         final String lastName = getAttributeValue(attributes, directoryServiceSecurityProperties.getLastName());
         final String email = getAttributeValue(attributes, directoryServiceSecurityProperties.getMailAddress());
+        final String modified = getAttributeValue(attributes, directoryServiceSecurityProperties.getSync().getModifiedAttribute());
 
-        return new LdapUser(username, firstName, lastName, email, groups);
+        return new LdapUser(username, firstName, lastName, email, groups, modified);
     }
 
     LdapUser mapFromContext(DirContextOperations ctx) throws UnsupportedMemberAffiliationException {
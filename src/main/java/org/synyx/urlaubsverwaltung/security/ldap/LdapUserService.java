@@ -14,4 +14,12 @@ public interface LdapUserService {
      * @return list of LDAP users
      */
     List<LdapUser> getLdapUsers();
+
+    /**
+     * Get the LDAP users modified since the given time or sequence number of the configured modified attribute.
+     *
+     * @param modifiedSince value of the modified attribute, e.g. {@code 20210701120000Z} for {@code modifyTimestamp}
+     * @return list of LDAP users modified at or after the given value
+     */
+    List<LdapUser> getLdapUsersModifiedSince(String modifiedSince);
 }
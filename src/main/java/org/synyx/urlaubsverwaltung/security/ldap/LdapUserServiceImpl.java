@@ -1,9 +1,17 @@
 package org.synyx.urlaubsverwaltung.security.ldap;
 
+import org.springframework.ldap.control.PagedResultsCookie;
+import org.springframework.ldap.control.PagedResultsDirContextProcessor;
+import org.springframework.ldap.core.LdapOperations;
 import org.springframework.ldap.core.LdapTemplate;
+import org.springframework.ldap.core.support.SingleContextSource;
 import org.springframework.ldap.query.ContainerCriteria;
 
+import javax.naming.directory.SearchControls;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 import static org.springframework.ldap.query.LdapQueryBuilder.query;
 import static org.springframework.util.StringUtils.hasText;
@@ -23,17 +31,71 @@ public class LdapUserServiceImpl implements LdapUserService {
         this.directoryServiceSecurityProperties = directoryServiceSecurityProperties;
     }
 
+    /**
+     * Fetches the users with paged search requests, so that directory services limiting the size of search results
+     * (e.g. to 1000 entries for an Active Directory) return all users. All pages are fetched over the same connection
+     * as required by the paged results control.
+     */
     @Override
     public List<LdapUser> getLdapUsers() {
+        return SingleContextSource.doWithSingleContext(ldapTemplate.getContextSource(), ldapOperations -> getLdapUsers(ldapOperations, null), false, true, true);
+    }
+
+    @Override
+    public List<LdapUser> getLdapUsersModifiedSince(String modifiedSince) {
+        return SingleContextSource.doWithSingleContext(ldapTemplate.getContextSource(), ldapOperations -> getLdapUsers(ldapOperations, modifiedSince), false, true, true);
+    }
+
+    /**
+     * @param modifiedSince value of the modified attribute the users are modified at or after, {@code null} to get
+     *                      all users
+     */
+    List<LdapUser> getLdapUsers(LdapOperations ldapOperations, String modifiedSince) {
 
         final String memberOf = directoryServiceSecurityProperties.getFilter().getMemberOf();
         final String objectClass = directoryServiceSecurityProperties.getFilter().getObjectClass();
+        final String modifiedAttribute = directoryServiceSecurityProperties.getSync().getModifiedAttribute();
 
         final ContainerCriteria criteria = query().where("objectClass").is(objectClass);
         if (hasText(memberOf)) {
             criteria.and("memberOf").is(memberOf);
         }
+        if (modifiedSince != null) {
+            criteria.and(modifiedAttribute).gte(modifiedSince);
+        }
+
+        final SearchControls searchControls = new SearchControls();
+        searchControls.setSearchScope(SearchControls.SUBTREE_SCOPE);
+        searchControls.setReturningAttributes(returningAttributes(modifiedAttribute));
+
+        final PagedResultsDirContextProcessor pagedResults = new PagedResultsDirContextProcessor(directoryServiceSecurityProperties.getSync().getPageSize());
+
+        final List<LdapUser> ldapUsers = new ArrayList<>();
+        do {
+            ldapUsers.addAll(ldapOperations.search("", criteria.filter().encode(), searchControls, ldapUserMapper, pagedResults));
+        } while (hasMorePages(pagedResults));
+
+        return ldapUsers;
+    }
+
+    /**
+     * The modified attribute is an operational attribute that is only returned on request, therefore all attributes
+     * needed to map the users are requested explicitly.
+     */
+    private String[] returningAttributes(String modifiedAttribute) {
+        return Stream.of(directoryServiceSecurityProperties.getIdentifier(), directoryServiceSecurityProperties.getFirstName(),
+                directoryServiceSecurityProperties.getLastName(), directoryServiceSecurityProperties.getMailAddress(),
+                "memberOf", modifiedAttribute)
+            .filter(Objects::nonNull)
+            .toArray(String[]::new);
+    }
 
-        return ldapTemplate.search(criteria, ldapUserMapper);
+    /**
+     * A directory service not supporting paged results answers without a response control and therefore without a
+     * cookie, all users are returned with the first page then.
+     */
+    private static boolean hasMorePages(PagedResultsDirContextProcessor pagedResults) {
+        final PagedResultsCookie cookie = pagedResults.getCookie();
+        return cookie != null && cookie.getCookie() != null;
     }
 }
@@ -6,7 +6,7 @@ package org.synyx.urlaubsverwaltung.settings;
 public interface SettingsService {
 
     /**
-     * Persists the given settings.
+     * Persists the given settings and publishes a {@link SettingsUpdatedEvent}.
      *
      * @param settings to be persisted
      */
@@ -14,6 +14,8 @@ public interface SettingsService {
 
 
     /**
+     * The returned settings are a copy owned by the caller, changes have to be persisted with {@link #save(Settings)}.
+     *
      * @return settings for the application
      */
     Settings getSettings();
@@ -1,36 +1,231 @@
 package org.synyx.urlaubsverwaltung.settings;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.util.ReflectionUtils;
+import org.synyx.urlaubsverwaltung.absence.TimeSettings;
+import org.synyx.urlaubsverwaltung.account.AccountSettings;
+import org.synyx.urlaubsverwaltung.application.ApplicationSettings;
+import org.synyx.urlaubsverwaltung.calendarintegration.CalendarSettings;
+import org.synyx.urlaubsverwaltung.calendarintegration.ExchangeCalendarSettings;
+import org.synyx.urlaubsverwaltung.calendarintegration.GoogleCalendarSettings;
+import org.synyx.urlaubsverwaltung.overtime.OvertimeSettings;
+import org.synyx.urlaubsverwaltung.sicknote.SickNoteSettings;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeSettings;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static java.lang.invoke.MethodHandles.lookup;
 import static org.slf4j.LoggerFactory.getLogger;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.isSynchronizationActive;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.registerSynchronization;
 
 /**
  * Implementation for {@link org.synyx.urlaubsverwaltung.settings.SettingsService}.
+ *
+ * <p>The settings are served from an in-memory snapshot. {@link #getSettings()} returns a copy of the snapshot, so that
+ * changing the returned settings without saving them does not change the snapshot.</p>
+ *
+ * <p>The snapshot is replaced after the transaction of a {@link #save(Settings)} committed, so that a rolled back save
+ * does not leave its settings in the snapshot, and a {@link SettingsUpdatedEvent} is published. The snapshot is read
+ * from the database again once it is older than {@link #SNAPSHOT_TIME_TO_LIVE}, so that settings saved through another
+ * instance of the application are picked up. If the settings read differ from the snapshot, a
+ * {@link SettingsUpdatedEvent} is published as well, so that the components depending on the settings rebuild their
+ * state.</p>
  */
 @Service
 public class SettingsServiceImpl implements SettingsService {
 
     private static final Logger LOG = getLogger(lookup().lookupClass());
 
+    private static final String METRIC_SETTINGS_CACHE = "settings.cache.requests";
+    private static final Duration SNAPSHOT_TIME_TO_LIVE = Duration.ofSeconds(30);
+
     private final SettingsRepository settingsRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final Clock clock;
+    private final AtomicReference<SettingsSnapshot> snapshot = new AtomicReference<>();
+    private final AtomicLong versions = new AtomicLong();
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
 
     @Autowired
-    public SettingsServiceImpl(SettingsRepository settingsRepository) {
+    public SettingsServiceImpl(SettingsRepository settingsRepository, ApplicationEventPublisher applicationEventPublisher,
+                               MeterRegistry meterRegistry, Clock clock) {
         this.settingsRepository = settingsRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.clock = clock;
+        this.cacheHits = Counter.builder(METRIC_SETTINGS_CACHE).tag("result", "hit").register(meterRegistry);
+        this.cacheMisses = Counter.builder(METRIC_SETTINGS_CACHE).tag("result", "miss").register(meterRegistry);
     }
 
     @Override
     public void save(Settings settings) {
-        settingsRepository.save(settings);
-        LOG.info("Updated settings: {}", settings);
+        final Settings savedSettings = settingsRepository.save(settings);
+        final Settings snapshotSettings = copyOf(savedSettings);
+        final long version = versions.incrementAndGet();
+        afterCommit(() -> snapshot.set(new SettingsSnapshot(snapshotSettings, version, Instant.now(clock))));
+        LOG.info("Updated settings: {}", savedSettings);
+
+        applicationEventPublisher.publishEvent(new SettingsUpdatedEvent(this, savedSettings, version));
     }
 
     @Override
     public Settings getSettings() {
-        return settingsRepository.findById(1)
+        final SettingsSnapshot currentSnapshot = snapshot.get();
+        final Instant now = Instant.now(clock);
+        if (currentSnapshot != null && !currentSnapshot.isExpired(now)) {
+            cacheHits.increment();
+            return copyOf(currentSnapshot.getSettings());
+        }
+
+        cacheMisses.increment();
+        final Settings settings = settingsRepository.findById(1)
             .orElseThrow(() -> new IllegalStateException("No settings in database found."));
+
+        final Settings snapshotSettings = copyOf(settings);
+        final boolean changed = currentSnapshot != null && !hasSameContent(currentSnapshot.getSettings(), snapshotSettings);
+        final long version = currentSnapshot == null || changed ? versions.incrementAndGet() : currentSnapshot.getVersion();
+
+        // a concurrent save or reload wins over the settings loaded here
+        if (!snapshot.compareAndSet(currentSnapshot, new SettingsSnapshot(snapshotSettings, version, now))) {
+            return copyOf(snapshot.get().getSettings());
+        }
+
+        if (changed) {
+            LOG.info("Settings changed by another instance: {}", settings);
+            applicationEventPublisher.publishEvent(new SettingsUpdatedEvent(this, settings, version));
+        }
+
+        return copyOf(snapshotSettings);
+    }
+
+    /**
+     * Version of the {@link Settings} currently held in memory. Is incremented with every {@link #save(Settings)} and
+     * with every reload reading changed settings.
+     *
+     * @return the version of the current settings snapshot or {@code 0} if settings have not been loaded yet
+     */
+    long getVersion() {
+        final SettingsSnapshot currentSnapshot = snapshot.get();
+        return currentSnapshot == null ? 0 : currentSnapshot.getVersion();
+    }
+
+    /**
+     * @param settings to copy
+     * @return a deep copy of the given settings, detached from the given ones
+     */
+    private static Settings copyOf(Settings settings) {
+
+        final Settings copy = new Settings();
+        copy.setId(settings.getId());
+        copy.setApplicationSettings(copyProperties(settings.getApplicationSettings(), new ApplicationSettings()));
+        copy.setAccountSettings(copyProperties(settings.getAccountSettings(), new AccountSettings()));
+        copy.setOvertimeSettings(copyProperties(settings.getOvertimeSettings(), new OvertimeSettings()));
+        copy.setTimeSettings(copyProperties(settings.getTimeSettings(), new TimeSettings()));
+        copy.setSickNoteSettings(copyProperties(settings.getSickNoteSettings(), new SickNoteSettings()));
+
+        // the working days are derived from the day lengths of the week days and would reset them to full days
+        final WorkingTimeSettings workingTimeSettings = new WorkingTimeSettings();
+        BeanUtils.copyProperties(settings.getWorkingTimeSettings(), workingTimeSettings, "workingDays");
+        copy.setWorkingTimeSettings(workingTimeSettings);
+
+        final CalendarSettings calendarSettings = settings.getCalendarSettings();
+        final CalendarSettings calendarSettingsCopy = new CalendarSettings();
+        calendarSettingsCopy.setProvider(calendarSettings.getProvider());
+        calendarSettingsCopy.setGoogleCalendarSettings(copyProperties(calendarSettings.getGoogleCalendarSettings(), new GoogleCalendarSettings()));
+        calendarSettingsCopy.setExchangeCalendarSettings(copyProperties(calendarSettings.getExchangeCalendarSettings(), new ExchangeCalendarSettings()));
+        copy.setCalendarSettings(calendarSettingsCopy);
+
+        return copy;
+    }
+
+    /**
+     * @return {@code true} if all values of the given settings are equal, {@code false} otherwise
+     */
+    private static boolean hasSameContent(Settings settings, Settings other) {
+
+        final CalendarSettings calendarSettings = settings.getCalendarSettings();
+        final CalendarSettings otherCalendarSettings = other.getCalendarSettings();
+
+        return hasSameProperties(settings.getApplicationSettings(), other.getApplicationSettings())
+            && hasSameProperties(settings.getAccountSettings(), other.getAccountSettings())
+            && hasSameProperties(settings.getOvertimeSettings(), other.getOvertimeSettings())
+            && hasSameProperties(settings.getTimeSettings(), other.getTimeSettings())
+            && hasSameProperties(settings.getSickNoteSettings(), other.getSickNoteSettings())
+            && hasSameProperties(settings.getWorkingTimeSettings(), other.getWorkingTimeSettings())
+            && Objects.equals(calendarSettings.getProvider(), otherCalendarSettings.getProvider())
+            && hasSameProperties(calendarSettings.getGoogleCalendarSettings(), otherCalendarSettings.getGoogleCalendarSettings())
+            && hasSameProperties(calendarSettings.getExchangeCalendarSettings(), otherCalendarSettings.getExchangeCalendarSettings());
+    }
+
+    private static boolean hasSameProperties(Object bean, Object other) {
+        for (PropertyDescriptor propertyDescriptor : BeanUtils.getPropertyDescriptors(bean.getClass())) {
+            final Method readMethod = propertyDescriptor.getReadMethod();
+            if (readMethod != null && !Objects.equals(ReflectionUtils.invokeMethod(readMethod, bean), ReflectionUtils.invokeMethod(readMethod, other))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Runs the given update after the surrounding transaction committed, so that a rolled back save is not kept.
+     * Without a transaction the update is run immediately.
+     */
+    private static void afterCommit(Runnable update) {
+        if (isSynchronizationActive()) {
+            registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    private static <T> T copyProperties(T source, T target) {
+        BeanUtils.copyProperties(source, target);
+        return target;
+    }
+
+    private static final class SettingsSnapshot {
+
+        private final Settings settings;
+        private final long version;
+        private final Instant loadedAt;
+
+        private SettingsSnapshot(Settings settings, long version, Instant loadedAt) {
+            this.settings = settings;
+            this.version = version;
+            this.loadedAt = loadedAt;
+        }
+
+        boolean isExpired(Instant now) {
+            return !now.isBefore(loadedAt.plus(SNAPSHOT_TIME_TO_LIVE));
+        }
+
+        Settings getSettings() {
+            return settings;
+        }
+
+        long getVersion() {
+            return version;
+        }
     }
 }
@@ -0,0 +1,27 @@
+package org.synyx.urlaubsverwaltung.settings;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published after {@link Settings} have been persisted, so that components holding state derived from the settings
+ * can rebuild it.
+ */
+public class SettingsUpdatedEvent extends ApplicationEvent {
+
+    private final transient Settings settings;
+    private final long version;
+
+    public SettingsUpdatedEvent(Object source, Settings settings, long version) {
+        super(source);
+        this.settings = settings;
+        this.version = version;
+    }
+
+    public Settings getSettings() {
+        return settings;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
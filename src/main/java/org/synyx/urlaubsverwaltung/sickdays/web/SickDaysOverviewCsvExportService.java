@@ -0,0 +1,95 @@
+package org.synyx.urlaubsverwaltung.sickdays.web;
+
+import liquibase.util.csv.CSVWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Service;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.web.DateFormatAware;
+import org.synyx.urlaubsverwaltung.web.FilterPeriod;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+import static org.synyx.urlaubsverwaltung.sickdays.web.SickDays.SickDayType.TOTAL;
+import static org.synyx.urlaubsverwaltung.sickdays.web.SickDays.SickDayType.WITH_AUB;
+
+@Service
+class SickDaysOverviewCsvExportService {
+
+    private static final Locale LOCALE = Locale.GERMAN;
+    private static final String DATE_FORMAT = "ddMMyyyy";
+
+    private final MessageSource messageSource;
+    private final DateFormatAware dateFormatAware;
+
+    @Autowired
+    SickDaysOverviewCsvExportService(MessageSource messageSource, DateFormatAware dateFormatAware) {
+        this.messageSource = messageSource;
+        this.dateFormatAware = dateFormatAware;
+    }
+
+    /**
+     * Writes the header of the sick days export and returns a writer for the row of one person, so that the rows can
+     * be written as soon as the sick days of a person are calculated.
+     *
+     * @param period    of the sick days
+     * @param csvWriter to write the export to
+     * @return writer of the row of one person
+     */
+    SickDaysRowWriter writeHeader(FilterPeriod period, CSVWriter csvWriter) {
+        final String[] csvHeader = {getTranslation("person.data.firstName"), getTranslation("person.data.lastName"),
+            getTranslation("sicknotes.daysOverview.sickDays.number"), getTranslation("sicknotes.daysOverview.sickDays.aub"),
+            getTranslation("sicknotes.daysOverview.sickDays.child.number"), getTranslation("sicknotes.daysOverview.sickDays.child.aub")};
+
+        final String startDateString = dateFormatAware.format(period.getStartDate());
+        final String endDateString = dateFormatAware.format(period.getEndDate());
+
+        final String headerNote = getTranslation("absence.period") + ": " + startDateString + " - " + endDateString;
+
+        csvWriter.writeNext(new String[]{headerNote});
+        csvWriter.writeNext(csvHeader);
+
+        final DecimalFormat decimalFormat = createDecimalFormat();
+
+        return (person, sickDays, childSickDays) -> {
+            final String[] csvRow = new String[csvHeader.length];
+            csvRow[0] = person.getFirstName();
+            csvRow[1] = person.getLastName();
+            csvRow[2] = decimalFormat.format(sickDays.getDays().get(TOTAL.name()));
+            csvRow[3] = decimalFormat.format(sickDays.getDays().get(WITH_AUB.name()));
+            csvRow[4] = decimalFormat.format(childSickDays.getDays().get(TOTAL.name()));
+            csvRow[5] = decimalFormat.format(childSickDays.getDays().get(WITH_AUB.name()));
+            csvWriter.writeNext(csvRow);
+        };
+    }
+
+    String getFileName(FilterPeriod period) {
+        return String.format("%s_%s_%s.csv",
+            getTranslation("sicknotes.title"),
+            period.getStartDate().format(DateTimeFormatter.ofPattern(DATE_FORMAT)),
+            period.getEndDate().format(DateTimeFormatter.ofPattern(DATE_FORMAT)));
+    }
+
+    private static DecimalFormat createDecimalFormat() {
+        final DecimalFormatSymbols newSymbols = new DecimalFormatSymbols(LOCALE);
+        newSymbols.setDecimalSeparator(',');
+        newSymbols.setGroupingSeparator('.');
+
+        final DecimalFormat decimalFormat = (DecimalFormat) NumberFormat.getInstance(LOCALE);
+        decimalFormat.setDecimalFormatSymbols(newSymbols);
+        return decimalFormat;
+    }
+
+    private String getTranslation(String key, Object... args) {
+        return messageSource.getMessage(key, args, LOCALE);
+    }
+
+    @FunctionalInterface
+    interface SickDaysRowWriter {
+        void write(Person person, SickDays sickDays, SickDays childSickDays);
+    }
+}
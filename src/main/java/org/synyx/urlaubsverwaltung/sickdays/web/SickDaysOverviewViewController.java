@@ -1,5 +1,6 @@
 package org.synyx.urlaubsverwaltung.sickdays.web;
 
+import liquibase.util.csv.CSVWriter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
@@ -14,6 +15,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.synyx.urlaubsverwaltung.period.DayLength;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonService;
+import org.synyx.urlaubsverwaltung.sickdays.web.SickDaysOverviewCsvExportService.SickDaysRowWriter;
 import org.synyx.urlaubsverwaltung.sicknote.SickNote;
 import org.synyx.urlaubsverwaltung.sicknote.SickNoteService;
 import org.synyx.urlaubsverwaltung.web.DateFormatAware;
@@ -21,6 +23,8 @@ import org.synyx.urlaubsverwaltung.web.FilterPeriod;
 import org.synyx.urlaubsverwaltung.web.LocalDatePropertyEditor;
 import org.synyx.urlaubsverwaltung.workingtime.WorkDaysCountService;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.Clock;
 import java.time.LocalDate;
@@ -28,7 +32,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.groupingBy;
 import static org.synyx.urlaubsverwaltung.security.SecurityRules.IS_OFFICE;
 import static org.synyx.urlaubsverwaltung.sickdays.web.SickDays.SickDayType.TOTAL;
 import static org.synyx.urlaubsverwaltung.sickdays.web.SickDays.SickDayType.WITH_AUB;
@@ -42,15 +46,18 @@ import static org.synyx.urlaubsverwaltung.sicknote.SickNoteCategory.SICK_NOTE_CH
 public class SickDaysOverviewViewController {
 
     private final SickNoteService sickNoteService;
+    private final SickDaysOverviewCsvExportService sickDaysOverviewCsvExportService;
     private final PersonService personService;
     private final WorkDaysCountService workDaysCountService;
     private final DateFormatAware dateFormatAware;
     private final Clock clock;
 
     @Autowired
-    public SickDaysOverviewViewController(SickNoteService sickNoteService, PersonService personService,
-                                          WorkDaysCountService workDaysCountService, DateFormatAware dateFormatAware, Clock clock) {
+    public SickDaysOverviewViewController(SickNoteService sickNoteService, SickDaysOverviewCsvExportService sickDaysOverviewCsvExportService,
+                                          PersonService personService, WorkDaysCountService workDaysCountService,
+                                          DateFormatAware dateFormatAware, Clock clock) {
         this.sickNoteService = sickNoteService;
+        this.sickDaysOverviewCsvExportService = sickDaysOverviewCsvExportService;
         this.personService = personService;
         this.workDaysCountService = workDaysCountService;
         this.dateFormatAware = dateFormatAware;
@@ -88,6 +95,33 @@ public class SickDaysOverviewViewController {
         return "sicknote/sick_notes";
     }
 
+    @PreAuthorize(IS_OFFICE)
+    @GetMapping("/sicknote/download")
+    public void downloadCSV(@RequestParam(value = "from", defaultValue = "") String from,
+                            @RequestParam(value = "to", defaultValue = "") String to,
+                            HttpServletResponse response) throws IOException {
+
+        final LocalDate startDate = dateFormatAware.parse(from).orElse(null);
+        final LocalDate endDate = dateFormatAware.parse(to).orElse(null);
+        final FilterPeriod period = new FilterPeriod(startDate, endDate);
+
+        final String fileName = sickDaysOverviewCsvExportService.getFileName(period);
+        response.setContentType("text/csv");
+        response.setCharacterEncoding("utf-8");
+        response.setHeader("Content-disposition", "attachment;filename=" + fileName);
+
+        final List<SickNote> sickNoteList = sickNoteService.getByPeriod(period.getStartDate(), period.getEndDate());
+        final List<Person> persons = personService.getActivePersons();
+
+        // the row of a person is streamed to the client as soon as the sick days of the person are calculated. The
+        // writer is only flushed after all rows are written, so that a failure before the first rows leave the response
+        // buffer still results in an error response instead of a truncated export.
+        final CSVWriter csvWriter = new CSVWriter(response.getWriter());
+        final SickDaysRowWriter rowWriter = sickDaysOverviewCsvExportService.writeHeader(period, csvWriter);
+        calculateSickDays(period, persons, sickNoteList, rowWriter);
+        csvWriter.flush();
+    }
+
     private void fillModel(Model model, List<SickNote> sickNotes, FilterPeriod period) {
 
         model.addAttribute("today", LocalDate.now(clock));
@@ -97,49 +131,57 @@ public class SickDaysOverviewViewController {
 
         final List<Person> persons = personService.getActivePersons();
 
-        final List<SickNote> sickNotesOfActivePersons = sickNotes.stream()
-            .filter(sickNote -> persons.contains(sickNote.getPerson()) && sickNote.isActive())
-            .collect(toList());
-
         final Map<Person, SickDays> sickDays = new HashMap<>();
         final Map<Person, SickDays> childSickDays = new HashMap<>();
 
-        for (Person person : persons) {
-            sickDays.put(person, new SickDays());
-            childSickDays.put(person, new SickDays());
-        }
+        calculateSickDays(period, persons, sickNotes, (person, sickDaysOfPerson, childSickDaysOfPerson) -> {
+            sickDays.put(person, sickDaysOfPerson);
+            childSickDays.put(person, childSickDaysOfPerson);
+        });
+
+        model.addAttribute("sickDays", sickDays);
+        model.addAttribute("childSickDays", childSickDays);
+        model.addAttribute("persons", persons);
+    }
+
+    private void calculateSickDays(FilterPeriod period, List<Person> persons, List<SickNote> sickNotes, SickDaysRowWriter sickDaysConsumer) {
 
-        for (SickNote sickNote : sickNotesOfActivePersons) {
+        final Map<Person, List<SickNote>> activeSickNotesByPerson = sickNotes.stream()
+            .filter(SickNote::isActive)
+            .collect(groupingBy(SickNote::getPerson));
 
-            final Person person = sickNote.getPerson();
+        for (Person person : persons) {
+
+            final SickDays sickDays = new SickDays();
+            final SickDays childSickDays = new SickDays();
 
-            if (sickNote.getSickNoteType().isOfCategory(SICK_NOTE_CHILD)) {
-                calculateSickDays(period, childSickDays, sickNote, person);
-            } else {
-                calculateSickDays(period, sickDays, sickNote, person);
+            for (SickNote sickNote : activeSickNotesByPerson.getOrDefault(person, List.of())) {
+                if (sickNote.getSickNoteType().isOfCategory(SICK_NOTE_CHILD)) {
+                    calculateSickDays(period, childSickDays, sickNote, person);
+                } else {
+                    calculateSickDays(period, sickDays, sickNote, person);
+                }
             }
-        }
 
-        model.addAttribute("sickDays", sickDays);
-        model.addAttribute("childSickDays", childSickDays);
-        model.addAttribute("persons", persons);
+            sickDaysConsumer.write(person, sickDays, childSickDays);
+        }
     }
 
-    private void calculateSickDays(FilterPeriod period, Map<Person, SickDays> sickDays, SickNote sickNote, Person person) {
+    private void calculateSickDays(FilterPeriod period, SickDays sickDays, SickNote sickNote, Person person) {
 
         final DayLength dayLength = sickNote.getDayLength();
 
         final LocalDate startDate = sickNote.getStartDate().isBefore(period.getStartDate()) ? period.getStartDate() : sickNote.getStartDate();
         final LocalDate endDate = sickNote.getEndDate().isAfter(period.getEndDate()) ? period.getEndDate() : sickNote.getEndDate();
         final BigDecimal workDays = workDaysCountService.getWorkDaysCount(dayLength, startDate, endDate, person);
-        sickDays.get(person).addDays(TOTAL, workDays);
+        sickDays.addDays(TOTAL, workDays);
 
         if (sickNote.isAubPresent()) {
             final LocalDate startDateAub = sickNote.getAubStartDate().isBefore(period.getStartDate()) ? period.getStartDate() : sickNote.getAubStartDate();
             final LocalDate endDateAub = sickNote.getAubEndDate().isAfter(period.getEndDate()) ? period.getEndDate() : sickNote.getAubEndDate();
 
             final BigDecimal workDaysWithAUB = workDaysCountService.getWorkDaysCount(dayLength, startDateAub, endDateAub, person);
-            sickDays.get(person).addDays(WITH_AUB, workDaysWithAUB);
+            sickDays.addDays(WITH_AUB, workDaysWithAUB);
         }
     }
 }
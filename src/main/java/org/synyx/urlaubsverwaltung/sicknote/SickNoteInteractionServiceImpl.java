@@ -4,16 +4,12 @@ import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.synyx.urlaubsverwaltung.absence.Absence;
 import org.synyx.urlaubsverwaltung.absence.AbsenceMapping;
 import org.synyx.urlaubsverwaltung.absence.AbsenceMappingService;
-import org.synyx.urlaubsverwaltung.absence.AbsenceTimeConfiguration;
-import org.synyx.urlaubsverwaltung.absence.TimeSettings;
 import org.synyx.urlaubsverwaltung.application.domain.Application;
 import org.synyx.urlaubsverwaltung.application.service.ApplicationInteractionService;
 import org.synyx.urlaubsverwaltung.calendarintegration.CalendarSyncService;
 import org.synyx.urlaubsverwaltung.person.Person;
-import org.synyx.urlaubsverwaltung.settings.SettingsService;
 
 import java.time.Clock;
 import java.time.LocalDate;
@@ -42,20 +38,18 @@ class SickNoteInteractionServiceImpl implements SickNoteInteractionService {
     private final ApplicationInteractionService applicationInteractionService;
     private final CalendarSyncService calendarSyncService;
     private final AbsenceMappingService absenceMappingService;
-    private final SettingsService settingsService;
     private final Clock clock;
 
     @Autowired
     public SickNoteInteractionServiceImpl(SickNoteService sickNoteService, SickNoteCommentService commentService,
                                           ApplicationInteractionService applicationInteractionService, CalendarSyncService calendarSyncService,
-                                          AbsenceMappingService absenceMappingService, SettingsService settingsService, Clock clock) {
+                                          AbsenceMappingService absenceMappingService, Clock clock) {
 
         this.sickNoteService = sickNoteService;
         this.commentService = commentService;
         this.applicationInteractionService = applicationInteractionService;
         this.calendarSyncService = calendarSyncService;
         this.absenceMappingService = absenceMappingService;
-        this.settingsService = settingsService;
         this.clock = clock;
     }
 
@@ -92,7 +86,7 @@ class SickNoteInteractionServiceImpl implements SickNoteInteractionService {
         LOG.info("Updated sick note: {}", sickNote);
 
         commentService.create(sickNote, EDITED, editor, comment);
-        updateAbsence(sickNote);
+        updateCalendar(sickNote);
 
         return sickNote;
     }
@@ -108,18 +102,17 @@ class SickNoteInteractionServiceImpl implements SickNoteInteractionService {
         applicationInteractionService.createFromConvertedSickNote(application, converter);
         LOG.info("Converted sick note to vacation: {}", sickNote);
 
+        // the event of the sick note becomes the event of the application for leave
         final Optional<AbsenceMapping> absenceMapping = absenceMappingService.getAbsenceByIdAndType(sickNote.getId(), SICKNOTE);
         if (absenceMapping.isPresent()) {
             final String eventId = absenceMapping.get().getEventId();
-            final TimeSettings timeSettings = getTimeSettings();
-
-            calendarSyncService.update(new Absence(application.getPerson(), application.getPeriod(),
-                new AbsenceTimeConfiguration(timeSettings)), eventId);
-
             absenceMappingService.delete(absenceMapping.get());
             absenceMappingService.create(application.getId(), VACATION, eventId);
         }
 
+        calendarSyncService.syncAbsence(application.getId(), VACATION, application.getPerson(), application.getPeriod());
+        calendarSyncService.deleteAbsence(sickNote.getId(), SICKNOTE);
+
         return sickNote;
     }
 
@@ -132,36 +125,13 @@ class SickNoteInteractionServiceImpl implements SickNoteInteractionService {
 
         commentService.create(sickNote, SickNoteCommentAction.CANCELLED, canceller);
 
-        final Optional<AbsenceMapping> absenceMapping = absenceMappingService.getAbsenceByIdAndType(sickNote.getId(), SICKNOTE);
-        if (absenceMapping.isPresent()) {
-            calendarSyncService.deleteAbsence(absenceMapping.get().getEventId());
-            absenceMappingService.delete(absenceMapping.get());
-        }
+        calendarSyncService.deleteAbsence(sickNote.getId(), SICKNOTE);
 
         return sickNote;
     }
 
-    private void updateAbsence(SickNote sickNote) {
-
-        final Optional<AbsenceMapping> absenceMapping = absenceMappingService.getAbsenceByIdAndType(sickNote.getId(), SICKNOTE);
-        if (absenceMapping.isPresent()) {
-            final AbsenceTimeConfiguration timeConfiguration = new AbsenceTimeConfiguration(getTimeSettings());
-            calendarSyncService.update(new Absence(sickNote.getPerson(), sickNote.getPeriod(),
-                timeConfiguration), absenceMapping.get().getEventId());
-        }
-    }
-
     private void updateCalendar(SickNote sickNote) {
-
-        final AbsenceTimeConfiguration timeConfiguration = new AbsenceTimeConfiguration(getTimeSettings());
-        final Absence absence = new Absence(sickNote.getPerson(), sickNote.getPeriod(), timeConfiguration);
-
-        final Optional<String> maybeEventId = calendarSyncService.addAbsence(absence);
-        maybeEventId.ifPresent(eventId -> absenceMappingService.create(sickNote.getId(), SICKNOTE, eventId));
-    }
-
-    private TimeSettings getTimeSettings() {
-        return settingsService.getSettings().getTimeSettings();
+        calendarSyncService.syncAbsence(sickNote.getId(), SICKNOTE, sickNote.getPerson(), sickNote.getPeriod());
     }
 
     private void saveSickNote(SickNote sickNote) {
@@ -1,7 +1,9 @@
 package org.synyx.urlaubsverwaltung.sicknote;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.synyx.urlaubsverwaltung.person.Person;
 
 import java.time.LocalDate;
@@ -27,6 +29,39 @@ interface SickNoteRepository extends CrudRepository<SickNote, Integer> {
     )
     List<SickNote> findByPeriod(LocalDate startDate, LocalDate endDate);
 
+    @Query(
+        "SELECT x.id AS id, person.email AS personEmail, person.firstName AS personFirstName, person.lastName AS personLastName, "
+            + "x.startDate AS startDate, x.endDate AS endDate, x.dayLength AS dayLength, "
+            + "sickNoteType.category AS sickNoteCategory "
+            + "FROM SickNote x JOIN x.person person JOIN x.sickNoteType sickNoteType "
+            + "WHERE x.status = 'ACTIVE' AND x.startDate <= :endDate AND x.endDate >= :startDate AND x.id > :afterId "
+            + "ORDER BY x.startDate"
+    )
+    List<SickNoteSummary> findActiveSummariesByPeriod(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate,
+                                                      @Param("afterId") Integer afterId);
+
+    @Query(
+        "SELECT x.id AS id, person.email AS personEmail, person.firstName AS personFirstName, person.lastName AS personLastName, "
+            + "x.startDate AS startDate, x.endDate AS endDate, x.dayLength AS dayLength, "
+            + "sickNoteType.category AS sickNoteCategory "
+            + "FROM SickNote x JOIN x.person person JOIN x.sickNoteType sickNoteType "
+            + "WHERE x.status = 'ACTIVE' AND x.startDate <= :endDate AND x.endDate >= :startDate AND x.id > :afterId "
+            + "ORDER BY x.id"
+    )
+    List<SickNoteSummary> findActiveSummariesByPeriodOrderById(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate,
+                                                               @Param("afterId") Integer afterId, Pageable pageable);
+
+    @Query(
+        "SELECT x.id AS id, person.email AS personEmail, person.firstName AS personFirstName, person.lastName AS personLastName, "
+            + "x.startDate AS startDate, x.endDate AS endDate, x.dayLength AS dayLength, "
+            + "sickNoteType.category AS sickNoteCategory "
+            + "FROM SickNote x JOIN x.person person JOIN x.sickNoteType sickNoteType "
+            + "WHERE person = :person AND x.status = 'ACTIVE' AND x.startDate <= :endDate AND x.endDate >= :startDate "
+            + "ORDER BY x.startDate"
+    )
+    List<SickNoteSummary> findActiveSummariesByPersonAndPeriod(@Param("person") Person person, @Param("startDate") LocalDate startDate,
+                                                               @Param("endDate") LocalDate endDate);
+
     // NOTE: Following methods are to create statistic
     @Query("SELECT x FROM SickNote x WHERE (YEAR(x.startDate) = ?1 OR YEAR(x.endDate) = ?1) AND x.status = 'ACTIVE'")
     List<SickNote> findAllActiveByYear(int year);
@@ -46,6 +81,8 @@ interface SickNoteRepository extends CrudRepository<SickNote, Integer> {
 
     List<SickNote> findByStatusIn(List<SickNoteStatus> openSickNoteStatuses);
 
+    List<SickNote> findByStatusInAndEndDateIsGreaterThanEqual(List<SickNoteStatus> openSickNoteStatuses, LocalDate sinceStartDate);
+
     List<SickNote> findByStatusInAndPersonInAndEndDateIsGreaterThanEqual(List<SickNoteStatus> openSickNoteStatuses,
                                                                          List<Person> persons, LocalDate sinceStartDate);
 
@@ -1,8 +1,10 @@
 package org.synyx.urlaubsverwaltung.sicknote;
 
+import org.springframework.data.domain.Pageable;
 import org.synyx.urlaubsverwaltung.person.Person;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,6 +28,14 @@ public interface SickNoteService {
      */
     Optional<SickNote> getById(Integer id);
 
+    /**
+     * Gets the sick notes with the given ids.
+     *
+     * @param ids to search the sick notes by
+     * @return the sick notes matching the given ids, ids without a sick note are left out
+     */
+    List<SickNote> getByIds(Collection<Integer> ids);
+
     /**
      * Get all the sick notes of the given person that are in the given period.
      *
@@ -45,6 +55,30 @@ public interface SickNoteService {
      */
     List<SickNote> getByPeriod(LocalDate from, LocalDate to);
 
+    /**
+     * Get the active sick notes of the given person that are in the given period, reduced to the parts returned by
+     * the sick notes API.
+     *
+     * @param person defines the owner of the sick notes
+     * @param from   defines the start of the period
+     * @param to     defines the end of the period
+     * @return the active sick notes matching the given parameters ordered by start date
+     */
+    List<SickNoteSummary> getActiveSummariesByPersonAndPeriod(Person person, LocalDate from, LocalDate to);
+
+    /**
+     * Get the active sick notes that are in the given period, reduced to the parts returned by the sick notes API.
+     * All sick notes are ordered by start date. A page of sick notes is ordered by id instead, so that all of them can
+     * be fetched page by page starting after the last id of the previous page.
+     *
+     * @param from     defines the start of the period
+     * @param to       defines the end of the period
+     * @param afterId  only sick notes with a greater id are returned, {@code 0} for the first page
+     * @param pageable defines the maximum number of returned sick notes, or is unpaged to return all of them
+     * @return the active sick notes matching the given parameters ordered by start date, or by id if paged
+     */
+    List<SickNoteSummary> getActiveSummariesByPeriod(LocalDate from, LocalDate to, int afterId, Pageable pageable);
+
     /**
      * Get all the sick notes that are reaching the end of sick pay.
      *
@@ -63,6 +97,13 @@ public interface SickNoteService {
      */
     List<SickNote> getForStates(List<SickNoteStatus> sickNoteStatuses);
 
+    /**
+     * Get all {@link SickNote} with specific states ending at or after the given date
+     *
+     * @return all {@link SickNote} with specific states since
+     */
+    List<SickNote> getForStatesSince(List<SickNoteStatus> sickNoteStatuses, LocalDate since);
+
     /**
      * Get all {@link SickNote} with specific states and persons
      *
@@ -1,6 +1,8 @@
 package org.synyx.urlaubsverwaltung.sicknote;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.settings.Settings;
@@ -9,6 +11,8 @@ import org.synyx.urlaubsverwaltung.settings.SettingsService;
 import java.time.Clock;
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,18 +24,22 @@ class SickNoteServiceImpl implements SickNoteService {
 
     private final SickNoteRepository sickNoteRepository;
     private final SettingsService settingsService;
+    private final ApplicationEventPublisher applicationEventPublisher;
     private final Clock clock;
 
     @Autowired
-    public SickNoteServiceImpl(SickNoteRepository sickNoteRepository, SettingsService settingsService, Clock clock) {
+    public SickNoteServiceImpl(SickNoteRepository sickNoteRepository, SettingsService settingsService,
+                               ApplicationEventPublisher applicationEventPublisher, Clock clock) {
         this.sickNoteRepository = sickNoteRepository;
         this.settingsService = settingsService;
+        this.applicationEventPublisher = applicationEventPublisher;
         this.clock = clock;
     }
 
     @Override
     public void save(SickNote sickNote) {
-        sickNoteRepository.save(sickNote);
+        final SickNote savedSickNote = sickNoteRepository.save(sickNote);
+        applicationEventPublisher.publishEvent(new SickNoteUpdatedEvent(this, savedSickNote));
     }
 
     @Override
@@ -39,6 +47,13 @@ class SickNoteServiceImpl implements SickNoteService {
         return sickNoteRepository.findById(id);
     }
 
+    @Override
+    public List<SickNote> getByIds(Collection<Integer> ids) {
+        final List<SickNote> sickNotes = new ArrayList<>();
+        sickNoteRepository.findAllById(ids).forEach(sickNotes::add);
+        return sickNotes;
+    }
+
     @Override
     public List<SickNote> getByPersonAndPeriod(Person person, LocalDate from, LocalDate to) {
         return sickNoteRepository.findByPersonAndPeriod(person, from, to);
@@ -49,6 +64,18 @@ class SickNoteServiceImpl implements SickNoteService {
         return sickNoteRepository.findByPeriod(from, to);
     }
 
+    @Override
+    public List<SickNoteSummary> getActiveSummariesByPersonAndPeriod(Person person, LocalDate from, LocalDate to) {
+        return sickNoteRepository.findActiveSummariesByPersonAndPeriod(person, from, to);
+    }
+
+    @Override
+    public List<SickNoteSummary> getActiveSummariesByPeriod(LocalDate from, LocalDate to, int afterId, Pageable pageable) {
+        return pageable.isPaged()
+            ? sickNoteRepository.findActiveSummariesByPeriodOrderById(from, to, afterId, pageable)
+            : sickNoteRepository.findActiveSummariesByPeriod(from, to, afterId);
+    }
+
     @Override
     public List<SickNote> getSickNotesReachingEndOfSickPay() {
 
@@ -77,6 +104,11 @@ class SickNoteServiceImpl implements SickNoteService {
         return sickNoteRepository.findByStatusIn(sickNoteStatuses);
     }
 
+    @Override
+    public List<SickNote> getForStatesSince(List<SickNoteStatus> sickNoteStatuses, LocalDate since) {
+        return sickNoteRepository.findByStatusInAndEndDateIsGreaterThanEqual(sickNoteStatuses, since);
+    }
+
     @Override
     public List<SickNote> getForStatesAndPersonSince(List<SickNoteStatus> sickNoteStatuses, List<Person> persons, LocalDate since) {
         return sickNoteRepository.findByStatusInAndPersonInAndEndDateIsGreaterThanEqual(sickNoteStatuses, persons, since);
@@ -0,0 +1,28 @@
+package org.synyx.urlaubsverwaltung.sicknote;
+
+import org.synyx.urlaubsverwaltung.period.DayLength;
+
+import java.time.LocalDate;
+
+/**
+ * The parts of an active sick note returned by the sick notes API, read without loading the persons and the sick note type of
+ * the sick note.
+ */
+public interface SickNoteSummary {
+
+    Integer getId();
+
+    String getPersonEmail();
+
+    String getPersonFirstName();
+
+    String getPersonLastName();
+
+    LocalDate getStartDate();
+
+    LocalDate getEndDate();
+
+    DayLength getDayLength();
+
+    SickNoteCategory getSickNoteCategory();
+}
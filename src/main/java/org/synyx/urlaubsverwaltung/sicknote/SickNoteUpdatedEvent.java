@@ -0,0 +1,21 @@
+package org.synyx.urlaubsverwaltung.sicknote;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published by {@link SickNoteService#save(SickNote)} for every saved sick note, including its conversion to vacation
+ * and its cancellation, which only change the status. Carries the saved sick note.
+ */
+public class SickNoteUpdatedEvent extends ApplicationEvent {
+
+    private final transient SickNote sickNote;
+
+    public SickNoteUpdatedEvent(Object source, SickNote sickNote) {
+        super(source);
+        this.sickNote = sickNote;
+    }
+
+    public SickNote getSickNote() {
+        return sickNote;
+    }
+}
@@ -4,6 +4,8 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.format.annotation.DateTimeFormat.ISO;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -16,7 +18,6 @@ import org.springframework.web.server.ResponseStatusException;
 import org.synyx.urlaubsverwaltung.api.RestControllerAdviceMarker;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonService;
-import org.synyx.urlaubsverwaltung.sicknote.SickNote;
 import org.synyx.urlaubsverwaltung.sicknote.SickNoteService;
 
 import java.time.LocalDate;
@@ -46,7 +47,9 @@ public class SickNoteApiController {
 
     @Operation(
         summary = "Get all sick notes for a certain period",
-        description = "Get all sick notes for a certain period. "
+        description = "Get all sick notes for a certain period ordered by their start date. "
+            + "Large periods can be fetched page by page with the parameter 'limit', passing the id of the last sick note "
+            + "of a page as parameter 'after' to get the next page. Pages are ordered by the id of the sick notes. "
             + "Information only reachable for users with role office."
     )
     @GetMapping(SICKNOTES)
@@ -59,14 +62,24 @@ public class SickNoteApiController {
         @Parameter(description = "End date with pattern yyyy-MM-dd")
         @RequestParam("to")
         @DateTimeFormat(iso = ISO.DATE)
-            LocalDate endDate) {
+            LocalDate endDate,
+        @Parameter(description = "ID of the last sick note of the previous page, only sick notes with a greater id are returned")
+        @RequestParam(value = "after", defaultValue = "0")
+            int afterId,
+        @Parameter(description = "Maximum number of sick notes to return, all sick notes are returned if not defined")
+        @RequestParam(value = "limit", required = false)
+            Integer limit) {
 
         if (startDate.isAfter(endDate)) {
             throw new ResponseStatusException(BAD_REQUEST, "Parameter 'from' must be before or equals to 'to' parameter");
         }
 
-        final List<SickNoteDto> sickNoteResponse = sickNoteService.getByPeriod(startDate, endDate).stream()
-            .filter(SickNote::isActive)
+        if (limit != null && limit < 1) {
+            throw new ResponseStatusException(BAD_REQUEST, "Parameter 'limit' must be greater than 0");
+        }
+
+        final Pageable pageable = limit == null ? Pageable.unpaged() : PageRequest.of(0, limit);
+        final List<SickNoteDto> sickNoteResponse = sickNoteService.getActiveSummariesByPeriod(startDate, endDate, afterId, pageable).stream()
             .map(SickNoteDto::new)
             .collect(toList());
 
@@ -103,8 +116,7 @@ public class SickNoteApiController {
         }
 
         final Person person = optionalPerson.get();
-        final List<SickNoteDto> sickNoteResponse = sickNoteService.getByPersonAndPeriod(person, startDate, endDate).stream()
-            .filter(SickNote::isActive)
+        final List<SickNoteDto> sickNoteResponse = sickNoteService.getActiveSummariesByPersonAndPeriod(person, startDate, endDate).stream()
             .map(SickNoteDto::new)
             .collect(toList());
 
@@ -3,8 +3,7 @@ package org.synyx.urlaubsverwaltung.sicknote.api;
 import org.synyx.urlaubsverwaltung.api.RestApiDateFormat;
 import org.synyx.urlaubsverwaltung.person.api.PersonDto;
 import org.synyx.urlaubsverwaltung.person.api.PersonMapper;
-import org.synyx.urlaubsverwaltung.sicknote.SickNote;
-import org.synyx.urlaubsverwaltung.sicknote.SickNoteType;
+import org.synyx.urlaubsverwaltung.sicknote.SickNoteSummary;
 
 import java.math.BigDecimal;
 import java.time.format.DateTimeFormatter;
@@ -14,6 +13,7 @@ public class SickNoteDto {
 
     private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern(RestApiDateFormat.DATE_PATTERN);
 
+    private Integer id;
     private String from;
     private String to;
     private BigDecimal dayLength;
@@ -21,16 +21,22 @@ public class SickNoteDto {
     private String type;
     private String status;
 
-    public SickNoteDto(SickNote sickNote) {
+    public SickNoteDto(SickNoteSummary sickNote) {
+        this.id = sickNote.getId();
         this.from = sickNote.getStartDate().format(formatter);
         this.to = Objects.requireNonNull(sickNote.getEndDate()).format(formatter);
         this.dayLength = sickNote.getDayLength().getDuration();
-        this.person = PersonMapper.mapToDto(sickNote.getPerson());
-        this.status = sickNote.isActive() ? "ACTIVE" : "INACTIVE";
+        this.person = PersonMapper.mapToDto(sickNote.getPersonEmail(), sickNote.getPersonFirstName(), sickNote.getPersonLastName());
+        this.status = "ACTIVE";
+        this.type = sickNote.getSickNoteCategory().toString();
+    }
 
-        SickNoteType sickNoteType = sickNote.getSickNoteType();
+    public Integer getId() {
+        return id;
+    }
 
-        this.type = sickNoteType.getCategory().toString();
+    public void setId(Integer id) {
+        this.id = id;
     }
 
     public String getFrom() {
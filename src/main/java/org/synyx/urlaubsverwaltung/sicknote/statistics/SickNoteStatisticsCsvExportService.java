@@ -0,0 +1,63 @@
+package org.synyx.urlaubsverwaltung.sicknote.statistics;
+
+import liquibase.util.csv.CSVWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Service;
+import org.synyx.urlaubsverwaltung.web.DateFormatAware;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.util.Locale;
+
+@Service
+class SickNoteStatisticsCsvExportService {
+
+    private static final Locale LOCALE = Locale.GERMAN;
+
+    private final MessageSource messageSource;
+    private final DateFormatAware dateFormatAware;
+
+    @Autowired
+    SickNoteStatisticsCsvExportService(MessageSource messageSource, DateFormatAware dateFormatAware) {
+        this.messageSource = messageSource;
+        this.dateFormatAware = dateFormatAware;
+    }
+
+    void writeStatistics(SickNoteStatistics statistics, CSVWriter csvWriter) {
+
+        final String headerNote = getTranslation("sicknotes.statistics.title") + " " + statistics.getYear()
+            + " (" + getTranslation("filter.validity") + " " + dateFormatAware.format(statistics.getCreated()) + ")";
+        csvWriter.writeNext(new String[]{headerNote});
+
+        final DecimalFormat decimalFormat = createDecimalFormat();
+
+        csvWriter.writeNext(new String[]{getTranslation("sicknotes.statistics.totalNumber"),
+            String.valueOf(statistics.getTotalNumberOfSickNotes())});
+        csvWriter.writeNext(new String[]{getTranslation("sicknotes.statistics.totalNumberOfDays"),
+            decimalFormat.format(statistics.getTotalNumberOfSickDays())});
+        csvWriter.writeNext(new String[]{getTranslation("sicknotes.statistics.personWithSickNotes"),
+            String.valueOf(statistics.getNumberOfPersonsWithMinimumOneSickNote())});
+        csvWriter.writeNext(new String[]{getTranslation("sicknotes.statistics.averageSickTime"),
+            decimalFormat.format(statistics.getAverageDurationOfDiseasePerPerson())});
+    }
+
+    String getFileName(SickNoteStatistics statistics) {
+        return String.format("%s_%d.csv", getTranslation("action.sicknotes.statistics"), statistics.getYear());
+    }
+
+    private static DecimalFormat createDecimalFormat() {
+        final DecimalFormatSymbols newSymbols = new DecimalFormatSymbols(LOCALE);
+        newSymbols.setDecimalSeparator(',');
+        newSymbols.setGroupingSeparator('.');
+
+        final DecimalFormat decimalFormat = (DecimalFormat) NumberFormat.getInstance(LOCALE);
+        decimalFormat.setDecimalFormatSymbols(newSymbols);
+        return decimalFormat;
+    }
+
+    private String getTranslation(String key, Object... args) {
+        return messageSource.getMessage(key, args, LOCALE);
+    }
+}
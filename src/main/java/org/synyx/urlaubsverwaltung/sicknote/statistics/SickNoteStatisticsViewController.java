@@ -1,5 +1,6 @@
 package org.synyx.urlaubsverwaltung.sicknote.statistics;
 
+import liquibase.util.csv.CSVWriter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
@@ -8,6 +9,8 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.time.Clock;
 import java.time.Year;
 import java.time.ZonedDateTime;
@@ -23,11 +26,14 @@ import static org.synyx.urlaubsverwaltung.security.SecurityRules.IS_OFFICE;
 public class SickNoteStatisticsViewController {
 
     private final SickNoteStatisticsService statisticsService;
+    private final SickNoteStatisticsCsvExportService sickNoteStatisticsCsvExportService;
     private final Clock clock;
 
     @Autowired
-    public SickNoteStatisticsViewController(SickNoteStatisticsService statisticsService, Clock clock) {
+    public SickNoteStatisticsViewController(SickNoteStatisticsService statisticsService,
+                                            SickNoteStatisticsCsvExportService sickNoteStatisticsCsvExportService, Clock clock) {
         this.statisticsService = statisticsService;
+        this.sickNoteStatisticsCsvExportService = sickNoteStatisticsCsvExportService;
         this.clock = clock;
     }
 
@@ -44,6 +50,24 @@ public class SickNoteStatisticsViewController {
         return "sicknote/sick_notes_statistics";
     }
 
+    @PreAuthorize(IS_OFFICE)
+    @GetMapping("/sicknote/statistics/download")
+    public void downloadCSV(@RequestParam(value = "year", required = false) Integer requestedYear,
+                            HttpServletResponse response) throws IOException {
+
+        final Clock clockOfRequestedYear = getClockOfRequestedYear(requestedYear);
+        final SickNoteStatistics statistics = statisticsService.createStatistics(clockOfRequestedYear);
+
+        final String fileName = sickNoteStatisticsCsvExportService.getFileName(statistics);
+        response.setContentType("text/csv");
+        response.setCharacterEncoding("utf-8");
+        response.setHeader("Content-disposition", "attachment;filename=" + fileName);
+
+        try (CSVWriter csvWriter = new CSVWriter(response.getWriter())) {
+            sickNoteStatisticsCsvExportService.writeStatistics(statistics, csvWriter);
+        }
+    }
+
     private Clock getClockOfRequestedYear(Integer requestedYear) {
         if (requestedYear == null) {
             requestedYear = Year.now(clock).getValue();
@@ -0,0 +1,255 @@
+package org.synyx.urlaubsverwaltung.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A cache holding at most a given number of values, evicting the least recently used value first. Values expire after
+ * the given time to live, so that changes not announced to the cache (e.g. by another instance of the application) are
+ * picked up eventually.
+ *
+ * <p>Values are loaded outside of the lock of the cache. A value loaded while the cache was invalidated is returned
+ * but not cached, as it may have been loaded from the state before the invalidation.</p>
+ *
+ * @param <K> type of the keys
+ * @param <V> type of the values
+ */
+public class ExpiringLruCache<K, V> {
+
+    private final Duration timeToLive;
+    private final Clock clock;
+    private final Map<K, Entry<V>> entries;
+
+    private long generation;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private long putCount;
+
+    /**
+     * @param maximumSize maximum number of cached values
+     * @param timeToLive  of a cached value
+     * @param clock       to determine the expiry of values
+     */
+    public ExpiringLruCache(int maximumSize, Duration timeToLive, Clock clock) {
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                final boolean evict = size() > maximumSize;
+                if (evict) {
+                    evictionCount++;
+                }
+                return evict;
+            }
+        };
+    }
+
+    /**
+     * @param key    of the value
+     * @param loader loads the value if there is no cached one, may throw to signal that there is no value
+     * @return the cached or the newly loaded value
+     */
+    public V get(K key, Supplier<V> loader) {
+
+        final long loadedGeneration;
+        synchronized (this) {
+            final Entry<V> entry = entries.get(key);
+            if (entry != null && entry.getExpiresAt().isAfter(Instant.now(clock))) {
+                hitCount++;
+                return entry.getValue();
+            }
+
+            if (entry != null) {
+                entries.remove(key);
+                evictionCount++;
+            }
+
+            missCount++;
+            loadedGeneration = generation;
+        }
+
+        final V value = loader.get();
+
+        synchronized (this) {
+            if (value != null && generation == loadedGeneration) {
+                entries.put(key, new Entry<>(value, Instant.now(clock).plus(timeToLive)));
+                putCount++;
+            }
+        }
+
+        return value;
+    }
+
+    /**
+     * @param keys   of the values
+     * @param loader loads the values of all given keys without a cached value at once, keys without a value are left out
+     * @return the cached or newly loaded values by key, without the keys that have no value
+     */
+    public Map<K, V> getAll(Collection<K> keys, Function<List<K>, Map<K, V>> loader) {
+
+        final Map<K, V> values = new HashMap<>();
+        final List<K> missingKeys = new ArrayList<>();
+        final long loadedGeneration;
+        synchronized (this) {
+            final Instant now = Instant.now(clock);
+            for (K key : keys) {
+                final Entry<V> entry = entries.get(key);
+                if (entry != null && entry.getExpiresAt().isAfter(now)) {
+                    hitCount++;
+                    values.put(key, entry.getValue());
+                    continue;
+                }
+
+                if (entry != null) {
+                    entries.remove(key);
+                    evictionCount++;
+                }
+
+                missCount++;
+                missingKeys.add(key);
+            }
+            loadedGeneration = generation;
+        }
+
+        if (missingKeys.isEmpty()) {
+            return values;
+        }
+
+        final Map<K, V> loadedValues = loader.apply(missingKeys);
+
+        synchronized (this) {
+            final Instant expiresAt = Instant.now(clock).plus(timeToLive);
+            loadedValues.forEach((key, value) -> {
+                if (value != null && generation == loadedGeneration) {
+                    entries.put(key, new Entry<>(value, expiresAt));
+                    putCount++;
+                }
+            });
+        }
+
+        values.putAll(loadedValues);
+        return values;
+    }
+
+    /**
+     * Drops the cached value of the given key, values currently being loaded are not cached.
+     *
+     * @param key of the value
+     */
+    public synchronized void invalidate(K key) {
+        generation++;
+        entries.remove(key);
+    }
+
+    /**
+     * Drops all cached values, values currently being loaded are not cached.
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+    }
+
+    /**
+     * Binds the metrics of this cache (e.g. {@code cache.gets} and {@code cache.size}) to the given registry.
+     *
+     * @param meterRegistry to bind the metrics to
+     * @param cacheName     the value of the {@code cache} tag
+     */
+    public void bindTo(MeterRegistry meterRegistry, String cacheName) {
+        new Metrics(this, cacheName).bindTo(meterRegistry);
+    }
+
+    private synchronized long size() {
+        return entries.size();
+    }
+
+    private synchronized long hitCount() {
+        return hitCount;
+    }
+
+    private synchronized long missCount() {
+        return missCount;
+    }
+
+    private synchronized long evictionCount() {
+        return evictionCount;
+    }
+
+    private synchronized long putCount() {
+        return putCount;
+    }
+
+    private static final class Entry<V> {
+
+        private final V value;
+        private final Instant expiresAt;
+
+        private Entry(V value, Instant expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        V getValue() {
+            return value;
+        }
+
+        Instant getExpiresAt() {
+            return expiresAt;
+        }
+    }
+
+    private static final class Metrics extends CacheMeterBinder {
+
+        private final ExpiringLruCache<?, ?> cache;
+
+        private Metrics(ExpiringLruCache<?, ?> cache, String cacheName) {
+            super(cache, cacheName, Tags.empty());
+            this.cache = cache;
+        }
+
+        @Override
+        protected Long size() {
+            return cache.size();
+        }
+
+        @Override
+        protected long hitCount() {
+            return cache.hitCount();
+        }
+
+        @Override
+        protected Long missCount() {
+            return cache.missCount();
+        }
+
+        @Override
+        protected Long evictionCount() {
+            return cache.evictionCount();
+        }
+
+        @Override
+        protected long putCount() {
+            return cache.putCount();
+        }
+
+        @Override
+        protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+            // no metrics beyond the common cache metrics
+        }
+    }
+}
@@ -14,7 +14,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 import org.synyx.urlaubsverwaltung.api.RestControllerAdviceMarker;
-import org.synyx.urlaubsverwaltung.application.domain.Application;
+import org.synyx.urlaubsverwaltung.application.dao.ApplicationSummary;
 import org.synyx.urlaubsverwaltung.application.service.ApplicationService;
 import org.synyx.urlaubsverwaltung.department.Department;
 import org.synyx.urlaubsverwaltung.department.DepartmentService;
@@ -22,7 +22,6 @@ import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonService;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
 
 import static java.util.stream.Collectors.toList;
@@ -76,9 +75,8 @@ public class VacationApiController {
         }
 
         final Person person = getPerson(personId);
-        final List<Application> applications = new ArrayList<>();
-        applications.addAll(applicationService.getApplicationsForACertainPeriodAndPersonAndState(startDate, endDate, person, ALLOWED));
-        applications.addAll(applicationService.getApplicationsForACertainPeriodAndPersonAndState(startDate, endDate, person, ALLOWED_CANCELLATION_REQUESTED));
+        final List<ApplicationSummary> applications =
+            applicationService.getSummariesForACertainPeriodAndPersonAndState(startDate, endDate, person, List.of(ALLOWED, ALLOWED_CANCELLATION_REQUESTED));
 
         return mapToVacationResponse(applications);
     }
@@ -113,14 +111,12 @@ public class VacationApiController {
 
         final Person person = getPerson(personId);
 
-        final List<Application> applications = new ArrayList<>();
+        final List<ApplicationSummary> applications;
         final List<Department> departments = departmentService.getAssignedDepartmentsOfMember(person);
         if (departments.isEmpty()) {
-            applications.addAll(applicationService.getApplicationsForACertainPeriodAndState(startDate, endDate, ALLOWED));
-            applications.addAll(applicationService.getApplicationsForACertainPeriodAndState(startDate, endDate, ALLOWED_CANCELLATION_REQUESTED));
-
+            applications = applicationService.getSummariesForACertainPeriodAndState(startDate, endDate, List.of(ALLOWED, ALLOWED_CANCELLATION_REQUESTED));
         } else {
-            applications.addAll(departmentService.getApplicationsForLeaveOfMembersInDepartmentsOfPerson(person, startDate, endDate));
+            applications = departmentService.getApplicationsForLeaveOfColleaguesInDepartments(person, departments, startDate, endDate);
         }
 
         return mapToVacationResponse(applications);
@@ -131,7 +127,7 @@ public class VacationApiController {
             .orElseThrow(() -> new ResponseStatusException(BAD_REQUEST, "No person found for id = " + personId));
     }
 
-    private VacationsDto mapToVacationResponse(List<Application> applications) {
+    private VacationsDto mapToVacationResponse(List<ApplicationSummary> applications) {
         final List<VacationDto> vacationsDto = applications.stream().map(VacationDto::new).collect(toList());
         return new VacationsDto(vacationsDto);
     }
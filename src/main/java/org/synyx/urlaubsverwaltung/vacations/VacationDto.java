@@ -1,7 +1,6 @@
 package org.synyx.urlaubsverwaltung.vacations;
 
-import org.synyx.urlaubsverwaltung.application.domain.Application;
-import org.synyx.urlaubsverwaltung.application.domain.VacationType;
+import org.synyx.urlaubsverwaltung.application.dao.ApplicationSummary;
 import org.synyx.urlaubsverwaltung.person.api.PersonDto;
 import org.synyx.urlaubsverwaltung.person.api.PersonMapper;
 
@@ -22,16 +21,14 @@ class VacationDto {
     private final String type;
     private final String status;
 
-    VacationDto(Application application) {
+    VacationDto(ApplicationSummary application) {
 
         this.from = application.getStartDate().format(formatter);
         this.to = application.getEndDate().format(formatter);
         this.dayLength = application.getDayLength().getDuration();
-        this.person = PersonMapper.mapToDto(application.getPerson());
+        this.person = PersonMapper.mapToDto(application.getPersonEmail(), application.getPersonFirstName(), application.getPersonLastName());
         this.status = application.getStatus().name();
-
-        VacationType vacationType = application.getVacationType();
-        this.type = vacationType.getCategory().toString();
+        this.type = application.getVacationCategory().toString();
     }
 
     public String getFrom() {
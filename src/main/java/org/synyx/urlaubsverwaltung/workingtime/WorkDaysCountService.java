@@ -4,12 +4,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.synyx.urlaubsverwaltung.period.DayLength;
 import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.publicholiday.PublicHoliday;
 import org.synyx.urlaubsverwaltung.publicholiday.PublicHolidaysService;
-import org.synyx.urlaubsverwaltung.util.DateUtil;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.Optional;
+import java.util.List;
+import java.util.Map;
 
 import static java.math.RoundingMode.UNNECESSARY;
 import static java.time.format.DateTimeFormatter.ofPattern;
@@ -42,26 +43,7 @@ public class WorkDaysCountService {
      * @return number of weekdays
      */
     public double getWeekDaysCount(LocalDate startDate, LocalDate endDate) {
-
-        double workDays = 0.0;
-
-        if (!startDate.equals(endDate)) {
-            LocalDate day = startDate;
-
-            while (!day.isAfter(endDate)) {
-                if (DateUtil.isWorkDay(day)) {
-                    workDays++;
-                }
-
-                day = day.plusDays(1);
-            }
-        } else {
-            if (DateUtil.isWorkDay(startDate)) {
-                workDays++;
-            }
-        }
-
-        return workDays;
+        return WorkDaysCounter.weekDaysCounter().countHalfDays(startDate, endDate) / 2.0;
     }
 
 
@@ -70,6 +52,9 @@ public class WorkDaysCountService {
      * the personal working time of the given person, getNumberOfPublicHolidays calculates the number of official
      * holidays within the personal workdays period. Number of workdays results from difference between personal
      * workdays and official holidays.
+     * <p>
+     * If the working time of the person changes within the period, every part of the period is counted with the
+     * working time valid for that part.
      *
      * @param dayLength personal daily working time of the given person
      * @param startDate start day of the period to calculate the working days
@@ -78,33 +63,76 @@ public class WorkDaysCountService {
      * @return number of workdays in a certain time period
      */
     public BigDecimal getWorkDaysCount(DayLength dayLength, LocalDate startDate, LocalDate endDate, Person person) {
+        return getWorkDaysCount(dayLength, startDate, endDate, person, workingTimeService.getTimelineByPerson(person));
+    }
+
+    /**
+     * Same as {@link #getWorkDaysCount(DayLength, LocalDate, LocalDate, Person)} with an already loaded working time
+     * history, e.g. to count the work days of many applications of one person.
+     *
+     * @param dayLength personal daily working time of the given person
+     * @param startDate start day of the period to calculate the working days
+     * @param endDate   last day of the period to calculate the working days
+     * @param person    to calculate workdays in a certain time period
+     * @param timeline  working time history of the given person
+     * @return number of workdays in a certain time period
+     */
+    public BigDecimal getWorkDaysCount(DayLength dayLength, LocalDate startDate, LocalDate endDate, Person person, WorkingTimeTimeline timeline) {
+        return getWorkDaysCount(dayLength, startDate, endDate, person, timeline, publicHolidaysService::getPublicHolidays);
+    }
 
-        final Optional<WorkingTime> optionalWorkingTime = workingTimeService.getByPersonAndValidityDateEqualsOrMinorDate(
-            person, startDate);
+    /**
+     * Same as {@link #getWorkDaysCount(DayLength, LocalDate, LocalDate, Person, WorkingTimeTimeline)} with already
+     * loaded public holidays, so that the work days can be counted without any further lookup, e.g. outside of the
+     * thread that loaded the data.
+     *
+     * @param dayLength      personal daily working time of the given person
+     * @param startDate      start day of the period to calculate the working days
+     * @param endDate        last day of the period to calculate the working days
+     * @param person         to calculate workdays in a certain time period
+     * @param timeline       working time history of the given person
+     * @param publicHolidays by federal state, containing at least the public holidays of the given period for every
+     *                       federal state of the working times of the given timeline
+     * @return number of workdays in a certain time period
+     */
+    public BigDecimal getWorkDaysCount(DayLength dayLength, LocalDate startDate, LocalDate endDate, Person person, WorkingTimeTimeline timeline,
+                                       Map<FederalState, List<PublicHoliday>> publicHolidays) {
+        return getWorkDaysCount(dayLength, startDate, endDate, person, timeline, (periodStart, periodEnd, federalState) -> {
+            final List<PublicHoliday> publicHolidaysOfFederalState = publicHolidays.get(federalState);
+            if (publicHolidaysOfFederalState == null) {
+                throw new IllegalArgumentException("No public holidays given for federal state " + federalState);
+            }
+            return publicHolidaysOfFederalState;
+        });
+    }
 
-        if (optionalWorkingTime.isEmpty()) {
+    private static BigDecimal getWorkDaysCount(DayLength dayLength, LocalDate startDate, LocalDate endDate, Person person, WorkingTimeTimeline timeline,
+                                               PublicHolidaysLookup publicHolidaysLookup) {
+
+        final int firstIndex = timeline.indexOf(startDate);
+        if (firstIndex < 0) {
             throw new WorkDaysCountException("No working time found for User '" + person.getId()
                 + "' in period " + startDate.format(ofPattern(DD_MM_YYYY)) + " - " + endDate.format(ofPattern(DD_MM_YYYY)));
         }
 
-        final WorkingTime workingTime = optionalWorkingTime.get();
-        final FederalState federalState = workingTime.getFederalState();
-
-        BigDecimal vacationDays = BigDecimal.ZERO;
-        LocalDate day = startDate;
-        while (!day.isAfter(endDate)) {
-            // value may be 1 for public holiday, 0 for not public holiday or 0.5 for Christmas Eve or New Year's Eve
-            BigDecimal duration = publicHolidaysService.getWorkingDurationOfDate(day, federalState);
-
-            BigDecimal workingDuration = workingTime.getDayLengthForWeekDay(day.getDayOfWeek()).getDuration();
-
-            BigDecimal result = duration.multiply(workingDuration);
+        long quarterDays = 0;
+        for (int index = firstIndex; index < timeline.size(); index++) {
+            final LocalDate periodStart = index == firstIndex ? startDate : timeline.getWorkingTime(index).getValidFrom();
+            if (periodStart.isAfter(endDate)) {
+                break;
+            }
 
-            vacationDays = vacationDays.add(result);
+            final LocalDate validTo = timeline.getValidTo(index);
+            final LocalDate periodEnd = validTo.isBefore(endDate) ? validTo : endDate;
+            final FederalState federalState = timeline.getWorkingTime(index).getFederalState();
+            final List<PublicHoliday> publicHolidays = publicHolidaysLookup.getPublicHolidays(periodStart, periodEnd, federalState);
 
-            day = day.plusDays(1);
+            // public holidays may reduce the working time by a full day or by a half day for Christmas Eve or New Year's Eve
+            quarterDays += timeline.getWorkDaysCounter(index).countQuarterDays(periodStart, periodEnd, publicHolidays);
         }
 
+        final BigDecimal vacationDays = WorkDaysCounter.toDays(quarterDays);
+
         // vacation days < 1 day --> must not be divided, else an ArithmeticException is thrown
         if (vacationDays.compareTo(BigDecimal.ONE) < 0) {
             return vacationDays.setScale(1, UNNECESSARY);
@@ -112,4 +140,9 @@ public class WorkDaysCountService {
 
         return vacationDays.multiply(dayLength.getDuration()).setScale(1, UNNECESSARY);
     }
+
+    @FunctionalInterface
+    private interface PublicHolidaysLookup {
+        List<PublicHoliday> getPublicHolidays(LocalDate from, LocalDate to, FederalState federalState);
+    }
 }
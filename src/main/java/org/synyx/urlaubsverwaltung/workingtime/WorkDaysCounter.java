@@ -0,0 +1,150 @@
+package org.synyx.urlaubsverwaltung.workingtime;
+
+import org.synyx.urlaubsverwaltung.period.DayLength;
+import org.synyx.urlaubsverwaltung.publicholiday.PublicHoliday;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.time.DayOfWeek.SATURDAY;
+import static java.time.DayOfWeek.SUNDAY;
+
+/**
+ * Counts days of a period arithmetically instead of iterating over every single day.
+ *
+ * <p>Full weeks are counted by multiplication with the sum of the weekly working time, only the remaining days
+ * of the period and the public holidays within the period are looked at individually. All values are
+ * scaled integers: a {@link DayLength} is expressed in half days, the working duration of a day of a week
+ * multiplied with the working duration of a public holiday therefore results in quarter days.</p>
+ */
+final class WorkDaysCounter {
+
+    private static final int DAYS_PER_WEEK = 7;
+    private static final int HALF_DAYS_PER_DAY = 2;
+    private static final BigDecimal QUARTER_DAYS_PER_DAY = BigDecimal.valueOf(4);
+
+    private static final WorkDaysCounter WEEK_DAYS = new WorkDaysCounter(weekDays());
+
+    /**
+     * working time per day of week in half days, indexed by {@link DayOfWeek#ordinal()}
+     */
+    private final int[] halfDaysPerDayOfWeek;
+    private final int halfDaysPerWeek;
+
+    private WorkDaysCounter(int[] halfDaysPerDayOfWeek) {
+        this.halfDaysPerDayOfWeek = halfDaysPerDayOfWeek;
+
+        int sum = 0;
+        for (int halfDays : halfDaysPerDayOfWeek) {
+            sum += halfDays;
+        }
+        this.halfDaysPerWeek = sum;
+    }
+
+    /**
+     * @param workingTime to get the working time per day of week from
+     * @return a counter for the working days of the given working time
+     */
+    static WorkDaysCounter of(WorkingTime workingTime) {
+        final int[] halfDaysPerDayOfWeek = new int[DAYS_PER_WEEK];
+        for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+            halfDaysPerDayOfWeek[dayOfWeek.ordinal()] = halfDays(workingTime.getDayLengthForWeekDay(dayOfWeek));
+        }
+
+        return new WorkDaysCounter(halfDaysPerDayOfWeek);
+    }
+
+    /**
+     * @return a counter treating monday to friday as full working days
+     */
+    static WorkDaysCounter weekDaysCounter() {
+        return WEEK_DAYS;
+    }
+
+    /**
+     * Counts the working time between start and end date, both inclusive, without respect to public holidays.
+     *
+     * @param startDate first day of the period
+     * @param endDate   last day of the period
+     * @return working time in half days
+     */
+    long countHalfDays(LocalDate startDate, LocalDate endDate) {
+
+        final long days = endDate.toEpochDay() - startDate.toEpochDay() + 1;
+        if (days <= 0) {
+            return 0;
+        }
+
+        long halfDays = (days / DAYS_PER_WEEK) * halfDaysPerWeek;
+
+        final int firstDayOfWeek = startDate.getDayOfWeek().ordinal();
+        final long remainingDays = days % DAYS_PER_WEEK;
+        for (int i = 0; i < remainingDays; i++) {
+            halfDays += halfDaysPerDayOfWeek[(firstDayOfWeek + i) % DAYS_PER_WEEK];
+        }
+
+        return halfDays;
+    }
+
+    /**
+     * Counts the working time between start and end date, both inclusive, reduced by the given public holidays.
+     *
+     * <p>Several public holidays may fall on the same date, e.g. Labour Day and Ascension Day in 2008. Such a date
+     * reduces the working time only once, by the largest absence of its public holidays.</p>
+     *
+     * @param startDate      first day of the period
+     * @param endDate        last day of the period
+     * @param publicHolidays the public holidays of the period, public holidays outside of the period are ignored
+     * @return working time in quarter days
+     */
+    long countQuarterDays(LocalDate startDate, LocalDate endDate, Collection<PublicHoliday> publicHolidays) {
+
+        long quarterDays = countHalfDays(startDate, endDate) * HALF_DAYS_PER_DAY;
+
+        final Map<LocalDate, Integer> absentHalfDaysByDate = new HashMap<>();
+        for (PublicHoliday publicHoliday : publicHolidays) {
+            final LocalDate date = publicHoliday.getDate();
+            if (!date.isBefore(startDate) && !date.isAfter(endDate)) {
+                absentHalfDaysByDate.merge(date, halfDays(publicHoliday.getDayLength()), Math::max);
+            }
+        }
+
+        for (Map.Entry<LocalDate, Integer> absentHalfDays : absentHalfDaysByDate.entrySet()) {
+            quarterDays -= (long) halfDaysPerDayOfWeek[absentHalfDays.getKey().getDayOfWeek().ordinal()] * absentHalfDays.getValue();
+        }
+
+        return quarterDays;
+    }
+
+    /**
+     * @param quarterDays to convert
+     * @return the given quarter days as days
+     */
+    static BigDecimal toDays(long quarterDays) {
+        return BigDecimal.valueOf(quarterDays).divide(QUARTER_DAYS_PER_DAY);
+    }
+
+    private static int halfDays(DayLength dayLength) {
+        switch (dayLength) {
+            case FULL:
+                return HALF_DAYS_PER_DAY;
+            case MORNING:
+            case NOON:
+                return 1;
+            default:
+                return 0;
+        }
+    }
+
+    private static int[] weekDays() {
+        final int[] halfDaysPerDayOfWeek = new int[DAYS_PER_WEEK];
+        for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+            halfDaysPerDayOfWeek[dayOfWeek.ordinal()] = dayOfWeek == SATURDAY || dayOfWeek == SUNDAY ? 0 : HALF_DAYS_PER_DAY;
+        }
+        return halfDaysPerDayOfWeek;
+    }
+}
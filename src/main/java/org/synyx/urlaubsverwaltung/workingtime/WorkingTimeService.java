@@ -4,6 +4,7 @@ import org.synyx.urlaubsverwaltung.person.Person;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface WorkingTimeService {
@@ -12,6 +13,18 @@ public interface WorkingTimeService {
 
     List<WorkingTime> getByPersons(List<Person> persons);
 
+    /**
+     * @param person to get the working time history for
+     * @return all working times of the given person, empty timeline if there is none
+     */
+    WorkingTimeTimeline getTimelineByPerson(Person person);
+
+    /**
+     * @param persons to get the working time histories for
+     * @return the working time history of every given person, empty timeline if there is none
+     */
+    Map<Person, WorkingTimeTimeline> getTimelinesByPersons(List<Person> persons);
+
     Optional<WorkingTime> getByPersonAndValidityDateEqualsOrMinorDate(Person person, LocalDate date);
 
     FederalState getFederalStateForPerson(Person person, LocalDate date);
@@ -1,24 +1,36 @@
 package org.synyx.urlaubsverwaltung.workingtime;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
 import org.synyx.urlaubsverwaltung.period.DayLength;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.settings.SettingsService;
+import org.synyx.urlaubsverwaltung.settings.SettingsUpdatedEvent;
+import org.synyx.urlaubsverwaltung.util.ExpiringLruCache;
 
 import java.time.Clock;
 import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Supplier;
 
 import static java.lang.invoke.MethodHandles.lookup;
 import static java.time.format.DateTimeFormatter.ofPattern;
+import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toList;
 import static org.slf4j.LoggerFactory.getLogger;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.isSynchronizationActive;
+import static org.springframework.transaction.support.TransactionSynchronizationManager.registerSynchronization;
 import static org.synyx.urlaubsverwaltung.util.DateFormat.DD_MM_YYYY;
 
 @Service
@@ -27,18 +39,30 @@ class WorkingTimeServiceImpl implements WorkingTimeService, WorkingTimeWriteServ
 
     private static final Logger LOG = getLogger(lookup().lookupClass());
 
+    private static final int MAX_CACHED_TIMELINES = 4096;
+    private static final Duration TIMELINES_TIME_TO_LIVE = Duration.ofMinutes(5);
+
     private final WorkingTimeProperties workingTimeProperties;
     private final WorkingTimeRepository workingTimeRepository;
     private final SettingsService settingsService;
     private final Clock clock;
 
+    /**
+     * Working time histories by person id, evicted on every write of a working time of the person. They expire after
+     * {@link #TIMELINES_TIME_TO_LIVE}, so that working times written through another instance are picked up.
+     */
+    private final ExpiringLruCache<Integer, WorkingTimeTimeline> timelines;
+
     @Autowired
     public WorkingTimeServiceImpl(WorkingTimeProperties workingTimeProperties, WorkingTimeRepository workingTimeRepository,
-                                  SettingsService settingsService, Clock clock) {
+                                  SettingsService settingsService, MeterRegistry meterRegistry, Clock clock) {
         this.workingTimeProperties = workingTimeProperties;
         this.workingTimeRepository = workingTimeRepository;
         this.settingsService = settingsService;
         this.clock = clock;
+
+        this.timelines = new ExpiringLruCache<>(MAX_CACHED_TIMELINES, TIMELINES_TIME_TO_LIVE, clock);
+        this.timelines.bindTo(meterRegistry, "workingTimeTimelines");
     }
 
     @Override
@@ -69,6 +93,7 @@ class WorkingTimeServiceImpl implements WorkingTimeService, WorkingTimeWriteServ
         workingTimeEntity.setFederalStateOverride(federalState);
 
         workingTimeRepository.save(workingTimeEntity);
+        evictTimeline(person);
         LOG.info("Created working time {} for person {}", workingTimeEntity, person);
     }
 
@@ -82,6 +107,58 @@ class WorkingTimeServiceImpl implements WorkingTimeService, WorkingTimeWriteServ
         return toWorkingTimes(workingTimeRepository.findByPersonIn(persons));
     }
 
+    @Override
+    public WorkingTimeTimeline getTimelineByPerson(Person person) {
+        if (person.getId() == null) {
+            return WorkingTimeTimeline.of(getByPerson(person));
+        }
+
+        return timelines.get(person.getId(), () -> WorkingTimeTimeline.of(getByPerson(person)));
+    }
+
+    @Override
+    public Map<Person, WorkingTimeTimeline> getTimelinesByPersons(List<Person> persons) {
+
+        final Map<Integer, Person> personsById = new HashMap<>();
+        final List<Person> personsWithoutId = new ArrayList<>();
+        for (Person person : persons) {
+            if (person.getId() == null) {
+                personsWithoutId.add(person);
+            } else {
+                personsById.put(person.getId(), person);
+            }
+        }
+
+        final Map<Integer, WorkingTimeTimeline> timelinesById = timelines.getAll(personsById.keySet(), missingIds -> {
+            final List<Person> missingPersons = missingIds.stream().map(personsById::get).collect(toList());
+            final Map<Person, List<WorkingTime>> workingTimesByPerson = getByPersons(missingPersons).stream()
+                .collect(groupingBy(WorkingTime::getPerson));
+
+            final Map<Integer, WorkingTimeTimeline> loadedTimelines = new HashMap<>();
+            for (Person person : missingPersons) {
+                loadedTimelines.put(person.getId(), WorkingTimeTimeline.of(workingTimesByPerson.getOrDefault(person, List.of())));
+            }
+            return loadedTimelines;
+        });
+
+        final Map<Person, WorkingTimeTimeline> timelinesByPerson = new HashMap<>();
+        for (Person person : persons) {
+            if (person.getId() != null) {
+                timelinesByPerson.put(person, timelinesById.get(person.getId()));
+            }
+        }
+
+        if (!personsWithoutId.isEmpty()) {
+            final Map<Person, List<WorkingTime>> workingTimesByPerson = getByPersons(personsWithoutId).stream()
+                .collect(groupingBy(WorkingTime::getPerson));
+            for (Person person : personsWithoutId) {
+                timelinesByPerson.put(person, WorkingTimeTimeline.of(workingTimesByPerson.getOrDefault(person, List.of())));
+            }
+        }
+
+        return timelinesByPerson;
+    }
+
     @Override
     public Optional<WorkingTime> getByPersonAndValidityDateEqualsOrMinorDate(Person person, LocalDate date) {
         return Optional.ofNullable(workingTimeRepository.findByPersonAndValidityDateEqualsOrMinorDate(person, date))
@@ -119,6 +196,39 @@ class WorkingTimeServiceImpl implements WorkingTimeService, WorkingTimeWriteServ
         this.touch(defaultWorkingDays, today, person);
     }
 
+    /**
+     * Working times without a federal state fall back to the federal state of the settings,
+     * therefore all cached working time histories are dropped on a settings update.
+     *
+     * @param event the settings update
+     */
+    @EventListener
+    public void handleSettingsUpdated(SettingsUpdatedEvent event) {
+        timelines.invalidateAll();
+    }
+
+    /**
+     * Evicts the working time history of the given person immediately and again after the surrounding transaction
+     * committed, so that a concurrent read of the not yet committed state is not cached.
+     */
+    private void evictTimeline(Person person) {
+        if (person.getId() == null) {
+            return;
+        }
+
+        final Integer personId = person.getId();
+        timelines.invalidate(personId);
+
+        if (isSynchronizationActive()) {
+            registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    timelines.invalidate(personId);
+                }
+            });
+        }
+    }
+
     private List<WorkingTime> toWorkingTimes(List<WorkingTimeEntity> entities) {
         final CachedSupplier<FederalState> federalStateCachedSupplier = new CachedSupplier<>(this::getSystemDefaultFederalState);
         return entities.stream()
@@ -0,0 +1,115 @@
+package org.synyx.urlaubsverwaltung.workingtime;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static java.util.Comparator.comparing;
+
+/**
+ * Immutable history of the {@link WorkingTime}s of one person, ordered by the date they are valid from.
+ *
+ * <p>A working time is valid from its {@link WorkingTime#getValidFrom()} until the day before the next working time
+ * becomes valid. The working time valid at a date is found by binary search.</p>
+ */
+public final class WorkingTimeTimeline {
+
+    private static final WorkingTimeTimeline EMPTY = new WorkingTimeTimeline(new WorkingTime[0]);
+
+    private final long[] validFrom;
+    private final WorkingTime[] workingTimes;
+    private final WorkDaysCounter[] workDaysCounters;
+
+    private WorkingTimeTimeline(WorkingTime[] workingTimes) {
+        this.workingTimes = workingTimes;
+        this.validFrom = new long[workingTimes.length];
+        this.workDaysCounters = new WorkDaysCounter[workingTimes.length];
+
+        for (int i = 0; i < workingTimes.length; i++) {
+            this.validFrom[i] = workingTimes[i].getValidFrom().toEpochDay();
+            this.workDaysCounters[i] = WorkDaysCounter.of(workingTimes[i]);
+        }
+    }
+
+    /**
+     * @param workingTimes of one person in any order
+     * @return the timeline of the given working times
+     */
+    public static WorkingTimeTimeline of(Collection<WorkingTime> workingTimes) {
+        if (workingTimes.isEmpty()) {
+            return EMPTY;
+        }
+
+        final WorkingTime[] sortedWorkingTimes = workingTimes.toArray(new WorkingTime[0]);
+        Arrays.sort(sortedWorkingTimes, comparing(WorkingTime::getValidFrom));
+
+        return new WorkingTimeTimeline(sortedWorkingTimes);
+    }
+
+    /**
+     * @return a timeline without any working time
+     */
+    public static WorkingTimeTimeline empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @param date to get the valid working time for
+     * @return the working time valid at the given date, empty if the date is before the first working time
+     */
+    public Optional<WorkingTime> getWorkingTime(LocalDate date) {
+        final int index = indexOf(date);
+        return index < 0 ? Optional.empty() : Optional.of(workingTimes[index]);
+    }
+
+    /**
+     * @return all working times ordered by the date they are valid from
+     */
+    public List<WorkingTime> getWorkingTimes() {
+        return List.of(workingTimes);
+    }
+
+    public boolean isEmpty() {
+        return workingTimes.length == 0;
+    }
+
+    /**
+     * @param date to search the working time for
+     * @return index of the working time valid at the given date or {@code -1} if there is none
+     */
+    int indexOf(LocalDate date) {
+        final int index = Arrays.binarySearch(validFrom, date.toEpochDay());
+        if (index >= 0) {
+            return index;
+        }
+
+        // binarySearch returns (-(insertion point) - 1), the working time before the insertion point is valid
+        return -index - 2;
+    }
+
+    int size() {
+        return workingTimes.length;
+    }
+
+    WorkingTime getWorkingTime(int index) {
+        return workingTimes[index];
+    }
+
+    WorkDaysCounter getWorkDaysCounter(int index) {
+        return workDaysCounters[index];
+    }
+
+    /**
+     * @param index of the working time
+     * @return the last day the working time at the given index is valid, {@link LocalDate#MAX} for the current one
+     */
+    LocalDate getValidTo(int index) {
+        if (index + 1 >= workingTimes.length) {
+            return LocalDate.MAX;
+        }
+
+        return LocalDate.ofEpochDay(validFrom[index + 1] - 1);
+    }
+}
@@ -40,6 +40,13 @@
 
 <spring:url var="URL_PREFIX" value="/web"/>
 
+<c:set var="fromDate">
+    <uv:date date="${from}" pattern="yyyy-MM-dd" />
+</c:set>
+<c:set var="toDate">
+    <uv:date date="${to}" pattern="yyyy-MM-dd" />
+</c:set>
+
 <uv:menu/>
 
 <div class="content">
@@ -56,6 +63,9 @@
                 <a href="${URL_PREFIX}/sicknote/statistics" class="icon-link tw-px-1" data-title="<spring:message code="action.sicknotes.statistics"/>">
                     <icon:presentation-chart-bar className="tw-w-5 tw-h-5" />
                 </a>
+                <a href="${URL_PREFIX}/sicknote/download?from=${fromDate}&to=${toDate}" class="icon-link tw-px-1" data-title="<spring:message code='action.download' />">
+                    <icon:download className="tw-w-5 tw-h-5" />
+                </a>
                 <uv:print/>
             </jsp:attribute>
             <jsp:attribute name="below">
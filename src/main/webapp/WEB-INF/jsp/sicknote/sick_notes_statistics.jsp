@@ -3,6 +3,7 @@
 <%@taglib prefix="spring" uri="http://www.springframework.org/tags" %>
 <%@taglib prefix="form" uri="http://www.springframework.org/tags/form" %>
 <%@taglib prefix="uv" tagdir="/WEB-INF/tags" %>
+<%@taglib prefix="icon" tagdir="/WEB-INF/tags/icons" %>
 
 
 <!DOCTYPE html>
@@ -26,6 +27,9 @@
 
         <uv:section-heading>
             <jsp:attribute name="actions">
+                <a href="${URL_PREFIX}/sicknote/statistics/download?year=${statistics.year}" class="icon-link tw-px-1" data-title="<spring:message code='action.download' />">
+                    <icon:download className="tw-w-5 tw-h-5" />
+                </a>
                 <uv:print/>
             </jsp:attribute>
             <jsp:body>
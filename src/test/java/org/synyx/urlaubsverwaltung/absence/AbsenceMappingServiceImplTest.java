@@ -5,6 +5,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.AdditionalAnswers.returnsFirstArg;
@@ -68,6 +71,31 @@ class AbsenceMappingServiceImplTest {
         verify(absenceMappingRepository).findAbsenceMappingByAbsenceIdAndAbsenceMappingType(21, SICKNOTE);
     }
 
+    @Test
+    void ensureStartsWithFirstAbsenceMappingByStartDateWithoutStartDate() {
+
+        sut.getAbsenceMappingsByStartDate(null, null, 100);
+
+        verify(absenceMappingRepository).findOrderedByStartDate(PageRequest.of(0, 100));
+    }
+
+    @Test
+    void ensureContinuesAfterGivenAbsenceMappingByStartDate() {
+
+        final LocalDate startDate = LocalDate.of(2021, 7, 1);
+        sut.getAbsenceMappingsByStartDate(startDate, 42, 100);
+
+        verify(absenceMappingRepository).findOrderedByStartDateAfter(startDate, 42, PageRequest.of(0, 100));
+    }
+
+    @Test
+    void ensureReturnsAbsenceMappingsWithoutAbsenceAfterGivenId() {
+
+        sut.getAbsenceMappingsWithoutAbsence(42, 100);
+
+        verify(absenceMappingRepository).findWithoutAbsenceAfter(42, PageRequest.of(0, 100));
+    }
+
     @Test
     void equals() {
         final AbsenceMapping absenceMappingOne = new AbsenceMapping();
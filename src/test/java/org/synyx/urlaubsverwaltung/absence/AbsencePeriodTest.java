@@ -4,6 +4,8 @@ import org.junit.jupiter.api.Test;
 import org.synyx.urlaubsverwaltung.person.Person;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 import static java.time.Month.NOVEMBER;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -198,4 +200,57 @@ class AbsencePeriodTest {
         final AbsencePeriod.Record record = new AbsencePeriod.Record(LocalDate.of(2013, NOVEMBER, 19), new Person(), noon);
         assertThat(record.isHalfDayAbsence()).isTrue();
     }
+
+    @Test
+    void ensureCompactAbsencePeriodMaterializesRecordsOfAbsentDays() {
+        final Person person = new Person();
+        person.setId(1);
+
+        final AbsencePeriod.RecordMorningVacation morning = new AbsencePeriod.RecordMorningVacation(42, WAITING);
+        final AbsencePeriod.RecordNoonVacation noon = new AbsencePeriod.RecordNoonVacation(42, WAITING);
+        final byte[] days = {AbsencePeriod.FULL, 0, AbsencePeriod.MORNING, AbsencePeriod.NOON};
+
+        final AbsencePeriod sut = AbsencePeriod.ofDays(person, LocalDate.of(2021, NOVEMBER, 1), days, morning, noon);
+
+        assertThat(sut.getAbsenceRecords()).containsExactly(
+            new AbsencePeriod.Record(LocalDate.of(2021, NOVEMBER, 1), person, morning, noon),
+            new AbsencePeriod.Record(LocalDate.of(2021, NOVEMBER, 3), person, morning),
+            new AbsencePeriod.Record(LocalDate.of(2021, NOVEMBER, 4), person, noon)
+        );
+        assertThat(sut.getAbsenceRecords().get(0).getMorning()).containsSame(morning);
+        assertThat(sut.getAbsenceRecords().get(0).getNoon()).containsSame(noon);
+        assertThat(sut.getAbsenceRecords().get(1).isHalfDayAbsence()).isTrue();
+        assertThat(sut.getAbsenceRecords().get(1).getNoon()).isEmpty();
+        assertThat(sut.getAbsenceRecords().get(2).getMorning()).isEmpty();
+    }
+
+    @Test
+    void ensureCompactAbsencePeriodEqualsAbsencePeriodOfRecords() {
+        final Person person = new Person();
+        person.setId(1);
+
+        final AbsencePeriod.RecordMorningSick morning = new AbsencePeriod.RecordMorningSick(42);
+        final AbsencePeriod.RecordNoonSick noon = new AbsencePeriod.RecordNoonSick(42);
+        final AbsencePeriod compact = AbsencePeriod.ofDays(person, LocalDate.of(2021, NOVEMBER, 1), new byte[]{AbsencePeriod.FULL}, morning, noon);
+        final AbsencePeriod ofRecords = new AbsencePeriod(List.of(new AbsencePeriod.Record(LocalDate.of(2021, NOVEMBER, 1), person, morning, noon)));
+
+        assertThat(compact).isEqualTo(ofRecords).hasSameHashCodeAs(ofRecords);
+    }
+
+    @Test
+    void ensureForEachDayHandsOverAbsentDaysInOrder() {
+        final Person person = new Person();
+        person.setId(1);
+
+        final AbsencePeriod.RecordMorningSick morning = new AbsencePeriod.RecordMorningSick(42);
+        final AbsencePeriod.RecordNoonSick noon = new AbsencePeriod.RecordNoonSick(42);
+        final byte[] days = {0, AbsencePeriod.NOON, AbsencePeriod.FULL};
+        final AbsencePeriod sut = AbsencePeriod.ofDays(person, LocalDate.of(2021, NOVEMBER, 1), days, morning, noon);
+
+        final List<String> absentDays = new ArrayList<>();
+        sut.forEachDay((absentPerson, date, morningOfDay, noonOfDay) ->
+            absentDays.add(absentPerson.getId() + " " + date + " " + (morningOfDay != null) + " " + (noonOfDay != null)));
+
+        assertThat(absentDays).containsExactly("1 2021-11-02 false true", "1 2021-11-03 true true");
+    }
 }
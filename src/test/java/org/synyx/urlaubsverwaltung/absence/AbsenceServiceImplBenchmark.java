@@ -0,0 +1,159 @@
+package org.synyx.urlaubsverwaltung.absence;
+
+import de.jollyday.HolidayManager;
+import de.jollyday.ManagerParameters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.synyx.urlaubsverwaltung.application.domain.Application;
+import org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus;
+import org.synyx.urlaubsverwaltung.application.service.ApplicationService;
+import org.synyx.urlaubsverwaltung.period.DayLength;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.publicholiday.PublicHolidaysService;
+import org.synyx.urlaubsverwaltung.settings.Settings;
+import org.synyx.urlaubsverwaltung.settings.SettingsService;
+import org.synyx.urlaubsverwaltung.sicknote.SickNote;
+import org.synyx.urlaubsverwaltung.sicknote.SickNoteService;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTime;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeService;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.time.DayOfWeek.FRIDAY;
+import static java.time.DayOfWeek.MONDAY;
+import static java.time.DayOfWeek.THURSDAY;
+import static java.time.DayOfWeek.TUESDAY;
+import static java.time.DayOfWeek.WEDNESDAY;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.ALLOWED;
+import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.ALLOWED_CANCELLATION_REQUESTED;
+import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.TEMPORARY_ALLOWED;
+import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.WAITING;
+import static org.synyx.urlaubsverwaltung.period.DayLength.FULL;
+import static org.synyx.urlaubsverwaltung.period.DayLength.MORNING;
+import static org.synyx.urlaubsverwaltung.period.DayLength.NOON;
+import static org.synyx.urlaubsverwaltung.sicknote.SickNoteStatus.ACTIVE;
+import static org.synyx.urlaubsverwaltung.workingtime.FederalState.BADEN_WUERTTEMBERG;
+
+/**
+ * Measures {@link AbsenceServiceImpl#getOpenAbsences(List, LocalDate, LocalDate)} for a whole year, with six
+ * applications for leave, four sick notes and a working time changing in July per person.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AbsenceServiceImplBenchmark {
+
+    private static final LocalDate START = LocalDate.of(2021, 1, 1);
+    private static final LocalDate END = LocalDate.of(2021, 12, 31);
+
+    @Param({"1000"})
+    private int persons;
+
+    private final List<Person> absentPersons = new ArrayList<>();
+    private AbsenceServiceImpl absenceService;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AbsenceServiceImplBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Setup
+    public void setUp() {
+
+        final List<WorkingTime> workingTimes = new ArrayList<>();
+        final List<Application> applications = new ArrayList<>();
+        final List<SickNote> sickNotes = new ArrayList<>();
+
+        for (int i = 1; i <= persons; i++) {
+            final Person person = new Person("horst-active-" + i, "Aktiv" + i, "Horst", "horst-active-" + i + "@example.org");
+            person.setId(i);
+            absentPersons.add(person);
+
+            workingTimes.add(workingTime(person, LocalDate.of(2015, 1, 1)));
+            workingTimes.add(workingTime(person, LocalDate.of(2021, 7, 1)));
+
+            // the absences of the demo data, a week later for every next person
+            final LocalDate now = START.plusDays(40 + (i * 7L) % 300);
+            applications.add(application(person, WAITING, FULL, now.plusDays(10), now.plusDays(16)));
+            applications.add(application(person, WAITING, FULL, now.plusDays(1), now.plusDays(1)));
+            applications.add(application(person, WAITING, FULL, now.plusDays(4), now.plusDays(6)));
+            applications.add(application(person, ALLOWED, FULL, now.minusDays(20), now.minusDays(13)));
+            applications.add(application(person, ALLOWED, MORNING, now.minusDays(5), now.minusDays(5)));
+            applications.add(application(person, ALLOWED, MORNING, now.minusDays(9), now.minusDays(9)));
+
+            sickNotes.add(sickNote(person, NOON, now.minusDays(10), now.minusDays(10)));
+            sickNotes.add(sickNote(person, FULL, now.minusDays(2), now.minusDays(2)));
+            sickNotes.add(sickNote(person, FULL, now.minusDays(30), now.minusDays(25)));
+            sickNotes.add(sickNote(person, FULL, now.minusDays(40), now.minusDays(38)));
+        }
+
+        final WorkingTimeService workingTimeService = mock(WorkingTimeService.class);
+        when(workingTimeService.getByPersons(absentPersons)).thenReturn(workingTimes);
+        when(workingTimeService.getSystemDefaultFederalState()).thenReturn(BADEN_WUERTTEMBERG);
+
+        final ApplicationService applicationService = mock(ApplicationService.class);
+        when(applicationService.getForStatesAndPerson(List.of(ALLOWED, WAITING, TEMPORARY_ALLOWED, ALLOWED_CANCELLATION_REQUESTED), absentPersons, START, END)).thenReturn(applications);
+
+        final SickNoteService sickNoteService = mock(SickNoteService.class);
+        when(sickNoteService.getForStatesAndPerson(List.of(ACTIVE), absentPersons, START, END)).thenReturn(sickNotes);
+
+        final SettingsService settingsService = mock(SettingsService.class);
+        when(settingsService.getSettings()).thenReturn(new Settings());
+        final HolidayManager holidayManager = HolidayManager.getInstance(ManagerParameters.create(getClass().getClassLoader().getResource("Holidays_de.xml")));
+        final PublicHolidaysService publicHolidaysService = new PublicHolidaysService(settingsService, holidayManager);
+
+        absenceService = new AbsenceServiceImpl(applicationService, sickNoteService, settingsService, workingTimeService, publicHolidaysService);
+    }
+
+    @Benchmark
+    public List<AbsencePeriod> getOpenAbsencesOfYear() {
+        return absenceService.getOpenAbsences(absentPersons, START, END);
+    }
+
+    private static WorkingTime workingTime(Person person, LocalDate validFrom) {
+        final WorkingTime workingTime = new WorkingTime(person, validFrom, BADEN_WUERTTEMBERG);
+        workingTime.setWorkingDays(List.of(MONDAY, TUESDAY, WEDNESDAY, THURSDAY, FRIDAY), FULL);
+        return workingTime;
+    }
+
+    private static Application application(Person person, ApplicationStatus status, DayLength dayLength, LocalDate startDate, LocalDate endDate) {
+        final Application application = new Application();
+        application.setId(person.getId());
+        application.setPerson(person);
+        application.setStatus(status);
+        application.setDayLength(dayLength);
+        application.setStartDate(startDate);
+        application.setEndDate(endDate);
+        return application;
+    }
+
+    private static SickNote sickNote(Person person, DayLength dayLength, LocalDate startDate, LocalDate endDate) {
+        final SickNote sickNote = new SickNote();
+        sickNote.setId(person.getId());
+        sickNote.setPerson(person);
+        sickNote.setStatus(ACTIVE);
+        sickNote.setDayLength(dayLength);
+        sickNote.setStartDate(startDate);
+        sickNote.setEndDate(endDate);
+        return sickNote;
+    }
+}
@@ -125,7 +125,7 @@ class AbsenceServiceImplTest {
         final LocalDate startDateSickNote = LocalDate.of(2019, 10, 10);
         final LocalDate endDateSickNote = LocalDate.of(2019, 10, 23);
         final SickNote sickNote = createSickNote(person, startDateSickNote, endDateSickNote, FULL);
-        when(sickNoteService.getForStates(List.of(ACTIVE))).thenReturn(List.of(sickNote));
+        when(sickNoteService.getForStatesSince(List.of(ACTIVE), since)).thenReturn(List.of(sickNote));
 
         final List<Absence> openAbsences = sut.getOpenAbsencesSince(since);
         assertThat(openAbsences).hasSize(2);
@@ -287,6 +287,85 @@ class AbsenceServiceImplTest {
         assertThat(actualAbsences.get(0).getAbsenceRecords().get(0).getNoon().map(AbsencePeriod.RecordInfo::getType)).hasValue(AbsencePeriod.AbsenceType.VACATION);
     }
 
+    @Test
+    void ensureOpenAbsencesLooksUpPublicHolidaysOnlyOncePerFederalStateAndDate() {
+
+        final LocalDate start = LocalDate.of(2021, MAY, 1);
+        final LocalDate end = LocalDate.of(2021, MAY, 31);
+
+        final Person batman = new Person();
+        batman.setId(1);
+        final Person robin = new Person();
+        robin.setId(2);
+
+        final WorkingTime workingTimeBatman = new WorkingTime(batman, start, BADEN_WUERTTEMBERG);
+        workingTimeBatman.setWorkingDays(List.of(MONDAY, TUESDAY, WEDNESDAY, THURSDAY, FRIDAY), FULL);
+        final WorkingTime workingTimeRobin = new WorkingTime(robin, start, BADEN_WUERTTEMBERG);
+        workingTimeRobin.setWorkingDays(List.of(MONDAY, TUESDAY, WEDNESDAY, THURSDAY, FRIDAY), FULL);
+
+        when(workingTimeService.getByPersons(List.of(batman, robin))).thenReturn(List.of(workingTimeBatman, workingTimeRobin));
+
+        final Application applicationBatman = new Application();
+        applicationBatman.setPerson(batman);
+        applicationBatman.setStartDate(LocalDate.of(2021, MAY, 10));
+        applicationBatman.setEndDate(LocalDate.of(2021, MAY, 11));
+        applicationBatman.setDayLength(FULL);
+        applicationBatman.setStatus(ALLOWED);
+
+        final Application applicationRobin = new Application();
+        applicationRobin.setPerson(robin);
+        applicationRobin.setStartDate(LocalDate.of(2021, MAY, 11));
+        applicationRobin.setEndDate(LocalDate.of(2021, MAY, 12));
+        applicationRobin.setDayLength(FULL);
+        applicationRobin.setStatus(ALLOWED);
+
+        when(applicationService.getForStatesAndPerson(any(), any(), any(), any())).thenReturn(List.of(applicationBatman, applicationRobin));
+        when(publicHolidaysService.getAbsenceTypeOfDate(any(), any())).thenReturn(DayLength.ZERO);
+
+        final List<AbsencePeriod> actualAbsences = sut.getOpenAbsences(List.of(batman, robin), start, end);
+        assertThat(actualAbsences).hasSize(2);
+        assertThat(actualAbsences.get(0).getAbsenceRecords()).extracting(AbsencePeriod.Record::getPerson).containsOnly(batman);
+        assertThat(actualAbsences.get(1).getAbsenceRecords()).extracting(AbsencePeriod.Record::getPerson).containsOnly(robin);
+
+        verify(publicHolidaysService).getAbsenceTypeOfDate(LocalDate.of(2021, MAY, 10), BADEN_WUERTTEMBERG);
+        verify(publicHolidaysService).getAbsenceTypeOfDate(LocalDate.of(2021, MAY, 11), BADEN_WUERTTEMBERG);
+        verify(publicHolidaysService).getAbsenceTypeOfDate(LocalDate.of(2021, MAY, 12), BADEN_WUERTTEMBERG);
+        verifyNoMoreInteractions(publicHolidaysService);
+    }
+
+    @Test
+    void ensureOpenAbsencesConsidersFederalStateOfTheAbsentPerson() {
+
+        final LocalDate start = LocalDate.of(2021, MAY, 1);
+        final LocalDate end = LocalDate.of(2021, MAY, 31);
+
+        final Person batman = new Person();
+        batman.setId(1);
+        final Person robin = new Person();
+        robin.setId(2);
+
+        final WorkingTime workingTimeBatman = new WorkingTime(batman, start, BADEN_WUERTTEMBERG);
+        final WorkingTime workingTimeRobin = new WorkingTime(robin, start, BERLIN);
+        when(workingTimeService.getByPersons(List.of(batman, robin))).thenReturn(List.of(workingTimeBatman, workingTimeRobin));
+
+        final SickNote sickNoteRobin = new SickNote();
+        sickNoteRobin.setPerson(robin);
+        sickNoteRobin.setStartDate(LocalDate.of(2021, MAY, 10));
+        sickNoteRobin.setEndDate(LocalDate.of(2021, MAY, 10));
+        sickNoteRobin.setDayLength(FULL);
+        sickNoteRobin.setStatus(ACTIVE);
+
+        when(sickNoteService.getForStatesAndPerson(any(), any(), any(), any())).thenReturn(List.of(sickNoteRobin));
+        when(publicHolidaysService.getAbsenceTypeOfDate(LocalDate.of(2021, MAY, 10), BERLIN)).thenReturn(DayLength.ZERO);
+
+        final List<AbsencePeriod> actualAbsences = sut.getOpenAbsences(List.of(batman, robin), start, end);
+        assertThat(actualAbsences).hasSize(1);
+        assertThat(actualAbsences.get(0).getAbsenceRecords()).hasSize(1);
+
+        verify(publicHolidaysService).getAbsenceTypeOfDate(LocalDate.of(2021, MAY, 10), BERLIN);
+        verifyNoMoreInteractions(publicHolidaysService);
+    }
+
     @Test
     void ensureVacationWithEmptyWorkingTimeFallsBackToSystemDefaultFederalState() {
 
@@ -0,0 +1,57 @@
+package org.synyx.urlaubsverwaltung.absence.web;
+
+import org.junit.jupiter.api.Test;
+import org.synyx.urlaubsverwaltung.absence.AbsencePeriod;
+import org.synyx.urlaubsverwaltung.absence.DateRange;
+import org.synyx.urlaubsverwaltung.person.Person;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.synyx.urlaubsverwaltung.absence.AbsencePeriod.AbsenceStatus.ALLOWED;
+
+class AbsenceOverviewGridTest {
+
+    @Test
+    void ensureRecordsAreIndexedByPersonAndDate() {
+
+        final Person batman = new Person("batman", "Wayne", "Bruce", "batman@example.org");
+        batman.setId(1);
+        final Person robin = new Person("robin", "Grayson", "Dick", "robin@example.org");
+        robin.setId(2);
+
+        final AbsencePeriod.Record batmanMorning = new AbsencePeriod.Record(LocalDate.of(2021, 3, 2), batman, new AbsencePeriod.RecordMorningVacation(1, ALLOWED));
+        final AbsencePeriod.Record batmanNoon = new AbsencePeriod.Record(LocalDate.of(2021, 3, 2), batman, new AbsencePeriod.RecordNoonSick(2));
+        final AbsencePeriod.Record robinFull = new AbsencePeriod.Record(LocalDate.of(2021, 3, 31), robin,
+            new AbsencePeriod.RecordMorningVacation(3, ALLOWED), new AbsencePeriod.RecordNoonVacation(3, ALLOWED));
+
+        final DateRange dateRange = new DateRange(LocalDate.of(2021, 3, 1), LocalDate.of(2021, 3, 31));
+        final AbsenceOverviewGrid sut = AbsenceOverviewGrid.of(dateRange, List.of(batman, robin),
+            List.of(new AbsencePeriod(List.of(batmanMorning)), new AbsencePeriod(List.of(batmanNoon)), new AbsencePeriod(List.of(robinFull))));
+
+        assertThat(sut.getRecords(0, LocalDate.of(2021, 3, 2))).containsExactly(batmanMorning, batmanNoon);
+        assertThat(sut.getRecords(0, LocalDate.of(2021, 3, 31))).isEmpty();
+        assertThat(sut.getRecords(1, LocalDate.of(2021, 3, 2))).isEmpty();
+        assertThat(sut.getRecords(1, LocalDate.of(2021, 3, 31))).containsExactly(robinFull);
+    }
+
+    @Test
+    void ensureIgnoresRecordsOfOtherPersonsAndOutsideOfTheDateRange() {
+
+        final Person batman = new Person("batman", "Wayne", "Bruce", "batman@example.org");
+        batman.setId(1);
+        final Person joker = new Person("joker", "Napier", "Jack", "joker@example.org");
+        joker.setId(2);
+
+        final AbsencePeriod.Record jokerRecord = new AbsencePeriod.Record(LocalDate.of(2021, 3, 2), joker, new AbsencePeriod.RecordMorningSick(1));
+        final AbsencePeriod.Record batmanBefore = new AbsencePeriod.Record(LocalDate.of(2021, 2, 28), batman, new AbsencePeriod.RecordMorningSick(2));
+        final AbsencePeriod.Record batmanAfter = new AbsencePeriod.Record(LocalDate.of(2021, 4, 1), batman, new AbsencePeriod.RecordMorningSick(3));
+
+        final DateRange dateRange = new DateRange(LocalDate.of(2021, 3, 1), LocalDate.of(2021, 3, 31));
+        final AbsenceOverviewGrid sut = AbsenceOverviewGrid.of(dateRange, List.of(batman),
+            List.of(new AbsencePeriod(List.of(jokerRecord, batmanBefore, batmanAfter))));
+
+        assertThat(dateRange.stream().map(date -> sut.getRecords(0, date))).allMatch(List::isEmpty);
+    }
+}
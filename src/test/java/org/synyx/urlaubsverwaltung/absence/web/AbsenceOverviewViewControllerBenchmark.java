@@ -0,0 +1,145 @@
+package org.synyx.urlaubsverwaltung.absence.web;
+
+import de.jollyday.HolidayManager;
+import de.jollyday.ManagerParameters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.support.StaticMessageSource;
+import org.springframework.ui.ExtendedModelMap;
+import org.synyx.urlaubsverwaltung.absence.AbsencePeriod;
+import org.synyx.urlaubsverwaltung.absence.AbsenceService;
+import org.synyx.urlaubsverwaltung.department.DepartmentService;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.person.PersonService;
+import org.synyx.urlaubsverwaltung.publicholiday.PublicHolidaysService;
+import org.synyx.urlaubsverwaltung.settings.Settings;
+import org.synyx.urlaubsverwaltung.settings.SettingsService;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.synyx.urlaubsverwaltung.absence.AbsencePeriod.AbsenceStatus.ALLOWED;
+import static org.synyx.urlaubsverwaltung.absence.AbsencePeriod.AbsenceStatus.WAITING;
+import static org.synyx.urlaubsverwaltung.person.Role.OFFICE;
+import static org.synyx.urlaubsverwaltung.person.Role.USER;
+
+/**
+ * Measures the absence overview of a whole year for companies of different sizes. The absence service is mocked, only
+ * building the overview of the given absence periods is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AbsenceOverviewViewControllerBenchmark {
+
+    private static final int YEAR = 2021;
+
+    @Param({"100", "500", "2000"})
+    private int persons;
+
+    private AbsenceOverviewViewController absenceOverviewViewController;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AbsenceOverviewViewControllerBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Setup
+    public void setUp() {
+
+        final Person office = new Person("office", "Muster", "Marlene", "office@example.org");
+        office.setId(0);
+        office.setPermissions(List.of(USER, OFFICE));
+
+        final List<Person> overviewPersons = new ArrayList<>(persons);
+        final List<AbsencePeriod> absences = new ArrayList<>();
+        for (int i = 1; i <= persons; i++) {
+            final Person person = new Person("horst-active-" + i, "Aktiv" + i, "Horst", "horst-active-" + i + "@example.org");
+            person.setId(i);
+            overviewPersons.add(person);
+            absences.addAll(demoAbsences(person, LocalDate.of(YEAR, 1, 1).plusDays(40 + (i * 7L) % 300)));
+        }
+
+        final PersonService personService = mock(PersonService.class);
+        when(personService.getSignedInUser()).thenReturn(office);
+        when(personService.getActivePersons()).thenReturn(overviewPersons);
+
+        final DepartmentService departmentService = mock(DepartmentService.class);
+        when(departmentService.getNumberOfDepartments()).thenReturn(0L);
+
+        final AbsenceService absenceService = mock(AbsenceService.class);
+        when(absenceService.getOpenAbsences(overviewPersons, LocalDate.of(YEAR, 1, 1), LocalDate.of(YEAR, 12, 31))).thenReturn(absences);
+
+        final SettingsService settingsService = mock(SettingsService.class);
+        when(settingsService.getSettings()).thenReturn(new Settings());
+        final HolidayManager holidayManager = HolidayManager.getInstance(ManagerParameters.create(getClass().getClassLoader().getResource("Holidays_de.xml")));
+        final PublicHolidaysService publicHolidaysService = new PublicHolidaysService(settingsService, holidayManager);
+
+        final StaticMessageSource messageSource = new StaticMessageSource();
+        messageSource.setUseCodeAsDefaultMessage(true);
+
+        final Clock clock = Clock.fixed(LocalDate.of(YEAR, 6, 15).atStartOfDay(ZoneId.of("UTC")).toInstant(), ZoneId.of("UTC"));
+
+        absenceOverviewViewController = new AbsenceOverviewViewController(personService, departmentService, messageSource, clock,
+            publicHolidaysService, settingsService, absenceService);
+    }
+
+    @Benchmark
+    public ExtendedModelMap absenceOverviewOfYear() {
+        final ExtendedModelMap model = new ExtendedModelMap();
+        absenceOverviewViewController.absenceOverview(YEAR, "", List.of(), model, Locale.GERMAN);
+        return model;
+    }
+
+    /**
+     * The absence periods {@link org.synyx.urlaubsverwaltung.absence.AbsenceServiceImpl} returns for the open
+     * applications for leave and sick notes of {@link org.synyx.urlaubsverwaltung.dev.DemoDataCreationService}.
+     */
+    private static List<AbsencePeriod> demoAbsences(Person person, LocalDate now) {
+
+        final List<AbsencePeriod> absences = new ArrayList<>();
+
+        absences.add(fullDays(person, now.plusDays(10), now.plusDays(16), new AbsencePeriod.RecordMorningVacation(1, WAITING), new AbsencePeriod.RecordNoonVacation(1, WAITING)));
+        absences.add(fullDays(person, now.plusDays(1), now.plusDays(1), new AbsencePeriod.RecordMorningVacation(2, WAITING), new AbsencePeriod.RecordNoonVacation(2, WAITING)));
+        absences.add(fullDays(person, now.plusDays(4), now.plusDays(6), new AbsencePeriod.RecordMorningVacation(3, WAITING), new AbsencePeriod.RecordNoonVacation(3, WAITING)));
+        absences.add(fullDays(person, now.minusDays(20), now.minusDays(13), new AbsencePeriod.RecordMorningVacation(4, ALLOWED), new AbsencePeriod.RecordNoonVacation(4, ALLOWED)));
+        absences.add(new AbsencePeriod(List.of(new AbsencePeriod.Record(now.minusDays(5), person, new AbsencePeriod.RecordMorningVacation(5, ALLOWED)))));
+        absences.add(new AbsencePeriod(List.of(new AbsencePeriod.Record(now.minusDays(9), person, new AbsencePeriod.RecordMorningVacation(6, ALLOWED)))));
+
+        absences.add(new AbsencePeriod(List.of(new AbsencePeriod.Record(now.minusDays(10), person, new AbsencePeriod.RecordNoonSick(1)))));
+        absences.add(fullDays(person, now.minusDays(2), now.minusDays(2), new AbsencePeriod.RecordMorningSick(2), new AbsencePeriod.RecordNoonSick(2)));
+        absences.add(fullDays(person, now.minusDays(30), now.minusDays(25), new AbsencePeriod.RecordMorningSick(3), new AbsencePeriod.RecordNoonSick(3)));
+        absences.add(fullDays(person, now.minusDays(40), now.minusDays(38), new AbsencePeriod.RecordMorningSick(4), new AbsencePeriod.RecordNoonSick(4)));
+
+        return absences;
+    }
+
+    private static AbsencePeriod fullDays(Person person, LocalDate start, LocalDate end, AbsencePeriod.RecordMorning morning, AbsencePeriod.RecordNoon noon) {
+        final List<AbsencePeriod.Record> records = new ArrayList<>();
+        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+            records.add(new AbsencePeriod.Record(date, person, morning, noon));
+        }
+        return new AbsencePeriod(records);
+    }
+}
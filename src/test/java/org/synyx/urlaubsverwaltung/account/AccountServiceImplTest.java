@@ -7,12 +7,14 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.synyx.urlaubsverwaltung.person.Person;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.synyx.urlaubsverwaltung.TestDataCreator.createHolidaysAccount;
 
@@ -52,4 +54,25 @@ class AccountServiceImplTest {
         Optional<Account> optionalHolidaysAccount = accountService.getHolidaysAccount(2012, mock(Person.class));
         assertThat(optionalHolidaysAccount).isEmpty();
     }
+
+    @Test
+    void ensureReturnsHolidaysAccountsOfPersons() {
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        final Person otherPerson = new Person("other", "Other", "Olaf", "other@example.org");
+        final Account account = createHolidaysAccount(person, 2012);
+        when(accountRepository.getHolidaysAccountsByYearAndPersons(2012, List.of(person, otherPerson))).thenReturn(List.of(account));
+
+        final List<Account> holidaysAccounts = accountService.getHolidaysAccounts(2012, List.of(person, otherPerson));
+        assertThat(holidaysAccounts).containsExactly(account);
+    }
+
+    @Test
+    void ensureReturnsNoHolidaysAccountsWithoutQueryingForNoPersons() {
+
+        final List<Account> holidaysAccounts = accountService.getHolidaysAccounts(2012, List.of());
+        assertThat(holidaysAccounts).isEmpty();
+
+        verifyNoInteractions(accountRepository);
+    }
 }
@@ -9,6 +9,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.synyx.urlaubsverwaltung.application.domain.Application;
+import org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus;
+import org.synyx.urlaubsverwaltung.application.domain.VacationCategory;
 import org.synyx.urlaubsverwaltung.application.service.ApplicationService;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.publicholiday.PublicHolidaysService;
@@ -17,6 +19,7 @@ import org.synyx.urlaubsverwaltung.settings.SettingsService;
 import org.synyx.urlaubsverwaltung.workingtime.WorkDaysCountService;
 import org.synyx.urlaubsverwaltung.workingtime.WorkingTime;
 import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeService;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeTimeline;
 
 import java.math.BigDecimal;
 import java.net.URL;
@@ -28,8 +31,10 @@ import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import static java.math.BigDecimal.ONE;
 import static java.math.BigDecimal.TEN;
 import static java.math.BigDecimal.ZERO;
 import static java.time.DayOfWeek.FRIDAY;
@@ -43,11 +48,14 @@ import static java.time.Month.FEBRUARY;
 import static java.time.Month.JANUARY;
 import static java.time.Month.MARCH;
 import static java.time.Month.SEPTEMBER;
+import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.synyx.urlaubsverwaltung.TestDataCreator.createHolidaysAccount;
 import static org.synyx.urlaubsverwaltung.TestDataCreator.createVacationType;
 import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.ALLOWED;
 import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.ALLOWED_CANCELLATION_REQUESTED;
@@ -80,7 +88,7 @@ class VacationDaysServiceTest {
 
         workDaysCountService = new WorkDaysCountService(new PublicHolidaysService(settingsService, getHolidayManager()), workingTimeService);
 
-        sut = new VacationDaysService(workDaysCountService, applicationService, Clock.systemUTC());
+        sut = new VacationDaysService(workDaysCountService, workingTimeService, applicationService, Clock.systemUTC());
     }
 
     @Test
@@ -92,8 +100,7 @@ class VacationDaysServiceTest {
         List<DayOfWeek> workingDays = List.of(MONDAY, TUESDAY, WEDNESDAY, THURSDAY, FRIDAY);
         workingTime.setWorkingDays(workingDays, FULL);
 
-        when(workingTimeService.getByPersonAndValidityDateEqualsOrMinorDate(any(Person.class), any(LocalDate.class)))
-            .thenReturn(Optional.of(workingTime));
+        when(workingTimeService.getTimelineByPerson(any(Person.class))).thenReturn(WorkingTimeTimeline.of(List.of(workingTime)));
 
         when(settingsService.getSettings()).thenReturn(new Settings());
 
@@ -162,8 +169,7 @@ class VacationDaysServiceTest {
         List<DayOfWeek> workingDays = List.of(MONDAY, TUESDAY, WEDNESDAY, THURSDAY, FRIDAY);
         workingTime.setWorkingDays(workingDays, FULL);
 
-        when(workingTimeService.getByPersonAndValidityDateEqualsOrMinorDate(any(Person.class), any(LocalDate.class)))
-            .thenReturn(Optional.of(workingTime));
+        when(workingTimeService.getTimelineByPerson(any(Person.class))).thenReturn(WorkingTimeTimeline.of(List.of(workingTime)));
 
         when(settingsService.getSettings()).thenReturn(new Settings());
 
@@ -333,7 +339,7 @@ class VacationDaysServiceTest {
     void testGetTotalVacationDaysForPastYear() {
 
         final Clock fixedClock = Clock.fixed(Instant.parse("2015-04-02T00:00:00.00Z"), ZoneId.of("UTC"));
-        sut = new VacationDaysService(workDaysCountService, applicationService, fixedClock);
+        sut = new VacationDaysService(workDaysCountService, workingTimeService, applicationService, fixedClock);
 
         initCustomService("4", "1");
 
@@ -354,7 +360,7 @@ class VacationDaysServiceTest {
     void testGetTotalVacationDaysForThisYearBeforeApril() {
 
         final Clock fixedClock = Clock.fixed(Instant.parse("2015-03-02T00:00:00.00Z"), ZoneId.of("UTC"));
-        sut = new VacationDaysService(workDaysCountService, applicationService, fixedClock);
+        sut = new VacationDaysService(workDaysCountService, workingTimeService, applicationService, fixedClock);
 
         initCustomService("4", "1");
 
@@ -375,7 +381,7 @@ class VacationDaysServiceTest {
     void testGetTotalVacationDaysForThisYearAfterApril() {
 
         final Clock fixedClock = Clock.fixed(Instant.parse("2015-04-02T00:00:00.00Z"), ZoneId.of("UTC"));
-        sut = new VacationDaysService(workDaysCountService, applicationService, fixedClock);
+        sut = new VacationDaysService(workDaysCountService, workingTimeService, applicationService, fixedClock);
 
         initCustomService("4", "3");
 
@@ -405,7 +411,7 @@ class VacationDaysServiceTest {
         when(workDaysCountService.getWorkDaysCount(any(), any(), any(), eq(person))).thenReturn(new BigDecimal(expectedUsedDays));
 
         final Clock clock = Clock.systemUTC();
-        VacationDaysService sut = new VacationDaysService(workDaysCountService, applicationService, clock);
+        VacationDaysService sut = new VacationDaysService(workDaysCountService, workingTimeService, applicationService, clock);
 
         final Account account = new Account();
         account.setPerson(person);
@@ -429,7 +435,7 @@ class VacationDaysServiceTest {
         when(workDaysCountService.getWorkDaysCount(any(), any(), any(), eq(person))).thenReturn(new BigDecimal(expectedUsedDays));
 
         final Clock clock = Clock.systemUTC();
-        VacationDaysService sut = new VacationDaysService(workDaysCountService, applicationService, clock);
+        VacationDaysService sut = new VacationDaysService(workDaysCountService, workingTimeService, applicationService, clock);
 
         final Account account = new Account();
         account.setPerson(person);
@@ -451,8 +457,98 @@ class VacationDaysServiceTest {
         return application;
     }
 
+    @Test
+    void ensureVacationDaysLeftOfManyAccountsEqualsVacationDaysLeftOfEachAccount() {
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        person.setId(1);
+        final Person otherPerson = new Person("other", "Other", "Olaf", "other@example.org");
+        otherPerson.setId(2);
+
+        final WorkingTime workingTime = new WorkingTime(person, LocalDate.MIN, BADEN_WUERTTEMBERG);
+        workingTime.setWorkingDays(List.of(MONDAY, TUESDAY, WEDNESDAY, THURSDAY, FRIDAY), FULL);
+        final WorkingTimeTimeline timeline = WorkingTimeTimeline.of(List.of(workingTime));
+
+        when(settingsService.getSettings()).thenReturn(new Settings());
+        when(workingTimeService.getTimelinesByPersons(List.of(person))).thenReturn(Map.of(person, timeline));
+        when(workingTimeService.getTimelineByPerson(person)).thenReturn(timeline);
+
+        final Application beforeApril = createApplication(person, LocalDate.of(2012, MARCH, 12), LocalDate.of(2012, MARCH, 16), ALLOWED, HOLIDAY);
+        final Application afterApril = createApplication(person, LocalDate.of(2012, SEPTEMBER, 3), LocalDate.of(2012, SEPTEMBER, 7), WAITING, HOLIDAY);
+        final Application overtime = createApplication(person, LocalDate.of(2012, SEPTEMBER, 10), LocalDate.of(2012, SEPTEMBER, 11), ALLOWED, OVERTIME);
+        final Application nextYear = createApplication(person, LocalDate.of(2013, JANUARY, 2), LocalDate.of(2013, JANUARY, 4), ALLOWED, HOLIDAY);
+        final List<Application> applications = List.of(beforeApril, afterApril, overtime, nextYear);
+
+        when(applicationService.getForStatesAndPerson(List.of(WAITING, ALLOWED, ALLOWED_CANCELLATION_REQUESTED), List.of(person, otherPerson),
+            LocalDate.of(2012, JANUARY, 1), LocalDate.of(2013, DECEMBER, 31))).thenReturn(applications);
+        when(applicationService.getApplicationsForACertainPeriodAndPerson(any(LocalDate.class), any(LocalDate.class), any(Person.class)))
+            .thenAnswer(invocation -> applications.stream()
+                .filter(application -> application.getPerson().equals(invocation.getArgument(2)))
+                .filter(application -> !application.getEndDate().isBefore(invocation.getArgument(0))
+                    && !application.getStartDate().isAfter(invocation.getArgument(1)))
+                .collect(toList()));
+
+        final Account account = createHolidaysAccount(person, 2012, new BigDecimal("30"), new BigDecimal("5"), ZERO, "comment");
+        final Account nextYearAccount = createHolidaysAccount(person, 2013, ONE, new BigDecimal("5"), ZERO, "comment");
+        final Account otherAccount = createHolidaysAccount(otherPerson, 2012, new BigDecimal("30"), new BigDecimal("3"), ZERO, "comment");
+        account.setVacationDays(new BigDecimal("30"));
+        nextYearAccount.setVacationDays(ONE);
+        otherAccount.setVacationDays(new BigDecimal("30"));
+
+        final Map<Account, VacationDaysLeft> vacationDaysLeft = sut.getVacationDaysLeftOfAccounts(List.of(account, otherAccount), Map.of(person, nextYearAccount));
+        assertThat(vacationDaysLeft).containsOnlyKeys(account, otherAccount);
+        assertThat(vacationDaysLeft.get(account).getVacationDaysUsedNextYear()).isEqualByComparingTo("2");
+
+        assertThat(vacationDaysLeft.get(account))
+            .usingRecursiveComparison()
+            .isEqualTo(sut.getVacationDaysLeft(account, Optional.of(nextYearAccount)));
+        assertThat(vacationDaysLeft.get(otherAccount))
+            .usingRecursiveComparison()
+            .isEqualTo(sut.getVacationDaysLeft(otherAccount, Optional.empty()));
+    }
+
+    @Test
+    void ensureTotalLeftVacationDaysOfAccountsConsidersRemainingVacationDaysBeforeApril() {
+
+        final Clock fixedClock = Clock.fixed(Instant.parse("2015-03-02T00:00:00.00Z"), ZoneId.of("UTC"));
+        sut = new VacationDaysService(workDaysCountService, workingTimeService, applicationService, fixedClock);
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        person.setId(1);
+        final Account account = createHolidaysAccount(person, 2015, new BigDecimal("30"), new BigDecimal("6"), new BigDecimal("2"), "comment");
+        account.setVacationDays(new BigDecimal("30"));
+
+        final Person otherPerson = new Person("other", "Other", "Olaf", "other@example.org");
+        otherPerson.setId(2);
+        final Account pastAccount = createHolidaysAccount(otherPerson, 2014, new BigDecimal("30"), new BigDecimal("6"), new BigDecimal("2"), "comment");
+        pastAccount.setVacationDays(new BigDecimal("30"));
+
+        final Map<Account, BigDecimal> totalLeftVacationDays = sut.calculateTotalLeftVacationDaysOfAccounts(List.of(account, pastAccount));
+        assertThat(totalLeftVacationDays)
+            .containsEntry(account, new BigDecimal("36"))
+            .containsEntry(pastAccount, new BigDecimal("32"));
+    }
+
+    @Test
+    void ensureVacationDaysLeftOfNoAccountsIsEmpty() {
+        assertThat(sut.getVacationDaysLeftOfAccounts(List.of(), Map.of())).isEmpty();
+        verifyNoInteractions(applicationService);
+    }
+
+    private static Application createApplication(Person person, LocalDate startDate, LocalDate endDate,
+                                                 ApplicationStatus status, VacationCategory category) {
+        final Application application = new Application();
+        application.setStartDate(startDate);
+        application.setEndDate(endDate);
+        application.setDayLength(FULL);
+        application.setStatus(status);
+        application.setVacationType(createVacationType(category));
+        application.setPerson(person);
+        return application;
+    }
+
     private void initCustomService(final String daysBeforeApril, final String daysAfterApril) {
-        sut = new VacationDaysService(mock(WorkDaysCountService.class), applicationService, Clock.systemUTC()) {
+        sut = new VacationDaysService(mock(WorkDaysCountService.class), workingTimeService, applicationService, Clock.systemUTC()) {
 
             @Override
             protected BigDecimal getUsedDaysBeforeApril(Account account) {
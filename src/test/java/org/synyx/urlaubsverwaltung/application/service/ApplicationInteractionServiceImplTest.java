@@ -5,10 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.synyx.urlaubsverwaltung.absence.Absence;
 import org.synyx.urlaubsverwaltung.absence.AbsenceMapping;
-import org.synyx.urlaubsverwaltung.absence.AbsenceMappingService;
-import org.synyx.urlaubsverwaltung.absence.TimeSettings;
 import org.synyx.urlaubsverwaltung.account.AccountInteractionService;
 import org.synyx.urlaubsverwaltung.application.dao.HolidayReplacementEntity;
 import org.synyx.urlaubsverwaltung.application.domain.Application;
@@ -18,10 +15,9 @@ import org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus;
 import org.synyx.urlaubsverwaltung.calendarintegration.CalendarSyncService;
 import org.synyx.urlaubsverwaltung.department.DepartmentService;
 import org.synyx.urlaubsverwaltung.period.DayLength;
+import org.synyx.urlaubsverwaltung.period.Period;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.Role;
-import org.synyx.urlaubsverwaltung.settings.Settings;
-import org.synyx.urlaubsverwaltung.settings.SettingsService;
 
 import java.time.Clock;
 import java.time.LocalDate;
@@ -37,7 +33,6 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
@@ -82,31 +77,20 @@ class ApplicationInteractionServiceImplTest {
     @Mock
     private CalendarSyncService calendarSyncService;
     @Mock
-    private AbsenceMappingService absenceMappingService;
-    @Mock
-    private SettingsService settingsService;
-    @Mock
     private DepartmentService departmentService;
 
     private final Clock clock = Clock.systemUTC();
 
     @BeforeEach
     void setUp() {
-
-        final Settings settings = new Settings();
-        settings.setTimeSettings(new TimeSettings());
-        when(settingsService.getSettings()).thenReturn(settings);
-
         sut = new ApplicationInteractionServiceImpl(applicationService, commentService, accountInteractionService,
-            applicationMailService, calendarSyncService, absenceMappingService, settingsService, departmentService, clock);
+            applicationMailService, calendarSyncService, departmentService, clock);
     }
 
     // APPLY FOR LEAVE -------------------------------------------------------------------------------------------------
     @Test
     void ensureApplyForLeaveChangesStateAndOtherAttributesAndSavesTheApplicationForLeave() {
 
-        when(calendarSyncService.addAbsence(any(Absence.class))).thenReturn(of("42"));
-
         Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
         Person applier = new Person("muster", "Muster", "Marlene", "muster@example.org");
         Optional<String> comment = of("Foo");
@@ -128,8 +112,6 @@ class ApplicationInteractionServiceImplTest {
     @Test
     void ensureApplyingForLeaveAddsCalendarEvent() {
 
-        when(calendarSyncService.addAbsence(any(Absence.class))).thenReturn(of("42"));
-
         Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
         Person applier = new Person("muster", "Muster", "Marlene", "muster@example.org");
         Optional<String> comment = of("Foo");
@@ -139,15 +121,12 @@ class ApplicationInteractionServiceImplTest {
 
         sut.apply(applicationForLeave, applier, comment);
 
-        verify(calendarSyncService).addAbsence(any(Absence.class));
-        verify(absenceMappingService).create(isNull(), eq(VACATION), anyString());
+        verify(calendarSyncService).syncAbsence(isNull(), eq(VACATION), eq(person), any(Period.class));
     }
 
     @Test
     void ensureSendsConfirmationEmailToPersonAndNotificationEmailToBossesWhenApplyingForOneself() {
 
-        when(calendarSyncService.addAbsence(any(Absence.class))).thenReturn(of("42"));
-
         Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
 
         final Application applicationForLeave = getDummyApplication(person);
@@ -166,8 +145,6 @@ class ApplicationInteractionServiceImplTest {
     @Test
     void ensureSendsNotificationToPersonIfApplicationForLeaveNotAppliedByOneself() {
 
-        when(calendarSyncService.addAbsence(any(Absence.class))).thenReturn(of("42"));
-
         final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
         final Person applier = new Person("muster", "Muster", "Marlene", "muster@example.org");
         applier.setPermissions(List.of(OFFICE));
@@ -188,8 +165,6 @@ class ApplicationInteractionServiceImplTest {
     @Test
     void ensureApplyingForLeaveUpdatesTheRemainingVacationDays() {
 
-        when(calendarSyncService.addAbsence(any(Absence.class))).thenReturn(of("42"));
-
         final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
         final Person applier = new Person("muster", "Muster", "Marlene", "muster@example.org");
         final Optional<String> comment = of("Foo");
@@ -289,7 +264,6 @@ class ApplicationInteractionServiceImplTest {
         verifyNoInteractions(commentService);
         verifyNoInteractions(applicationMailService);
         verifyNoInteractions(calendarSyncService);
-        verifyNoInteractions(absenceMappingService);
     }
 
     // ALLOWING - DEPARTMENT HEAD
@@ -377,7 +351,6 @@ class ApplicationInteractionServiceImplTest {
         verifyNoInteractions(commentService);
         verifyNoInteractions(applicationMailService);
         verifyNoInteractions(calendarSyncService);
-        verifyNoInteractions(absenceMappingService);
     }
 
     @Test
@@ -649,14 +622,9 @@ class ApplicationInteractionServiceImplTest {
         applicationForLeave.setStatus(WAITING);
         when(applicationService.save(applicationForLeave)).thenReturn(applicationForLeave);
 
-        final AbsenceMapping absenceMapping = anyAbsenceMapping();
-        final Optional<AbsenceMapping> absenceByIdAndType = absenceMappingService.getAbsenceByIdAndType(isNull(), eq(VACATION));
-        when(absenceByIdAndType).thenReturn(of(absenceMapping));
-
         sut.reject(applicationForLeave, boss, comment);
 
-        verify(calendarSyncService).deleteAbsence(absenceMapping.getEventId());
-        verify(absenceMappingService).delete(absenceMapping);
+        verify(calendarSyncService).deleteAbsence(null, VACATION);
     }
 
     @Test
@@ -714,13 +682,9 @@ class ApplicationInteractionServiceImplTest {
         applicationForLeave.setStatus(WAITING);
         when(applicationService.save(applicationForLeave)).thenReturn(applicationForLeave);
 
-        final AbsenceMapping absenceMapping = anyAbsenceMapping();
-        when(absenceMappingService.getAbsenceByIdAndType(null, VACATION)).thenReturn(of(absenceMapping));
-
         sut.cancel(applicationForLeave, canceller, comment);
 
-        verify(calendarSyncService).deleteAbsence(anyString());
-        verify(absenceMappingService).delete(any(AbsenceMapping.class));
+        verify(calendarSyncService).deleteAbsence(null, VACATION);
     }
 
     @Test
@@ -1253,7 +1217,6 @@ class ApplicationInteractionServiceImplTest {
 
     private void assertNoCalendarSyncIsExecuted() {
         verifyNoInteractions(calendarSyncService);
-        verifyNoInteractions(absenceMappingService);
     }
 
     private void assertAllowedNotificationIsSent(Application applicationForLeave) {
@@ -1263,7 +1226,6 @@ class ApplicationInteractionServiceImplTest {
 
     private void assertNoCalendarSyncOccurs() {
         verifyNoInteractions(calendarSyncService);
-        verifyNoInteractions(absenceMappingService);
     }
 
     private void assertTemporaryAllowedNotificationIsSent(Application applicationForLeave) {
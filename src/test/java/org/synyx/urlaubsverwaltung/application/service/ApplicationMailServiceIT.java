@@ -17,6 +17,7 @@ import org.synyx.urlaubsverwaltung.application.domain.ApplicationComment;
 import org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus;
 import org.synyx.urlaubsverwaltung.department.DepartmentService;
 import org.synyx.urlaubsverwaltung.mail.MailProperties;
+import org.synyx.urlaubsverwaltung.mail.OutboxMailDispatcher;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonService;
 
@@ -56,6 +57,8 @@ class ApplicationMailServiceIT extends TestContainersBase {
     @Autowired
     private ApplicationMailService sut;
     @Autowired
+    private OutboxMailDispatcher outboxMailDispatcher;
+    @Autowired
     private PersonService personService;
     @Autowired
     private MailProperties mailProperties;
@@ -90,6 +93,7 @@ class ApplicationMailServiceIT extends TestContainersBase {
         comment.setText("OK, Urlaub kann genommen werden");
 
         sut.sendAllowedNotification(application, comment);
+        outboxMailDispatcher.dispatch();
 
         // were both emails sent?
         MimeMessage[] inboxOffice = greenMail.getReceivedMessagesForDomain(office.getEmail());
@@ -162,6 +166,7 @@ class ApplicationMailServiceIT extends TestContainersBase {
         comment.setText("OK, Urlaub kann genommen werden");
 
         sut.sendAllowedNotification(application, comment);
+        outboxMailDispatcher.dispatch();
 
         // were both emails sent?
         MimeMessage[] inboxOffice = greenMail.getReceivedMessagesForDomain(office.getEmail());
@@ -239,6 +244,7 @@ class ApplicationMailServiceIT extends TestContainersBase {
         comment.setText("OK, Urlaub kann genommen werden");
 
         sut.sendAllowedNotification(application, comment);
+        outboxMailDispatcher.dispatch();
 
         // were both emails sent?
         MimeMessage[] inboxOffice = greenMail.getReceivedMessagesForDomain(office.getEmail());
@@ -302,6 +308,7 @@ class ApplicationMailServiceIT extends TestContainersBase {
         when(applicationRecipientService.getRecipientsOfInterest(application)).thenReturn(List.of(boss, departmentHead));
 
         sut.sendRejectedNotification(application, comment);
+        outboxMailDispatcher.dispatch();
 
         // was email sent?
         MimeMessage[] inbox = greenMail.getReceivedMessagesForDomain(person.getEmail());
@@ -358,6 +365,7 @@ class ApplicationMailServiceIT extends TestContainersBase {
         final Application application = createApplication(recipient);
 
         sut.sendReferApplicationNotification(application, recipient, sender);
+        outboxMailDispatcher.dispatch();
 
         // was email sent?
         MimeMessage[] inbox = greenMail.getReceivedMessagesForDomain(recipient.getEmail());
@@ -402,6 +410,7 @@ class ApplicationMailServiceIT extends TestContainersBase {
         when(applicationRecipientService.getRecipientsWithOfficeNotifications()).thenReturn(List.of(office));
 
         sut.sendDeclinedCancellationRequestApplicationNotification(application, comment);
+        outboxMailDispatcher.dispatch();
 
         // send mail to applicant?
         MimeMessage[] inboxPerson = greenMail.getReceivedMessagesForDomain(person.getEmail());
@@ -469,6 +478,7 @@ class ApplicationMailServiceIT extends TestContainersBase {
         when(applicationRecipientService.getRecipientsWithOfficeNotifications()).thenReturn(List.of(office));
 
         sut.sendCancellationRequest(application, comment);
+        outboxMailDispatcher.dispatch();
 
         // send mail to applicant?
         MimeMessage[] inboxPerson = greenMail.getReceivedMessagesForDomain(person.getEmail());
@@ -514,6 +524,7 @@ class ApplicationMailServiceIT extends TestContainersBase {
         application.setApplier(office);
 
         sut.sendSickNoteConvertedToVacationNotification(application);
+        outboxMailDispatcher.dispatch();
 
         // was email sent?
         MimeMessage[] inbox = greenMail.getReceivedMessagesForDomain(person.getEmail());
@@ -551,6 +562,7 @@ class ApplicationMailServiceIT extends TestContainersBase {
         application.setHolidayReplacements(List.of(replacementEntity));
 
         sut.notifyHolidayReplacementForApply(replacementEntity, application);
+        outboxMailDispatcher.dispatch();
 
         // was email sent?
         MimeMessage[] inbox = greenMail.getReceivedMessagesForDomain(holidayReplacement.getEmail());
@@ -586,6 +598,7 @@ class ApplicationMailServiceIT extends TestContainersBase {
         application.setHolidayReplacements(List.of(replacementEntity));
 
         sut.notifyHolidayReplacementAllow(replacementEntity, application);
+        outboxMailDispatcher.dispatch();
 
         // was email sent?
         MimeMessage[] inbox = greenMail.getReceivedMessagesForDomain(holidayReplacement.getEmail());
@@ -623,6 +636,7 @@ class ApplicationMailServiceIT extends TestContainersBase {
         application.setHolidayReplacements(List.of(replacementEntity));
 
         sut.notifyHolidayReplacementAboutCancellation(replacementEntity, application);
+        outboxMailDispatcher.dispatch();
 
         // was email sent?
         MimeMessage[] inbox = greenMail.getReceivedMessagesForDomain(holidayReplacement.getEmail());
@@ -661,6 +675,7 @@ class ApplicationMailServiceIT extends TestContainersBase {
         application.setHolidayReplacements(List.of(replacementEntity));
 
         sut.notifyHolidayReplacementAboutEdit(replacementEntity, application);
+        outboxMailDispatcher.dispatch();
 
         // was email sent?
         MimeMessage[] inbox = greenMail.getReceivedMessagesForDomain(holidayReplacement.getEmail());
@@ -688,6 +703,7 @@ class ApplicationMailServiceIT extends TestContainersBase {
         final Application application = createApplication(person);
 
         sut.sendConfirmation(application, null);
+        outboxMailDispatcher.dispatch();
 
         MimeMessage[] inbox = greenMail.getReceivedMessagesForDomain(person.getEmail());
         assertThat(inbox.length).isOne();
@@ -710,6 +726,7 @@ class ApplicationMailServiceIT extends TestContainersBase {
         comment.setText("Hätte gerne Urlaub");
 
         sut.sendConfirmation(application, comment);
+        outboxMailDispatcher.dispatch();
 
         // was email sent?
         MimeMessage[] inbox = greenMail.getReceivedMessagesForDomain(person.getEmail());
@@ -747,6 +764,7 @@ class ApplicationMailServiceIT extends TestContainersBase {
         comment.setText("Hätte gerne Urlaub");
 
         sut.sendConfirmation(application, comment);
+        outboxMailDispatcher.dispatch();
 
         // was email sent?
         MimeMessage[] inbox = greenMail.getReceivedMessagesForDomain(person.getEmail());
@@ -796,6 +814,7 @@ class ApplicationMailServiceIT extends TestContainersBase {
         comment.setText("Hätte gerne Urlaub");
 
         sut.sendConfirmation(application, comment);
+        outboxMailDispatcher.dispatch();
 
         // was email sent?
         MimeMessage[] inbox = greenMail.getReceivedMessagesForDomain(person.getEmail());
@@ -837,6 +856,7 @@ class ApplicationMailServiceIT extends TestContainersBase {
 
         application.setApplier(office);
         sut.sendAppliedForLeaveByOfficeNotification(application, comment);
+        outboxMailDispatcher.dispatch();
 
         // was email sent?
         MimeMessage[] inbox = greenMail.getReceivedMessagesForDomain(person.getEmail());
@@ -879,6 +899,7 @@ class ApplicationMailServiceIT extends TestContainersBase {
 
         application.setApplier(office);
         sut.sendAppliedForLeaveByOfficeNotification(application, comment);
+        outboxMailDispatcher.dispatch();
 
         // was email sent?
         MimeMessage[] inbox = greenMail.getReceivedMessagesForDomain(person.getEmail());
@@ -932,6 +953,7 @@ class ApplicationMailServiceIT extends TestContainersBase {
 
         application.setApplier(office);
         sut.sendAppliedForLeaveByOfficeNotification(application, comment);
+        outboxMailDispatcher.dispatch();
 
         // was email sent?
         MimeMessage[] inbox = greenMail.getReceivedMessagesForDomain(person.getEmail());
@@ -974,6 +996,7 @@ class ApplicationMailServiceIT extends TestContainersBase {
         when(applicationRecipientService.getRecipientsOfInterest(application)).thenReturn(List.of(relevantPerson));
 
         sut.sendRevokedNotifications(application, comment);
+        outboxMailDispatcher.dispatch();
 
         // was email sent to applicant
         MimeMessage[] inboxApplicant = greenMail.getReceivedMessagesForDomain(person.getEmail());
@@ -1023,6 +1046,7 @@ class ApplicationMailServiceIT extends TestContainersBase {
         when(applicationRecipientService.getRecipientsOfInterest(application)).thenReturn(List.of(relevantPerson));
 
         sut.sendRevokedNotifications(application, comment);
+        outboxMailDispatcher.dispatch();
 
         // was email sent to applicant
         MimeMessage[] inboxApplicant = greenMail.getReceivedMessagesForDomain(person.getEmail());
@@ -1078,6 +1102,7 @@ class ApplicationMailServiceIT extends TestContainersBase {
         when(applicationRecipientService.getRecipientsWithOfficeNotifications()).thenReturn(List.of(office));
 
         sut.sendCancelledByOfficeNotification(application, comment);
+        outboxMailDispatcher.dispatch();
 
         // was email sent to applicant?
         MimeMessage[] inboxApplicant = greenMail.getReceivedMessagesForDomain(person.getEmail());
@@ -1137,6 +1162,7 @@ class ApplicationMailServiceIT extends TestContainersBase {
         when(applicationRecipientService.getRecipientsOfInterest(application)).thenReturn(asList(boss, departmentHead));
 
         sut.sendNewApplicationNotification(application, comment);
+        outboxMailDispatcher.dispatch();
 
         // was email sent to boss?
         MimeMessage[] inboxOfBoss = greenMail.getReceivedMessagesForDomain(boss.getEmail());
@@ -1176,6 +1202,7 @@ class ApplicationMailServiceIT extends TestContainersBase {
         when(applicationRecipientService.getRecipientsOfInterest(application)).thenReturn(asList(boss, departmentHead));
 
         sut.sendNewApplicationNotification(application, comment);
+        outboxMailDispatcher.dispatch();
 
         // was email sent to boss?
         MimeMessage[] inboxOfBoss = greenMail.getReceivedMessagesForDomain(boss.getEmail());
@@ -1211,6 +1238,7 @@ class ApplicationMailServiceIT extends TestContainersBase {
         when(applicationRecipientService.getRecipientsOfInterest(application)).thenReturn(asList(boss, secondStage));
 
         sut.sendNewApplicationNotification(application, comment);
+        outboxMailDispatcher.dispatch();
 
         // was email sent to boss?
         MimeMessage[] inboxOfBoss = greenMail.getReceivedMessagesForDomain(boss.getEmail());
@@ -1254,6 +1282,7 @@ class ApplicationMailServiceIT extends TestContainersBase {
         when(applicationRecipientService.getRecipientsOfInterest(application)).thenReturn(List.of(boss));
 
         sut.sendNewApplicationNotification(application, new ApplicationComment(clock));
+        outboxMailDispatcher.dispatch();
 
         MimeMessage[] messages = greenMail.getReceivedMessagesForDomain(boss.getEmail());
         assertThat(messages.length).isOne();
@@ -1306,6 +1335,7 @@ class ApplicationMailServiceIT extends TestContainersBase {
         when(applicationRecipientService.getRecipientsOfInterest(application)).thenReturn(List.of(boss));
 
         sut.sendNewApplicationNotification(application, new ApplicationComment(clock));
+        outboxMailDispatcher.dispatch();
 
         MimeMessage[] messages = greenMail.getReceivedMessagesForDomain(boss.getEmail());
         assertThat(messages.length).isOne();
@@ -1350,6 +1380,7 @@ class ApplicationMailServiceIT extends TestContainersBase {
         when(applicationRecipientService.getRecipientsForTemporaryAllow(application)).thenReturn(singletonList(secondStage));
 
         sut.sendTemporaryAllowedNotification(application, comment);
+        outboxMailDispatcher.dispatch();
 
         // were both emails sent?
         MimeMessage[] inboxSecondStage = greenMail.getReceivedMessagesForDomain(secondStage.getEmail());
@@ -1427,6 +1458,7 @@ class ApplicationMailServiceIT extends TestContainersBase {
         when(applicationRecipientService.getRecipientsForTemporaryAllow(application)).thenReturn(singletonList(secondStage));
 
         sut.sendTemporaryAllowedNotification(application, comment);
+        outboxMailDispatcher.dispatch();
 
         // were both emails sent?
         MimeMessage[] inboxSecondStage = greenMail.getReceivedMessagesForDomain(secondStage.getEmail());
@@ -1500,6 +1532,7 @@ class ApplicationMailServiceIT extends TestContainersBase {
         when(applicationRecipientService.getRecipientsForTemporaryAllow(application)).thenReturn(singletonList(secondStage));
 
         sut.sendTemporaryAllowedNotification(application, comment);
+        outboxMailDispatcher.dispatch();
 
         // were both emails sent?
         MimeMessage[] inboxSecondStage = greenMail.getReceivedMessagesForDomain(secondStage.getEmail());
@@ -1559,6 +1592,7 @@ class ApplicationMailServiceIT extends TestContainersBase {
         when(applicationRecipientService.getRecipientsOfInterest(application)).thenReturn(asList(boss, departmentHead));
 
         sut.sendRemindBossNotification(application);
+        outboxMailDispatcher.dispatch();
 
         // was email sent to boss?
         MimeMessage[] inboxOfBoss = greenMail.getReceivedMessagesForDomain(boss.getEmail());
@@ -1605,6 +1639,7 @@ class ApplicationMailServiceIT extends TestContainersBase {
         when(applicationRecipientService.getRecipientsOfInterest(applicationC)).thenReturn(asList(boss, departmentHeadA));
 
         sut.sendRemindForWaitingApplicationsReminderNotification(asList(applicationA, applicationB, applicationC));
+        outboxMailDispatcher.dispatch();
 
         verifyInbox(boss, asList(applicationA, applicationB, applicationC));
         verifyInbox(departmentHeadA, asList(applicationA, applicationC));
@@ -1619,6 +1654,7 @@ class ApplicationMailServiceIT extends TestContainersBase {
         application.setPerson(recipient);
 
         sut.sendEditedApplicationNotification(application, recipient);
+        outboxMailDispatcher.dispatch();
 
         // was email sent?
         MimeMessage[] inbox = greenMail.getReceivedMessagesForDomain(recipient.getEmail());
@@ -1650,6 +1686,7 @@ class ApplicationMailServiceIT extends TestContainersBase {
         application.setHolidayReplacements(List.of(holidayReplacementEntity));
 
         sut.sendRemindForUpcomingApplicationsReminderNotification(List.of(application), 1);
+        outboxMailDispatcher.dispatch();
 
         // was email sent?
         MimeMessage[] inbox = greenMail.getReceivedMessagesForDomain(person.getEmail());
@@ -1681,6 +1718,7 @@ class ApplicationMailServiceIT extends TestContainersBase {
         application.setHolidayReplacements(List.of(holidayReplacementEntity));
 
         sut.sendRemindForUpcomingApplicationsReminderNotification(List.of(application), 3);
+        outboxMailDispatcher.dispatch();
 
         // was email sent?
         MimeMessage[] inbox = greenMail.getReceivedMessagesForDomain(person.getEmail());
@@ -1706,6 +1744,7 @@ class ApplicationMailServiceIT extends TestContainersBase {
         final Application application = createApplication(person);
 
         sut.sendRemindForUpcomingApplicationsReminderNotification(List.of(application), 1);
+        outboxMailDispatcher.dispatch();
 
         // was email sent?
         MimeMessage[] inbox = greenMail.getReceivedMessagesForDomain(person.getEmail());
@@ -1730,6 +1769,7 @@ class ApplicationMailServiceIT extends TestContainersBase {
         final Application application = createApplication(person);
 
         sut.sendRemindForUpcomingApplicationsReminderNotification(List.of(application), 3);
+        outboxMailDispatcher.dispatch();
 
         // was email sent?
         MimeMessage[] inbox = greenMail.getReceivedMessagesForDomain(person.getEmail());
@@ -1762,6 +1802,7 @@ class ApplicationMailServiceIT extends TestContainersBase {
         application.setHolidayReplacements(List.of(holidayReplacementEntity));
 
         sut.sendRemindForUpcomingApplicationsReminderNotification(List.of(application), 1);
+        outboxMailDispatcher.dispatch();
 
         // was email sent?
         MimeMessage[] inbox = greenMail.getReceivedMessagesForDomain(person.getEmail());
@@ -1803,6 +1844,7 @@ class ApplicationMailServiceIT extends TestContainersBase {
         application.setHolidayReplacements(List.of(holidayReplacementEntity));
 
         sut.sendRemindForUpcomingApplicationsReminderNotification(List.of(application), 1);
+        outboxMailDispatcher.dispatch();
 
         // was email sent?
         MimeMessage[] inbox = greenMail.getReceivedMessagesForDomain(person.getEmail());
@@ -1849,6 +1891,7 @@ class ApplicationMailServiceIT extends TestContainersBase {
         application.setHolidayReplacements(List.of(holidayReplacementOneEntity, holidayReplacementTwoEntity));
 
         sut.sendRemindForUpcomingApplicationsReminderNotification(List.of(application), 1);
+        outboxMailDispatcher.dispatch();
 
         // was email sent?
         MimeMessage[] inbox = greenMail.getReceivedMessagesForDomain(person.getEmail());
@@ -1896,6 +1939,7 @@ class ApplicationMailServiceIT extends TestContainersBase {
         application.setHolidayReplacements(List.of(holidayReplacementOneEntity, holidayReplacementTwoEntity));
 
         sut.sendRemindForUpcomingApplicationsReminderNotification(List.of(application), 1);
+        outboxMailDispatcher.dispatch();
 
         // was email sent?
         MimeMessage[] inbox = greenMail.getReceivedMessagesForDomain(person.getEmail());
@@ -1933,6 +1977,7 @@ class ApplicationMailServiceIT extends TestContainersBase {
         application.setHolidayReplacements(List.of(holidayReplacementEntity));
 
         sut.sendRemindForUpcomingApplicationsReminderNotification(List.of(application), 3);
+        outboxMailDispatcher.dispatch();
 
         // was email sent?
         MimeMessage[] inbox = greenMail.getReceivedMessagesForDomain(person.getEmail());
@@ -3,9 +3,13 @@ package org.synyx.urlaubsverwaltung.application.service;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.synyx.urlaubsverwaltung.application.dao.ApplicationRepository;
+import org.synyx.urlaubsverwaltung.application.dao.ApplicationSummary;
+import org.synyx.urlaubsverwaltung.application.dao.OvertimeReductionSum;
 import org.synyx.urlaubsverwaltung.application.domain.Application;
 import org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus;
 import org.synyx.urlaubsverwaltung.person.Person;
@@ -14,9 +18,11 @@ import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.ALLOWED;
@@ -35,10 +41,12 @@ class ApplicationServiceImplTest {
 
     @Mock
     private ApplicationRepository applicationRepository;
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
 
     @BeforeEach
     void setUp() {
-        sut = new ApplicationServiceImpl(applicationRepository);
+        sut = new ApplicationServiceImpl(applicationRepository, applicationEventPublisher);
     }
 
     // Get application by ID -------------------------------------------------------------------------------------------
@@ -63,6 +71,22 @@ class ApplicationServiceImplTest {
         verify(applicationRepository).save(application);
     }
 
+    @Test
+    void ensureSavePublishesApplicationUpdatedEvent() {
+
+        final Application application = new Application();
+        final Application savedApplication = new Application();
+        savedApplication.setId(1);
+        when(applicationRepository.save(application)).thenReturn(savedApplication);
+
+        final Application actual = sut.save(application);
+        assertThat(actual).isSameAs(savedApplication);
+
+        final ArgumentCaptor<ApplicationUpdatedEvent> captor = ArgumentCaptor.forClass(ApplicationUpdatedEvent.class);
+        verify(applicationEventPublisher).publishEvent(captor.capture());
+        assertThat(captor.getValue().getApplication()).isSameAs(savedApplication);
+    }
+
     // Get total overtime reduction ------------------------------------------------------------------------------------
     @Test
     void ensureReturnsZeroIfPersonHasNoApplicationsForLeaveYet() {
@@ -119,6 +143,23 @@ class ApplicationServiceImplTest {
         assertThat(totalHours).isEqualTo(Duration.ofHours(1));
     }
 
+    @Test
+    void getTotalOvertimeReductionOfPersons() {
+
+        final Person person = new Person();
+        person.setId(1);
+        final Person personWithoutReduction = new Person();
+        personWithoutReduction.setId(2);
+
+        when(applicationRepository.calculateTotalOvertimeReductionOfPersons(List.of(person, personWithoutReduction)))
+            .thenReturn(List.of(overtimeReductionSum(1, new BigDecimal("1.5"))));
+
+        final Map<Person, Duration> totalHours = sut.getTotalOvertimeReductionOfPersons(List.of(person, personWithoutReduction));
+        assertThat(totalHours)
+            .containsEntry(person, Duration.ofMinutes(90))
+            .containsEntry(personWithoutReduction, Duration.ZERO);
+    }
+
     @Test
     void getForHolidayReplacement() {
 
@@ -146,4 +187,58 @@ class ApplicationServiceImplTest {
         final List<Application> holidayReplacementApplications = sut.getApplicationsWithStartDateAndState(startDate, statuses);
         assertThat(holidayReplacementApplications).hasSize(1).contains(application);
     }
+
+    @Test
+    void getApplicationsForACertainPeriodAndStateOfDepartmentMembers() {
+        final LocalDate startDate = LocalDate.of(2020, 10, 1);
+        final LocalDate endDate = LocalDate.of(2020, 10, 31);
+
+        final ApplicationSummary application = mock(ApplicationSummary.class);
+        final List<ApplicationStatus> statuses = List.of(WAITING, ALLOWED);
+        when(applicationRepository.findDepartmentMemberApplications(List.of(1, 2), statuses, startDate, endDate)).thenReturn(List.of(application));
+
+        final List<ApplicationSummary> applications = sut.getApplicationsForACertainPeriodAndStateOfDepartmentMembers(List.of(1, 2), statuses, startDate, endDate);
+        assertThat(applications).containsExactly(application);
+    }
+
+    @Test
+    void getSummariesForACertainPeriodAndState() {
+        final LocalDate startDate = LocalDate.of(2020, 10, 1);
+        final LocalDate endDate = LocalDate.of(2020, 10, 31);
+
+        final ApplicationSummary application = mock(ApplicationSummary.class);
+        final List<ApplicationStatus> statuses = List.of(ALLOWED, ALLOWED_CANCELLATION_REQUESTED);
+        when(applicationRepository.findSummariesByStatusInAndPeriod(statuses, startDate, endDate)).thenReturn(List.of(application));
+
+        final List<ApplicationSummary> applications = sut.getSummariesForACertainPeriodAndState(startDate, endDate, statuses);
+        assertThat(applications).containsExactly(application);
+    }
+
+    @Test
+    void getSummariesForACertainPeriodAndPersonAndState() {
+        final LocalDate startDate = LocalDate.of(2020, 10, 1);
+        final LocalDate endDate = LocalDate.of(2020, 10, 31);
+        final Person person = new Person();
+
+        final ApplicationSummary application = mock(ApplicationSummary.class);
+        final List<ApplicationStatus> statuses = List.of(ALLOWED, ALLOWED_CANCELLATION_REQUESTED);
+        when(applicationRepository.findSummariesByPersonAndStatusInAndPeriod(person, statuses, startDate, endDate)).thenReturn(List.of(application));
+
+        final List<ApplicationSummary> applications = sut.getSummariesForACertainPeriodAndPersonAndState(startDate, endDate, person, statuses);
+        assertThat(applications).containsExactly(application);
+    }
+
+    private static OvertimeReductionSum overtimeReductionSum(Integer personId, BigDecimal hoursSum) {
+        return new OvertimeReductionSum() {
+            @Override
+            public Integer getPersonId() {
+                return personId;
+            }
+
+            @Override
+            public BigDecimal getHoursSum() {
+                return hoursSum;
+            }
+        };
+    }
 }
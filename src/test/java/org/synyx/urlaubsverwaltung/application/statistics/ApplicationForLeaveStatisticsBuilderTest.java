@@ -1,5 +1,7 @@
 package org.synyx.urlaubsverwaltung.application.statistics;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -8,6 +10,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.synyx.urlaubsverwaltung.account.Account;
 import org.synyx.urlaubsverwaltung.account.AccountService;
 import org.synyx.urlaubsverwaltung.account.VacationDaysService;
+import org.synyx.urlaubsverwaltung.application.ApplicationProperties;
 import org.synyx.urlaubsverwaltung.application.domain.Application;
 import org.synyx.urlaubsverwaltung.application.domain.VacationType;
 import org.synyx.urlaubsverwaltung.application.service.ApplicationService;
@@ -15,13 +18,19 @@ import org.synyx.urlaubsverwaltung.application.service.VacationTypeService;
 import org.synyx.urlaubsverwaltung.overtime.OvertimeService;
 import org.synyx.urlaubsverwaltung.period.DayLength;
 import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.publicholiday.PublicHoliday;
+import org.synyx.urlaubsverwaltung.publicholiday.PublicHolidaysService;
+import org.synyx.urlaubsverwaltung.workingtime.FederalState;
 import org.synyx.urlaubsverwaltung.workingtime.WorkDaysCountService;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTime;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeService;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeTimeline;
 
 import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 
 import static java.math.BigDecimal.ONE;
 import static java.math.BigDecimal.TEN;
@@ -32,6 +41,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.synyx.urlaubsverwaltung.TestDataCreator.createVacationTypes;
 import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.ALLOWED;
@@ -40,6 +50,8 @@ import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.R
 import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.TEMPORARY_ALLOWED;
 import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.WAITING;
 import static org.synyx.urlaubsverwaltung.period.DayLength.FULL;
+import static org.synyx.urlaubsverwaltung.workingtime.FederalState.BADEN_WUERTTEMBERG;
+import static org.synyx.urlaubsverwaltung.workingtime.FederalState.BAYERN;
 
 @ExtendWith(MockitoExtension.class)
 class ApplicationForLeaveStatisticsBuilderTest {
@@ -58,11 +70,21 @@ class ApplicationForLeaveStatisticsBuilderTest {
     private OvertimeService overtimeService;
     @Mock
     private VacationTypeService vacationTypeService;
+    @Mock
+    private WorkingTimeService workingTimeService;
+    @Mock
+    private PublicHolidaysService publicHolidaysService;
 
     @BeforeEach
     void setUp() {
         sut = new ApplicationForLeaveStatisticsBuilder(accountService, applicationService, workDaysCountService,
-            vacationDaysService, overtimeService, vacationTypeService);
+            vacationDaysService, overtimeService, vacationTypeService, workingTimeService, publicHolidaysService,
+            new ApplicationProperties(), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        sut.shutdown();
     }
 
     @Test
@@ -82,9 +104,9 @@ class ApplicationForLeaveStatisticsBuilderTest {
         final LocalDate validTo = of(2014, DECEMBER, 31);
         final Account account = new Account(person, validFrom, validTo, TEN, TEN, TEN, "comment");
 
-        when(accountService.getHolidaysAccount(2014, person)).thenReturn(Optional.of(account));
-        when(vacationDaysService.calculateTotalLeftVacationDays(account)).thenReturn(TEN);
-        when(overtimeService.getLeftOvertimeForPerson(person)).thenReturn(Duration.ofHours(9));
+        when(accountService.getHolidaysAccounts(2014, List.of(person))).thenReturn(List.of(account));
+        when(vacationDaysService.calculateTotalLeftVacationDaysOfAccounts(List.of(account))).thenReturn(Map.of(account, TEN));
+        when(overtimeService.getLeftOvertimeForPersons(List.of(person))).thenReturn(Map.of(person, Duration.ofHours(9)));
 
         final Application holidayWaiting = new Application();
         holidayWaiting.setPerson(person);
@@ -154,10 +176,14 @@ class ApplicationForLeaveStatisticsBuilderTest {
             holidayAllowedCancellationRequested, holidayRejected, specialLeaveWaiting, unpaidLeaveAllowed, overTimeWaiting);
         final LocalDate from = of(2014, 1, 1);
         final LocalDate to = of(2014, 12, 31);
-        when(applicationService.getApplicationsForACertainPeriodAndPerson(from, to, person)).thenReturn(applications);
+        when(applicationService.getForStatesAndPerson(List.of(WAITING, TEMPORARY_ALLOWED, ALLOWED, ALLOWED_CANCELLATION_REQUESTED), List.of(person), from, to))
+            .thenReturn(applications);
+
+        final WorkingTimeTimeline timeline = WorkingTimeTimeline.empty();
+        when(workingTimeService.getTimelinesByPersons(List.of(person))).thenReturn(Map.of(person, timeline));
 
         // just return 1 day for each application for leave
-        when(workDaysCountService.getWorkDaysCount(any(DayLength.class), any(LocalDate.class), any(LocalDate.class), eq(person)))
+        when(workDaysCountService.getWorkDaysCount(any(DayLength.class), any(LocalDate.class), any(LocalDate.class), eq(person), eq(timeline), eq(Map.of())))
             .thenReturn(ONE);
 
         final ApplicationForLeaveStatistics statistics = sut.build(person, from, to);
@@ -177,10 +203,13 @@ class ApplicationForLeaveStatisticsBuilderTest {
         final LocalDate validFrom = of(2021, 1, 1);
         final LocalDate validTo = of(2021, 12, 31);
         final Account account = new Account(person, validFrom, validTo, TEN, TEN, TEN, "comment");
-        when(accountService.getHolidaysAccount(2021, person)).thenReturn(Optional.of(account));
+        when(accountService.getHolidaysAccounts(2021, List.of(person))).thenReturn(List.of(account));
+
+        when(vacationDaysService.calculateTotalLeftVacationDaysOfAccounts(List.of(account))).thenReturn(Map.of(account, TEN));
+        when(overtimeService.getLeftOvertimeForPersons(List.of(person))).thenReturn(Map.of(person, Duration.ofHours(9)));
 
-        when(vacationDaysService.calculateTotalLeftVacationDays(account)).thenReturn(TEN);
-        when(overtimeService.getLeftOvertimeForPerson(person)).thenReturn(Duration.ofHours(9));
+        final WorkingTimeTimeline timeline = WorkingTimeTimeline.empty();
+        when(workingTimeService.getTimelinesByPersons(List.of(person))).thenReturn(Map.of(person, timeline));
 
         final Application applicationSpanningIntoPeriod = new Application();
         applicationSpanningIntoPeriod.setPerson(person);
@@ -189,7 +218,7 @@ class ApplicationForLeaveStatisticsBuilderTest {
         applicationSpanningIntoPeriod.setVacationType(vacationTypes.get(0));
         applicationSpanningIntoPeriod.setStartDate(of(2021, 4, 25));
         applicationSpanningIntoPeriod.setEndDate(of(2021, 4, 30));
-        when(workDaysCountService.getWorkDaysCount(FULL, of(2021, 4, 28), of(2021, 4, 30), person))
+        when(workDaysCountService.getWorkDaysCount(FULL, of(2021, 4, 28), of(2021, 4, 30), person, timeline, Map.of()))
             .thenReturn(BigDecimal.valueOf(3));
 
         final Application applicationSpanningOutOfPeriod = new Application();
@@ -199,7 +228,7 @@ class ApplicationForLeaveStatisticsBuilderTest {
         applicationSpanningOutOfPeriod.setVacationType(vacationTypes.get(0));
         applicationSpanningOutOfPeriod.setStartDate(of(2021, 5, 21));
         applicationSpanningOutOfPeriod.setEndDate(of(2021, 6, 10));
-        when(workDaysCountService.getWorkDaysCount(FULL, of(2021, 5, 21), of(2021, 5, 28), person))
+        when(workDaysCountService.getWorkDaysCount(FULL, of(2021, 5, 21), of(2021, 5, 28), person, timeline, Map.of()))
             .thenReturn(BigDecimal.valueOf(8));
 
         final Application applicationInPeriod = new Application();
@@ -209,12 +238,13 @@ class ApplicationForLeaveStatisticsBuilderTest {
         applicationInPeriod.setVacationType(vacationTypes.get(0));
         applicationInPeriod.setStartDate(of(2021, 4, 28));
         applicationInPeriod.setEndDate(of(2021, 5, 5));
-        when(workDaysCountService.getWorkDaysCount(FULL, of(2021, 4, 28), of(2021, 5, 5), person))
+        when(workDaysCountService.getWorkDaysCount(FULL, of(2021, 4, 28), of(2021, 5, 5), person, timeline, Map.of()))
             .thenReturn(BigDecimal.valueOf(8));
 
         final LocalDate periodFrom = of(2021, 4, 28);
         final LocalDate periodTo = of(2021, 5, 28);
-        when(applicationService.getApplicationsForACertainPeriodAndPerson(periodFrom, periodTo, person)).thenReturn(List.of(applicationSpanningIntoPeriod, applicationInPeriod, applicationSpanningOutOfPeriod));
+        when(applicationService.getForStatesAndPerson(List.of(WAITING, TEMPORARY_ALLOWED, ALLOWED, ALLOWED_CANCELLATION_REQUESTED), List.of(person), periodFrom, periodTo))
+            .thenReturn(List.of(applicationSpanningIntoPeriod, applicationInPeriod, applicationSpanningOutOfPeriod));
 
         final ApplicationForLeaveStatistics statistics = sut.build(person, periodFrom, periodTo);
         assertThat(statistics.getTotalWaitingVacationDays()).isEqualTo(BigDecimal.valueOf(16));
@@ -233,12 +263,117 @@ class ApplicationForLeaveStatisticsBuilderTest {
         final LocalDate validTo = of(2015, DECEMBER, 31);
         final Account account = new Account(person, validFrom, validTo, TEN, TEN, TEN, "comment");
 
-        when(accountService.getHolidaysAccount(2015, person)).thenReturn(Optional.of(account));
-        when(overtimeService.getLeftOvertimeForPerson(person)).thenReturn(Duration.ofMinutes(390));
-        when(vacationDaysService.calculateTotalLeftVacationDays(account)).thenReturn(new BigDecimal("8.5"));
+        when(accountService.getHolidaysAccounts(2015, List.of(person))).thenReturn(List.of(account));
+        when(overtimeService.getLeftOvertimeForPersons(List.of(person))).thenReturn(Map.of(person, Duration.ofMinutes(390)));
+        when(vacationDaysService.calculateTotalLeftVacationDaysOfAccounts(List.of(account))).thenReturn(Map.of(account, new BigDecimal("8.5")));
 
         final ApplicationForLeaveStatistics statistics = sut.build(person, periodFrom, periodTo);
         assertThat(statistics.getLeftOvertime()).isEqualTo(Duration.ofMinutes(390));
         assertThat(statistics.getLeftVacationDays()).isEqualTo(new BigDecimal("8.5"));
     }
+
+    @Test
+    void ensureBuildsStatisticsOfManyPersonsInOrderOfPersons() {
+
+        final List<VacationType> vacationTypes = createVacationTypes();
+        when(vacationTypeService.getVacationTypes()).thenReturn(vacationTypes);
+
+        final LocalDate periodFrom = of(2021, 1, 1);
+        final LocalDate periodTo = of(2021, 12, 31);
+
+        final Person person = new Person();
+        person.setId(1);
+        final Person otherPerson = new Person();
+        otherPerson.setId(2);
+        final Person personWithoutAccount = new Person();
+        personWithoutAccount.setId(3);
+        final List<Person> persons = List.of(person, otherPerson, personWithoutAccount);
+
+        final Account account = new Account(person, of(2021, 1, 1), of(2021, 12, 31), TEN, TEN, TEN, "comment");
+        final Account otherAccount = new Account(otherPerson, of(2021, 1, 1), of(2021, 12, 31), TEN, TEN, TEN, "comment");
+        when(accountService.getHolidaysAccounts(2021, persons)).thenReturn(List.of(account, otherAccount));
+        when(vacationDaysService.calculateTotalLeftVacationDaysOfAccounts(List.of(account, otherAccount)))
+            .thenReturn(Map.of(account, TEN, otherAccount, ONE));
+        when(overtimeService.getLeftOvertimeForPersons(persons))
+            .thenReturn(Map.of(person, Duration.ofHours(1), otherPerson, Duration.ofHours(2), personWithoutAccount, Duration.ZERO));
+
+        final Application application = new Application();
+        application.setPerson(otherPerson);
+        application.setStatus(ALLOWED);
+        application.setDayLength(FULL);
+        application.setVacationType(vacationTypes.get(0));
+        application.setStartDate(of(2021, 4, 26));
+        application.setEndDate(of(2021, 4, 30));
+        when(applicationService.getForStatesAndPerson(List.of(WAITING, TEMPORARY_ALLOWED, ALLOWED, ALLOWED_CANCELLATION_REQUESTED), persons, periodFrom, periodTo))
+            .thenReturn(List.of(application));
+
+        final WorkingTimeTimeline timeline = WorkingTimeTimeline.empty();
+        when(workingTimeService.getTimelinesByPersons(List.of(otherPerson))).thenReturn(Map.of(otherPerson, timeline));
+        when(workDaysCountService.getWorkDaysCount(FULL, of(2021, 4, 26), of(2021, 4, 30), otherPerson, timeline, Map.of()))
+            .thenReturn(BigDecimal.valueOf(5));
+
+        final List<ApplicationForLeaveStatistics> statistics = sut.build(persons, periodFrom, periodTo);
+        assertThat(statistics).extracting(ApplicationForLeaveStatistics::getPerson).containsExactly(person, otherPerson, personWithoutAccount);
+        assertThat(statistics).extracting(ApplicationForLeaveStatistics::getLeftVacationDays).containsExactly(TEN, ONE, BigDecimal.ZERO);
+        assertThat(statistics).extracting(ApplicationForLeaveStatistics::getLeftOvertime)
+            .containsExactly(Duration.ofHours(1), Duration.ofHours(2), Duration.ZERO);
+        assertThat(statistics).extracting(ApplicationForLeaveStatistics::getTotalAllowedVacationDays)
+            .containsExactly(BigDecimal.ZERO, BigDecimal.valueOf(5), BigDecimal.ZERO);
+    }
+
+    @Test
+    void ensureLoadsPublicHolidaysOncePerFederalStateBeforeComputing() {
+
+        final List<VacationType> vacationTypes = createVacationTypes();
+        when(vacationTypeService.getVacationTypes()).thenReturn(vacationTypes);
+
+        final LocalDate periodFrom = of(2021, 1, 1);
+        final LocalDate periodTo = of(2021, 12, 31);
+
+        final Person person = new Person();
+        person.setId(1);
+        final Person otherPerson = new Person();
+        otherPerson.setId(2);
+        final List<Person> persons = List.of(person, otherPerson);
+
+        final Application application = new Application();
+        application.setPerson(person);
+        application.setStatus(WAITING);
+        application.setDayLength(FULL);
+        application.setVacationType(vacationTypes.get(0));
+        application.setStartDate(of(2021, 4, 26));
+        application.setEndDate(of(2021, 4, 26));
+        final Application otherApplication = new Application();
+        otherApplication.setPerson(otherPerson);
+        otherApplication.setStatus(WAITING);
+        otherApplication.setDayLength(FULL);
+        otherApplication.setVacationType(vacationTypes.get(0));
+        otherApplication.setStartDate(of(2021, 4, 27));
+        otherApplication.setEndDate(of(2021, 4, 27));
+        when(applicationService.getForStatesAndPerson(List.of(WAITING, TEMPORARY_ALLOWED, ALLOWED, ALLOWED_CANCELLATION_REQUESTED), persons, periodFrom, periodTo))
+            .thenReturn(List.of(application, otherApplication));
+
+        final WorkingTimeTimeline timeline = WorkingTimeTimeline.of(List.of(new WorkingTime(person, of(2020, 1, 1), BADEN_WUERTTEMBERG)));
+        final WorkingTimeTimeline otherTimeline = WorkingTimeTimeline.of(List.of(
+            new WorkingTime(otherPerson, of(2020, 1, 1), BADEN_WUERTTEMBERG), new WorkingTime(otherPerson, of(2021, 6, 1), BAYERN)));
+        when(workingTimeService.getTimelinesByPersons(any())).thenReturn(Map.of(person, timeline, otherPerson, otherTimeline));
+
+        final List<PublicHoliday> publicHolidaysBw = List.of();
+        final List<PublicHoliday> publicHolidaysBy = List.of();
+        when(publicHolidaysService.getPublicHolidays(periodFrom, periodTo, BADEN_WUERTTEMBERG)).thenReturn(publicHolidaysBw);
+        when(publicHolidaysService.getPublicHolidays(periodFrom, periodTo, BAYERN)).thenReturn(publicHolidaysBy);
+
+        final Map<FederalState, List<PublicHoliday>> publicHolidays = Map.of(BADEN_WUERTTEMBERG, publicHolidaysBw, BAYERN, publicHolidaysBy);
+        when(workDaysCountService.getWorkDaysCount(FULL, of(2021, 4, 26), of(2021, 4, 26), person, timeline, publicHolidays)).thenReturn(ONE);
+        when(workDaysCountService.getWorkDaysCount(FULL, of(2021, 4, 27), of(2021, 4, 27), otherPerson, otherTimeline, publicHolidays)).thenReturn(ONE);
+
+        final List<ApplicationForLeaveStatistics> statistics = sut.build(persons, periodFrom, periodTo);
+        assertThat(statistics).extracting(ApplicationForLeaveStatistics::getTotalWaitingVacationDays).containsExactly(ONE, ONE);
+        verify(publicHolidaysService).getPublicHolidays(periodFrom, periodTo, BADEN_WUERTTEMBERG);
+    }
+
+    @Test
+    void ensureBuildsNoStatisticsWithoutPersons() {
+        assertThat(sut.build(List.of(), of(2021, 1, 1), of(2021, 12, 31))).isEmpty();
+    }
 }
@@ -49,6 +49,8 @@ class ApplicationForLeaveStatisticsServiceTest {
 
         final Person departmentMember = new Person();
         when(departmentService.getManagedMembersOfDepartmentHead(person)).thenReturn(singletonList(departmentMember));
+        when(applicationForLeaveStatisticsBuilder.build(singletonList(departmentMember), startDate, endDate))
+            .thenReturn(singletonList(new ApplicationForLeaveStatistics(departmentMember, List.of())));
 
         final List<ApplicationForLeaveStatistics> statistics = sut.getStatistics(filterPeriod);
         assertThat(statistics).hasSize(1);
@@ -67,6 +69,8 @@ class ApplicationForLeaveStatisticsServiceTest {
 
         final Person anyPerson = new Person();
         when(personService.getActivePersons()).thenReturn(singletonList(anyPerson));
+        when(applicationForLeaveStatisticsBuilder.build(singletonList(anyPerson), startDate, endDate))
+            .thenReturn(singletonList(new ApplicationForLeaveStatistics(anyPerson, List.of())));
 
         final List<ApplicationForLeaveStatistics> statistics = sut.getStatistics(filterPeriod);
         assertThat(statistics).hasSize(1);
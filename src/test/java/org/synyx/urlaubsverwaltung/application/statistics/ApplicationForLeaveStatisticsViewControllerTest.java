@@ -6,8 +6,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.ui.ConcurrentModel;
 import org.synyx.urlaubsverwaltung.application.domain.VacationType;
 import org.synyx.urlaubsverwaltung.application.service.VacationTypeService;
 import org.synyx.urlaubsverwaltung.web.DateFormatAware;
@@ -18,11 +20,15 @@ import java.time.LocalDate;
 import java.time.Year;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.refEq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -146,25 +152,45 @@ class ApplicationForLeaveStatisticsViewControllerTest {
         final LocalDate endDate = LocalDate.parse("2019-08-01");
         final FilterPeriod filterPeriod = new FilterPeriod(startDate, endDate);
 
-        final List<ApplicationForLeaveStatistics> statistics = emptyList();
-        when(applicationForLeaveStatisticsService.getStatistics(any(FilterPeriod.class))).thenReturn(statistics);
+        final Consumer<ApplicationForLeaveStatistics> rowWriter = statistics -> {
+        };
+        when(applicationForLeaveStatisticsCsvExportService.writeHeader(refEq(filterPeriod), any(CSVWriter.class))).thenReturn(rowWriter);
 
         perform(get("/web/application/statistics/download")
             .param("from", "01.01.2019")
             .param("to", "01.08.2019"));
 
-        verify(applicationForLeaveStatisticsCsvExportService)
-            .writeStatistics(refEq(filterPeriod), eq(statistics), any(CSVWriter.class));
+        verify(applicationForLeaveStatisticsService).getStatistics(refEq(filterPeriod), eq(rowWriter));
     }
 
     @Test
-    void downloadCSVSetsModelAndView() throws Exception {
+    void downloadCSVDoesNotCommitHeaderIfStatisticsFail() {
 
         final LocalDate startDate = LocalDate.parse("2019-01-01");
         final LocalDate endDate = LocalDate.parse("2019-08-01");
         final FilterPeriod filterPeriod = new FilterPeriod(startDate, endDate);
 
-        when(applicationForLeaveStatisticsService.getStatistics(filterPeriod)).thenReturn(emptyList());
+        when(applicationForLeaveStatisticsCsvExportService.writeHeader(refEq(filterPeriod), any(CSVWriter.class))).thenAnswer(invocation -> {
+            invocation.getArgument(1, CSVWriter.class).writeNext(new String[]{"Vorname", "Nachname"});
+            return (Consumer<ApplicationForLeaveStatistics>) statistics -> {
+            };
+        });
+        doThrow(new IllegalStateException("statistics unavailable"))
+            .when(applicationForLeaveStatisticsService).getStatistics(refEq(filterPeriod), any());
+
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThatThrownBy(() -> sut.downloadCSV("01.01.2019", "01.08.2019", response, new ConcurrentModel()))
+            .isInstanceOf(IllegalStateException.class);
+
+        assertThat(response.isCommitted()).isFalse();
+    }
+
+    @Test
+    void downloadCSVSetsModelAndView() throws Exception {
+
+        final LocalDate startDate = LocalDate.parse("2019-01-01");
+        final LocalDate endDate = LocalDate.parse("2019-08-01");
+        final FilterPeriod filterPeriod = new FilterPeriod(startDate, endDate);
 
         perform(get("/web/application/statistics/download")
             .param("from", "01.01.2019")
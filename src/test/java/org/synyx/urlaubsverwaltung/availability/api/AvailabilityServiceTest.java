@@ -11,9 +11,8 @@ import java.time.LocalDate;
 import java.util.List;
 
 import static java.math.BigDecimal.ONE;
+import static java.util.Collections.nCopies;
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -38,24 +37,28 @@ class AvailabilityServiceTest {
     @Test
     void ensureFetchesAvailabilityListForEachDayInDateRange() {
 
-        when(freeTimeAbsenceProvider.checkForAbsence(any(Person.class), any(LocalDate.class))).thenReturn(timedAbsenceSpans);
-
         final LocalDate startDate = LocalDate.of(2016, 1, 1);
         final LocalDate endDate = LocalDate.of(2016, 1, DAYS_IN_TEST_DATE_RANGE);
         final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
-        sut.getPersonsAvailabilities(startDate, endDate, person);
+        when(freeTimeAbsenceProvider.checkForAbsences(person, startDate, endDate)).thenReturn(nCopies(DAYS_IN_TEST_DATE_RANGE, timedAbsenceSpans));
+
+        final AvailabilityListDto personsAvailabilities = sut.getPersonsAvailabilities(startDate, endDate, person);
 
-        verify(freeTimeAbsenceProvider, times(DAYS_IN_TEST_DATE_RANGE)).checkForAbsence(eq(person), any(LocalDate.class));
+        verify(freeTimeAbsenceProvider, times(1)).checkForAbsences(person, startDate, endDate);
+        assertThat(personsAvailabilities.getAvailabilities())
+            .extracting(DayAvailability::getDate)
+            .containsExactly("2016-01-01", "2016-01-02", "2016-01-03", "2016-01-04", "2016-01-05", "2016-01-06", "2016-01-07", "2016-01-08");
     }
 
     @Test
     void ensureReturnsDayAvailabilityWithCalculatedPresenceRatio() {
 
-        when(freeTimeAbsenceProvider.checkForAbsence(any(Person.class), any(LocalDate.class))).thenReturn(timedAbsenceSpans);
+        final LocalDate dayToTest = LocalDate.of(2016, 1, 1);
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        when(freeTimeAbsenceProvider.checkForAbsences(person, dayToTest, dayToTest)).thenReturn(List.of(timedAbsenceSpans));
         when(timedAbsenceSpans.calculatePresenceRatio()).thenReturn(ONE);
 
-        final LocalDate dayToTest = LocalDate.of(2016, 1, 1);
-        final AvailabilityListDto personsAvailabilities = sut.getPersonsAvailabilities(dayToTest, dayToTest, new Person("muster", "Muster", "Marlene", "muster@example.org"));
+        final AvailabilityListDto personsAvailabilities = sut.getPersonsAvailabilities(dayToTest, dayToTest, person);
 
         verify(timedAbsenceSpans, times(1)).calculatePresenceRatio();
         final List<DayAvailability> availabilityList = personsAvailabilities.getAvailabilities();
@@ -63,4 +66,49 @@ class AvailabilityServiceTest {
         assertThat(availabilityList.get(0).getTimedAbsenceSpans()).isEqualTo(timedAbsenceSpans);
         assertThat(availabilityList.get(0).getAvailabilityRatio()).isEqualTo(ONE);
     }
+
+    @Test
+    void ensureFetchesAvailabilityListsOfManyPersonsInOrderOfPersons() {
+
+        final LocalDate dayToTest = LocalDate.of(2016, 1, 1);
+        final Person personOne = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        personOne.setId(1);
+        final Person personTwo = new Person("niceguy", "Guy", "Nice", "nice@example.org");
+        personTwo.setId(2);
+        final List<Person> persons = List.of(personOne, personTwo);
+
+        when(freeTimeAbsenceProvider.checkForAbsences(persons, dayToTest, dayToTest)).thenReturn(person -> List.of(timedAbsenceSpans));
+        when(timedAbsenceSpans.calculatePresenceRatio()).thenReturn(ONE);
+
+        final List<AvailabilityListDto> availabilityLists = sut.getAvailabilitiesOfPersons(dayToTest, dayToTest, persons);
+
+        assertThat(availabilityLists).extracting(AvailabilityListDto::getPersonId).containsExactly(1, 2);
+        assertThat(availabilityLists.get(1).getAvailabilities()).hasSize(1);
+        assertThat(availabilityLists.get(1).getAvailabilities().get(0).getAvailabilityRatio()).isEqualTo(ONE);
+    }
+
+    @Test
+    void ensureAvailabilityListOfPersonWithoutWorkingTimeIsEmpty() {
+
+        final LocalDate dayToTest = LocalDate.of(2016, 1, 1);
+        final Person personOne = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        personOne.setId(1);
+        final Person personWithoutWorkingTime = new Person("niceguy", "Guy", "Nice", "nice@example.org");
+        personWithoutWorkingTime.setId(2);
+        final List<Person> persons = List.of(personOne, personWithoutWorkingTime);
+
+        when(freeTimeAbsenceProvider.checkForAbsences(persons, dayToTest, dayToTest)).thenReturn(person -> {
+            if (person.equals(personWithoutWorkingTime)) {
+                throw new FreeTimeAbsenceException("no working time");
+            }
+            return List.of(timedAbsenceSpans);
+        });
+        when(timedAbsenceSpans.calculatePresenceRatio()).thenReturn(ONE);
+
+        final List<AvailabilityListDto> availabilityLists = sut.getAvailabilitiesOfPersons(dayToTest, dayToTest, persons);
+
+        assertThat(availabilityLists).extracting(AvailabilityListDto::getPersonId).containsExactly(1, 2);
+        assertThat(availabilityLists.get(0).getAvailabilities()).hasSize(1);
+        assertThat(availabilityLists.get(1).getAvailabilities()).isEmpty();
+    }
 }
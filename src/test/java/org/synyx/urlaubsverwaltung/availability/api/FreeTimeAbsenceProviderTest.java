@@ -12,6 +12,10 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Optional;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeTimeline;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -22,6 +26,7 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.synyx.urlaubsverwaltung.TestDataCreator.createWorkingTime;
 import static org.synyx.urlaubsverwaltung.period.DayLength.FULL;
+import static org.synyx.urlaubsverwaltung.period.DayLength.NOON;
 
 
 @ExtendWith(MockitoExtension.class)
@@ -89,4 +94,112 @@ class FreeTimeAbsenceProviderTest {
         sut.checkForAbsence(emptyTimedAbsenceSpans, person, standardWorkingDay);
         verify(publicHolidayAbsenceProvider, times(1)).checkForAbsence(emptyTimedAbsenceSpans, person, standardWorkingDay);
     }
+
+    @Test
+    void ensureLoadsFreeTimeOfPeriodFromWorkingTimeHistory() {
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        when(workingTimeService.getTimelineByPerson(person)).thenReturn(WorkingTimeTimeline.of(List.of(createWorkingTime())));
+
+        final LocalDate friday = LocalDate.of(2016, 1, 1);
+        final LocalDate monday = LocalDate.of(2016, 1, 4);
+
+        final PeriodAbsences freeTimeAbsences = sut.loadAbsences(person, friday, monday);
+        assertThat(freeTimeAbsences.getAbsences(friday)).isEmpty();
+        assertThat(freeTimeAbsences.getAbsences(LocalDate.of(2016, 1, 2))).extracting(TimedAbsence::getPartOfDay).containsExactly(FULL.name());
+        assertThat(freeTimeAbsences.getAbsences(LocalDate.of(2016, 1, 3))).extracting(TimedAbsence::getPartOfDay).containsExactly(FULL.name());
+        assertThat(freeTimeAbsences.getAbsences(monday)).isEmpty();
+    }
+
+    @Test
+    void ensureExceptionWhenPersonWorkingTimeIsNotAvailableInPeriod() {
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        when(workingTimeService.getTimelineByPerson(person)).thenReturn(WorkingTimeTimeline.empty());
+
+        final LocalDate startDate = LocalDate.of(2016, 1, 1);
+        final LocalDate endDate = LocalDate.of(2016, 1, 4);
+        assertThatThrownBy(() -> sut.loadAbsences(person, startDate, endDate))
+            .isInstanceOf(FreeTimeAbsenceException.class);
+    }
+
+    @Test
+    void ensureChecksAbsencesOfPeriodWithPrioritiesOfTheChain() {
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        when(workingTimeService.getTimelineByPerson(person)).thenReturn(WorkingTimeTimeline.of(List.of(createWorkingTime())));
+
+        final LocalDate friday = LocalDate.of(2016, 1, 1);
+        final LocalDate sunday = LocalDate.of(2016, 1, 3);
+        final LocalDate monday = LocalDate.of(2016, 1, 4);
+
+        final PeriodAbsences holidayAbsences = new PeriodAbsences(friday, monday);
+        holidayAbsences.addAbsence(friday, new TimedAbsence(NOON));
+        holidayAbsences.addAbsence(sunday, new TimedAbsence(FULL));
+        when(publicHolidayAbsenceProvider.loadAbsences(person, friday, monday)).thenReturn(holidayAbsences);
+        when(publicHolidayAbsenceProvider.isLastPriorityProvider()).thenReturn(true);
+
+        final List<TimedAbsenceSpans> absences = sut.checkForAbsences(person, friday, monday);
+        assertThat(absences).hasSize(4);
+        assertThat(absences.get(0).getAbsencesList()).extracting(TimedAbsence::getPartOfDay).containsExactly(NOON.name());
+        assertThat(absences.get(1).getAbsencesList()).extracting(TimedAbsence::getPartOfDay).containsExactly(FULL.name());
+        assertThat(absences.get(2).getAbsencesList()).extracting(TimedAbsence::getPartOfDay).containsExactly(FULL.name());
+        assertThat(absences.get(3).getAbsencesList()).isEmpty();
+    }
+
+    @Test
+    void ensureChecksAbsencesOfManyPersonsWithAbsencesLoadedAtOnce() {
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        person.setId(1);
+        final Person personWithoutHolidays = new Person("niceguy", "Guy", "Nice", "nice@example.org");
+        personWithoutHolidays.setId(2);
+        final List<Person> persons = List.of(person, personWithoutHolidays);
+
+        final WorkingTimeTimeline workingTimeTimeline = WorkingTimeTimeline.of(List.of(createWorkingTime()));
+        when(workingTimeService.getTimelinesByPersons(persons)).thenReturn(Map.of(person, workingTimeTimeline, personWithoutHolidays, workingTimeTimeline));
+
+        final LocalDate friday = LocalDate.of(2016, 1, 1);
+        final LocalDate saturday = LocalDate.of(2016, 1, 2);
+
+        final PeriodAbsences holidayAbsences = new PeriodAbsences(friday, saturday);
+        holidayAbsences.addAbsence(friday, new TimedAbsence(FULL));
+        when(publicHolidayAbsenceProvider.loadAbsences(persons, friday, saturday)).thenReturn(Map.of(person, holidayAbsences));
+        when(publicHolidayAbsenceProvider.isLastPriorityProvider()).thenReturn(true);
+
+        final Function<Person, List<TimedAbsenceSpans>> absencesOfPerson = sut.checkForAbsences(persons, friday, saturday);
+
+        final List<TimedAbsenceSpans> absences = absencesOfPerson.apply(person);
+        assertThat(absences).hasSize(2);
+        assertThat(absences.get(0).getAbsencesList()).extracting(TimedAbsence::getPartOfDay).containsExactly(FULL.name());
+        assertThat(absences.get(1).getAbsencesList()).extracting(TimedAbsence::getPartOfDay).containsExactly(FULL.name());
+
+        final List<TimedAbsenceSpans> absencesWithoutHolidays = absencesOfPerson.apply(personWithoutHolidays);
+        assertThat(absencesWithoutHolidays).hasSize(2);
+        assertThat(absencesWithoutHolidays.get(0).getAbsencesList()).isEmpty();
+        assertThat(absencesWithoutHolidays.get(1).getAbsencesList()).extracting(TimedAbsence::getPartOfDay).containsExactly(FULL.name());
+    }
+
+    @Test
+    void ensureChecksAbsencesOfManyPersonsFailsOnlyForPersonWithoutWorkingTime() {
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        person.setId(1);
+        final Person personWithoutWorkingTime = new Person("niceguy", "Guy", "Nice", "nice@example.org");
+        personWithoutWorkingTime.setId(2);
+        final List<Person> persons = List.of(person, personWithoutWorkingTime);
+
+        when(workingTimeService.getTimelinesByPersons(persons))
+            .thenReturn(Map.of(person, WorkingTimeTimeline.of(List.of(createWorkingTime())), personWithoutWorkingTime, WorkingTimeTimeline.empty()));
+
+        final LocalDate friday = LocalDate.of(2016, 1, 1);
+        when(publicHolidayAbsenceProvider.loadAbsences(persons, friday, friday)).thenReturn(Map.of());
+        when(publicHolidayAbsenceProvider.isLastPriorityProvider()).thenReturn(true);
+
+        final Function<Person, List<TimedAbsenceSpans>> absencesOfPerson = sut.checkForAbsences(persons, friday, friday);
+
+        assertThat(absencesOfPerson.apply(person)).hasSize(1);
+        assertThatThrownBy(() -> absencesOfPerson.apply(personWithoutWorkingTime))
+            .isInstanceOf(FreeTimeAbsenceException.class);
+    }
 }
@@ -0,0 +1,188 @@
+package org.synyx.urlaubsverwaltung.availability.api;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.synyx.urlaubsverwaltung.api.RestControllerAdviceExceptionHandler;
+import org.synyx.urlaubsverwaltung.department.Department;
+import org.synyx.urlaubsverwaltung.department.DepartmentService;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.person.PersonService;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.setup.MockMvcBuilders.standaloneSetup;
+
+
+@ExtendWith(MockitoExtension.class)
+class PersonsAvailabilitiesApiControllerTest {
+
+    private PersonsAvailabilitiesApiController sut;
+
+    @Mock
+    private PersonService personService;
+    @Mock
+    private DepartmentService departmentService;
+    @Mock
+    private AvailabilityService availabilityService;
+
+    @BeforeEach
+    void setUp() {
+        sut = new PersonsAvailabilitiesApiController(availabilityService, personService, departmentService);
+    }
+
+    @Test
+    void ensureReturnsAvailabilitiesOfGivenPersonsInOrderOfIds() throws Exception {
+
+        final Person personOne = createPerson(1);
+        final Person personTwo = createPerson(2);
+        when(personService.getPersonsByIds(List.of(2, 1))).thenReturn(List.of(personOne, personTwo));
+
+        final LocalDate day = LocalDate.of(2016, 1, 1);
+        when(availabilityService.getAvailabilitiesOfPersons(day, day, List.of(personTwo, personOne)))
+            .thenReturn(List.of(availabilityList(2), availabilityList(1)));
+
+        perform(get("/api/availabilities")
+            .param("personIds", "2", "1")
+            .param("from", "2016-01-01")
+            .param("to", "2016-01-01"))
+            .andExpect(status().isOk())
+            .andExpect(content().json("{\"personsAvailabilities\":["
+                + "{\"personId\":2,\"availabilities\":[{\"date\":\"2016-01-01\",\"availabilityRatio\":1,\"timedAbsenceSpans\":{\"absencesList\":[]}}]},"
+                + "{\"personId\":1,\"availabilities\":[{\"date\":\"2016-01-01\",\"availabilityRatio\":1,\"timedAbsenceSpans\":{\"absencesList\":[]}}]}"
+                + "]}", true));
+    }
+
+    @Test
+    void ensureReturnsAvailabilitiesOfDepartmentMembers() throws Exception {
+
+        final Person member = createPerson(1);
+        final Department department = new Department();
+        department.setMembers(List.of(member));
+        when(departmentService.getDepartmentById(42)).thenReturn(Optional.of(department));
+
+        final LocalDate day = LocalDate.of(2016, 1, 1);
+        when(availabilityService.getAvailabilitiesOfPersons(day, day, List.of(member))).thenReturn(List.of(availabilityList(1)));
+
+        perform(get("/api/availabilities")
+            .param("departmentId", "42")
+            .param("from", "2016-01-01")
+            .param("to", "2016-01-01"))
+            .andExpect(status().isOk())
+            .andExpect(content().json("{\"personsAvailabilities\":[{\"personId\":1}]}"));
+    }
+
+    @Test
+    void ensureBadRequestForUnknownDepartment() throws Exception {
+        when(departmentService.getDepartmentById(42)).thenReturn(Optional.empty());
+
+        perform(get("/api/availabilities")
+            .param("departmentId", "42")
+            .param("from", "2016-01-01")
+            .param("to", "2016-01-31"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void ensureBadRequestForUnknownPerson() throws Exception {
+        when(personService.getPersonsByIds(List.of(1, 2))).thenReturn(List.of(createPerson(1)));
+
+        perform(get("/api/availabilities")
+            .param("personIds", "1", "2")
+            .param("from", "2016-01-01")
+            .param("to", "2016-01-31"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void ensureBadRequestWithoutDepartmentAndPersons() throws Exception {
+        perform(get("/api/availabilities")
+            .param("from", "2016-01-01")
+            .param("to", "2016-01-31"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void ensureBadRequestWithDepartmentAndPersons() throws Exception {
+        perform(get("/api/availabilities")
+            .param("departmentId", "42")
+            .param("personIds", "1")
+            .param("from", "2016-01-01")
+            .param("to", "2016-01-31"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void ensureBadRequestForInvalidPeriod() throws Exception {
+        perform(get("/api/availabilities")
+            .param("personIds", "1")
+            .param("from", "2016-01-01")
+            .param("to", "2015-01-01"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void ensureBadRequestForPeriodLongerThanOneMonth() throws Exception {
+        perform(get("/api/availabilities")
+            .param("personIds", "1")
+            .param("from", "2016-01-01")
+            .param("to", "2016-02-02"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void ensureOneMonthIsAllowed() throws Exception {
+        final Person person = createPerson(1);
+        when(personService.getPersonsByIds(List.of(1))).thenReturn(List.of(person));
+        when(availabilityService.getAvailabilitiesOfPersons(LocalDate.of(2016, 1, 1), LocalDate.of(2016, 2, 1), List.of(person)))
+            .thenReturn(List.of(availabilityList(1)));
+
+        perform(get("/api/availabilities")
+            .param("personIds", "1")
+            .param("from", "2016-01-01")
+            .param("to", "2016-02-01"))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void ensureFailsBeforeWritingIfAvailabilitiesCannotBeComputed() {
+        when(personService.getPersonsByIds(List.of(1))).thenReturn(List.of(createPerson(1)));
+        when(availabilityService.getAvailabilitiesOfPersons(any(LocalDate.class), any(LocalDate.class), anyList())).thenThrow(IllegalStateException.class);
+
+        final MockHttpServletRequestBuilder request = get("/api/availabilities")
+            .param("personIds", "1")
+            .param("from", "2015-01-01")
+            .param("to", "2015-01-31");
+        assertThatThrownBy(() -> perform(request)).hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    private static Person createPerson(int id) {
+        final Person person = new Person("muster" + id, "Muster", "Marlene", "muster@example.org");
+        person.setId(id);
+        return person;
+    }
+
+    private static AvailabilityListDto availabilityList(int personId) {
+        final DayAvailability dayAvailability = new DayAvailability(BigDecimal.ONE, "2016-01-01", new TimedAbsenceSpans(new ArrayList<>()));
+        return new AvailabilityListDto(List.of(dayAvailability), personId);
+    }
+
+    private ResultActions perform(MockHttpServletRequestBuilder builder) throws Exception {
+        return standaloneSetup(sut).setControllerAdvice(new RestControllerAdviceExceptionHandler()).build().perform(builder);
+    }
+}
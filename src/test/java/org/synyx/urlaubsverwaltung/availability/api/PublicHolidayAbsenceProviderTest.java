@@ -13,6 +13,7 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeTimeline;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.verify;
@@ -21,6 +22,7 @@ import static org.mockito.Mockito.when;
 import static org.synyx.urlaubsverwaltung.period.DayLength.FULL;
 import static org.synyx.urlaubsverwaltung.period.DayLength.NOON;
 import static org.synyx.urlaubsverwaltung.workingtime.FederalState.BADEN_WUERTTEMBERG;
+import static org.synyx.urlaubsverwaltung.TestDataCreator.createWorkingTime;
 
 @ExtendWith(MockitoExtension.class)
 class PublicHolidayAbsenceProviderTest {
@@ -104,4 +106,37 @@ class PublicHolidayAbsenceProviderTest {
         sut.checkForAbsence(emptyTimedAbsenceSpans, person, standardWorkingDay);
         verify(sickDayAbsenceProvider).checkForAbsence(emptyTimedAbsenceSpans, person, standardWorkingDay);
     }
+
+    @Test
+    void ensureLoadsHolidaysOfPeriodWithFederalStateOfWorkingTime() {
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        when(workingTimeService.getTimelineByPerson(person)).thenReturn(WorkingTimeTimeline.of(List.of(createWorkingTime())));
+
+        final LocalDate newYearsEve = LocalDate.of(2015, 12, 31);
+        final LocalDate newYearsDay = LocalDate.of(2016, 1, 1);
+        final LocalDate secondOfJanuary = LocalDate.of(2016, 1, 2);
+        when(publicHolidaysService.getWorkingDurationOfDate(newYearsEve, BADEN_WUERTTEMBERG)).thenReturn(BigDecimal.valueOf(0.5));
+        when(publicHolidaysService.getWorkingDurationOfDate(newYearsDay, BADEN_WUERTTEMBERG)).thenReturn(BigDecimal.ZERO);
+        when(publicHolidaysService.getWorkingDurationOfDate(secondOfJanuary, BADEN_WUERTTEMBERG)).thenReturn(BigDecimal.ONE);
+
+        final PeriodAbsences holidayAbsences = sut.loadAbsences(person, newYearsEve, secondOfJanuary);
+        assertThat(holidayAbsences.getAbsences(newYearsEve)).extracting(TimedAbsence::getPartOfDay).containsExactly(NOON.name());
+        assertThat(holidayAbsences.getAbsences(newYearsDay)).extracting(TimedAbsence::getPartOfDay).containsExactly(FULL.name());
+        assertThat(holidayAbsences.getAbsences(secondOfJanuary)).isEmpty();
+    }
+
+    @Test
+    void ensureLoadsHolidaysOfPeriodWithSystemFederalStateWithoutWorkingTime() {
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        when(workingTimeService.getTimelineByPerson(person)).thenReturn(WorkingTimeTimeline.empty());
+        when(workingTimeService.getSystemDefaultFederalState()).thenReturn(BADEN_WUERTTEMBERG);
+
+        final LocalDate newYearsDay = LocalDate.of(2016, 1, 1);
+        when(publicHolidaysService.getWorkingDurationOfDate(newYearsDay, BADEN_WUERTTEMBERG)).thenReturn(BigDecimal.ZERO);
+
+        final PeriodAbsences holidayAbsences = sut.loadAbsences(person, newYearsDay, newYearsDay);
+        assertThat(holidayAbsences.getAbsences(newYearsDay)).extracting(TimedAbsence::getPartOfDay).containsExactly(FULL.name());
+    }
 }
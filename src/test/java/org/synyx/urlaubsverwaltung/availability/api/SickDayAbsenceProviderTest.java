@@ -13,6 +13,7 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -27,6 +28,7 @@ import static org.synyx.urlaubsverwaltung.period.DayLength.MORNING;
 import static org.synyx.urlaubsverwaltung.period.DayLength.NOON;
 import static org.synyx.urlaubsverwaltung.sicknote.SickNoteStatus.CANCELLED;
 import static org.synyx.urlaubsverwaltung.sicknote.SickNoteStatus.CONVERTED_TO_VACATION;
+import static org.synyx.urlaubsverwaltung.sicknote.SickNoteStatus.ACTIVE;
 
 
 @ExtendWith(MockitoExtension.class)
@@ -145,4 +147,53 @@ class SickDayAbsenceProviderTest {
 
         verify(nextAbsenceProvider).checkForAbsence(knownAbsences, person, sickDay);
     }
+
+    @Test
+    void ensureLoadsActiveSickNotesOfPeriod() {
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        final LocalDate startDate = LocalDate.of(2016, 1, 4);
+        final LocalDate endDate = LocalDate.of(2016, 1, 8);
+
+        final SickNote sickNoteBeforePeriod = createSickNote(person, LocalDate.of(2015, 12, 30), LocalDate.of(2016, 1, 5), FULL);
+        final SickNote sickNoteMorning = createSickNote(person, LocalDate.of(2016, 1, 7), LocalDate.of(2016, 1, 7), MORNING);
+        final SickNote cancelledSickNote = createSickNote(person, LocalDate.of(2016, 1, 7), LocalDate.of(2016, 1, 7), NOON);
+        cancelledSickNote.setStatus(CANCELLED);
+        final SickNote sickNoteAfterPeriod = createSickNote(person, LocalDate.of(2016, 1, 8), LocalDate.of(2016, 1, 12), NOON);
+        when(sickNoteService.getByPersonAndPeriod(person, startDate, endDate))
+            .thenReturn(List.of(sickNoteBeforePeriod, sickNoteMorning, cancelledSickNote, sickNoteAfterPeriod));
+
+        final PeriodAbsences sickDayAbsences = sut.loadAbsences(person, startDate, endDate);
+        assertThat(sickDayAbsences.getAbsences(LocalDate.of(2016, 1, 4))).extracting(TimedAbsence::getPartOfDay).containsExactly(FULL.name());
+        assertThat(sickDayAbsences.getAbsences(LocalDate.of(2016, 1, 5))).extracting(TimedAbsence::getPartOfDay).containsExactly(FULL.name());
+        assertThat(sickDayAbsences.getAbsences(LocalDate.of(2016, 1, 6))).isEmpty();
+        assertThat(sickDayAbsences.getAbsences(LocalDate.of(2016, 1, 7))).extracting(TimedAbsence::getPartOfDay).containsExactly(MORNING.name());
+        assertThat(sickDayAbsences.getAbsences(LocalDate.of(2016, 1, 8))).extracting(TimedAbsence::getPartOfDay).containsExactly(NOON.name());
+        assertThat(sickDayAbsences.getAbsences(LocalDate.of(2016, 1, 9))).isEmpty();
+    }
+
+    @Test
+    void ensureLoadsActiveSickNotesOfManyPersonsInOrderOfStartDate() {
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        person.setId(1);
+        final Person otherPerson = new Person("niceguy", "Guy", "Nice", "nice@example.org");
+        otherPerson.setId(2);
+        final List<Person> persons = List.of(person, otherPerson);
+
+        final LocalDate startDate = LocalDate.of(2016, 1, 4);
+        final LocalDate endDate = LocalDate.of(2016, 1, 8);
+
+        final SickNote sickNoteNoon = createSickNote(person, LocalDate.of(2016, 1, 5), LocalDate.of(2016, 1, 5), NOON);
+        final SickNote sickNoteMorning = createSickNote(person, LocalDate.of(2016, 1, 4), LocalDate.of(2016, 1, 5), MORNING);
+        final SickNote sickNoteOfOtherPerson = createSickNote(otherPerson, LocalDate.of(2016, 1, 8), LocalDate.of(2016, 1, 8), FULL);
+        when(sickNoteService.getForStatesAndPerson(List.of(ACTIVE), persons, startDate, endDate))
+            .thenReturn(List.of(sickNoteNoon, sickNoteOfOtherPerson, sickNoteMorning));
+
+        final Map<Person, PeriodAbsences> sickDayAbsences = sut.loadAbsences(persons, startDate, endDate);
+        assertThat(sickDayAbsences.get(person).getAbsences(LocalDate.of(2016, 1, 4))).extracting(TimedAbsence::getPartOfDay).containsExactly(MORNING.name());
+        assertThat(sickDayAbsences.get(person).getAbsences(LocalDate.of(2016, 1, 5))).extracting(TimedAbsence::getPartOfDay).containsExactly(MORNING.name(), NOON.name());
+        assertThat(sickDayAbsences.get(person).getAbsences(LocalDate.of(2016, 1, 8))).isEmpty();
+        assertThat(sickDayAbsences.get(otherPerson).getAbsences(LocalDate.of(2016, 1, 8))).extracting(TimedAbsence::getPartOfDay).containsExactly(FULL.name());
+    }
 }
@@ -13,6 +13,7 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
@@ -26,6 +27,7 @@ import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.T
 import static org.synyx.urlaubsverwaltung.period.DayLength.FULL;
 import static org.synyx.urlaubsverwaltung.period.DayLength.MORNING;
 import static org.synyx.urlaubsverwaltung.period.DayLength.NOON;
+import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.WAITING;
 
 @ExtendWith(MockitoExtension.class)
 class VacationAbsenceProviderTest {
@@ -200,4 +202,50 @@ class VacationAbsenceProviderTest {
         final TimedAbsenceSpans updatedTimedAbsenceSpans = sut.checkForAbsence(emptyTimedAbsenceSpans, person, vacationDay);
         assertThat(updatedTimedAbsenceSpans).isEqualTo(emptyTimedAbsenceSpans);
     }
+
+    @Test
+    void ensureLoadsRelevantApplicationsOfPeriod() {
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        final LocalDate startDate = LocalDate.of(2016, 1, 4);
+        final LocalDate endDate = LocalDate.of(2016, 1, 6);
+
+        final Application waitingApplication = createApplication(person, LocalDate.of(2016, 1, 1), LocalDate.of(2016, 1, 4), FULL);
+        final Application allowedApplication = createApplication(person, LocalDate.of(2016, 1, 6), LocalDate.of(2016, 1, 6), MORNING);
+        allowedApplication.setStatus(ALLOWED);
+        final Application rejectedApplication = createApplication(person, LocalDate.of(2016, 1, 5), LocalDate.of(2016, 1, 5), FULL);
+        rejectedApplication.setStatus(REJECTED);
+        when(applicationService.getApplicationsForACertainPeriodAndPerson(startDate, endDate, person))
+            .thenReturn(List.of(waitingApplication, allowedApplication, rejectedApplication));
+
+        final PeriodAbsences vacationAbsences = sut.loadAbsences(person, startDate, endDate);
+        assertThat(vacationAbsences.getAbsences(LocalDate.of(2016, 1, 3))).isEmpty();
+        assertThat(vacationAbsences.getAbsences(LocalDate.of(2016, 1, 4))).extracting(TimedAbsence::getPartOfDay).containsExactly(FULL.name());
+        assertThat(vacationAbsences.getAbsences(LocalDate.of(2016, 1, 5))).isEmpty();
+        assertThat(vacationAbsences.getAbsences(LocalDate.of(2016, 1, 6))).extracting(TimedAbsence::getPartOfDay).containsExactly(MORNING.name());
+    }
+
+    @Test
+    void ensureLoadsRelevantApplicationsOfManyPersons() {
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        person.setId(1);
+        final Person otherPerson = new Person("niceguy", "Guy", "Nice", "nice@example.org");
+        otherPerson.setId(2);
+        final List<Person> persons = List.of(person, otherPerson);
+
+        final LocalDate startDate = LocalDate.of(2016, 1, 4);
+        final LocalDate endDate = LocalDate.of(2016, 1, 6);
+
+        final Application application = createApplication(person, LocalDate.of(2016, 1, 1), LocalDate.of(2016, 1, 4), FULL);
+        final Application applicationOfOtherPerson = createApplication(otherPerson, LocalDate.of(2016, 1, 6), LocalDate.of(2016, 1, 6), NOON);
+        applicationOfOtherPerson.setStatus(TEMPORARY_ALLOWED);
+        when(applicationService.getForStatesAndPerson(List.of(WAITING, TEMPORARY_ALLOWED, ALLOWED, ALLOWED_CANCELLATION_REQUESTED), persons, startDate, endDate))
+            .thenReturn(List.of(application, applicationOfOtherPerson));
+
+        final Map<Person, PeriodAbsences> vacationAbsences = sut.loadAbsences(persons, startDate, endDate);
+        assertThat(vacationAbsences.get(person).getAbsences(LocalDate.of(2016, 1, 4))).extracting(TimedAbsence::getPartOfDay).containsExactly(FULL.name());
+        assertThat(vacationAbsences.get(person).getAbsences(LocalDate.of(2016, 1, 6))).isEmpty();
+        assertThat(vacationAbsences.get(otherPerson).getAbsences(LocalDate.of(2016, 1, 6))).extracting(TimedAbsence::getPartOfDay).containsExactly(NOON.name());
+    }
 }
@@ -0,0 +1,392 @@
+package org.synyx.urlaubsverwaltung.calendar;
+
+import net.fortuna.ical4j.model.component.VEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.synyx.urlaubsverwaltung.absence.TimeSettings;
+import org.synyx.urlaubsverwaltung.application.domain.Application;
+import org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus;
+import org.synyx.urlaubsverwaltung.application.service.ApplicationService;
+import org.synyx.urlaubsverwaltung.application.service.ApplicationUpdatedEvent;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.person.PersonUpdatedEvent;
+import org.synyx.urlaubsverwaltung.settings.Settings;
+import org.synyx.urlaubsverwaltung.settings.SettingsService;
+import org.synyx.urlaubsverwaltung.settings.SettingsUpdatedEvent;
+import org.synyx.urlaubsverwaltung.sicknote.SickNote;
+import org.synyx.urlaubsverwaltung.sicknote.SickNoteService;
+import org.synyx.urlaubsverwaltung.sicknote.SickNoteStatus;
+import org.synyx.urlaubsverwaltung.sicknote.SickNoteUpdatedEvent;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.ZoneId;
+import java.util.List;
+
+import static java.time.ZoneOffset.UTC;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.ALLOWED;
+import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.ALLOWED_CANCELLATION_REQUESTED;
+import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.CANCELLED;
+import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.TEMPORARY_ALLOWED;
+import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.WAITING;
+import static org.synyx.urlaubsverwaltung.period.DayLength.FULL;
+import static org.synyx.urlaubsverwaltung.sicknote.SickNoteStatus.ACTIVE;
+import static org.synyx.urlaubsverwaltung.sicknote.SickNoteStatus.CONVERTED_TO_VACATION;
+
+@ExtendWith(MockitoExtension.class)
+class CompanyCalendarEventsTest {
+
+    private static final List<ApplicationStatus> APPLICATION_STATUSES = List.of(ALLOWED, WAITING, TEMPORARY_ALLOWED, ALLOWED_CANCELLATION_REQUESTED);
+    private static final LocalDate TODAY = LocalDate.of(2021, 6, 15);
+
+    private CompanyCalendarEvents sut;
+
+    @Mock
+    private ApplicationService applicationService;
+    @Mock
+    private SickNoteService sickNoteService;
+    @Mock
+    private SettingsService settingsService;
+    @Mock
+    private CompanyCalendarRepository companyCalendarRepository;
+
+    @BeforeEach
+    void setUp() {
+        final CalendarProperties calendarProperties = new CalendarProperties();
+        calendarProperties.setOrganizer("no-reply@example.org");
+
+        final Clock fixedClock = Clock.fixed(Instant.parse("2021-06-15T10:00:00Z"), UTC);
+
+        sut = new CompanyCalendarEvents(applicationService, sickNoteService, settingsService, companyCalendarRepository,
+            new ICalService(calendarProperties), fixedClock);
+    }
+
+    @Test
+    void ensureLoadsOpenAbsencesOnlyOnce() {
+
+        mockSettings();
+        mockCompanyCalendars(Period.ofYears(1));
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        final LocalDate since = TODAY.minusYears(1);
+        when(applicationService.getForStatesSince(APPLICATION_STATUSES, since))
+            .thenReturn(List.of(application(1, person, ALLOWED, TODAY.plusDays(1))));
+        when(sickNoteService.getForStatesSince(List.of(ACTIVE), since))
+            .thenReturn(List.of(sickNote(1, person, ACTIVE, TODAY.minusDays(1))));
+
+        assertThat(startDates(sut.getEventsSince(since))).containsExactly("20210616", "20210614");
+        assertThat(startDates(sut.getEventsSince(since))).containsExactly("20210616", "20210614");
+
+        verify(applicationService).getForStatesSince(APPLICATION_STATUSES, since);
+        verify(sickNoteService).getForStatesSince(List.of(ACTIVE), since);
+    }
+
+    @Test
+    void ensureLoadsEventsOfTheLongestCompanyCalendarPeriod() {
+
+        mockSettings();
+        mockCompanyCalendars(Period.ofMonths(3), Period.ofYears(1));
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        when(applicationService.getForStatesSince(APPLICATION_STATUSES, TODAY.minusYears(1)))
+            .thenReturn(List.of(application(1, person, ALLOWED, TODAY.minusMonths(6))));
+
+        assertThat(sut.getEventsSince(TODAY.minusMonths(3))).isEmpty();
+        assertThat(startDates(sut.getEventsSince(TODAY.minusYears(1)))).containsExactly("20201215");
+
+        verify(applicationService).getForStatesSince(APPLICATION_STATUSES, TODAY.minusYears(1));
+    }
+
+    @Test
+    void ensureLoadsAgainForAnEarlierDate() {
+
+        mockSettings();
+        mockCompanyCalendars(Period.ofMonths(3));
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        when(applicationService.getForStatesSince(APPLICATION_STATUSES, TODAY.minusMonths(3))).thenReturn(List.of());
+        when(applicationService.getForStatesSince(APPLICATION_STATUSES, TODAY.minusYears(1)))
+            .thenReturn(List.of(application(1, person, ALLOWED, TODAY.minusMonths(6))));
+
+        assertThat(sut.getEventsSince(TODAY.minusMonths(3))).isEmpty();
+        assertThat(startDates(sut.getEventsSince(TODAY.minusYears(1)))).containsExactly("20201215");
+
+        verify(applicationService).getForStatesSince(APPLICATION_STATUSES, TODAY.minusMonths(3));
+        verify(applicationService).getForStatesSince(APPLICATION_STATUSES, TODAY.minusYears(1));
+    }
+
+    @Test
+    void ensureLoadsEventsAgainOnTheNextDay() {
+
+        final MutableClock clock = new MutableClock(Instant.parse("2021-06-15T10:00:00Z"));
+        final CalendarProperties calendarProperties = new CalendarProperties();
+        calendarProperties.setOrganizer("no-reply@example.org");
+        sut = new CompanyCalendarEvents(applicationService, sickNoteService, settingsService, companyCalendarRepository,
+            new ICalService(calendarProperties), clock);
+
+        mockSettings();
+        mockCompanyCalendars(Period.ofMonths(3));
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        final LocalDate since = TODAY.minusMonths(3);
+        final LocalDate sinceOnNextDay = TODAY.plusDays(1).minusMonths(3);
+        when(applicationService.getForStatesSince(APPLICATION_STATUSES, since)).thenReturn(List.of());
+        // e.g. allowed through another instance
+        when(applicationService.getForStatesSince(APPLICATION_STATUSES, sinceOnNextDay))
+            .thenReturn(List.of(application(1, person, ALLOWED, TODAY.plusDays(2))));
+
+        assertThat(sut.getEventsSince(since)).isEmpty();
+        assertThat(sut.getEventsSince(since)).isEmpty();
+
+        clock.instant = Instant.parse("2021-06-16T10:00:00Z");
+        assertThat(startDates(sut.getEventsSince(sinceOnNextDay))).containsExactly("20210617");
+
+        verify(applicationService).getForStatesSince(APPLICATION_STATUSES, since);
+        verify(applicationService).getForStatesSince(APPLICATION_STATUSES, sinceOnNextDay);
+    }
+
+    @Test
+    void ensureUpdatedApplicationIsAddedAndReplaced() {
+
+        mockSettings();
+        mockCompanyCalendars(Period.ofYears(1));
+
+        final LocalDate since = TODAY.minusYears(1);
+        assertThat(sut.getEventsSince(since)).isEmpty();
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        sut.handleApplicationUpdated(new ApplicationUpdatedEvent(this, application(1, person, WAITING, TODAY.plusDays(1))));
+        assertThat(startDates(sut.getEventsSince(since))).containsExactly("20210616");
+
+        sut.handleApplicationUpdated(new ApplicationUpdatedEvent(this, application(1, person, ALLOWED, TODAY.plusDays(2))));
+        assertThat(startDates(sut.getEventsSince(since))).containsExactly("20210617");
+
+        verify(applicationService, times(1)).getForStatesSince(APPLICATION_STATUSES, since);
+    }
+
+    @Test
+    void ensureApplicationThatIsNotOpenAnymoreIsRemoved() {
+
+        mockSettings();
+        mockCompanyCalendars(Period.ofYears(1));
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        final LocalDate since = TODAY.minusYears(1);
+        when(applicationService.getForStatesSince(APPLICATION_STATUSES, since))
+            .thenReturn(List.of(application(1, person, ALLOWED, TODAY.plusDays(1))));
+
+        assertThat(sut.getEventsSince(since)).hasSize(1);
+
+        sut.handleApplicationUpdated(new ApplicationUpdatedEvent(this, application(1, person, CANCELLED, TODAY.plusDays(1))));
+        assertThat(sut.getEventsSince(since)).isEmpty();
+    }
+
+    @Test
+    void ensureUpdatedSickNoteIsAddedAndRemoved() {
+
+        mockSettings();
+        mockCompanyCalendars(Period.ofYears(1));
+
+        final LocalDate since = TODAY.minusYears(1);
+        assertThat(sut.getEventsSince(since)).isEmpty();
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        sut.handleSickNoteUpdated(new SickNoteUpdatedEvent(this, sickNote(1, person, ACTIVE, TODAY)));
+        assertThat(startDates(sut.getEventsSince(since))).containsExactly("20210615");
+
+        sut.handleSickNoteUpdated(new SickNoteUpdatedEvent(this, sickNote(1, person, CONVERTED_TO_VACATION, TODAY)));
+        assertThat(sut.getEventsSince(since)).isEmpty();
+    }
+
+    @Test
+    void ensureUpdatesBeforeTheFirstRequestAreIgnored() {
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        sut.handleApplicationUpdated(new ApplicationUpdatedEvent(this, application(1, person, ALLOWED, TODAY)));
+        sut.handleSickNoteUpdated(new SickNoteUpdatedEvent(this, sickNote(1, person, ACTIVE, TODAY)));
+
+        verifyNoInteractions(settingsService, applicationService, sickNoteService);
+    }
+
+    @Test
+    void ensureEventsAreFilteredBySinceDate() {
+
+        mockSettings();
+        mockCompanyCalendars(Period.ofYears(1));
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        when(applicationService.getForStatesSince(APPLICATION_STATUSES, TODAY.minusYears(1)))
+            .thenReturn(List.of(application(1, person, ALLOWED, TODAY.minusMonths(6)), application(2, person, ALLOWED, TODAY)));
+
+        assertThat(startDates(sut.getEventsSince(TODAY.minusMonths(3)))).containsExactly("20210615");
+        assertThat(startDates(sut.getEventsSince(TODAY.minusYears(1)))).containsExactly("20201215", "20210615");
+    }
+
+    @Test
+    void ensureSettingsUpdateLoadsEventsAgain() {
+
+        mockSettings();
+        mockCompanyCalendars(Period.ofYears(1));
+
+        final LocalDate since = TODAY.minusYears(1);
+        sut.getEventsSince(since);
+        sut.handleSettingsUpdated(new SettingsUpdatedEvent(this, new Settings(), 1));
+        sut.getEventsSince(since);
+
+        verify(applicationService, times(2)).getForStatesSince(APPLICATION_STATUSES, since);
+        verify(sickNoteService, times(2)).getForStatesSince(List.of(ACTIVE), since);
+    }
+
+    @Test
+    void ensureRenamedPersonLoadsEventsAgain() {
+
+        mockSettings();
+        mockCompanyCalendars(Period.ofYears(1));
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        person.setId(42);
+        final LocalDate since = TODAY.minusYears(1);
+        when(applicationService.getForStatesSince(APPLICATION_STATUSES, since))
+            .thenReturn(List.of(application(1, person, ALLOWED, TODAY)));
+
+        sut.getEventsSince(since);
+
+        final Person renamedPerson = new Person("muster", "Muster-Meier", "Marlene", "muster@example.org");
+        renamedPerson.setId(42);
+        sut.handlePersonUpdated(new PersonUpdatedEvent(this, renamedPerson));
+        sut.getEventsSince(since);
+
+        verify(applicationService, times(2)).getForStatesSince(APPLICATION_STATUSES, since);
+    }
+
+    @Test
+    void ensurePersonWithChangedEmailLoadsEventsAgain() {
+
+        mockSettings();
+        mockCompanyCalendars(Period.ofYears(1));
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        person.setId(42);
+        final LocalDate since = TODAY.minusYears(1);
+        when(sickNoteService.getForStatesSince(List.of(ACTIVE), since))
+            .thenReturn(List.of(sickNote(1, person, ACTIVE, TODAY)));
+
+        sut.getEventsSince(since);
+
+        final Person personWithOtherEmail = new Person("muster", "Muster", "Marlene", "marlene@example.org");
+        personWithOtherEmail.setId(42);
+        sut.handlePersonUpdated(new PersonUpdatedEvent(this, personWithOtherEmail));
+        sut.getEventsSince(since);
+
+        verify(sickNoteService, times(2)).getForStatesSince(List.of(ACTIVE), since);
+    }
+
+    @Test
+    void ensureUnchangedOrOtherPersonKeepsEvents() {
+
+        mockSettings();
+        mockCompanyCalendars(Period.ofYears(1));
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        person.setId(42);
+        final LocalDate since = TODAY.minusYears(1);
+        when(applicationService.getForStatesSince(APPLICATION_STATUSES, since))
+            .thenReturn(List.of(application(1, person, ALLOWED, TODAY)));
+
+        sut.getEventsSince(since);
+
+        final Person samePerson = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        samePerson.setId(42);
+        sut.handlePersonUpdated(new PersonUpdatedEvent(this, samePerson));
+
+        final Person otherPerson = new Person("other", "Other", "Otto", "other@example.org");
+        otherPerson.setId(43);
+        sut.handlePersonUpdated(new PersonUpdatedEvent(this, otherPerson));
+
+        sut.getEventsSince(since);
+
+        verify(applicationService, times(1)).getForStatesSince(APPLICATION_STATUSES, since);
+    }
+
+    private void mockSettings() {
+        final TimeSettings timeSettings = new TimeSettings();
+        timeSettings.setTimeZoneId("Etc/UTC");
+        final Settings settings = new Settings();
+        settings.setTimeSettings(timeSettings);
+        when(settingsService.getSettings()).thenReturn(settings);
+    }
+
+    private void mockCompanyCalendars(Period... periods) {
+        final List<CompanyCalendar> companyCalendars = List.of(periods).stream()
+            .map(period -> {
+                final CompanyCalendar companyCalendar = new CompanyCalendar();
+                companyCalendar.setCalendarPeriod(period);
+                return companyCalendar;
+            })
+            .collect(toList());
+        when(companyCalendarRepository.findAll()).thenReturn(companyCalendars);
+    }
+
+    private static List<String> startDates(List<VEvent> events) {
+        return events.stream()
+            .map(event -> event.getStartDate().getValue())
+            .collect(toList());
+    }
+
+    private static Application application(int id, Person person, ApplicationStatus status, LocalDate date) {
+        final Application application = new Application();
+        application.setId(id);
+        application.setPerson(person);
+        application.setStatus(status);
+        application.setStartDate(date);
+        application.setEndDate(date);
+        application.setDayLength(FULL);
+        return application;
+    }
+
+    private static SickNote sickNote(int id, Person person, SickNoteStatus status, LocalDate date) {
+        final SickNote sickNote = new SickNote();
+        sickNote.setId(id);
+        sickNote.setPerson(person);
+        sickNote.setStatus(status);
+        sickNote.setStartDate(date);
+        sickNote.setEndDate(date);
+        sickNote.setDayLength(FULL);
+        return sickNote;
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -1,27 +1,22 @@
 package org.synyx.urlaubsverwaltung.calendar;
 
+import net.fortuna.ical4j.model.component.VEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.MessageSource;
-import org.synyx.urlaubsverwaltung.absence.Absence;
-import org.synyx.urlaubsverwaltung.absence.AbsenceService;
-import org.synyx.urlaubsverwaltung.absence.AbsenceTimeConfiguration;
-import org.synyx.urlaubsverwaltung.absence.TimeSettings;
-import org.synyx.urlaubsverwaltung.period.DayLength;
-import org.synyx.urlaubsverwaltung.period.Period;
+import org.synyx.urlaubsverwaltung.application.domain.Application;
+import org.synyx.urlaubsverwaltung.application.service.ApplicationUpdatedEvent;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonService;
 
-import java.io.File;
 import java.time.Clock;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
-import static java.time.format.DateTimeFormatter.ofPattern;
 import static java.util.Locale.GERMAN;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
@@ -29,10 +24,10 @@ import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.synyx.urlaubsverwaltung.TestDataCreator.createPerson;
-import static org.synyx.urlaubsverwaltung.period.DayLength.FULL;
 import static org.synyx.urlaubsverwaltung.person.Role.OFFICE;
 import static org.synyx.urlaubsverwaltung.person.Role.USER;
 
@@ -43,7 +38,7 @@ class CompanyCalendarServiceTest {
     private CompanyCalendarService sut;
 
     @Mock
-    private AbsenceService absenceService;
+    private CompanyCalendarEvents companyCalendarEvents;
     @Mock
     private CompanyCalendarRepository companyCalendarRepository;
     @Mock
@@ -53,21 +48,19 @@ class CompanyCalendarServiceTest {
     @Mock
     private MessageSource messageSource;
 
-    private static LocalDate toDateTime(String input) {
-        return LocalDate.parse(input, ofPattern("yyyy-MM-dd"));
-    }
+    private final ICalFeedCache iCalFeedCache = new ICalFeedCache();
 
     @BeforeEach
     void setUp() {
 
-        sut = new CompanyCalendarService(absenceService, companyCalendarRepository, iCalService, personService, messageSource, Clock.systemUTC());
+        sut = new CompanyCalendarService(companyCalendarEvents, companyCalendarRepository, iCalService, iCalFeedCache, personService, messageSource, Clock.systemUTC());
     }
 
     @Test
     void getCalendarForAllForOneFullDay() {
 
-        final List<Absence> absences = List.of(absence(new Person("muster", "Muster", "Marlene", "muster@example.org"), toDateTime("2019-03-26"), toDateTime("2019-03-26"), FULL));
-        when(absenceService.getOpenAbsencesSince(any(LocalDate.class))).thenReturn(absences);
+        final List<VEvent> events = List.of(new VEvent());
+        when(companyCalendarEvents.getEventsSince(any(LocalDate.class))).thenReturn(events);
 
         final Person person = new Person();
         person.setId(10);
@@ -79,12 +72,40 @@ class CompanyCalendarServiceTest {
         when(companyCalendarRepository.findBySecretAndPerson("secret", person)).thenReturn(Optional.of(companyCalendar));
 
         when(messageSource.getMessage(eq("calendar.company.title"), any(), eq(GERMAN))).thenReturn("Abwesenheitskalender der Firma");
-        final File iCal = new File("calendar.ics");
-        iCal.deleteOnExit();
-        when(iCalService.getCalendar("Abwesenheitskalender der Firma", absences)).thenReturn(iCal);
+        final ICalFeed iCal = ICalFeed.of(new byte[0]);
+        when(iCalService.getCalendarFeedOfEvents("Abwesenheitskalender der Firma", events)).thenReturn(iCal);
 
-        final File calendar = sut.getCalendarForAll(10, "secret", GERMAN);
-        assertThat(calendar).hasName("calendar.ics");
+        final ICalFeed calendar = sut.getCalendarForAll(10, "secret", GERMAN);
+        assertThat(calendar).isSameAs(iCal);
+    }
+
+    @Test
+    void ensureGetCalendarForAllRendersCalendarOnlyOnceUntilAbsencesChange() {
+
+        final List<VEvent> events = List.of(new VEvent());
+        when(companyCalendarEvents.getEventsSince(any(LocalDate.class))).thenReturn(events);
+
+        final Person person = new Person();
+        person.setId(10);
+        when(personService.getPersonByID(10)).thenReturn(Optional.of(person));
+
+        final CompanyCalendar companyCalendar = new CompanyCalendar(person);
+        companyCalendar.setId(1L);
+        companyCalendar.setCalendarPeriod(java.time.Period.parse("P1Y"));
+        when(companyCalendarRepository.findBySecretAndPerson("secret", person)).thenReturn(Optional.of(companyCalendar));
+
+        when(messageSource.getMessage(eq("calendar.company.title"), any(), eq(GERMAN))).thenReturn("Abwesenheitskalender der Firma");
+        final ICalFeed iCal = ICalFeed.of(new byte[0]);
+        when(iCalService.getCalendarFeedOfEvents("Abwesenheitskalender der Firma", events)).thenReturn(iCal);
+
+        assertThat(sut.getCalendarForAll(10, "secret", GERMAN)).isSameAs(iCal);
+        assertThat(sut.getCalendarForAll(10, "secret", GERMAN)).isSameAs(iCal);
+        verify(companyCalendarEvents).getEventsSince(any(LocalDate.class));
+
+        iCalFeedCache.handleApplicationUpdated(new ApplicationUpdatedEvent(this, new Application()));
+
+        assertThat(sut.getCalendarForAll(10, "secret", GERMAN)).isSameAs(iCal);
+        verify(companyCalendarEvents, times(2)).getEventsSince(any(LocalDate.class));
     }
 
     @Test
@@ -226,11 +247,4 @@ class CompanyCalendarServiceTest {
         assertThat(actualCalendarForPerson.getSecret()).isNotBlank();
         assertThat(actualCalendarForPerson.getSecret()).isNotEqualTo(secretBeforeUpdate);
     }
-
-    private Absence absence(Person person, LocalDate start, LocalDate end, DayLength length) {
-        final Period period = new Period(start, end, length);
-        final AbsenceTimeConfiguration timeConfig = new AbsenceTimeConfiguration(new TimeSettings());
-
-        return new Absence(person, period, timeConfig);
-    }
 }
@@ -17,7 +17,6 @@ import org.synyx.urlaubsverwaltung.period.Period;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonService;
 
-import java.io.File;
 import java.time.Clock;
 import java.time.LocalDate;
 import java.util.List;
@@ -60,7 +59,7 @@ class DepartmentCalendarServiceTest {
     void setUp() {
 
         sut = new DepartmentCalendarService(absenceService, departmentService, personService,
-            departmentCalendarRepository, iCalService, messageSource, Clock.systemUTC());
+            departmentCalendarRepository, iCalService, new ICalFeedCache(), messageSource, Clock.systemUTC());
     }
 
     @Test
@@ -112,12 +111,11 @@ class DepartmentCalendarServiceTest {
         when(absenceService.getOpenAbsencesSince(eq(List.of(person)), any(LocalDate.class))).thenReturn(fullDayAbsences);
 
         when(messageSource.getMessage(eq("calendar.department.title"), any(), eq(GERMAN))).thenReturn("Abwesenheitskalender der Abteilung DepartmentName");
-        final File iCal = new File("calendar.ics");
-        iCal.deleteOnExit();
-        when(iCalService.getCalendar("Abwesenheitskalender der Abteilung DepartmentName", fullDayAbsences)).thenReturn(iCal);
+        final ICalFeed iCal = ICalFeed.of(new byte[0]);
+        when(iCalService.getCalendarFeed("Abwesenheitskalender der Abteilung DepartmentName", fullDayAbsences)).thenReturn(iCal);
 
-        final File calendar = sut.getCalendarForDepartment(1, 10, "secret", GERMAN);
-        assertThat(calendar).hasName("calendar.ics");
+        final ICalFeed calendar = sut.getCalendarForDepartment(1, 10, "secret", GERMAN);
+        assertThat(calendar).isSameAs(iCal);
     }
 
     @Test
@@ -0,0 +1,141 @@
+package org.synyx.urlaubsverwaltung.calendar;
+
+import org.junit.jupiter.api.Test;
+import org.synyx.urlaubsverwaltung.application.domain.Application;
+import org.synyx.urlaubsverwaltung.application.service.ApplicationUpdatedEvent;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.person.PersonUpdatedEvent;
+import org.synyx.urlaubsverwaltung.settings.Settings;
+import org.synyx.urlaubsverwaltung.settings.SettingsUpdatedEvent;
+import org.synyx.urlaubsverwaltung.sicknote.SickNote;
+import org.synyx.urlaubsverwaltung.sicknote.SickNoteUpdatedEvent;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ICalFeedCacheTest {
+
+    private final ICalFeedCache sut = new ICalFeedCache();
+
+    @Test
+    void ensureReturnsCachedFeed() {
+
+        final ICalFeed feed = feed("calendar");
+
+        assertThat(sut.get("person", List.of(1), "title", LocalDate.of(2021, 1, 1), () -> feed)).isSameAs(feed);
+        assertThat(sut.get("person", List.of(1), "title", LocalDate.of(2021, 1, 1), () -> feed("other"))).isSameAs(feed);
+    }
+
+    @Test
+    void ensureFeedsAreCachedPerCalendarScopeTitleAndDate() {
+
+        final ICalFeed feed = feed("calendar");
+        sut.get("person", List.of(1), "title", LocalDate.of(2021, 1, 1), () -> feed);
+
+        assertThat(sut.get("department", List.of(1), "title", LocalDate.of(2021, 1, 1), () -> feed("other"))).isNotSameAs(feed);
+        assertThat(sut.get("person", List.of(2), "title", LocalDate.of(2021, 1, 1), () -> feed("other"))).isNotSameAs(feed);
+        assertThat(sut.get("person", List.of(1), "other title", LocalDate.of(2021, 1, 1), () -> feed("other"))).isNotSameAs(feed);
+        assertThat(sut.get("person", List.of(1), "title", LocalDate.of(2021, 1, 2), () -> feed("other"))).isNotSameAs(feed);
+    }
+
+    @Test
+    void ensureApplicationUpdateDropsFeeds() {
+
+        final ICalFeed feed = feed("calendar");
+        sut.get("company", List.of(), "title", LocalDate.of(2021, 1, 1), () -> feed);
+
+        sut.handleApplicationUpdated(new ApplicationUpdatedEvent(this, new Application()));
+
+        final ICalFeed renderedFeed = feed("rendered");
+        assertThat(sut.get("company", List.of(), "title", LocalDate.of(2021, 1, 1), () -> renderedFeed)).isSameAs(renderedFeed);
+    }
+
+    @Test
+    void ensureSickNoteUpdateDropsFeeds() {
+
+        final ICalFeed feed = feed("calendar");
+        sut.get("company", List.of(), "title", LocalDate.of(2021, 1, 1), () -> feed);
+
+        sut.handleSickNoteUpdated(new SickNoteUpdatedEvent(this, new SickNote()));
+
+        final ICalFeed renderedFeed = feed("rendered");
+        assertThat(sut.get("company", List.of(), "title", LocalDate.of(2021, 1, 1), () -> renderedFeed)).isSameAs(renderedFeed);
+    }
+
+    @Test
+    void ensureSettingsUpdateDropsFeeds() {
+
+        final ICalFeed feed = feed("calendar");
+        sut.get("company", List.of(), "title", LocalDate.of(2021, 1, 1), () -> feed);
+
+        sut.handleSettingsUpdated(new SettingsUpdatedEvent(this, new Settings(), 1));
+
+        final ICalFeed renderedFeed = feed("rendered");
+        assertThat(sut.get("company", List.of(), "title", LocalDate.of(2021, 1, 1), () -> renderedFeed)).isSameAs(renderedFeed);
+    }
+
+    @Test
+    void ensureChangedPersonDropsFeeds() {
+
+        sut.handlePersonUpdated(new PersonUpdatedEvent(this, person(1, "Marlene", "muster@example.org")));
+
+        final ICalFeed feed = feed("calendar");
+        sut.get("company", List.of(), "title", LocalDate.of(2021, 1, 1), () -> feed);
+
+        sut.handlePersonUpdated(new PersonUpdatedEvent(this, person(1, "Marlene", "marlene@example.org")));
+
+        final ICalFeed renderedFeed = feed("rendered");
+        assertThat(sut.get("company", List.of(), "title", LocalDate.of(2021, 1, 1), () -> renderedFeed)).isSameAs(renderedFeed);
+    }
+
+    @Test
+    void ensureFirstUpdateOfPersonDropsFeeds() {
+
+        final ICalFeed feed = feed("calendar");
+        sut.get("company", List.of(), "title", LocalDate.of(2021, 1, 1), () -> feed);
+
+        sut.handlePersonUpdated(new PersonUpdatedEvent(this, person(1, "Marlene", "muster@example.org")));
+
+        final ICalFeed renderedFeed = feed("rendered");
+        assertThat(sut.get("company", List.of(), "title", LocalDate.of(2021, 1, 1), () -> renderedFeed)).isSameAs(renderedFeed);
+    }
+
+    @Test
+    void ensureUnchangedPersonKeepsFeeds() {
+
+        sut.handlePersonUpdated(new PersonUpdatedEvent(this, person(1, "Marlene", "muster@example.org")));
+
+        final ICalFeed feed = feed("calendar");
+        sut.get("company", List.of(), "title", LocalDate.of(2021, 1, 1), () -> feed);
+
+        sut.handlePersonUpdated(new PersonUpdatedEvent(this, person(1, "Marlene", "muster@example.org")));
+
+        assertThat(sut.get("company", List.of(), "title", LocalDate.of(2021, 1, 1), () -> feed("rendered"))).isSameAs(feed);
+    }
+
+    @Test
+    void ensureFeedRenderedWhileAbsencesChangedIsNotCached() {
+
+        final ICalFeed staleFeed = feed("stale");
+        sut.get("company", List.of(), "title", LocalDate.of(2021, 1, 1), () -> {
+            sut.handleApplicationUpdated(new ApplicationUpdatedEvent(this, new Application()));
+            return staleFeed;
+        });
+
+        final ICalFeed renderedFeed = feed("rendered");
+        assertThat(sut.get("company", List.of(), "title", LocalDate.of(2021, 1, 1), () -> renderedFeed)).isSameAs(renderedFeed);
+    }
+
+    private static Person person(Integer id, String firstName, String email) {
+        final Person person = new Person("muster", "Muster", firstName, email);
+        person.setId(id);
+        return person;
+    }
+
+    private static ICalFeed feed(String content) {
+        return ICalFeed.of(content.getBytes(UTF_8));
+    }
+}
@@ -16,6 +16,7 @@ import java.nio.file.Files;
 import java.time.LocalDate;
 import java.util.List;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.time.format.DateTimeFormatter.ofPattern;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -43,7 +44,7 @@ class ICalServiceTest {
     void getCalendarForPersonAndNoAbsenceFound() {
         final List<Absence> absences = List.of();
 
-        assertThatThrownBy(() -> sut.getCalendar("Abwesenheitskalender", absences))
+        assertThatThrownBy(() -> sut.getCalendarFeed("Abwesenheitskalender", absences))
             .isInstanceOf(CalendarException.class);
     }
 
@@ -52,9 +53,9 @@ class ICalServiceTest {
 
         final Absence fullDayAbsence = absence(new Person("muster", "Muster", "Marlene", "muster@example.org"), toDateTime("2019-03-26"), toDateTime("2019-03-26"), FULL);
 
-        final File calendar = sut.getCalendar("Abwesenheitskalender", List.of(fullDayAbsence));
+        final ICalFeed calendar = sut.getCalendarFeed("Abwesenheitskalender", List.of(fullDayAbsence));
 
-        assertThat(fileToString(calendar))
+        assertThat(feedToString(calendar))
             .contains("VERSION:2.0")
             .contains("CALSCALE:GREGORIAN")
             .contains("PRODID:-//Urlaubsverwaltung//iCal4j 1.0//DE")
@@ -74,9 +75,9 @@ class ICalServiceTest {
 
         final Absence morningAbsence = absence(new Person("muster", "Muster", "Marlene", "muster@example.org"), toDateTime("2019-04-26"), toDateTime("2019-04-26"), MORNING);
 
-        final File calendar = sut.getCalendar("Abwesenheitskalender", List.of(morningAbsence));
+        final ICalFeed calendar = sut.getCalendarFeed("Abwesenheitskalender", List.of(morningAbsence));
 
-        assertThat(fileToString(calendar))
+        assertThat(feedToString(calendar))
             .contains("VERSION:2.0")
             .contains("CALSCALE:GREGORIAN")
             .contains("PRODID:-//Urlaubsverwaltung//iCal4j 1.0//DE")
@@ -96,9 +97,9 @@ class ICalServiceTest {
 
         final Absence manyFullDayAbsence = absence(new Person("muster", "Muster", "Marlene", "muster@example.org"), toDateTime("2019-03-26"), toDateTime("2019-04-01"), FULL);
 
-        final File calendar = sut.getCalendar("Abwesenheitskalender", List.of(manyFullDayAbsence));
+        final ICalFeed calendar = sut.getCalendarFeed("Abwesenheitskalender", List.of(manyFullDayAbsence));
 
-        assertThat(fileToString(calendar))
+        assertThat(feedToString(calendar))
             .contains("VERSION:2.0")
             .contains("CALSCALE:GREGORIAN")
             .contains("PRODID:-//Urlaubsverwaltung//iCal4j 1.0//DE")
@@ -119,8 +120,8 @@ class ICalServiceTest {
 
         final Absence noonAbsence = absence(new Person("muster", "Muster", "Marlene", "muster@example.org"), toDateTime("2019-05-26"), toDateTime("2019-05-26"), NOON);
 
-        final File calendar = sut.getCalendar("Abwesenheitskalender", List.of(noonAbsence));
-        assertThat(fileToString(calendar))
+        final ICalFeed calendar = sut.getCalendarFeed("Abwesenheitskalender", List.of(noonAbsence));
+        assertThat(feedToString(calendar))
             .contains("VERSION:2.0")
             .contains("CALSCALE:GREGORIAN")
             .contains("PRODID:-//Urlaubsverwaltung//iCal4j 1.0//DE")
@@ -144,8 +145,8 @@ class ICalServiceTest {
         final CalendarProperties calendarProperties = new CalendarProperties();
         calendarProperties.setOrganizer("no-reply@example.org");
         final ICalService sut = new ICalService(calendarProperties);
-        final File calendar = sut.getCalendar("Abwesenheitskalender", List.of(noonAbsence));
-        assertThat(fileToString(calendar))
+        final ICalFeed calendar = sut.getCalendarFeed("Abwesenheitskalender", List.of(noonAbsence));
+        assertThat(feedToString(calendar))
             .contains("VERSION:2.0")
             .contains("CALSCALE:GREGORIAN")
             .contains("PRODID:-//Urlaubsverwaltung//iCal4j 1.0//DE")
@@ -203,6 +204,25 @@ class ICalServiceTest {
         return new Absence(person, period, timeConfig, absenceType);
     }
 
+    @Test
+    void ensureSameCalendarFeedHasSameETag() {
+
+        final Absence fullDayAbsence = absence(new Person("muster", "Muster", "Marlene", "muster@example.org"), toDateTime("2019-03-26"), toDateTime("2019-03-26"), FULL);
+        final Absence otherFullDayAbsence = absence(new Person("muster", "Muster", "Marlene", "muster@example.org"), toDateTime("2019-03-27"), toDateTime("2019-03-27"), FULL);
+
+        final ICalFeed calendar = sut.getCalendarFeed("Abwesenheitskalender", List.of(fullDayAbsence));
+        final ICalFeed sameCalendar = sut.getCalendarFeed("Abwesenheitskalender", List.of(fullDayAbsence));
+        final ICalFeed otherCalendar = sut.getCalendarFeed("Abwesenheitskalender", List.of(otherFullDayAbsence));
+
+        assertThat(calendar.getETag()).startsWith("\"").endsWith("\"");
+        assertThat(sameCalendar.getETag()).isEqualTo(calendar.getETag());
+        assertThat(otherCalendar.getETag()).isNotEqualTo(calendar.getETag());
+    }
+
+    private String feedToString(ICalFeed feed) {
+        return new String(feed.getContent(), UTF_8);
+    }
+
     private String fileToString(File file) {
         try {
             return Files.readString(file.toPath());
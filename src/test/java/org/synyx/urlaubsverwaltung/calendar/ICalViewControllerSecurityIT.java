@@ -9,14 +9,7 @@ import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilde
 import org.springframework.web.context.WebApplicationContext;
 import org.synyx.urlaubsverwaltung.TestContainersBase;
 
-import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-
 import static java.nio.charset.StandardCharsets.UTF_8;
-import static java.util.Arrays.asList;
 import static java.util.Locale.GERMAN;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
@@ -42,7 +35,7 @@ class ICalViewControllerSecurityIT extends TestContainersBase {
     void getPersonCalendarUnauthorized() throws Exception {
 
         final String secret = "eid5ae0zooKu";
-        when(personCalendarService.getCalendarForPerson(1, secret, GERMAN)).thenReturn(generateFile("calendar"));
+        when(personCalendarService.getCalendarForPerson(1, secret, GERMAN)).thenReturn(generateFeed("calendar"));
 
         perform(get("/web/persons/1/calendar").param("secret", secret))
             .andExpect(status().isOk());
@@ -52,7 +45,7 @@ class ICalViewControllerSecurityIT extends TestContainersBase {
     void getDepartmentCalendarUnauthorized() throws Exception {
 
         final String secret = "eid5ae0zooKu";
-        when(departmentCalendarService.getCalendarForDepartment(1, 2, secret, GERMAN)).thenReturn(generateFile("calendar"));
+        when(departmentCalendarService.getCalendarForDepartment(1, 2, secret, GERMAN)).thenReturn(generateFeed("calendar"));
 
         perform(get("/web/departments/1/persons/2/calendar").param("secret", secret))
             .andExpect(status().isOk());
@@ -62,20 +55,14 @@ class ICalViewControllerSecurityIT extends TestContainersBase {
     void getCompanyCalendarUnauthorized() throws Exception {
 
         final String secret = "eid5ae0zooKu";
-        when(companyCalendarService.getCalendarForAll(1, secret, GERMAN)).thenReturn(generateFile("calendar"));
+        when(companyCalendarService.getCalendarForAll(1, secret, GERMAN)).thenReturn(generateFeed("calendar"));
 
         perform(get("/web/company/persons/1/calendar").param("secret", secret))
             .andExpect(status().isOk());
     }
 
-    private File generateFile(String... content) throws IOException {
-        final Path file = Paths.get("calendar.ics");
-        Files.write(file, asList(content.clone()), UTF_8);
-
-        final File iCal = file.toFile();
-        iCal.deleteOnExit();
-
-        return iCal;
+    private ICalFeed generateFeed(String content) {
+        return ICalFeed.of(content.getBytes(UTF_8));
     }
 
     private ResultActions perform(MockHttpServletRequestBuilder builder) throws Exception {
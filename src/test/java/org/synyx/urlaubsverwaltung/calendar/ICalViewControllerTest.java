@@ -9,14 +9,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
-import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-
 import static java.nio.charset.StandardCharsets.UTF_8;
-import static java.util.Arrays.asList;
 import static java.util.Locale.GERMAN;
 import static org.hamcrest.Matchers.containsString;
 import static org.mockito.Mockito.when;
@@ -47,7 +40,7 @@ class ICalViewControllerTest {
     @Test
     void getCalendarForPerson() throws Exception {
 
-        when(personCalendarService.getCalendarForPerson(1, "secret", GERMAN)).thenReturn(generateFile("iCal string"));
+        when(personCalendarService.getCalendarForPerson(1, "secret", GERMAN)).thenReturn(generateFeed("iCal string"));
 
         perform(get("/web/persons/1/calendar")
             .locale(GERMAN)
@@ -58,6 +51,34 @@ class ICalViewControllerTest {
             .andExpect(content().string(containsString("iCal string")));
     }
 
+    @Test
+    void getCalendarForPersonWithETag() throws Exception {
+
+        final ICalFeed iCal = generateFeed("iCal string");
+        when(personCalendarService.getCalendarForPerson(1, "secret", GERMAN)).thenReturn(iCal);
+
+        perform(get("/web/persons/1/calendar")
+            .locale(GERMAN)
+            .param("secret", "secret"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", iCal.getETag()));
+    }
+
+    @Test
+    void getCalendarForPersonNotModified() throws Exception {
+
+        final ICalFeed iCal = generateFeed("iCal string");
+        when(personCalendarService.getCalendarForPerson(1, "secret", GERMAN)).thenReturn(iCal);
+
+        perform(get("/web/persons/1/calendar")
+            .locale(GERMAN)
+            .param("secret", "secret")
+            .header("If-None-Match", iCal.getETag()))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string("ETag", iCal.getETag()))
+            .andExpect(content().string(""));
+    }
+
     @Test
     void getCalendarForPersonWithBadRequest() throws Exception {
 
@@ -83,7 +104,7 @@ class ICalViewControllerTest {
     @Test
     void getCalendarForDepartment() throws Exception {
 
-        when(departmentCalendarService.getCalendarForDepartment(1, 2, "secret", GERMAN)).thenReturn(generateFile("calendar department"));
+        when(departmentCalendarService.getCalendarForDepartment(1, 2, "secret", GERMAN)).thenReturn(generateFeed("calendar department"));
 
         perform(get("/web/departments/1/persons/2/calendar")
             .locale(GERMAN)
@@ -120,7 +141,7 @@ class ICalViewControllerTest {
     @Test
     void getCalendarForAll() throws Exception {
 
-        when(companyCalendarService.getCalendarForAll(2, "secret", GERMAN)).thenReturn(generateFile("calendar all"));
+        when(companyCalendarService.getCalendarForAll(2, "secret", GERMAN)).thenReturn(generateFeed("calendar all"));
 
         perform(get("/web/company/persons/2/calendar")
             .locale(GERMAN)
@@ -131,6 +152,32 @@ class ICalViewControllerTest {
             .andExpect(content().string(containsString("calendar all")));
     }
 
+    @Test
+    void getCalendarForAllNotModified() throws Exception {
+
+        final ICalFeed iCal = generateFeed("calendar all");
+        when(companyCalendarService.getCalendarForAll(2, "secret", GERMAN)).thenReturn(iCal);
+
+        perform(get("/web/company/persons/2/calendar")
+            .locale(GERMAN)
+            .param("secret", "secret")
+            .header("If-None-Match", iCal.getETag()))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getCalendarForAllWithModifiedCalendar() throws Exception {
+
+        when(companyCalendarService.getCalendarForAll(2, "secret", GERMAN)).thenReturn(generateFeed("calendar all"));
+
+        perform(get("/web/company/persons/2/calendar")
+            .locale(GERMAN)
+            .param("secret", "secret")
+            .header("If-None-Match", generateFeed("previous calendar all").getETag()))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("calendar all")));
+    }
+
     @Test
     void getCalendarForAllWithNoContent() throws Exception {
 
@@ -157,13 +204,7 @@ class ICalViewControllerTest {
         return standaloneSetup(sut).build().perform(builder);
     }
 
-    private File generateFile(String... content) throws IOException {
-        final Path file = Paths.get("calendar.ics");
-        Files.write(file, asList(content.clone()), UTF_8);
-
-        final File iCal = file.toFile();
-        iCal.deleteOnExit();
-
-        return iCal;
+    private ICalFeed generateFeed(String content) {
+        return ICalFeed.of(content.getBytes(UTF_8));
     }
 }
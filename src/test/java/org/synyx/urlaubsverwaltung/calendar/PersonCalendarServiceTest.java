@@ -15,7 +15,6 @@ import org.synyx.urlaubsverwaltung.period.Period;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonService;
 
-import java.io.File;
 import java.time.Clock;
 import java.time.LocalDate;
 import java.util.List;
@@ -58,7 +57,7 @@ class PersonCalendarServiceTest {
     @BeforeEach
     void setUp() {
 
-        sut = new PersonCalendarService(absenceService, personService, personCalendarRepository, iCalService, messageSource, Clock.systemUTC());
+        sut = new PersonCalendarService(absenceService, personService, personCalendarRepository, iCalService, new ICalFeedCache(), messageSource, Clock.systemUTC());
     }
 
     @Test
@@ -77,10 +76,11 @@ class PersonCalendarServiceTest {
         when(absenceService.getOpenAbsencesSince(eq(List.of(person)), any(LocalDate.class))).thenReturn(fullDayAbsences);
 
         when(messageSource.getMessage(eq("calendar.person.title"), any(), eq(GERMAN))).thenReturn("Abwesenheitskalender von Marlene Muster");
-        when(iCalService.getCalendar("Abwesenheitskalender von Marlene Muster", fullDayAbsences)).thenReturn(new File("calendar.ics"));
+        final ICalFeed iCal = ICalFeed.of(new byte[0]);
+        when(iCalService.getCalendarFeed("Abwesenheitskalender von Marlene Muster", fullDayAbsences)).thenReturn(iCal);
 
-        final File calendar = sut.getCalendarForPerson(1, "secret", GERMAN);
-        assertThat(calendar).hasName("calendar.ics");
+        final ICalFeed calendar = sut.getCalendarForPerson(1, "secret", GERMAN);
+        assertThat(calendar).isSameAs(iCal);
     }
 
     @Test
@@ -99,12 +99,11 @@ class PersonCalendarServiceTest {
         when(absenceService.getOpenAbsencesSince(eq(List.of(person)), any(LocalDate.class))).thenReturn(morningAbsences);
 
         when(messageSource.getMessage(eq("calendar.person.title"), any(), eq(GERMAN))).thenReturn("Abwesenheitskalender von Marlene Muster");
-        final File iCal = new File("calendar.ics");
-        iCal.deleteOnExit();
-        when(iCalService.getCalendar("Abwesenheitskalender von Marlene Muster", morningAbsences)).thenReturn(iCal);
+        final ICalFeed iCal = ICalFeed.of(new byte[0]);
+        when(iCalService.getCalendarFeed("Abwesenheitskalender von Marlene Muster", morningAbsences)).thenReturn(iCal);
 
-        final File calendar = sut.getCalendarForPerson(1, "secret", GERMAN);
-        assertThat(calendar).hasName("calendar.ics");
+        final ICalFeed calendar = sut.getCalendarForPerson(1, "secret", GERMAN);
+        assertThat(calendar).isSameAs(iCal);
     }
 
     @Test
@@ -123,10 +122,11 @@ class PersonCalendarServiceTest {
         when(absenceService.getOpenAbsencesSince(eq(List.of(person)), any(LocalDate.class))).thenReturn(manyFullDayAbsences);
 
         when(messageSource.getMessage(eq("calendar.person.title"), any(), eq(GERMAN))).thenReturn("Abwesenheitskalender von Marlene Muster");
-        when(iCalService.getCalendar("Abwesenheitskalender von Marlene Muster", manyFullDayAbsences)).thenReturn(new File("calendar.ics"));
+        final ICalFeed iCal = ICalFeed.of(new byte[0]);
+        when(iCalService.getCalendarFeed("Abwesenheitskalender von Marlene Muster", manyFullDayAbsences)).thenReturn(iCal);
 
-        final File iCal = sut.getCalendarForPerson(1, "secret", GERMAN);
-        assertThat(iCal).hasName("calendar.ics");
+        final ICalFeed calendar = sut.getCalendarForPerson(1, "secret", GERMAN);
+        assertThat(calendar).isSameAs(iCal);
     }
 
     @Test
@@ -145,10 +145,11 @@ class PersonCalendarServiceTest {
         when(absenceService.getOpenAbsencesSince(eq(List.of(person)), any(LocalDate.class))).thenReturn(noonAbsences);
 
         when(messageSource.getMessage(eq("calendar.person.title"), any(), eq(GERMAN))).thenReturn("Abwesenheitskalender von Marlene Muster");
-        when(iCalService.getCalendar("Abwesenheitskalender von Marlene Muster", noonAbsences)).thenReturn(new File("calendar.ics"));
+        final ICalFeed iCal = ICalFeed.of(new byte[0]);
+        when(iCalService.getCalendarFeed("Abwesenheitskalender von Marlene Muster", noonAbsences)).thenReturn(iCal);
 
-        final File calendar = sut.getCalendarForPerson(1, "secret", GERMAN);
-        assertThat(calendar).hasName("calendar.ics");
+        final ICalFeed calendar = sut.getCalendarForPerson(1, "secret", GERMAN);
+        assertThat(calendar).isSameAs(iCal);
     }
 
     @Test
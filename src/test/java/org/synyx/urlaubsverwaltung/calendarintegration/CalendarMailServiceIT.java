@@ -10,6 +10,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.synyx.urlaubsverwaltung.TestContainersBase;
 import org.synyx.urlaubsverwaltung.absence.Absence;
 import org.synyx.urlaubsverwaltung.mail.MailProperties;
+import org.synyx.urlaubsverwaltung.mail.OutboxMailDispatcher;
 import org.synyx.urlaubsverwaltung.person.Person;
 
 import javax.mail.Message;
@@ -32,6 +33,8 @@ class CalendarMailServiceIT extends TestContainersBase {
 
     @Autowired
     private CalendarMailService sut;
+    @Autowired
+    private OutboxMailDispatcher outboxMailDispatcher;
 
     @Autowired
     private MailProperties mailProperties;
@@ -51,6 +54,7 @@ class CalendarMailServiceIT extends TestContainersBase {
         when(absence.getEndDate()).thenReturn(ZonedDateTime.now(clock));
 
         sut.sendCalendarSyncErrorNotification("Kalendername", absence, "Calendar sync failed");
+        outboxMailDispatcher.dispatch();
 
         MimeMessage[] inbox = greenMail.getReceivedMessagesForDomain(mailProperties.getAdministrator());
         assertThat(inbox.length).isOne();
@@ -78,6 +82,7 @@ class CalendarMailServiceIT extends TestContainersBase {
         when(absence.getEndDate()).thenReturn(ZonedDateTime.now(clock));
 
         sut.sendCalendarUpdateErrorNotification("Kalendername", absence, "ID-123456", "event update failed");
+        outboxMailDispatcher.dispatch();
 
         MimeMessage[] inbox = greenMail.getReceivedMessagesForDomain(mailProperties.getAdministrator());
         assertThat(inbox.length).isOne();
@@ -98,6 +103,7 @@ class CalendarMailServiceIT extends TestContainersBase {
         IOException {
 
         sut.sendCalendarDeleteErrorNotification("Kalendername", "ID-123456", "event delete failed");
+        outboxMailDispatcher.dispatch();
 
         MimeMessage[] inbox = greenMail.getReceivedMessagesForDomain(mailProperties.getAdministrator());
         assertThat(inbox.length).isOne();
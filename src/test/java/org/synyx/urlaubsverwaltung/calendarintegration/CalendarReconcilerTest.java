@@ -0,0 +1,429 @@
+package org.synyx.urlaubsverwaltung.calendarintegration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.synyx.urlaubsverwaltung.absence.Absence;
+import org.synyx.urlaubsverwaltung.absence.AbsenceMapping;
+import org.synyx.urlaubsverwaltung.absence.AbsenceMappingService;
+import org.synyx.urlaubsverwaltung.absence.AbsenceMappingType;
+import org.synyx.urlaubsverwaltung.absence.AbsenceTimeConfiguration;
+import org.synyx.urlaubsverwaltung.absence.DatedAbsenceMapping;
+import org.synyx.urlaubsverwaltung.application.domain.Application;
+import org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus;
+import org.synyx.urlaubsverwaltung.application.service.ApplicationService;
+import org.synyx.urlaubsverwaltung.calendarintegration.CalendarReconciliationReport.Difference;
+import org.synyx.urlaubsverwaltung.calendarintegration.providers.fake.FakeCalendarProvider;
+import org.synyx.urlaubsverwaltung.calendarintegration.providers.noop.NoopCalendarSyncProvider;
+import org.synyx.urlaubsverwaltung.period.Period;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.settings.Settings;
+import org.synyx.urlaubsverwaltung.settings.SettingsService;
+import org.synyx.urlaubsverwaltung.sicknote.SickNote;
+import org.synyx.urlaubsverwaltung.sicknote.SickNoteService;
+import org.synyx.urlaubsverwaltung.sicknote.SickNoteStatus;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.synyx.urlaubsverwaltung.absence.AbsenceMappingType.SICKNOTE;
+import static org.synyx.urlaubsverwaltung.absence.AbsenceMappingType.VACATION;
+import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.ALLOWED;
+import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.WAITING;
+import static org.synyx.urlaubsverwaltung.calendarintegration.CalendarReconciliationReport.DifferenceType.CHANGED;
+import static org.synyx.urlaubsverwaltung.calendarintegration.CalendarReconciliationReport.DifferenceType.MISSING;
+import static org.synyx.urlaubsverwaltung.calendarintegration.CalendarReconciliationReport.DifferenceType.OBSOLETE;
+import static org.synyx.urlaubsverwaltung.calendarintegration.CalendarReconciliationReport.DifferenceType.STALE_MAPPING;
+import static org.synyx.urlaubsverwaltung.period.DayLength.FULL;
+import static org.synyx.urlaubsverwaltung.sicknote.SickNoteStatus.ACTIVE;
+import static org.synyx.urlaubsverwaltung.sicknote.SickNoteStatus.CANCELLED;
+
+@ExtendWith(MockitoExtension.class)
+class CalendarReconcilerTest {
+
+    private static final Instant NOW = Instant.parse("2021-07-01T08:00:00Z");
+
+    private CalendarReconciler sut;
+
+    @Mock
+    private AbsenceMappingService absenceMappingService;
+    @Mock
+    private ApplicationService applicationService;
+    @Mock
+    private SickNoteService sickNoteService;
+    @Mock
+    private CalendarSyncOperationRepository calendarSyncOperationRepository;
+    @Mock
+    private CalendarReconciliationRepository calendarReconciliationRepository;
+    @Mock
+    private CalendarService calendarService;
+    @Mock
+    private SettingsService settingsService;
+
+    private final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+    private final Settings settings = new Settings();
+    private final List<Integer> savedCheckpoints = new ArrayList<>();
+
+    private FakeCalendarProvider calendarProvider;
+    private MeterRegistry meterRegistry;
+    private CalendarSyncProperties calendarSyncProperties;
+
+    @BeforeEach
+    void setUp() {
+        calendarProvider = new FakeCalendarProvider();
+        meterRegistry = new SimpleMeterRegistry();
+
+        calendarSyncProperties = new CalendarSyncProperties();
+        calendarSyncProperties.getReconciliation().setPageSize(10);
+        calendarSyncProperties.getReconciliation().setWorkers(2);
+
+        sut = createReconciler();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sut.destroy();
+    }
+
+    @Test
+    void ensureRepairsDifferencesWithOneRequestPerKindOfRepair() {
+
+        givenCalendarProvider();
+        givenNoCheckpoint();
+
+        final String matchingEventId = addEvent(LocalDate.of(2021, 7, 1));
+        final String changedEventId = addEvent(LocalDate.of(2021, 7, 5));
+        final String obsoleteEventId = addEvent(LocalDate.of(2021, 7, 3));
+        final String vanishedEventId = addEvent(LocalDate.of(2021, 7, 4));
+        final int requestsBefore = calendarProvider.getRequests();
+
+        final AbsenceMapping matching = mapping(1, VACATION, matchingEventId);
+        final AbsenceMapping missing = mapping(2, VACATION, "gone");
+        final AbsenceMapping changed = mapping(3, VACATION, changedEventId);
+        final AbsenceMapping obsolete = mapping(4, SICKNOTE, obsoleteEventId);
+        final AbsenceMapping stale = mapping(5, SICKNOTE, "also-gone");
+        final AbsenceMapping vanished = mapping(6, VACATION, vanishedEventId);
+        when(absenceMappingService.getAbsenceMappingsWithoutAbsence(0, 10)).thenReturn(List.of(vanished));
+        when(absenceMappingService.getAbsenceMappingsByStartDate(null, null, 10)).thenReturn(List.of(
+            dated(matching, LocalDate.of(2021, 7, 1)),
+            dated(missing, LocalDate.of(2021, 7, 2)),
+            dated(changed, LocalDate.of(2021, 7, 6)),
+            dated(obsolete, LocalDate.of(2021, 7, 3)),
+            dated(stale, LocalDate.of(2021, 7, 8))));
+        when(applicationService.getApplicationsByIds(any())).thenReturn(List.of(
+            application(1, LocalDate.of(2021, 7, 1), ALLOWED),
+            application(2, LocalDate.of(2021, 7, 2), WAITING),
+            application(3, LocalDate.of(2021, 7, 6), ALLOWED)));
+        when(sickNoteService.getByIds(any())).thenReturn(List.of(
+            sickNote(4, LocalDate.of(2021, 7, 3), CANCELLED),
+            sickNote(5, LocalDate.of(2021, 7, 8), CANCELLED)));
+
+        final CalendarReconciliationReport report = sut.reconcile(false);
+
+        assertThat(report.getDifferences())
+            .extracting(Difference::getAbsenceId, Difference::getType, Difference::isRepaired)
+            .containsExactly(
+                tuple(6, OBSOLETE, true),
+                tuple(2, MISSING, true),
+                tuple(3, CHANGED, true),
+                tuple(4, OBSOLETE, true),
+                tuple(5, STALE_MAPPING, true));
+        assertThat(report.getUnchanged()).isOne();
+        assertThat(report.getFailed()).isZero();
+
+        // one deletion without listing, then one listing, one addition, one update and one deletion
+        assertThat(calendarProvider.getRequests() - requestsBefore).isEqualTo(5);
+        assertThat(calendarProvider.getEvents()).containsOnlyKeys(matchingEventId, changedEventId, "event-5");
+        assertThat(calendarProvider.getEvents().get(changedEventId).getStartDate().toLocalDate()).isEqualTo(LocalDate.of(2021, 7, 6));
+
+        verify(absenceMappingService).delete(missing);
+        verify(absenceMappingService).create(2, VACATION, "event-5");
+        verify(absenceMappingService, never()).delete(matching);
+        verify(absenceMappingService, never()).delete(changed);
+        verify(absenceMappingService).delete(obsolete);
+        verify(absenceMappingService).delete(stale);
+        verify(absenceMappingService).delete(vanished);
+
+        assertThat(savedCheckpoints).containsExactly(5, null);
+        assertThat(meterRegistry.get("calendar.sync.reconciliation.differences").tag("type", "obsolete").tag("result", "repaired").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void ensureDryRunOnlyReportsDifferences() {
+
+        givenCalendarProvider();
+
+        final String obsoleteEventId = addEvent(LocalDate.of(2021, 7, 3));
+
+        final AbsenceMapping missing = mapping(1, VACATION, "gone");
+        final AbsenceMapping obsolete = mapping(2, SICKNOTE, obsoleteEventId);
+        when(absenceMappingService.getAbsenceMappingsByStartDate(null, null, 10)).thenReturn(List.of(
+            dated(missing, LocalDate.of(2021, 7, 2)),
+            dated(obsolete, LocalDate.of(2021, 7, 3))));
+        when(applicationService.getApplicationsByIds(any())).thenReturn(List.of(application(1, LocalDate.of(2021, 7, 2), ALLOWED)));
+        when(sickNoteService.getByIds(any())).thenReturn(List.of(sickNote(2, LocalDate.of(2021, 7, 3), CANCELLED)));
+
+        final CalendarReconciliationReport report = sut.reconcile(true);
+
+        assertThat(report.isDryRun()).isTrue();
+        assertThat(report.getDifferences())
+            .extracting(Difference::getAbsenceId, Difference::getType, Difference::isRepaired)
+            .containsExactly(tuple(1, MISSING, false), tuple(2, OBSOLETE, false));
+        assertThat(report.getFailed()).isZero();
+        assertThat(calendarProvider.getEvents()).containsOnlyKeys(obsoleteEventId);
+        verify(absenceMappingService, never()).delete(any());
+        verify(absenceMappingService, never()).create(any(), any(), any());
+        verifyNoInteractions(calendarReconciliationRepository);
+    }
+
+    @Test
+    void ensureResumesAfterCheckpointAndSavesCheckpointAfterEveryRound() {
+
+        calendarSyncProperties.getReconciliation().setPageSize(1);
+        calendarSyncProperties.getReconciliation().setWorkers(1);
+        sut.destroy();
+        sut = createReconciler();
+
+        givenCalendarProvider();
+        final CalendarReconciliation checkpoint = new CalendarReconciliation();
+        checkpoint.setLastStartDate(LocalDate.of(2021, 6, 30));
+        checkpoint.setLastAbsenceMappingId(7);
+        givenCheckpoint(checkpoint);
+
+        final String firstEventId = addEvent(LocalDate.of(2021, 7, 1));
+        final String secondEventId = addEvent(LocalDate.of(2021, 7, 2));
+        when(absenceMappingService.getAbsenceMappingsByStartDate(LocalDate.of(2021, 6, 30), 7, 1))
+            .thenReturn(List.of(dated(mapping(8, VACATION, firstEventId), LocalDate.of(2021, 7, 1))));
+        when(absenceMappingService.getAbsenceMappingsByStartDate(LocalDate.of(2021, 7, 1), 8, 1))
+            .thenReturn(List.of(dated(mapping(9, VACATION, secondEventId), LocalDate.of(2021, 7, 2))));
+        when(absenceMappingService.getAbsenceMappingsByStartDate(LocalDate.of(2021, 7, 2), 9, 1)).thenReturn(List.of());
+        when(applicationService.getApplicationsByIds(any())).thenReturn(
+            List.of(application(8, LocalDate.of(2021, 7, 1), ALLOWED)),
+            List.of(application(9, LocalDate.of(2021, 7, 2), ALLOWED)));
+
+        final CalendarReconciliationReport report = sut.reconcile(false);
+
+        assertThat(report.getUnchanged()).isEqualTo(2);
+        assertThat(savedCheckpoints).containsExactly(8, 9, 9, null);
+        assertThat(checkpoint.getFinishedAt()).isEqualTo(NOW);
+        assertThat(checkpoint.getLastStartDate()).isNull();
+        assertThat(checkpoint.getClaimedUntil()).isNull();
+    }
+
+    @Test
+    void ensureCutsWindowsOnWindowSpan() {
+
+        calendarSyncProperties.getReconciliation().setWindowSpan(Duration.ofDays(7));
+        sut.destroy();
+        sut = createReconciler();
+
+        givenCalendarProvider();
+        givenNoCheckpoint();
+
+        final String firstEventId = addEvent(LocalDate.of(2021, 7, 1));
+        final String secondEventId = addEvent(LocalDate.of(2021, 7, 7));
+        final String thirdEventId = addEvent(LocalDate.of(2021, 7, 8));
+        final int requestsBefore = calendarProvider.getRequests();
+
+        when(absenceMappingService.getAbsenceMappingsByStartDate(null, null, 10)).thenReturn(List.of(
+            dated(mapping(1, VACATION, firstEventId), LocalDate.of(2021, 7, 1)),
+            dated(mapping(2, VACATION, secondEventId), LocalDate.of(2021, 7, 7)),
+            dated(mapping(3, VACATION, thirdEventId), LocalDate.of(2021, 7, 8))));
+        when(applicationService.getApplicationsByIds(any())).thenReturn(List.of(
+            application(1, LocalDate.of(2021, 7, 1), ALLOWED),
+            application(2, LocalDate.of(2021, 7, 7), ALLOWED),
+            application(3, LocalDate.of(2021, 7, 8), ALLOWED)));
+
+        final CalendarReconciliationReport report = sut.reconcile(false);
+
+        assertThat(report.getUnchanged()).isEqualTo(3);
+        assertThat(report.getDifferences()).isEmpty();
+        assertThat(calendarProvider.getRequests() - requestsBefore).isEqualTo(2);
+    }
+
+    @Test
+    void ensureDeletesEventAddedAgainIfAbsenceHasBeenMappedMeanwhile() {
+
+        givenCalendarProvider();
+        givenNoCheckpoint();
+
+        final AbsenceMapping missing = mapping(1, VACATION, "gone");
+        when(absenceMappingService.getAbsenceMappingsByStartDate(null, null, 10)).thenReturn(List.of(dated(missing, LocalDate.of(2021, 7, 2))));
+        when(applicationService.getApplicationsByIds(any())).thenReturn(List.of(application(1, LocalDate.of(2021, 7, 2), ALLOWED)));
+        when(absenceMappingService.create(1, VACATION, "event-1")).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        final CalendarReconciliationReport report = sut.reconcile(false);
+
+        assertThat(report.getDifferences())
+            .extracting(Difference::getAbsenceId, Difference::getType, Difference::isRepaired)
+            .containsExactly(tuple(1, MISSING, true));
+        assertThat(calendarProvider.getEvents()).isEmpty();
+    }
+
+    @Test
+    void ensureSkipsReconciliationClaimedByAnotherInstance() {
+
+        when(calendarService.getCalendarProvider()).thenReturn(calendarProvider);
+        when(calendarReconciliationRepository.existsById(CalendarReconciliation.ID)).thenReturn(true);
+        when(calendarReconciliationRepository.claim(CalendarReconciliation.ID, NOW, NOW.plus(Duration.ofMinutes(30)))).thenReturn(0);
+
+        final CalendarReconciliationReport report = sut.reconcile(false);
+
+        assertThat(report.getDifferences()).isEmpty();
+        verifyNoInteractions(absenceMappingService);
+        verify(calendarReconciliationRepository, never()).save(any());
+    }
+
+    @Test
+    void ensureCreatesReconciliationBeforeClaimingIt() {
+
+        givenCalendarProvider();
+        final CalendarReconciliation reconciliation = new CalendarReconciliation();
+        when(calendarReconciliationRepository.existsById(CalendarReconciliation.ID)).thenReturn(false);
+        when(calendarReconciliationRepository.claim(CalendarReconciliation.ID, NOW, NOW.plus(Duration.ofMinutes(30)))).thenReturn(1);
+        when(calendarReconciliationRepository.findById(CalendarReconciliation.ID)).thenReturn(Optional.of(reconciliation));
+
+        sut.reconcile(false);
+
+        final InOrder inOrder = inOrder(calendarReconciliationRepository);
+        inOrder.verify(calendarReconciliationRepository).save(argThat(created -> created != reconciliation));
+        inOrder.verify(calendarReconciliationRepository).claim(CalendarReconciliation.ID, NOW, NOW.plus(Duration.ofMinutes(30)));
+        assertThat(reconciliation.getFinishedAt()).isEqualTo(NOW);
+    }
+
+    @Test
+    void ensureSkipsAbsencesWithPendingOperation() {
+
+        givenCalendarProvider();
+        givenNoCheckpoint();
+
+        final AbsenceMapping pending = mapping(1, VACATION, "gone");
+        when(absenceMappingService.getAbsenceMappingsByStartDate(null, null, 10)).thenReturn(List.of(dated(pending, LocalDate.of(2021, 7, 2))));
+        when(applicationService.getApplicationsByIds(any())).thenReturn(List.of(application(1, LocalDate.of(2021, 7, 2), ALLOWED)));
+        when(calendarSyncOperationRepository.findByAbsenceIdIn(any())).thenReturn(List.of(new CalendarSyncOperation(1, VACATION)));
+
+        final CalendarReconciliationReport report = sut.reconcile(false);
+
+        assertThat(report.getSkipped()).isOne();
+        assertThat(report.getDifferences()).isEmpty();
+        assertThat(calendarProvider.getRequests()).isZero();
+    }
+
+    @Test
+    void ensureLeavesAbsenceMappingsAloneIfEventsCanNotBeListed() {
+
+        givenCalendarProvider();
+        givenNoCheckpoint();
+
+        final AbsenceMapping missing = mapping(1, SICKNOTE, "gone");
+        when(absenceMappingService.getAbsenceMappingsByStartDate(null, null, 10)).thenReturn(List.of(dated(missing, LocalDate.of(2021, 7, 2))));
+        when(sickNoteService.getByIds(any())).thenReturn(List.of(sickNote(1, LocalDate.of(2021, 7, 2), ACTIVE)));
+        calendarProvider.failNextRequests(1);
+
+        final CalendarReconciliationReport report = sut.reconcile(false);
+
+        assertThat(report.getUnlisted()).isOne();
+        assertThat(report.getDifferences()).isEmpty();
+        assertThat(calendarProvider.getEvents()).isEmpty();
+        verify(absenceMappingService, never()).delete(any());
+    }
+
+    @Test
+    void ensureSkipsReconciliationIfNoCalendarProviderIsConfigured() {
+
+        when(calendarService.getCalendarProvider()).thenReturn(new NoopCalendarSyncProvider());
+
+        final CalendarReconciliationReport report = sut.reconcile(false);
+
+        assertThat(report.getDifferences()).isEmpty();
+        verify(absenceMappingService, never()).getAbsenceMappingsByStartDate(any(), any(), anyInt());
+        verifyNoInteractions(calendarReconciliationRepository);
+    }
+
+    private CalendarReconciler createReconciler() {
+        return new CalendarReconciler(absenceMappingService, applicationService, sickNoteService, calendarSyncOperationRepository,
+            calendarReconciliationRepository, calendarService, settingsService, calendarSyncProperties, meterRegistry,
+            Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private void givenCalendarProvider() {
+        when(calendarService.getCalendarProvider()).thenReturn(calendarProvider);
+        when(settingsService.getSettings()).thenReturn(settings);
+    }
+
+    private void givenNoCheckpoint() {
+        givenCheckpoint(new CalendarReconciliation());
+    }
+
+    private void givenCheckpoint(CalendarReconciliation checkpoint) {
+        when(calendarReconciliationRepository.existsById(CalendarReconciliation.ID)).thenReturn(true);
+        when(calendarReconciliationRepository.claim(eq(CalendarReconciliation.ID), eq(NOW), any())).thenReturn(1);
+        when(calendarReconciliationRepository.findById(CalendarReconciliation.ID)).thenReturn(Optional.of(checkpoint));
+        when(calendarReconciliationRepository.save(any())).thenAnswer(invocation -> {
+            final CalendarReconciliation reconciliation = invocation.getArgument(0);
+            savedCheckpoints.add(reconciliation.getLastAbsenceMappingId());
+            return reconciliation;
+        });
+    }
+
+    private String addEvent(LocalDate date) {
+        final Absence absence = new Absence(person, new Period(date, date, FULL), new AbsenceTimeConfiguration(settings.getTimeSettings()));
+        return calendarProvider.add(absence, null).orElseThrow();
+    }
+
+    private static DatedAbsenceMapping dated(AbsenceMapping absenceMapping, LocalDate startDate) {
+        return new DatedAbsenceMapping(absenceMapping, startDate);
+    }
+
+    private static AbsenceMapping mapping(Integer absenceId, AbsenceMappingType absenceMappingType, String eventId) {
+        final AbsenceMapping absenceMapping = new AbsenceMapping(absenceId, absenceMappingType, eventId);
+        absenceMapping.setId(absenceId);
+        return absenceMapping;
+    }
+
+    private Application application(Integer id, LocalDate date, ApplicationStatus status) {
+        final Application application = new Application();
+        application.setId(id);
+        application.setPerson(person);
+        application.setStartDate(date);
+        application.setEndDate(date);
+        application.setDayLength(FULL);
+        application.setStatus(status);
+        return application;
+    }
+
+    private SickNote sickNote(Integer id, LocalDate date, SickNoteStatus status) {
+        final SickNote sickNote = new SickNote();
+        sickNote.setId(id);
+        sickNote.setPerson(person);
+        sickNote.setStartDate(date);
+        sickNote.setEndDate(date);
+        sickNote.setDayLength(FULL);
+        sickNote.setStatus(status);
+        return sickNote;
+    }
+}
@@ -58,7 +58,7 @@ class CalendarServiceTest {
         List<CalendarProvider> calendarProviders = new ArrayList<>();
         calendarProviders.add(new NoopCalendarSyncProvider());
         calendarProviders.add(new ExchangeCalendarProvider(null));
-        calendarProviders.add(new GoogleCalendarSyncProvider(null, null));
+        calendarProviders.add(new GoogleCalendarSyncProvider(null, null, null));
 
         return calendarProviders;
     }
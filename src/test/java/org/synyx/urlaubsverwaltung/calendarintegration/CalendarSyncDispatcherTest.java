@@ -0,0 +1,292 @@
+package org.synyx.urlaubsverwaltung.calendarintegration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.synyx.urlaubsverwaltung.absence.Absence;
+import org.synyx.urlaubsverwaltung.absence.AbsenceMapping;
+import org.synyx.urlaubsverwaltung.absence.AbsenceMappingService;
+import org.synyx.urlaubsverwaltung.absence.AbsenceMappingType;
+import org.synyx.urlaubsverwaltung.absence.AbsenceTimeConfiguration;
+import org.synyx.urlaubsverwaltung.absence.TimeSettings;
+import org.synyx.urlaubsverwaltung.calendarintegration.providers.fake.FakeCalendarProvider;
+import org.synyx.urlaubsverwaltung.calendarintegration.providers.noop.NoopCalendarSyncProvider;
+import org.synyx.urlaubsverwaltung.period.Period;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.settings.Settings;
+import org.synyx.urlaubsverwaltung.settings.SettingsService;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.synyx.urlaubsverwaltung.absence.AbsenceMappingType.SICKNOTE;
+import static org.synyx.urlaubsverwaltung.absence.AbsenceMappingType.VACATION;
+import static org.synyx.urlaubsverwaltung.period.DayLength.FULL;
+
+@ExtendWith(MockitoExtension.class)
+class CalendarSyncDispatcherTest {
+
+    private static final Instant NOW = Instant.parse("2021-07-01T08:00:00Z");
+
+    private CalendarSyncDispatcher sut;
+
+    @Mock
+    private CalendarSyncOperationRepository calendarSyncOperationRepository;
+    @Mock
+    private AbsenceMappingService absenceMappingService;
+    @Mock
+    private CalendarService calendarService;
+    @Mock
+    private SettingsService settingsService;
+
+    private FakeCalendarProvider calendarProvider;
+    private MeterRegistry meterRegistry;
+    private CalendarSyncProperties calendarSyncProperties;
+
+    @BeforeEach
+    void setUp() {
+        calendarProvider = new FakeCalendarProvider();
+        meterRegistry = new SimpleMeterRegistry();
+
+        calendarSyncProperties = new CalendarSyncProperties();
+        calendarSyncProperties.getQueue().setBatchSize(4);
+        calendarSyncProperties.getQueue().setWorkers(1);
+        calendarSyncProperties.getQueue().setMaxAttempts(3);
+
+        sut = new CalendarSyncDispatcher(calendarSyncOperationRepository, absenceMappingService, calendarService, settingsService,
+            calendarSyncProperties, meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @AfterEach
+    void tearDown() {
+        sut.destroy();
+    }
+
+    @Test
+    void ensureAddsEventsWithOneRequestAndCreatesMappings() {
+
+        final CalendarSyncOperation vacation = sync(1, VACATION);
+        final CalendarSyncOperation sickNote = sync(2, SICKNOTE);
+        givenDueOperations(vacation, sickNote);
+        when(absenceMappingService.getAbsenceByIdAndType(1, VACATION)).thenReturn(Optional.empty());
+        when(absenceMappingService.getAbsenceByIdAndType(2, SICKNOTE)).thenReturn(Optional.empty());
+
+        sut.dispatch();
+
+        assertThat(calendarProvider.getRequests()).isOne();
+        assertThat(calendarProvider.getEvents()).containsOnlyKeys("event-1", "event-2");
+        verify(absenceMappingService).create(1, VACATION, "event-1");
+        verify(absenceMappingService).create(2, SICKNOTE, "event-2");
+        verify(calendarSyncOperationRepository).delete(vacation);
+        verify(calendarSyncOperationRepository).delete(sickNote);
+        assertThat(meterRegistry.get("calendar.sync.queue.sync").timer().count()).isOne();
+    }
+
+    @Test
+    void ensureUpdatesAndDeletesMappedEvents() {
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        final Period period = new Period(LocalDate.of(2021, 6, 1), LocalDate.of(2021, 6, 1), FULL);
+        final Absence absence = new Absence(person, period, new AbsenceTimeConfiguration(new TimeSettings()));
+        final String updatedEventId = calendarProvider.add(absence, null).orElseThrow();
+        final String deletedEventId = calendarProvider.add(absence, null).orElseThrow();
+
+        final CalendarSyncOperation update = sync(1, VACATION);
+        final CalendarSyncOperation deletion = delete(2, VACATION);
+        givenDueOperations(update, deletion);
+        final AbsenceMapping deletedMapping = new AbsenceMapping(2, VACATION, deletedEventId);
+        when(absenceMappingService.getAbsenceByIdAndType(1, VACATION)).thenReturn(Optional.of(new AbsenceMapping(1, VACATION, updatedEventId)));
+        when(absenceMappingService.getAbsenceByIdAndType(2, VACATION)).thenReturn(Optional.of(deletedMapping));
+
+        sut.dispatch();
+
+        assertThat(calendarProvider.getEvents()).containsOnlyKeys(updatedEventId);
+        assertThat(calendarProvider.getEvents().get(updatedEventId).getStartDate().toLocalDate()).isEqualTo(LocalDate.of(2021, 7, 1));
+        verify(absenceMappingService, never()).create(any(), any(), any());
+        verify(absenceMappingService).delete(deletedMapping);
+        verify(calendarSyncOperationRepository).delete(update);
+        verify(calendarSyncOperationRepository).delete(deletion);
+    }
+
+    @Test
+    void ensureDeletionOfUnmappedEventNeedsNoRequest() {
+
+        final CalendarSyncOperation deletion = delete(1, SICKNOTE);
+        givenDueOperations(deletion);
+        when(absenceMappingService.getAbsenceByIdAndType(1, SICKNOTE)).thenReturn(Optional.empty());
+
+        sut.dispatch();
+
+        assertThat(calendarProvider.getRequests()).isZero();
+        verify(calendarSyncOperationRepository).delete(deletion);
+    }
+
+    @Test
+    void ensureRetriesFailedOperationsWithExponentialBackoff() {
+
+        final CalendarSyncOperation vacation = sync(1, VACATION);
+        vacation.failedAttempt(NOW);
+        givenDueOperations(vacation);
+        when(absenceMappingService.getAbsenceByIdAndType(1, VACATION)).thenReturn(Optional.empty());
+        calendarProvider.failNextRequests(1);
+
+        sut.dispatch();
+
+        assertThat(vacation.getAttempts()).isEqualTo(2);
+        assertThat(vacation.getNextAttemptAt()).isEqualTo(NOW.plus(Duration.ofMinutes(2)));
+        verify(calendarSyncOperationRepository).save(vacation);
+        verify(calendarSyncOperationRepository, never()).delete(vacation);
+        verify(absenceMappingService, never()).create(any(), any(), any());
+        assertThat(meterRegistry.get("calendar.sync.queue.failures").tag("result", "retried").counter().count()).isOne();
+    }
+
+    @Test
+    void ensureDropsOperationsAfterMaxAttempts() {
+
+        final CalendarSyncOperation vacation = sync(1, VACATION);
+        vacation.failedAttempt(NOW);
+        vacation.failedAttempt(NOW);
+        givenDueOperations(vacation);
+        when(absenceMappingService.getAbsenceByIdAndType(1, VACATION)).thenReturn(Optional.empty());
+        calendarProvider.failNextRequests(1);
+
+        sut.dispatch();
+
+        verify(calendarSyncOperationRepository).delete(vacation);
+        verify(calendarSyncOperationRepository, never()).save(vacation);
+        assertThat(meterRegistry.get("calendar.sync.queue.failures").tag("result", "dropped").counter().count()).isOne();
+    }
+
+    @Test
+    void ensureKeepsMappingOfOperationReplacedWhileBeingExecuted() {
+
+        final CalendarSyncOperation vacation = sync(1, VACATION);
+        givenDueOperations(vacation);
+        when(absenceMappingService.getAbsenceByIdAndType(1, VACATION)).thenReturn(Optional.empty());
+        doThrow(new ObjectOptimisticLockingFailureException(CalendarSyncOperation.class, 1L))
+            .when(calendarSyncOperationRepository).delete(vacation);
+
+        sut.dispatch();
+
+        verify(absenceMappingService).create(1, VACATION, "event-1");
+    }
+
+    @Test
+    void ensureDropsOperationsIfNoCalendarProviderIsConfigured() {
+
+        final CalendarSyncOperation vacation = sync(1, VACATION);
+        when(calendarSyncOperationRepository.findByNextAttemptAtLessThanEqualOrderById(NOW, PageRequest.of(0, 4))).thenReturn(List.of(vacation));
+        when(calendarSyncOperationRepository.claim(any(), any(), any())).thenReturn(1);
+        when(calendarService.getCalendarProvider()).thenReturn(new NoopCalendarSyncProvider());
+
+        sut.dispatch();
+
+        verify(calendarSyncOperationRepository).delete(vacation);
+        verifyNoInteractions(absenceMappingService);
+    }
+
+    @Test
+    void ensureSplitsBatchAmongWorkersAndLoadsNextBatchIfBatchIsFull() {
+
+        calendarSyncProperties.getQueue().setWorkers(2);
+        sut.destroy();
+        sut = new CalendarSyncDispatcher(calendarSyncOperationRepository, absenceMappingService, calendarService, settingsService,
+            calendarSyncProperties, meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        final List<CalendarSyncOperation> firstBatch = List.of(sync(1, VACATION), sync(2, VACATION), sync(3, VACATION), sync(4, VACATION));
+        final List<CalendarSyncOperation> secondBatch = List.of(sync(5, VACATION));
+        when(calendarSyncOperationRepository.findByNextAttemptAtLessThanEqualOrderById(NOW, PageRequest.of(0, 4)))
+            .thenReturn(firstBatch, secondBatch);
+        when(calendarSyncOperationRepository.claim(any(), any(), any())).thenReturn(1);
+        when(calendarService.getCalendarProvider()).thenReturn(calendarProvider);
+        when(settingsService.getSettings()).thenReturn(new Settings());
+        when(absenceMappingService.getAbsenceByIdAndType(any(), any())).thenReturn(Optional.empty());
+
+        sut.dispatch();
+
+        assertThat(calendarProvider.getRequests()).isEqualTo(3);
+        assertThat(calendarProvider.getEvents()).hasSize(5);
+        assertThat(meterRegistry.get("calendar.sync.queue.sync").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    void ensureClaimsOperationsAndSkipsOperationsClaimedByAnotherInstance() {
+
+        final CalendarSyncOperation claimed = sync(1, VACATION);
+        claimed.setId(1L);
+        final CalendarSyncOperation claimedByAnotherInstance = sync(2, VACATION);
+        claimedByAnotherInstance.setId(2L);
+        when(calendarSyncOperationRepository.findByNextAttemptAtLessThanEqualOrderById(NOW, PageRequest.of(0, 4)))
+            .thenReturn(List.of(claimed, claimedByAnotherInstance));
+        when(calendarSyncOperationRepository.claim(1L, NOW, NOW.plus(Duration.ofMinutes(10)))).thenReturn(1);
+        when(calendarSyncOperationRepository.claim(2L, NOW, NOW.plus(Duration.ofMinutes(10)))).thenReturn(0);
+        when(calendarService.getCalendarProvider()).thenReturn(calendarProvider);
+        when(settingsService.getSettings()).thenReturn(new Settings());
+        when(absenceMappingService.getAbsenceByIdAndType(1, VACATION)).thenReturn(Optional.empty());
+
+        sut.dispatch();
+
+        assertThat(calendarProvider.getEvents()).containsOnlyKeys("event-1");
+        verify(absenceMappingService).create(1, VACATION, "event-1");
+        verify(calendarSyncOperationRepository).delete(claimed);
+        verify(absenceMappingService, never()).getAbsenceByIdAndType(2, VACATION);
+        verify(calendarSyncOperationRepository, never()).delete(claimedByAnotherInstance);
+    }
+
+    @Test
+    void ensureDeletesEventAndRetriesOperationIfAbsenceHasBeenMappedMeanwhile() {
+
+        final CalendarSyncOperation vacation = sync(1, VACATION);
+        givenDueOperations(vacation);
+        when(absenceMappingService.getAbsenceByIdAndType(1, VACATION)).thenReturn(Optional.empty());
+        when(absenceMappingService.create(1, VACATION, "event-1")).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        sut.dispatch();
+
+        assertThat(calendarProvider.getEvents()).isEmpty();
+        assertThat(vacation.getAttempts()).isOne();
+        verify(calendarSyncOperationRepository).save(vacation);
+        verify(calendarSyncOperationRepository, never()).delete(vacation);
+    }
+
+    private void givenDueOperations(CalendarSyncOperation... operations) {
+        when(calendarSyncOperationRepository.findByNextAttemptAtLessThanEqualOrderById(NOW, PageRequest.of(0, 4))).thenReturn(List.of(operations));
+        when(calendarSyncOperationRepository.claim(any(), eq(NOW), eq(NOW.plus(Duration.ofMinutes(10))))).thenReturn(1);
+        when(calendarService.getCalendarProvider()).thenReturn(calendarProvider);
+        when(settingsService.getSettings()).thenReturn(new Settings());
+    }
+
+    private static CalendarSyncOperation sync(Integer absenceId, AbsenceMappingType absenceMappingType) {
+        final CalendarSyncOperation operation = new CalendarSyncOperation(absenceId, absenceMappingType);
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        operation.sync(person, new Period(LocalDate.of(2021, 7, 1), LocalDate.of(2021, 7, 2), FULL), NOW);
+        return operation;
+    }
+
+    private static CalendarSyncOperation delete(Integer absenceId, AbsenceMappingType absenceMappingType) {
+        final CalendarSyncOperation operation = new CalendarSyncOperation(absenceId, absenceMappingType);
+        operation.delete(NOW);
+        return operation;
+    }
+}
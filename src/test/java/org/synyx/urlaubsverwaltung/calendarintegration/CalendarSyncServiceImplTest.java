@@ -2,15 +2,30 @@ package org.synyx.urlaubsverwaltung.calendarintegration;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.synyx.urlaubsverwaltung.absence.Absence;
+import org.mockito.ArgumentCaptor;
 import org.synyx.urlaubsverwaltung.calendarintegration.providers.exchange.ExchangeCalendarProvider;
+import org.synyx.urlaubsverwaltung.period.Period;
+import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.settings.Settings;
 import org.synyx.urlaubsverwaltung.settings.SettingsService;
 
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.synyx.urlaubsverwaltung.absence.AbsenceMappingType.SICKNOTE;
+import static org.synyx.urlaubsverwaltung.absence.AbsenceMappingType.VACATION;
+import static org.synyx.urlaubsverwaltung.calendarintegration.CalendarSyncAction.DELETE;
+import static org.synyx.urlaubsverwaltung.calendarintegration.CalendarSyncAction.SYNC;
+import static org.synyx.urlaubsverwaltung.period.DayLength.FULL;
+import static org.synyx.urlaubsverwaltung.period.DayLength.MORNING;
 
 
 /**
@@ -18,7 +33,10 @@ import static org.mockito.Mockito.when;
  */
 class CalendarSyncServiceImplTest {
 
+    private static final Instant NOW = Instant.parse("2021-07-01T08:00:00Z");
+
     private CalendarService calendarService;
+    private CalendarSyncOperationRepository calendarSyncOperationRepository;
 
     private CalendarSyncService calendarSyncService;
     private Settings settings;
@@ -35,44 +53,52 @@ class CalendarSyncServiceImplTest {
 
         when(calendarService.getCalendarProvider()).thenReturn(mock(ExchangeCalendarProvider.class));
 
-        calendarSyncService = new CalendarSyncServiceImpl(settingsService, calendarService);
-    }
-
-    @Test
-    void ensureAddsAbsenceToExchangeCalendar() {
-
-        ExchangeCalendarSettings calendarSettings = settings.getCalendarSettings().getExchangeCalendarSettings();
-
-        Absence absence = mock(Absence.class);
+        calendarSyncOperationRepository = mock(CalendarSyncOperationRepository.class);
 
-        calendarSyncService.addAbsence(absence);
-
-        verify(calendarService.getCalendarProvider()).add(absence, settings.getCalendarSettings());
+        calendarSyncService = new CalendarSyncServiceImpl(settingsService, calendarService, calendarSyncOperationRepository,
+            Clock.fixed(NOW, ZoneOffset.UTC));
     }
 
     @Test
-    void ensureUpdatesAbsenceInExchangeCalendar() {
-
-        ExchangeCalendarSettings calendarSettings = settings.getCalendarSettings().getExchangeCalendarSettings();
-
-        Absence absence = mock(Absence.class);
-        String eventId = "event-1";
-
-        calendarSyncService.update(absence, eventId);
-
-        verify(calendarService.getCalendarProvider()).update(absence, eventId, settings.getCalendarSettings());
+    void ensureQueuesSyncOfAbsence() {
+
+        when(calendarSyncOperationRepository.findByAbsenceIdAndAbsenceMappingType(1, VACATION)).thenReturn(Optional.empty());
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        final LocalDate start = LocalDate.of(2021, 7, 1);
+        final LocalDate end = LocalDate.of(2021, 7, 1);
+
+        calendarSyncService.syncAbsence(1, VACATION, person, new Period(start, end, MORNING));
+
+        final ArgumentCaptor<CalendarSyncOperation> captor = ArgumentCaptor.forClass(CalendarSyncOperation.class);
+        verify(calendarSyncOperationRepository).save(captor.capture());
+        final CalendarSyncOperation operation = captor.getValue();
+        assertThat(operation.getAbsenceId()).isEqualTo(1);
+        assertThat(operation.getAbsenceMappingType()).isEqualTo(VACATION);
+        assertThat(operation.getAction()).isEqualTo(SYNC);
+        assertThat(operation.getPerson()).isEqualTo(person);
+        assertThat(operation.getPeriod().getStartDate()).isEqualTo(start);
+        assertThat(operation.getPeriod().getEndDate()).isEqualTo(end);
+        assertThat(operation.getPeriod().getDayLength()).isEqualTo(MORNING);
+        assertThat(operation.getNextAttemptAt()).isEqualTo(NOW);
     }
 
     @Test
-    void ensureDeletedAbsenceInExchangeCalendar() {
-
-        ExchangeCalendarSettings calendarSettings = settings.getCalendarSettings().getExchangeCalendarSettings();
+    void ensureDeletionReplacesPendingSyncOfAbsence() {
 
-        String eventId = "event-1";
+        final CalendarSyncOperation pendingOperation = new CalendarSyncOperation(1, SICKNOTE);
+        pendingOperation.sync(new Person(), new Period(LocalDate.of(2021, 7, 1), LocalDate.of(2021, 7, 1), FULL), NOW.minusSeconds(60));
+        pendingOperation.failedAttempt(NOW.plusSeconds(60));
+        when(calendarSyncOperationRepository.findByAbsenceIdAndAbsenceMappingType(1, SICKNOTE)).thenReturn(Optional.of(pendingOperation));
 
-        calendarSyncService.deleteAbsence(eventId);
+        calendarSyncService.deleteAbsence(1, SICKNOTE);
 
-        verify(calendarService.getCalendarProvider()).delete(eventId, settings.getCalendarSettings());
+        verify(calendarSyncOperationRepository).save(pendingOperation);
+        assertThat(pendingOperation.getAction()).isEqualTo(DELETE);
+        assertThat(pendingOperation.getPerson()).isNull();
+        assertThat(pendingOperation.getPeriod()).isNull();
+        assertThat(pendingOperation.getAttempts()).isZero();
+        assertThat(pendingOperation.getNextAttemptAt()).isEqualTo(NOW);
     }
 
     @Test
@@ -1,6 +1,11 @@
 package org.synyx.urlaubsverwaltung.calendarintegration.providers.exchange;
 
 import microsoft.exchange.webservices.data.core.ExchangeService;
+import microsoft.exchange.webservices.data.core.enumeration.misc.error.ServiceError;
+import microsoft.exchange.webservices.data.core.enumeration.service.SendCancellationsMode;
+import microsoft.exchange.webservices.data.core.enumeration.service.ServiceResult;
+import microsoft.exchange.webservices.data.core.response.ServiceResponse;
+import microsoft.exchange.webservices.data.core.response.ServiceResponseCollection;
 import microsoft.exchange.webservices.data.core.service.folder.CalendarFolder;
 import microsoft.exchange.webservices.data.core.service.item.Appointment;
 import microsoft.exchange.webservices.data.core.service.item.Item;
@@ -26,15 +31,22 @@ import org.synyx.urlaubsverwaltung.period.Period;
 import org.synyx.urlaubsverwaltung.person.Person;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static microsoft.exchange.webservices.data.core.enumeration.misc.ExchangeVersion.Exchange2010_SP2;
+import static microsoft.exchange.webservices.data.core.enumeration.misc.error.ServiceError.ErrorInvalidRequest;
+import static microsoft.exchange.webservices.data.core.enumeration.misc.error.ServiceError.ErrorItemNotFound;
 import static microsoft.exchange.webservices.data.core.enumeration.property.WellKnownFolderName.Calendar;
+import static microsoft.exchange.webservices.data.core.enumeration.service.DeleteMode.HardDelete;
 import static microsoft.exchange.webservices.data.core.enumeration.service.MessageDisposition.SaveOnly;
 import static microsoft.exchange.webservices.data.core.enumeration.service.SendInvitationsMode.SendToNone;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -88,6 +100,73 @@ class ExchangeCalendarProviderTest {
         verify(appointment).setEndTimeZone(any(TimeZoneDefinition.class));
     }
 
+    @Test
+    void addAllAddsAppointmentsWithOneRequest() throws Exception {
+        final ExchangeService exchangeService = getExchangeService();
+
+        final Appointment appointment = createAppointment("item-id");
+        final Appointment failingAppointment = createAppointment("failing-item-id");
+        when(exchangeFactory.getNewAppointment(exchangeService)).thenReturn(appointment, failingAppointment);
+
+        final ServiceResponseCollection<ServiceResponse> responses = new ServiceResponseCollection<>();
+        responses.add(successResponse());
+        responses.add(errorResponse(ErrorInvalidRequest, "invalid"));
+        when(exchangeService.createItems(List.of(appointment, failingAppointment), new FolderId("folder-id"), null, SendToNone)).thenReturn(responses);
+
+        final ExchangeCalendarProvider sut = new ExchangeCalendarProvider(exchangeService, exchangeFactory, calendarMailService);
+
+        final Absence absence = createAbsence();
+        final Absence failingAbsence = createAbsence();
+
+        final List<Optional<String>> eventIds = sut.addAll(List.of(absence, failingAbsence), getCalendarSettings());
+        assertThat(eventIds).containsExactly(Optional.of("item-id"), Optional.empty());
+
+        verify(calendarMailService).sendCalendarSyncErrorNotification("CalendarName", failingAbsence, "invalid");
+    }
+
+    @Test
+    void deleteAllDeletesAppointmentsWithOneRequestAndIgnoresAlreadyDeletedAppointments() throws Exception {
+
+        final ServiceResponseCollection<ServiceResponse> responses = new ServiceResponseCollection<>();
+        responses.add(successResponse());
+        responses.add(errorResponse(ErrorItemNotFound, "not found"));
+        responses.add(errorResponse(ErrorInvalidRequest, "invalid"));
+        when(exchangeService.deleteItems(any(), eq(HardDelete), eq(SendCancellationsMode.SendToNone), isNull())).thenReturn(responses);
+
+        when(calendarSettings.getExchangeCalendarSettings()).thenReturn(exchangeCalSettings);
+        when(exchangeCalSettings.getEmail()).thenReturn("test@example.org");
+        when(exchangeCalSettings.getPassword()).thenReturn("secret");
+        when(exchangeCalSettings.getCalendar()).thenReturn("CalendarName");
+
+        final ExchangeCalendarProvider sut = new ExchangeCalendarProvider(exchangeService, exchangeFactory, calendarMailService);
+
+        final Set<String> failedEventIds = sut.deleteAll(List.of("deleted", "already-deleted", "failing"), calendarSettings);
+        assertThat(failedEventIds).containsExactly("failing");
+
+        verify(calendarMailService).sendCalendarDeleteErrorNotification("CalendarName", "failing", "invalid");
+    }
+
+    private static Absence createAbsence() {
+        final Person person = new Person("username", "lastName", "firstName", "abc@de.f");
+        final TimeSettings timeSettings = new TimeSettings();
+        timeSettings.setTimeZoneId("Etc/UTC");
+        return new Absence(person, new Period(LocalDate.of(2021, 1, 11), LocalDate.of(2021, 1, 12), DayLength.FULL), new AbsenceTimeConfiguration(timeSettings));
+    }
+
+    private static ServiceResponse successResponse() {
+        final ServiceResponse response = mock(ServiceResponse.class);
+        when(response.getResult()).thenReturn(ServiceResult.Success);
+        return response;
+    }
+
+    private static ServiceResponse errorResponse(ServiceError errorCode, String errorMessage) {
+        final ServiceResponse response = mock(ServiceResponse.class);
+        when(response.getResult()).thenReturn(ServiceResult.Error);
+        lenient().when(response.getErrorCode()).thenReturn(errorCode);
+        lenient().when(response.getErrorMessage()).thenReturn(errorMessage);
+        return response;
+    }
+
     private CalendarSettings getCalendarSettings() {
         when(exchangeCalSettings.getTimeZoneId()).thenReturn("Europe/Berlin");
 
@@ -114,13 +193,17 @@ class ExchangeCalendarProviderTest {
     }
 
     private Appointment createAppointment() throws Exception {
+        return createAppointment("item-id");
+    }
+
+    private Appointment createAppointment(String itemId) throws Exception {
 
         final AttendeeCollection attendeeCollection = new AttendeeCollection();
         attendeeCollection.add(new Attendee("smtpAddress"));
 
         final Appointment appointment = mock(Appointment.class);
         when(appointment.getRequiredAttendees()).thenReturn(attendeeCollection);
-        when(appointment.getId()).thenReturn(new ItemId("item-id"));
+        lenient().when(appointment.getId()).thenReturn(new ItemId(itemId));
 
         return appointment;
     }
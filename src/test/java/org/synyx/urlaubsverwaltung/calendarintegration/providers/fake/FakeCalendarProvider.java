@@ -0,0 +1,136 @@
+package org.synyx.urlaubsverwaltung.calendarintegration.providers.fake;
+
+import org.synyx.urlaubsverwaltung.absence.Absence;
+import org.synyx.urlaubsverwaltung.calendarintegration.CalendarSettings;
+import org.synyx.urlaubsverwaltung.calendarintegration.providers.CalendarEvent;
+import org.synyx.urlaubsverwaltung.calendarintegration.providers.CalendarProvider;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps the events in memory, so that the calendar sync can be tested without a calendar server. Every call of this
+ * provider counts as one request to the calendar, the next requests can be made to fail.
+ */
+public class FakeCalendarProvider implements CalendarProvider {
+
+    private final Map<String, Absence> events = new ConcurrentHashMap<>();
+    private final AtomicInteger nextEventId = new AtomicInteger(1);
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger failingRequests = new AtomicInteger();
+
+    /**
+     * @return the events of the calendar by their id
+     */
+    public Map<String, Absence> getEvents() {
+        return Collections.unmodifiableMap(events);
+    }
+
+    /**
+     * @return the number of requests made to the calendar
+     */
+    public int getRequests() {
+        return requests.get();
+    }
+
+    /**
+     * Lets the given number of the next requests fail as a whole.
+     *
+     * @param numberOfRequests the number of failing requests
+     */
+    public void failNextRequests(int numberOfRequests) {
+        failingRequests.set(numberOfRequests);
+    }
+
+    @Override
+    public Optional<String> add(Absence absence, CalendarSettings calendarSettings) {
+        return addAll(List.of(absence), calendarSettings).get(0);
+    }
+
+    @Override
+    public void update(Absence absence, String eventId, CalendarSettings calendarSettings) {
+        updateAll(Map.of(eventId, absence), calendarSettings);
+    }
+
+    @Override
+    public void delete(String eventId, CalendarSettings calendarSettings) {
+        deleteAll(List.of(eventId), calendarSettings);
+    }
+
+    @Override
+    public void checkCalendarSyncSettings(CalendarSettings calendarSettings) {
+        requests.incrementAndGet();
+    }
+
+    @Override
+    public List<Optional<String>> addAll(List<Absence> absences, CalendarSettings calendarSettings) {
+
+        if (failRequest()) {
+            return new ArrayList<>(Collections.nCopies(absences.size(), Optional.empty()));
+        }
+
+        final List<Optional<String>> eventIds = new ArrayList<>();
+        for (Absence absence : absences) {
+            final String eventId = "event-" + nextEventId.getAndIncrement();
+            events.put(eventId, absence);
+            eventIds.add(Optional.of(eventId));
+        }
+        return eventIds;
+    }
+
+    @Override
+    public Set<String> updateAll(Map<String, Absence> absencesByEventId, CalendarSettings calendarSettings) {
+
+        if (failRequest()) {
+            return new HashSet<>(absencesByEventId.keySet());
+        }
+
+        final Set<String> failedEventIds = new HashSet<>();
+        absencesByEventId.forEach((eventId, absence) -> {
+            if (events.replace(eventId, absence) == null) {
+                failedEventIds.add(eventId);
+            }
+        });
+        return failedEventIds;
+    }
+
+    @Override
+    public Set<String> deleteAll(List<String> eventIds, CalendarSettings calendarSettings) {
+
+        if (failRequest()) {
+            return new HashSet<>(eventIds);
+        }
+
+        eventIds.forEach(events::remove);
+        return Set.of();
+    }
+
+    @Override
+    public Optional<List<CalendarEvent>> listEvents(ZonedDateTime from, ZonedDateTime to, CalendarSettings calendarSettings) {
+
+        if (failRequest()) {
+            return Optional.empty();
+        }
+
+        final List<CalendarEvent> listedEvents = new ArrayList<>();
+        events.forEach((eventId, absence) -> {
+            if (absence.getStartDate().isBefore(to) && absence.getEndDate().isAfter(from)) {
+                listedEvents.add(new CalendarEvent(eventId, absence.getStartDate().toInstant(), absence.getEndDate().toInstant()));
+            }
+        });
+        return Optional.of(listedEvents);
+    }
+
+    private boolean failRequest() {
+        requests.incrementAndGet();
+        return failingRequests.getAndUpdate(remaining -> Math.max(remaining - 1, 0)) > 0;
+    }
+}
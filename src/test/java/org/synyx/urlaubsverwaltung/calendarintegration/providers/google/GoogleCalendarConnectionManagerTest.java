@@ -0,0 +1,152 @@
+package org.synyx.urlaubsverwaltung.calendarintegration.providers.google;
+
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.http.LowLevelHttpResponse;
+import com.google.api.client.testing.http.MockHttpTransport;
+import com.google.api.client.testing.http.MockLowLevelHttpRequest;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.synyx.urlaubsverwaltung.calendarintegration.GoogleCalendarSettings;
+import org.synyx.urlaubsverwaltung.settings.Settings;
+import org.synyx.urlaubsverwaltung.settings.SettingsService;
+import org.synyx.urlaubsverwaltung.settings.SettingsUpdatedEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GoogleCalendarConnectionManagerTest {
+
+    private GoogleCalendarConnectionManager sut;
+
+    @Mock
+    private SettingsService settingsService;
+
+    private final List<String> requestedUrls = new ArrayList<>();
+    private MeterRegistry meterRegistry;
+    private Supplier<MockLowLevelHttpResponse> tokenResponse;
+    private Settings settings;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        tokenResponse = () -> tokenResponse(3600);
+        settings = settings("refresh-token");
+
+        final MockHttpTransport httpTransport = new MockHttpTransport() {
+            @Override
+            public LowLevelHttpRequest buildRequest(String method, String url) {
+                return new MockLowLevelHttpRequest(url) {
+                    @Override
+                    public LowLevelHttpResponse execute() {
+                        requestedUrls.add(url);
+                        return tokenResponse.get();
+                    }
+                };
+            }
+        };
+
+        sut = new GoogleCalendarConnectionManager(settingsService, meterRegistry, httpTransport);
+    }
+
+    @Test
+    void ensureReusesConnectionAndRefreshesTokenOnce() {
+
+        when(settingsService.getSettings()).thenReturn(settings);
+
+        final GoogleCalendarConnectionManager.Connection connection = sut.getConnection().orElseThrow();
+
+        assertThat(connection.getCalendarId()).isEqualTo("calendar-id");
+        assertThat(sut.getConnection()).containsSame(connection);
+        assertThat(requestedUrls).containsExactly("https://www.googleapis.com/oauth2/v4/token");
+        assertThat(meterRegistry.get("calendar.google.token.refreshes").tag("result", "success").counter().count()).isOne();
+    }
+
+    @Test
+    void ensureRefreshesTokenBeforeItExpires() {
+
+        when(settingsService.getSettings()).thenReturn(settings);
+        tokenResponse = () -> tokenResponse(GoogleCalendarConnectionManager.TOKEN_REFRESH_AHEAD_SECONDS - 60);
+
+        final GoogleCalendarConnectionManager.Connection connection = sut.getConnection().orElseThrow();
+
+        assertThat(sut.getConnection()).containsSame(connection);
+        assertThat(requestedUrls).hasSize(2);
+    }
+
+    @Test
+    void ensureKeepsConnectionIfTokenRefreshFails() {
+
+        when(settingsService.getSettings()).thenReturn(settings);
+        tokenResponse = () -> new MockLowLevelHttpResponse()
+            .setStatusCode(400)
+            .setContentType("application/json")
+            .setContent("{\"error\":\"invalid_grant\"}");
+
+        assertThat(sut.getConnection()).isPresent();
+        assertThat(meterRegistry.get("calendar.google.token.refreshes").tag("result", "failure").counter().count()).isOne();
+    }
+
+    @Test
+    void ensureNoConnectionWithoutRefreshToken() {
+
+        when(settingsService.getSettings()).thenReturn(settings(null));
+
+        assertThat(sut.getConnection()).isEmpty();
+        assertThat(requestedUrls).isEmpty();
+    }
+
+    @Test
+    void ensureKeepsConnectionIfGoogleCalendarSettingsAreUnchanged() {
+
+        when(settingsService.getSettings()).thenReturn(settings);
+        final GoogleCalendarConnectionManager.Connection connection = sut.getConnection().orElseThrow();
+
+        sut.handleSettingsUpdated(new SettingsUpdatedEvent(this, settings("refresh-token"), 2));
+
+        assertThat(sut.getConnection()).containsSame(connection);
+    }
+
+    @Test
+    void ensureRebuildsConnectionIfGoogleCalendarSettingsChanged() {
+
+        when(settingsService.getSettings()).thenReturn(settings);
+        final GoogleCalendarConnectionManager.Connection connection = sut.getConnection().orElseThrow();
+
+        // the settings are changed in place before they are saved
+        settings.getCalendarSettings().getGoogleCalendarSettings().setRefreshToken("other-refresh-token");
+        sut.handleSettingsUpdated(new SettingsUpdatedEvent(this, settings, 2));
+
+        final GoogleCalendarConnectionManager.Connection rebuiltConnection = sut.getConnection().orElseThrow();
+        assertThat(rebuiltConnection).isNotSameAs(connection);
+        assertThat(rebuiltConnection.getCredential().getRefreshToken()).isEqualTo("other-refresh-token");
+    }
+
+    private static MockLowLevelHttpResponse tokenResponse(long expiresInSeconds) {
+        return new MockLowLevelHttpResponse()
+            .setContentType("application/json")
+            .setContent("{\"access_token\":\"access-token\",\"expires_in\":" + expiresInSeconds + "}");
+    }
+
+    private static Settings settings(String refreshToken) {
+        final GoogleCalendarSettings googleCalendarSettings = new GoogleCalendarSettings();
+        googleCalendarSettings.setClientId("client-id");
+        googleCalendarSettings.setClientSecret("client-secret");
+        googleCalendarSettings.setCalendarId("calendar-id");
+        googleCalendarSettings.setRefreshToken(refreshToken);
+
+        final Settings settings = new Settings();
+        settings.getCalendarSettings().setGoogleCalendarSettings(googleCalendarSettings);
+        return settings;
+    }
+}
@@ -11,6 +11,7 @@ import com.google.api.client.http.javanet.NetHttpTransport;
 import com.google.api.client.json.JsonFactory;
 import com.google.api.client.json.jackson2.JacksonFactory;
 import com.google.api.services.calendar.Calendar;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.Assume;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -76,7 +77,9 @@ class GoogleCalendarSyncProviderServiceTest {
     void setUp() {
         settingsService = prepareSettingsServiceMock();
         calendarMailService = mock(CalendarMailService.class);
-        googleCalendarSyncProvider = new GoogleCalendarSyncProvider(calendarMailService, settingsService);
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        final GoogleCalendarConnectionManager connectionManager = new GoogleCalendarConnectionManager(settingsService, meterRegistry);
+        googleCalendarSyncProvider = new GoogleCalendarSyncProvider(calendarMailService, connectionManager, meterRegistry);
     }
 
     private static Credential createCredentialWithRefreshToken(
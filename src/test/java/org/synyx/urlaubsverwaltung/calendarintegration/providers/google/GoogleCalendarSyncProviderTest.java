@@ -0,0 +1,110 @@
+package org.synyx.urlaubsverwaltung.calendarintegration.providers.google;
+
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.http.LowLevelHttpResponse;
+import com.google.api.client.testing.http.MockHttpTransport;
+import com.google.api.client.testing.http.MockLowLevelHttpRequest;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.synyx.urlaubsverwaltung.absence.Absence;
+import org.synyx.urlaubsverwaltung.absence.AbsenceTimeConfiguration;
+import org.synyx.urlaubsverwaltung.absence.TimeSettings;
+import org.synyx.urlaubsverwaltung.calendarintegration.CalendarMailService;
+import org.synyx.urlaubsverwaltung.calendarintegration.GoogleCalendarSettings;
+import org.synyx.urlaubsverwaltung.period.Period;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.settings.Settings;
+import org.synyx.urlaubsverwaltung.settings.SettingsService;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.synyx.urlaubsverwaltung.period.DayLength.FULL;
+
+@ExtendWith(MockitoExtension.class)
+class GoogleCalendarSyncProviderTest {
+
+    private static final String TOKEN_URL = "https://www.googleapis.com/oauth2/v4/token";
+
+    private GoogleCalendarSyncProvider sut;
+
+    @Mock
+    private CalendarMailService calendarMailService;
+    @Mock
+    private SettingsService settingsService;
+
+    private MeterRegistry meterRegistry;
+    private MockLowLevelHttpResponse calendarResponse;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+
+        final MockHttpTransport httpTransport = new MockHttpTransport() {
+            @Override
+            public LowLevelHttpRequest buildRequest(String method, String url) {
+                return new MockLowLevelHttpRequest(url) {
+                    @Override
+                    public LowLevelHttpResponse execute() {
+                        return TOKEN_URL.equals(url) ? jsonResponse("{\"access_token\":\"access-token\",\"expires_in\":3600}") : calendarResponse;
+                    }
+                };
+            }
+        };
+
+        final GoogleCalendarSettings googleCalendarSettings = new GoogleCalendarSettings();
+        googleCalendarSettings.setClientId("client-id");
+        googleCalendarSettings.setClientSecret("client-secret");
+        googleCalendarSettings.setCalendarId("calendar-id");
+        googleCalendarSettings.setRefreshToken("refresh-token");
+        final Settings settings = new Settings();
+        settings.getCalendarSettings().setGoogleCalendarSettings(googleCalendarSettings);
+        when(settingsService.getSettings()).thenReturn(settings);
+
+        final GoogleCalendarConnectionManager connectionManager = new GoogleCalendarConnectionManager(settingsService, meterRegistry, httpTransport);
+        sut = new GoogleCalendarSyncProvider(calendarMailService, connectionManager, meterRegistry);
+    }
+
+    @Test
+    void ensureAddRecordsLatencyOfRequest() {
+
+        calendarResponse = jsonResponse("{\"id\":\"event-id\"}");
+
+        assertThat(sut.add(absence(), null)).hasValue("event-id");
+        assertThat(meterRegistry.get("calendar.google.requests").tag("operation", "insert").tag("result", "success").timer().count()).isOne();
+    }
+
+    @Test
+    void ensureAddCountsFailedRequest() {
+
+        calendarResponse = jsonResponse("{\"error\":{\"code\":500,\"message\":\"Backend Error\"}}").setStatusCode(500);
+
+        final Absence absence = absence();
+        assertThat(sut.add(absence, null)).isEmpty();
+        assertThat(meterRegistry.get("calendar.google.requests").tag("operation", "insert").tag("result", "failure").timer().count()).isOne();
+        assertThat(meterRegistry.get("calendar.google.errors").tag("operation", "insert").counter().count()).isOne();
+        verify(calendarMailService).sendCalendarSyncErrorNotification(eq("calendar-id"), eq(absence), anyString());
+    }
+
+    private static MockLowLevelHttpResponse jsonResponse(String content) {
+        return new MockLowLevelHttpResponse().setContentType("application/json").setContent(content);
+    }
+
+    private static Absence absence() {
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        final Period period = new Period(LocalDate.of(2021, 7, 1), LocalDate.of(2021, 7, 2), FULL);
+        final TimeSettings timeSettings = new TimeSettings();
+        timeSettings.setTimeZoneId("Etc/UTC");
+        return new Absence(person, period, new AbsenceTimeConfiguration(timeSettings));
+    }
+}
@@ -1,13 +1,16 @@
 package org.synyx.urlaubsverwaltung.department;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.synyx.urlaubsverwaltung.application.dao.ApplicationSummary;
 import org.synyx.urlaubsverwaltung.application.domain.Application;
 import org.synyx.urlaubsverwaltung.application.service.ApplicationService;
+import org.synyx.urlaubsverwaltung.application.service.ApplicationUpdatedEvent;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.Role;
 
@@ -17,6 +20,7 @@ import java.time.LocalDate;
 import java.time.Month;
 import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,7 +34,9 @@ import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -39,6 +45,7 @@ import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.A
 import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.ALLOWED_CANCELLATION_REQUESTED;
 import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.REJECTED;
 import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.TEMPORARY_ALLOWED;
+import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.WAITING;
 import static org.synyx.urlaubsverwaltung.person.Role.DEPARTMENT_HEAD;
 import static org.synyx.urlaubsverwaltung.person.Role.OFFICE;
 import static org.synyx.urlaubsverwaltung.person.Role.SECOND_STAGE_AUTHORITY;
@@ -58,7 +65,7 @@ class DepartmentServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        sut = new DepartmentServiceImpl(departmentRepository, applicationService, clock);
+        sut = new DepartmentServiceImpl(departmentRepository, applicationService, new SimpleMeterRegistry(), clock);
     }
 
     @Test
@@ -374,6 +381,67 @@ class DepartmentServiceImplTest {
         assertThat(isDepartmentHead).isFalse();
     }
 
+    @Test
+    void ensureCachesManagedMembersOfDepartmentHead() {
+
+        final Person departmentHead = new Person("head", "Head", "Department", "head@example.org");
+        departmentHead.setId(1);
+        departmentHead.setPermissions(List.of(USER, DEPARTMENT_HEAD));
+
+        final Person marlene = new Person("muster", "Muster", "Marlene", "marlene.muster@example.org");
+        marlene.setId(2);
+        final Person max = new Person("max", "Muster", "Max", "max.muster@example.org");
+        max.setId(3);
+
+        final DepartmentEntity admins = new DepartmentEntity();
+        admins.setName("admins");
+        admins.setMembers(asList(departmentMemberEmbeddable(marlene), departmentMemberEmbeddable(departmentHead)));
+
+        when(departmentRepository.findByDepartmentHeads(departmentHead)).thenReturn(singletonList(admins));
+
+        assertThat(sut.isDepartmentHeadOfPerson(departmentHead, marlene)).isTrue();
+        assertThat(sut.isDepartmentHeadOfPerson(departmentHead, max)).isFalse();
+
+        verify(departmentRepository).findByDepartmentHeads(departmentHead);
+    }
+
+    @Test
+    void ensureDropsCachedManagedMembersOnDepartmentUpdate() {
+
+        final Person departmentHead = new Person("head", "Head", "Department", "head@example.org");
+        departmentHead.setId(1);
+        departmentHead.setPermissions(List.of(USER, DEPARTMENT_HEAD));
+
+        final Person marlene = new Person("muster", "Muster", "Marlene", "marlene.muster@example.org");
+        marlene.setId(2);
+
+        final DepartmentEntity admins = new DepartmentEntity();
+        admins.setId(42);
+        admins.setName("admins");
+        admins.setMembers(new ArrayList<>(List.of(departmentMemberEmbeddable(departmentHead))));
+
+        final DepartmentEntity updatedAdmins = new DepartmentEntity();
+        updatedAdmins.setId(42);
+        updatedAdmins.setName("admins");
+        updatedAdmins.setMembers(asList(departmentMemberEmbeddable(departmentHead), departmentMemberEmbeddable(marlene)));
+
+        when(departmentRepository.findByDepartmentHeads(departmentHead))
+            .thenReturn(singletonList(admins))
+            .thenReturn(singletonList(updatedAdmins));
+        when(departmentRepository.findById(42)).thenReturn(Optional.of(admins));
+        when(departmentRepository.save(any())).thenReturn(updatedAdmins);
+
+        assertThat(sut.isDepartmentHeadOfPerson(departmentHead, marlene)).isFalse();
+
+        final Department department = new Department();
+        department.setId(42);
+        department.setName("admins");
+        department.setMembers(List.of(departmentHead, marlene));
+        sut.update(department);
+
+        assertThat(sut.isDepartmentHeadOfPerson(departmentHead, marlene)).isTrue();
+    }
+
     @Test
     void ensureReturnsFalseIfIsInTheSameDepartmentButHasNotDepartmentHeadRole() {
 
@@ -512,6 +580,107 @@ class DepartmentServiceImplTest {
             .doesNotContain(otherApplication);
     }
 
+    @Test
+    void ensureFetchesApplicationsForLeaveOfColleaguesWithOneQueryAndLeavesOutOwnApplications() {
+
+        final Person person = new Person();
+        person.setId(1);
+
+        final Department admins = createDepartment("admins");
+        admins.setId(4);
+        final Department marketing = createDepartment("marketing");
+        marketing.setId(2);
+
+        final LocalDate startDate = LocalDate.of(2021, 1, 1);
+        final LocalDate endDate = LocalDate.of(2021, 12, 31);
+
+        final ApplicationSummary ownApplication = applicationSummary(1);
+        final ApplicationSummary colleagueApplication = applicationSummary(2);
+        when(applicationService.getApplicationsForACertainPeriodAndStateOfDepartmentMembers(List.of(2, 4),
+            List.of(WAITING, TEMPORARY_ALLOWED, ALLOWED, ALLOWED_CANCELLATION_REQUESTED), startDate, endDate))
+            .thenReturn(List.of(ownApplication, colleagueApplication));
+
+        final List<ApplicationSummary> applications = sut.getApplicationsForLeaveOfColleaguesInDepartments(person, List.of(admins, marketing), startDate, endDate);
+        assertThat(applications).containsExactly(colleagueApplication);
+    }
+
+    @Test
+    void ensureCachesApplicationsForLeaveOfColleaguesPerDepartmentsAndPeriod() {
+
+        final Person person = new Person();
+        person.setId(1);
+        final Person colleague = new Person();
+        colleague.setId(2);
+
+        final Department admins = createDepartment("admins");
+        admins.setId(4);
+
+        final LocalDate startDate = LocalDate.of(2021, 1, 1);
+        final LocalDate endDate = LocalDate.of(2021, 12, 31);
+
+        final ApplicationSummary application = applicationSummary(2);
+        when(applicationService.getApplicationsForACertainPeriodAndStateOfDepartmentMembers(eq(List.of(4)), any(), eq(startDate), eq(endDate)))
+            .thenReturn(List.of(application));
+
+        assertThat(sut.getApplicationsForLeaveOfColleaguesInDepartments(person, List.of(admins), startDate, endDate)).containsExactly(application);
+        assertThat(sut.getApplicationsForLeaveOfColleaguesInDepartments(person, List.of(admins), startDate, endDate)).containsExactly(application);
+        assertThat(sut.getApplicationsForLeaveOfColleaguesInDepartments(colleague, List.of(admins), startDate, endDate)).isEmpty();
+
+        verify(applicationService).getApplicationsForACertainPeriodAndStateOfDepartmentMembers(eq(List.of(4)), any(), eq(startDate), eq(endDate));
+    }
+
+    @Test
+    void ensureDropsCachedApplicationsForLeaveOfColleaguesOnDepartmentChange() {
+
+        final Person person = new Person();
+        person.setId(1);
+
+        final Department admins = createDepartment("admins");
+        admins.setId(4);
+
+        final LocalDate date = LocalDate.of(2021, 1, 1);
+
+        when(applicationService.getApplicationsForACertainPeriodAndStateOfDepartmentMembers(eq(List.of(4)), any(), eq(date), eq(date)))
+            .thenReturn(List.of());
+        when(departmentRepository.existsById(4)).thenReturn(true);
+
+        sut.getApplicationsForLeaveOfColleaguesInDepartments(person, List.of(admins), date, date);
+        sut.delete(4);
+        sut.getApplicationsForLeaveOfColleaguesInDepartments(person, List.of(admins), date, date);
+
+        verify(applicationService, times(2)).getApplicationsForACertainPeriodAndStateOfDepartmentMembers(eq(List.of(4)), any(), eq(date), eq(date));
+    }
+
+    @Test
+    void ensureDropsCachedApplicationsForLeaveOfColleaguesOnApplicationUpdate() {
+
+        final Person person = new Person();
+        person.setId(1);
+
+        final Department admins = createDepartment("admins");
+        admins.setId(4);
+
+        final LocalDate date = LocalDate.of(2021, 1, 1);
+
+        when(applicationService.getApplicationsForACertainPeriodAndStateOfDepartmentMembers(eq(List.of(4)), any(), eq(date), eq(date)))
+            .thenReturn(List.of());
+
+        sut.getApplicationsForLeaveOfColleaguesInDepartments(person, List.of(admins), date, date);
+        sut.handleApplicationUpdated(new ApplicationUpdatedEvent(this, new Application()));
+        sut.getApplicationsForLeaveOfColleaguesInDepartments(person, List.of(admins), date, date);
+
+        verify(applicationService, times(2)).getApplicationsForACertainPeriodAndStateOfDepartmentMembers(eq(List.of(4)), any(), eq(date), eq(date));
+    }
+
+    @Test
+    void ensureReturnsNoApplicationsForLeaveOfColleaguesWithoutDepartments() {
+
+        final LocalDate date = LocalDate.of(2021, 1, 1);
+
+        assertThat(sut.getApplicationsForLeaveOfColleaguesInDepartments(new Person(), List.of(), date, date)).isEmpty();
+        verifyNoInteractions(applicationService);
+    }
+
     @Test
     void ensureSignedInOfficeUserCanAccessPersonData() {
 
@@ -782,4 +951,10 @@ class DepartmentServiceImplTest {
 
         return  departmentMemberEmbeddable;
     }
+
+    private static ApplicationSummary applicationSummary(Integer personId) {
+        final ApplicationSummary application = mock(ApplicationSummary.class);
+        when(application.getPersonId()).thenReturn(personId);
+        return application;
+    }
 }
@@ -0,0 +1,115 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import freemarker.template.Configuration;
+import freemarker.template.Template;
+import freemarker.template.TemplateException;
+import no.api.freemarker.java8.Java8ObjectWrapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.autoconfigure.freemarker.FreeMarkerProperties;
+import org.springframework.ui.freemarker.FreeMarkerTemplateUtils;
+import org.synyx.urlaubsverwaltung.application.domain.Application;
+import org.synyx.urlaubsverwaltung.person.Person;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static freemarker.template.Configuration.VERSION_2_3_30;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Measures the mail bodies of the reminder about waiting applications for leave sent to 500 recipients, compared to
+ * rendering the whole template for every recipient.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MailContentBuilderBenchmark {
+
+    private static final String TEMPLATE_NAME = "cron_remind";
+    private static final String TEMPLATE_PATH = "/org/synyx/urlaubsverwaltung/core/mail/";
+
+    @Param({"500"})
+    private int recipients;
+
+    @Param({"50"})
+    private int applications;
+
+    private final List<Person> mailRecipients = new ArrayList<>();
+    private final Map<String, Object> model = new HashMap<>();
+
+    private Configuration configuration;
+    private MailContentBuilder mailContentBuilder;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MailContentBuilderBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Setup
+    public void setUp() {
+
+        for (int i = 1; i <= recipients; i++) {
+            mailRecipients.add(new Person("office-" + i, "Muster" + i, "Marlene", "office-" + i + "@example.org"));
+        }
+
+        final List<Application> applicationList = new ArrayList<>();
+        for (int i = 1; i <= applications; i++) {
+            final Application application = new Application();
+            application.setId(i);
+            application.setPerson(new Person("horst-" + i, "Aktiv" + i, "Horst", "horst-" + i + "@example.org"));
+            application.setApplicationDate(LocalDate.of(2021, 1, 1).plusDays(i));
+            applicationList.add(application);
+        }
+        model.put("applicationList", applicationList);
+        model.put("baseLinkURL", "https://localhost:8080/");
+
+        configuration = new Configuration(VERSION_2_3_30);
+        configuration.setClassForTemplateLoading(getClass(), TEMPLATE_PATH);
+        configuration.setDefaultEncoding("UTF-8");
+        configuration.setObjectWrapper(new Java8ObjectWrapper(VERSION_2_3_30));
+
+        final FreeMarkerProperties freeMarkerProperties = new FreeMarkerProperties();
+        freeMarkerProperties.setTemplateLoaderPath("classpath:" + TEMPLATE_PATH);
+
+        mailContentBuilder = new MailContentBuilder(configuration, freeMarkerProperties);
+        mailContentBuilder.preloadTemplates(Locale.GERMAN);
+    }
+
+    @Benchmark
+    public List<String> buildMailBodies() {
+        return mailContentBuilder.buildMailBodies(TEMPLATE_NAME, model, mailRecipients, Locale.GERMAN);
+    }
+
+    @Benchmark
+    public List<String> buildWholeMailBodyPerRecipient() throws IOException, TemplateException {
+
+        final List<String> bodies = new ArrayList<>(mailRecipients.size());
+        for (Person recipient : mailRecipients) {
+            model.put("recipient", recipient);
+            final Template template = configuration.getTemplate(TEMPLATE_NAME + ".ftl", Locale.GERMAN);
+            bodies.add(FreeMarkerTemplateUtils.processTemplateIntoString(template, model));
+        }
+
+        return bodies;
+    }
+}
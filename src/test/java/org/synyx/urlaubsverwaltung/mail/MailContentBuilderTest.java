@@ -0,0 +1,135 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import freemarker.cache.StringTemplateLoader;
+import freemarker.template.Configuration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.freemarker.FreeMarkerProperties;
+import org.synyx.urlaubsverwaltung.person.Person;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static freemarker.template.Configuration.VERSION_2_3_30;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MailContentBuilderTest {
+
+    private MailContentBuilder sut;
+
+    private StringTemplateLoader templateLoader;
+
+    @BeforeEach
+    void setUp() {
+        templateLoader = new StringTemplateLoader();
+
+        final Configuration configuration = new Configuration(VERSION_2_3_30);
+        configuration.setTemplateLoader(templateLoader);
+
+        sut = new MailContentBuilder(configuration, new FreeMarkerProperties());
+    }
+
+    @Test
+    void ensureRendersSalutationForEachRecipientAndTheRestOnce() {
+
+        templateLoader.putTemplate("remind.ftl", "Hallo ${recipient.niceName},\n\n<#list names as name>\n${name}\n</#list>\n");
+
+        final Map<String, Object> model = new HashMap<>();
+        model.put("names", List.of("Horst", "Marlene"));
+
+        final List<String> bodies = sut.buildMailBodies("remind", model, List.of(person("Lieschen"), person("Hans")), Locale.GERMAN);
+
+        assertThat(bodies).containsExactly(
+            "Hallo Lieschen Müller,\n\nHorst\nMarlene\n",
+            "Hallo Hans Müller,\n\nHorst\nMarlene\n"
+        );
+    }
+
+    @Test
+    void ensureRendersTemplateAsWholeForEachRecipientIfRecipientIsUsedAfterDirective() {
+
+        templateLoader.putTemplate("remind.ftl", "<#list names as name>\n${name}\n</#list>\nGrüße an ${recipient.niceName}\n");
+
+        final Map<String, Object> model = new HashMap<>();
+        model.put("names", List.of("Horst"));
+
+        final List<String> bodies = sut.buildMailBodies("remind", model, List.of(person("Lieschen"), person("Hans")), Locale.GERMAN);
+
+        assertThat(bodies).containsExactly("Horst\nGrüße an Lieschen Müller\n", "Horst\nGrüße an Hans Müller\n");
+    }
+
+    @Test
+    void ensureRendersTemplateWithoutRecipientOnce() {
+
+        templateLoader.putTemplate("settings.ftl", "Die Einstellungen wurden aktualisiert: ${baseLinkURL}\n");
+
+        final Map<String, Object> model = new HashMap<>();
+        model.put("baseLinkURL", "https://localhost:8080/");
+
+        final List<String> bodies = sut.buildMailBodies("settings", model, List.of(person("Lieschen"), person("Hans")), Locale.GERMAN);
+
+        assertThat(bodies).containsExactly(
+            "Die Einstellungen wurden aktualisiert: https://localhost:8080/\n",
+            "Die Einstellungen wurden aktualisiert: https://localhost:8080/\n"
+        );
+    }
+
+    @Test
+    void ensureUsesLocaleOfTemplate() {
+
+        templateLoader.putTemplate("accounts.ftl", "Hallo ${recipient.niceName},\n${days}\n");
+
+        final Map<String, Object> model = new HashMap<>();
+        model.put("days", 1.5);
+
+        final List<String> bodies = sut.buildMailBodies("accounts", model, List.of(person("Lieschen")), Locale.GERMAN);
+
+        assertThat(bodies).containsExactly("Hallo Lieschen Müller,\n1,5\n");
+    }
+
+    @Test
+    void ensureRendersNothingWithoutRecipients() {
+
+        final List<String> bodies = sut.buildMailBodies("unknown", new HashMap<>(), List.of(), Locale.GERMAN);
+
+        assertThat(bodies).isEmpty();
+    }
+
+    @Test
+    void ensureThrowsOnUnknownTemplate() {
+
+        final Map<String, Object> model = new HashMap<>();
+        final List<Person> recipients = List.of(person("Lieschen"));
+
+        assertThatThrownBy(() -> sut.buildMailBodies("unknown", model, recipients, Locale.GERMAN))
+            .isInstanceOf(MailContentBuilderException.class);
+    }
+
+    @Test
+    void ensurePreloadsTemplatesOfTemplateLoaderPath() {
+
+        final FreeMarkerProperties freeMarkerProperties = new FreeMarkerProperties();
+        freeMarkerProperties.setTemplateLoaderPath("classpath:/org/synyx/urlaubsverwaltung/core/mail/");
+
+        final Configuration configuration = new Configuration(VERSION_2_3_30);
+        configuration.setClassForTemplateLoading(getClass(), "/org/synyx/urlaubsverwaltung/core/mail/");
+        configuration.setDefaultEncoding("UTF-8");
+
+        sut = new MailContentBuilder(configuration, freeMarkerProperties);
+        sut.preloadTemplates(Locale.GERMAN);
+
+        final Map<String, Object> model = new HashMap<>();
+        model.put("applicationList", List.of());
+
+        final List<String> bodies = sut.buildMailBodies("cron_remind", model, List.of(person("Lieschen")), Locale.GERMAN);
+
+        assertThat(bodies).containsExactly("Hallo Lieschen Müller,\n\nDie folgenden Urlaubsanträge warten auf Bearbeitung:\n\n");
+    }
+
+    private static Person person(String firstName) {
+        return new Person(firstName.toLowerCase(), "Müller", firstName, firstName.toLowerCase() + "@example.org");
+    }
+}
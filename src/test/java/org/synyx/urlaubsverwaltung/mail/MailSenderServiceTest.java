@@ -7,15 +7,26 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 
+import javax.mail.MessagingException;
+import javax.mail.Multipart;
+import javax.mail.Session;
+import javax.mail.internet.InternetAddress;
+import javax.mail.internet.MimeMessage;
+import java.io.IOException;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentCaptor.forClass;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 
 
 @ExtendWith(MockitoExtension.class)
@@ -32,28 +43,115 @@ class MailSenderServiceTest {
     }
 
     @Test
-    void sendEmail() {
-        final ArgumentCaptor<SimpleMailMessage> mailMessageArgumentCaptor = forClass(SimpleMailMessage.class);
+    void sendEmails() throws MessagingException, IOException {
 
-        final String[] recipients = {"hans@dampf.com"};
-        final String subject = "subject";
-        final String body = "text";
-        final String from = "from@example.org";
+        when(javaMailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((Session) null));
 
-        sut.sendEmail(from, List.of(recipients), subject, body);
+        final OutboxMail hans = new OutboxMail("from@example.org", "hans@dampf.com", "subject", "text", List.of(), Instant.now());
+        final OutboxMail franz = new OutboxMail("from@example.org", "franz@dampf.com", "subject", "text", List.of(), Instant.now());
 
-        verify(javaMailSender).send(mailMessageArgumentCaptor.capture());
-        SimpleMailMessage mailMessage = mailMessageArgumentCaptor.getValue();
-        assertThat(mailMessage.getFrom()).contains(from);
-        assertThat(mailMessage.getTo()).isEqualTo(recipients);
-        assertThat(mailMessage.getSubject()).isEqualTo(subject);
-        assertThat(mailMessage.getText()).isEqualTo(body);
+        final List<OutboxMail> failedMails = sut.sendEmails(List.of(hans, franz));
+        assertThat(failedMails).isEmpty();
+
+        final ArgumentCaptor<MimeMessage> messagesCaptor = forClass(MimeMessage.class);
+        verify(javaMailSender).send(messagesCaptor.capture(), messagesCaptor.capture());
+
+        final List<MimeMessage> messages = messagesCaptor.getAllValues();
+        assertThat(messages).hasSize(2);
+        assertThat(messages.get(0).getFrom()).containsExactly(new InternetAddress("from@example.org"));
+        assertThat(messages.get(0).getAllRecipients()).containsExactly(new InternetAddress("hans@dampf.com"));
+        assertThat(messages.get(0).getSubject()).isEqualTo("subject");
+        assertThat(messages.get(0).getContent()).isEqualTo("text");
+        assertThat(messages.get(1).getAllRecipients()).containsExactly(new InternetAddress("franz@dampf.com"));
+    }
+
+    @Test
+    void sendEmailsWithAttachment() throws MessagingException, IOException {
+
+        when(javaMailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((Session) null));
+
+        final OutboxMailAttachment attachment = new OutboxMailAttachment("calendar.ics", "BEGIN:VCALENDAR".getBytes());
+        final OutboxMail hans = new OutboxMail("from@example.org", "hans@dampf.com", "subject", "text", List.of(attachment), Instant.now());
+        final OutboxMail franz = new OutboxMail("from@example.org", "franz@dampf.com", "subject", "text", List.of(), Instant.now());
+
+        sut.sendEmails(List.of(hans, franz));
+
+        final ArgumentCaptor<MimeMessage> messagesCaptor = forClass(MimeMessage.class);
+        verify(javaMailSender).send(messagesCaptor.capture(), messagesCaptor.capture());
+
+        final MimeMessage hansMessage = messagesCaptor.getAllValues().get(0);
+        hansMessage.saveChanges();
+        final Multipart multipart = (Multipart) hansMessage.getContent();
+        assertThat(multipart.getCount()).isEqualTo(2);
+        assertThat(multipart.getBodyPart(1).getFileName()).isEqualTo("calendar.ics");
+
+        final MimeMessage franzMessage = messagesCaptor.getAllValues().get(1);
+        assertThat(franzMessage.getContent()).isEqualTo("text");
+    }
+
+    @Test
+    void sendEmailsReturnsFailedMails() {
+
+        final MimeMessage hansMessage = new MimeMessage((Session) null);
+        final MimeMessage franzMessage = new MimeMessage((Session) null);
+        when(javaMailSender.createMimeMessage()).thenReturn(hansMessage, franzMessage);
+
+        final OutboxMail hans = new OutboxMail("from@example.org", "hans@dampf.com", "subject", "text", List.of(), Instant.now());
+        final OutboxMail franz = new OutboxMail("from@example.org", "franz@dampf.com", "subject", "text", List.of(), Instant.now());
+
+        doThrow(new MailSendException(Map.of(franzMessage, new MessagingException("rejected"))))
+            .when(javaMailSender).send(any(MimeMessage.class), any(MimeMessage.class));
+
+        final List<OutboxMail> failedMails = sut.sendEmails(List.of(hans, franz));
+        assertThat(failedMails).containsExactly(franz);
+    }
+
+    @Test
+    void sendEmailsReturnsAllMailsIfConnectionFails() {
+
+        when(javaMailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((Session) null));
+
+        final OutboxMail hans = new OutboxMail("from@example.org", "hans@dampf.com", "subject", "text", List.of(), Instant.now());
+        final OutboxMail franz = new OutboxMail("from@example.org", "franz@dampf.com", "subject", "text", List.of(), Instant.now());
+
+        doThrow(new MailSendException("connection refused")).when(javaMailSender).send(any(MimeMessage.class), any(MimeMessage.class));
+
+        final List<OutboxMail> failedMails = sut.sendEmails(List.of(hans, franz));
+        assertThat(failedMails).containsExactly(hans, franz);
+    }
+
+    @Test
+    void sendEmailsReturnsMailFailingUnexpectedlyAndSendsTheOthers() {
+
+        final MimeMessage franzMessage = new MimeMessage((Session) null);
+        when(javaMailSender.createMimeMessage()).thenThrow(new IllegalStateException("unexpected")).thenReturn(franzMessage);
+
+        final OutboxMail hans = new OutboxMail("from@example.org", "hans@dampf.com", "subject", "text", List.of(), Instant.now());
+        final OutboxMail franz = new OutboxMail("from@example.org", "franz@dampf.com", "subject", "text", List.of(), Instant.now());
+
+        final List<OutboxMail> failedMails = sut.sendEmails(List.of(hans, franz));
+        assertThat(failedMails).containsExactly(hans);
+        verify(javaMailSender).send(new MimeMessage[]{franzMessage});
+    }
+
+    @Test
+    void sendEmailsReturnsAllMailsIfSendingFailsUnexpectedly() {
+
+        when(javaMailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((Session) null));
+
+        final OutboxMail hans = new OutboxMail("from@example.org", "hans@dampf.com", "subject", "text", List.of(), Instant.now());
+
+        doThrow(new IllegalStateException("unexpected")).when(javaMailSender).send(any(MimeMessage.class));
+
+        final List<OutboxMail> failedMails = sut.sendEmails(List.of(hans));
+        assertThat(failedMails).containsExactly(hans);
     }
 
     @Test
-    void doesNotSendMailForZeroRecipients() {
+    void doesNotSendMailForZeroMails() {
 
-        sut.sendEmail("from@example.org", List.of(), "subject", "text");
+        final List<OutboxMail> failedMails = sut.sendEmails(List.of());
+        assertThat(failedMails).isEmpty();
 
         verifyNoInteractions(javaMailSender);
     }
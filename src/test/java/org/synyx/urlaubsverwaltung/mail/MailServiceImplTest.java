@@ -3,6 +3,8 @@ package org.synyx.urlaubsverwaltung.mail;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.MessageSource;
@@ -13,12 +15,20 @@ import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonService;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.synyx.urlaubsverwaltung.person.MailNotification.NOTIFICATION_USER;
@@ -34,21 +44,27 @@ class MailServiceImplTest {
     @Mock
     private MailContentBuilder mailContentBuilder;
     @Mock
-    private MailSenderService mailSenderService;
+    private OutboxMailRepository outboxMailRepository;
     @Mock
     private MailProperties mailProperties;
     @Mock
     private PersonService personService;
 
+    @Captor
+    private ArgumentCaptor<List<OutboxMail>> outboxMailsCaptor;
+
+    private final Instant now = Instant.parse("2021-07-01T08:00:00Z");
+
     @BeforeEach
     void setUp() {
 
         when(messageSource.getMessage(any(), any(), any())).thenReturn("subject");
-        when(mailContentBuilder.buildMailBody(any(), any(), any())).thenReturn("emailBody");
+        when(mailContentBuilder.buildMailBodies(any(), any(), any(), any()))
+            .thenAnswer(invocation -> Collections.nCopies(invocation.<List<Person>>getArgument(2).size(), "emailBody"));
         when(mailProperties.getSender()).thenReturn("no-reply@example.org");
         when(mailProperties.getApplicationUrl()).thenReturn("http://localhost:8080");
 
-        sut = new MailServiceImpl(messageSource, mailContentBuilder, mailSenderService, mailProperties, personService);
+        sut = new MailServiceImpl(messageSource, mailContentBuilder, outboxMailRepository, mailProperties, personService, Clock.fixed(now, ZoneOffset.UTC));
     }
 
     @Test
@@ -74,7 +90,17 @@ class MailServiceImplTest {
 
         sut.send(mail);
 
-        verify(mailSenderService).sendEmail("no-reply@example.org", List.of("mail@example.org"), "subject", "emailBody");
+        verify(outboxMailRepository).saveAll(outboxMailsCaptor.capture());
+        assertThat(outboxMailsCaptor.getValue()).hasSize(1);
+
+        final OutboxMail outboxMail = outboxMailsCaptor.getValue().get(0);
+        assertThat(outboxMail.getSender()).isEqualTo("no-reply@example.org");
+        assertThat(outboxMail.getRecipient()).isEqualTo("mail@example.org");
+        assertThat(outboxMail.getSubject()).isEqualTo("subject");
+        assertThat(outboxMail.getBody()).isEqualTo("emailBody");
+        assertThat(outboxMail.getAttachments()).isEmpty();
+        assertThat(outboxMail.getAttempts()).isZero();
+        assertThat(outboxMail.getNextAttemptAt()).isEqualTo(now);
     }
 
     @Test
@@ -96,7 +122,8 @@ class MailServiceImplTest {
 
         sut.send(mail);
 
-        verify(mailSenderService).sendEmail("no-reply@example.org", List.of("hans@example.org"), "subject", "emailBody");
+        verify(outboxMailRepository).saveAll(outboxMailsCaptor.capture());
+        assertThat(outboxMailsCaptor.getValue()).extracting(OutboxMail::getRecipient).containsExactly("hans@example.org");
     }
 
     @Test
@@ -122,43 +149,57 @@ class MailServiceImplTest {
 
         sut.send(mail);
 
-        verify(mailSenderService).sendEmail("no-reply@example.org", List.of("hans@example.org"), "subject", "emailBody");
-        verify(mailSenderService).sendEmail("no-reply@example.org", List.of("franz@example.org"), "subject", "emailBody");
+        verify(outboxMailRepository).saveAll(outboxMailsCaptor.capture());
+        assertThat(outboxMailsCaptor.getValue()).extracting(OutboxMail::getRecipient).containsExactly("hans@example.org", "franz@example.org");
     }
 
     @Test
-    void sendMailWithAttachment() {
+    void sendMailSkipsRecipientsWithoutEmail() {
 
         setupMockServletRequest();
 
         final Person hans = new Person();
         hans.setEmail("hans@example.org");
 
-        final Person franz = new Person();
-        franz.setEmail("franz@example.org");
-        final List<Person> persons = asList(hans, franz);
+        final Person ldapPerson = new Person();
+        ldapPerson.setEmail(null);
 
-        final String subjectMessageKey = "subject.overtime.created";
-        final String templateName = "overtime_office";
+        final Person blank = new Person();
+        blank.setEmail(" ");
 
-        final File iCal = new File("calendar.ics");
-        iCal.deleteOnExit();
+        final Mail mail = Mail.builder()
+            .withRecipient(asList(ldapPerson, hans, blank))
+            .withSubject("subject.overtime.created")
+            .withTemplate("overtime_office", new HashMap<>())
+            .build();
+
+        sut.send(mail);
+
+        verify(mailContentBuilder).buildMailBodies(eq("overtime_office"), any(), eq(List.of(hans)), any());
+        verify(outboxMailRepository).saveAll(outboxMailsCaptor.capture());
+        assertThat(outboxMailsCaptor.getValue()).extracting(OutboxMail::getRecipient).containsExactly("hans@example.org");
+    }
+
+    @Test
+    void sendMailWithoutRecipientWithEmailQueuesNothing() {
+
+        final Person ldapPerson = new Person();
+        ldapPerson.setEmail(null);
 
         final Mail mail = Mail.builder()
-            .withRecipient(persons)
-            .withSubject(subjectMessageKey)
-            .withTemplate(templateName, new HashMap<>())
-            .withAttachment("fileName", iCal)
+            .withRecipient(ldapPerson)
+            .withSubject("subject.overtime.created")
+            .withTemplate("overtime_office", new HashMap<>())
             .build();
 
         sut.send(mail);
 
-        verify(mailSenderService).sendEmail("no-reply@example.org", List.of("franz@example.org"), "subject", "emailBody", List.of(new MailAttachment("fileName", iCal)));
-        verify(mailSenderService).sendEmail("no-reply@example.org", List.of("hans@example.org"), "subject", "emailBody", List.of(new MailAttachment("fileName", iCal)));
+        verify(outboxMailRepository).saveAll(outboxMailsCaptor.capture());
+        assertThat(outboxMailsCaptor.getValue()).isEmpty();
     }
 
     @Test
-    void sendMailWithAttachmentToEachPerson() {
+    void sendMailWithAttachment() throws IOException {
 
         setupMockServletRequest();
 
@@ -172,8 +213,9 @@ class MailServiceImplTest {
         final String subjectMessageKey = "subject.overtime.created";
         final String templateName = "overtime_office";
 
-        final File iCal = new File("calendar.ics");
+        final File iCal = File.createTempFile("calendar", ".ics");
         iCal.deleteOnExit();
+        Files.writeString(iCal.toPath(), "BEGIN:VCALENDAR");
 
         final Mail mail = Mail.builder()
             .withRecipient(persons)
@@ -184,8 +226,14 @@ class MailServiceImplTest {
 
         sut.send(mail);
 
-        verify(mailSenderService).sendEmail("no-reply@example.org", List.of("hans@example.org"), "subject", "emailBody", List.of(new MailAttachment("fileName", iCal)));
-        verify(mailSenderService).sendEmail("no-reply@example.org", List.of("franz@example.org"), "subject", "emailBody", List.of(new MailAttachment("fileName", iCal)));
+        verify(outboxMailRepository).saveAll(outboxMailsCaptor.capture());
+        final List<OutboxMail> outboxMails = outboxMailsCaptor.getValue();
+        assertThat(outboxMails).extracting(OutboxMail::getRecipient).containsExactly("hans@example.org", "franz@example.org");
+        assertThat(outboxMails).allSatisfy(outboxMail -> {
+            assertThat(outboxMail.getAttachments()).hasSize(1);
+            assertThat(outboxMail.getAttachments().get(0).getName()).isEqualTo("fileName");
+            assertThat(outboxMail.getAttachments().get(0).getContent()).isEqualTo("BEGIN:VCALENDAR".getBytes());
+        });
     }
 
     @Test
@@ -205,7 +253,8 @@ class MailServiceImplTest {
             .build();
         sut.send(mail);
 
-        verify(mailSenderService).sendEmail("no-reply@example.org", List.of(to), "subject", "emailBody");
+        verify(outboxMailRepository).saveAll(outboxMailsCaptor.capture());
+        assertThat(outboxMailsCaptor.getValue()).extracting(OutboxMail::getRecipient).containsExactly(to);
     }
 
     @Test
@@ -235,9 +284,9 @@ class MailServiceImplTest {
 
         sut.send(mail);
 
-        verify(mailSenderService).sendEmail("no-reply@example.org", List.of("hans@example.org"), "subject", "emailBody");
-        verify(mailSenderService).sendEmail("no-reply@example.org", List.of("franz@example.org"), "subject", "emailBody");
-        verify(mailSenderService).sendEmail("no-reply@example.org", List.of("admin@example.org"), "subject", "emailBody");
+        verify(outboxMailRepository).saveAll(outboxMailsCaptor.capture());
+        assertThat(outboxMailsCaptor.getValue()).extracting(OutboxMail::getRecipient)
+            .containsExactly("hans@example.org", "franz@example.org", "admin@example.org");
     }
 
     private void setupMockServletRequest() {
@@ -0,0 +1,207 @@
+package org.synyx.urlaubsverwaltung.mail;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxMailDispatcherTest {
+
+    private static final Instant NOW = Instant.parse("2021-07-01T08:00:00Z");
+
+    private OutboxMailDispatcher sut;
+
+    @Mock
+    private OutboxMailRepository outboxMailRepository;
+    @Mock
+    private MailSenderService mailSenderService;
+
+    private MeterRegistry meterRegistry;
+    private MailProperties mailProperties;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+
+        mailProperties = new MailProperties();
+        mailProperties.getOutbox().setBatchSize(4);
+        mailProperties.getOutbox().setWorkers(2);
+        mailProperties.getOutbox().setMaxAttempts(3);
+
+        sut = new OutboxMailDispatcher(outboxMailRepository, mailSenderService, mailProperties, meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @AfterEach
+    void tearDown() {
+        sut.destroy();
+    }
+
+    @Test
+    void ensureSendsDueMailsAndRemovesThemFromTheOutbox() {
+
+        final OutboxMail hans = mail("hans@example.org");
+        final OutboxMail franz = mail("franz@example.org");
+        when(outboxMailRepository.findByNextAttemptAtLessThanEqualOrderById(NOW, PageRequest.of(0, 4))).thenReturn(List.of(hans, franz));
+        when(outboxMailRepository.claim(any(), any(), any())).thenReturn(1);
+        when(mailSenderService.sendEmails(any())).thenReturn(List.of());
+
+        sut.dispatch();
+
+        verify(mailSenderService).sendEmails(List.of(hans));
+        verify(mailSenderService).sendEmails(List.of(franz));
+        verify(outboxMailRepository).deleteAll(List.of(hans, franz));
+        verify(outboxMailRepository).saveAll(List.of());
+        assertThat(meterRegistry.get("mail.outbox.send").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void ensureSplitsBatchAmongWorkersAndLoadsNextBatchIfBatchIsFull() {
+
+        final OutboxMail one = mail("one@example.org");
+        final OutboxMail two = mail("two@example.org");
+        final OutboxMail three = mail("three@example.org");
+        final OutboxMail four = mail("four@example.org");
+        final OutboxMail five = mail("five@example.org");
+        when(outboxMailRepository.findByNextAttemptAtLessThanEqualOrderById(NOW, PageRequest.of(0, 4)))
+            .thenReturn(List.of(one, two, three, four), List.of(five));
+        when(outboxMailRepository.claim(any(), any(), any())).thenReturn(1);
+        when(mailSenderService.sendEmails(any())).thenReturn(List.of());
+
+        sut.dispatch();
+
+        verify(mailSenderService).sendEmails(List.of(one, two));
+        verify(mailSenderService).sendEmails(List.of(three, four));
+        verify(mailSenderService).sendEmails(List.of(five));
+        verify(outboxMailRepository).deleteAll(List.of(one, two, three, four));
+        verify(outboxMailRepository).deleteAll(List.of(five));
+    }
+
+    @Test
+    void ensureRetriesFailedMailsWithExponentialBackoff() {
+
+        final OutboxMail hans = mail("hans@example.org");
+        hans.failedAttempt(NOW);
+        when(outboxMailRepository.findByNextAttemptAtLessThanEqualOrderById(NOW, PageRequest.of(0, 4))).thenReturn(List.of(hans));
+        when(outboxMailRepository.claim(any(), any(), any())).thenReturn(1);
+        when(mailSenderService.sendEmails(List.of(hans))).thenReturn(List.of(hans));
+
+        sut.dispatch();
+
+        assertThat(hans.getAttempts()).isEqualTo(2);
+        assertThat(hans.getNextAttemptAt()).isEqualTo(NOW.plus(Duration.ofMinutes(2)));
+        verify(outboxMailRepository).deleteAll(List.of());
+        verify(outboxMailRepository).saveAll(List.of(hans));
+        assertThat(meterRegistry.get("mail.outbox.failures").tag("result", "retried").counter().count()).isOne();
+    }
+
+    @Test
+    void ensureRetryDelayIsLimited() {
+
+        mailProperties.getOutbox().setMaxAttempts(20);
+        mailProperties.getOutbox().setMaxRetryDelay(Duration.ofMinutes(5));
+
+        final OutboxMail hans = mail("hans@example.org");
+        for (int i = 0; i < 10; i++) {
+            hans.failedAttempt(NOW);
+        }
+        when(outboxMailRepository.findByNextAttemptAtLessThanEqualOrderById(NOW, PageRequest.of(0, 4))).thenReturn(List.of(hans));
+        when(outboxMailRepository.claim(any(), any(), any())).thenReturn(1);
+        when(mailSenderService.sendEmails(List.of(hans))).thenReturn(List.of(hans));
+
+        sut.dispatch();
+
+        assertThat(hans.getNextAttemptAt()).isEqualTo(NOW.plus(Duration.ofMinutes(5)));
+    }
+
+    @Test
+    void ensureDropsMailsAfterMaxAttempts() {
+
+        final OutboxMail hans = mail("hans@example.org");
+        hans.failedAttempt(NOW);
+        hans.failedAttempt(NOW);
+        when(outboxMailRepository.findByNextAttemptAtLessThanEqualOrderById(NOW, PageRequest.of(0, 4))).thenReturn(List.of(hans));
+        when(outboxMailRepository.claim(any(), any(), any())).thenReturn(1);
+        when(mailSenderService.sendEmails(List.of(hans))).thenReturn(List.of(hans));
+
+        sut.dispatch();
+
+        verify(outboxMailRepository).saveAll(List.of());
+        verify(outboxMailRepository).deleteAll(List.of(hans));
+        assertThat(meterRegistry.get("mail.outbox.failures").tag("result", "dropped").counter().count()).isOne();
+    }
+
+    @Test
+    void ensureRetriesMailsOfWorkerFailingUnexpectedly() {
+
+        final OutboxMail hans = mail("hans@example.org");
+        final OutboxMail franz = mail("franz@example.org");
+        when(outboxMailRepository.findByNextAttemptAtLessThanEqualOrderById(NOW, PageRequest.of(0, 4))).thenReturn(List.of(hans, franz));
+        when(outboxMailRepository.claim(any(), any(), any())).thenReturn(1);
+        when(mailSenderService.sendEmails(List.of(hans))).thenThrow(new IllegalStateException("unexpected"));
+        when(mailSenderService.sendEmails(List.of(franz))).thenReturn(List.of());
+
+        sut.dispatch();
+
+        assertThat(hans.getAttempts()).isOne();
+        verify(outboxMailRepository).deleteAll(List.of(franz));
+        verify(outboxMailRepository).saveAll(List.of(hans));
+    }
+
+    @Test
+    void ensureSendsOnlyClaimedMails() {
+
+        final OutboxMail hans = mail("hans@example.org");
+        hans.setId(1L);
+        final OutboxMail franz = mail("franz@example.org");
+        franz.setId(2L);
+        when(outboxMailRepository.findByNextAttemptAtLessThanEqualOrderById(NOW, PageRequest.of(0, 4))).thenReturn(List.of(hans, franz));
+        when(outboxMailRepository.claim(1L, NOW, NOW.plus(Duration.ofMinutes(10)))).thenReturn(0);
+        when(outboxMailRepository.claim(2L, NOW, NOW.plus(Duration.ofMinutes(10)))).thenReturn(1);
+        when(mailSenderService.sendEmails(List.of(franz))).thenReturn(List.of());
+
+        sut.dispatch();
+
+        verify(mailSenderService, never()).sendEmails(List.of(hans));
+        verify(outboxMailRepository).deleteAll(List.of(franz));
+    }
+
+    @Test
+    void ensureDoesNothingWithoutDueMails() {
+
+        when(outboxMailRepository.findByNextAttemptAtLessThanEqualOrderById(NOW, PageRequest.of(0, 4))).thenReturn(List.of());
+
+        sut.dispatch();
+
+        verify(mailSenderService, never()).sendEmails(any());
+    }
+
+    @Test
+    void ensureOutboxSizeMetric() {
+
+        when(outboxMailRepository.count()).thenReturn(42L);
+
+        assertThat(meterRegistry.get("mail.outbox.size").gauge().value()).isEqualTo(42);
+    }
+
+    private static OutboxMail mail(String recipient) {
+        return new OutboxMail("no-reply@example.org", recipient, "subject", "body", List.of(), NOW);
+    }
+}
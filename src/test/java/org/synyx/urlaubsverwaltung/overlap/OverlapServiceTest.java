@@ -15,7 +15,6 @@ import org.synyx.urlaubsverwaltung.sicknote.SickNote;
 import org.synyx.urlaubsverwaltung.sicknote.SickNoteService;
 import org.synyx.urlaubsverwaltung.sicknote.SickNoteStatus;
 
-import java.time.Clock;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -34,6 +33,7 @@ import static org.synyx.urlaubsverwaltung.overlap.OverlapCase.NO_OVERLAPPING;
 import static org.synyx.urlaubsverwaltung.overlap.OverlapCase.PARTLY_OVERLAPPING;
 import static org.synyx.urlaubsverwaltung.period.DayLength.FULL;
 import static org.synyx.urlaubsverwaltung.period.DayLength.MORNING;
+import static org.synyx.urlaubsverwaltung.period.DayLength.NOON;
 import static org.synyx.urlaubsverwaltung.sicknote.SickNoteStatus.ACTIVE;
 
 @ExtendWith(MockitoExtension.class)
@@ -48,7 +48,7 @@ class OverlapServiceTest {
 
     @BeforeEach
     void setup() {
-        sut = new OverlapService(applicationRepository, sickNoteService, Clock.systemUTC());
+        sut = new OverlapService(applicationRepository, sickNoteService);
     }
 
     @Test
@@ -368,7 +368,7 @@ class OverlapServiceTest {
 
 
     @Test
-    void ensureFullyOverlappingIfApplyingForFullDayAlthoughThereIsAlreadyAHalfDayVacation() {
+    void ensurePartlyOverlappingIfApplyingForFullDayAlthoughThereIsAlreadyAHalfDayVacation() {
 
         LocalDate vacationDate = LocalDate.of(2012, JANUARY, 16);
 
@@ -387,7 +387,7 @@ class OverlapServiceTest {
         fullDayVacation.setEndDate(vacationDate);
 
         final OverlapCase overlapCase = sut.checkOverlap(fullDayVacation);
-        assertThat(overlapCase).isEqualTo(FULLY_OVERLAPPING);
+        assertThat(overlapCase).isEqualTo(PARTLY_OVERLAPPING);
     }
 
     @Test
@@ -415,7 +415,7 @@ class OverlapServiceTest {
 
 
     @Test
-    void ensureFullyOverlappingIfCreatingSickNoteOnADayWithHalfDayVacation() {
+    void ensurePartlyOverlappingIfCreatingSickNoteOnADayWithHalfDayVacation() {
 
         LocalDate vacationDate = LocalDate.of(2012, JANUARY, 16);
 
@@ -435,7 +435,7 @@ class OverlapServiceTest {
         sickNote.setStatus(ACTIVE);
 
         final OverlapCase overlapCase = sut.checkOverlap(sickNote);
-        assertThat(overlapCase).isEqualTo(FULLY_OVERLAPPING);
+        assertThat(overlapCase).isEqualTo(PARTLY_OVERLAPPING);
     }
 
     @Test
@@ -459,7 +459,7 @@ class OverlapServiceTest {
         sickNote.setStatus(ACTIVE);
 
         final OverlapCase overlapCase = sut.checkOverlap(sickNote);
-        assertThat(overlapCase).isEqualTo(FULLY_OVERLAPPING);
+        assertThat(overlapCase).isEqualTo(PARTLY_OVERLAPPING);
     }
 
     @Test
@@ -483,6 +483,109 @@ class OverlapServiceTest {
         sickNote.setStatus(ACTIVE);
 
         final OverlapCase overlapCase = sut.checkOverlap(sickNote);
+        assertThat(overlapCase).isEqualTo(PARTLY_OVERLAPPING);
+    }
+
+    @Test
+    void ensureNoOverlappingIfCreatingNoonSickNoteOnADayWithMorningVacation() {
+
+        final LocalDate vacationDate = LocalDate.of(2012, JANUARY, 16);
+
+        final Application morningVacation = new Application();
+        morningVacation.setDayLength(MORNING);
+        morningVacation.setStartDate(vacationDate);
+        morningVacation.setEndDate(vacationDate);
+        morningVacation.setStatus(ApplicationStatus.ALLOWED);
+
+        when(applicationRepository.getApplicationsForACertainTimeAndPerson(any(LocalDate.class), any(LocalDate.class), any(Person.class)))
+            .thenReturn(singletonList(morningVacation));
+
+        final SickNote sickNote = anySickNote();
+        sickNote.setDayLength(NOON);
+        sickNote.setStartDate(vacationDate);
+        sickNote.setEndDate(vacationDate);
+        sickNote.setStatus(ACTIVE);
+
+        final OverlapCase overlapCase = sut.checkOverlap(sickNote);
+        assertThat(overlapCase).isEqualTo(NO_OVERLAPPING);
+    }
+
+    @Test
+    void ensureFullyOverlappingIfApplyingForFullDayAlthoughThereAreMorningAndNoonAbsences() {
+
+        final LocalDate vacationDate = LocalDate.of(2012, JANUARY, 16);
+
+        final Application morningVacation = new Application();
+        morningVacation.setDayLength(MORNING);
+        morningVacation.setStartDate(vacationDate);
+        morningVacation.setEndDate(vacationDate);
+        morningVacation.setStatus(ApplicationStatus.ALLOWED);
+
+        when(applicationRepository.getApplicationsForACertainTimeAndPerson(any(LocalDate.class), any(LocalDate.class), any(Person.class)))
+            .thenReturn(singletonList(morningVacation));
+
+        final SickNote noonSickNote = anySickNote();
+        noonSickNote.setDayLength(NOON);
+        noonSickNote.setStartDate(vacationDate);
+        noonSickNote.setEndDate(vacationDate);
+        noonSickNote.setStatus(ACTIVE);
+
+        when(sickNoteService.getByPersonAndPeriod(any(Person.class), any(LocalDate.class), any(LocalDate.class)))
+            .thenReturn(singletonList(noonSickNote));
+
+        final Application fullDayVacation = TestDataCreator.anyApplication();
+        fullDayVacation.setDayLength(FULL);
+        fullDayVacation.setStartDate(vacationDate);
+        fullDayVacation.setEndDate(vacationDate);
+
+        final OverlapCase overlapCase = sut.checkOverlap(fullDayVacation);
         assertThat(overlapCase).isEqualTo(FULLY_OVERLAPPING);
     }
+
+    @Test
+    void ensureListOfOverlapsIsMergedAndSorted() {
+
+        final Application application = new Application();
+        application.setDayLength(FULL);
+        application.setStartDate(LocalDate.of(2012, JANUARY, 18));
+        application.setEndDate(LocalDate.of(2012, JANUARY, 25));
+
+        final Application morningApplication = new Application();
+        morningApplication.setDayLength(MORNING);
+        morningApplication.setStartDate(LocalDate.of(2012, JANUARY, 12));
+        morningApplication.setEndDate(LocalDate.of(2012, JANUARY, 12));
+
+        final SickNote sickNote = anySickNote();
+        sickNote.setDayLength(FULL);
+        sickNote.setStartDate(LocalDate.of(2012, JANUARY, 5));
+        sickNote.setEndDate(LocalDate.of(2012, JANUARY, 17));
+
+        final List<HalfDayInterval> overlaps = sut.getListOfOverlaps(LocalDate.of(2012, JANUARY, 10), LocalDate.of(2012, JANUARY, 20),
+            List.of(application, morningApplication), List.of(sickNote));
+
+        assertThat(overlaps).hasSize(1);
+        assertThat(overlaps.get(0).getStartDate()).isEqualTo(LocalDate.of(2012, JANUARY, 10));
+        assertThat(overlaps.get(0).getEndDate()).isEqualTo(LocalDate.of(2012, JANUARY, 20));
+    }
+
+    @Test
+    void ensureListOfOverlapsContainsTheSeparateOverlaps() {
+
+        final Application noonApplication = new Application();
+        noonApplication.setDayLength(NOON);
+        noonApplication.setStartDate(LocalDate.of(2012, JANUARY, 12));
+        noonApplication.setEndDate(LocalDate.of(2012, JANUARY, 12));
+
+        final SickNote sickNote = anySickNote();
+        sickNote.setDayLength(FULL);
+        sickNote.setStartDate(LocalDate.of(2012, JANUARY, 5));
+        sickNote.setEndDate(LocalDate.of(2012, JANUARY, 10));
+
+        final List<HalfDayInterval> overlaps = sut.getListOfOverlaps(LocalDate.of(2012, JANUARY, 9), LocalDate.of(2012, JANUARY, 20),
+            List.of(noonApplication), List.of(sickNote));
+
+        assertThat(overlaps).containsExactly(
+            HalfDayInterval.of(LocalDate.of(2012, JANUARY, 9), LocalDate.of(2012, JANUARY, 10), FULL),
+            HalfDayInterval.of(LocalDate.of(2012, JANUARY, 12), LocalDate.of(2012, JANUARY, 12), NOON));
+    }
 }
@@ -8,6 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 import org.synyx.urlaubsverwaltung.TestContainersBase;
+import org.synyx.urlaubsverwaltung.mail.OutboxMailDispatcher;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonService;
 
@@ -37,6 +38,8 @@ class OvertimeMailServiceIT extends TestContainersBase {
     @Autowired
     private OvertimeMailService sut;
     @Autowired
+    private OutboxMailDispatcher outboxMailDispatcher;
+    @Autowired
     private PersonService personService;
     @Autowired
     private Clock clock;
@@ -59,6 +62,7 @@ class OvertimeMailServiceIT extends TestContainersBase {
         personService.save(office);
 
         sut.sendOvertimeNotification(overtime, overtimeComment);
+        outboxMailDispatcher.dispatch();
 
         // was email sent to office?
         assertThat(greenMail.getReceivedMessagesForDomain(office.getEmail()).length).isOne();
@@ -21,6 +21,7 @@ import java.time.Duration;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -297,6 +298,25 @@ class OvertimeServiceImplTest {
         assertThat(leftOvertime).isEqualTo(Duration.ZERO);
     }
 
+    @Test
+    void ensureTheLeftOvertimeOfPersonsIsTheDifferenceBetweenTotalOvertimeAndOvertimeReduction() {
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        person.setId(1);
+        final Person personWithoutOvertime = new Person("other", "Other", "Olaf", "other@example.org");
+        personWithoutOvertime.setId(2);
+        final List<Person> persons = List.of(person, personWithoutOvertime);
+
+        when(overtimeRepository.calculateTotalHoursForPersons(persons)).thenReturn(List.of(overtimeDurationSum(1, 10d)));
+        when(applicationService.getTotalOvertimeReductionOfPersons(persons))
+            .thenReturn(Map.of(person, Duration.ofHours(1), personWithoutOvertime, Duration.ofHours(2)));
+
+        final Map<Person, Duration> leftOvertime = sut.getLeftOvertimeForPersons(persons);
+        assertThat(leftOvertime)
+            .containsEntry(person, Duration.ofHours(9))
+            .containsEntry(personWithoutOvertime, Duration.ofHours(-2));
+    }
+
     @ParameterizedTest
     @ValueSource(booleans = {true, false})
     void ensureOfficeIsAllowedToWriteOthersOvertime(boolean overtimeWritePrivilegedOnly) {
@@ -377,4 +397,18 @@ class OvertimeServiceImplTest {
 
         return settings;
     }
+
+    private static OvertimeDurationSum overtimeDurationSum(Integer personId, Double durationSum) {
+        return new OvertimeDurationSum() {
+            @Override
+            public Integer getPersonId() {
+                return personId;
+            }
+
+            @Override
+            public Double getDurationSum() {
+                return durationSum;
+            }
+        };
+    }
 }
@@ -1,5 +1,7 @@
 package org.synyx.urlaubsverwaltung.person;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -7,6 +9,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
@@ -14,6 +17,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.synyx.urlaubsverwaltung.account.AccountInteractionService;
 import org.synyx.urlaubsverwaltung.workingtime.WorkingTimeWriteService;
 
+import java.time.Clock;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,8 +30,9 @@ import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.synyx.urlaubsverwaltung.TestDataCreator.createPerson;
 import static org.synyx.urlaubsverwaltung.person.MailNotification.NOTIFICATION_BOSS_ALL;
@@ -54,11 +59,15 @@ class PersonServiceImplTest {
     @Mock
     private ApplicationEventPublisher applicationEventPublisher;
 
-    private final ArgumentCaptor<PersonDisabledEvent> personDisabledEventArgumentCaptor = ArgumentCaptor.forClass(PersonDisabledEvent.class);
+    private final ArgumentCaptor<ApplicationEvent> applicationEventArgumentCaptor = ArgumentCaptor.forClass(ApplicationEvent.class);
+
+    private MeterRegistry meterRegistry;
 
     @BeforeEach
     void setUp() {
-        sut = new PersonServiceImpl(personRepository, accountInteractionService, workingTimeWriteService, applicationEventPublisher);
+        meterRegistry = new SimpleMeterRegistry();
+        sut = new PersonServiceImpl(personRepository, accountInteractionService, workingTimeWriteService, applicationEventPublisher,
+            meterRegistry, Clock.systemUTC());
     }
 
     @AfterEach
@@ -175,6 +184,16 @@ class PersonServiceImplTest {
         verify(personRepository).findById(123);
     }
 
+    @Test
+    void ensureGetPersonsByIdsCallsCorrectDaoMethod() {
+
+        final Person person = new Person();
+        person.setId(123);
+        when(personRepository.findAllById(List.of(123, 456))).thenReturn(List.of(person));
+
+        assertThat(sut.getPersonsByIds(List.of(123, 456))).containsExactly(person);
+    }
+
     @Test
     void ensureGetPersonByLoginCallsCorrectDaoMethod() {
         final String username = "foo";
@@ -231,6 +250,20 @@ class PersonServiceImplTest {
             .contains(inactive);
     }
 
+    @Test
+    void ensureGetAllPersonsReturnsActiveAndInactivePersons() {
+
+        final Person inactive = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        inactive.setPermissions(List.of(INACTIVE));
+
+        final Person user = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        user.setPermissions(List.of(USER));
+
+        when(personRepository.findAll()).thenReturn(List.of(inactive, user));
+
+        assertThat(sut.getAllPersons()).containsExactly(inactive, user);
+    }
+
     @Test
     void ensureGetPersonsByRoleReturnsOnlyPersonsWithTheGivenRole() {
 
@@ -291,6 +324,20 @@ class PersonServiceImplTest {
     }
 
 
+    @Test
+    void ensureGetActivePersonSummariesReturnSortedList() {
+
+        final PersonSummary shane = personSummary("Shane", "Walsh");
+        final PersonSummary carl = personSummary("carl", "Grimes");
+        final PersonSummary rick = personSummary("Rick", "Grimes");
+
+        when(personRepository.findSummariesByPermissionsNotContaining(INACTIVE)).thenReturn(asList(shane, carl, rick));
+
+        final List<PersonSummary> sortedList = sut.getActivePersonSummaries();
+        assertThat(sortedList)
+            .containsExactly(carl, rick, shane);
+    }
+
     @Test
     void ensureGetInactivePersonsReturnSortedList() {
 
@@ -349,6 +396,9 @@ class PersonServiceImplTest {
     void ensureReturnsPersonForCurrentlySignedInUser() {
 
         final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        person.setId(1);
+        person.setPermissions(List.of(USER, OFFICE));
+        person.setNotifications(List.of(NOTIFICATION_USER));
         when(personRepository.findByUsername("muster")).thenReturn(Optional.of(person));
 
         final Authentication authentication = mock(Authentication.class);
@@ -358,6 +408,54 @@ class PersonServiceImplTest {
 
         final Person signedInUser = sut.getSignedInUser();
         assertThat(signedInUser).isEqualTo(person);
+        assertThat(signedInUser.getUsername()).isEqualTo("muster");
+        assertThat(signedInUser.getPermissions()).containsExactly(USER, OFFICE);
+        assertThat(signedInUser.getNotifications()).containsExactly(NOTIFICATION_USER);
+    }
+
+    @Test
+    void ensureCachesSignedInUser() {
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        person.setId(1);
+        when(personRepository.findByUsername("muster")).thenReturn(Optional.of(person));
+
+        final Authentication authentication = mock(Authentication.class);
+        when(authentication.getName()).thenReturn(person.getUsername());
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        SecurityContextHolder.setContext(securityContext);
+
+        final Person signedInUser = sut.getSignedInUser();
+        final Person cachedSignedInUser = sut.getSignedInUser();
+        assertThat(cachedSignedInUser).isEqualTo(signedInUser).isNotSameAs(signedInUser);
+
+        verify(personRepository).findByUsername("muster");
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "signedInUsers").tag("result", "hit").functionCounter().count()).isOne();
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "signedInUsers").tag("result", "miss").functionCounter().count()).isOne();
+    }
+
+    @Test
+    void ensureDropsCachedSignedInUserOnSave() {
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        person.setId(1);
+        person.setPermissions(List.of(USER));
+        when(personRepository.findByUsername("muster")).thenReturn(Optional.of(person));
+        when(personRepository.save(person)).thenReturn(person);
+
+        final Authentication authentication = mock(Authentication.class);
+        when(authentication.getName()).thenReturn(person.getUsername());
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        SecurityContextHolder.setContext(securityContext);
+
+        sut.getSignedInUser();
+
+        person.setPermissions(List.of(USER, INACTIVE));
+        sut.save(person);
+
+        final Person signedInUser = sut.getSignedInUser();
+        assertThat(signedInUser.getPermissions()).containsExactly(USER, INACTIVE);
+        verify(personRepository, times(2)).findByUsername("muster");
     }
 
     @Test
@@ -406,9 +504,24 @@ class PersonServiceImplTest {
         when(personRepository.save(inactivePerson)).thenReturn(inactivePerson);
 
         final Person savedInactivePerson = sut.save(inactivePerson);
-        verify(applicationEventPublisher).publishEvent(personDisabledEventArgumentCaptor.capture());
-        assertThat(personDisabledEventArgumentCaptor.getValue().getPersonId())
-            .isEqualTo(savedInactivePerson.getId());
+        verify(applicationEventPublisher, times(2)).publishEvent(applicationEventArgumentCaptor.capture());
+        assertThat(applicationEventArgumentCaptor.getAllValues())
+            .filteredOn(PersonDisabledEvent.class::isInstance)
+            .extracting(event -> ((PersonDisabledEvent) event).getPersonId())
+            .containsExactly(savedInactivePerson.getId());
+    }
+
+    @Test
+    void ensurePersonUpdatedEventIsFiredAfterPersonSave() {
+
+        final Person person = createPerson("active person", USER);
+        person.setId(1);
+        when(personRepository.save(person)).thenReturn(person);
+
+        final Person savedPerson = sut.save(person);
+        verify(applicationEventPublisher).publishEvent(applicationEventArgumentCaptor.capture());
+        assertThat(applicationEventArgumentCaptor.getValue())
+            .isInstanceOfSatisfying(PersonUpdatedEvent.class, event -> assertThat(event.getPerson()).isSameAs(savedPerson));
     }
 
     @Test
@@ -419,7 +532,7 @@ class PersonServiceImplTest {
         when(personRepository.save(activePerson)).thenReturn(activePerson);
 
         sut.save(activePerson);
-        verifyNoInteractions(applicationEventPublisher);
+        verify(applicationEventPublisher, never()).publishEvent(any(PersonDisabledEvent.class));
     }
 
     @Test
@@ -430,4 +543,11 @@ class PersonServiceImplTest {
         final int numberOfActivePersons = sut.numberOfActivePersons();
         assertThat(numberOfActivePersons).isEqualTo(2);
     }
+
+    private static PersonSummary personSummary(String firstName, String lastName) {
+        final PersonSummary person = mock(PersonSummary.class);
+        when(person.getFirstName()).thenReturn(firstName);
+        when(person.getLastName()).thenReturn(lastName);
+        return person;
+    }
 }
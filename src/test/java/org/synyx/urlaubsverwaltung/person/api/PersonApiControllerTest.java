@@ -9,6 +9,7 @@ import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilde
 import org.synyx.urlaubsverwaltung.api.RestControllerAdviceExceptionHandler;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonService;
+import org.synyx.urlaubsverwaltung.person.PersonSummary;
 
 import java.util.List;
 import java.util.Optional;
@@ -17,6 +18,7 @@ import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
@@ -33,12 +35,10 @@ class PersonApiControllerTest {
     @Test
     void ensureReturnsAllActivePersons() throws Exception {
 
-        final Person shane = new Person("shane", "shane", "shane", "shane@example.org");
-        shane.setId(1);
-        final Person carl = new Person("carl", "carl", "carl", "carl@example.org");
-        carl.setId(2);
+        final PersonSummary shane = personSummary(1, "shane@example.org", "shane", "shane");
+        final PersonSummary carl = personSummary(2, "carl@example.org", "carl", "carl");
 
-        when(personService.getActivePersons()).thenReturn(List.of(shane, carl));
+        when(personService.getActivePersonSummaries()).thenReturn(List.of(shane, carl));
 
         perform(get("/api/persons"))
             .andExpect(status().isOk())
@@ -74,6 +74,15 @@ class PersonApiControllerTest {
             .andExpect(jsonPath("$.links..href", hasItem(endsWith("/api/persons/1/availabilities?from={from}&to={to}"))));
     }
 
+    private static PersonSummary personSummary(Integer id, String email, String firstName, String lastName) {
+        final PersonSummary person = mock(PersonSummary.class);
+        when(person.getId()).thenReturn(id);
+        when(person.getEmail()).thenReturn(email);
+        when(person.getFirstName()).thenReturn(firstName);
+        when(person.getLastName()).thenReturn(lastName);
+        return person;
+    }
+
     private ResultActions perform(MockHttpServletRequestBuilder builder) throws Exception {
         return standaloneSetup(new PersonApiController(personService))
             .setControllerAdvice(new RestControllerAdviceExceptionHandler())
@@ -28,6 +28,8 @@ import java.math.BigDecimal;
 import java.time.Clock;
 import java.time.LocalDate;
 import java.time.Year;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static java.util.Collections.singletonList;
@@ -35,6 +37,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -293,6 +296,22 @@ class PersonViewControllerTest {
             .andExpect(view().name("person/person_view"));
     }
 
+    @Test
+    void showPersonUsesFirstAccountOfPersonWithTwoAccountsInTheYear() throws Exception {
+
+        final Person boss = personWithRole(BOSS);
+        when(personService.getSignedInUser()).thenReturn(boss);
+        when(personService.getActivePersons()).thenReturn(List.of(person));
+
+        final Account account = accountForPerson(person);
+        final Account duplicateAccount = accountForPerson(person);
+        when(accountService.getHolidaysAccounts(anyInt(), eq(List.of(person)))).thenReturn(List.of(account, duplicateAccount));
+
+        perform(get("/web/person").param("active", "true"))
+            .andExpect(status().isOk())
+            .andExpect(model().attribute("accounts", Map.of(person, account)));
+    }
+
     @Test
     void showPersonWithActiveFlagUsesGivenYear() throws Exception {
 
@@ -0,0 +1,78 @@
+package org.synyx.urlaubsverwaltung.publicholiday;
+
+import de.jollyday.HolidayManager;
+import de.jollyday.ManagerParameters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.synyx.urlaubsverwaltung.settings.Settings;
+import org.synyx.urlaubsverwaltung.settings.SettingsService;
+import org.synyx.urlaubsverwaltung.workingtime.FederalState;
+
+import java.time.LocalDate;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compares the public holiday lookup of the {@link PublicHolidaysService} with the lookup
+ * through the {@link HolidayManager} for every day of ten years and every {@link FederalState}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PublicHolidaysServiceBenchmark {
+
+    private static final LocalDate START = LocalDate.of(2015, 1, 1);
+    private static final LocalDate END = LocalDate.of(2024, 12, 31);
+
+    private HolidayManager holidayManager;
+    private PublicHolidaysService publicHolidaysService;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PublicHolidaysServiceBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Setup
+    public void setUp() {
+        holidayManager = HolidayManager.getInstance(ManagerParameters.create(getClass().getClassLoader().getResource("Holidays_de.xml")));
+
+        final SettingsService settingsService = mock(SettingsService.class);
+        when(settingsService.getSettings()).thenReturn(new Settings());
+        publicHolidaysService = new PublicHolidaysService(settingsService, holidayManager);
+    }
+
+    @Benchmark
+    public void holidayManager(Blackhole blackhole) {
+        for (FederalState federalState : FederalState.values()) {
+            final String[] codes = federalState.getCodes();
+            for (LocalDate date = START; !date.isAfter(END); date = date.plusDays(1)) {
+                blackhole.consume(holidayManager.isHoliday(date, codes));
+            }
+        }
+    }
+
+    @Benchmark
+    public void publicHolidaysService(Blackhole blackhole) {
+        for (FederalState federalState : FederalState.values()) {
+            for (LocalDate date = START; !date.isAfter(END); date = date.plusDays(1)) {
+                blackhole.consume(publicHolidaysService.getAbsenceTypeOfDate(date, federalState));
+            }
+        }
+    }
+}
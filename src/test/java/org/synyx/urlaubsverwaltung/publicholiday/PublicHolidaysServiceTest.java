@@ -1,5 +1,6 @@
 package org.synyx.urlaubsverwaltung.publicholiday;
 
+import de.jollyday.Holiday;
 import de.jollyday.HolidayManager;
 import de.jollyday.ManagerParameter;
 import de.jollyday.ManagerParameters;
@@ -11,15 +12,20 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.synyx.urlaubsverwaltung.period.DayLength;
 import org.synyx.urlaubsverwaltung.settings.Settings;
 import org.synyx.urlaubsverwaltung.settings.SettingsService;
+import org.synyx.urlaubsverwaltung.settings.SettingsUpdatedEvent;
 import org.synyx.urlaubsverwaltung.workingtime.FederalState;
 
 import java.math.BigDecimal;
 import java.net.URL;
 import java.time.LocalDate;
 import java.time.Month;
+import java.util.List;
 
 import static java.time.Month.AUGUST;
+import static java.util.Comparator.comparing;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.synyx.urlaubsverwaltung.workingtime.FederalState.BADEN_WUERTTEMBERG;
 import static org.synyx.urlaubsverwaltung.workingtime.FederalState.BAYERN_MUENCHEN;
@@ -240,6 +246,64 @@ class PublicHolidaysServiceTest {
         assertThat(actual).isEqualTo(DayLength.NOON);
     }
 
+    @Test
+    void ensureAbsenceTypeOfDateMatchesHolidayManagerForAllFederalStates() {
+
+        when(settingsService.getSettings()).thenReturn(new Settings());
+
+        final HolidayManager holidayManager = getHolidayManager();
+        final LocalDate start = LocalDate.of(2015, 1, 1);
+        final LocalDate end = LocalDate.of(2024, 12, 31);
+
+        for (FederalState federalState : FederalState.values()) {
+            for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+                final boolean isHoliday = holidayManager.isHoliday(date, federalState.getCodes());
+                final DayLength absenceType = sut.getAbsenceTypeOfDate(date, federalState);
+                if (isHoliday) {
+                    assertThat(absenceType).as("%s in %s", date, federalState).isNotEqualTo(DayLength.ZERO);
+                } else {
+                    assertThat(absenceType).as("%s in %s", date, federalState).isEqualTo(DayLength.ZERO);
+                }
+            }
+        }
+    }
+
+    @Test
+    void ensureGetHolidaysMatchesHolidayManager() {
+
+        when(settingsService.getSettings()).thenReturn(new Settings());
+
+        final HolidayManager holidayManager = getHolidayManager();
+        final LocalDate from = LocalDate.of(2019, Month.DECEMBER, 25);
+        final LocalDate to = LocalDate.of(2021, Month.JANUARY, 1);
+
+        final List<Holiday> holidays = sut.getHolidays(from, to, BAYERN_MUENCHEN);
+        assertThat(holidays)
+            .containsExactlyInAnyOrderElementsOf(holidayManager.getHolidays(from, to, BAYERN_MUENCHEN.getCodes()))
+            .isSortedAccordingTo(comparing(Holiday::getDate));
+    }
+
+    @Test
+    void ensureCalendarIsRebuiltAfterSettingsUpdate() {
+
+        final Settings settings = new Settings();
+        when(settingsService.getSettings()).thenReturn(settings);
+
+        final LocalDate christmasEve = LocalDate.of(2019, 12, 24);
+        assertThat(sut.getAbsenceTypeOfDate(christmasEve, BADEN_WUERTTEMBERG)).isEqualTo(DayLength.NOON);
+
+        final Settings updatedSettings = new Settings();
+        updatedSettings.getWorkingTimeSettings().setWorkingDurationForChristmasEve(DayLength.ZERO);
+        when(settingsService.getSettings()).thenReturn(updatedSettings);
+
+        assertThat(sut.getAbsenceTypeOfDate(christmasEve, BADEN_WUERTTEMBERG)).isEqualTo(DayLength.NOON);
+
+        sut.handleSettingsUpdated(new SettingsUpdatedEvent(this, updatedSettings, 2));
+
+        assertThat(sut.getAbsenceTypeOfDate(christmasEve, BADEN_WUERTTEMBERG)).isEqualTo(DayLength.FULL);
+        verify(settingsService, times(2)).getSettings();
+    }
+
     private HolidayManager getHolidayManager() {
         final HolidayManager holidayManager;
         final ClassLoader cl = Thread.currentThread().getContextClassLoader();
@@ -0,0 +1,59 @@
+package org.synyx.urlaubsverwaltung.security.ldap;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DirectoryServiceSyncHealthIndicatorTest {
+
+    private final Clock clock = Clock.fixed(Instant.parse("2021-07-01T12:00:00Z"), ZoneOffset.UTC);
+
+    @Test
+    void isUpButNotSyncedBeforeFirstSync() {
+
+        final DirectoryServiceSyncHealthIndicator sut = new DirectoryServiceSyncHealthIndicator(clock);
+        sut.syncStarted();
+
+        final Health health = sut.health();
+        assertThat(health.getStatus()).isEqualTo(Status.UP);
+        assertThat(health.getDetails())
+            .containsEntry("synced", false)
+            .containsEntry("running", true)
+            .doesNotContainKey("lastSuccessfulSync");
+    }
+
+    @Test
+    void isUpAfterSuccessfulSync() {
+
+        final DirectoryServiceSyncHealthIndicator sut = new DirectoryServiceSyncHealthIndicator(clock);
+        sut.syncStarted();
+        sut.syncSucceeded();
+
+        final Health health = sut.health();
+        assertThat(health.getStatus()).isEqualTo(Status.UP);
+        assertThat(health.getDetails())
+            .containsEntry("synced", true)
+            .containsEntry("running", false)
+            .containsEntry("lastSuccessfulSync", Instant.parse("2021-07-01T12:00:00Z"));
+    }
+
+    @Test
+    void staysUpButReportsFailedSyncAfterSuccessfulSync() {
+
+        final DirectoryServiceSyncHealthIndicator sut = new DirectoryServiceSyncHealthIndicator(clock);
+        sut.syncSucceeded();
+        sut.syncFailed(new IllegalStateException("directory service unavailable"));
+
+        final Health health = sut.health();
+        assertThat(health.getStatus()).isEqualTo(Status.UP);
+        assertThat(health.getDetails())
+            .containsEntry("lastFailedSync", Instant.parse("2021-07-01T12:00:00Z"))
+            .containsEntry("lastFailure", "directory service unavailable");
+    }
+}
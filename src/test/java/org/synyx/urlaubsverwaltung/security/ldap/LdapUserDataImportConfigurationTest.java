@@ -1,15 +1,27 @@
 package org.synyx.urlaubsverwaltung.security.ldap;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.TriggerContext;
 import org.springframework.scheduling.config.CronTask;
 import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.scheduling.config.TriggerTask;
+import org.springframework.scheduling.support.SimpleTriggerContext;
 
+import java.time.Clock;
+import java.util.Date;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
+import static org.synyx.urlaubsverwaltung.security.ldap.DirectoryServiceSyncMode.FULL;
+import static org.synyx.urlaubsverwaltung.security.ldap.DirectoryServiceSyncMode.INCREMENTAL;
 
 class LdapUserDataImportConfigurationTest {
 
@@ -18,13 +30,14 @@ class LdapUserDataImportConfigurationTest {
 
         final DirectoryServiceSecurityProperties properties = new DirectoryServiceSecurityProperties();
         final LdapUserDataImporter importer = mock(LdapUserDataImporter.class);
-        final LdapUserDataImportConfiguration sut = new LdapUserDataImportConfiguration(properties, importer);
+        final DirectoryServiceSyncHealthIndicator healthIndicator = new DirectoryServiceSyncHealthIndicator(Clock.systemUTC());
+        final LdapUserDataImportConfiguration sut = new LdapUserDataImportConfiguration(properties, importer, healthIndicator);
 
         final ScheduledTaskRegistrar taskRegistrar = new ScheduledTaskRegistrar();
         sut.configureTasks(taskRegistrar);
 
         final List<CronTask> cronTaskList = taskRegistrar.getCronTaskList();
-        assertThat(cronTaskList).hasSize(1);
+        assertThat(cronTaskList).hasSize(2);
 
         final CronTask cronTask = cronTaskList.get(0);
         assertThat(cronTask.getExpression()).isEqualTo("0 0 1 * * ?");
@@ -32,6 +45,98 @@ class LdapUserDataImportConfigurationTest {
         verifyNoInteractions(importer);
 
         cronTask.getRunnable().run();
-        verify(importer).sync();
+        verify(importer).sync(INCREMENTAL);
+        assertThat(healthIndicator.health().getDetails()).containsEntry("synced", true);
+    }
+
+    @Test
+    void importsAllLdapUserDataWithGivenFullCronJobInterval() {
+
+        final DirectoryServiceSecurityProperties properties = new DirectoryServiceSecurityProperties();
+        final LdapUserDataImporter importer = mock(LdapUserDataImporter.class);
+        final DirectoryServiceSyncHealthIndicator healthIndicator = new DirectoryServiceSyncHealthIndicator(Clock.systemUTC());
+        final LdapUserDataImportConfiguration sut = new LdapUserDataImportConfiguration(properties, importer, healthIndicator);
+
+        final ScheduledTaskRegistrar taskRegistrar = new ScheduledTaskRegistrar();
+        sut.configureTasks(taskRegistrar);
+
+        final CronTask fullCronTask = taskRegistrar.getCronTaskList().get(1);
+        assertThat(fullCronTask.getExpression()).isEqualTo("0 0 2 * * SUN");
+
+        verifyNoInteractions(importer);
+
+        fullCronTask.getRunnable().run();
+        verify(importer).sync(FULL);
+        assertThat(healthIndicator.health().getDetails()).containsEntry("synced", true);
+    }
+
+    @Test
+    void doesNotScheduleFullImportIfDisabled() {
+
+        final DirectoryServiceSecurityProperties properties = new DirectoryServiceSecurityProperties();
+        properties.getSync().setFullCron("-");
+        final LdapUserDataImporter importer = mock(LdapUserDataImporter.class);
+        final DirectoryServiceSyncHealthIndicator healthIndicator = new DirectoryServiceSyncHealthIndicator(Clock.systemUTC());
+        final LdapUserDataImportConfiguration sut = new LdapUserDataImportConfiguration(properties, importer, healthIndicator);
+
+        final ScheduledTaskRegistrar taskRegistrar = new ScheduledTaskRegistrar();
+        sut.configureTasks(taskRegistrar);
+
+        assertThat(taskRegistrar.getCronTaskList())
+            .extracting(CronTask::getExpression)
+            .containsExactly("0 0 1 * * ?");
+    }
+
+    @Test
+    void importsLdapUserDataOnceAfterStartWithGivenModeOnOwnThread() throws InterruptedException {
+
+        final DirectoryServiceSecurityProperties properties = new DirectoryServiceSecurityProperties();
+        properties.getSync().setMode(FULL);
+        final LdapUserDataImporter importer = mock(LdapUserDataImporter.class);
+        final DirectoryServiceSyncHealthIndicator healthIndicator = new DirectoryServiceSyncHealthIndicator(Clock.systemUTC());
+        final ExecutorService startupSyncExecutor = Executors.newSingleThreadExecutor();
+        final LdapUserDataImportConfiguration sut = new LdapUserDataImportConfiguration(properties, importer, healthIndicator, startupSyncExecutor);
+
+        final ScheduledTaskRegistrar taskRegistrar = new ScheduledTaskRegistrar();
+        sut.configureTasks(taskRegistrar);
+
+        final List<TriggerTask> triggerTaskList = taskRegistrar.getTriggerTaskList();
+        assertThat(triggerTaskList).hasSize(1);
+
+        final TriggerTask triggerTask = triggerTaskList.get(0);
+        final TriggerContext notYetExecuted = new SimpleTriggerContext();
+        assertThat(triggerTask.getTrigger().nextExecutionTime(notYetExecuted)).isNotNull();
+        final Date now = new Date();
+        final TriggerContext executed = new SimpleTriggerContext(now, now, now);
+        assertThat(triggerTask.getTrigger().nextExecutionTime(executed)).isNull();
+
+        assertThat(healthIndicator.health().getDetails()).containsEntry("synced", false);
+
+        triggerTask.getRunnable().run();
+        sut.destroy();
+        assertThat(startupSyncExecutor.awaitTermination(10, SECONDS)).isTrue();
+
+        verify(importer).sync(FULL);
+        assertThat(healthIndicator.health().getDetails()).containsEntry("synced", true);
+    }
+
+    @Test
+    void reportsFailedImport() {
+
+        final DirectoryServiceSecurityProperties properties = new DirectoryServiceSecurityProperties();
+        final LdapUserDataImporter importer = mock(LdapUserDataImporter.class);
+        final DirectoryServiceSyncHealthIndicator healthIndicator = new DirectoryServiceSyncHealthIndicator(Clock.systemUTC());
+        final LdapUserDataImportConfiguration sut = new LdapUserDataImportConfiguration(properties, importer, healthIndicator);
+
+        final ScheduledTaskRegistrar taskRegistrar = new ScheduledTaskRegistrar();
+        sut.configureTasks(taskRegistrar);
+
+        doThrow(new IllegalStateException("directory service unavailable")).when(importer).sync(INCREMENTAL);
+
+        final Runnable sync = taskRegistrar.getCronTaskList().get(0).getRunnable();
+        assertThatThrownBy(sync::run).isInstanceOf(IllegalStateException.class);
+
+        assertThat(healthIndicator.health().getDetails()).containsEntry("synced", false);
+        assertThat(healthIndicator.health().getDetails()).containsEntry("lastFailure", "directory service unavailable");
     }
 }
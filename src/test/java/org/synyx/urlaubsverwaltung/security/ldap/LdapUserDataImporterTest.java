@@ -1,21 +1,31 @@
 package org.synyx.urlaubsverwaltung.security.ldap;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonService;
 
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.synyx.urlaubsverwaltung.person.MailNotification.NOTIFICATION_USER;
 import static org.synyx.urlaubsverwaltung.person.Role.USER;
+import static org.synyx.urlaubsverwaltung.security.ldap.DirectoryServiceSyncMode.FULL;
+import static org.synyx.urlaubsverwaltung.security.ldap.DirectoryServiceSyncMode.INCREMENTAL;
 
 @ExtendWith(MockitoExtension.class)
 class LdapUserDataImporterTest {
@@ -26,16 +36,23 @@ class LdapUserDataImporterTest {
     private LdapUserService ldapUserService;
     @Mock
     private PersonService personService;
+    @Mock
+    private DirectoryServiceSyncRepository directoryServiceSyncRepository;
+
+    private MeterRegistry meterRegistry;
+
+    private final Clock clock = Clock.fixed(Instant.parse("2021-07-01T12:00:00Z"), ZoneOffset.UTC);
 
     @BeforeEach
     void setUp() {
-        sut = new LdapUserDataImporter(ldapUserService, personService);
+        meterRegistry = new SimpleMeterRegistry();
+        sut = new LdapUserDataImporter(ldapUserService, personService, directoryServiceSyncRepository, meterRegistry, clock);
     }
 
     @Test
     void ensureFetchesLdapUsers() {
 
-        sut.sync();
+        sut.sync(INCREMENTAL);
 
         verify(ldapUserService).getLdapUsers();
     }
@@ -44,12 +61,13 @@ class LdapUserDataImporterTest {
     void ensurecreatePersonIfLdapUserNotYetExists() {
 
         final LdapUser ldapUser = new LdapUser("muster", null, null, null, List.of());
-        when(personService.getPersonByUsername(ldapUser.getUsername())).thenReturn(Optional.empty());
+        when(personService.getAllPersons()).thenReturn(List.of());
         when(ldapUserService.getLdapUsers()).thenReturn(List.of(ldapUser));
 
-        sut.sync();
+        sut.sync(INCREMENTAL);
 
         verify(personService).create("muster", null, null, null, List.of(NOTIFICATION_USER), List.of(USER));
+        assertThat(meterRegistry.get("directory.sync.persons").tag("result", "created").counter().count()).isOne();
     }
 
     @Test
@@ -57,14 +75,130 @@ class LdapUserDataImporterTest {
 
         final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
         final LdapUser ldapUser = new LdapUser(person.getUsername(), "Vorname", "Nachname", "Email", List.of());
-        when(personService.getPersonByUsername(ldapUser.getUsername())).thenReturn(Optional.of(person));
+        when(personService.getAllPersons()).thenReturn(List.of(person));
         when(ldapUserService.getLdapUsers()).thenReturn(List.of(ldapUser));
 
-        sut.sync();
+        sut.sync(INCREMENTAL);
 
         assertThat(person.getEmail()).isEqualTo("Email");
         assertThat(person.getFirstName()).isEqualTo("Vorname");
         assertThat(person.getLastName()).isEqualTo("Nachname");
-        verify(personService).save(person);
+        verify(personService).update(person);
+        assertThat(meterRegistry.get("directory.sync.persons").tag("result", "updated").counter().count()).isOne();
+    }
+
+    @Test
+    void ensureDoesNotUpdatePersonIfLdapUserIsUnchanged() {
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        final LdapUser ldapUser = new LdapUser(person.getUsername(), "Marlene", "Muster", "muster@example.org", List.of());
+        when(personService.getAllPersons()).thenReturn(List.of(person));
+        when(ldapUserService.getLdapUsers()).thenReturn(List.of(ldapUser));
+
+        sut.sync(INCREMENTAL);
+
+        verify(personService, never()).update(any(Person.class));
+        verify(personService, never()).save(any(Person.class));
+        assertThat(meterRegistry.get("directory.sync.persons").tag("result", "unchanged").counter().count()).isOne();
+    }
+
+    @Test
+    void ensureDoesNotOverwritePersonDataWithMissingLdapAttributes() {
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        final LdapUser ldapUser = new LdapUser(person.getUsername(), null, null, null, List.of());
+        when(personService.getAllPersons()).thenReturn(List.of(person));
+        when(ldapUserService.getLdapUsers()).thenReturn(List.of(ldapUser));
+
+        sut.sync(INCREMENTAL);
+
+        assertThat(person.getEmail()).isEqualTo("muster@example.org");
+        assertThat(person.getFirstName()).isEqualTo("Marlene");
+        assertThat(person.getLastName()).isEqualTo("Muster");
+        verify(personService, never()).update(any(Person.class));
+    }
+
+    @Test
+    void ensureLoadsPersonsOnlyOnce() {
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        final LdapUser muster = new LdapUser("muster", "Marlene", "Muster", "muster@example.org", List.of());
+        final LdapUser other = new LdapUser("other", "Other", "Person", "other@example.org", List.of());
+        when(personService.getAllPersons()).thenReturn(List.of(person));
+        when(ldapUserService.getLdapUsers()).thenReturn(List.of(muster, other));
+
+        sut.sync(INCREMENTAL);
+
+        verify(personService).getAllPersons();
+        verify(personService, never()).getPersonByUsername(any());
+        verify(personService).create("other", "Person", "Other", "other@example.org", List.of(NOTIFICATION_USER), List.of(USER));
+        assertThat(meterRegistry.get("directory.sync").timer().count()).isOne();
+    }
+
+    @Test
+    void ensureFetchesOnlyUsersModifiedSinceLastSync() {
+
+        final DirectoryServiceSync directoryServiceSync = new DirectoryServiceSync();
+        directoryServiceSync.setModifiedSince("20210630120000Z");
+        when(directoryServiceSyncRepository.findById(DirectoryServiceSync.ID)).thenReturn(Optional.of(directoryServiceSync));
+
+        final LdapUser muster = new LdapUser("muster", "Marlene", "Muster", "muster@example.org", List.of(), "20210701080000Z");
+        final LdapUser other = new LdapUser("other", "Other", "Person", "other@example.org", List.of(), "20210630120000Z");
+        when(ldapUserService.getLdapUsersModifiedSince("20210630120000Z")).thenReturn(List.of(muster, other));
+
+        sut.sync(INCREMENTAL);
+
+        verify(ldapUserService, never()).getLdapUsers();
+        verify(directoryServiceSyncRepository).save(directoryServiceSync);
+        assertThat(directoryServiceSync.getModifiedSince()).isEqualTo("20210701080000Z");
+        assertThat(directoryServiceSync.getLastSync()).isEqualTo(Instant.parse("2021-07-01T12:00:00Z"));
+    }
+
+    @Test
+    void ensureFetchesAllUsersOnIncrementalSyncWithoutPreviousSync() {
+
+        when(directoryServiceSyncRepository.findById(DirectoryServiceSync.ID)).thenReturn(Optional.empty());
+
+        final LdapUser ldapUser = new LdapUser("muster", "Marlene", "Muster", "muster@example.org", List.of(), "20210701080000Z");
+        when(ldapUserService.getLdapUsers()).thenReturn(List.of(ldapUser));
+
+        sut.sync(INCREMENTAL);
+
+        final ArgumentCaptor<DirectoryServiceSync> directoryServiceSyncCaptor = ArgumentCaptor.forClass(DirectoryServiceSync.class);
+        verify(directoryServiceSyncRepository).save(directoryServiceSyncCaptor.capture());
+        assertThat(directoryServiceSyncCaptor.getValue().getId()).isEqualTo(DirectoryServiceSync.ID);
+        assertThat(directoryServiceSyncCaptor.getValue().getModifiedSince()).isEqualTo("20210701080000Z");
+    }
+
+    @Test
+    void ensureFetchesAllUsersOnFullSync() {
+
+        final DirectoryServiceSync directoryServiceSync = new DirectoryServiceSync();
+        directoryServiceSync.setModifiedSince("20210630120000Z");
+        when(directoryServiceSyncRepository.findById(DirectoryServiceSync.ID)).thenReturn(Optional.of(directoryServiceSync));
+
+        final LdapUser ldapUser = new LdapUser("muster", "Marlene", "Muster", "muster@example.org", List.of(), "20200101000000Z");
+        when(ldapUserService.getLdapUsers()).thenReturn(List.of(ldapUser));
+
+        sut.sync(FULL);
+
+        verify(ldapUserService, never()).getLdapUsersModifiedSince(any());
+        assertThat(directoryServiceSync.getModifiedSince()).isEqualTo("20210630120000Z");
+    }
+
+    @Test
+    void ensureOrdersSequenceNumbersByValue() {
+
+        final DirectoryServiceSync directoryServiceSync = new DirectoryServiceSync();
+        directoryServiceSync.setModifiedSince("999");
+        when(directoryServiceSyncRepository.findById(DirectoryServiceSync.ID)).thenReturn(Optional.of(directoryServiceSync));
+
+        final LdapUser muster = new LdapUser("muster", "Marlene", "Muster", "muster@example.org", List.of(), "1000");
+        final LdapUser other = new LdapUser("other", "Other", "Person", "other@example.org", List.of(), "999");
+        when(ldapUserService.getLdapUsersModifiedSince("999")).thenReturn(List.of(other, muster));
+
+        sut.sync(INCREMENTAL);
+
+        assertThat(directoryServiceSync.getModifiedSince()).isEqualTo("1000");
     }
 }
@@ -25,6 +25,7 @@ class LdapUserMapperTest {
     private static final String LAST_NAME_ATTRIBUTE = "sn";
     private static final String MAIL_ADDRESS_ATTRIBUTE = "mail";
     private static final String MEMBER_OF_ATTRIBUTE = "memberOf";
+    private static final String MODIFIED_ATTRIBUTE = "modifyTimestamp";
 
     private static final String MEMBER_OF_FILTER = "CN=mygroup,DC=mydomain,DC=com";
 
@@ -88,12 +89,14 @@ class LdapUserMapperTest {
         when(attributes.get(FIRST_NAME_ATTRIBUTE)).thenReturn(new BasicAttribute(FIRST_NAME_ATTRIBUTE, "Geralt"));
         when(attributes.get(LAST_NAME_ATTRIBUTE)).thenReturn(new BasicAttribute(LAST_NAME_ATTRIBUTE, "von Riva"));
         when(attributes.get(MAIL_ADDRESS_ATTRIBUTE)).thenReturn(new BasicAttribute(MAIL_ADDRESS_ATTRIBUTE, "geralt@riva.de"));
+        when(attributes.get(MODIFIED_ATTRIBUTE)).thenReturn(new BasicAttribute(MODIFIED_ATTRIBUTE, "20210701120000Z"));
 
         final LdapUser ldapUser = ldapUserMapper.mapFromAttributes(attributes);
         assertThat(ldapUser.getUsername()).isEqualTo("geralt");
         assertThat(ldapUser.getFirstName()).isPresent().hasValue("Geralt");
         assertThat(ldapUser.getLastName()).isPresent().hasValue("von Riva");
         assertThat(ldapUser.getEmail()).isPresent().hasValue("geralt@riva.de");
+        assertThat(ldapUser.getModified()).hasValue("20210701120000Z");
     }
 
     // Map user from context -------------------------------------------------------------------------------------------
@@ -5,19 +5,24 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.ldap.core.LdapTemplate;
-import org.springframework.ldap.query.ContainerCriteria;
+import org.springframework.ldap.control.PagedResultsDirContextProcessor;
+import org.springframework.ldap.core.LdapOperations;
 import org.synyx.urlaubsverwaltung.security.ldap.DirectoryServiceSecurityProperties.SecurityFilter;
 
+import javax.naming.directory.SearchControls;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class LdapUserServiceImplTest {
 
     @Mock
-    private LdapTemplate ldapTemplate;
+    private LdapOperations ldapOperations;
     @Mock
     private LdapUserMapper ldapUserMapper;
 
@@ -30,13 +35,10 @@ class LdapUserServiceImplTest {
         final DirectoryServiceSecurityProperties properties = new DirectoryServiceSecurityProperties();
         properties.setFilter(securityFilter);
 
-        ArgumentCaptor<ContainerCriteria> captor = ArgumentCaptor.forClass(ContainerCriteria.class);
-
-        final LdapUserService sut = new LdapUserServiceImpl(ldapTemplate, ldapUserMapper, properties);
-        sut.getLdapUsers();
+        final LdapUserServiceImpl sut = new LdapUserServiceImpl(null, ldapUserMapper, properties);
+        sut.getLdapUsers(ldapOperations, null);
 
-        verify(ldapTemplate).search(captor.capture(), eq(ldapUserMapper));
-        assertThat(captor.getValue().filter().encode()).isEqualTo("(objectClass=objectClass)");
+        verify(ldapOperations).search(eq(""), eq("(objectClass=objectClass)"), any(SearchControls.class), eq(ldapUserMapper), any(PagedResultsDirContextProcessor.class));
     }
 
     @Test
@@ -48,12 +50,51 @@ class LdapUserServiceImplTest {
         final DirectoryServiceSecurityProperties properties = new DirectoryServiceSecurityProperties();
         properties.setFilter(securityFilter);
 
-        ArgumentCaptor<ContainerCriteria> captor = ArgumentCaptor.forClass(ContainerCriteria.class);
+        final LdapUserServiceImpl sut = new LdapUserServiceImpl(null, ldapUserMapper, properties);
+        sut.getLdapUsers(ldapOperations, null);
+
+        verify(ldapOperations).search(eq(""), eq("(&(objectClass=objectClass)(memberOf=membersOf))"), any(SearchControls.class), eq(ldapUserMapper), any(PagedResultsDirContextProcessor.class));
+    }
+
+    @Test
+    void getLdapUsersSearchesSubtreeWithConfiguredPageSize() {
+        final SecurityFilter securityFilter = new SecurityFilter();
+        securityFilter.setObjectClass("objectClass");
+
+        final DirectoryServiceSecurityProperties properties = new DirectoryServiceSecurityProperties();
+        properties.setFilter(securityFilter);
+        properties.getSync().setPageSize(42);
+
+        final LdapUser ldapUser = new LdapUser("muster", null, null, null, List.of());
+        when(ldapOperations.search(eq(""), eq("(objectClass=objectClass)"), any(SearchControls.class), eq(ldapUserMapper), any(PagedResultsDirContextProcessor.class)))
+            .thenReturn(List.of(ldapUser));
+
+        final LdapUserServiceImpl sut = new LdapUserServiceImpl(null, ldapUserMapper, properties);
+        final List<LdapUser> ldapUsers = sut.getLdapUsers(ldapOperations, null);
+        assertThat(ldapUsers).containsExactly(ldapUser);
+
+        final ArgumentCaptor<SearchControls> searchControlsCaptor = ArgumentCaptor.forClass(SearchControls.class);
+        final ArgumentCaptor<PagedResultsDirContextProcessor> pagedResultsCaptor = ArgumentCaptor.forClass(PagedResultsDirContextProcessor.class);
+        verify(ldapOperations).search(eq(""), eq("(objectClass=objectClass)"), searchControlsCaptor.capture(), eq(ldapUserMapper), pagedResultsCaptor.capture());
+        assertThat(searchControlsCaptor.getValue().getSearchScope()).isEqualTo(SearchControls.SUBTREE_SCOPE);
+        assertThat(pagedResultsCaptor.getValue().getPageSize()).isEqualTo(42);
+    }
+
+    @Test
+    void getLdapUsersModifiedSince() {
+        final SecurityFilter securityFilter = new SecurityFilter();
+        securityFilter.setObjectClass("objectClass");
+
+        final DirectoryServiceSecurityProperties properties = new DirectoryServiceSecurityProperties();
+        properties.setIdentifier("uid");
+        properties.setFilter(securityFilter);
+        properties.getSync().setModifiedAttribute("whenChanged");
 
-        final LdapUserService sut = new LdapUserServiceImpl(ldapTemplate, ldapUserMapper, properties);
-        sut.getLdapUsers();
+        final LdapUserServiceImpl sut = new LdapUserServiceImpl(null, ldapUserMapper, properties);
+        sut.getLdapUsers(ldapOperations, "20210701120000.0Z");
 
-        verify(ldapTemplate).search(captor.capture(), eq(ldapUserMapper));
-        assertThat(captor.getValue().filter().encode()).isEqualTo("(&(objectClass=objectClass)(memberOf=membersOf))");
+        final ArgumentCaptor<SearchControls> searchControlsCaptor = ArgumentCaptor.forClass(SearchControls.class);
+        verify(ldapOperations).search(eq(""), eq("(&(objectClass=objectClass)(whenChanged>=20210701120000.0Z))"), searchControlsCaptor.capture(), eq(ldapUserMapper), any(PagedResultsDirContextProcessor.class));
+        assertThat(searchControlsCaptor.getValue().getReturningAttributes()).containsExactly("uid", "memberOf", "whenChanged");
     }
 }
@@ -0,0 +1,263 @@
+package org.synyx.urlaubsverwaltung.settings;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import static org.synyx.urlaubsverwaltung.period.DayLength.MORNING;
+import static org.synyx.urlaubsverwaltung.period.DayLength.ZERO;
+
+@ExtendWith(MockitoExtension.class)
+class SettingsServiceImplTest {
+
+    private SettingsServiceImpl sut;
+
+    @Mock
+    private SettingsRepository settingsRepository;
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MutableClock clock;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock(Instant.parse("2021-06-01T08:00:00Z"));
+        sut = new SettingsServiceImpl(settingsRepository, applicationEventPublisher, meterRegistry, clock);
+    }
+
+    @Test
+    void ensureSettingsAreLoadedOnlyOnce() {
+        final Settings settings = new Settings();
+        when(settingsRepository.findById(1)).thenReturn(Optional.of(settings));
+
+        assertThat(sut.getSettings()).usingRecursiveComparison().isEqualTo(settings);
+        assertThat(sut.getSettings()).usingRecursiveComparison().isEqualTo(settings);
+        assertThat(sut.getSettings()).usingRecursiveComparison().isEqualTo(settings);
+
+        verify(settingsRepository, times(1)).findById(1);
+        verifyNoMoreInteractions(settingsRepository);
+
+        assertThat(meterRegistry.get("settings.cache.requests").tag("result", "miss").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("settings.cache.requests").tag("result", "hit").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void ensureThrowsIfNoSettingsArePersisted() {
+        when(settingsRepository.findById(1)).thenReturn(Optional.empty());
+
+        assertThatIllegalStateException().isThrownBy(() -> sut.getSettings());
+        assertThat(sut.getVersion()).isZero();
+    }
+
+    @Test
+    void ensureSaveReplacesSnapshotAndPublishesEvent() {
+        final Settings settings = new Settings();
+        when(settingsRepository.findById(1)).thenReturn(Optional.of(settings));
+        assertThat(sut.getSettings()).usingRecursiveComparison().isEqualTo(settings);
+        assertThat(sut.getVersion()).isEqualTo(1);
+
+        final Settings updatedSettings = new Settings();
+        final Settings savedSettings = new Settings();
+        savedSettings.getAccountSettings().setDefaultVacationDays(30);
+        when(settingsRepository.save(updatedSettings)).thenReturn(savedSettings);
+
+        sut.save(updatedSettings);
+
+        assertThat(sut.getSettings()).usingRecursiveComparison().isEqualTo(savedSettings);
+        assertThat(sut.getVersion()).isEqualTo(2);
+
+        final ArgumentCaptor<SettingsUpdatedEvent> captor = ArgumentCaptor.forClass(SettingsUpdatedEvent.class);
+        verify(applicationEventPublisher).publishEvent(captor.capture());
+        assertThat(captor.getValue().getSettings()).isSameAs(savedSettings);
+        assertThat(captor.getValue().getVersion()).isEqualTo(2);
+    }
+
+    @Test
+    void ensureSaveWithoutLoadedSettingsDoesNotQueryDatabase() {
+        final Settings settings = new Settings();
+        when(settingsRepository.save(settings)).thenReturn(settings);
+
+        sut.save(settings);
+
+        assertThat(sut.getSettings()).usingRecursiveComparison().isEqualTo(settings);
+        assertThat(sut.getVersion()).isEqualTo(1);
+        verify(settingsRepository, times(0)).findById(1);
+    }
+
+    @Test
+    void ensureReturnsCopyOfAllSettings() {
+        final Settings settings = new Settings();
+        settings.setId(1);
+        settings.getApplicationSettings().setMaximumMonthsToApplyForLeaveInAdvance(6);
+        settings.getApplicationSettings().setRemindForWaitingApplications(true);
+        settings.getAccountSettings().setMaximumAnnualVacationDays(30);
+        settings.getOvertimeSettings().setOvertimeActive(true);
+        settings.getTimeSettings().setTimeZoneId("Etc/UTC");
+        settings.getSickNoteSettings().setMaximumSickPayDays(21);
+        settings.getWorkingTimeSettings().setFriday(MORNING);
+        settings.getWorkingTimeSettings().setWorkingDurationForChristmasEve(ZERO);
+        settings.getCalendarSettings().setProvider("GoogleCalendarSyncProvider");
+        settings.getCalendarSettings().getGoogleCalendarSettings().setRefreshToken("token");
+        settings.getCalendarSettings().getExchangeCalendarSettings().setPassword("secret");
+        when(settingsRepository.findById(1)).thenReturn(Optional.of(settings));
+
+        final Settings copy = sut.getSettings();
+
+        assertThat(copy).usingRecursiveComparison().isEqualTo(settings);
+        assertThat(copy).isNotSameAs(settings);
+        assertThat(copy.getWorkingTimeSettings()).isNotSameAs(settings.getWorkingTimeSettings());
+        assertThat(copy.getCalendarSettings().getGoogleCalendarSettings()).isNotSameAs(settings.getCalendarSettings().getGoogleCalendarSettings());
+    }
+
+    @Test
+    void ensureChangingReturnedSettingsDoesNotChangeSnapshot() {
+        final Settings settings = new Settings();
+        when(settingsRepository.findById(1)).thenReturn(Optional.of(settings));
+
+        sut.getSettings().getTimeSettings().setTimeZoneId("Etc/UTC");
+        sut.getSettings().getCalendarSettings().getGoogleCalendarSettings().setRefreshToken("token");
+
+        assertThat(sut.getSettings().getTimeSettings().getTimeZoneId()).isEqualTo("Europe/Berlin");
+        assertThat(sut.getSettings().getCalendarSettings().getGoogleCalendarSettings().getRefreshToken()).isNull();
+    }
+
+    @Test
+    void ensureChangingSavedSettingsDoesNotChangeSnapshot() {
+        final Settings settings = new Settings();
+        when(settingsRepository.save(settings)).thenReturn(settings);
+
+        sut.save(settings);
+        settings.getAccountSettings().setDefaultVacationDays(30);
+
+        assertThat(sut.getSettings().getAccountSettings().getDefaultVacationDays()).isEqualTo(24);
+    }
+
+    @Test
+    void ensureSaveReplacesSnapshotOnlyAfterCommit() {
+        final Settings settings = new Settings();
+        when(settingsRepository.findById(1)).thenReturn(Optional.of(settings));
+        sut.getSettings();
+
+        final Settings savedSettings = new Settings();
+        savedSettings.getAccountSettings().setDefaultVacationDays(30);
+        when(settingsRepository.save(savedSettings)).thenReturn(savedSettings);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            sut.save(savedSettings);
+            assertThat(sut.getSettings().getAccountSettings().getDefaultVacationDays()).isEqualTo(24);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertThat(sut.getSettings().getAccountSettings().getDefaultVacationDays()).isEqualTo(30);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void ensureRolledBackSaveDoesNotChangeSnapshot() {
+        final Settings settings = new Settings();
+        when(settingsRepository.findById(1)).thenReturn(Optional.of(settings));
+        sut.getSettings();
+
+        final Settings savedSettings = new Settings();
+        savedSettings.getAccountSettings().setDefaultVacationDays(30);
+        when(settingsRepository.save(savedSettings)).thenReturn(savedSettings);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            sut.save(savedSettings);
+            TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(sut.getSettings().getAccountSettings().getDefaultVacationDays()).isEqualTo(24);
+    }
+
+    @Test
+    void ensureReloadsChangedSettingsAfterTimeToLiveAndPublishesEvent() {
+        final Settings settings = new Settings();
+        final Settings changedSettings = new Settings();
+        changedSettings.getAccountSettings().setDefaultVacationDays(30);
+        when(settingsRepository.findById(1)).thenReturn(Optional.of(settings), Optional.of(changedSettings));
+
+        assertThat(sut.getSettings().getAccountSettings().getDefaultVacationDays()).isEqualTo(24);
+
+        clock.instant = clock.instant.plusSeconds(29);
+        assertThat(sut.getSettings().getAccountSettings().getDefaultVacationDays()).isEqualTo(24);
+
+        clock.instant = clock.instant.plusSeconds(1);
+        assertThat(sut.getSettings().getAccountSettings().getDefaultVacationDays()).isEqualTo(30);
+        assertThat(sut.getVersion()).isEqualTo(2);
+
+        final ArgumentCaptor<SettingsUpdatedEvent> captor = ArgumentCaptor.forClass(SettingsUpdatedEvent.class);
+        verify(applicationEventPublisher).publishEvent(captor.capture());
+        assertThat(captor.getValue().getSettings()).isSameAs(changedSettings);
+        assertThat(captor.getValue().getVersion()).isEqualTo(2);
+    }
+
+    @Test
+    void ensureReloadOfUnchangedSettingsKeepsVersionAndPublishesNoEvent() {
+        final Settings settings = new Settings();
+        settings.getCalendarSettings().getExchangeCalendarSettings().setPassword("secret");
+        final Settings reloadedSettings = new Settings();
+        reloadedSettings.getCalendarSettings().getExchangeCalendarSettings().setPassword("secret");
+        when(settingsRepository.findById(1)).thenReturn(Optional.of(settings), Optional.of(reloadedSettings));
+
+        sut.getSettings();
+        clock.instant = clock.instant.plusSeconds(30);
+        sut.getSettings();
+
+        verify(settingsRepository, times(2)).findById(1);
+        assertThat(sut.getVersion()).isEqualTo(1);
+        verifyNoInteractions(applicationEventPublisher);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package org.synyx.urlaubsverwaltung.sickdays.web;
+
+import liquibase.util.csv.CSVWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.MessageSource;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.sickdays.web.SickDaysOverviewCsvExportService.SickDaysRowWriter;
+import org.synyx.urlaubsverwaltung.web.DateFormatAware;
+import org.synyx.urlaubsverwaltung.web.FilterPeriod;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static java.util.Locale.GERMAN;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.synyx.urlaubsverwaltung.sickdays.web.SickDays.SickDayType.TOTAL;
+import static org.synyx.urlaubsverwaltung.sickdays.web.SickDays.SickDayType.WITH_AUB;
+
+@ExtendWith(MockitoExtension.class)
+class SickDaysOverviewCsvExportServiceTest {
+
+    private SickDaysOverviewCsvExportService sut;
+
+    @Mock
+    private MessageSource messageSource;
+
+    @BeforeEach
+    void setUp() {
+        sut = new SickDaysOverviewCsvExportService(messageSource, new DateFormatAware());
+    }
+
+    @Test
+    void writeHeaderAndSickDaysOfTwoPersons() {
+
+        final FilterPeriod period = new FilterPeriod(LocalDate.parse("2019-01-01"), LocalDate.parse("2019-12-31"));
+
+        addMessageSource("absence.period");
+        addMessageSource("person.data.firstName");
+        addMessageSource("person.data.lastName");
+        addMessageSource("sicknotes.daysOverview.sickDays.number");
+        addMessageSource("sicknotes.daysOverview.sickDays.aub");
+        addMessageSource("sicknotes.daysOverview.sickDays.child.number");
+        addMessageSource("sicknotes.daysOverview.sickDays.child.aub");
+
+        final CSVWriter csvWriter = mock(CSVWriter.class);
+        final SickDaysRowWriter rowWriter = sut.writeHeader(period, csvWriter);
+
+        verify(csvWriter).writeNext(new String[]{"{absence.period}: 01.01.2019 - 31.12.2019"});
+        verify(csvWriter).writeNext(new String[]{"{person.data.firstName}", "{person.data.lastName}",
+            "{sicknotes.daysOverview.sickDays.number}", "{sicknotes.daysOverview.sickDays.aub}",
+            "{sicknotes.daysOverview.sickDays.child.number}", "{sicknotes.daysOverview.sickDays.child.aub}"});
+
+        final Person personOne = new Person("one", "One", "Marlene", "one@example.org");
+        final SickDays sickDays = new SickDays();
+        sickDays.addDays(TOTAL, BigDecimal.valueOf(4.5));
+        sickDays.addDays(WITH_AUB, BigDecimal.valueOf(2));
+        final SickDays childSickDays = new SickDays();
+        childSickDays.addDays(TOTAL, BigDecimal.ONE);
+        rowWriter.write(personOne, sickDays, childSickDays);
+
+        final Person personTwo = new Person("two", "Two", "Bettina", "two@example.org");
+        rowWriter.write(personTwo, new SickDays(), new SickDays());
+
+        verify(csvWriter).writeNext(new String[]{"Marlene", "One", "4,5", "2", "1", "0"});
+        verify(csvWriter).writeNext(new String[]{"Bettina", "Two", "0", "0", "0", "0"});
+    }
+
+    @Test
+    void getFileName() {
+
+        final FilterPeriod period = new FilterPeriod(LocalDate.parse("2019-01-01"), LocalDate.parse("2019-12-31"));
+
+        when(messageSource.getMessage("sicknotes.title", new Object[]{}, GERMAN)).thenReturn("Krankmeldungen");
+
+        assertThat(sut.getFileName(period)).isEqualTo("Krankmeldungen_01012019_31122019.csv");
+    }
+
+    private void addMessageSource(String key) {
+        when(messageSource.getMessage(eq(key), any(), eq(GERMAN))).thenReturn(String.format("{%s}", key));
+    }
+}
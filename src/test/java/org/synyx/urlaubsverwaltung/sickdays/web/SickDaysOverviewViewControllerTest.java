@@ -1,6 +1,7 @@
 package org.synyx.urlaubsverwaltung.sickdays.web;
 
 
+import liquibase.util.csv.CSVWriter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -22,21 +23,28 @@ import java.time.Clock;
 import java.time.LocalDate;
 import java.time.Year;
 import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static java.math.BigDecimal.ONE;
 import static java.math.BigDecimal.TEN;
+import static java.math.BigDecimal.ZERO;
 import static java.time.temporal.TemporalAdjusters.firstDayOfYear;
 import static java.time.temporal.TemporalAdjusters.lastDayOfYear;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.hasProperty;
 import static org.hamcrest.Matchers.hasValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.refEq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
@@ -54,6 +62,8 @@ class SickDaysOverviewViewControllerTest {
     @Mock
     private SickNoteService sickNoteService;
     @Mock
+    private SickDaysOverviewCsvExportService sickDaysOverviewCsvExportService;
+    @Mock
     private PersonService personService;
     @Mock
     private WorkDaysCountService workDaysCountService;
@@ -62,7 +72,7 @@ class SickDaysOverviewViewControllerTest {
 
     @BeforeEach
     void setUp() {
-        sut = new SickDaysOverviewViewController(sickNoteService, personService, workDaysCountService,
+        sut = new SickDaysOverviewViewController(sickNoteService, sickDaysOverviewCsvExportService, personService, workDaysCountService,
             new DateFormatAware(), clock);
     }
 
@@ -164,6 +174,64 @@ class SickDaysOverviewViewControllerTest {
         resultActions.andExpect(view().name("sicknote/sick_notes"));
     }
 
+    @Test
+    void downloadCSVSetsDownloadHeaders() throws Exception {
+
+        final String expectedFilename = "filename.csv";
+        when(sickDaysOverviewCsvExportService.getFileName(any(FilterPeriod.class))).thenReturn(expectedFilename);
+        when(sickDaysOverviewCsvExportService.writeHeader(any(FilterPeriod.class), any(CSVWriter.class))).thenReturn((person, sickDays, childSickDays) -> {
+        });
+
+        perform(get("/web/sicknote/download")
+            .param("from", "01.01.2019")
+            .param("to", "01.08.2019"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-disposition", "attachment;filename=" + expectedFilename));
+    }
+
+    @Test
+    void downloadCSVWritesSickDaysOfEveryActivePerson() throws Exception {
+
+        final Person person = new Person();
+        person.setId(1);
+        final Person personWithoutSickNotes = new Person();
+        personWithoutSickNotes.setId(2);
+        when(personService.getActivePersons()).thenReturn(asList(person, personWithoutSickNotes));
+
+        final SickNoteType sickType = new SickNoteType();
+        sickType.setCategory(SICK_NOTE);
+        final SickNote sickNote = new SickNote();
+        sickNote.setStartDate(LocalDate.of(2019, 4, 1));
+        sickNote.setEndDate(LocalDate.of(2019, 4, 5));
+        sickNote.setDayLength(FULL);
+        sickNote.setStatus(ACTIVE);
+        sickNote.setSickNoteType(sickType);
+        sickNote.setPerson(person);
+        when(workDaysCountService.getWorkDaysCount(FULL, LocalDate.of(2019, 4, 1), LocalDate.of(2019, 4, 5), person)).thenReturn(BigDecimal.valueOf(5L));
+
+        final LocalDate requestStartDate = LocalDate.of(2019, 1, 1);
+        final LocalDate requestEndDate = LocalDate.of(2019, 12, 31);
+        when(sickNoteService.getByPeriod(requestStartDate, requestEndDate)).thenReturn(List.of(sickNote));
+
+        final Map<Person, SickDays> writtenSickDays = new LinkedHashMap<>();
+        final Map<Person, SickDays> writtenChildSickDays = new LinkedHashMap<>();
+        when(sickDaysOverviewCsvExportService.writeHeader(refEq(new FilterPeriod(requestStartDate, requestEndDate)), any(CSVWriter.class)))
+            .thenReturn((writtenPerson, sickDays, childSickDays) -> {
+                writtenSickDays.put(writtenPerson, sickDays);
+                writtenChildSickDays.put(writtenPerson, childSickDays);
+            });
+
+        perform(get("/web/sicknote/download")
+            .param("from", requestStartDate.toString())
+            .param("to", requestEndDate.toString()))
+            .andExpect(status().isOk());
+
+        assertThat(writtenSickDays).containsOnlyKeys(person, personWithoutSickNotes);
+        assertThat(writtenSickDays.get(person).getDays()).containsEntry("TOTAL", BigDecimal.valueOf(5L)).containsEntry("WITH_AUB", ZERO);
+        assertThat(writtenSickDays.get(personWithoutSickNotes).getDays()).containsEntry("TOTAL", ZERO);
+        assertThat(writtenChildSickDays.get(person).getDays()).containsEntry("TOTAL", ZERO);
+    }
+
     private ResultActions perform(MockHttpServletRequestBuilder builder) throws Exception {
         return standaloneSetup(sut).build().perform(builder);
     }
@@ -5,18 +5,15 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.synyx.urlaubsverwaltung.absence.Absence;
 import org.synyx.urlaubsverwaltung.absence.AbsenceMapping;
 import org.synyx.urlaubsverwaltung.absence.AbsenceMappingService;
-import org.synyx.urlaubsverwaltung.absence.AbsenceMappingType;
 import org.synyx.urlaubsverwaltung.application.domain.Application;
 import org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus;
 import org.synyx.urlaubsverwaltung.application.service.ApplicationInteractionService;
 import org.synyx.urlaubsverwaltung.calendarintegration.CalendarSyncService;
 import org.synyx.urlaubsverwaltung.period.DayLength;
+import org.synyx.urlaubsverwaltung.period.Period;
 import org.synyx.urlaubsverwaltung.person.Person;
-import org.synyx.urlaubsverwaltung.settings.Settings;
-import org.synyx.urlaubsverwaltung.settings.SettingsService;
 
 import java.time.Clock;
 import java.time.LocalDate;
@@ -26,9 +23,9 @@ import static java.time.ZoneOffset.UTC;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.synyx.urlaubsverwaltung.absence.AbsenceMappingType.SICKNOTE;
@@ -53,19 +50,15 @@ class SickNoteInteractionServiceImplTest {
     private CalendarSyncService calendarSyncService;
     @Mock
     private AbsenceMappingService absenceMappingService;
-    @Mock
-    private SettingsService settingsService;
 
     @BeforeEach
     void setUp() {
         sut = new SickNoteInteractionServiceImpl(sickNoteService, commentService, applicationInteractionService, calendarSyncService,
-            absenceMappingService, settingsService, Clock.systemUTC());
+            absenceMappingService, Clock.systemUTC());
     }
 
     @Test
     void ensureCreatedSickNoteIsPersisted() {
-        when(calendarSyncService.addAbsence(any(Absence.class))).thenReturn(Optional.of("42"));
-        when(settingsService.getSettings()).thenReturn(new Settings());
 
         final Person creator = new Person("creator", "Senior", "Creator", "creator@example.org");
 
@@ -82,8 +75,6 @@ class SickNoteInteractionServiceImplTest {
 
     @Test
     void ensureCreatedSickNoteHasComment() {
-        when(calendarSyncService.addAbsence(any(Absence.class))).thenReturn(Optional.of("42"));
-        when(settingsService.getSettings()).thenReturn(new Settings());
 
         final String comment = "test comment";
         final Person creator = new Person("creator", "Senior", "Creator", "creator@example.org");
@@ -98,8 +89,6 @@ class SickNoteInteractionServiceImplTest {
 
     @Test
     void ensureCreatingSickNoteAddsEventToCalendar() {
-        when(calendarSyncService.addAbsence(any(Absence.class))).thenReturn(Optional.of("42"));
-        when(settingsService.getSettings()).thenReturn(new Settings());
 
         final Person creator = new Person("creator", "Senior", "Creator", "creator@example.org");
 
@@ -107,16 +96,11 @@ class SickNoteInteractionServiceImplTest {
 
         sut.create(sickNote, creator);
 
-        verify(calendarSyncService).addAbsence(any(Absence.class));
-        verify(absenceMappingService).create(eq(sickNote.getId()), eq(SICKNOTE), anyString());
+        verify(calendarSyncService).syncAbsence(eq(sickNote.getId()), eq(SICKNOTE), eq(sickNote.getPerson()), any(Period.class));
     }
 
     @Test
     void ensureUpdatedSickNoteIsPersisted() {
-        final AbsenceMapping absenceMapping = new AbsenceMapping(1, VACATION, "42");
-        when(absenceMappingService.getAbsenceByIdAndType(anyInt(), eq(SICKNOTE))).thenReturn(Optional.of(absenceMapping));
-        when(settingsService.getSettings()).thenReturn(new Settings());
-
         final Person creator = new Person("creator", "Senior", "Creator", "creator@example.org");
 
         final SickNote sickNote = getSickNote();
@@ -132,10 +116,6 @@ class SickNoteInteractionServiceImplTest {
 
     @Test
     void ensureUpdatedSickHasComment() {
-        final AbsenceMapping absenceMapping = new AbsenceMapping(1, VACATION, "42");
-        when(absenceMappingService.getAbsenceByIdAndType(anyInt(), eq(SICKNOTE))).thenReturn(Optional.of(absenceMapping));
-        when(settingsService.getSettings()).thenReturn(new Settings());
-
         final String comment = "test comment";
         final Person creator = new Person("creator", "Senior", "Creator", "creator@example.org");
 
@@ -149,25 +129,17 @@ class SickNoteInteractionServiceImplTest {
 
     @Test
     void ensureUpdatingSickNoteUpdatesCalendarEvent() {
-        final AbsenceMapping absenceMapping = new AbsenceMapping(1, AbsenceMappingType.VACATION, "42");
-        when(absenceMappingService.getAbsenceByIdAndType(anyInt(), eq(AbsenceMappingType.SICKNOTE))).thenReturn(Optional.of(absenceMapping));
-        when(settingsService.getSettings()).thenReturn(new Settings());
-
         final Person creator = new Person("creator", "Senior", "Creator", "creator@example.org");
 
         final SickNote sickNote = getSickNote();
 
         sut.update(sickNote, creator);
 
-        verify(calendarSyncService).update(any(Absence.class), anyString());
-        verify(absenceMappingService).getAbsenceByIdAndType(anyInt(), eq(SICKNOTE));
+        verify(calendarSyncService).syncAbsence(eq(sickNote.getId()), eq(SICKNOTE), eq(sickNote.getPerson()), any(Period.class));
     }
 
     @Test
     void ensureCancelledSickNoteIsPersisted() {
-        final AbsenceMapping absenceMapping = new AbsenceMapping(1, VACATION, "42");
-        when(absenceMappingService.getAbsenceByIdAndType(anyInt(), eq(SICKNOTE))).thenReturn(Optional.of(absenceMapping));
-
         final Person creator = new Person("creator", "Senior", "Creator", "creator@example.org");
 
         final SickNote sickNote = getSickNote();
@@ -183,25 +155,19 @@ class SickNoteInteractionServiceImplTest {
 
     @Test
     void ensureCancellingSickNoteDeletesCalendarEvent() {
-        final AbsenceMapping absenceMapping = new AbsenceMapping(1, VACATION, "42");
-        when(absenceMappingService.getAbsenceByIdAndType(anyInt(), eq(SICKNOTE))).thenReturn(Optional.of(absenceMapping));
-
         final Person creator = new Person("creator", "Senior", "Creator", "creator@example.org");
 
         final SickNote sickNote = getSickNote();
 
         sut.cancel(sickNote, creator);
 
-        verify(absenceMappingService).getAbsenceByIdAndType(anyInt(), eq(SICKNOTE));
-        verify(calendarSyncService).deleteAbsence(anyString());
-        verify(absenceMappingService).delete(any(AbsenceMapping.class));
+        verify(calendarSyncService).deleteAbsence(sickNote.getId(), SICKNOTE);
     }
 
     @Test
     void ensureConvertedSickNoteIsPersisted() {
         final AbsenceMapping absenceMapping = new AbsenceMapping(1, VACATION, "42");
         when(absenceMappingService.getAbsenceByIdAndType(anyInt(), eq(SICKNOTE))).thenReturn(Optional.of(absenceMapping));
-        when(settingsService.getSettings()).thenReturn(new Settings());
 
         final Person creator = new Person("creator", "Senior", "Creator", "creator@example.org");
 
@@ -231,7 +197,6 @@ class SickNoteInteractionServiceImplTest {
     void ensureConvertingSickNoteToVacationUpdatesCalendarEvent() {
         final AbsenceMapping absenceMapping = new AbsenceMapping(1, VACATION, "42");
         when(absenceMappingService.getAbsenceByIdAndType(anyInt(), eq(SICKNOTE))).thenReturn(Optional.of(absenceMapping));
-        when(settingsService.getSettings()).thenReturn(new Settings());
 
         final Person creator = new Person("creator", "Senior", "Creator", "creator@example.org");
 
@@ -246,10 +211,32 @@ class SickNoteInteractionServiceImplTest {
 
         sut.convert(sickNote, applicationForLeave, creator);
 
-        verify(absenceMappingService).getAbsenceByIdAndType(anyInt(), eq(SICKNOTE));
-        verify(calendarSyncService).update(any(Absence.class), anyString());
         verify(absenceMappingService).delete(absenceMapping);
-        verify(absenceMappingService).create(isNull(), eq(VACATION), anyString());
+        verify(absenceMappingService).create(null, VACATION, "42");
+        verify(calendarSyncService).syncAbsence(isNull(), eq(VACATION), eq(creator), any(Period.class));
+        verify(calendarSyncService).deleteAbsence(sickNote.getId(), SICKNOTE);
+    }
+
+    @Test
+    void ensureConvertingSickNoteWithoutCalendarEventToVacationAddsCalendarEvent() {
+        when(absenceMappingService.getAbsenceByIdAndType(42, SICKNOTE)).thenReturn(Optional.empty());
+
+        final Person creator = new Person("creator", "Senior", "Creator", "creator@example.org");
+
+        final Application applicationForLeave = new Application();
+        applicationForLeave.setStartDate(LocalDate.now(UTC));
+        applicationForLeave.setEndDate(LocalDate.now(UTC));
+        applicationForLeave.setStatus(ApplicationStatus.ALLOWED);
+        applicationForLeave.setDayLength(DayLength.FULL);
+        applicationForLeave.setPerson(creator);
+
+        final SickNote sickNote = getSickNote();
+
+        sut.convert(sickNote, applicationForLeave, creator);
+
+        verify(absenceMappingService, never()).create(any(), any(), any());
+        verify(calendarSyncService).syncAbsence(isNull(), eq(VACATION), eq(creator), any(Period.class));
+        verify(calendarSyncService).deleteAbsence(sickNote.getId(), SICKNOTE);
     }
 
     private SickNote getSickNote() {
@@ -9,6 +9,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.transaction.annotation.Transactional;
 import org.synyx.urlaubsverwaltung.TestContainersBase;
+import org.synyx.urlaubsverwaltung.mail.OutboxMailDispatcher;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonService;
 
@@ -36,6 +37,8 @@ class SickNoteMailServiceIT extends TestContainersBase {
     @Autowired
     private SickNoteMailService sickNoteMailService;
     @Autowired
+    private OutboxMailDispatcher outboxMailDispatcher;
+    @Autowired
     private PersonService personService;
 
     @MockBean
@@ -61,6 +64,7 @@ class SickNoteMailServiceIT extends TestContainersBase {
         when(sickNoteService.getSickNotesReachingEndOfSickPay()).thenReturn(sickNotes);
 
         sickNoteMailService.sendEndOfSickPayNotification();
+        outboxMailDispatcher.dispatch();
 
         // Where both mails sent?
         MimeMessage[] inboxOffice = greenMail.getReceivedMessagesForDomain(office.getEmail());
@@ -6,6 +6,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.settings.Settings;
 import org.synyx.urlaubsverwaltung.settings.SettingsService;
@@ -21,6 +24,7 @@ import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.synyx.urlaubsverwaltung.sicknote.SickNoteStatus.ACTIVE;
@@ -34,12 +38,14 @@ class SickNoteServiceImplTest {
     private SickNoteRepository sickNoteRepository;
     @Mock
     private SettingsService settingsService;
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
 
     private final Clock fixedClock = Clock.fixed(Instant.parse("2021-06-28T00:00:00.00Z"), UTC);
 
     @BeforeEach
     void setUp() {
-        sut = new SickNoteServiceImpl(sickNoteRepository, settingsService, fixedClock);
+        sut = new SickNoteServiceImpl(sickNoteRepository, settingsService, applicationEventPublisher, fixedClock);
     }
 
     @Test
@@ -49,6 +55,20 @@ class SickNoteServiceImplTest {
         verify(sickNoteRepository).save(sickNote);
     }
 
+    @Test
+    void ensureSavePublishesSickNoteUpdatedEvent() {
+        final SickNote sickNote = new SickNote();
+        final SickNote savedSickNote = new SickNote();
+        savedSickNote.setId(1);
+        when(sickNoteRepository.save(sickNote)).thenReturn(savedSickNote);
+
+        sut.save(sickNote);
+
+        final ArgumentCaptor<SickNoteUpdatedEvent> captor = ArgumentCaptor.forClass(SickNoteUpdatedEvent.class);
+        verify(applicationEventPublisher).publishEvent(captor.capture());
+        assertThat(captor.getValue().getSickNote()).isSameAs(savedSickNote);
+    }
+
     @Test
     void getById() {
         final Optional<SickNote> sickNote = Optional.of(new SickNote());
@@ -69,6 +89,44 @@ class SickNoteServiceImplTest {
         assertThat(sickNotes).contains(sickNote);
     }
 
+    @Test
+    void getActiveSummariesByPeriod() {
+        final LocalDate from = LocalDate.of(2015, 1, 1);
+        final LocalDate to = LocalDate.of(2016, 1, 1);
+        final PageRequest pageable = PageRequest.of(0, 10);
+
+        final SickNoteSummary sickNote = mock(SickNoteSummary.class);
+        when(sickNoteRepository.findActiveSummariesByPeriodOrderById(from, to, 42, pageable)).thenReturn(List.of(sickNote));
+
+        final List<SickNoteSummary> sickNotes = sut.getActiveSummariesByPeriod(from, to, 42, pageable);
+        assertThat(sickNotes).containsExactly(sickNote);
+    }
+
+    @Test
+    void getActiveSummariesByPeriodUnpaged() {
+        final LocalDate from = LocalDate.of(2015, 1, 1);
+        final LocalDate to = LocalDate.of(2016, 1, 1);
+
+        final SickNoteSummary sickNote = mock(SickNoteSummary.class);
+        when(sickNoteRepository.findActiveSummariesByPeriod(from, to, 0)).thenReturn(List.of(sickNote));
+
+        final List<SickNoteSummary> sickNotes = sut.getActiveSummariesByPeriod(from, to, 0, Pageable.unpaged());
+        assertThat(sickNotes).containsExactly(sickNote);
+    }
+
+    @Test
+    void getActiveSummariesByPersonAndPeriod() {
+        final LocalDate from = LocalDate.of(2015, 1, 1);
+        final LocalDate to = LocalDate.of(2016, 1, 1);
+        final Person person = new Person();
+
+        final SickNoteSummary sickNote = mock(SickNoteSummary.class);
+        when(sickNoteRepository.findActiveSummariesByPersonAndPeriod(person, from, to)).thenReturn(List.of(sickNote));
+
+        final List<SickNoteSummary> sickNotes = sut.getActiveSummariesByPersonAndPeriod(person, from, to);
+        assertThat(sickNotes).containsExactly(sickNote);
+    }
+
     @Test
     void getAllActiveByYear() {
         final SickNote sickNote = new SickNote();
@@ -116,6 +174,20 @@ class SickNoteServiceImplTest {
             .contains(sickNote);
     }
 
+    @Test
+    void getForStatesSince() {
+        final List<SickNoteStatus> openSickNoteStatuses = List.of(ACTIVE);
+        final LocalDate since = LocalDate.of(2020, 10, 3);
+
+        final SickNote sickNote = new SickNote();
+        when(sickNoteRepository.findByStatusInAndEndDateIsGreaterThanEqual(openSickNoteStatuses, since)).thenReturn(List.of(sickNote));
+
+        final List<SickNote> sickNotes = sut.getForStatesSince(openSickNoteStatuses, since);
+        assertThat(sickNotes)
+            .hasSize(1)
+            .contains(sickNote);
+    }
+
 
     @Test
     void getForStatesAndPerson() {
@@ -5,14 +5,17 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.synyx.urlaubsverwaltung.api.RestControllerAdviceExceptionHandler;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonService;
-import org.synyx.urlaubsverwaltung.sicknote.SickNote;
+import org.synyx.urlaubsverwaltung.sicknote.SickNoteCategory;
 import org.synyx.urlaubsverwaltung.sicknote.SickNoteService;
+import org.synyx.urlaubsverwaltung.sicknote.SickNoteSummary;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -22,12 +25,13 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
-import static org.synyx.urlaubsverwaltung.TestDataCreator.createSickNote;
 import static org.synyx.urlaubsverwaltung.period.DayLength.FULL;
 
 @ExtendWith(MockitoExtension.class)
@@ -48,14 +52,14 @@ class SickNoteApiControllerTest {
     @Test
     void getSickNotes() throws Exception {
 
-        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
         final LocalDate from = LocalDate.of(2016, 5, 19);
         final LocalDate to = LocalDate.of(2016, 5, 20);
-        final SickNote sickNote1 = createSickNote(person, from, to, FULL);
-        final SickNote sickNote2 = createSickNote(person);
-        final SickNote sickNote3 = createSickNote(person);
+        final SickNoteSummary sickNote1 = sickNoteSummary(1, from, to);
+        final SickNoteSummary sickNote2 = sickNoteSummary(2, from, to);
+        final SickNoteSummary sickNote3 = sickNoteSummary(3, from, to);
 
-        when(sickNoteService.getByPeriod(any(LocalDate.class), any(LocalDate.class))).thenReturn(List.of(sickNote1, sickNote2, sickNote3));
+        when(sickNoteService.getActiveSummariesByPeriod(LocalDate.of(2016, 1, 1), LocalDate.of(2016, 12, 31), 0, Pageable.unpaged()))
+            .thenReturn(List.of(sickNote1, sickNote2, sickNote3));
 
         perform(get("/api/sicknotes")
             .param("from", "2016-01-01")
@@ -64,9 +68,40 @@ class SickNoteApiControllerTest {
             .andExpect(content().contentType("application/json"))
             .andExpect(jsonPath("$.sickNotes").exists())
             .andExpect(jsonPath("$.sickNotes", hasSize(3)))
+            .andExpect(jsonPath("$.sickNotes[0].id", is(1)))
             .andExpect(jsonPath("$.sickNotes[0].from", is("2016-05-19")))
             .andExpect(jsonPath("$.sickNotes[0].to", is("2016-05-20")))
-            .andExpect(jsonPath("$.sickNotes[0].person").exists());
+            .andExpect(jsonPath("$.sickNotes[0].type", is("SICK_NOTE")))
+            .andExpect(jsonPath("$.sickNotes[0].status", is("ACTIVE")))
+            .andExpect(jsonPath("$.sickNotes[0].person.niceName", is("Marlene Muster")));
+    }
+
+    @Test
+    void getSickNotesPageAfterGivenId() throws Exception {
+
+        final SickNoteSummary sickNote = sickNoteSummary(43, LocalDate.of(2016, 5, 19), LocalDate.of(2016, 5, 20));
+        when(sickNoteService.getActiveSummariesByPeriod(LocalDate.of(2016, 1, 1), LocalDate.of(2016, 12, 31), 42, PageRequest.of(0, 10)))
+            .thenReturn(List.of(sickNote));
+
+        perform(get("/api/sicknotes")
+            .param("from", "2016-01-01")
+            .param("to", "2016-12-31")
+            .param("after", "42")
+            .param("limit", "10"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.sickNotes", hasSize(1)))
+            .andExpect(jsonPath("$.sickNotes[0].id", is(43)));
+    }
+
+    @Test
+    void getSickNotesBadRequestForInvalidLimitParameter() throws Exception {
+        perform(get("/api/sicknotes")
+            .param("from", "2016-01-01")
+            .param("to", "2016-12-31")
+            .param("limit", "0"))
+            .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(sickNoteService);
     }
 
     @Test
@@ -134,11 +169,11 @@ class SickNoteApiControllerTest {
 
         final LocalDate from = LocalDate.of(2016, 5, 19);
         final LocalDate to = LocalDate.of(2016, 5, 20);
-        final SickNote sickNote1 = createSickNote(person, from, to, FULL);
-        final SickNote sickNote2 = createSickNote(person);
-        final SickNote sickNote3 = createSickNote(person);
+        final SickNoteSummary sickNote1 = sickNoteSummary(1, from, to);
+        final SickNoteSummary sickNote2 = sickNoteSummary(2, from, to);
+        final SickNoteSummary sickNote3 = sickNoteSummary(3, from, to);
 
-        when(sickNoteService.getByPersonAndPeriod(eq(person), any(LocalDate.class), any(LocalDate.class)))
+        when(sickNoteService.getActiveSummariesByPersonAndPeriod(eq(person), any(LocalDate.class), any(LocalDate.class)))
             .thenReturn(List.of(sickNote1, sickNote2, sickNote3));
 
         perform(get("/api/persons/23/sicknotes")
@@ -201,6 +236,19 @@ class SickNoteApiControllerTest {
             .andExpect(status().isBadRequest());
     }
 
+    private static SickNoteSummary sickNoteSummary(Integer id, LocalDate startDate, LocalDate endDate) {
+        final SickNoteSummary sickNote = mock(SickNoteSummary.class);
+        when(sickNote.getId()).thenReturn(id);
+        when(sickNote.getPersonEmail()).thenReturn("muster@example.org");
+        when(sickNote.getPersonFirstName()).thenReturn("Marlene");
+        when(sickNote.getPersonLastName()).thenReturn("Muster");
+        when(sickNote.getStartDate()).thenReturn(startDate);
+        when(sickNote.getEndDate()).thenReturn(endDate);
+        when(sickNote.getDayLength()).thenReturn(FULL);
+        when(sickNote.getSickNoteCategory()).thenReturn(SickNoteCategory.SICK_NOTE);
+        return sickNote;
+    }
+
     private ResultActions perform(MockHttpServletRequestBuilder builder) throws Exception {
         return MockMvcBuilders.standaloneSetup(sut).setControllerAdvice(new RestControllerAdviceExceptionHandler()).build().perform(builder);
     }
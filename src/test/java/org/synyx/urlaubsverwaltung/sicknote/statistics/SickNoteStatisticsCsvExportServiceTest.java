@@ -0,0 +1,78 @@
+package org.synyx.urlaubsverwaltung.sicknote.statistics;
+
+import liquibase.util.csv.CSVWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.MessageSource;
+import org.synyx.urlaubsverwaltung.web.DateFormatAware;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static java.util.Locale.GERMAN;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SickNoteStatisticsCsvExportServiceTest {
+
+    private SickNoteStatisticsCsvExportService sut;
+
+    @Mock
+    private MessageSource messageSource;
+
+    @BeforeEach
+    void setUp() {
+        sut = new SickNoteStatisticsCsvExportService(messageSource, new DateFormatAware());
+    }
+
+    @Test
+    void writeStatistics() {
+
+        final SickNoteStatistics statistics = mock(SickNoteStatistics.class);
+        when(statistics.getYear()).thenReturn(2019);
+        when(statistics.getCreated()).thenReturn(LocalDate.of(2019, 5, 6));
+        when(statistics.getTotalNumberOfSickNotes()).thenReturn(3);
+        when(statistics.getTotalNumberOfSickDays()).thenReturn(BigDecimal.valueOf(7.5));
+        when(statistics.getNumberOfPersonsWithMinimumOneSickNote()).thenReturn(2L);
+        when(statistics.getAverageDurationOfDiseasePerPerson()).thenReturn(BigDecimal.valueOf(3.75));
+
+        addMessageSource("sicknotes.statistics.title");
+        addMessageSource("filter.validity");
+        addMessageSource("sicknotes.statistics.totalNumber");
+        addMessageSource("sicknotes.statistics.totalNumberOfDays");
+        addMessageSource("sicknotes.statistics.personWithSickNotes");
+        addMessageSource("sicknotes.statistics.averageSickTime");
+
+        final CSVWriter csvWriter = mock(CSVWriter.class);
+        sut.writeStatistics(statistics, csvWriter);
+
+        verify(csvWriter).writeNext(new String[]{"{sicknotes.statistics.title} 2019 ({filter.validity} 06.05.2019)"});
+        verify(csvWriter).writeNext(new String[]{"{sicknotes.statistics.totalNumber}", "3"});
+        verify(csvWriter).writeNext(new String[]{"{sicknotes.statistics.totalNumberOfDays}", "7,5"});
+        verify(csvWriter).writeNext(new String[]{"{sicknotes.statistics.personWithSickNotes}", "2"});
+        verify(csvWriter).writeNext(new String[]{"{sicknotes.statistics.averageSickTime}", "3,75"});
+    }
+
+    @Test
+    void getFileName() {
+
+        final SickNoteStatistics statistics = mock(SickNoteStatistics.class);
+        when(statistics.getYear()).thenReturn(2019);
+
+        when(messageSource.getMessage("action.sicknotes.statistics", new Object[]{}, GERMAN)).thenReturn("Krankmeldungsstatistik");
+
+        assertThat(sut.getFileName(statistics)).isEqualTo("Krankmeldungsstatistik_2019.csv");
+    }
+
+    private void addMessageSource(String key) {
+        when(messageSource.getMessage(eq(key), any(), eq(GERMAN))).thenReturn(String.format("{%s}", key));
+    }
+}
@@ -1,5 +1,6 @@
 package org.synyx.urlaubsverwaltung.sicknote.statistics;
 
+import liquibase.util.csv.CSVWriter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,8 +15,11 @@ import java.time.Clock;
 import java.time.Year;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
@@ -29,6 +33,8 @@ class SickNoteStatisticsViewControllerTest {
     @Mock
     private SickNoteStatisticsService statisticsService;
     @Mock
+    private SickNoteStatisticsCsvExportService sickNoteStatisticsCsvExportService;
+    @Mock
     private SickNoteService sickNoteService;
     @Mock
     private WorkDaysCountService workDaysCountService;
@@ -37,7 +43,7 @@ class SickNoteStatisticsViewControllerTest {
 
     @BeforeEach
     void setUp() {
-        sut = new SickNoteStatisticsViewController(statisticsService, clock);
+        sut = new SickNoteStatisticsViewController(statisticsService, sickNoteStatisticsCsvExportService, clock);
     }
 
     @Test
@@ -65,6 +71,21 @@ class SickNoteStatisticsViewControllerTest {
         resultActions.andExpect(view().name("sicknote/sick_notes_statistics"));
     }
 
+    @Test
+    void downloadCSV() throws Exception {
+
+        final SickNoteStatistics sickNoteStatistics = new SickNoteStatistics(clock, sickNoteService, workDaysCountService);
+        when(statisticsService.createStatistics(any(Clock.class))).thenReturn(sickNoteStatistics);
+        when(sickNoteStatisticsCsvExportService.getFileName(sickNoteStatistics)).thenReturn("filename.csv");
+
+        perform(get("/web/sicknote/statistics/download")
+            .param("year", String.valueOf(Year.now(clock).getValue())))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-disposition", "attachment;filename=filename.csv"));
+
+        verify(sickNoteStatisticsCsvExportService).writeStatistics(eq(sickNoteStatistics), any(CSVWriter.class));
+    }
+
     private ResultActions perform(MockHttpServletRequestBuilder builder) throws Exception {
         return standaloneSetup(sut).build().perform(builder);
     }
@@ -0,0 +1,146 @@
+package org.synyx.urlaubsverwaltung.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+class ExpiringLruCacheTest {
+
+    private static final Instant NOW = Instant.parse("2021-07-01T12:00:00Z");
+
+    @Test
+    void ensureReturnsCachedValue() {
+
+        final ExpiringLruCache<String, String> sut = new ExpiringLruCache<>(2, Duration.ofMinutes(5), Clock.fixed(NOW, ZoneOffset.UTC));
+        final AtomicInteger loads = new AtomicInteger();
+
+        assertThat(sut.get("key", () -> "value" + loads.incrementAndGet())).isEqualTo("value1");
+        assertThat(sut.get("key", () -> "value" + loads.incrementAndGet())).isEqualTo("value1");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void ensureLoadsExpiredValueAgain() {
+
+        final MutableClock clock = new MutableClock(NOW);
+        final ExpiringLruCache<String, String> sut = new ExpiringLruCache<>(2, Duration.ofMinutes(5), clock);
+
+        sut.get("key", () -> "old");
+        clock.instant = NOW.plus(Duration.ofMinutes(5));
+
+        assertThat(sut.get("key", () -> "new")).isEqualTo("new");
+    }
+
+    @Test
+    void ensureEvictsLeastRecentlyUsedValue() {
+
+        final ExpiringLruCache<String, String> sut = new ExpiringLruCache<>(2, Duration.ofMinutes(5), Clock.fixed(NOW, ZoneOffset.UTC));
+
+        sut.get("first", () -> "first");
+        sut.get("second", () -> "second");
+        sut.get("first", () -> "reloaded first");
+        sut.get("third", () -> "third");
+
+        assertThat(sut.get("first", () -> "reloaded first")).isEqualTo("first");
+        assertThat(sut.get("second", () -> "reloaded second")).isEqualTo("reloaded second");
+    }
+
+    @Test
+    void ensureDoesNotCacheValueLoadedDuringInvalidation() {
+
+        final ExpiringLruCache<String, String> sut = new ExpiringLruCache<>(2, Duration.ofMinutes(5), Clock.fixed(NOW, ZoneOffset.UTC));
+
+        sut.get("key", () -> {
+            sut.invalidateAll();
+            return "stale";
+        });
+
+        assertThat(sut.get("key", () -> "fresh")).isEqualTo("fresh");
+    }
+
+    @Test
+    void ensureLoadsAllMissingValuesAtOnce() {
+
+        final ExpiringLruCache<String, String> sut = new ExpiringLruCache<>(3, Duration.ofMinutes(5), Clock.fixed(NOW, ZoneOffset.UTC));
+        sut.get("cached", () -> "cached");
+
+        final List<List<String>> loadedKeys = new ArrayList<>();
+        final Map<String, String> values = sut.getAll(List.of("cached", "first", "second"), keys -> {
+            loadedKeys.add(keys);
+            return Map.of("first", "first");
+        });
+
+        assertThat(values).containsOnly(entry("cached", "cached"), entry("first", "first"));
+        assertThat(loadedKeys).containsExactly(List.of("first", "second"));
+        assertThat(sut.get("first", () -> "reloaded first")).isEqualTo("first");
+        assertThat(sut.get("second", () -> "loaded second")).isEqualTo("loaded second");
+    }
+
+    @Test
+    void ensureDropsInvalidatedValue() {
+
+        final ExpiringLruCache<String, String> sut = new ExpiringLruCache<>(2, Duration.ofMinutes(5), Clock.fixed(NOW, ZoneOffset.UTC));
+
+        sut.get("first", () -> "first");
+        sut.get("second", () -> "second");
+        sut.invalidate("first");
+
+        assertThat(sut.get("first", () -> "reloaded first")).isEqualTo("reloaded first");
+        assertThat(sut.get("second", () -> "reloaded second")).isEqualTo("second");
+    }
+
+    @Test
+    void ensureBindsCacheMetrics() {
+
+        final ExpiringLruCache<String, String> sut = new ExpiringLruCache<>(1, Duration.ofMinutes(5), Clock.fixed(NOW, ZoneOffset.UTC));
+        final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        sut.bindTo(meterRegistry, "test");
+
+        sut.get("first", () -> "first");
+        sut.get("first", () -> "first");
+        sut.get("second", () -> "second");
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "test").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "test").tag("result", "miss").functionCounter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.puts").tag("cache", "test").functionCounter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.evictions").tag("cache", "test").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.size").tag("cache", "test").gauge().value()).isEqualTo(1);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
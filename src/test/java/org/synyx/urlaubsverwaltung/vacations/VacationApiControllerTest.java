@@ -8,11 +8,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.synyx.urlaubsverwaltung.api.RestControllerAdviceExceptionHandler;
-import org.synyx.urlaubsverwaltung.application.domain.Application;
+import org.synyx.urlaubsverwaltung.application.dao.ApplicationSummary;
+import org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus;
 import org.synyx.urlaubsverwaltung.application.service.ApplicationService;
 import org.synyx.urlaubsverwaltung.department.Department;
 import org.synyx.urlaubsverwaltung.department.DepartmentService;
-import org.synyx.urlaubsverwaltung.period.DayLength;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.person.PersonService;
 
@@ -23,18 +23,17 @@ import java.util.Optional;
 import static java.time.LocalDate.of;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.setup.MockMvcBuilders.standaloneSetup;
-import static org.synyx.urlaubsverwaltung.TestDataCreator.createApplication;
 import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.ALLOWED;
 import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.ALLOWED_CANCELLATION_REQUESTED;
 import static org.synyx.urlaubsverwaltung.application.domain.ApplicationStatus.WAITING;
+import static org.synyx.urlaubsverwaltung.application.domain.VacationCategory.HOLIDAY;
 import static org.synyx.urlaubsverwaltung.period.DayLength.FULL;
 
 @ExtendWith(MockitoExtension.class)
@@ -58,17 +57,12 @@ class VacationApiControllerTest {
     void getVacations() throws Exception {
 
         final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
-        final Application vacation1 = createApplication(person,
-            LocalDate.of(2016, 5, 19), LocalDate.of(2016, 5, 20), DayLength.FULL);
-        vacation1.setStatus(ALLOWED);
-        final Application vacation2 = createApplication(person,
-            LocalDate.of(2016, 4, 5), LocalDate.of(2016, 4, 10), DayLength.FULL);
-        vacation2.setStatus(ALLOWED_CANCELLATION_REQUESTED);
-
-        when(applicationService.getApplicationsForACertainPeriodAndPersonAndState(any(LocalDate.class), any(LocalDate.class), eq(person), eq(ALLOWED)))
-            .thenReturn(List.of(vacation1));
-        when(applicationService.getApplicationsForACertainPeriodAndPersonAndState(any(LocalDate.class), any(LocalDate.class), eq(person), eq(ALLOWED_CANCELLATION_REQUESTED)))
-            .thenReturn(List.of(vacation2));
+        final ApplicationSummary vacation1 = applicationSummary(of(2016, 5, 19), of(2016, 5, 20), ALLOWED);
+        final ApplicationSummary vacation2 = applicationSummary(of(2016, 4, 5), of(2016, 4, 10), ALLOWED_CANCELLATION_REQUESTED);
+
+        when(applicationService.getSummariesForACertainPeriodAndPersonAndState(of(2016, 1, 1), of(2016, 12, 31), person,
+            List.of(ALLOWED, ALLOWED_CANCELLATION_REQUESTED)))
+            .thenReturn(List.of(vacation1, vacation2));
 
         when(personService.getPersonByID(23)).thenReturn(Optional.of(person));
 
@@ -160,13 +154,9 @@ class VacationApiControllerTest {
 
         when(personService.getPersonByID(23)).thenReturn(Optional.of(person));
 
-        final Application vacationAllowed = createApplication(new Person("muster", "Muster", "Marlene", "muster@example.org"),
-            of(2016, 5, 19), of(2016, 5, 20), FULL);
-        vacationAllowed.setStatus(ALLOWED);
-        final Application vacationWaiting = createApplication(new Person("muster", "Muster", "Marlene", "muster@example.org"),
-            of(2016, 5, 19), of(2016, 5, 20), FULL);
-        vacationAllowed.setStatus(WAITING);
-        when(departmentService.getApplicationsForLeaveOfMembersInDepartmentsOfPerson(eq(person), any(LocalDate.class), any(LocalDate.class)))
+        final ApplicationSummary vacationAllowed = applicationSummary(of(2016, 5, 19), of(2016, 5, 20), ALLOWED);
+        final ApplicationSummary vacationWaiting = applicationSummary(of(2016, 5, 23), of(2016, 5, 23), WAITING);
+        when(departmentService.getApplicationsForLeaveOfColleaguesInDepartments(person, departments, of(2016, 1, 1), of(2016, 12, 31)))
             .thenReturn(List.of(vacationAllowed, vacationWaiting));
 
         perform(get("/api/persons/23/vacations")
@@ -178,7 +168,12 @@ class VacationApiControllerTest {
             .andExpect(jsonPath("$.vacations", hasSize(2)))
             .andExpect(jsonPath("$.vacations.[0].from", is("2016-05-19")))
             .andExpect(jsonPath("$.vacations.[0].to", is("2016-05-20")))
-            .andExpect(jsonPath("$.vacations.[0].person.firstName", is("Marlene")));
+            .andExpect(jsonPath("$.vacations.[0].dayLength", is(1)))
+            .andExpect(jsonPath("$.vacations.[0].type", is("HOLIDAY")))
+            .andExpect(jsonPath("$.vacations.[0].status", is("ALLOWED")))
+            .andExpect(jsonPath("$.vacations.[0].person.firstName", is("Marlene")))
+            .andExpect(jsonPath("$.vacations.[0].person.niceName", is("Marlene Muster")))
+            .andExpect(jsonPath("$.vacations.[1].status", is("WAITING")));
     }
 
     @Test
@@ -190,17 +185,10 @@ class VacationApiControllerTest {
 
         when(personService.getPersonByID(23)).thenReturn(Optional.of(person));
 
-        final Application vacationAllowed = createApplication(new Person("muster", "Muster", "Marlene", "muster@example.org"),
-            of(2016, 5, 19), of(2016, 5, 20), FULL);
-        vacationAllowed.setStatus(ALLOWED);
-        when(applicationService.getApplicationsForACertainPeriodAndState(any(LocalDate.class), any(LocalDate.class), eq(ALLOWED)))
-            .thenReturn(List.of(vacationAllowed));
-
-        final Application vacationAllowedCancelRequested = createApplication(new Person("muster", "Muster", "Marlene", "muster@example.org"),
-            of(2016, 5, 19), of(2016, 5, 20), FULL);
-        vacationAllowed.setStatus(ALLOWED_CANCELLATION_REQUESTED);
-        when(applicationService.getApplicationsForACertainPeriodAndState(any(LocalDate.class), any(LocalDate.class), eq(ALLOWED_CANCELLATION_REQUESTED)))
-            .thenReturn(List.of(vacationAllowedCancelRequested));
+        final ApplicationSummary vacationAllowed = applicationSummary(of(2016, 5, 19), of(2016, 5, 20), ALLOWED);
+        final ApplicationSummary vacationAllowedCancelRequested = applicationSummary(of(2016, 5, 24), of(2016, 5, 25), ALLOWED_CANCELLATION_REQUESTED);
+        when(applicationService.getSummariesForACertainPeriodAndState(of(2016, 1, 1), of(2016, 12, 31), List.of(ALLOWED, ALLOWED_CANCELLATION_REQUESTED)))
+            .thenReturn(List.of(vacationAllowed, vacationAllowedCancelRequested));
 
         perform(get("/api/persons/23/vacations")
             .param("from", "2016-01-01")
@@ -287,4 +275,17 @@ class VacationApiControllerTest {
     private ResultActions perform(MockHttpServletRequestBuilder builder) throws Exception {
         return standaloneSetup(sut).setControllerAdvice(new RestControllerAdviceExceptionHandler()).build().perform(builder);
     }
+
+    private static ApplicationSummary applicationSummary(LocalDate startDate, LocalDate endDate, ApplicationStatus status) {
+        final ApplicationSummary application = mock(ApplicationSummary.class);
+        when(application.getPersonEmail()).thenReturn("muster@example.org");
+        when(application.getPersonFirstName()).thenReturn("Marlene");
+        when(application.getPersonLastName()).thenReturn("Muster");
+        when(application.getStartDate()).thenReturn(startDate);
+        when(application.getEndDate()).thenReturn(endDate);
+        when(application.getDayLength()).thenReturn(FULL);
+        when(application.getVacationCategory()).thenReturn(HOLIDAY);
+        when(application.getStatus()).thenReturn(status);
+        return application;
+    }
 }
@@ -0,0 +1,143 @@
+package org.synyx.urlaubsverwaltung.workingtime;
+
+import de.jollyday.HolidayManager;
+import de.jollyday.ManagerParameters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.publicholiday.PublicHolidaysService;
+import org.synyx.urlaubsverwaltung.settings.Settings;
+import org.synyx.urlaubsverwaltung.settings.SettingsService;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.synyx.urlaubsverwaltung.TestDataCreator.createWorkingTime;
+import static org.synyx.urlaubsverwaltung.period.DayLength.FULL;
+
+/**
+ * Compares {@link WorkDaysCountService#getWorkDaysCount} with counting every single day of the period.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class WorkDaysCountServiceBenchmark {
+
+    @Param({"7", "31", "365"})
+    private int days;
+
+    private final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+    private final WorkingTime workingTime = createWorkingTime();
+    private final LocalDate start = LocalDate.of(2021, 12, 1);
+    private LocalDate end;
+
+    private PublicHolidaysService publicHolidaysService;
+    private WorkDaysCountService workDaysCountService;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(WorkDaysCountServiceBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Setup
+    public void setUp() {
+        end = start.plusDays(days - 1L);
+
+        final SettingsService settingsService = mock(SettingsService.class);
+        when(settingsService.getSettings()).thenReturn(new Settings());
+        final HolidayManager holidayManager = HolidayManager.getInstance(ManagerParameters.create(getClass().getClassLoader().getResource("Holidays_de.xml")));
+        publicHolidaysService = new PublicHolidaysService(settingsService, holidayManager);
+
+        workDaysCountService = new WorkDaysCountService(publicHolidaysService, new FixedWorkingTimeService(workingTime));
+    }
+
+    @Benchmark
+    public BigDecimal workDaysCountService() {
+        return workDaysCountService.getWorkDaysCount(FULL, start, end, person);
+    }
+
+    @Benchmark
+    public BigDecimal dayByDay() {
+        BigDecimal vacationDays = BigDecimal.ZERO;
+        for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+            final BigDecimal duration = publicHolidaysService.getWorkingDurationOfDate(day, workingTime.getFederalState());
+            final BigDecimal workingDuration = workingTime.getDayLengthForWeekDay(day.getDayOfWeek()).getDuration();
+            vacationDays = vacationDays.add(duration.multiply(workingDuration));
+        }
+        return vacationDays;
+    }
+
+    @Benchmark
+    public double weekDaysCount() {
+        return workDaysCountService.getWeekDaysCount(start, end);
+    }
+
+    /**
+     * Avoids measuring the invocation handling of a mock.
+     */
+    private static class FixedWorkingTimeService implements WorkingTimeService {
+
+        private final WorkingTime workingTime;
+
+        FixedWorkingTimeService(WorkingTime workingTime) {
+            this.workingTime = workingTime;
+        }
+
+        @Override
+        public List<WorkingTime> getByPerson(Person person) {
+            return List.of(workingTime);
+        }
+
+        @Override
+        public List<WorkingTime> getByPersons(List<Person> persons) {
+            return List.of(workingTime);
+        }
+
+        @Override
+        public WorkingTimeTimeline getTimelineByPerson(Person person) {
+            return WorkingTimeTimeline.of(List.of(workingTime));
+        }
+
+        @Override
+        public Map<Person, WorkingTimeTimeline> getTimelinesByPersons(List<Person> persons) {
+            return persons.stream().collect(toMap(identity(), this::getTimelineByPerson));
+        }
+
+        @Override
+        public Optional<WorkingTime> getByPersonAndValidityDateEqualsOrMinorDate(Person person, LocalDate date) {
+            return Optional.of(workingTime);
+        }
+
+        @Override
+        public FederalState getFederalStateForPerson(Person person, LocalDate date) {
+            return workingTime.getFederalState();
+        }
+
+        @Override
+        public FederalState getSystemDefaultFederalState() {
+            return workingTime.getFederalState();
+        }
+    }
+}
@@ -9,10 +9,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.synyx.urlaubsverwaltung.application.domain.Application;
+import org.synyx.urlaubsverwaltung.period.DayLength;
 import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.publicholiday.PublicHoliday;
 import org.synyx.urlaubsverwaltung.publicholiday.PublicHolidaysService;
 import org.synyx.urlaubsverwaltung.settings.Settings;
 import org.synyx.urlaubsverwaltung.settings.SettingsService;
+import org.synyx.urlaubsverwaltung.util.DateUtil;
 
 import java.math.BigDecimal;
 import java.net.URL;
@@ -20,13 +23,16 @@ import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.Month;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Random;
 
 import static java.math.BigDecimal.TEN;
+import static java.math.RoundingMode.UNNECESSARY;
 import static java.time.Month.DECEMBER;
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.synyx.urlaubsverwaltung.TestDataCreator.createApplication;
 import static org.synyx.urlaubsverwaltung.TestDataCreator.createVacationType;
@@ -71,8 +77,7 @@ class WorkDaysCountServiceTest {
         final Application application = createApplication(person, createVacationType(HOLIDAY));
 
         final WorkingTime workingTime = createWorkingTime();
-        when(workingTimeService.getByPersonAndValidityDateEqualsOrMinorDate(eq(person), any(LocalDate.class)))
-            .thenReturn(Optional.of(workingTime));
+        when(workingTimeService.getTimelineByPerson(person)).thenReturn(WorkingTimeTimeline.of(List.of(workingTime)));
 
         // testing for full days
         application.setDayLength(FULL);
@@ -99,8 +104,7 @@ class WorkDaysCountServiceTest {
         final Application application = createApplication(person, createVacationType(HOLIDAY));
 
         final WorkingTime workingTime = createWorkingTime();
-        when(workingTimeService.getByPersonAndValidityDateEqualsOrMinorDate(eq(person), any(LocalDate.class)))
-            .thenReturn(Optional.of(workingTime));
+        when(workingTimeService.getTimelineByPerson(person)).thenReturn(WorkingTimeTimeline.of(List.of(workingTime)));
 
         // testing for full days
         application.setDayLength(FULL);
@@ -127,8 +131,7 @@ class WorkDaysCountServiceTest {
         final Application application = createApplication(person, createVacationType(HOLIDAY));
 
         final WorkingTime workingTime = createWorkingTime();
-        when(workingTimeService.getByPersonAndValidityDateEqualsOrMinorDate(eq(person), any(LocalDate.class)))
-            .thenReturn(Optional.of(workingTime));
+        when(workingTimeService.getTimelineByPerson(person)).thenReturn(WorkingTimeTimeline.of(List.of(workingTime)));
 
         // testing for half days morning
         application.setDayLength(MORNING);
@@ -149,8 +152,7 @@ class WorkDaysCountServiceTest {
         final Application application = createApplication(person, createVacationType(HOLIDAY));
 
         final WorkingTime workingTime = createWorkingTime();
-        when(workingTimeService.getByPersonAndValidityDateEqualsOrMinorDate(eq(person), any(LocalDate.class)))
-            .thenReturn(Optional.of(workingTime));
+        when(workingTimeService.getTimelineByPerson(person)).thenReturn(WorkingTimeTimeline.of(List.of(workingTime)));
 
         // testing for half days morning
         application.setDayLength(MORNING);
@@ -171,8 +173,7 @@ class WorkDaysCountServiceTest {
         final Application application = createApplication(person, createVacationType(HOLIDAY));
 
         final WorkingTime workingTime = createWorkingTime();
-        when(workingTimeService.getByPersonAndValidityDateEqualsOrMinorDate(eq(person), any(LocalDate.class)))
-            .thenReturn(Optional.of(workingTime));
+        when(workingTimeService.getTimelineByPerson(person)).thenReturn(WorkingTimeTimeline.of(List.of(workingTime)));
 
         // testing for half days noon
         application.setDayLength(NOON);
@@ -193,8 +194,7 @@ class WorkDaysCountServiceTest {
         final Application application = createApplication(person, createVacationType(HOLIDAY));
 
         final WorkingTime workingTime = createWorkingTime();
-        when(workingTimeService.getByPersonAndValidityDateEqualsOrMinorDate(eq(person), any(LocalDate.class)))
-            .thenReturn(Optional.of(workingTime));
+        when(workingTimeService.getTimelineByPerson(person)).thenReturn(WorkingTimeTimeline.of(List.of(workingTime)));
 
         // testing for half days noon
         application.setDayLength(NOON);
@@ -215,8 +215,7 @@ class WorkDaysCountServiceTest {
         final Application application = createApplication(person, createVacationType(HOLIDAY));
 
         final WorkingTime workingTime = createWorkingTime();
-        when(workingTimeService.getByPersonAndValidityDateEqualsOrMinorDate(eq(person), any(LocalDate.class)))
-            .thenReturn(Optional.of(workingTime));
+        when(workingTimeService.getTimelineByPerson(person)).thenReturn(WorkingTimeTimeline.of(List.of(workingTime)));
 
         // testing for full days
         application.setDayLength(FULL);
@@ -238,8 +237,7 @@ class WorkDaysCountServiceTest {
         final Application application = createApplication(person, createVacationType(HOLIDAY));
 
         final WorkingTime workingTime = createWorkingTime();
-        when(workingTimeService.getByPersonAndValidityDateEqualsOrMinorDate(eq(person), any(LocalDate.class)))
-            .thenReturn(Optional.of(workingTime));
+        when(workingTimeService.getTimelineByPerson(person)).thenReturn(WorkingTimeTimeline.of(List.of(workingTime)));
 
         // testing for full days
         application.setDayLength(FULL);
@@ -261,8 +259,7 @@ class WorkDaysCountServiceTest {
         final Application application = createApplication(person, createVacationType(HOLIDAY));
 
         final WorkingTime workingTime = createWorkingTime();
-        when(workingTimeService.getByPersonAndValidityDateEqualsOrMinorDate(eq(person), any(LocalDate.class)))
-            .thenReturn(Optional.of(workingTime));
+        when(workingTimeService.getTimelineByPerson(person)).thenReturn(WorkingTimeTimeline.of(List.of(workingTime)));
 
         // testing for full days
         application.setDayLength(FULL);
@@ -283,12 +280,11 @@ class WorkDaysCountServiceTest {
         final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
 
         final WorkingTime workingTime = createWorkingTime();
-        when(workingTimeService.getByPersonAndValidityDateEqualsOrMinorDate(eq(person), any(LocalDate.class)))
-            .thenReturn(Optional.of(workingTime));
-
         List<DayOfWeek> workingDays = List.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY, DayOfWeek.FRIDAY, DayOfWeek.SATURDAY);
         workingTime.setWorkingDays(workingDays, FULL);
 
+        when(workingTimeService.getTimelineByPerson(person)).thenReturn(WorkingTimeTimeline.of(List.of(workingTime)));
+
         final LocalDate startDate = LocalDate.of(2013, DECEMBER, 16);
         final LocalDate endDate = LocalDate.of(2013, DECEMBER, 31);
 
@@ -304,12 +300,11 @@ class WorkDaysCountServiceTest {
         final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
 
         final WorkingTime workingTime = createWorkingTime();
-        when(workingTimeService.getByPersonAndValidityDateEqualsOrMinorDate(eq(person), any(LocalDate.class)))
-            .thenReturn(Optional.of(workingTime));
-
         List<DayOfWeek> workingDays = List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY, DayOfWeek.FRIDAY);
         workingTime.setWorkingDays(workingDays, FULL);
 
+        when(workingTimeService.getTimelineByPerson(person)).thenReturn(WorkingTimeTimeline.of(List.of(workingTime)));
+
         final LocalDate startDate = LocalDate.of(2013, DECEMBER, 16);
         final LocalDate endDate = LocalDate.of(2013, DECEMBER, 31);
 
@@ -325,8 +320,7 @@ class WorkDaysCountServiceTest {
         final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
 
         final WorkingTime workingTime = createWorkingTime();
-        when(workingTimeService.getByPersonAndValidityDateEqualsOrMinorDate(eq(person), any(LocalDate.class)))
-            .thenReturn(Optional.of(workingTime));
+        when(workingTimeService.getTimelineByPerson(person)).thenReturn(WorkingTimeTimeline.of(List.of(workingTime)));
 
         // monday
         final LocalDate startDate = LocalDate.of(2013, Month.NOVEMBER, 25);
@@ -344,8 +338,7 @@ class WorkDaysCountServiceTest {
         final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
 
         final WorkingTime workingTime = createWorkingTime();
-        when(workingTimeService.getByPersonAndValidityDateEqualsOrMinorDate(eq(person), any(LocalDate.class)))
-            .thenReturn(Optional.of(workingTime));
+        when(workingTimeService.getTimelineByPerson(person)).thenReturn(WorkingTimeTimeline.of(List.of(workingTime)));
 
         // saturday
         final LocalDate startDate = LocalDate.of(2013, Month.NOVEMBER, 23);
@@ -363,8 +356,7 @@ class WorkDaysCountServiceTest {
         final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
 
         final WorkingTime workingTime = createWorkingTime();
-        when(workingTimeService.getByPersonAndValidityDateEqualsOrMinorDate(eq(person), any(LocalDate.class)))
-            .thenReturn(Optional.of(workingTime));
+        when(workingTimeService.getTimelineByPerson(person)).thenReturn(WorkingTimeTimeline.of(List.of(workingTime)));
 
         // saturday
         final LocalDate startDate = LocalDate.of(2013, Month.NOVEMBER, 23);
@@ -382,8 +374,7 @@ class WorkDaysCountServiceTest {
         final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
 
         final WorkingTime workingTime = createWorkingTime();
-        when(workingTimeService.getByPersonAndValidityDateEqualsOrMinorDate(eq(person), any(LocalDate.class)))
-            .thenReturn(Optional.of(workingTime));
+        when(workingTimeService.getTimelineByPerson(person)).thenReturn(WorkingTimeTimeline.of(List.of(workingTime)));
 
         final LocalDate date = LocalDate.of(2013, DECEMBER, 24);
 
@@ -399,8 +390,7 @@ class WorkDaysCountServiceTest {
         final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
 
         final WorkingTime workingTime = createWorkingTime();
-        when(workingTimeService.getByPersonAndValidityDateEqualsOrMinorDate(eq(person), any(LocalDate.class)))
-            .thenReturn(Optional.of(workingTime));
+        when(workingTimeService.getTimelineByPerson(person)).thenReturn(WorkingTimeTimeline.of(List.of(workingTime)));
 
         final LocalDate date = LocalDate.of(2013, DECEMBER, 24);
 
@@ -416,8 +406,7 @@ class WorkDaysCountServiceTest {
         final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
 
         final WorkingTime workingTime = createWorkingTime();
-        when(workingTimeService.getByPersonAndValidityDateEqualsOrMinorDate(eq(person), any(LocalDate.class)))
-            .thenReturn(Optional.of(workingTime));
+        when(workingTimeService.getTimelineByPerson(person)).thenReturn(WorkingTimeTimeline.of(List.of(workingTime)));
 
         final LocalDate date = LocalDate.of(2013, DECEMBER, 31);
 
@@ -433,8 +422,7 @@ class WorkDaysCountServiceTest {
         final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
 
         final WorkingTime workingTime = createWorkingTime();
-        when(workingTimeService.getByPersonAndValidityDateEqualsOrMinorDate(eq(person), any(LocalDate.class)))
-            .thenReturn(Optional.of(workingTime));
+        when(workingTimeService.getTimelineByPerson(person)).thenReturn(WorkingTimeTimeline.of(List.of(workingTime)));
 
         final LocalDate date = LocalDate.of(2013, DECEMBER, 31);
 
@@ -450,8 +438,7 @@ class WorkDaysCountServiceTest {
         final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
 
         final WorkingTime workingTime = createWorkingTime();
-        when(workingTimeService.getByPersonAndValidityDateEqualsOrMinorDate(eq(person), any(LocalDate.class)))
-            .thenReturn(Optional.of(workingTime));
+        when(workingTimeService.getTimelineByPerson(person)).thenReturn(WorkingTimeTimeline.of(List.of(workingTime)));
 
         final LocalDate from = LocalDate.of(2013, DECEMBER, 23);
         final LocalDate to = LocalDate.of(2014, Month.JANUARY, 2);
@@ -468,8 +455,7 @@ class WorkDaysCountServiceTest {
         final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
 
         final WorkingTime workingTime = createWorkingTime();
-        when(workingTimeService.getByPersonAndValidityDateEqualsOrMinorDate(eq(person), any(LocalDate.class)))
-            .thenReturn(Optional.of(workingTime));
+        when(workingTimeService.getTimelineByPerson(person)).thenReturn(WorkingTimeTimeline.of(List.of(workingTime)));
 
         final LocalDate from = LocalDate.of(2013, DECEMBER, 23);
         final LocalDate to = LocalDate.of(2014, Month.JANUARY, 2);
@@ -478,6 +464,149 @@ class WorkDaysCountServiceTest {
         assertThat(workDaysCount).isEqualByComparingTo(BigDecimal.valueOf(2.5));
     }
 
+    @Test
+    void ensureWorkDaysCountUsesWorkingTimeValidForEachPartOfThePeriod() {
+
+        when(settingsService.getSettings()).thenReturn(new Settings());
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+
+        final WorkingTime fullTime = new WorkingTime(person, LocalDate.of(2021, 1, 1), FederalState.BADEN_WUERTTEMBERG);
+        fullTime.setWorkingDays(List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY, DayOfWeek.FRIDAY), FULL);
+        final WorkingTime partTime = new WorkingTime(person, LocalDate.of(2021, 11, 8), FederalState.BADEN_WUERTTEMBERG);
+        partTime.setWorkingDays(List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY), FULL);
+        when(workingTimeService.getTimelineByPerson(person)).thenReturn(WorkingTimeTimeline.of(List.of(partTime, fullTime)));
+
+        // 2021-11-01 is a monday and a public holiday in Baden-Württemberg
+        // first week: 4 days full time, second and third week: 2 days each part time
+        final BigDecimal workDaysCount = sut.getWorkDaysCount(FULL, LocalDate.of(2021, 11, 1), LocalDate.of(2021, 11, 21), person);
+        assertThat(workDaysCount).isEqualByComparingTo(BigDecimal.valueOf(8));
+    }
+
+    @Test
+    void ensureWorkDaysCountWithGivenPublicHolidaysDoesNotLookUpPublicHolidays() {
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        final WorkingTime workingTime = new WorkingTime(person, LocalDate.of(2021, 1, 1), FederalState.BADEN_WUERTTEMBERG);
+        workingTime.setWorkingDays(List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY, DayOfWeek.FRIDAY), FULL);
+        final WorkingTimeTimeline timeline = WorkingTimeTimeline.of(List.of(workingTime));
+
+        final PublicHoliday allSaintsDay = new PublicHoliday(LocalDate.of(2021, 11, 1), FULL);
+        final Map<FederalState, List<PublicHoliday>> publicHolidays = Map.of(FederalState.BADEN_WUERTTEMBERG, List.of(allSaintsDay));
+
+        final BigDecimal workDaysCount = sut.getWorkDaysCount(FULL, LocalDate.of(2021, 11, 1), LocalDate.of(2021, 11, 7), person, timeline, publicHolidays);
+        assertThat(workDaysCount).isEqualByComparingTo(BigDecimal.valueOf(4));
+        verifyNoInteractions(settingsService);
+    }
+
+    @Test
+    void ensureWorkDaysCountThrowsIfPublicHolidaysOfFederalStateAreNotGiven() {
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        final WorkingTime workingTime = new WorkingTime(person, LocalDate.of(2021, 1, 1), FederalState.BADEN_WUERTTEMBERG);
+        final WorkingTimeTimeline timeline = WorkingTimeTimeline.of(List.of(workingTime));
+
+        final LocalDate start = LocalDate.of(2021, 11, 1);
+        final LocalDate end = LocalDate.of(2021, 11, 7);
+        final Map<FederalState, List<PublicHoliday>> publicHolidays = Map.of(FederalState.BAYERN, List.of());
+        assertThatIllegalArgumentException().isThrownBy(() -> sut.getWorkDaysCount(FULL, start, end, person, timeline, publicHolidays));
+    }
+
+    @Test
+    void ensureWorkDaysCountThrowsIfThereIsNoWorkingTimeAtStartDate() {
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        final WorkingTime workingTime = new WorkingTime(person, LocalDate.of(2021, 1, 1), FederalState.BADEN_WUERTTEMBERG);
+        when(workingTimeService.getTimelineByPerson(person)).thenReturn(WorkingTimeTimeline.of(List.of(workingTime)));
+
+        final LocalDate start = LocalDate.of(2020, 12, 28);
+        final LocalDate end = LocalDate.of(2021, 1, 8);
+        assertThatThrownBy(() -> sut.getWorkDaysCount(FULL, start, end, person))
+            .isInstanceOf(WorkDaysCountException.class);
+    }
+
+    @Test
+    void ensureWeekDaysCountEqualsDayByDayCount() {
+
+        final Random random = new Random(42);
+        for (int i = 0; i < 1000; i++) {
+            final LocalDate start = LocalDate.of(2015, 1, 1).plusDays(random.nextInt(3650));
+            final LocalDate end = start.plusDays(random.nextInt(400) - 5L);
+
+            double expected = 0;
+            for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+                if (DateUtil.isWorkDay(day)) {
+                    expected++;
+                }
+            }
+
+            assertThat(sut.getWeekDaysCount(start, end)).as("%s - %s", start, end).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void ensureWorkDaysCountEqualsDayByDayCount() {
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        final DayLength[] dayLengths = DayLength.values();
+        final FederalState[] federalStates = FederalState.values();
+
+        final Random random = new Random(4711);
+        for (int i = 0; i < 4000; i++) {
+
+            // the day length of Christmas Eve and New Year's Eve is part of the public holiday calendar
+            final Settings settings = new Settings();
+            settings.getWorkingTimeSettings().setWorkingDurationForChristmasEve(dayLengths[random.nextInt(dayLengths.length)]);
+            settings.getWorkingTimeSettings().setWorkingDurationForNewYearsEve(dayLengths[random.nextInt(dayLengths.length)]);
+            when(settingsService.getSettings()).thenReturn(settings);
+            final PublicHolidaysService publicHolidaysService = new PublicHolidaysService(settingsService, getHolidayManager());
+            sut = new WorkDaysCountService(publicHolidaysService, workingTimeService);
+
+            final WorkingTime workingTime = new WorkingTime(person, LocalDate.MIN, federalStates[random.nextInt(federalStates.length)]);
+            for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+                workingTime.setDayLengthForWeekDay(dayOfWeek, dayLengths[random.nextInt(dayLengths.length)]);
+            }
+            when(workingTimeService.getTimelineByPerson(person)).thenReturn(WorkingTimeTimeline.of(List.of(workingTime)));
+
+            // starting in 2000 to cover dates with several public holidays like 2008-05-01
+            final LocalDate start = LocalDate.of(2000, 1, 1).plusDays(random.nextInt(9500));
+            final LocalDate end = start.plusDays(random.nextInt(random.nextBoolean() ? 14 : 800));
+            final DayLength dayLength = dayLengths[random.nextInt(3)];
+
+            final Object expected = countDayByDay(publicHolidaysService, workingTime, dayLength, start, end);
+            Object actual;
+            try {
+                actual = sut.getWorkDaysCount(dayLength, start, end, person);
+            } catch (ArithmeticException e) {
+                actual = e.getClass();
+            }
+
+            assertThat(actual).as("%s %s - %s with %s", dayLength, start, end, workingTime).isEqualTo(expected);
+        }
+    }
+
+    /**
+     * Reference implementation counting every single day of the period.
+     */
+    private static Object countDayByDay(PublicHolidaysService publicHolidaysService, WorkingTime workingTime, DayLength dayLength, LocalDate start, LocalDate end) {
+
+        BigDecimal vacationDays = BigDecimal.ZERO;
+        for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+            final BigDecimal duration = publicHolidaysService.getWorkingDurationOfDate(day, workingTime.getFederalState());
+            final BigDecimal workingDuration = workingTime.getDayLengthForWeekDay(day.getDayOfWeek()).getDuration();
+            vacationDays = vacationDays.add(duration.multiply(workingDuration));
+        }
+
+        try {
+            if (vacationDays.compareTo(BigDecimal.ONE) < 0) {
+                return vacationDays.setScale(1, UNNECESSARY);
+            }
+            return vacationDays.multiply(dayLength.getDuration()).setScale(1, UNNECESSARY);
+        } catch (ArithmeticException e) {
+            return e.getClass();
+        }
+    }
+
     private HolidayManager getHolidayManager() {
         final ClassLoader cl = Thread.currentThread().getContextClassLoader();
         final URL url = cl.getResource("Holidays_de.xml");
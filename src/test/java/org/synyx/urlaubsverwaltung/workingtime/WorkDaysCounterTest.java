@@ -0,0 +1,79 @@
+package org.synyx.urlaubsverwaltung.workingtime;
+
+import org.junit.jupiter.api.Test;
+import org.synyx.urlaubsverwaltung.person.Person;
+import org.synyx.urlaubsverwaltung.publicholiday.PublicHoliday;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static java.time.DayOfWeek.FRIDAY;
+import static java.time.DayOfWeek.MONDAY;
+import static java.time.DayOfWeek.THURSDAY;
+import static java.time.DayOfWeek.TUESDAY;
+import static java.time.DayOfWeek.WEDNESDAY;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.synyx.urlaubsverwaltung.period.DayLength.FULL;
+import static org.synyx.urlaubsverwaltung.period.DayLength.MORNING;
+import static org.synyx.urlaubsverwaltung.period.DayLength.NOON;
+import static org.synyx.urlaubsverwaltung.workingtime.FederalState.BADEN_WUERTTEMBERG;
+
+class WorkDaysCounterTest {
+
+    @Test
+    void ensureCountsWeekDays() {
+        // 2021-03-01 is a monday
+        final LocalDate monday = LocalDate.of(2021, 3, 1);
+
+        assertThat(WorkDaysCounter.weekDaysCounter().countHalfDays(monday, monday)).isEqualTo(2);
+        assertThat(WorkDaysCounter.weekDaysCounter().countHalfDays(monday, monday.plusDays(6))).isEqualTo(10);
+        assertThat(WorkDaysCounter.weekDaysCounter().countHalfDays(monday.plusDays(4), monday.plusDays(14))).isEqualTo(14);
+    }
+
+    @Test
+    void ensureCountsNothingIfEndIsBeforeStart() {
+        final LocalDate date = LocalDate.of(2021, 3, 1);
+
+        assertThat(WorkDaysCounter.weekDaysCounter().countHalfDays(date, date.minusDays(1))).isZero();
+    }
+
+    @Test
+    void ensureCountsWorkingTimeReducedByPublicHolidays() {
+        final WorkingTime workingTime = new WorkingTime(new Person(), LocalDate.MIN, BADEN_WUERTTEMBERG);
+        workingTime.setWorkingDays(List.of(MONDAY, FRIDAY), FULL);
+        workingTime.setDayLengthForWeekDay(FRIDAY, MORNING);
+
+        // 2021-12-20 is a monday, 2021-12-24 a friday
+        final LocalDate start = LocalDate.of(2021, 12, 20);
+        final LocalDate end = LocalDate.of(2021, 12, 31);
+        final List<PublicHoliday> publicHolidays = List.of(
+            new PublicHoliday(LocalDate.of(2021, 12, 24), NOON),
+            new PublicHoliday(LocalDate.of(2021, 12, 25), FULL),
+            new PublicHoliday(LocalDate.of(2021, 12, 31), FULL),
+            new PublicHoliday(LocalDate.of(2022, 1, 1), FULL));
+
+        final long quarterDays = WorkDaysCounter.of(workingTime).countQuarterDays(start, end, publicHolidays);
+
+        // two mondays with 4 quarter days, christmas eve with 1 and new year's eve without working time
+        assertThat(quarterDays).isEqualTo(9);
+        assertThat(WorkDaysCounter.toDays(quarterDays)).isEqualByComparingTo(new BigDecimal("2.25"));
+    }
+
+    @Test
+    void ensureCountsPublicHolidaysOnTheSameDateOnlyOnce() {
+        final WorkingTime workingTime = new WorkingTime(new Person(), LocalDate.MIN, BADEN_WUERTTEMBERG);
+        workingTime.setWorkingDays(List.of(MONDAY, TUESDAY, WEDNESDAY, THURSDAY, FRIDAY), FULL);
+
+        // 2008-05-01 is Labour Day and Ascension Day, a thursday
+        final LocalDate start = LocalDate.of(2008, 4, 28);
+        final LocalDate end = LocalDate.of(2008, 5, 2);
+        final List<PublicHoliday> publicHolidays = List.of(
+            new PublicHoliday(LocalDate.of(2008, 5, 1), FULL),
+            new PublicHoliday(LocalDate.of(2008, 5, 1), FULL));
+
+        final long quarterDays = WorkDaysCounter.of(workingTime).countQuarterDays(start, end, publicHolidays);
+
+        assertThat(WorkDaysCounter.toDays(quarterDays)).isEqualByComparingTo(BigDecimal.valueOf(4));
+    }
+}
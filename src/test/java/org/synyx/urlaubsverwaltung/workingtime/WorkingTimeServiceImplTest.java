@@ -1,5 +1,6 @@
 package org.synyx.urlaubsverwaltung.workingtime;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,17 +14,20 @@ import org.synyx.urlaubsverwaltung.period.DayLength;
 import org.synyx.urlaubsverwaltung.person.Person;
 import org.synyx.urlaubsverwaltung.settings.Settings;
 import org.synyx.urlaubsverwaltung.settings.SettingsService;
+import org.synyx.urlaubsverwaltung.settings.SettingsUpdatedEvent;
 
 import java.time.Clock;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static java.time.Month.JUNE;
 import static java.time.ZoneOffset.UTC;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -47,7 +51,7 @@ class WorkingTimeServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        sut = new WorkingTimeServiceImpl(workingTimeProperties, workingTimeRepository, settingsService, fixedClock);
+        sut = new WorkingTimeServiceImpl(workingTimeProperties, workingTimeRepository, settingsService, new SimpleMeterRegistry(), fixedClock);
     }
 
     @Test
@@ -339,4 +343,73 @@ class WorkingTimeServiceImplTest {
 
         assertThat(defaultFederalState).isEqualTo(BREMEN);
     }
+
+    @Test
+    void ensureTimelineIsLoadedOnceAndEvictedOnTouch() {
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        person.setId(1);
+
+        final WorkingTimeEntity workingTimeEntity = new WorkingTimeEntity();
+        workingTimeEntity.setPerson(person);
+        workingTimeEntity.setValidFrom(LocalDate.of(2020, 1, 1));
+        workingTimeEntity.setFederalStateOverride(BAYERN);
+        when(workingTimeRepository.findByPersonOrderByValidFromDesc(person)).thenReturn(List.of(workingTimeEntity));
+
+        final WorkingTimeTimeline timeline = sut.getTimelineByPerson(person);
+        assertThat(timeline.getWorkingTimes()).hasSize(1);
+        assertThat(sut.getTimelineByPerson(person)).isSameAs(timeline);
+        verify(workingTimeRepository, times(1)).findByPersonOrderByValidFromDesc(person);
+
+        sut.touch(List.of(1, 2), LocalDate.of(2021, 1, 1), person);
+
+        assertThat(sut.getTimelineByPerson(person)).isNotSameAs(timeline);
+        verify(workingTimeRepository, times(2)).findByPersonOrderByValidFromDesc(person);
+    }
+
+    @Test
+    void ensureTimelinesByPersonsLoadsOnlyMissingPersons() {
+
+        final Person cached = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        cached.setId(1);
+        final Person notCached = new Person("batman", "Wayne", "Bruce", "batman@example.org");
+        notCached.setId(2);
+        final Person withoutWorkingTime = new Person("robin", "Grayson", "Dick", "robin@example.org");
+        withoutWorkingTime.setId(3);
+
+        final WorkingTimeEntity cachedEntity = new WorkingTimeEntity();
+        cachedEntity.setPerson(cached);
+        cachedEntity.setValidFrom(LocalDate.of(2020, 1, 1));
+        cachedEntity.setFederalStateOverride(BAYERN);
+        when(workingTimeRepository.findByPersonOrderByValidFromDesc(cached)).thenReturn(List.of(cachedEntity));
+        final WorkingTimeTimeline cachedTimeline = sut.getTimelineByPerson(cached);
+
+        final WorkingTimeEntity notCachedEntity = new WorkingTimeEntity();
+        notCachedEntity.setPerson(notCached);
+        notCachedEntity.setValidFrom(LocalDate.of(2020, 1, 1));
+        notCachedEntity.setFederalStateOverride(BAYERN);
+        when(workingTimeRepository.findByPersonIn(List.of(notCached, withoutWorkingTime))).thenReturn(List.of(notCachedEntity));
+
+        final Map<Person, WorkingTimeTimeline> timelines = sut.getTimelinesByPersons(List.of(cached, notCached, withoutWorkingTime));
+        assertThat(timelines.get(cached)).isSameAs(cachedTimeline);
+        assertThat(timelines.get(notCached).getWorkingTimes()).hasSize(1);
+        assertThat(timelines.get(withoutWorkingTime).isEmpty()).isTrue();
+
+        assertThat(sut.getTimelineByPerson(notCached)).isSameAs(timelines.get(notCached));
+    }
+
+    @Test
+    void ensureTimelinesAreEvictedOnSettingsUpdate() {
+
+        final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+        person.setId(1);
+        when(workingTimeRepository.findByPersonOrderByValidFromDesc(person)).thenReturn(List.of());
+
+        final WorkingTimeTimeline timeline = sut.getTimelineByPerson(person);
+        sut.handleSettingsUpdated(new SettingsUpdatedEvent(this, new Settings(), 2));
+        sut.getTimelineByPerson(person);
+
+        assertThat(timeline.isEmpty()).isTrue();
+        verify(workingTimeRepository, times(2)).findByPersonOrderByValidFromDesc(person);
+    }
 }
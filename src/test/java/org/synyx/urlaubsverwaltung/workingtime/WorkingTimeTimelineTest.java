@@ -0,0 +1,52 @@
+package org.synyx.urlaubsverwaltung.workingtime;
+
+import org.junit.jupiter.api.Test;
+import org.synyx.urlaubsverwaltung.person.Person;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.synyx.urlaubsverwaltung.workingtime.FederalState.BADEN_WUERTTEMBERG;
+import static org.synyx.urlaubsverwaltung.workingtime.FederalState.BAYERN;
+
+class WorkingTimeTimelineTest {
+
+    private final Person person = new Person("muster", "Muster", "Marlene", "muster@example.org");
+
+    @Test
+    void ensureEmptyTimelineHasNoWorkingTime() {
+        final WorkingTimeTimeline timeline = WorkingTimeTimeline.of(List.of());
+
+        assertThat(timeline.isEmpty()).isTrue();
+        assertThat(timeline.getWorkingTime(LocalDate.of(2021, 1, 1))).isEmpty();
+    }
+
+    @Test
+    void ensureFindsWorkingTimeValidAtDate() {
+        final WorkingTime first = new WorkingTime(person, LocalDate.of(2020, 1, 1), BADEN_WUERTTEMBERG);
+        final WorkingTime second = new WorkingTime(person, LocalDate.of(2020, 6, 1), BAYERN);
+        final WorkingTime third = new WorkingTime(person, LocalDate.of(2021, 1, 1), BAYERN);
+
+        final WorkingTimeTimeline timeline = WorkingTimeTimeline.of(List.of(third, first, second));
+
+        assertThat(timeline.getWorkingTimes()).containsExactly(first, second, third);
+        assertThat(timeline.getWorkingTime(LocalDate.of(2019, 12, 31))).isEmpty();
+        assertThat(timeline.getWorkingTime(LocalDate.of(2020, 1, 1))).hasValue(first);
+        assertThat(timeline.getWorkingTime(LocalDate.of(2020, 5, 31))).hasValue(first);
+        assertThat(timeline.getWorkingTime(LocalDate.of(2020, 6, 1))).hasValue(second);
+        assertThat(timeline.getWorkingTime(LocalDate.of(2020, 12, 31))).hasValue(second);
+        assertThat(timeline.getWorkingTime(LocalDate.of(2030, 1, 1))).hasValue(third);
+    }
+
+    @Test
+    void ensureValidToIsTheDayBeforeTheNextWorkingTime() {
+        final WorkingTime first = new WorkingTime(person, LocalDate.of(2020, 1, 1), BADEN_WUERTTEMBERG);
+        final WorkingTime second = new WorkingTime(person, LocalDate.of(2020, 6, 1), BAYERN);
+
+        final WorkingTimeTimeline timeline = WorkingTimeTimeline.of(List.of(first, second));
+
+        assertThat(timeline.getValidTo(0)).isEqualTo(LocalDate.of(2020, 5, 31));
+        assertThat(timeline.getValidTo(1)).isEqualTo(LocalDate.MAX);
+    }
+}